@@ -186,6 +186,65 @@ CREATE TABLE azienda.DIP_PROGETTO(
     CONSTRAINT check_ordine_date_dp CHECK (dataNascita < dataAssunzione AND dataAssunzione <= Scadenza)
 );
 
+--------------------------------------------------------------------------------------------------------------------------------------------------------------
+--CREAZIONE NOTIFICHE
+
+--OGNI MODIFICA CONFERMATA AD UNA RIGA VIENE NOTIFICATA SUL CANALE "azienda_modifiche", IN MODO CHE I CLIENT IN ASCOLTO POSSANO AGGIORNARE IL PROPRIO MODELLO IN MEMORIA.
+--Il payload contiene, separati dal carattere 30: il client che ha effettuato la modifica (application_name), la tabella, l'operazione,
+--la chiave della riga prima e dopo la modifica; i valori delle chiavi sono separati dal carattere 31.
+--Le colonne della chiave sono passate come argomenti del trigger. Le notifiche vengono consegnate solo al commit della transazione.
+CREATE OR REPLACE FUNCTION azienda.notifica_modifica() RETURNS TRIGGER AS $$
+DECLARE
+    colonna TEXT;
+    chiave TEXT[] := '{}';
+    nuovaChiave TEXT[] := '{}';
+BEGIN
+    --Gli aggiornamenti che non modificano la riga non vengono notificati
+    IF TG_OP = 'UPDATE' AND OLD IS NOT DISTINCT FROM NEW THEN
+        RETURN NULL;
+    END IF;
+
+    FOREACH colonna IN ARRAY TG_ARGV LOOP
+        IF TG_OP <> 'INSERT' THEN
+            chiave := chiave || (to_jsonb(OLD) ->> colonna);
+        END IF;
+        IF TG_OP <> 'DELETE' THEN
+            nuovaChiave := nuovaChiave || (to_jsonb(NEW) ->> colonna);
+        END IF;
+    END LOOP;
+
+    PERFORM pg_notify('azienda_modifiche', concat_ws(chr(30), current_setting('application_name'), TG_TABLE_NAME, TG_OP,
+                                                     array_to_string(chiave, chr(31)), array_to_string(nuovaChiave, chr(31))));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER notifica_dip_indeterminato AFTER INSERT OR UPDATE OR DELETE ON azienda.DIP_INDETERMINATO
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('matricola');
+
+CREATE TRIGGER notifica_scatto_carriera AFTER INSERT OR UPDATE OR DELETE ON azienda.SCATTO_CARRIERA
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('matricola', 'tipo', 'data');
+
+CREATE TRIGGER notifica_laboratorio AFTER INSERT OR UPDATE OR DELETE ON azienda.LABORATORIO
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('nome');
+
+CREATE TRIGGER notifica_afferire AFTER INSERT OR UPDATE OR DELETE ON azienda.AFFERIRE
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('matricola', 'nomelab');
+
+CREATE TRIGGER notifica_progetto AFTER INSERT OR UPDATE OR DELETE ON azienda.PROGETTO
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('cup');
+
+CREATE TRIGGER notifica_lavorare AFTER INSERT OR UPDATE OR DELETE ON azienda.LAVORARE
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('cup', 'nomelab');
+
+CREATE TRIGGER notifica_attrezzatura AFTER INSERT OR UPDATE OR DELETE ON azienda.ATTREZZATURA
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('idattrezzatura');
+
+CREATE TRIGGER notifica_dip_progetto AFTER INSERT OR UPDATE OR DELETE ON azienda.DIP_PROGETTO
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('matricola');
+
+
+
 INSERT INTO azienda.DIP_INDETERMINATO(Matricola, Tipo, Nome, Cognome, codFiscale, Indirizzo, dataNascita, dataAssunzione, dataFine, Dirigente) VALUES
 ('KD0001PP', 'Junior', 'Paolo', 'Rossi', 'RSSPLA76E18F839B', 'Via Medina, 5, 80133 Napoli NA', '18/05/1976', '16/03/2021', NULL, 'False'),
 ('AZ0156OL', 'Middle', 'Giustino', 'Tomasetti', 'TMSGTN83P08I158R', 'Via Legnano, 18, 71016 San Severo FG', '08/09/1983', '25/09/2018', NULL, 'False'),
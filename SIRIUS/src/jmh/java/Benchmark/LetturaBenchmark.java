@@ -0,0 +1,77 @@
+package Benchmark;
+
+import Controller.Controller;
+import DAO.DatiSintetici;
+import DAO.SnapshotDati;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark della creazione dell'intero modello in memoria, eseguita dai metodi "leggi*" del Controller,
+ * a partire da un'istantanea {@link DatiSintetici} al variare del numero di dipendenti.
+ *
+ * Misura solo il lavoro del Controller: l'istantanea viene generata prima di ogni esecuzione, fuori dalla misura,
+ * e le correzioni dei dati non vengono registrate nel database. Ogni esecuzione crea il modello in un nuovo Controller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LetturaBenchmark {
+
+    // Seme fisso dei dati sintetici, per misurare sempre gli stessi dati a parita' di dimensione
+    private static final long SEME = 42;
+
+    @Param({"1000", "10000", "100000"})
+    public int dipendenti;
+
+    private DatiSintetici dati;
+    private SnapshotDati snapshot;
+    private Controller controller;
+
+
+    //METODI
+    @Setup(Level.Trial)
+    public void preparaDati() {
+        dati = new DatiSintetici(dipendenti, SEME);
+    }
+
+    @Setup(Level.Invocation)
+    public void preparaLettura() {
+
+        // Ogni istantanea puo' essere letta una sola volta
+        snapshot = dati.creaSnapshot();
+
+        controller = new Controller();
+        controller.setRegistraCorrezioniLettura(false);
+    }
+
+    /**
+     * Creazione di tutti gli oggetti in memoria e delle loro associazioni dall'istantanea.
+     */
+    @Benchmark
+    public int leggiModello() throws SQLException {
+
+        int esito = controller.leggiSnapshot(snapshot);
+
+        if (esito != 0)
+            throw new IllegalStateException("Il modello sintetico non e' coerente (esito " + esito + "): " + controller.getRapportoLettura().getViolazioni());
+
+        return esito;
+    }
+}
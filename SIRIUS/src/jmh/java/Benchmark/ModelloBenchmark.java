@@ -0,0 +1,133 @@
+package Benchmark;
+
+import Controller.Controller;
+import DAO.DatiSintetici;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark delle verifiche e delle ricerche eseguite dal Controller sul modello in memoria, al variare del numero di dipendenti.
+ *
+ * Il modello viene creato una sola volta per ogni combinazione di parametri, da un'istantanea {@link DatiSintetici},
+ * e non viene modificato dai benchmark. Le chiavi cercate ruotano su tutto il modello, per non misurare sempre la stessa voce.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelloBenchmark {
+
+    // Seme fisso dei dati sintetici, per misurare sempre gli stessi dati a parita' di dimensione
+    private static final long SEME = 42;
+
+    @Param({"1000", "10000", "100000"})
+    public int dipendenti;
+
+    private Controller controller;
+    private DatiSintetici dati;
+    private int progetti;
+
+    // Indice della prossima chiave cercata; i benchmark sono eseguiti da un solo thread
+    private int prossimo = 0;
+
+
+    //METODI
+    @Setup(Level.Trial)
+    public void creaModello() throws SQLException {
+
+        dati = new DatiSintetici(dipendenti, SEME);
+        progetti = dati.getNumeroProgetti();
+
+        controller = new Controller();
+
+        // Il modello sintetico non proviene dal database, e non deve essere riletto durante la misura
+        controller.setRegistraCorrezioniLettura(false);
+        controller.setValiditaModelloMillis(0);
+
+        int esito = controller.leggiSnapshot(dati.creaSnapshot());
+
+        if (esito != 0)
+            throw new IllegalStateException("Il modello sintetico non e' coerente (esito " + esito + "): " + controller.getRapportoLettura().getViolazioni());
+    }
+
+    //Restituisce l'indice del prossimo dipendente da cercare
+    private int prossimoDipendente() {
+
+        prossimo = (prossimo + 7919) % dipendenti;
+
+        return prossimo;
+    }
+
+    /**
+     * Ricerca di un dipendente a partire dalla voce di una combo box ("matricola - nome cognome").
+     */
+    @Benchmark
+    public Object cercaDipendenteIndeterminato() {
+
+        int i = prossimoDipendente();
+
+        return controller.getDipendenteIndeterminato(DatiSintetici.matricola(i) + " - " + dati.nome(i) + " " + dati.cognome(i));
+    }
+
+    /**
+     * Verifica di unicita' di una nuova matricola, non presente nel modello.
+     */
+    @Benchmark
+    public boolean checkMatricolaUnica() {
+        return controller.checkMatricolaUnica(null, String.format("NU%06d", prossimoDipendente()), false);
+    }
+
+    /**
+     * Verifica di coerenza dei dati anagrafici di un nuovo contratto con quelli di un dipendente esistente con lo stesso codice fiscale.
+     */
+    @Benchmark
+    public boolean coerenzaCodiceFiscale() {
+
+        int i = prossimoDipendente();
+        LocalDate dataNascita = dati.dataNascita(i);
+
+        return controller.coerenzaCodiceFiscale(null, null, null, null,
+                DatiSintetici.codFiscale(i), dati.nome(i), dati.cognome(i), dataNascita, false);
+    }
+
+    /**
+     * Verifica di unicita' del CUP di un progetto esistente, in inserimento.
+     */
+    @Benchmark
+    public boolean checkCupUnico() {
+        return controller.checkCupUnico(null, DatiSintetici.cup(prossimoDipendente() % progetti));
+    }
+
+    /**
+     * Verifica dell'alternanza di promozioni e rimozioni dirigenziali di tutti i dipendenti.
+     */
+    @Benchmark
+    public boolean verificaIntegritaAllPromozioniRimozioni() {
+        return controller.verificaIntegritaAllPromozioniRimozioni();
+    }
+
+    /**
+     * Conversione di tutti i dipendenti a tempo indeterminato nelle voci delle combo box.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String[] recuperaDipendentiIndeterminati() {
+        return controller.recuperaDipendentiIndeterminati();
+    }
+}
@@ -0,0 +1,17 @@
+package Controller;
+
+/**
+ * L'interfaccia "AscoltatoreModifiche" permette di ricevere dal controller le modifiche alle righe delle tabelle del database,
+ * ad esempio per aggiornare la tabella visualizzata in un'area senza ricaricarla interamente.
+ */
+public interface AscoltatoreModifiche {
+
+    /**
+     * Riceve una modifica confermata nel database. Il metodo viene invocato dal thread che ha eseguito l'azione dell'utente,
+     * dopo la conferma della sua unita' di lavoro, per ogni modifica dell'azione nell'ordine in cui e' stata registrata.
+     * Le modifiche effettuate da altri client vengono invece consegnate dal thread di ascolto delle notifiche del database.
+     *
+     * @param modifica {@link ModificaRiga} La modifica confermata.
+     */
+    void tabellaModificata(ModificaRiga modifica);
+}
@@ -0,0 +1,187 @@
+package Controller;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache dei risultati delle interrogazioni sui candidati ai ruoli, visualizzati negli elenchi delle GUI.
+ *
+ * Ogni risultato e' indicizzato dal tipo di interrogazione e dai suoi parametri, e viene invalidato solo quando un'azione
+ * confermata modifica una delle tabelle da cui il tipo di interrogazione dipende: le GUI che richiedono piu' volte gli stessi
+ * candidati, ad esempio per selezionare il valore memorizzato, interrogano il database una sola volta.
+ * Poiche' le interrogazioni confrontano le date con la data odierna, anche la data odierna fa parte della chiave.
+ *
+ * Quando la cache supera la dimensione massima, il risultato usato meno di recente viene scartato.
+ */
+public class CacheCandidati {
+
+    /**
+     * I tipi di interrogazione sui candidati, con le tabelle da cui dipendono i loro risultati.
+     */
+    enum Tipo {
+        RESPONSABILI_SCIENTIFICI(Tabella.DIPENDENTI_INDETERMINATI, Tabella.SCATTI_CARRIERA),
+        REFERENTI_SCIENTIFICI(Tabella.DIPENDENTI_INDETERMINATI, Tabella.SCATTI_CARRIERA),
+        DIRIGENTI(Tabella.DIPENDENTI_INDETERMINATI, Tabella.SCATTI_CARRIERA),
+        CANDIDATI_SCATTO(Tabella.DIPENDENTI_INDETERMINATI, Tabella.SCATTI_CARRIERA);
+
+        private final List<Tabella> dipendenze;
+
+        Tipo(Tabella... dipendenze) {
+            this.dipendenze = List.of(dipendenze);
+        }
+
+        boolean dipendeDa(Tabella tabella) {
+            return dipendenze.contains(tabella);
+        }
+    }
+
+    //Chiave di un risultato: i parametri possono essere null (es. la data di fine di un progetto senza scadenza)
+    private record Chiave(Tipo tipo, LocalDate giorno, List<Object> parametri) {
+    }
+
+    private final LinkedHashMap<Chiave, String[]> risultati;
+
+    // Incrementata ad ogni invalidazione, per scartare i risultati letti dal database prima dell'invalidazione
+    private long generazione = 0;
+
+    private final AtomicLong hit = new AtomicLong();
+    private final AtomicLong miss = new AtomicLong();
+    private final AtomicLong invalidazioni = new AtomicLong();
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore della cache.
+     *
+     * @param dimensioneMassima Il numero massimo di risultati mantenuti nella cache.
+     */
+    CacheCandidati(int dimensioneMassima) {
+
+        this.risultati = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Chiave, String[]> eldest) {
+                return size() > dimensioneMassima;
+            }
+        };
+    }
+
+
+    //METODI
+    /**
+     * Restituisce il risultato dell'interrogazione specificata, eseguendola solo se il risultato non e' presente nella cache.
+     * L'interrogazione viene eseguita fuori dalla sincronizzazione della cache, ed il suo risultato viene memorizzato
+     * solo se nel frattempo la cache non e' stata invalidata.
+     *
+     * @param tipo              {@link Tipo}        Il tipo di interrogazione.
+     * @param interrogazione    {@link Supplier}    L'interrogazione da eseguire in caso di miss.
+     * @param parametri                             I parametri dell'interrogazione.
+     * @return Una copia del risultato dell'interrogazione.
+     */
+    String[] recupera(Tipo tipo, Supplier<String[]> interrogazione, Object... parametri) {
+
+        Chiave chiave = new Chiave(tipo, LocalDate.now(), Arrays.asList(parametri));
+        long generazioneLettura;
+
+        synchronized (this) {
+
+            String[] risultato = risultati.get(chiave);
+
+            if (risultato != null) {
+                hit.incrementAndGet();
+                return risultato.clone();
+            }
+
+            generazioneLettura = generazione;
+        }
+
+        miss.incrementAndGet();
+
+        String[] risultato = interrogazione.get();
+
+        synchronized (this) {
+            if (generazioneLettura == generazione)
+                risultati.put(chiave, risultato);
+        }
+
+        return risultato.clone();
+    }
+
+    /**
+     * Invalida i risultati dei tipi di interrogazione che dipendono dalla tabella modificata.
+     *
+     * @param tabella {@link Tabella} La tabella modificata.
+     */
+    synchronized void invalida(Tabella tabella) {
+
+        boolean invalidata = false;
+
+        for (Tipo tipo : Tipo.values()) {
+            if (tipo.dipendeDa(tabella))
+                invalidata = true;
+        }
+
+        if (!invalidata)
+            return;
+
+        Iterator<Chiave> chiavi = risultati.keySet().iterator();
+
+        while (chiavi.hasNext()) {
+            if (chiavi.next().tipo().dipendeDa(tabella))
+                chiavi.remove();
+        }
+
+        generazione++;
+        invalidazioni.incrementAndGet();
+    }
+
+    /**
+     * Invalida tutti i risultati, ad esempio dopo la rilettura del database.
+     */
+    synchronized void svuota() {
+        risultati.clear();
+        generazione++;
+        invalidazioni.incrementAndGet();
+    }
+
+    /**
+     * Restituisce il numero di richieste soddisfatte dalla cache, senza interrogare il database.
+     *
+     * @return Il numero di hit della cache.
+     */
+    public long getHit() {
+        return hit.get();
+    }
+
+    /**
+     * Restituisce il numero di richieste che hanno richiesto un'interrogazione del database.
+     *
+     * @return Il numero di miss della cache.
+     */
+    public long getMiss() {
+        return miss.get();
+    }
+
+    /**
+     * Restituisce il numero di invalidazioni della cache, dovute alle azioni confermate ed alle riletture del database.
+     *
+     * @return Il numero di invalidazioni.
+     */
+    public long getInvalidazioni() {
+        return invalidazioni.get();
+    }
+
+    /**
+     * Restituisce il numero di risultati attualmente presenti nella cache.
+     *
+     * @return Il numero di risultati in cache.
+     */
+    public synchronized int getDimensione() {
+        return risultati.size();
+    }
+}
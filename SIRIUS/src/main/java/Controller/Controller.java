@@ -1,14 +1,48 @@
 package Controller;
 
 import Model.*;
-import ImplementazionePostgresDAO.*;
-import org.postgresql.util.PSQLException;
+import ImplementazioneMemoriaDAO.FornitoreMemoriaDAO;
+import ImplementazionePostgresDAO.FornitorePostgresDAO;
+import Database.AscoltatoreNotifiche;
+import Database.NotificaModifica;
+import DAO.AfferireDAO;
+import DAO.AttrezzaturaDAO;
+import DAO.DatiSintetici;
+import DAO.DipendenteIndeterminatoDAO;
+import DAO.DipendenteProgettoDAO;
+import DAO.FornitoreDAO;
+import DAO.LaboratorioDAO;
+import DAO.LavorareDAO;
+import DAO.ProgettoDAO;
+import DAO.RiepilogoLaboratorio;
+import DAO.RiepilogoProgetto;
+import DAO.RigaAfferenza;
+import DAO.RigaAttrezzatura;
+import DAO.RigaDipendenteIndeterminato;
+import DAO.RigaDipendenteProgetto;
+import DAO.RigaLaboratorio;
+import DAO.RigaLavoro;
+import DAO.RigaProgetto;
+import DAO.RigaRiconciliazioneScatto;
+import DAO.RigaScattoCarriera;
+import DAO.RigaTabella;
+import DAO.ScattoCarrieraDAO;
+import DAO.SnapshotDAO;
+import DAO.SnapshotDati;
+import DAO.Transazione;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.math.BigDecimal;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Questa classe funge da controller principale per la gestione delle operazioni dell'azienda.
@@ -39,6 +73,106 @@ public class Controller {
     private ArrayList<Progetto> elencoAllProgetti = null;
     private ArrayList<Attrezzatura> elencoAllAttrezzature = null;
 
+    // INDICI
+    // Ricerca per chiave delle istanze degli elenchi, allineata agli elenchi dai metodi che li modificano
+    private final HashMap<String, DipendenteIndeterminato> indiceDipendentiIndeterminati = new HashMap<>();
+    private final HashMap<String, DipendenteProgetto> indiceDipendentiProgetto = new HashMap<>();
+    private final HashMap<String, Laboratorio> indiceLaboratori = new HashMap<>();
+    private final HashMap<String, Progetto> indiceProgetti = new HashMap<>();
+    private final HashMap<Integer, Attrezzatura> indiceAttrezzature = new HashMap<>();
+    // Contratti di ogni persona, per codice fiscale
+    private final HashMap<String, ArrayList<DipendenteIndeterminato>> indiceCodFiscaleIndeterminati = new HashMap<>();
+    private final HashMap<String, ArrayList<DipendenteProgetto>> indiceCodFiscaleProgetto = new HashMap<>();
+
+    // Incoerenze rilevate nell'ultima lettura del database, ed il validatore che le rileva durante la lettura
+    private RapportoIntegrita rapportoLettura = new RapportoIntegrita();
+    private ValidatoreLettura validatoreLettura = null;
+
+    // Numero di istruzioni eseguite sul database dall'ultima azione dell'utente
+    private int statementUltimaAzione = 0;
+
+    // Modifiche alle righe registrate dall'azione in corso, notificate agli ascoltatori solo dopo la conferma dell'azione
+    private final ArrayList<ModificaRiga> modificheAzione = new ArrayList<>();
+    private final CopyOnWriteArrayList<AscoltatoreModifiche> ascoltatoriModifiche = new CopyOnWriteArrayList<>();
+
+    // STATO DEL MODELLO
+    // Le tabelle, gli elenchi e le verifiche delle GUI vengono ricavati dal modello in memoria, anche fuori dall'event dispatch thread:
+    // le azioni, le letture del database e le modifiche notificate modificano il modello in modo esclusivo, mentre le letture delle GUI lo condividono
+    private final ReentrantReadWriteLock lockModello = new ReentrantReadWriteLock();
+    // Il modello e' allineato al database dopo ogni lettura completa e ogni azione confermata o annullata, ed e' superato solo se
+    // non e' stato possibile annullare in memoria le modifiche di un'azione annullata
+    private volatile boolean modelloAllineato = false;
+    private volatile long istanteLetturaModello = 0;
+    // Vero durante le riletture implicite del modello superato, richieste dalle letture delle GUI o dall'ascolto delle notifiche, che non registrano correzioni nel database
+    private boolean letturaSenzaCorrezioni = false;
+
+    //CONFIGURAZIONE DEL MODELLO IN MEMORIA
+    // Eta' massima del modello, oltre la quale viene riletto dal database per includere le modifiche di altri client (0 per non rileggerlo mai)
+    private long validitaModelloMillis = 10 * 60_000;
+    // Numero massimo di risultati delle interrogazioni sui candidati ai ruoli mantenuti in cache
+    private int dimensioneCacheCandidati = 128;
+    // Se false, le correzioni dei dati rilevate durante la lettura vengono applicate solo al modello in memoria, senza essere registrate nel database
+    private volatile boolean registraCorrezioniLettura = true;
+
+    // Risultati delle interrogazioni sui candidati ai ruoli, invalidati dalle azioni che modificano le tabelle da cui dipendono
+    private final CacheCandidati cacheCandidati = new CacheCandidati(dimensioneCacheCandidati);
+
+    // NOTIFICHE DEGLI ALTRI CLIENT
+    // Finche' l'ascolto e' attivo, le modifiche degli altri client vengono applicate al modello in memoria, che non viene quindi riletto periodicamente;
+    // il modello letto prima dell'avvio dell'ascolto potrebbe non includere le modifiche confermate nel frattempo, ed e' quindi superato
+    private AscoltatoreNotifiche ascoltatoreNotifiche = null;
+    private volatile boolean ascoltoAttivo = false;
+    private volatile long istanteAvvioAscolto = 0;
+
+    // SORGENTE DEI DATI
+    // Proprieta' di sistema che seleziona la sorgente dei dati del costruttore predefinito: "postgres" (predefinita) o "memoria"
+    public static final String PROPRIETA_SORGENTE_DATI = "sirius.dao";
+    // Proprieta' di sistema con il numero di dipendenti sintetici con cui popolare la sorgente in memoria, vuota se assente
+    public static final String PROPRIETA_DIPENDENTI_SINTETICI = "sirius.dao.dipendenti";
+
+    // Tutti gli accessi ai dati passano dai DAO del fornitore, senza dipendere dalla loro implementazione
+    private final FornitoreDAO fornitoreDAO;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del controller sulla sorgente dei dati selezionata dalla proprieta' di sistema {@value #PROPRIETA_SORGENTE_DATI}:
+     * il database Postgres, oppure un database in memoria, eventualmente popolato con il numero di dipendenti sintetici
+     * indicato dalla proprieta' di sistema {@value #PROPRIETA_DIPENDENTI_SINTETICI}.
+     */
+    public Controller() {
+        this(creaFornitorePredefinito());
+    }
+
+    /**
+     * Costruttore del controller sulla sorgente dei dati specificata.
+     *
+     * @param fornitoreDAO {@link FornitoreDAO} Il fornitore dei DAO con cui il controller accede ai dati.
+     */
+    public Controller(FornitoreDAO fornitoreDAO) {
+        this.fornitoreDAO = fornitoreDAO;
+    }
+
+    //Crea il fornitore dei DAO selezionato dalle proprieta' di sistema
+    private static FornitoreDAO creaFornitorePredefinito() {
+
+        if (!"memoria".equalsIgnoreCase(System.getProperty(PROPRIETA_SORGENTE_DATI)))
+            return new FornitorePostgresDAO();
+
+        FornitoreMemoriaDAO fornitoreMemoria = new FornitoreMemoriaDAO();
+        int dipendenti = Integer.getInteger(PROPRIETA_DIPENDENTI_SINTETICI, 0);
+
+        if (dipendenti > 0) {
+            try {
+                fornitoreMemoria.caricaDatiSintetici(new DatiSintetici(dipendenti, 1));
+            } catch (SQLException sqlException) {
+                sqlException.printStackTrace();
+            }
+        }
+
+        return fornitoreMemoria;
+    }
+
 
     // METODI AGGIUNTA
 
@@ -59,22 +193,25 @@ public class Controller {
                                                 String tipo, LocalDate dataNascita,
                                                 LocalDate dataAssunzione, boolean dirigente) throws IllegalArgumentException {
 
-        //in memoria
-        dipendenteIndeterminato = new DipendenteIndeterminato(nome, cognome, codFiscale, matricola, TipoDipendente.valueOf(tipo), dataNascita, dataAssunzione, dirigente);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
-        if (!addDipendenteIndeterminatoToElenco(dipendenteIndeterminato)) {
+            //in memoria
+            dipendenteIndeterminato = new DipendenteIndeterminato(nome, cognome, codFiscale, matricola, TipoDipendente.valueOf(tipo), dataNascita, dataAssunzione, dirigente);
 
-            throw new IllegalArgumentException("Il dipendente a tempo indeterminato risulta già registrato!");
+            // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
+            if (!addDipendenteIndeterminatoToElenco(dipendenteIndeterminato)) {
 
-        } else {
+                throw new IllegalArgumentException("Il dipendente a tempo indeterminato risulta già registrato!");
 
-            //nel caso in cui il dipendente non sia gia' registrato, inserisce quest'ultimo nel DB
-            insertDipendenteIndeterminatoToDatabase(dipendenteIndeterminato);
+            } else {
 
-            //calcola automaticamente gli scatti di carriera in base alla data di assunzione
-            insertAutomaticScatti();
-        }
+                //nel caso in cui il dipendente non sia gia' registrato, inserisce quest'ultimo nel DB
+                insertDipendenteIndeterminatoToDatabase(dipendenteIndeterminato);
+
+                //calcola automaticamente gli scatti di carriera in base alla data di assunzione
+                insertAutomaticScatti();
+            }
+        });
     }
 
     /**
@@ -94,21 +231,24 @@ public class Controller {
     public void aggiungiDipendenteIndeterminato(String nome, String cognome, String codFiscale, String matricola,
                                                 String tipo, String indirizzo, LocalDate dataNascita, LocalDate dataAssunzione,
                                                 boolean dirigente) throws IllegalArgumentException {
-        //in memoria
-        dipendenteIndeterminato = new DipendenteIndeterminato(nome, cognome, codFiscale, matricola, TipoDipendente.valueOf(tipo), indirizzo, dataNascita, dataAssunzione, dirigente);
-        // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
-        if (!addDipendenteIndeterminatoToElenco(dipendenteIndeterminato)) {
 
-            throw new IllegalArgumentException("Il dipendente a tempo indeterminato risulta già registrato!");
+        eseguiInUnitaDiLavoro(() -> {
+            //in memoria
+            dipendenteIndeterminato = new DipendenteIndeterminato(nome, cognome, codFiscale, matricola, TipoDipendente.valueOf(tipo), indirizzo, dataNascita, dataAssunzione, dirigente);
+            // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
+            if (!addDipendenteIndeterminatoToElenco(dipendenteIndeterminato)) {
 
-        } else {
+                throw new IllegalArgumentException("Il dipendente a tempo indeterminato risulta già registrato!");
+
+            } else {
 
-            //nel caso in cui il dipendente non sia gia' registrato, inserisce quest'ultimo nel DB
-            insertDipendenteIndeterminatoToDatabase(dipendenteIndeterminato);
+                //nel caso in cui il dipendente non sia gia' registrato, inserisce quest'ultimo nel DB
+                insertDipendenteIndeterminatoToDatabase(dipendenteIndeterminato);
 
-            //calcola automaticamente gli scatti di carriera in base alla data di assunzione
-            insertAutomaticScatti();
-        }
+                //calcola automaticamente gli scatti di carriera in base alla data di assunzione
+                insertAutomaticScatti();
+            }
+        });
     }
 
     /**
@@ -129,21 +269,24 @@ public class Controller {
                                                 String tipo, LocalDate dataNascita, LocalDate dataAssunzione,
                                                 LocalDate dataFine, boolean dirigente) throws IllegalArgumentException {
 
-        //in memoria
-        dipendenteIndeterminato = new DipendenteIndeterminato(nome, cognome, codFiscale, matricola, TipoDipendente.valueOf(tipo), dataNascita, dataAssunzione, dataFine, dirigente);
-        // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
-        if (!addDipendenteIndeterminatoToElenco(dipendenteIndeterminato)) {
+        eseguiInUnitaDiLavoro(() -> {
 
-            throw new IllegalArgumentException("Il dipendente a tempo indeterminato risulta già registrato!");
+            //in memoria
+            dipendenteIndeterminato = new DipendenteIndeterminato(nome, cognome, codFiscale, matricola, TipoDipendente.valueOf(tipo), dataNascita, dataAssunzione, dataFine, dirigente);
+            // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
+            if (!addDipendenteIndeterminatoToElenco(dipendenteIndeterminato)) {
 
-        } else {
+                throw new IllegalArgumentException("Il dipendente a tempo indeterminato risulta già registrato!");
 
-            //nel caso in cui il dipendente non sia gia' registrato, inserisce quest'ultimo nel DB
-            insertDipendenteIndeterminatoToDatabase(dipendenteIndeterminato);
+            } else {
 
-            //calcola automaticamente gli scatti di carriera in base alla data di assunzione
-            insertAutomaticScatti();
-        }
+                //nel caso in cui il dipendente non sia gia' registrato, inserisce quest'ultimo nel DB
+                insertDipendenteIndeterminatoToDatabase(dipendenteIndeterminato);
+
+                //calcola automaticamente gli scatti di carriera in base alla data di assunzione
+                insertAutomaticScatti();
+            }
+        });
     }
 
     /**
@@ -165,21 +308,24 @@ public class Controller {
                                                 String tipo, String indirizzo, LocalDate dataNascita, LocalDate dataAssunzione,
                                                 LocalDate dataFine, boolean dirigente) throws IllegalArgumentException {
 
-        //in memoria
-        dipendenteIndeterminato = new DipendenteIndeterminato(nome, cognome, codFiscale, matricola, TipoDipendente.valueOf(tipo), indirizzo, dataNascita, dataAssunzione, dataFine, dirigente);
-        // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
-        if (!addDipendenteIndeterminatoToElenco(dipendenteIndeterminato)) {
+        eseguiInUnitaDiLavoro(() -> {
 
-            throw new IllegalArgumentException("Il dipendente a tempo indeterminato risulta già registrato!");
+            //in memoria
+            dipendenteIndeterminato = new DipendenteIndeterminato(nome, cognome, codFiscale, matricola, TipoDipendente.valueOf(tipo), indirizzo, dataNascita, dataAssunzione, dataFine, dirigente);
+            // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
+            if (!addDipendenteIndeterminatoToElenco(dipendenteIndeterminato)) {
 
-        } else {
+                throw new IllegalArgumentException("Il dipendente a tempo indeterminato risulta già registrato!");
+
+            } else {
 
-            //nel caso in cui il dipendente non sia gia' registrato, inserisce quest'ultimo nel DB
-            insertDipendenteIndeterminatoToDatabase(dipendenteIndeterminato);
+                //nel caso in cui il dipendente non sia gia' registrato, inserisce quest'ultimo nel DB
+                insertDipendenteIndeterminatoToDatabase(dipendenteIndeterminato);
 
-            //calcola automaticamente gli scatti di carriera in base alla data di assunzione
-            insertAutomaticScatti();
-        }
+                //calcola automaticamente gli scatti di carriera in base alla data di assunzione
+                insertAutomaticScatti();
+            }
+        });
     }
 
     /**
@@ -201,26 +347,29 @@ public class Controller {
                                            String indirizzo, LocalDate dataNascita, LocalDate dataAssunzione,
                                            LocalDate scadenza, BigDecimal costo, String stringProgetto) throws IllegalArgumentException {
 
-        //ricava il progetto che ingaggia dall'elenco di tutti i progetti
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
+        eseguiInUnitaDiLavoro(() -> {
 
-        //istanzia il dipendente a progetto con i dati forniti, per verificarne l'esistenza
-        dipendenteProgetto = new DipendenteProgetto(nome, cognome, codFiscale, matricola, indirizzo, dataNascita, dataAssunzione, scadenza, costo, progetto);
+            //ricava il progetto che ingaggia dall'elenco di tutti i progetti
+            progetto = getProgetto(stringProgetto);
 
-        // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
-        if (!addDipendenteProgettoToElenco(dipendenteProgetto)) {
+            //istanzia il dipendente a progetto con i dati forniti, per verificarne l'esistenza
+            dipendenteProgetto = new DipendenteProgetto(nome, cognome, codFiscale, matricola, indirizzo, dataNascita, dataAssunzione, scadenza, costo, progetto);
 
-            throw new IllegalArgumentException("Il dipendente a progetto risulta gia' registrato!");
+            // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
+            if (!addDipendenteProgettoToElenco(dipendenteProgetto)) {
 
-        } else {
+                throw new IllegalArgumentException("Il dipendente a progetto risulta gia' registrato!");
 
-            // Aggiunge l'acquisto del dipendente al progetto specifico.
-            progetto.addDipendenteIngaggiato(dipendenteProgetto);
+            } else {
 
-            // nel caso in cui il dipendente non sia gia' registrato, inserisce quest'ultimo nel DB
-            // si inserisce anche il progetto proprietario, poiche' e' un dipendente a progetto
-            insertDipendenteProgettoToDatabase(dipendenteProgetto, progetto);
-        }
+                // Aggiunge l'acquisto del dipendente al progetto specifico.
+                progetto.addDipendenteIngaggiato(dipendenteProgetto);
+
+                // nel caso in cui il dipendente non sia gia' registrato, inserisce quest'ultimo nel DB
+                // si inserisce anche il progetto proprietario, poiche' e' un dipendente a progetto
+                insertDipendenteProgettoToDatabase(dipendenteProgetto, progetto);
+            }
+        });
     }
 
     /**
@@ -241,26 +390,29 @@ public class Controller {
                                            LocalDate dataNascita, LocalDate dataAssunzione, LocalDate scadenza,
                                            BigDecimal costo, String stringProgetto) throws IllegalArgumentException {
 
-        // Ricava il progetto che ingaggia dall'elenco di tutti i progetti
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
+        eseguiInUnitaDiLavoro(() -> {
 
-        //istanzia il dipendente a progetto con i dati forniti, per verificarne l'esistenza
-        dipendenteProgetto = new DipendenteProgetto(nome, cognome, codFiscale, matricola, dataNascita, dataAssunzione, scadenza, costo, progetto);
+            // Ricava il progetto che ingaggia dall'elenco di tutti i progetti
+            progetto = getProgetto(stringProgetto);
 
-        // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
-        if (!addDipendenteProgettoToElenco(dipendenteProgetto)) {
+            //istanzia il dipendente a progetto con i dati forniti, per verificarne l'esistenza
+            dipendenteProgetto = new DipendenteProgetto(nome, cognome, codFiscale, matricola, dataNascita, dataAssunzione, scadenza, costo, progetto);
 
-            throw new IllegalArgumentException("Il dipendente a progetto risulta gia' registrato!");
+            // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
+            if (!addDipendenteProgettoToElenco(dipendenteProgetto)) {
 
-        } else {
+                throw new IllegalArgumentException("Il dipendente a progetto risulta gia' registrato!");
+
+            } else {
 
-            // Aggiunge l'acquisto del dipendente al progetto specifico.
-            progetto.addDipendenteIngaggiato(dipendenteProgetto);
+                // Aggiunge l'acquisto del dipendente al progetto specifico.
+                progetto.addDipendenteIngaggiato(dipendenteProgetto);
 
-            // nel caso in cui il dipendente non sia gia' registrato, inserisce quest'ultimo nel DB
-            // si inserisce anche il progetto proprietario, poiche' e' un dipendente a progetto
-            insertDipendenteProgettoToDatabase(dipendenteProgetto, progetto);
-        }
+                // nel caso in cui il dipendente non sia gia' registrato, inserisce quest'ultimo nel DB
+                // si inserisce anche il progetto proprietario, poiche' e' un dipendente a progetto
+                insertDipendenteProgettoToDatabase(dipendenteProgetto, progetto);
+            }
+        });
     }
 
     /**
@@ -274,32 +426,38 @@ public class Controller {
      */
     public void aggiungiAttrezzatura(String descrizione, BigDecimal costo, String stringProgetto, String stringLaboratorio) throws IllegalArgumentException {
 
-        // Ricava il progetto che acquista l'attrezzatura dall'elenco dei progetti
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Ricava il laboratorio possedente dell'attrezzatura dall'elenco dei laboratori
-        laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), stringLaboratorio);
+            // Ricava il progetto che acquista l'attrezzatura dall'elenco dei progetti
+            progetto = getProgetto(stringProgetto);
 
-        // Crea una nuova istanza di attrezzatura, per verificarne l'esistenza
-        attrezzatura = new Attrezzatura(idAttrezzaturaPiuGrandePlusOne(), descrizione, costo, progetto, laboratorio);
+            // Ricava il laboratorio possedente dell'attrezzatura dall'elenco dei laboratori
+            laboratorio = getLaboratorio(stringLaboratorio);
 
-        // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
-        if (!addAttrezzaturaToElenco(attrezzatura)) {
+            // Crea una nuova istanza di attrezzatura, per verificarne l'esistenza
+            attrezzatura = new Attrezzatura(idAttrezzaturaPiuGrandePlusOne(), descrizione, costo, progetto, laboratorio);
 
-            throw new IllegalArgumentException("L'attrezzatura risulta gia' registrata!");
+            // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
+            if (!addAttrezzaturaToElenco(attrezzatura)) {
 
-        } else {
+                throw new IllegalArgumentException("L'attrezzatura risulta gia' registrata!");
 
-            // Imposta l'acquisto dell'attrezzatura da parte del progetto
-            progetto.addAttrezzaturaAcquistata(attrezzatura);
+            } else {
 
-            // Imposta il possedimento dell'attrezzatura da parte del laboratorio
-            laboratorio.addAttrezzatura(attrezzatura);
+                // Imposta l'acquisto dell'attrezzatura da parte del progetto
+                progetto.addAttrezzaturaAcquistata(attrezzatura);
 
-            // Registra la nuova attrezzatura acquistata nel database
-            AttrezzaturaPostgresDAO attrezzaturaDB = new AttrezzaturaPostgresDAO();
-            attrezzaturaDB.addAttrezzatura(descrizione, costo, progetto.getCup(), laboratorio.getNome());
-        }
+                // Imposta il possedimento dell'attrezzatura da parte del laboratorio
+                laboratorio.addAttrezzatura(attrezzatura);
+
+                // Registra la nuova attrezzatura acquistata nel database
+                AttrezzaturaDAO attrezzaturaDB = fornitoreDAO.getAttrezzaturaDAO();
+                attrezzaturaDB.addAttrezzatura(descrizione, costo, progetto.getCup(), laboratorio.getNome());
+
+                registraModifica(ModificaRiga.inserimento(Tabella.ATTREZZATURE, attrezzatura.getIdAttrezzatura()));
+                registraModifica(ModificaRiga.aggiornamento(Tabella.PROGETTI, progetto.getCup()));
+            }
+        });
     }
 
     /**
@@ -312,26 +470,32 @@ public class Controller {
      */
     public void aggiungiAttrezzatura(String descrizione, BigDecimal costo, String stringProgetto) throws IllegalArgumentException {
 
-        // Ricava il progetto che acquista l'attrezzatura dall'elenco dei progetti
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Crea una nuova istanza di attrezzatura, per verificarne l'esistenza
-        attrezzatura = new Attrezzatura(idAttrezzaturaPiuGrandePlusOne(), descrizione, costo, progetto);
+            // Ricava il progetto che acquista l'attrezzatura dall'elenco dei progetti
+            progetto = getProgetto(stringProgetto);
 
-        // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
-        if (!addAttrezzaturaToElenco(attrezzatura)) {
+            // Crea una nuova istanza di attrezzatura, per verificarne l'esistenza
+            attrezzatura = new Attrezzatura(idAttrezzaturaPiuGrandePlusOne(), descrizione, costo, progetto);
 
-            throw new IllegalArgumentException("L'attrezzatura risulta gia' registrata!");
+            // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
+            if (!addAttrezzaturaToElenco(attrezzatura)) {
 
-        } else {
+                throw new IllegalArgumentException("L'attrezzatura risulta gia' registrata!");
 
-            // Imposta l'acquisto dell'attrezzatura da parte del progetto
-            progetto.addAttrezzaturaAcquistata(attrezzatura);
+            } else {
 
-            // Registra la nuova attrezzatura acquistata nel database
-            AttrezzaturaPostgresDAO attrezzaturaDB = new AttrezzaturaPostgresDAO();
-            attrezzaturaDB.addAttrezzatura(descrizione, costo, progetto.getCup(), null);
-        }
+                // Imposta l'acquisto dell'attrezzatura da parte del progetto
+                progetto.addAttrezzaturaAcquistata(attrezzatura);
+
+                // Registra la nuova attrezzatura acquistata nel database
+                AttrezzaturaDAO attrezzaturaDB = fornitoreDAO.getAttrezzaturaDAO();
+                attrezzaturaDB.addAttrezzatura(descrizione, costo, progetto.getCup(), null);
+
+                registraModifica(ModificaRiga.inserimento(Tabella.ATTREZZATURE, attrezzatura.getIdAttrezzatura()));
+                registraModifica(ModificaRiga.aggiornamento(Tabella.PROGETTI, progetto.getCup()));
+            }
+        });
     }
 
     /**
@@ -342,16 +506,19 @@ public class Controller {
      */
     public int idAttrezzaturaPiuGrandePlusOne() {
 
-        int max = 0;
+        return leggiModello(() -> {
 
-        // Scansione di tutte le attrezzature per trovare l'ID più grande.
-        for (Attrezzatura attrezzatura : getElencoAllAttrezzature()) {
-            if (attrezzatura.getIdAttrezzatura() > max)
-                max = attrezzatura.getIdAttrezzatura();
-        }
+            int max = 0;
+
+            // Scansione di tutte le attrezzature per trovare l'ID più grande.
+            for (Attrezzatura attrezzatura : getElencoAllAttrezzature()) {
+                if (attrezzatura.getIdAttrezzatura() > max)
+                    max = attrezzatura.getIdAttrezzatura();
+            }
 
-        // Restituisci il nuovo ID incrementato di uno rispetto all'ID più grande presente.
-        return max + 1;
+            // Restituisci il nuovo ID incrementato di uno rispetto all'ID più grande presente.
+            return max + 1;
+        });
     }
 
 
@@ -365,34 +532,40 @@ public class Controller {
      */
     public void aggiungiLaboratorio(String nome, String topic, String stringResponsabileScientifico) throws IllegalArgumentException {
 
-        //  Ricava il responsabile scientifico selezionato tra tutti i dipendenti a tempo indeterminato (deve esistere).
-        responsabileScientifico = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringResponsabileScientifico);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Crea una nuova istanza di laboratorio, per verificarne l'esistenza.
-        laboratorio = new Laboratorio(nome, topic, responsabileScientifico);
+            //  Ricava il responsabile scientifico selezionato tra tutti i dipendenti a tempo indeterminato (deve esistere).
+            responsabileScientifico = getDipendenteIndeterminato(stringResponsabileScientifico);
 
-        // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
-        if (!addLaboratorioToElenco(laboratorio)) {
+            // Crea una nuova istanza di laboratorio, per verificarne l'esistenza.
+            laboratorio = new Laboratorio(nome, topic, responsabileScientifico);
 
-            throw new IllegalArgumentException("Il laboratorio e' gia stato registrato!");
+            // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
+            if (!addLaboratorioToElenco(laboratorio)) {
 
-        } else {
+                throw new IllegalArgumentException("Il laboratorio e' gia stato registrato!");
 
-            // Imposta la responsabilita' del dipendente per il nuovo laboratorio
-            responsabileScientifico.addLaboratorioResponsabileScientifico(laboratorio);
+            } else {
 
-            // Registra l'afferenza
-            laboratorio.addAfferente(responsabileScientifico);
-            responsabileScientifico.addAfferenzaLaboratorio(laboratorio);
+                // Imposta la responsabilita' del dipendente per il nuovo laboratorio
+                responsabileScientifico.addLaboratorioResponsabileScientifico(laboratorio);
 
-            // Registra il nuovo laboratorio nel database
-            LaboratorioPostgresDAO laboratorioDB = new LaboratorioPostgresDAO();
-            laboratorioDB.addLaboratorio(nome, topic, responsabileScientifico.getMatricola());
+                // Registra l'afferenza
+                laboratorio.addAfferente(responsabileScientifico);
+                responsabileScientifico.addAfferenzaLaboratorio(laboratorio);
 
-            // Registra il responsabile scientifico come nuovo afferente al laboratorio.
-            AfferirePostgresDAO afferenzaDB = new AfferirePostgresDAO();
-            afferenzaDB.addAfferenza(responsabileScientifico.getMatricola(), laboratorio.getNome());
-        }
+                // Registra il nuovo laboratorio nel database
+                LaboratorioDAO laboratorioDB = fornitoreDAO.getLaboratorioDAO();
+                laboratorioDB.addLaboratorio(nome, topic, responsabileScientifico.getMatricola());
+
+                // Registra il responsabile scientifico come nuovo afferente al laboratorio.
+                AfferireDAO afferenzaDB = fornitoreDAO.getAfferireDAO();
+                afferenzaDB.addAfferenza(responsabileScientifico.getMatricola(), laboratorio.getNome());
+
+                registraModifica(ModificaRiga.inserimento(Tabella.LABORATORI, laboratorio.getNome()));
+                registraModifica(ModificaRiga.inserimento(Tabella.AFFERENZE, responsabileScientifico.getMatricola(), laboratorio.getNome()));
+            }
+        });
     }
 
     /**
@@ -409,30 +582,35 @@ public class Controller {
      */
     public void aggiungiProgetto(String nome, String cup, BigDecimal budget, LocalDate dataInizio, LocalDate dataFine, String stringReferenteScientifico, String stringResponsabile) throws IllegalArgumentException {
 
-        //  Ricava il referente scientifico selezionato tra tutti i dipendenti a tempo indeterminato (deve esistere).
-        referenteScientifico = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringReferenteScientifico);
+        eseguiInUnitaDiLavoro(() -> {
 
-        //  Ricava il responsabile selezionato tra tutti i dipendenti a tempo indeterminato (deve esistere).
-        responsabile = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringResponsabile);
+            //  Ricava il referente scientifico selezionato tra tutti i dipendenti a tempo indeterminato (deve esistere).
+            referenteScientifico = getDipendenteIndeterminato(stringReferenteScientifico);
 
-        // Crea una nuova istanza di progetto, per verificarne l'esistenza.
-        progetto = new Progetto(cup, nome, budget, dataInizio, dataFine, referenteScientifico, responsabile);
+            //  Ricava il responsabile selezionato tra tutti i dipendenti a tempo indeterminato (deve esistere).
+            responsabile = getDipendenteIndeterminato(stringResponsabile);
 
-        // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
-        if (!addProgettoToElenco(progetto)) {
+            // Crea una nuova istanza di progetto, per verificarne l'esistenza.
+            progetto = new Progetto(cup, nome, budget, dataInizio, dataFine, referenteScientifico, responsabile);
 
-            throw new IllegalArgumentException("Il progetto e' gia' stato registrato!");
+            // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
+            if (!addProgettoToElenco(progetto)) {
 
-        } else {
+                throw new IllegalArgumentException("Il progetto e' gia' stato registrato!");
 
-            // Imposta le responsabilita' del referente scientifico e del responsabile
-            referenteScientifico.addProgettoReferenteScientifico(progetto);
-            responsabile.addProgettoResponsabile(progetto);
+            } else {
 
-            // Registra il nuovo progetto nel database
-            ProgettoPostgresDAO progettoDB = new ProgettoPostgresDAO();
-            progettoDB.addProgetto(nome, cup, budget, dataInizio, null, referenteScientifico.getMatricola(), responsabile.getMatricola());
-        }
+                // Imposta le responsabilita' del referente scientifico e del responsabile
+                referenteScientifico.addProgettoReferenteScientifico(progetto);
+                responsabile.addProgettoResponsabile(progetto);
+
+                // Registra il nuovo progetto nel database
+                ProgettoDAO progettoDB = fornitoreDAO.getProgettoDAO();
+                progettoDB.addProgetto(nome, cup, budget, dataInizio, null, referenteScientifico.getMatricola(), responsabile.getMatricola());
+
+                registraModifica(ModificaRiga.inserimento(Tabella.PROGETTI, cup));
+            }
+        });
     }
 
     /**
@@ -448,30 +626,35 @@ public class Controller {
      */
     public void aggiungiProgetto(String nome, String cup, BigDecimal budget, LocalDate dataInizio, String stringReferenteScientifico, String stringResponsabile) throws IllegalArgumentException {
 
-        //  Ricava il referente scientifico selezionato tra tutti i dipendenti a tempo indeterminato (deve esistere).
-        referenteScientifico = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringReferenteScientifico);
+        eseguiInUnitaDiLavoro(() -> {
 
-        //  Ricava il responsabile selezionato tra tutti i dipendenti a tempo indeterminato (deve esistere).
-        responsabile = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringResponsabile);
+            //  Ricava il referente scientifico selezionato tra tutti i dipendenti a tempo indeterminato (deve esistere).
+            referenteScientifico = getDipendenteIndeterminato(stringReferenteScientifico);
 
-        // Crea una nuova istanza di progetto, per verificarne l'esistenza.
-        progetto = new Progetto(cup, nome, budget, dataInizio, referenteScientifico, responsabile);
+            //  Ricava il responsabile selezionato tra tutti i dipendenti a tempo indeterminato (deve esistere).
+            responsabile = getDipendenteIndeterminato(stringResponsabile);
 
-        // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
-        if (!addProgettoToElenco(progetto)) {
+            // Crea una nuova istanza di progetto, per verificarne l'esistenza.
+            progetto = new Progetto(cup, nome, budget, dataInizio, referenteScientifico, responsabile);
 
-            throw new IllegalArgumentException("Il progetto e' gia' stato registrato!");
+            // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
+            if (!addProgettoToElenco(progetto)) {
 
-        } else {
+                throw new IllegalArgumentException("Il progetto e' gia' stato registrato!");
 
-            // Imposta le responsabilita' del referente scientifico e del responsabile
-            referenteScientifico.addProgettoReferenteScientifico(progetto);
-            responsabile.addProgettoResponsabile(progetto);
+            } else {
 
-            // Registra il nuovo progetto nel database
-            ProgettoPostgresDAO progettoDB = new ProgettoPostgresDAO();
-            progettoDB.addProgetto(nome, cup, budget, dataInizio, null, referenteScientifico.getMatricola(), responsabile.getMatricola());
-        }
+                // Imposta le responsabilita' del referente scientifico e del responsabile
+                referenteScientifico.addProgettoReferenteScientifico(progetto);
+                responsabile.addProgettoResponsabile(progetto);
+
+                // Registra il nuovo progetto nel database
+                ProgettoDAO progettoDB = fornitoreDAO.getProgettoDAO();
+                progettoDB.addProgetto(nome, cup, budget, dataInizio, null, referenteScientifico.getMatricola(), responsabile.getMatricola());
+
+                registraModifica(ModificaRiga.inserimento(Tabella.PROGETTI, cup));
+            }
+        });
     }
 
     /**
@@ -484,50 +667,56 @@ public class Controller {
      */
     public void aggiungiScattoCarriera(String tipoScatto, String dipendente, LocalDate data) throws IllegalArgumentException {
 
-        //Ricava il dipendente che effettua lo scatto di carriera tra tutti i dipendenti indeterminati (deve esistere).
-        dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), dipendente);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Crea una nuova istanza di scatto di carriera, per verificarne l'esistenza.
-        scattoCarriera = new ScattoCarriera(data, TipoScatto.valueOf(tipoScatto), dipendenteIndeterminato);
+            //Ricava il dipendente che effettua lo scatto di carriera tra tutti i dipendenti indeterminati (deve esistere).
+            dipendenteIndeterminato = getDipendenteIndeterminato(dipendente);
 
-        // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
-        if (!addScattoCarrieraToElenco(scattoCarriera)) {
+            // Crea una nuova istanza di scatto di carriera, per verificarne l'esistenza.
+            scattoCarriera = new ScattoCarriera(data, TipoScatto.valueOf(tipoScatto), dipendenteIndeterminato);
 
-            throw new IllegalArgumentException("Lo scatto di carriera e' gia' stato registrato!");
+            // Verifica che l'istanza non sia già presente nell'elenco, se non e' presente la aggiunge.
+            if (!addScattoCarrieraToElenco(scattoCarriera)) {
 
-        } else {
+                throw new IllegalArgumentException("Lo scatto di carriera e' gia' stato registrato!");
 
-            // Imposta l'aggiunta di un nuovo scatto di carriera
-            dipendenteIndeterminato.addScattoCarriera(scattoCarriera);
+            } else {
 
-            // Aggiorna lo stato dirigenziale del dipendente in memoria.
-            if (tipoScatto.equals(TipoScatto.Promosso_a_dirigente)) {
-                dipendenteIndeterminato.setDirigente(true);
-            } else
-                dipendenteIndeterminato.setDirigente(false);
+                // Imposta l'aggiunta di un nuovo scatto di carriera
+                dipendenteIndeterminato.addScattoCarriera(scattoCarriera);
 
-            // Registra il nuovo scatto di carriera nel database
-            ScattoCarrieraPostgresDAO scattoCarrieraDB = new ScattoCarrieraPostgresDAO();
-            scattoCarrieraDB.addScattoCarriera(scattoCarriera.getTipoScatto().toString(), dipendenteIndeterminato.getMatricola(), data);
+                // Aggiorna lo stato dirigenziale del dipendente in memoria.
+                if (tipoScatto.equals(TipoScatto.Promosso_a_dirigente)) {
+                    dipendenteIndeterminato.setDirigente(true);
+                } else
+                    dipendenteIndeterminato.setDirigente(false);
 
-            //Deve aggiornare lo stato dirigenziale del dipendente nel database
-            DipendenteIndeterminatoPostgresDAO dipendenteDB = new DipendenteIndeterminatoPostgresDAO();
+                // Registra il nuovo scatto di carriera nel database
+                ScattoCarrieraDAO scattoCarrieraDB = fornitoreDAO.getScattoCarrieraDAO();
+                scattoCarrieraDB.addScattoCarriera(scattoCarriera.getTipoScatto().toString(), dipendenteIndeterminato.getMatricola(), data);
+                registraModifica(ModificaRiga.inserimento(Tabella.SCATTI_CARRIERA, dipendenteIndeterminato.getMatricola(), scattoCarriera.getTipoScatto().toString(), data));
 
-            switch (TipoScatto.valueOf(tipoScatto)) {
+                //Deve aggiornare lo stato dirigenziale del dipendente nel database
+                DipendenteIndeterminatoDAO dipendenteDB = fornitoreDAO.getDipendenteIndeterminatoDAO();
 
-                case Promosso_a_dirigente:
-                    dipendenteDB.updateStatoDirigente(dipendenteIndeterminato.getMatricola(), true);
-                    break;
+                switch (TipoScatto.valueOf(tipoScatto)) {
 
-                case Rimosso_da_dirigente:
-                    dipendenteDB.updateStatoDirigente(dipendenteIndeterminato.getMatricola(), false);
-                    break;
+                    case Promosso_a_dirigente:
+                        dipendenteDB.updateStatoDirigente(dipendenteIndeterminato.getMatricola(), true);
+                        break;
+
+                    case Rimosso_da_dirigente:
+                        dipendenteDB.updateStatoDirigente(dipendenteIndeterminato.getMatricola(), false);
+                        break;
 
-                //Aggiorna i valori del tipo di dipendente indeterminato a Middle oppure Senior.
-                default:
-                    dipendenteDB.updateTipoDipendente(dipendenteIndeterminato.getMatricola(), tipoScatto);
+                    //Aggiorna i valori del tipo di dipendente indeterminato a Middle oppure Senior.
+                    default:
+                        dipendenteDB.updateTipoDipendente(dipendenteIndeterminato.getMatricola(), tipoScatto);
+                }
+
+                registraModifica(ModificaRiga.aggiornamento(Tabella.DIPENDENTI_INDETERMINATI, dipendenteIndeterminato.getMatricola()));
             }
-        }
+        });
     }
 
     /**
@@ -539,24 +728,29 @@ public class Controller {
      */
     public void aggiungiLavorare(String stringProgetto, String stringLaboratorio) throws IllegalArgumentException {
 
-        // Ricava il progetto per cui si vuole registrare l'istanza (deve esistere).
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Ricava il laboratorio per cui si vuole registrare l'istanza (deve esistere)
-        laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), stringLaboratorio);
+            // Ricava il progetto per cui si vuole registrare l'istanza (deve esistere).
+            progetto = getProgetto(stringProgetto);
 
-        // Verifica che l'istanza di lavoro non sia gia' presente nel laboratorio e nel progetto.
-        // Se non presente, registra l'istanza di lavoro tra il progetto ed il laboratorio
-        if (!progetto.addLaboratorioLavorante(laboratorio) || !laboratorio.addProgetto(progetto)) {
+            // Ricava il laboratorio per cui si vuole registrare l'istanza (deve esistere)
+            laboratorio = getLaboratorio(stringLaboratorio);
 
-            throw new IllegalArgumentException("L'istanza di lavoro e' gia' stata registrata!");
+            // Verifica che l'istanza di lavoro non sia gia' presente nel laboratorio e nel progetto.
+            // Se non presente, registra l'istanza di lavoro tra il progetto ed il laboratorio
+            if (!progetto.addLaboratorioLavorante(laboratorio) || !laboratorio.addProgetto(progetto)) {
 
-        } else {
+                throw new IllegalArgumentException("L'istanza di lavoro e' gia' stata registrata!");
 
-            // Registra la nuova istanza di lavoro nel database
-            LavorarePostgresDAO lavorareDB = new LavorarePostgresDAO();
-            lavorareDB.addLavorare(progetto.getCup(), laboratorio.getNome());
-        }
+            } else {
+
+                // Registra la nuova istanza di lavoro nel database
+                LavorareDAO lavorareDB = fornitoreDAO.getLavorareDAO();
+                lavorareDB.addLavorare(progetto.getCup(), laboratorio.getNome());
+
+                registraModifica(ModificaRiga.inserimento(Tabella.LAVORI, progetto.getCup(), laboratorio.getNome()));
+            }
+        });
     }
 
     /**
@@ -568,24 +762,31 @@ public class Controller {
      */
     public void aggiungiAfferenza(String stringDipendente, String stringLaboratorio) throws IllegalArgumentException {
 
-        // Ricava il dipendente indeterminato per cui si vuole registrare l'afferenza (deve esistere).
-        dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringDipendente);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Ricava il laboratorio per cui si vuole registrare l'afferenza (deve esistere).
-        laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), stringLaboratorio);
+            // Ricava il dipendente indeterminato per cui si vuole registrare l'afferenza (deve esistere).
+            dipendenteIndeterminato = getDipendenteIndeterminato(stringDipendente);
 
-        // Verifica che l'afferenza non sia gia' presente nel dipendente indeterminato e nel laboratorio.
-        // Se non presente, registra l'afferenza tra questi ultimi
-        if (!dipendenteIndeterminato.addAfferenzaLaboratorio(laboratorio) || !laboratorio.addAfferente(dipendenteIndeterminato)) {
+            // Ricava il laboratorio per cui si vuole registrare l'afferenza (deve esistere).
+            laboratorio = getLaboratorio(stringLaboratorio);
 
-            throw new IllegalArgumentException("L'afferenza e' gia' stata registrata!");
+            // Verifica che l'afferenza non sia gia' presente nel dipendente indeterminato e nel laboratorio.
+            // Se non presente, registra l'afferenza tra questi ultimi
+            if (!dipendenteIndeterminato.addAfferenzaLaboratorio(laboratorio) || !laboratorio.addAfferente(dipendenteIndeterminato)) {
 
-        } else {
+                throw new IllegalArgumentException("L'afferenza e' gia' stata registrata!");
 
-            // Viene aggiunta l'afferenza al database.
-            AfferirePostgresDAO afferireDB = new AfferirePostgresDAO();
-            afferireDB.addAfferenza(dipendenteIndeterminato.getMatricola(), laboratorio.getNome());
-        }
+            } else {
+
+                // Viene aggiunta l'afferenza al database.
+                AfferireDAO afferireDB = fornitoreDAO.getAfferireDAO();
+                afferireDB.addAfferenza(dipendenteIndeterminato.getMatricola(), laboratorio.getNome());
+
+                // Il nuovo afferente si aggiunge al numero di afferenti del laboratorio
+                registraModifica(ModificaRiga.inserimento(Tabella.AFFERENZE, dipendenteIndeterminato.getMatricola(), laboratorio.getNome()));
+                registraModifica(ModificaRiga.aggiornamento(Tabella.LABORATORI, laboratorio.getNome()));
+            }
+        });
     }
 
     //METODI MODIFICA
@@ -609,107 +810,93 @@ public class Controller {
                                                 String codFiscale, String matricola, String tipo, String indirizzo, LocalDate dataNascita,
                                                 LocalDate dataAssunzione, LocalDate dataFine, boolean dirigente) throws IllegalArgumentException {
 
-        // Crea una nuova istanza di scatto di carriera, per verificarne l'esistenza.
-        dipendenteIndeterminato = new DipendenteIndeterminato(nome, cognome, codFiscale, matricola, TipoDipendente.valueOf(tipo), indirizzo, dataNascita, dataAssunzione, dataFine, dirigente);
-
-        if (getElencoAllDipendentiIndeterminati().contains(dipendenteIndeterminato))
-            throw new IllegalArgumentException("Il dipendente indeterminato e' gia' stato registrato!");
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Ricava il dipendente indeterminato da modificare, in base alla matricola corrente
-        dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), vecchiaMatricola);
+            // Crea una nuova istanza di scatto di carriera, per verificarne l'esistenza.
+            dipendenteIndeterminato = new DipendenteIndeterminato(nome, cognome, codFiscale, matricola, TipoDipendente.valueOf(tipo), indirizzo, dataNascita, dataAssunzione, dataFine, dirigente);
 
-        // Imposta i nuovi campi del dipendente indeterminato
-        dipendenteIndeterminato.setNome(nome);
-        dipendenteIndeterminato.setCognome(cognome);
-        dipendenteIndeterminato.setTipoDipendente(TipoDipendente.valueOf(tipo));
-        dipendenteIndeterminato.setIndirizzo(indirizzo);
-        dipendenteIndeterminato.setDataNascita(dataNascita);
-        dipendenteIndeterminato.setDataFineRapporto(dataFine);
-        dipendenteIndeterminato.setDirigente(dirigente);
+            if (presenteInIndice(indiceDipendentiIndeterminati, matricola, dipendenteIndeterminato))
+                throw new IllegalArgumentException("Il dipendente indeterminato e' gia' stato registrato!");
 
-        // Se il codice fiscale e' cambiato, aggiorna i dati anagrafici del dipendente.
-        if (!codFiscale.equals(dipendenteIndeterminato.getCodFiscale())) {
+            // Ricava il dipendente indeterminato da modificare, in base alla matricola corrente
+            dipendenteIndeterminato = getDipendenteIndeterminato(vecchiaMatricola);
 
-            String vecchioCodFiscale = dipendenteIndeterminato.getCodFiscale();
-            dipendenteIndeterminato.setCodFiscale(codFiscale);
+            // Imposta i nuovi campi del dipendente indeterminato
+            dipendenteIndeterminato.setNome(nome);
+            dipendenteIndeterminato.setCognome(cognome);
+            dipendenteIndeterminato.setTipoDipendente(TipoDipendente.valueOf(tipo));
+            dipendenteIndeterminato.setIndirizzo(indirizzo);
+            dipendenteIndeterminato.setDataNascita(dataNascita);
+            dipendenteIndeterminato.setDataFineRapporto(dataFine);
+            dipendenteIndeterminato.setDirigente(dirigente);
 
-            updateDatiAnagraficiDipendenteIndeterminatoInElenco(vecchioCodFiscale, dipendenteIndeterminato);
-            updateDatiAnagraficiDipendenteDatabase(dipendenteIndeterminato, vecchioCodFiscale);
-        }
-
-        // Se la data di assunzione e' cambiata, verranno ricalcolati gli scatti di carriera, eliminando i vecchi ed aggiungendone di nuovi
-        if (!dataAssunzione.equals(dipendenteIndeterminato.getDataAssunzione())) {
+            // Se il codice fiscale e' cambiato, aggiorna i dati anagrafici del dipendente.
+            if (!codFiscale.equals(dipendenteIndeterminato.getCodFiscale())) {
 
-            ricalcolaScattiCarriera(dataAssunzione);
-        }
+                String vecchioCodFiscale = dipendenteIndeterminato.getCodFiscale();
+                dipendenteIndeterminato.setCodFiscale(codFiscale);
 
-        // Viene aggiornato lo stato dirigenziale in maniera appropriata
-        if (!vecchioDirigente && dirigente)
-            insertScattoPromossoDirigenteNow();
+                updateDatiAnagraficiDipendenteIndeterminatoInElenco(vecchioCodFiscale, dipendenteIndeterminato);
+                updateDatiAnagraficiDipendenteDatabase(dipendenteIndeterminato, vecchioCodFiscale);
+            }
 
-        if (vecchioDirigente && !dirigente)
-            insertScattoRimossoDirigenteNow(vecchioDirigente);
+            // Se la data di assunzione e' cambiata, verranno ricalcolati gli scatti di carriera, eliminando i vecchi ed aggiungendone di nuovi
+            if (!dataAssunzione.equals(dipendenteIndeterminato.getDataAssunzione())) {
 
-        // Viene impostata la nuova matricola
-        dipendenteIndeterminato.setMatricola(matricola);
+                ricalcolaScattiCarriera(dataAssunzione);
+            }
 
-        // Aggiornamento del dipendente indeterminato nel database
-        DipendenteIndeterminatoPostgresDAO dipendenteIndeterminatoDB = new DipendenteIndeterminatoPostgresDAO();
-        dipendenteIndeterminatoDB.updateDipendenteIndeterminato(vecchiaMatricola, dipendenteIndeterminato.getNome(), dipendenteIndeterminato.getCognome(),
-                dipendenteIndeterminato.getCodFiscale(), dipendenteIndeterminato.getMatricola(), dipendenteIndeterminato.getTipoDipendente().toString(), dipendenteIndeterminato.getIndirizzo(),
-                dipendenteIndeterminato.getDataNascita(), dipendenteIndeterminato.getDataAssunzione(), dipendenteIndeterminato.getDataFineRapporto(), dipendenteIndeterminato.getDirigente());
-    }
+            // Viene aggiornato lo stato dirigenziale in maniera appropriata
+            if (!vecchioDirigente && dirigente)
+                insertScattoPromossoDirigenteNow();
 
-    /**
-     * Verifica se un dipendente a tempo indeterminato e' un responsabile scientifico, un referente scientifico oppure un responsabile.
-     *
-     * @param matricola {@link String}  La matricola del dipendente da verificare.
-     * @return True se il dipendente ha responsabilità, altrimenti false.
-     */
-    public boolean checkResponsabilitaDipendente(String matricola) {
+            if (vecchioDirigente && !dirigente)
+                insertScattoRimossoDirigenteNow(vecchioDirigente);
 
-        // Inizialmente, impostiamo il test su false, per cui il dipendente non ha nessuna responsabilita'.
-        boolean test = false;
+            // Viene impostata la nuova matricola
+            dipendenteIndeterminato.setMatricola(matricola);
+            reindicizza(indiceDipendentiIndeterminati, vecchiaMatricola, matricola, dipendenteIndeterminato);
 
-        // Ricava l'istanza del dipendente indeterminato per cui si vuole effettuare la verifica (deve esiste)
-        dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), matricola);
+            // Aggiornamento del dipendente indeterminato nel database
+            DipendenteIndeterminatoDAO dipendenteIndeterminatoDB = fornitoreDAO.getDipendenteIndeterminatoDAO();
+            dipendenteIndeterminatoDB.updateDipendenteIndeterminato(vecchiaMatricola, dipendenteIndeterminato.getNome(), dipendenteIndeterminato.getCognome(),
+                    dipendenteIndeterminato.getCodFiscale(), dipendenteIndeterminato.getMatricola(), dipendenteIndeterminato.getTipoDipendente().toString(), dipendenteIndeterminato.getIndirizzo(),
+                    dipendenteIndeterminato.getDataNascita(), dipendenteIndeterminato.getDataAssunzione(), dipendenteIndeterminato.getDataFineRapporto(), dipendenteIndeterminato.getDirigente());
 
-        // Verifica se il dipendente ha responsabilita' di qualunque tipo
-        if (dipendenteIndeterminato.getLaboratoriResponsabileScientifico() != null)
-            test = true;
-        else if (dipendenteIndeterminato.getProgettiReferenteScientifico() != null)
-            test = true;
-        else if (dipendenteIndeterminato.getProgettiResponsabile() != null)
-            test = true;
+            registraModifica(ModificaRiga.modifica(Tabella.DIPENDENTI_INDETERMINATI, List.of(vecchiaMatricola), List.of(matricola)));
 
-        return test;
+            // La nuova matricola si propaga alle righe che fanno riferimento al dipendente
+            if (!matricola.equals(vecchiaMatricola))
+                registraRicaricamento(Tabella.SCATTI_CARRIERA, Tabella.AFFERENZE, Tabella.LABORATORI, Tabella.PROGETTI);
+        });
     }
 
     /**
-     * Verifica se un dipendente a tempo indeterminato e' responsabile scientifico di qualche laboratorio.
+     * Verifica se un dipendente a tempo indeterminato e' un responsabile scientifico, un referente scientifico oppure un responsabile.
      *
-     * @param matricola {@link String} La matricola del dipendente da verificare.
+     * @param matricola {@link String}  La matricola del dipendente da verificare.
      * @return True se il dipendente ha responsabilità, altrimenti false.
      */
-    public boolean checkResponsabileScientificoLaboratorioLetture(String matricola){
-
-        // Inizialmente, il dipendente non e' responsabile scientifico di alcun laboratorio
-        boolean test = false;
+    public boolean checkResponsabilitaDipendente(String matricola) {
 
-        if (getElencoAllLaboratori() != null) {
+        return leggiModello(() -> {
 
-            for (Laboratorio laboratorio : getElencoAllLaboratori()){
+            // Inizialmente, impostiamo il test su false, per cui il dipendente non ha nessuna responsabilita'.
+            boolean test = false;
 
-                // E' stato trovato un laboratorio di cui il dipendente e' responsabile scientifico
-                if (laboratorio.getResponsabileScientifico().getMatricola().equals(matricola)) {
-                    test = true;
-                    break;
-                }
-            }
+            // Ricava l'istanza del dipendente indeterminato per cui si vuole effettuare la verifica (deve esiste)
+            DipendenteIndeterminato dipendenteIndeterminato = getDipendenteIndeterminato(matricola);
 
-        }
+            // Verifica se il dipendente ha responsabilita' di qualunque tipo
+            if (dipendenteIndeterminato.getLaboratoriResponsabileScientifico() != null)
+                test = true;
+            else if (dipendenteIndeterminato.getProgettiReferenteScientifico() != null)
+                test = true;
+            else if (dipendenteIndeterminato.getProgettiResponsabile() != null)
+                test = true;
 
-        return test;
+            return test;
+        });
     }
 
     /**
@@ -721,19 +908,22 @@ public class Controller {
      */
     public boolean checkResponsabileScientificoLaboratorio(String matricola, String nomeLab){
 
-        // Inizialmente, imposta il test su false, ovvero il dipendente non e' responsabile scientifico del laboratorio specificato
-        boolean test = false;
+        return leggiModello(() -> {
 
-        // Ricava l'istanza del laboratorio per cui si vuole effettuare la verifica (deve esistere)
-        laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), nomeLab);
+            // Inizialmente, imposta il test su false, ovvero il dipendente non e' responsabile scientifico del laboratorio specificato
+            boolean test = false;
 
-        // Ricava l'istanza del dipendente indeterminato per cui si vuole effettuare la verifica (deve esistere)
-        dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), matricola);
+            // Ricava l'istanza del laboratorio per cui si vuole effettuare la verifica (deve esistere)
+            Laboratorio laboratorio = getLaboratorio(nomeLab);
 
-        if (laboratorio.getResponsabileScientifico().equals(dipendenteIndeterminato))
-            test = true;
+            // Ricava l'istanza del dipendente indeterminato per cui si vuole effettuare la verifica (deve esistere)
+            DipendenteIndeterminato dipendenteIndeterminato = getDipendenteIndeterminato(matricola);
 
-        return test;
+            if (laboratorio.getResponsabileScientifico().equals(dipendenteIndeterminato))
+                test = true;
+
+            return test;
+        });
     }
 
     /**
@@ -754,7 +944,7 @@ public class Controller {
         insertAutomaticScatti();
 
         // Aggiorna la data di assunzione del dipendente nel database.
-        DipendenteIndeterminatoPostgresDAO dipendenteIndeterminatoDB = new DipendenteIndeterminatoPostgresDAO();
+        DipendenteIndeterminatoDAO dipendenteIndeterminatoDB = fornitoreDAO.getDipendenteIndeterminatoDAO();
         dipendenteIndeterminatoDB.updateDataAssunzione(dipendenteIndeterminato.getMatricola(), dipendenteIndeterminato.getDataAssunzione());
     }
 
@@ -770,8 +960,10 @@ public class Controller {
         dipendenteIndeterminato.setScattiEffettuati(null);
 
         // Rimuovi tutti gli scatti di carriera del dipendente dal database.
-        ScattoCarrieraPostgresDAO scattoCarrieraDB = new ScattoCarrieraPostgresDAO();
+        ScattoCarrieraDAO scattoCarrieraDB = fornitoreDAO.getScattoCarrieraDAO();
         scattoCarrieraDB.removeAllScattiCarrieraDipendente(dipendenteIndeterminato.getMatricola());
+
+        registraRicaricamento(Tabella.SCATTI_CARRIERA);
     }
 
     /**
@@ -786,8 +978,10 @@ public class Controller {
         removeAllTipoScattiDipendente(vecchioDipendente, tipoScatto);
 
         // Rimuovi tutti gli scatti di carriera di quel tipo dal database.
-        ScattoCarrieraPostgresDAO scattoCarrieraDB = new ScattoCarrieraPostgresDAO();
+        ScattoCarrieraDAO scattoCarrieraDB = fornitoreDAO.getScattoCarrieraDAO();
         scattoCarrieraDB.removeScattoCarriera(tipoScatto.toString(), vecchioDipendente.getMatricola());
+
+        registraRicaricamento(Tabella.SCATTI_CARRIERA);
     }
 
     /**
@@ -804,16 +998,22 @@ public class Controller {
         if (dipendente instanceof DipendenteIndeterminato) {
 
             // Aggiorna il dipendente indeterminato con i nuovi dati
-            DipendenteIndeterminatoPostgresDAO dipendenteIndeterminatoDB = new DipendenteIndeterminatoPostgresDAO();
+            DipendenteIndeterminatoDAO dipendenteIndeterminatoDB = fornitoreDAO.getDipendenteIndeterminatoDAO();
             dipendenteIndeterminatoDB.updateDatiAnagraficiDipendente(vecchioCodFiscale, dipendente.getNome(), dipendente.getCognome(),
                     dipendente.getCodFiscale(), dipendente.getIndirizzo(), dipendente.getDataNascita());
 
+            // Vengono aggiornati tutti i contratti della persona
+            registraRicaricamento(Tabella.DIPENDENTI_INDETERMINATI);
+
         } else if (dipendente instanceof DipendenteProgetto) {
 
             // Aggiorna il dipendente indeterminato con i nuovi dati
-            DipendenteProgettoPostgresDAO dipendenteProgettoDB = new DipendenteProgettoPostgresDAO();
+            DipendenteProgettoDAO dipendenteProgettoDB = fornitoreDAO.getDipendenteProgettoDAO();
             dipendenteProgettoDB.updateDatiAnagraficiDipendente(vecchioCodFiscale, dipendente.getNome(), dipendente.getCognome(),
                     dipendente.getCodFiscale(), dipendente.getIndirizzo(), dipendente.getDataNascita());
+
+            // Vengono aggiornati tutti i contratti della persona
+            registraRicaricamento(Tabella.DIPENDENTI_PROGETTO);
         }
     }
 
@@ -838,53 +1038,64 @@ public class Controller {
                                            String indirizzo, LocalDate dataNascita, LocalDate dataAssunzione,
                                            LocalDate scadenza, BigDecimal costo, String stringProgetto) throws IllegalArgumentException {
 
-        // Ricava l'istanza del nuovo progetto che, eventualmente, ingaggia il dipendente a progetto (deve esistere)
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Crea una nuova istanza di dipendente a progetto, per verificarne l'esistenza.
-        dipendenteProgetto = new DipendenteProgetto(nome, cognome, codFiscale, matricola, indirizzo, dataNascita, dataAssunzione, scadenza, costo, progetto);
+            // Ricava l'istanza del nuovo progetto che, eventualmente, ingaggia il dipendente a progetto (deve esistere)
+            progetto = getProgetto(stringProgetto);
 
-        if (getElencoAllDipendentiProgetto().contains(dipendenteProgetto))
-            throw new IllegalArgumentException("Il dipendente a progetto e' gia' stato registrato!");
+            // Crea una nuova istanza di dipendente a progetto, per verificarne l'esistenza.
+            dipendenteProgetto = new DipendenteProgetto(nome, cognome, codFiscale, matricola, indirizzo, dataNascita, dataAssunzione, scadenza, costo, progetto);
 
-        // Se il dipendente a progetto non esiste gia', allora si modifica la vecchia istanza del dipendente con i nuovi dati
-        // Non viene modificata la matricola, siccome bisogna aggiornare le associazioni del dipendente  con il vecchio ed il nuovo progetto proprietario
+            if (presenteInIndice(indiceDipendentiProgetto, matricola, dipendenteProgetto))
+                throw new IllegalArgumentException("Il dipendente a progetto e' gia' stato registrato!");
 
-        // Ricava l'istanza del vecchio progetto che in precedenza ha ingaggiato il dipendente a progetto (deve esistere)
-        Progetto vecchioProgetto = getIstanceFromArrayList(getElencoAllProgetti(), stringVecchioProgetto);
+            // Se il dipendente a progetto non esiste gia', allora si modifica la vecchia istanza del dipendente con i nuovi dati
+            // Non viene modificata la matricola, siccome bisogna aggiornare le associazioni del dipendente  con il vecchio ed il nuovo progetto proprietario
 
-        // Recupera la vecchia istanza di dipendente a progetto, modificandone i campi
-        dipendenteProgetto = getIstanceFromArrayList(getElencoAllDipendentiProgetto(), vecchiaMatricola);
-        dipendenteProgetto.setNome(nome);
-        dipendenteProgetto.setCognome(cognome);
-        dipendenteProgetto.setCodFiscale(codFiscale);
-        dipendenteProgetto.setIndirizzo(indirizzo);
-        dipendenteProgetto.setDataNascita(dataNascita);
-        dipendenteProgetto.setDataAssunzione(dataAssunzione);
-        dipendenteProgetto.setScadenza(scadenza);
-        dipendenteProgetto.setCosto(costo);
+            // Ricava l'istanza del vecchio progetto che in precedenza ha ingaggiato il dipendente a progetto (deve esistere)
+            Progetto vecchioProgetto = getProgetto(stringVecchioProgetto);
 
-        // Nel caso cambia il progetto che ingaggia il dipendente a progetto, deve aggiornare l'associazione
-        if (!vecchioProgetto.equals(progetto)){
+            // Recupera la vecchia istanza di dipendente a progetto, modificandone i campi
+            dipendenteProgetto = getDipendenteProgetto(vecchiaMatricola);
+            dipendenteProgetto.setNome(nome);
+            dipendenteProgetto.setCognome(cognome);
+            rimuoviContratto(indiceCodFiscaleProgetto, dipendenteProgetto.getCodFiscale(), dipendenteProgetto);
+            dipendenteProgetto.setCodFiscale(codFiscale);
+            aggiungiContratto(indiceCodFiscaleProgetto, codFiscale, dipendenteProgetto);
+            dipendenteProgetto.setIndirizzo(indirizzo);
+            dipendenteProgetto.setDataNascita(dataNascita);
+            dipendenteProgetto.setDataAssunzione(dataAssunzione);
+            dipendenteProgetto.setScadenza(scadenza);
+            dipendenteProgetto.setCosto(costo);
 
-            // Elimina l'ingaggio del dipendente dal progetto rimosso
-            vecchioProgetto.removeDipendenteIngaggiato(dipendenteProgetto);
+            // Nel caso cambia il progetto che ingaggia il dipendente a progetto, deve aggiornare l'associazione
+            if (!vecchioProgetto.equals(progetto)){
 
-            // Aggiunge l'ingaggio del dipendente al progetto impostato
-            progetto.addDipendenteIngaggiato(dipendenteProgetto);
+                // Elimina l'ingaggio del dipendente dal progetto rimosso
+                vecchioProgetto.removeDipendenteIngaggiato(dipendenteProgetto);
 
-            // Imposta il nuovo progetto proprietario del dipendente a progetto modificato
-            dipendenteProgetto.setProgettoProprietario(progetto);
-        }
+                // Aggiunge l'ingaggio del dipendente al progetto impostato
+                progetto.addDipendenteIngaggiato(dipendenteProgetto);
 
-        // Imposta la nuova matricola del dipendente a progetto
-        dipendenteProgetto.setMatricola(matricola);
+                // Imposta il nuovo progetto proprietario del dipendente a progetto modificato
+                dipendenteProgetto.setProgettoProprietario(progetto);
+            }
 
-        //Aggiornamento del dipendente a progetto nel database
-        DipendenteProgettoPostgresDAO dipendenteProgettoDB = new DipendenteProgettoPostgresDAO();
-        dipendenteProgettoDB.updateDipendenteProgetto(vecchiaMatricola, dipendenteProgetto.getNome(), dipendenteProgetto.getCognome(),
-                dipendenteProgetto.getCodFiscale(), dipendenteProgetto.getMatricola(), dipendenteProgetto.getIndirizzo(),
-                dipendenteProgetto.getDataNascita(), dipendenteProgetto.getDataAssunzione(), dipendenteProgetto.getScadenza(), dipendenteProgetto.getProgettoProprietario().getCup(), dipendenteProgetto.getCosto());
+            // Imposta la nuova matricola del dipendente a progetto
+            dipendenteProgetto.setMatricola(matricola);
+            reindicizza(indiceDipendentiProgetto, vecchiaMatricola, matricola, dipendenteProgetto);
+
+            //Aggiornamento del dipendente a progetto nel database
+            DipendenteProgettoDAO dipendenteProgettoDB = fornitoreDAO.getDipendenteProgettoDAO();
+            dipendenteProgettoDB.updateDipendenteProgetto(vecchiaMatricola, dipendenteProgetto.getNome(), dipendenteProgetto.getCognome(),
+                    dipendenteProgetto.getCodFiscale(), dipendenteProgetto.getMatricola(), dipendenteProgetto.getIndirizzo(),
+                    dipendenteProgetto.getDataNascita(), dipendenteProgetto.getDataAssunzione(), dipendenteProgetto.getScadenza(), dipendenteProgetto.getProgettoProprietario().getCup(), dipendenteProgetto.getCosto());
+
+            // Il costo del dipendente viene aggiornato nel vecchio e nel nuovo progetto
+            registraModifica(ModificaRiga.modifica(Tabella.DIPENDENTI_PROGETTO, List.of(vecchiaMatricola), List.of(matricola)));
+            registraModifica(ModificaRiga.aggiornamento(Tabella.PROGETTI, vecchioProgetto.getCup()));
+            registraModifica(ModificaRiga.aggiornamento(Tabella.PROGETTI, progetto.getCup()));
+        });
     }
 
     /**
@@ -901,73 +1112,81 @@ public class Controller {
      */
     public void modificaAttrezzatura(String vecchioId, String stringVecchioProgetto, String stringVecchioLaboratorio, String descrizione, BigDecimal costo, String stringProgetto, String stringLaboratorio) throws IllegalArgumentException {
 
-        // Ricava l'istanza del nuovo progetto che, eventualmente, acquista l'attrezzatura (deve esistere)
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Ricava l'istanza del nuovo laboratorio che, eventualmente, possiede l'attrezzatura (deve esistere)
-        laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), stringLaboratorio);
+            // Ricava l'istanza del nuovo progetto che, eventualmente, acquista l'attrezzatura (deve esistere)
+            progetto = getProgetto(stringProgetto);
 
-        // Crea una nuova istanza dell'attrezzatura, per verificarne l'esistenza.
-        attrezzatura = new Attrezzatura(Integer.parseInt(vecchioId), descrizione, costo, progetto, laboratorio);
+            // Ricava l'istanza del nuovo laboratorio che, eventualmente, possiede l'attrezzatura (deve esistere)
+            laboratorio = getLaboratorio(stringLaboratorio);
 
-        // Verifica se l'attrezzatura creata e' gia' esistente
-        for (Attrezzatura currAttrezzatura : progetto.getAttrezzature()) {
+            // Crea una nuova istanza dell'attrezzatura, per verificarne l'esistenza.
+            attrezzatura = new Attrezzatura(Integer.parseInt(vecchioId), descrizione, costo, progetto, laboratorio);
 
-            if (currAttrezzatura.equals(attrezzatura) && currAttrezzatura.getLaboratorioPossedente() != null &&
-                    currAttrezzatura.getLaboratorioPossedente().equals(laboratorio))
-                throw new IllegalArgumentException("L'attrezzatura risulta gia' registrata");
-        }
+            // Verifica se l'attrezzatura creata e' gia' esistente
+            for (Attrezzatura currAttrezzatura : progetto.getAttrezzature()) {
 
-        // Ricava l'istanza del vecchio che ha acquistato l'attrezzatura (deve esistere)
-        Progetto vecchioProgetto = getIstanceFromArrayList(getElencoAllProgetti(), stringVecchioProgetto);
+                if (currAttrezzatura.equals(attrezzatura) && currAttrezzatura.getLaboratorioPossedente() != null &&
+                        currAttrezzatura.getLaboratorioPossedente().equals(laboratorio))
+                    throw new IllegalArgumentException("L'attrezzatura risulta gia' registrata");
+            }
 
-        // Ricava, se specificata, l'istanza del vecchio laboratorio che possiede l'attrezzatura (deve esistere)
-        Laboratorio vecchioLaboratorio = null;
-        if (stringVecchioLaboratorio != null)
-            vecchioLaboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), stringVecchioLaboratorio);
+            // Ricava l'istanza del vecchio che ha acquistato l'attrezzatura (deve esistere)
+            Progetto vecchioProgetto = getProgetto(stringVecchioProgetto);
 
-        // Viene recuperata l'istanza dell'attrezzatura modificata, e vengono aggiornati i capi di descrizione e costo
-        attrezzatura = getIstanceFromArrayList(getElencoAllAttrezzature(), vecchioId);
-        attrezzatura.setDescrizione(descrizione);
-        attrezzatura.setCosto(costo);
+            // Ricava, se specificata, l'istanza del vecchio laboratorio che possiede l'attrezzatura (deve esistere)
+            Laboratorio vecchioLaboratorio = null;
+            if (stringVecchioLaboratorio != null)
+                vecchioLaboratorio = getLaboratorio(stringVecchioLaboratorio);
 
-        // Nel caso venga modificato il progetto che ha acquistato l'attrezzaura, viene modificata l'associazione ingaggiare
-        if (!progetto.equals(vecchioProgetto)) {
+            // Viene recuperata l'istanza dell'attrezzatura modificata, e vengono aggiornati i capi di descrizione e costo
+            attrezzatura = getAttrezzatura(vecchioId);
+            attrezzatura.setDescrizione(descrizione);
+            attrezzatura.setCosto(costo);
 
-            // Rimuove l'acquisto dell'attrezzatura dal progetto modificato e registra il nuovo acquisto al progetto in modifica
-            vecchioProgetto.removeAttrezzaturaAcquistata(attrezzatura);
-            progetto.addAttrezzaturaAcquistata(attrezzatura);
+            // Nel caso venga modificato il progetto che ha acquistato l'attrezzaura, viene modificata l'associazione ingaggiare
+            if (!progetto.equals(vecchioProgetto)) {
 
-            // Imposta il nuovo progetto come proprietario dell'attrezzatura
-            attrezzatura.setProgettoProprietario(progetto);
-        }
+                // Rimuove l'acquisto dell'attrezzatura dal progetto modificato e registra il nuovo acquisto al progetto in modifica
+                vecchioProgetto.removeAttrezzaturaAcquistata(attrezzatura);
+                progetto.addAttrezzaturaAcquistata(attrezzatura);
+
+                // Imposta il nuovo progetto come proprietario dell'attrezzatura
+                attrezzatura.setProgettoProprietario(progetto);
+            }
 
-        // Nel caso venga modificato il laboratorio che possiede l'attrezzaura, viene modificata l'associazione possedere
-        if (vecchioLaboratorio != null && !laboratorio.equals(vecchioLaboratorio)) {
+            // Nel caso venga modificato il laboratorio che possiede l'attrezzaura, viene modificata l'associazione possedere
+            if (vecchioLaboratorio != null && !laboratorio.equals(vecchioLaboratorio)) {
 
-            // Rimuove il possedimento dell'attrezzatura dal laboratorio modificato e lo aggiunge al laboratorio in modifica
-            vecchioLaboratorio.removeAttrezzatura(attrezzatura);
-            laboratorio.addAttrezzatura(attrezzatura);
+                // Rimuove il possedimento dell'attrezzatura dal laboratorio modificato e lo aggiunge al laboratorio in modifica
+                vecchioLaboratorio.removeAttrezzatura(attrezzatura);
+                laboratorio.addAttrezzatura(attrezzatura);
 
-            // Imposta il nuovo laboratorio possedente dell'attrezzatura
-            attrezzatura.setLaboratorioPossedente(laboratorio);
+                // Imposta il nuovo laboratorio possedente dell'attrezzatura
+                attrezzatura.setLaboratorioPossedente(laboratorio);
 
-        } else if (vecchioLaboratorio == null){
+            } else if (vecchioLaboratorio == null){
 
-            // Aggiunge l'attrezzatura al nuovo laboratorio
-            laboratorio.addAttrezzatura(attrezzatura);
+                // Aggiunge l'attrezzatura al nuovo laboratorio
+                laboratorio.addAttrezzatura(attrezzatura);
 
-            // Imposta il nuovo laboratorio possedente dell'attrezzatura
-            attrezzatura.setLaboratorioPossedente(laboratorio);
-        }
+                // Imposta il nuovo laboratorio possedente dell'attrezzatura
+                attrezzatura.setLaboratorioPossedente(laboratorio);
+            }
 
-        // Aggiornamento dell'attrezzatura nel database
-        AttrezzaturaPostgresDAO attrezzaturaDB = new AttrezzaturaPostgresDAO();
-        attrezzaturaDB.updateAttrezzatura(Integer.parseInt(vecchioId),
-                                            attrezzatura.getDescrizione(),
-                                            attrezzatura.getCosto(),
-                                            progetto.getCup(),
-                                            laboratorio.getNome());
+            // Aggiornamento dell'attrezzatura nel database
+            AttrezzaturaDAO attrezzaturaDB = fornitoreDAO.getAttrezzaturaDAO();
+            attrezzaturaDB.updateAttrezzatura(Integer.parseInt(vecchioId),
+                                                attrezzatura.getDescrizione(),
+                                                attrezzatura.getCosto(),
+                                                progetto.getCup(),
+                                                laboratorio.getNome());
+
+            // Il costo dell'attrezzatura viene aggiornato nel vecchio e nel nuovo progetto
+            registraModifica(ModificaRiga.aggiornamento(Tabella.ATTREZZATURE, Integer.parseInt(vecchioId)));
+            registraModifica(ModificaRiga.aggiornamento(Tabella.PROGETTI, vecchioProgetto.getCup()));
+            registraModifica(ModificaRiga.aggiornamento(Tabella.PROGETTI, progetto.getCup()));
+        });
     }
 
     /**
@@ -983,49 +1202,57 @@ public class Controller {
      */
     public void modificaAttrezzatura(String vecchioId, String stringVecchioProgetto, String stringVecchioLaboratorio, String descrizione, BigDecimal costo, String stringProgetto) throws IllegalArgumentException {
 
-        // Ricava l'istanza del nuovo progetto che, eventualmente, acquista l'attrezzatura (deve esistere)
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Crea una nuova istanza dell'attrezzatura, per verificarne l'esistenza.
-        attrezzatura = new Attrezzatura(Integer.parseInt(vecchioId), descrizione, costo, progetto);
+            // Ricava l'istanza del nuovo progetto che, eventualmente, acquista l'attrezzatura (deve esistere)
+            progetto = getProgetto(stringProgetto);
 
-        // Ricava, se specificata, l'istanza del vecchio laboratorio che possiede l'attrezzatura (deve esistere)
-        Laboratorio vecchioLaboratorio = null;
-        if (stringVecchioLaboratorio != null)
-            vecchioLaboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), stringVecchioLaboratorio);
+            // Crea una nuova istanza dell'attrezzatura, per verificarne l'esistenza.
+            attrezzatura = new Attrezzatura(Integer.parseInt(vecchioId), descrizione, costo, progetto);
 
-        // Verifica l'esistenza dell'attrezzatura
-        if (vecchioLaboratorio == null && progetto.getAttrezzature().contains(attrezzatura)){
+            // Ricava, se specificata, l'istanza del vecchio laboratorio che possiede l'attrezzatura (deve esistere)
+            Laboratorio vecchioLaboratorio = null;
+            if (stringVecchioLaboratorio != null)
+                vecchioLaboratorio = getLaboratorio(stringVecchioLaboratorio);
 
-            throw new IllegalArgumentException("L'attrezzatura risulta gia' registrata");
-        }
+            // Verifica l'esistenza dell'attrezzatura
+            if (vecchioLaboratorio == null && progetto.getAttrezzature().contains(attrezzatura)){
+
+                throw new IllegalArgumentException("L'attrezzatura risulta gia' registrata");
+            }
 
-        // Ricava l'istanza del vecchio che ha acquistato l'attrezzatura (deve esistere)
-        Progetto vecchioProgetto = getIstanceFromArrayList(getElencoAllProgetti(), stringVecchioProgetto);
+            // Ricava l'istanza del vecchio che ha acquistato l'attrezzatura (deve esistere)
+            Progetto vecchioProgetto = getProgetto(stringVecchioProgetto);
 
-        // Viene recuperata l'istanza dell'attrezzatura modificata, e vengono aggiornati i capi di descrizione e costo
-        attrezzatura = getIstanceFromArrayList(getElencoAllAttrezzature(), vecchioId);
-        attrezzatura.setDescrizione(descrizione);
-        attrezzatura.setCosto(costo);
+            // Viene recuperata l'istanza dell'attrezzatura modificata, e vengono aggiornati i capi di descrizione e costo
+            attrezzatura = getAttrezzatura(vecchioId);
+            attrezzatura.setDescrizione(descrizione);
+            attrezzatura.setCosto(costo);
 
-        // Nel caso venga modificato il progetto che ha acquistato l'attrezzaura, viene modificata l'associazione ingaggiare
-        if (!progetto.equals(vecchioProgetto)) {
+            // Nel caso venga modificato il progetto che ha acquistato l'attrezzaura, viene modificata l'associazione ingaggiare
+            if (!progetto.equals(vecchioProgetto)) {
 
-            // Rimuove l'acquisto dell'attrezzatura dal progetto modificato e registra il nuovo acquisto al progetto in modifica
-            vecchioProgetto.removeAttrezzaturaAcquistata(attrezzatura);
-            progetto.addAttrezzaturaAcquistata(attrezzatura);
+                // Rimuove l'acquisto dell'attrezzatura dal progetto modificato e registra il nuovo acquisto al progetto in modifica
+                vecchioProgetto.removeAttrezzaturaAcquistata(attrezzatura);
+                progetto.addAttrezzaturaAcquistata(attrezzatura);
 
-            // Imposta il nuovo progetto come proprietario dell'attrezzatura
-            attrezzatura.setProgettoProprietario(progetto);
-        }
+                // Imposta il nuovo progetto come proprietario dell'attrezzatura
+                attrezzatura.setProgettoProprietario(progetto);
+            }
 
-        // Aggiornamento dell'attrezzatura nel database
-        AttrezzaturaPostgresDAO attrezzaturaDB = new AttrezzaturaPostgresDAO();
-        attrezzaturaDB.updateAttrezzatura(Integer.parseInt(vecchioId),
-                attrezzatura.getDescrizione(),
-                attrezzatura.getCosto(),
-                progetto.getCup(),
-                null);
+            // Aggiornamento dell'attrezzatura nel database
+            AttrezzaturaDAO attrezzaturaDB = fornitoreDAO.getAttrezzaturaDAO();
+            attrezzaturaDB.updateAttrezzatura(Integer.parseInt(vecchioId),
+                    attrezzatura.getDescrizione(),
+                    attrezzatura.getCosto(),
+                    progetto.getCup(),
+                    null);
+
+            // Il costo dell'attrezzatura viene aggiornato nel vecchio e nel nuovo progetto
+            registraModifica(ModificaRiga.aggiornamento(Tabella.ATTREZZATURE, Integer.parseInt(vecchioId)));
+            registraModifica(ModificaRiga.aggiornamento(Tabella.PROGETTI, vecchioProgetto.getCup()));
+            registraModifica(ModificaRiga.aggiornamento(Tabella.PROGETTI, progetto.getCup()));
+        });
     }
 
     /**
@@ -1039,43 +1266,54 @@ public class Controller {
      */
     public void modificaLaboratorio(String vecchioNome, String nome, String topic, String stringResponsabileScientifico) throws IllegalArgumentException {
 
-        // Ricava l'istanza del nuovo responsabile scientifico del nuovo laboratorio (deve esistere)
-        responsabileScientifico = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringResponsabileScientifico);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Crea una nuova istanza del laboratorio, per verificarne l'esistenza.
-        laboratorio = new Laboratorio(nome, topic, responsabileScientifico);
+            // Ricava l'istanza del nuovo responsabile scientifico del nuovo laboratorio (deve esistere)
+            responsabileScientifico = getDipendenteIndeterminato(stringResponsabileScientifico);
 
-        if (getElencoAllLaboratori().contains(laboratorio)) {
-            throw new IllegalArgumentException("Il laboratorio e' gia' stato registrato!");
-        }
+            // Crea una nuova istanza del laboratorio, per verificarne l'esistenza.
+            laboratorio = new Laboratorio(nome, topic, responsabileScientifico);
+
+            if (presenteInIndice(indiceLaboratori, laboratorio.getNome(), laboratorio)) {
+                throw new IllegalArgumentException("Il laboratorio e' gia' stato registrato!");
+            }
 
-        // Ricava l'istanza del vecchio laboratorio da aggiornare (deve esistere)
-        Laboratorio vecchioLaboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), vecchioNome);
+            // Ricava l'istanza del vecchio laboratorio da aggiornare (deve esistere)
+            Laboratorio vecchioLaboratorio = getLaboratorio(vecchioNome);
 
-        // Modifica le associazioni nel caso in cui sia stato cambiato il responsabile scientifico
-        if (!vecchioLaboratorio.getResponsabileScientifico().equals(responsabileScientifico)){
+            // Modifica le associazioni nel caso in cui sia stato cambiato il responsabile scientifico
+            if (!vecchioLaboratorio.getResponsabileScientifico().equals(responsabileScientifico)){
 
-            // Elimina la responsabilita' dal vecchio responsabile scientifico
-            vecchioLaboratorio.getResponsabileScientifico().removeLaboratorioResponsabileScientifico(vecchioLaboratorio);
+                // Elimina la responsabilita' dal vecchio responsabile scientifico
+                vecchioLaboratorio.getResponsabileScientifico().removeLaboratorioResponsabileScientifico(vecchioLaboratorio);
 
-            // Aggiunge la responsabilita' al nuovo responsabile scientifico
-            responsabileScientifico.addLaboratorioResponsabileScientifico(vecchioLaboratorio);
+                // Aggiunge la responsabilita' al nuovo responsabile scientifico
+                responsabileScientifico.addLaboratorioResponsabileScientifico(vecchioLaboratorio);
 
-            // Registra il nuovo responsabile scientifico del laboratorio
-            vecchioLaboratorio.setResponsabileScientifico(responsabileScientifico);
+                // Registra il nuovo responsabile scientifico del laboratorio
+                vecchioLaboratorio.setResponsabileScientifico(responsabileScientifico);
 
-            // Aggiunge l'afferenza del nuovo responsabile scientifico, non rimuovendo l'afferenza del vecchio responsabile scientifico
-            AfferirePostgresDAO afferireDB = new AfferirePostgresDAO();
-            afferireDB.addAfferenza(responsabileScientifico.getMatricola(), vecchioLaboratorio.getNome());
-        }
+                // Aggiunge l'afferenza del nuovo responsabile scientifico, non rimuovendo l'afferenza del vecchio responsabile scientifico
+                AfferireDAO afferireDB = fornitoreDAO.getAfferireDAO();
+                afferireDB.addAfferenza(responsabileScientifico.getMatricola(), vecchioLaboratorio.getNome());
+                registraModifica(ModificaRiga.inserimento(Tabella.AFFERENZE, responsabileScientifico.getMatricola(), vecchioLaboratorio.getNome()));
+            }
+
+            // Aggiornamento del laboratorio nel database
+            LaboratorioDAO laboratorioDB = fornitoreDAO.getLaboratorioDAO();
+            laboratorioDB.updateLaboratorio(vecchioLaboratorio.getNome(), laboratorio.getNome(), laboratorio.getTopic(), responsabileScientifico.getMatricola());
 
-        // Aggiornamento del laboratorio nel database
-        LaboratorioPostgresDAO laboratorioDB = new LaboratorioPostgresDAO();
-        laboratorioDB.updateLaboratorio(vecchioLaboratorio.getNome(), laboratorio.getNome(), laboratorio.getTopic(), responsabileScientifico.getMatricola());
+            registraModifica(ModificaRiga.modifica(Tabella.LABORATORI, List.of(vecchioLaboratorio.getNome()), List.of(laboratorio.getNome())));
 
-        // Aggiornamento dei campi del laboratorio nella memoria
-        vecchioLaboratorio.setNome(laboratorio.getNome());
-        vecchioLaboratorio.setTopic(laboratorio.getTopic());
+            // Il nuovo nome si propaga alle righe che fanno riferimento al laboratorio
+            if (!laboratorio.getNome().equals(vecchioLaboratorio.getNome()))
+                registraRicaricamento(Tabella.AFFERENZE, Tabella.LAVORI, Tabella.ATTREZZATURE);
+
+            // Aggiornamento dei campi del laboratorio nella memoria
+            reindicizza(indiceLaboratori, vecchioLaboratorio.getNome(), laboratorio.getNome(), vecchioLaboratorio);
+            vecchioLaboratorio.setNome(laboratorio.getNome());
+            vecchioLaboratorio.setTopic(laboratorio.getTopic());
+        });
     }
 
     /**
@@ -1094,57 +1332,66 @@ public class Controller {
     public void modificaProgetto(String vecchioCup, String nome, String cup, BigDecimal budget, LocalDate dataInizio, LocalDate dataFine,
                                  String stringReferenteScientifico, String stringResponsabile) throws IllegalArgumentException {
 
-        // Ricava l'istanza del nuovo referente scientifico del nuovo progetto (deve esistere)
-        referenteScientifico = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringReferenteScientifico);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Ricava l'istanza del nuovo responsabile del nuovo progetto (deve esistere)
-        responsabile = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringResponsabile);
+            // Ricava l'istanza del nuovo referente scientifico del nuovo progetto (deve esistere)
+            referenteScientifico = getDipendenteIndeterminato(stringReferenteScientifico);
 
-        // Crea una nuova istanza del progetto, per verificarne l'esistenza.
-        progetto = new Progetto(cup, nome, budget, dataInizio, dataFine, referenteScientifico, responsabile);
+            // Ricava l'istanza del nuovo responsabile del nuovo progetto (deve esistere)
+            responsabile = getDipendenteIndeterminato(stringResponsabile);
 
-        if (getElencoAllProgetti().contains(progetto)) {
+            // Crea una nuova istanza del progetto, per verificarne l'esistenza.
+            progetto = new Progetto(cup, nome, budget, dataInizio, dataFine, referenteScientifico, responsabile);
 
-            throw new IllegalArgumentException("Il progetto e' gia' stato registrato!");
-        }
+            if (presenteInIndice(indiceProgetti, progetto.getCup(), progetto)) {
 
-        // Ricava l'istanza del vecchio progetto da aggiornare (deve esistere)
-        Progetto vecchioProgetto = getIstanceFromArrayList(getElencoAllProgetti(), vecchioCup);
+                throw new IllegalArgumentException("Il progetto e' gia' stato registrato!");
+            }
 
-        // Se viene modificato il referente scientifico, modifica le associazioni
-        if (!vecchioProgetto.getReferenteScientifico().equals(referenteScientifico)){
+            // Ricava l'istanza del vecchio progetto da aggiornare (deve esistere)
+            Progetto vecchioProgetto = getProgetto(vecchioCup);
 
-            // Vengono modificate le responsabilita' dei dipendenti
+            // Se viene modificato il referente scientifico, modifica le associazioni
+            if (!vecchioProgetto.getReferenteScientifico().equals(referenteScientifico)){
 
-            // Rimossa responsabilita' dal vecchio referente scientifico
-            vecchioProgetto.getReferenteScientifico().removeProgettoReferenteScientifico(vecchioProgetto);
+                // Vengono modificate le responsabilita' dei dipendenti
 
-            // Aggiunta responsabilita' al nuovo referente scientifico
-            referenteScientifico.addProgettoReferenteScientifico(vecchioProgetto);
+                // Rimossa responsabilita' dal vecchio referente scientifico
+                vecchioProgetto.getReferenteScientifico().removeProgettoReferenteScientifico(vecchioProgetto);
 
-            // Aggiornato il referente scientifico del progetto
-            vecchioProgetto.setReferenteScientifico(referenteScientifico);
-        }
+                // Aggiunta responsabilita' al nuovo referente scientifico
+                referenteScientifico.addProgettoReferenteScientifico(vecchioProgetto);
 
-        // Se viene modificato il responsabile, modifica le associazioni
-        if (!vecchioProgetto.getResponsabile().equals(responsabile)){
-            // Vengono modificate le responsabilita' dei dipendenti
+                // Aggiornato il referente scientifico del progetto
+                vecchioProgetto.setReferenteScientifico(referenteScientifico);
+            }
 
-            // Rimossa responsabilita' dal vecchio responsabile
-            vecchioProgetto.getResponsabile().removeProgettoResponsabile(vecchioProgetto);
+            // Se viene modificato il responsabile, modifica le associazioni
+            if (!vecchioProgetto.getResponsabile().equals(responsabile)){
+                // Vengono modificate le responsabilita' dei dipendenti
 
-            // Aggiunta responsabilita' al nuovo referente scientifico
-            responsabile.addProgettoResponsabile(vecchioProgetto);
+                // Rimossa responsabilita' dal vecchio responsabile
+                vecchioProgetto.getResponsabile().removeProgettoResponsabile(vecchioProgetto);
 
-            // Aggiornato il responsabile del progetto
-            vecchioProgetto.setResponsabile(responsabile);
-        }
+                // Aggiunta responsabilita' al nuovo referente scientifico
+                responsabile.addProgettoResponsabile(vecchioProgetto);
+
+                // Aggiornato il responsabile del progetto
+                vecchioProgetto.setResponsabile(responsabile);
+            }
+
+            // Aggiorna il progetto nel database.
+            ProgettoDAO progettoDB = fornitoreDAO.getProgettoDAO();
+            progettoDB.updateProgetto(vecchioProgetto.getCup(), progetto.getNome(), progetto.getCup(), progetto.getBudget(),
+                    progetto.getDataInizio(), progetto.getDataFine(),referenteScientifico.getMatricola(), responsabile.getMatricola());
+
+            registraModifica(ModificaRiga.modifica(Tabella.PROGETTI, List.of(vecchioProgetto.getCup()), List.of(progetto.getCup())));
 
-        // Aggiorna il progetto nel database.
-        ProgettoPostgresDAO progettoDB = new ProgettoPostgresDAO();
-        progettoDB.updateProgetto(vecchioProgetto.getCup(), progetto.getNome(), progetto.getCup(), progetto.getBudget(),
-                progetto.getDataInizio(), progetto.getDataFine(),referenteScientifico.getMatricola(), responsabile.getMatricola());
+            // Il nuovo CUP si propaga alle righe che fanno riferimento al progetto
+            if (!progetto.getCup().equals(vecchioProgetto.getCup()))
+                registraRicaricamento(Tabella.DIPENDENTI_PROGETTO, Tabella.ATTREZZATURE, Tabella.LAVORI);
 
+        });
     }
 
     /**
@@ -1158,40 +1405,48 @@ public class Controller {
      * */
     public void modificaAfferenza(String vecchiaMatricola, String vecchioNomeLab, String matricola, String nomeLab) throws IllegalArgumentException{
 
-        // Ricava l'istanza del nuovo laboratorio (deve esistere)
-        laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), nomeLab);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Ricava l'istanza del nuovo dipendente indeterminato (deve esistere)
-        dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), matricola);
+            // Ricava l'istanza del nuovo laboratorio (deve esistere)
+            laboratorio = getLaboratorio(nomeLab);
 
-        // Verifica se l'afferenza e' gia' presente
-        if (laboratorio.getAfferenti().contains(dipendenteIndeterminato))
-            throw new IllegalArgumentException("L'afferenza del dipendente al laboratorio specificato e' gia' registrata!");
+            // Ricava l'istanza del nuovo dipendente indeterminato (deve esistere)
+            dipendenteIndeterminato = getDipendenteIndeterminato(matricola);
 
-        // Ricava l'istanza del laboratorio da modificare (deve esistere)
-        laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), vecchioNomeLab);
+            // Verifica se l'afferenza e' gia' presente
+            if (laboratorio.getAfferenti().contains(dipendenteIndeterminato))
+                throw new IllegalArgumentException("L'afferenza del dipendente al laboratorio specificato e' gia' registrata!");
 
-        // Ricava l'istanza del dipendente indeterminato da modificare (deve esistere)
-        dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), vecchiaMatricola);
+            // Ricava l'istanza del laboratorio da modificare (deve esistere)
+            laboratorio = getLaboratorio(vecchioNomeLab);
 
-        // Elimina la vecchia afferenza dal laboratorio
-        laboratorio.removeAfferente(dipendenteIndeterminato);
-        dipendenteIndeterminato.removeAfferenzaLaboratorio(laboratorio);
+            // Ricava l'istanza del dipendente indeterminato da modificare (deve esistere)
+            dipendenteIndeterminato = getDipendenteIndeterminato(vecchiaMatricola);
 
-        // Ricava l'istanza del nuovo laboratorio (deve esistere)
-        laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), nomeLab);
+            // Elimina la vecchia afferenza dal laboratorio
+            laboratorio.removeAfferente(dipendenteIndeterminato);
+            dipendenteIndeterminato.removeAfferenzaLaboratorio(laboratorio);
 
-        // Ricava l'istanza del nuovo dipendente indeterminato (deve esistere)
-        dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), matricola);
+            // Ricava l'istanza del nuovo laboratorio (deve esistere)
+            laboratorio = getLaboratorio(nomeLab);
 
-        // Aggiunge la nuova afferenza al nuovo laboratorio
-        laboratorio.addAfferente(dipendenteIndeterminato);
-        dipendenteIndeterminato.addAfferenzaLaboratorio(laboratorio);
+            // Ricava l'istanza del nuovo dipendente indeterminato (deve esistere)
+            dipendenteIndeterminato = getDipendenteIndeterminato(matricola);
 
-        // Aggiorna l'afferenza nel database
-        AfferirePostgresDAO afferireDB = new AfferirePostgresDAO();
-        afferireDB.updateAfferenza(vecchiaMatricola, vecchioNomeLab, dipendenteIndeterminato.getMatricola(), laboratorio.getNome());
+            // Aggiunge la nuova afferenza al nuovo laboratorio
+            laboratorio.addAfferente(dipendenteIndeterminato);
+            dipendenteIndeterminato.addAfferenzaLaboratorio(laboratorio);
 
+            // Aggiorna l'afferenza nel database
+            AfferireDAO afferireDB = fornitoreDAO.getAfferireDAO();
+            afferireDB.updateAfferenza(vecchiaMatricola, vecchioNomeLab, dipendenteIndeterminato.getMatricola(), laboratorio.getNome());
+
+            // Il numero di afferenti viene aggiornato nel vecchio e nel nuovo laboratorio
+            registraModifica(ModificaRiga.modifica(Tabella.AFFERENZE, List.of(vecchiaMatricola, vecchioNomeLab), List.of(dipendenteIndeterminato.getMatricola(), laboratorio.getNome())));
+            registraModifica(ModificaRiga.aggiornamento(Tabella.LABORATORI, vecchioNomeLab));
+            registraModifica(ModificaRiga.aggiornamento(Tabella.LABORATORI, laboratorio.getNome()));
+
+        });
     }
 
     /**
@@ -1203,20 +1458,16 @@ public class Controller {
      */
     public boolean checkDataFineIsAfterAllScadenzaDipProgetto(LocalDate dataFineProgetto, String stringProgetto) {
 
-        boolean test = true;
-
-        // Recupera l'istanza del progetto da verificare dalla lista di tutti i progetti.
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
+        return leggiModello(() -> {
 
-        // Effettua un ciclo su tutte le scadenze dei dipendenti ingaggiati nel progetto.
-        for (DipendenteProgetto dipendenteProgetto : progetto.getDipendentiIngaggiati()) {
+            // Recupera l'istanza del progetto da verificare dalla lista di tutti i progetti.
+            Progetto progetto = getProgetto(stringProgetto);
 
-            // Se la data di fine del progetto è prima della scadenza di un dipendente, imposta il flag "test" su false.
-            if (dataFineProgetto.isBefore(dipendenteProgetto.getScadenza()))
-                test = false;
-        }
+            // E' sufficiente confrontare la data di fine con la scadenza piu' lontana, mantenuta dal progetto.
+            LocalDate scadenzaMassima = progetto.getScadenzaMassimaContratti();
 
-        return test;
+            return scadenzaMassima == null || !dataFineProgetto.isBefore(scadenzaMassima);
+        });
     }
 
     /**
@@ -1232,73 +1483,81 @@ public class Controller {
      */
     public void modificaScattoCarriera(String vecchioTipoScatto, String vecchiaMatricola, LocalDate vecchiaData, String tipoScatto, String dipendente, LocalDate data) throws IllegalArgumentException {
 
-        // Ricava l'istanza del nuovo dipendente indeterminato (deve esistere).
-        dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), dipendente);
-
-        // Crea una nuova istanza dello scatto di carriera, per verificarne l'esistenza.
-        scattoCarriera = new ScattoCarriera(data, TipoScatto.valueOf(tipoScatto), dipendenteIndeterminato);
-
-        if (getElencoAllScattiCarriera().contains(scattoCarriera)) {
+        eseguiInUnitaDiLavoro(() -> {
 
-            throw new IllegalArgumentException("Lo scatto di carriera e' gia' stato registrato!");
-
-        } else {
-
-            // Ricava l'istanza del vecchio dipendente indeterminato (deve esistere).
-            DipendenteIndeterminato vecchioDipendente = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), vecchiaMatricola);
-
-            ScattoCarriera vecchioScattoCarriera = null;
-
-            //cerca l'istanza del vecchio scatto carriera (non utilizzabile il metodo statico getIstanceFromArrayList(...) poiche' uno scatto e' identificato contemporaneamente dalla data, dalla matricola del dipendente e dal tipo dello scatto)
-            for (ScattoCarriera scatto : vecchioDipendente.getScattiEffettuati()) {
-
-                if (scatto.getTipoScatto().equals(TipoScatto.valueOf(vecchioTipoScatto)) && scatto.getData().equals(vecchiaData)) {
-                    vecchioScattoCarriera = scatto;
-                    break;
-                }
-            }
+            // Ricava l'istanza del nuovo dipendente indeterminato (deve esistere).
+            dipendenteIndeterminato = getDipendenteIndeterminato(dipendente);
 
-            //viene rimosso il vecchio scatto di carriera dal vecchio dipendente
-            //viene aggiunto il nuovo scatto di carriera al nuovo dipendente
+            // Crea una nuova istanza dello scatto di carriera, per verificarne l'esistenza.
+            scattoCarriera = new ScattoCarriera(data, TipoScatto.valueOf(tipoScatto), dipendenteIndeterminato);
 
-            //vecchio dipendente
-            //dalle associazioni
-            vecchioDipendente.removeScattoCarriera(vecchioScattoCarriera);
-            vecchioScattoCarriera.setDipendente(null);
-            //dall'elenco
-            getElencoAllScattiCarriera().remove(vecchioScattoCarriera);
+            if (getElencoAllScattiCarriera().contains(scattoCarriera)) {
 
-            //nuovo dipendente
-            //nelle associazioni
-            dipendenteIndeterminato.addScattoCarriera(scattoCarriera);
-            scattoCarriera.setDipendente(dipendenteIndeterminato);
-            //nell'elenco
-            addScattoCarrieraToElenco(scattoCarriera);
+                throw new IllegalArgumentException("Lo scatto di carriera e' gia' stato registrato!");
 
-            //aggiornamento del DB
-            //scatti carriera
-            ScattoCarrieraPostgresDAO scattoCarrieraDB = new ScattoCarrieraPostgresDAO();
-            scattoCarrieraDB.updateScattoCarriera(vecchioScattoCarriera.getTipoScatto().toString(), vecchioScattoCarriera.getDipendente().getMatricola(), vecchioScattoCarriera.getData(),
-                    scattoCarriera.getTipoScatto().toString(), scattoCarriera.getDipendente().getMatricola(), scattoCarriera.getData());
+            } else {
 
-            //aggiornamento valori dirigenziali
-            if (scattoCarriera.getTipoScatto().equals(TipoScatto.Promosso_a_dirigente))
-                dipendenteIndeterminato.setDirigente(true);
+                // Ricava l'istanza del vecchio dipendente indeterminato (deve esistere).
+                DipendenteIndeterminato vecchioDipendente = getDipendenteIndeterminato(vecchiaMatricola);
 
-            if (scattoCarriera.getTipoScatto().equals(TipoScatto.Rimosso_da_dirigente))
-                dipendenteIndeterminato.setDirigente(false);
+                ScattoCarriera vecchioScattoCarriera = null;
 
-            if (vecchioScattoCarriera.getTipoScatto().equals(TipoScatto.Promosso_a_dirigente))
-                vecchioDipendente.setDirigente(false);
+                //cerca l'istanza del vecchio scatto carriera (non utilizzabile una ricerca per chiave poiche' uno scatto e' identificato contemporaneamente dalla data, dalla matricola del dipendente e dal tipo dello scatto)
+                for (ScattoCarriera scatto : vecchioDipendente.getScattiEffettuati()) {
 
-            if (vecchioScattoCarriera.getTipoScatto().equals(TipoScatto.Rimosso_da_dirigente))
-                vecchioDipendente.setDirigente(true);
+                    if (scatto.getTipoScatto().equals(TipoScatto.valueOf(vecchioTipoScatto)) && scatto.getData().equals(vecchiaData)) {
+                        vecchioScattoCarriera = scatto;
+                        break;
+                    }
+                }
 
-            //Deve aggiornare i valori nella tabella del dipendente
-            DipendenteIndeterminatoPostgresDAO dipendenteDB = new DipendenteIndeterminatoPostgresDAO();
-            dipendenteDB.updateStatoDirigente(dipendenteIndeterminato.getMatricola(), dipendenteIndeterminato.getDirigente());
-            dipendenteDB.updateStatoDirigente(vecchioDipendente.getMatricola(), vecchioDipendente.getDirigente());
-        }
+                //viene rimosso il vecchio scatto di carriera dal vecchio dipendente
+                //viene aggiunto il nuovo scatto di carriera al nuovo dipendente
+
+                //vecchio dipendente
+                //dalle associazioni
+                vecchioDipendente.removeScattoCarriera(vecchioScattoCarriera);
+                vecchioScattoCarriera.setDipendente(null);
+                //dall'elenco
+                rimuoviDaElenco(elencoAllScattiCarriera, vecchioScattoCarriera);
+
+                //nuovo dipendente
+                //nelle associazioni
+                dipendenteIndeterminato.addScattoCarriera(scattoCarriera);
+                scattoCarriera.setDipendente(dipendenteIndeterminato);
+                //nell'elenco
+                addScattoCarrieraToElenco(scattoCarriera);
+
+                //aggiornamento del DB
+                //scatti carriera
+                ScattoCarrieraDAO scattoCarrieraDB = fornitoreDAO.getScattoCarrieraDAO();
+                scattoCarrieraDB.updateScattoCarriera(vecchioScattoCarriera.getTipoScatto().toString(), vecchioScattoCarriera.getDipendente().getMatricola(), vecchioScattoCarriera.getData(),
+                        scattoCarriera.getTipoScatto().toString(), scattoCarriera.getDipendente().getMatricola(), scattoCarriera.getData());
+
+                //aggiornamento valori dirigenziali
+                if (scattoCarriera.getTipoScatto().equals(TipoScatto.Promosso_a_dirigente))
+                    dipendenteIndeterminato.setDirigente(true);
+
+                if (scattoCarriera.getTipoScatto().equals(TipoScatto.Rimosso_da_dirigente))
+                    dipendenteIndeterminato.setDirigente(false);
+
+                if (vecchioScattoCarriera.getTipoScatto().equals(TipoScatto.Promosso_a_dirigente))
+                    vecchioDipendente.setDirigente(false);
+
+                if (vecchioScattoCarriera.getTipoScatto().equals(TipoScatto.Rimosso_da_dirigente))
+                    vecchioDipendente.setDirigente(true);
+
+                //Deve aggiornare i valori nella tabella del dipendente
+                DipendenteIndeterminatoDAO dipendenteDB = fornitoreDAO.getDipendenteIndeterminatoDAO();
+                dipendenteDB.updateStatoDirigente(dipendenteIndeterminato.getMatricola(), dipendenteIndeterminato.getDirigente());
+                dipendenteDB.updateStatoDirigente(vecchioDipendente.getMatricola(), vecchioDipendente.getDirigente());
+
+                registraModifica(ModificaRiga.modifica(Tabella.SCATTI_CARRIERA, List.of(vecchiaMatricola, vecchioTipoScatto, vecchiaData),
+                        List.of(dipendenteIndeterminato.getMatricola(), scattoCarriera.getTipoScatto().toString(), scattoCarriera.getData())));
+                registraModifica(ModificaRiga.aggiornamento(Tabella.DIPENDENTI_INDETERMINATI, vecchioDipendente.getMatricola()));
+                registraModifica(ModificaRiga.aggiornamento(Tabella.DIPENDENTI_INDETERMINATI, dipendenteIndeterminato.getMatricola()));
+            }
+        });
     }
 
     /**
@@ -1310,10 +1569,13 @@ public class Controller {
      * */
     public boolean checkNotCoerenzaDataAssunzioneDataScatto(String dipendente, LocalDate dataScatto){
 
-        // Ricava l'istanza del dipendente indeterminato da verificare (deve esistere)
-        dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), dipendente);
+        return leggiModello(() -> {
+
+            // Ricava l'istanza del dipendente indeterminato da verificare (deve esistere)
+            DipendenteIndeterminato dipendenteIndeterminato = getDipendenteIndeterminato(dipendente);
 
-        return notCoerenzaDate(dipendenteIndeterminato.getDataAssunzione(), dataScatto, null);
+            return notCoerenzaDate(dipendenteIndeterminato.getDataAssunzione(), dataScatto, null);
+        });
     }
 
     /**
@@ -1327,37 +1589,42 @@ public class Controller {
      * */
     public void modificaLavoro(String stringVecchioLaboratorio, String stringVecchioProgetto, String stringLaboratorio, String stringProgetto) throws IllegalArgumentException {
 
-        // Ricava l'istanza del nuovo laboratorio (deve esistere).
-        laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), stringLaboratorio);
+        eseguiInUnitaDiLavoro(() -> {
+
+            // Ricava l'istanza del nuovo laboratorio (deve esistere).
+            laboratorio = getLaboratorio(stringLaboratorio);
+
+            // Ricava l'istanza del nuovo progetto (deve esistere).
+            progetto = getProgetto(stringProgetto);
 
-        // Ricava l'istanza del nuovo progetto (deve esistere).
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
+            // Verifica l'esistenza di un'istanza di lavoro tra il progetto ed il laboratorio specificato
+            if (!laboratorio.addProgetto(progetto) && !progetto.addLaboratorioLavorante(laboratorio))
+                throw new IllegalArgumentException("L'istanza di lavoro e' gia' stata registrata!");
 
-        // Verifica l'esistenza di un'istanza di lavoro tra il progetto ed il laboratorio specificato
-        if (!laboratorio.addProgetto(progetto) && !progetto.addLaboratorioLavorante(laboratorio))
-            throw new IllegalArgumentException("L'istanza di lavoro e' gia' stata registrata!");
+            // Ricava l'istanza del vecchio laboratorio da aggiornare (deve esistere).
+            Laboratorio vecchioLaboratorio = getLaboratorio(stringVecchioLaboratorio);
 
-        // Ricava l'istanza del vecchio laboratorio da aggiornare (deve esistere).
-        Laboratorio vecchioLaboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), stringVecchioLaboratorio);
+            // Ricava l'istanza del vecchio progetto da aggiornare (deve esistere).
+            Progetto vecchioProgetto = getProgetto(stringVecchioProgetto);
 
-        // Ricava l'istanza del vecchio progetto da aggiornare (deve esistere).
-        Progetto vecchioProgetto = getIstanceFromArrayList(getElencoAllProgetti(), stringVecchioProgetto);
+            // Rimuove l'istanza di lavoro del vecchio progetto dal laboratorio
+            vecchioLaboratorio.removeProgetto(vecchioProgetto);
 
-        // Rimuove l'istanza di lavoro del vecchio progetto dal laboratorio
-        vecchioLaboratorio.removeProgetto(vecchioProgetto);
+            // Rimuove l'istanza di lavoro del vecchio laboratorio dal progetto
+            vecchioProgetto.removeLaboratorioLavorante(vecchioLaboratorio);
 
-        // Rimuove l'istanza di lavoro del vecchio laboratorio dal progetto
-        vecchioProgetto.removeLaboratorioLavorante(vecchioLaboratorio);
+            // Aggiunge l'istanza di lavoro del nuovo progetto al nuovo laboratorio
+            laboratorio.addProgetto(progetto);
 
-        // Aggiunge l'istanza di lavoro del nuovo progetto al nuovo laboratorio
-        laboratorio.addProgetto(progetto);
+            // Aggiunge l'istanza di lavoro del nuovo laboratorio al nuovo progetto
+            progetto.addLaboratorioLavorante(laboratorio);
 
-        // Aggiunge l'istanza di lavoro del nuovo laboratorio al nuovo progetto
-        progetto.addLaboratorioLavorante(laboratorio);
+            //Aggiorna l'istanza di lavoro nel database
+            LavorareDAO lavorareDB = fornitoreDAO.getLavorareDAO();
+            lavorareDB.updateLavorare(vecchioProgetto.getCup(), vecchioLaboratorio.getNome(), progetto.getCup(), laboratorio.getNome());
 
-        //Aggiorna l'istanza di lavoro nel database
-        LavorarePostgresDAO lavorareDB = new LavorarePostgresDAO();
-        lavorareDB.updateLavorare(vecchioProgetto.getCup(), vecchioLaboratorio.getNome(), progetto.getCup(), laboratorio.getNome());
+            registraModifica(ModificaRiga.modifica(Tabella.LAVORI, List.of(vecchioProgetto.getCup(), vecchioLaboratorio.getNome()), List.of(progetto.getCup(), laboratorio.getNome())));
+        });
     }
 
     // METODI DI ELIMINAZIONE
@@ -1368,38 +1635,46 @@ public class Controller {
      */
     public void eliminaLaboratorio(String nomeLaboratorio){
 
-        // Ricava l'istanza del laboratorio da eliminare (deve esistere).
-        laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), nomeLaboratorio);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Rimuove la responsabilita' del responsabile scientifico
-        laboratorio.getResponsabileScientifico().removeLaboratorioResponsabileScientifico(laboratorio);
+            // Ricava l'istanza del laboratorio da eliminare (deve esistere).
+            laboratorio = getLaboratorio(nomeLaboratorio);
 
-        // Rimuove le afferenze di tutti i dipendenti
-        for (DipendenteIndeterminato dipendente : laboratorio.getAfferenti())
-            dipendente.removeAfferenzaLaboratorio(laboratorio);
+            // Rimuove la responsabilita' del responsabile scientifico
+            laboratorio.getResponsabileScientifico().removeLaboratorioResponsabileScientifico(laboratorio);
 
-        // Rimuove i rapporti lavorativi con ogni progetto, se presenti
-        if (laboratorio.getProgettiLavorati() != null) {
-            for (Progetto progetto : laboratorio.getProgettiLavorati())
-                progetto.removeLaboratorioLavorante(laboratorio);
-        }
+            // Rimuove le afferenze di tutti i dipendenti
+            for (DipendenteIndeterminato dipendente : laboratorio.getAfferenti())
+                dipendente.removeAfferenzaLaboratorio(laboratorio);
 
-        // Rimuove tutte le attrezzature possedute
-        if (laboratorio.getAttrezzaturePossedute() != null) {
-            for (Attrezzatura attrezzatura : laboratorio.getAttrezzaturePossedute())
-                attrezzatura.setLaboratorioPossedente(null);
-        }
+            // Rimuove i rapporti lavorativi con ogni progetto, se presenti
+            if (laboratorio.getProgettiLavorati() != null) {
+                for (Progetto progetto : laboratorio.getProgettiLavorati())
+                    progetto.removeLaboratorioLavorante(laboratorio);
+            }
+
+            // Rimuove tutte le attrezzature possedute
+            if (laboratorio.getAttrezzaturePossedute() != null) {
+                for (Attrezzatura attrezzatura : laboratorio.getAttrezzaturePossedute())
+                    attrezzatura.setLaboratorioPossedente(null);
+            }
+
+            // Rimuove il laboratorio dall'elenco
+            rimuoviDaElenco(elencoAllLaboratori, laboratorio);
+            rimuoviDaIndice(indiceLaboratori, laboratorio.getNome(), laboratorio);
 
-        // Rimuove il laboratorio dall'elenco
-        elencoAllLaboratori.remove(laboratorio);
+            // Se l'elenco dei laboratori e' vuoto, impostalo a null
+            if (elencoAllLaboratori.isEmpty())
+                elencoAllLaboratori = null;
 
-        // Se l'elenco dei laboratori e' vuoto, impostalo a null
-        if (elencoAllLaboratori.isEmpty())
-            elencoAllLaboratori = null;
+            // Effettua la rimozione del laboratorio dal database
+            LaboratorioDAO laboratorioDB = fornitoreDAO.getLaboratorioDAO();
+            laboratorioDB.removeLaboratorio(laboratorio.getNome());
 
-        // Effettua la rimozione del laboratorio dal database
-        LaboratorioPostgresDAO laboratorioDB = new LaboratorioPostgresDAO();
-        laboratorioDB.removeLaboratorio(laboratorio.getNome());
+            // Vengono eliminate anche le afferenze, le istanze di lavoro ed il possedimento delle attrezzature del laboratorio
+            registraModifica(ModificaRiga.eliminazione(Tabella.LABORATORI, laboratorio.getNome()));
+            registraRicaricamento(Tabella.AFFERENZE, Tabella.LAVORI, Tabella.ATTREZZATURE);
+        });
     }
 
     /**
@@ -1409,22 +1684,27 @@ public class Controller {
      */
     public void eliminaLavoro(String cupProgetto, String nomeLaboratorio){
 
-        // Ricava l'istanza del progetto di cui eliminare l'istanza di lavoro (deve esistere).
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), cupProgetto);
+        eseguiInUnitaDiLavoro(() -> {
+
+            // Ricava l'istanza del progetto di cui eliminare l'istanza di lavoro (deve esistere).
+            progetto = getProgetto(cupProgetto);
+
+            // Ricava l'istanza del laboratorio di cui eliminare l'istanza di lavoro (deve esistere).
+            laboratorio = getLaboratorio(nomeLaboratorio);
 
-        // Ricava l'istanza del laboratorio di cui eliminare l'istanza di lavoro (deve esistere).
-        laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), nomeLaboratorio);
+            // Elimina il laboratorio lavorante al progetto
+            progetto.removeLaboratorioLavorante(laboratorio);
 
-        // Elimina il laboratorio lavorante al progetto
-        progetto.removeLaboratorioLavorante(laboratorio);
+            // Elimina il progetto dalla lista dei lavori del laboratorio
+            laboratorio.removeProgetto(progetto);
 
-        // Elimina il progetto dalla lista dei lavori del laboratorio
-        laboratorio.removeProgetto(progetto);
+            // Elimina la relazione di lavoro dal database
+            LavorareDAO lavorareDB = fornitoreDAO.getLavorareDAO();
+            lavorareDB.removeLavorare(progetto.getCup(), laboratorio.getNome());
 
-        // Elimina la relazione di lavoro dal database
-        LavorarePostgresDAO lavorareDB = new LavorarePostgresDAO();
-        lavorareDB.removeLavorare(progetto.getCup(), laboratorio.getNome());
+            registraModifica(ModificaRiga.eliminazione(Tabella.LAVORI, progetto.getCup(), laboratorio.getNome()));
 
+        });
     }
 
     /**
@@ -1434,76 +1714,298 @@ public class Controller {
      */
     public void eliminaAfferenza(String matricolaDipendente, String nomeLaboratorio) throws IllegalArgumentException {
 
-        // Ricava l'istanza del dipendente indeterminato di cui eliminare l'afferenza (deve esistere).
-        dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), matricolaDipendente);
+        eseguiInUnitaDiLavoro(() -> {
 
-        // Ricava l'istanza del laboratorio di cui eliminare l'afferenza (deve esistere).
-        laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), nomeLaboratorio);
+            // Ricava l'istanza del dipendente indeterminato di cui eliminare l'afferenza (deve esistere).
+            dipendenteIndeterminato = getDipendenteIndeterminato(matricolaDipendente);
 
-        //Verifica se il dipendente e' responsabile scientifico del laboratorio, nel caso impedisce l'eliminazione
-        if (laboratorio.getResponsabileScientifico().equals(dipendenteIndeterminato))
-            throw new IllegalArgumentException("Non e' possibile rimuovere l'afferenza di un responsabile scientifico! Modificare prima quest'ultimo nell'area laboratori!");
+            // Ricava l'istanza del laboratorio di cui eliminare l'afferenza (deve esistere).
+            laboratorio = getLaboratorio(nomeLaboratorio);
 
-        // Rimuove l'afferenza del dipendente dal laboratorio
-        dipendenteIndeterminato.removeAfferenzaLaboratorio(laboratorio);
+            //Verifica se il dipendente e' responsabile scientifico del laboratorio, nel caso impedisce l'eliminazione
+            if (laboratorio.getResponsabileScientifico().equals(dipendenteIndeterminato))
+                throw new IllegalArgumentException("Non e' possibile rimuovere l'afferenza di un responsabile scientifico! Modificare prima quest'ultimo nell'area laboratori!");
 
-        // Elimina l'afferente al laboratorio
-        laboratorio.removeAfferente(dipendenteIndeterminato);
+            // Rimuove l'afferenza del dipendente dal laboratorio
+            dipendenteIndeterminato.removeAfferenzaLaboratorio(laboratorio);
 
-        // Elimina l'afferenza dal database
-        AfferirePostgresDAO afferireDB = new AfferirePostgresDAO();
-        afferireDB.removeAfferenza(dipendenteIndeterminato.getMatricola(), laboratorio.getNome());
+            // Elimina l'afferente al laboratorio
+            laboratorio.removeAfferente(dipendenteIndeterminato);
 
+            // Elimina l'afferenza dal database
+            AfferireDAO afferireDB = fornitoreDAO.getAfferireDAO();
+            afferireDB.removeAfferenza(dipendenteIndeterminato.getMatricola(), laboratorio.getNome());
+
+            registraModifica(ModificaRiga.eliminazione(Tabella.AFFERENZE, dipendenteIndeterminato.getMatricola(), laboratorio.getNome()));
+            registraModifica(ModificaRiga.aggiornamento(Tabella.LABORATORI, laboratorio.getNome()));
+
+        });
     }
 
     //METODI DI SUPPLEMENTO
 
     /**
-     * Ottiene un'istanza dall'elenco in base ad un campo specificato, generalmente l'identificativo.
+     * Esegue un'azione dell'utente all'interno di un'unica transazione del fornitore dei DAO: tutte le scritture dell'azione
+     * vengono confermate insieme, sul database Postgres con un unico commit. Se l'azione lancia un'eccezione, o se
+     * una delle scritture fallisce, tutte le scritture dell'azione vengono annullate.
      *
-     * @param elenco    {@link ArrayList<T>} L'elenco da cui ottenere l'istanza.
-     * @param istanza   {@link String}      Il campo dell'istanza da cercare.
-     * @return Restituisce l'istanza corrispondente o null se non trovata.
+     * L'azione modifica il modello in memoria in modo esclusivo rispetto alle letture delle GUI. Se l'azione viene annullata,
+     * anche le modifiche al modello in memoria vengono annullate, tramite il {@link RegistroAnnullamenti} dell'azione:
+     * il modello resta quindi allineato al database, senza rileggerlo. Solo se l'annullamento in memoria non riesce
+     * il modello viene considerato superato, e verra' riletto dal database alla lettura successiva.
+     *
+     * @param azione    {@link Runnable}    L'azione da eseguire.
+     * @throws IllegalArgumentException Se l'azione non supera i controlli, o se il salvataggio sul database non riesce.
      */
-    public static <T> T getIstanceFromArrayList(ArrayList<T> elenco, String istanza) {
+    private void eseguiInUnitaDiLavoro(Runnable azione) throws IllegalArgumentException {
 
-        // Stringa per memorizzare il nome o l'identificatore reale.
-        StringBuilder realInstance = new StringBuilder();
+        lockModello.writeLock().lock();
 
-        if (elenco == null) {
-            return null;
-        } else {
-            // Estrai il nome o l'identificatore reale da istanza.
-            for (char c : istanza.toCharArray()) {
-                if (c == ' ')
-                    break;
-                realInstance.append(c);
-            }
+        // Le modifiche alle righe registrate dall'azione sono condivise: vengono raccolte solo da chi possiede il lock del modello
+        modificheAzione.clear();
 
-            for (T t : elenco) {
-                // Controlla se l'istanza contiene il nome o l'identificatore reale.
-                if (t.toString().contains(realInstance)) {
-                    return t;  // Restituisce l'istanza interessata.
-                }
-            }
+        // Le modifiche dell'azione al modello in memoria vengono registrate, per annullarle insieme alle scritture sul database
+        RegistroAnnullamenti registroAnnullamenti = RegistroAnnullamenti.apri();
+        Runnable ripristinoElenchi = ripristinoElenchi();
+
+        ArrayList<ModificaRiga> modificheConfermate;
+
+        try (Transazione transazione = fornitoreDAO.apriTransazione()) {
+
+            azione.run();
 
-            return null;  // Restituisce null se non trova nessuna istanza.
+            transazione.conferma();
+            statementUltimaAzione = transazione.getStatementEseguiti();
+
+            modificheConfermate = new ArrayList<>(modificheAzione);
+            modificheAzione.clear();
+
+        } catch (SQLException sqlException) {
+            annullaModificheAzione(registroAnnullamenti, ripristinoElenchi);
+            sqlException.printStackTrace();
+            throw new IllegalArgumentException("Il salvataggio sul database non e' riuscito, l'operazione e' stata annullata!");
+        } catch (RuntimeException runtimeException) {
+            annullaModificheAzione(registroAnnullamenti, ripristinoElenchi);
+            throw runtimeException;
+        } finally {
+            registroAnnullamenti.close();
+            lockModello.writeLock().unlock();
         }
+
+        // Solo la notifica delle modifiche confermate avviene fuori dal lock, perche' gli ascoltatori possono leggere il modello
+        notificaModifiche(modificheConfermate);
     }
 
     /**
-     * Inserisce nel database il dipendente a tempo indeterminato specificato.
+     * Annulla le modifiche al modello in memoria di un'azione annullata, ripristinando lo stato precedente all'azione.
+     * Un'azione respinta prima di qualunque modifica non ha nulla da annullare, e lascia il modello invariato.
      *
-     * @param dipendenteIndeterminato {@link DipendenteIndeterminato} Il dipendente in insermento.
+     * @param registroAnnullamenti  {@link RegistroAnnullamenti}    Il registro delle modifiche dell'azione.
+     * @param ripristinoElenchi     {@link Runnable}                Il ripristino degli elenchi precedenti all'azione.
      */
-    public void insertDipendenteIndeterminatoToDatabase(DipendenteIndeterminato dipendenteIndeterminato) {
+    private void annullaModificheAzione(RegistroAnnullamenti registroAnnullamenti, Runnable ripristinoElenchi) {
 
-        // Registra il dipendente a tempo indeterminato nel database.
-        DipendenteIndeterminatoPostgresDAO dipendenteIndeterminatoDB = new DipendenteIndeterminatoPostgresDAO();
-        dipendenteIndeterminatoDB.addDipendenteIndeterminato(dipendenteIndeterminato.getNome(), dipendenteIndeterminato.getCognome(),
-                dipendenteIndeterminato.getCodFiscale(), dipendenteIndeterminato.getMatricola(), dipendenteIndeterminato.getTipoDipendente().toString(),
-                dipendenteIndeterminato.getIndirizzo(), dipendenteIndeterminato.getDataNascita(), dipendenteIndeterminato.getDataAssunzione(),
-                dipendenteIndeterminato.getDataFineRapporto(), dipendenteIndeterminato.getDirigente());
+        modificheAzione.clear();
+
+        try {
+            registroAnnullamenti.annulla();
+            ripristinoElenchi.run();
+        } catch (RuntimeException runtimeException) {
+            // Se l'annullamento in memoria non riesce, il modello verra' riletto dal database alla lettura successiva
+            runtimeException.printStackTrace();
+            modelloAllineato = false;
+        }
+    }
+
+    //Crea l'operazione che ripristina gli elenchi correnti, che un'azione puo' creare alla prima aggiunta o rimuovere una volta svuotati
+    private Runnable ripristinoElenchi() {
+
+        ArrayList<DipendenteIndeterminato> dipendentiIndeterminati = elencoAllDipendentiIndeterminati;
+        ArrayList<DipendenteProgetto> dipendentiProgetto = elencoAllDipendentiProgetto;
+        ArrayList<ScattoCarriera> scattiCarriera = elencoAllScattiCarriera;
+        ArrayList<Laboratorio> laboratori = elencoAllLaboratori;
+        ArrayList<Progetto> progetti = elencoAllProgetti;
+        ArrayList<Attrezzatura> attrezzature = elencoAllAttrezzature;
+
+        return () -> {
+            elencoAllDipendentiIndeterminati = dipendentiIndeterminati;
+            elencoAllDipendentiProgetto = dipendentiProgetto;
+            elencoAllScattiCarriera = scattiCarriera;
+            elencoAllLaboratori = laboratori;
+            elencoAllProgetti = progetti;
+            elencoAllAttrezzature = attrezzature;
+        };
+    }
+
+    /**
+     * Registra un ascoltatore delle modifiche alle righe delle tabelle, che le riceve dopo la conferma di ogni azione dell'utente.
+     *
+     * @param ascoltatore {@link AscoltatoreModifiche} L'ascoltatore da registrare.
+     */
+    public void aggiungiAscoltatoreModifiche(AscoltatoreModifiche ascoltatore) {
+        ascoltatoriModifiche.add(ascoltatore);
+    }
+
+    /**
+     * Rimuove un ascoltatore delle modifiche alle righe delle tabelle, ad esempio alla chiusura della sua area.
+     *
+     * @param ascoltatore {@link AscoltatoreModifiche} L'ascoltatore da rimuovere.
+     */
+    public void rimuoviAscoltatoreModifiche(AscoltatoreModifiche ascoltatore) {
+        ascoltatoriModifiche.remove(ascoltatore);
+    }
+
+    //Registra una modifica dell'azione in corso
+    private void registraModifica(ModificaRiga modifica) {
+        modificheAzione.add(modifica);
+    }
+
+    //Registra il ricaricamento delle tabelle con un numero indefinito di righe modificate dall'azione in corso
+    private void registraRicaricamento(Tabella... tabelle) {
+        for (Tabella tabella : tabelle)
+            modificheAzione.add(ModificaRiga.ricaricamento(tabella));
+    }
+
+    //Notifica agli ascoltatori le modifiche confermate, omettendo le modifiche alle righe delle tabelle da ricaricare
+    private void notificaModifiche(List<ModificaRiga> modificheConfermate) {
+
+        // I candidati letti prima delle modifiche non sono piu' validi se sono state modificate le tabelle da cui dipendono
+        for (ModificaRiga modifica : modificheConfermate)
+            cacheCandidati.invalida(modifica.tabella());
+
+        ArrayList<ModificaRiga> modifiche = new ArrayList<>();
+        ArrayList<Tabella> tabelleDaRicaricare = new ArrayList<>();
+
+        for (ModificaRiga modifica : modificheConfermate) {
+            if (modifica.tipo() == ModificaRiga.Tipo.RICARICAMENTO && !tabelleDaRicaricare.contains(modifica.tabella())) {
+                tabelleDaRicaricare.add(modifica.tabella());
+                modifiche.add(modifica);
+            }
+        }
+
+        for (ModificaRiga modifica : modificheConfermate) {
+            if (!tabelleDaRicaricare.contains(modifica.tabella()))
+                modifiche.add(modifica);
+        }
+
+        // Gli ascoltatori possono rimuoversi durante la notifica, ad esempio chiudendo la propria area: la notifica prosegue sull'elenco iniziale
+        for (AscoltatoreModifiche ascoltatore : ascoltatoriModifiche) {
+            for (ModificaRiga modifica : modifiche)
+                ascoltatore.tabellaModificata(modifica);
+        }
+    }
+
+    /**
+     * Restituisce il numero di istruzioni eseguite sul database dall'ultima azione dell'utente confermata.
+     *
+     * @return Il numero di istruzioni eseguite nell'ultima unita' di lavoro.
+     */
+    public int getStatementUltimaAzione() {
+        return statementUltimaAzione;
+    }
+
+    /**
+     * Ottiene il dipendente a tempo indeterminato con la matricola specificata.
+     *
+     * @param istanza {@link String} La matricola del dipendente, anche seguita dalla sua descrizione (es. "matricola - nome cognome").
+     * @return {@link DipendenteIndeterminato} Il dipendente corrispondente o null se non trovato.
+     */
+    public DipendenteIndeterminato getDipendenteIndeterminato(String istanza) {
+        return leggiModello(() -> cercaInIndice(indiceDipendentiIndeterminati, istanza));
+    }
+
+    /**
+     * Ottiene il dipendente a progetto con la matricola specificata.
+     *
+     * @param istanza {@link String} La matricola del dipendente, anche seguita dalla sua descrizione (es. "matricola - nome cognome").
+     * @return {@link DipendenteProgetto} Il dipendente corrispondente o null se non trovato.
+     */
+    public DipendenteProgetto getDipendenteProgetto(String istanza) {
+        return leggiModello(() -> cercaInIndice(indiceDipendentiProgetto, istanza));
+    }
+
+    /**
+     * Ottiene il laboratorio con il nome specificato.
+     *
+     * @param istanza {@link String} Il nome del laboratorio, anche seguito dalla sua descrizione (es. "nome - topic").
+     * @return {@link Laboratorio} Il laboratorio corrispondente o null se non trovato.
+     */
+    public Laboratorio getLaboratorio(String istanza) {
+        return leggiModello(() -> cercaInIndice(indiceLaboratori, istanza));
+    }
+
+    /**
+     * Ottiene il progetto con il CUP specificato.
+     *
+     * @param istanza {@link String} Il CUP del progetto, anche seguito dalla sua descrizione (es. "cup - nome").
+     * @return {@link Progetto} Il progetto corrispondente o null se non trovato.
+     */
+    public Progetto getProgetto(String istanza) {
+        return leggiModello(() -> cercaInIndice(indiceProgetti, istanza));
+    }
+
+    /**
+     * Ottiene l'attrezzatura con l'identificativo specificato.
+     *
+     * @param istanza {@link String} L'identificativo dell'attrezzatura, anche seguito dalla sua descrizione.
+     * @return {@link Attrezzatura} L'attrezzatura corrispondente o null se non trovata.
+     */
+    public Attrezzatura getAttrezzatura(String istanza) {
+
+        return leggiModello(() -> {
+
+            if (istanza == null)
+                return null;
+
+            try {
+                return indiceAttrezzature.get(Integer.valueOf(estraiChiave(istanza)));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        });
+    }
+
+    //Ricava la chiave da una voce di elenco nel formato "chiave - descrizione", oppure restituisce la chiave passata
+    private static String estraiChiave(String istanza) {
+
+        int separatore = istanza.indexOf(" - ");
+
+        if (separatore >= 0)
+            return istanza.substring(0, separatore);
+
+        return istanza.trim();
+    }
+
+    //Cerca l'istanza con la chiave specificata, accettando anche le voci in cui la chiave e' seguita solo da uno spazio
+    private static <T> T cercaInIndice(HashMap<String, T> indice, String istanza) {
+
+        if (istanza == null)
+            return null;
+
+        String chiave = estraiChiave(istanza);
+        T trovata = indice.get(chiave);
+
+        if (trovata == null && chiave.indexOf(' ') >= 0)
+            trovata = indice.get(chiave.substring(0, chiave.indexOf(' ')));
+
+        return trovata;
+    }
+
+    /**
+     * Inserisce nel database il dipendente a tempo indeterminato specificato.
+     *
+     * @param dipendenteIndeterminato {@link DipendenteIndeterminato} Il dipendente in insermento.
+     */
+    public void insertDipendenteIndeterminatoToDatabase(DipendenteIndeterminato dipendenteIndeterminato) {
+
+        // Registra il dipendente a tempo indeterminato nel database.
+        DipendenteIndeterminatoDAO dipendenteIndeterminatoDB = fornitoreDAO.getDipendenteIndeterminatoDAO();
+        dipendenteIndeterminatoDB.addDipendenteIndeterminato(dipendenteIndeterminato.getNome(), dipendenteIndeterminato.getCognome(),
+                dipendenteIndeterminato.getCodFiscale(), dipendenteIndeterminato.getMatricola(), dipendenteIndeterminato.getTipoDipendente().toString(),
+                dipendenteIndeterminato.getIndirizzo(), dipendenteIndeterminato.getDataNascita(), dipendenteIndeterminato.getDataAssunzione(),
+                dipendenteIndeterminato.getDataFineRapporto(), dipendenteIndeterminato.getDirigente());
+
+        registraModifica(ModificaRiga.inserimento(Tabella.DIPENDENTI_INDETERMINATI, dipendenteIndeterminato.getMatricola()));
     }
 
     /**
@@ -1515,12 +2017,16 @@ public class Controller {
     public void insertDipendenteProgettoToDatabase(DipendenteProgetto dipendenteProgetto, Progetto progetto) {
 
         // Registra il dipendente a progetto nel database.
-        DipendenteProgettoPostgresDAO dipendenteProgettoDB = new DipendenteProgettoPostgresDAO();
+        DipendenteProgettoDAO dipendenteProgettoDB = fornitoreDAO.getDipendenteProgettoDAO();
         dipendenteProgettoDB.addDipendenteProgetto(dipendenteProgetto.getNome(), dipendenteProgetto.getCognome(),
                 dipendenteProgetto.getCodFiscale(), dipendenteProgetto.getMatricola(),
                 dipendenteProgetto.getIndirizzo(), dipendenteProgetto.getDataNascita(),
                 dipendenteProgetto.getDataAssunzione(), dipendenteProgetto.getScadenza(),
                 progetto.getCup(), dipendenteProgetto.getCosto());
+
+        // Il costo del dipendente si aggiunge al costo dei dipendenti del progetto
+        registraModifica(ModificaRiga.inserimento(Tabella.DIPENDENTI_PROGETTO, dipendenteProgetto.getMatricola()));
+        registraModifica(ModificaRiga.aggiornamento(Tabella.PROGETTI, progetto.getCup()));
     }
 
     /**
@@ -1529,8 +2035,8 @@ public class Controller {
     public void insertAutomaticScatti() {
 
         // Dichiarazione di una possibile connessione al database per l'inserimento degli scatti di carriera.
-        ScattoCarrieraPostgresDAO scattoCarrieraDB;
-        DipendenteIndeterminatoPostgresDAO dipendenteIndeterminatoDB;
+        ScattoCarrieraDAO scattoCarrieraDB;
+        DipendenteIndeterminatoDAO dipendenteIndeterminatoDB;
 
         // Controllo di coerenza tra dataAssunzione, tipo e data corrente per gli scatti di carriera.
         // Se i controlli passano, si registrano gli scatti di carriera.
@@ -1554,10 +2060,11 @@ public class Controller {
                 dipendenteIndeterminato.setTipoDipendente(TipoDipendente.Middle);
 
                 // Crea una connessione al database per l'inserimento dello scatto "Middle".
-                scattoCarrieraDB = new ScattoCarrieraPostgresDAO();
+                scattoCarrieraDB = fornitoreDAO.getScattoCarrieraDAO();
                 scattoCarrieraDB.addScattoCarriera(scattoMiddle.getTipoScatto().toString(), scattoMiddle.getDipendente().getMatricola(), scattoMiddle.getData());
+                registraModifica(ModificaRiga.inserimento(Tabella.SCATTI_CARRIERA, scattoMiddle.getDipendente().getMatricola(), scattoMiddle.getTipoScatto().toString(), scattoMiddle.getData()));
 
-                dipendenteIndeterminatoDB = new DipendenteIndeterminatoPostgresDAO();
+                dipendenteIndeterminatoDB = fornitoreDAO.getDipendenteIndeterminatoDAO();
                 dipendenteIndeterminatoDB.updateTipoDipendente(dipendenteIndeterminato.getMatricola(), TipoDipendente.Middle.toString());
 
                 // Verifica se il dipendente è dirigente e, in tal caso, registra lo scatto di carriera "Promosso_a_dirigente".
@@ -1584,11 +2091,12 @@ public class Controller {
                 scattoMiddle.setDipendente(dipendenteIndeterminato);
 
                 // Crea una connessione al database per l'inserimento degli scatti "Middle" e "Senior".
-                dipendenteIndeterminatoDB = new DipendenteIndeterminatoPostgresDAO();
-                scattoCarrieraDB = new ScattoCarrieraPostgresDAO();
+                dipendenteIndeterminatoDB = fornitoreDAO.getDipendenteIndeterminatoDAO();
+                scattoCarrieraDB = fornitoreDAO.getScattoCarrieraDAO();
 
                 // Inserisci lo scatto "Middle" nel database.
                 scattoCarrieraDB.addScattoCarriera(scattoMiddle.getTipoScatto().toString(), scattoMiddle.getDipendente().getMatricola(), scattoMiddle.getData());
+                registraModifica(ModificaRiga.inserimento(Tabella.SCATTI_CARRIERA, scattoMiddle.getDipendente().getMatricola(), scattoMiddle.getTipoScatto().toString(), scattoMiddle.getData()));
                 dipendenteIndeterminatoDB.updateTipoDipendente(dipendenteIndeterminato.getMatricola(), TipoDipendente.Middle.toString());
 
                 scattoSenior = new ScattoCarriera(dataAssunzioneSeniorLimit, TipoScatto.Senior, dipendenteIndeterminato);
@@ -1602,6 +2110,7 @@ public class Controller {
 
                 // Inserisci lo scatto "Senior" nel database.
                 scattoCarrieraDB.addScattoCarriera(scattoSenior.getTipoScatto().toString(), scattoSenior.getDipendente().getMatricola(), scattoSenior.getData());
+                registraModifica(ModificaRiga.inserimento(Tabella.SCATTI_CARRIERA, scattoSenior.getDipendente().getMatricola(), scattoSenior.getTipoScatto().toString(), scattoSenior.getData()));
                 dipendenteIndeterminatoDB.updateTipoDipendente(dipendenteIndeterminato.getMatricola(), TipoDipendente.Senior.toString());
 
                 // Verifica se il dipendente è dirigente e, in tal caso, registra lo scatto di carriera "Promosso_a_dirigente".
@@ -1623,8 +2132,8 @@ public class Controller {
 
         if (dipendenteIndeterminato.getDirigente()) {
 
-            ScattoCarrieraPostgresDAO scattoCarrieraDB = new ScattoCarrieraPostgresDAO();
-            DipendenteIndeterminatoPostgresDAO dipendenteIndeterminatoDB = new DipendenteIndeterminatoPostgresDAO();
+            ScattoCarrieraDAO scattoCarrieraDB = fornitoreDAO.getScattoCarrieraDAO();
+            DipendenteIndeterminatoDAO dipendenteIndeterminatoDB = fornitoreDAO.getDipendenteIndeterminatoDAO();
 
             // Crea uno scatto "Promosso_a_dirigente" con la data odierna.
             scattoPromossoDirigente = new ScattoCarriera(LocalDate.now(), TipoScatto.Promosso_a_dirigente, dipendenteIndeterminato);
@@ -1639,6 +2148,7 @@ public class Controller {
 
             // Inserisci lo scatto "Promosso_a_dirigente" nel database.
             scattoCarrieraDB.addScattoCarriera(scattoPromossoDirigente.getTipoScatto().toString(), scattoPromossoDirigente.getDipendente().getMatricola(), scattoPromossoDirigente.getData());
+            registraModifica(ModificaRiga.inserimento(Tabella.SCATTI_CARRIERA, scattoPromossoDirigente.getDipendente().getMatricola(), scattoPromossoDirigente.getTipoScatto().toString(), scattoPromossoDirigente.getData()));
 
             // Aggiorna lo stato di dirigente nel database.
             dipendenteIndeterminatoDB.updateStatoDirigente(dipendenteIndeterminato.getMatricola(), true);
@@ -1655,8 +2165,8 @@ public class Controller {
 
         if (vecchioDirigente && !dipendenteIndeterminato.getDirigente()) {
 
-            ScattoCarrieraPostgresDAO scattoCarrieraDB = new ScattoCarrieraPostgresDAO();
-            DipendenteIndeterminatoPostgresDAO dipendenteIndeterminatoDB = new DipendenteIndeterminatoPostgresDAO();
+            ScattoCarrieraDAO scattoCarrieraDB = fornitoreDAO.getScattoCarrieraDAO();
+            DipendenteIndeterminatoDAO dipendenteIndeterminatoDB = fornitoreDAO.getDipendenteIndeterminatoDAO();
 
             // Crea uno scatto "Rimosso_da_dirigente" con la data odierna.
             scattoRimossoDirigente = new ScattoCarriera(LocalDate.now(), TipoScatto.Rimosso_da_dirigente, dipendenteIndeterminato);
@@ -1671,6 +2181,7 @@ public class Controller {
 
             // Inserisci lo scatto "Rimosso_da_dirigente" nel database.
             scattoCarrieraDB.addScattoCarriera(scattoRimossoDirigente.getTipoScatto().toString(), scattoRimossoDirigente.getDipendente().getMatricola(), scattoRimossoDirigente.getData());
+            registraModifica(ModificaRiga.inserimento(Tabella.SCATTI_CARRIERA, scattoRimossoDirigente.getDipendente().getMatricola(), scattoRimossoDirigente.getTipoScatto().toString(), scattoRimossoDirigente.getData()));
 
             // Aggiorna lo stato di dirigente nel database.
             dipendenteIndeterminatoDB.updateStatoDirigente(dipendenteIndeterminato.getMatricola(), false);
@@ -1688,9 +2199,23 @@ public class Controller {
 
     public void insertAutomaticScatti(DipendenteIndeterminato dipendenteIndeterminato, LocalDate dataScattoPiuRecente) throws IllegalArgumentException {
 
-        // Dichiarazione di una possibile connessione al database per l'inserimento degli scatti di carriera.
-        ScattoCarrieraPostgresDAO scattoCarrieraDB;
-        DipendenteIndeterminatoPostgresDAO dipendenteIndeterminatoDB;
+        RiconciliazioneScatti riconciliazioneScatti = new RiconciliazioneScatti(fornitoreDAO);
+
+        insertAutomaticScatti(dipendenteIndeterminato, dataScattoPiuRecente, riconciliazioneScatti);
+
+        // Registra nel database le correzioni effettuate
+        riconciliazioneScatti.esegui();
+    }
+
+    /**
+     * Corregge automaticamente gli scatti di carriera in memoria, caricando anche evenutali promozioni o rimozioni dirigenziali,
+     * e accoda le scritture corrispondenti, che verranno inviate al database in batch.
+     *
+     * @param dipendenteIndeterminato   {@link DipendenteIndeterminato} Il dipendente da inserire.
+     * @param dataScattoPiuRecente      {@link LocalDate}               Lo scatto piu' recente di rimozione o promozione dirigenziale
+     * @param riconciliazioneScatti     {@link RiconciliazioneScatti}   Le scritture in attesa di essere inviate al database.
+     */
+    private void insertAutomaticScatti(DipendenteIndeterminato dipendenteIndeterminato, LocalDate dataScattoPiuRecente, RiconciliazioneScatti riconciliazioneScatti) {
 
         // Controllo di coerenza tra dataAssunzione, tipo e data corrente per gli scatti di carriera.
         // Se i controlli passano, si registrano gli scatti di carriera.
@@ -1703,15 +2228,16 @@ public class Controller {
         if (LocalDate.now().isBefore(dataAssunzioneInfLimit)) {
 
             //per questo dipendente junior non ci devono essere scatti carriera, per cui i presenti nel database verranno eliminati in quanto non coerenti
-            removeAllTipoScattiCarrieraDipendente(dipendenteIndeterminato, TipoScatto.Senior);
-            removeAllTipoScattiCarrieraDipendente(dipendenteIndeterminato, TipoScatto.Middle);
+            removeAllTipoScattiDipendente(dipendenteIndeterminato, TipoScatto.Senior);
+            removeAllTipoScattiDipendente(dipendenteIndeterminato, TipoScatto.Middle);
+            riconciliazioneScatti.rimuoviScatti(TipoScatto.Senior.toString(), dipendenteIndeterminato.getMatricola());
+            riconciliazioneScatti.rimuoviScatti(TipoScatto.Middle.toString(), dipendenteIndeterminato.getMatricola());
 
             //viene impostato il tipo dipendente a Junior
             dipendenteIndeterminato.setTipoDipendente(TipoDipendente.Junior);
 
-            //crea una connessione al database per aggiornare il tipo dipendente nella tabella apposita del database
-            dipendenteIndeterminatoDB = new DipendenteIndeterminatoPostgresDAO();
-            dipendenteIndeterminatoDB.updateTipoDipendente(dipendenteIndeterminato.getMatricola(), dipendenteIndeterminato.getTipoDipendente().toString());
+            //accoda l'aggiornamento del tipo dipendente nella tabella apposita del database
+            riconciliazioneScatti.aggiornaTipoDipendente(dipendenteIndeterminato.getMatricola(), dipendenteIndeterminato.getTipoDipendente().toString());
 
         } else if (LocalDate.now().isAfter(dataAssunzioneInfLimit) && LocalDate.now().isBefore(dataAssunzioneSupLimit)) {
 
@@ -1725,11 +2251,11 @@ public class Controller {
                 scattoMiddle.setDipendente(dipendenteIndeterminato);
 
                 //rimuove lo scatto di carriera non coerente eventualmente presente nel database
-                removeAllTipoScattiCarrieraDipendente(scattoMiddle.getDipendente(), scattoMiddle.getTipoScatto());
+                removeAllTipoScattiDipendente(scattoMiddle.getDipendente(), scattoMiddle.getTipoScatto());
+                riconciliazioneScatti.rimuoviScatti(scattoMiddle.getTipoScatto().toString(), scattoMiddle.getDipendente().getMatricola());
 
-                //crea una connessione al database per inserire lo scatto di carriera coerente
-                scattoCarrieraDB = new ScattoCarrieraPostgresDAO();
-                scattoCarrieraDB.addScattoCarriera(scattoMiddle.getTipoScatto().toString(), scattoMiddle.getDipendente().getMatricola(), scattoMiddle.getData());
+                //accoda l'inserimento dello scatto di carriera coerente
+                riconciliazioneScatti.aggiungiScatto(scattoMiddle.getTipoScatto().toString(), scattoMiddle.getDipendente().getMatricola(), scattoMiddle.getData());
 
                 addScattoCarrieraToElenco(scattoMiddle);
             }
@@ -1737,9 +2263,8 @@ public class Controller {
             //imposta il tipo di dipendente adeguato
             dipendenteIndeterminato.setTipoDipendente(TipoDipendente.Middle);
 
-            //crea una connessione al database per aggiornare il tipo dipendente nella tabella apposita del database
-            dipendenteIndeterminatoDB = new DipendenteIndeterminatoPostgresDAO();
-            dipendenteIndeterminatoDB.updateTipoDipendente(scattoMiddle.getDipendente().getMatricola(), scattoMiddle.getDipendente().getTipoDipendente().toString());
+            //accoda l'aggiornamento del tipo dipendente nella tabella apposita del database
+            riconciliazioneScatti.aggiornaTipoDipendente(scattoMiddle.getDipendente().getMatricola(), scattoMiddle.getDipendente().getTipoDipendente().toString());
 
         } else if (LocalDate.now().isAfter(dataAssunzioneSupLimit)) {
 
@@ -1753,11 +2278,11 @@ public class Controller {
                 scattoMiddle.setDipendente(dipendenteIndeterminato);
 
                 //rimuove lo scatto di carriera non coerente eventualmente presente nel database
-                removeAllTipoScattiCarrieraDipendente(scattoMiddle.getDipendente(), scattoMiddle.getTipoScatto());
+                removeAllTipoScattiDipendente(scattoMiddle.getDipendente(), scattoMiddle.getTipoScatto());
+                riconciliazioneScatti.rimuoviScatti(scattoMiddle.getTipoScatto().toString(), scattoMiddle.getDipendente().getMatricola());
 
-                //crea una connessione al database per inserire lo scatto di carriera coerente
-                scattoCarrieraDB = new ScattoCarrieraPostgresDAO();
-                scattoCarrieraDB.addScattoCarriera(scattoMiddle.getTipoScatto().toString(), scattoMiddle.getDipendente().getMatricola(), scattoMiddle.getData());
+                //accoda l'inserimento dello scatto di carriera coerente
+                riconciliazioneScatti.aggiungiScatto(scattoMiddle.getTipoScatto().toString(), scattoMiddle.getDipendente().getMatricola(), scattoMiddle.getData());
 
                 addScattoCarrieraToElenco(scattoMiddle);
             }
@@ -1772,11 +2297,11 @@ public class Controller {
                 scattoSenior.setDipendente(dipendenteIndeterminato);
 
                 //rimuove lo scatto di carriera non coerente eventualmente presente nel database
-                removeAllTipoScattiCarrieraDipendente(scattoSenior.getDipendente(), scattoSenior.getTipoScatto());
+                removeAllTipoScattiDipendente(scattoSenior.getDipendente(), scattoSenior.getTipoScatto());
+                riconciliazioneScatti.rimuoviScatti(scattoSenior.getTipoScatto().toString(), scattoSenior.getDipendente().getMatricola());
 
-                //crea una connessione al database per inserire lo scatto di carriera coerente
-                scattoCarrieraDB = new ScattoCarrieraPostgresDAO();
-                scattoCarrieraDB.addScattoCarriera(scattoSenior.getTipoScatto().toString(), scattoSenior.getDipendente().getMatricola(), scattoSenior.getData());
+                //accoda l'inserimento dello scatto di carriera coerente
+                riconciliazioneScatti.aggiungiScatto(scattoSenior.getTipoScatto().toString(), scattoSenior.getDipendente().getMatricola(), scattoSenior.getData());
 
                 addScattoCarrieraToElenco(scattoSenior);
             }
@@ -1784,12 +2309,24 @@ public class Controller {
             //imposta il tipo di dipendente adeguato
             dipendenteIndeterminato.setTipoDipendente(TipoDipendente.Senior);
 
-            //crea una connessione al database per aggiornare il tipo dipendente nella tabella apposita del database
-            dipendenteIndeterminatoDB = new DipendenteIndeterminatoPostgresDAO();
-            dipendenteIndeterminatoDB.updateTipoDipendente(scattoSenior.getDipendente().getMatricola(), scattoSenior.getDipendente().getTipoDipendente().toString());
+            //accoda l'aggiornamento del tipo dipendente nella tabella apposita del database
+            riconciliazioneScatti.aggiornaTipoDipendente(scattoSenior.getDipendente().getMatricola(), scattoSenior.getDipendente().getTipoDipendente().toString());
 
         }
 
+        insertAutomaticScattiDirigenziali(dipendenteIndeterminato, dataScattoPiuRecente, riconciliazioneScatti);
+    }
+
+    /**
+     * Carica in memoria le promozioni o rimozioni dirigenziali del dipendente, registrando la promozione se il dipendente
+     * e' dirigente ma non ne ha alcuna, e accoda l'aggiornamento dello stato dirigenziale nel database.
+     *
+     * @param dipendenteIndeterminato   {@link DipendenteIndeterminato} Il dipendente da inserire.
+     * @param dataScattoPiuRecente      {@link LocalDate}               Lo scatto piu' recente di rimozione o promozione dirigenziale
+     * @param riconciliazioneScatti     {@link RiconciliazioneScatti}   Le scritture in attesa di essere inviate al database.
+     */
+    private void insertAutomaticScattiDirigenziali(DipendenteIndeterminato dipendenteIndeterminato, LocalDate dataScattoPiuRecente, RiconciliazioneScatti riconciliazioneScatti) {
+
         //se un dipendente viene letto come dirigente, si controlla che non ci sia lo scatto ad esso associato, nel caso non ci sia, lo si aggiunge
         if (dipendenteIndeterminato.getDirigente()) {
 
@@ -1801,8 +2338,7 @@ public class Controller {
 
                 scattoPromossoDirigente = new ScattoCarriera(LocalDate.now(), TipoScatto.Promosso_a_dirigente, dipendenteIndeterminato);
 
-                scattoCarrieraDB = new ScattoCarrieraPostgresDAO();
-                scattoCarrieraDB.addScattoCarriera(scattoPromossoDirigente.getTipoScatto().toString(), scattoPromossoDirigente.getDipendente().getMatricola(), scattoPromossoDirigente.getDipendente().getDataAssunzione());
+                riconciliazioneScatti.aggiungiScatto(scattoPromossoDirigente.getTipoScatto().toString(), scattoPromossoDirigente.getDipendente().getMatricola(), scattoPromossoDirigente.getDipendente().getDataAssunzione());
 
             } else
                 scattoPromossoDirigente = new ScattoCarriera(dataPromozionePiuRecente, TipoScatto.Promosso_a_dirigente, dipendenteIndeterminato);
@@ -1810,8 +2346,7 @@ public class Controller {
             dipendenteIndeterminato.addScattoCarriera(scattoPromossoDirigente);
             scattoPromossoDirigente.setDipendente(dipendenteIndeterminato);
 
-            dipendenteIndeterminatoDB = new DipendenteIndeterminatoPostgresDAO();
-            dipendenteIndeterminatoDB.updateStatoDirigente(scattoPromossoDirigente.getDipendente().getMatricola(), true);
+            riconciliazioneScatti.aggiornaStatoDirigente(scattoPromossoDirigente.getDipendente().getMatricola(), true);
 
             addScattoCarrieraToElenco(scattoPromossoDirigente);
 
@@ -1824,14 +2359,70 @@ public class Controller {
                 dipendenteIndeterminato.addScattoCarriera(scattoRimossoDirigente);
                 scattoRimossoDirigente.setDipendente(dipendenteIndeterminato);
 
-                dipendenteIndeterminatoDB = new DipendenteIndeterminatoPostgresDAO();
-                dipendenteIndeterminatoDB.updateStatoDirigente(scattoRimossoDirigente.getDipendente().getMatricola(), false);
+                riconciliazioneScatti.aggiornaStatoDirigente(scattoRimossoDirigente.getDipendente().getMatricola(), false);
 
                 addScattoCarrieraToElenco(scattoRimossoDirigente);
             }
         }
     }
 
+    /**
+     * Corregge gli scatti di carriera Middle e Senior ed il tipo di tutti i dipendenti a tempo indeterminato con un'unica
+     * istruzione sul database, ed applica al modello in memoria le modifiche restituite.
+     * Il risultato e' quello di {@link #insertAutomaticScatti(DipendenteIndeterminato, LocalDate)} per la parte non dirigenziale,
+     * con la differenza che vengono rimossi tutti gli scatti Middle e Senior non coerenti con la data di assunzione,
+     * e che lo scatto viene considerato effettuato anche nel giorno stesso dell'anniversario dell'assunzione.
+     *
+     * @return True se la correzione e' stata effettuata, false se l'istruzione sul database e' fallita e il modello non e' stato modificato.
+     */
+    private boolean riconciliaScattiAutomatici() {
+
+        ArrayList<RigaRiconciliazioneScatto> righe = fornitoreDAO.getScattoCarrieraDAO().riconciliaScattiAutomatici(LocalDate.now());
+
+        if (righe == null)
+            return false;
+
+        // Le chiavi degli scatti rimossi, per rimuoverli dall'elenco con un'unica scansione
+        HashSet<List<Object>> scattiRimossi = new HashSet<>();
+
+        for (RigaRiconciliazioneScatto riga : righe) {
+
+            DipendenteIndeterminato dipendente = indiceDipendentiIndeterminati.get(riga.matricola());
+
+            if (dipendente == null)
+                continue;
+
+            switch (riga.operazione()) {
+                case RigaRiconciliazioneScatto.RIMOZIONE:
+                    dipendente.removeScattoCarriera(TipoScatto.valueOf(riga.tipo()), riga.data());
+                    scattiRimossi.add(List.of(riga.matricola(), riga.tipo(), riga.data()));
+                    break;
+
+                case RigaRiconciliazioneScatto.INSERIMENTO:
+                    ScattoCarriera scatto = new ScattoCarriera(riga.data(), TipoScatto.valueOf(riga.tipo()), dipendente);
+
+                    // Lo scatto non era presente nel database, quindi non e' presente neanche nell'elenco
+                    if (dipendente.addScattoCarriera(scatto)) {
+                        if (elencoAllScattiCarriera == null)
+                            elencoAllScattiCarriera = new ArrayList<>();
+
+                        aggiungiAdElenco(elencoAllScattiCarriera, scatto);
+                    }
+                    break;
+
+                case RigaRiconciliazioneScatto.TIPO:
+                    dipendente.setTipoDipendente(TipoDipendente.valueOf(riga.tipo()));
+                    break;
+            }
+        }
+
+        if (!scattiRimossi.isEmpty() && elencoAllScattiCarriera != null)
+            rimuoviTuttiDaElenco(elencoAllScattiCarriera, scatto -> scattiRimossi.contains(List.of(scatto.getDipendente().getMatricola(),
+                    scatto.getTipoScatto().toString(), scatto.getData())));
+
+        return true;
+    }
+
     // METODI GUI
     /*
      * 0 riuscito
@@ -1853,58 +2444,11 @@ public class Controller {
     //Se viene ritornata una data null in tre casi: il tipo inserito non e' di promozione o rimozione, oppure la lista degli scatti del dipendente e' null oppure la lista degli scatti e' vuota.
     public LocalDate recuperaDataScattoPiuRecente(DipendenteIndeterminato dipendenteIndeterminato, TipoScatto tipoScatto) {
 
-        LocalDate dataPiuRecente = null;
-        LocalDate dataCorrente;
-        boolean scattoIniziale = true;
-        ArrayList<ScattoCarriera> listaScatti = dipendenteIndeterminato.getScattiEffettuati();
-
-        if (tipoScatto.equals(TipoScatto.Promosso_a_dirigente) && listaScatti != null && !listaScatti.isEmpty()) {
-
-            for (ScattoCarriera scattoCarriera : listaScatti) {
-
-                if (scattoCarriera.getTipoScatto().equals(TipoScatto.Promosso_a_dirigente)) {
-
-                    dataCorrente = scattoCarriera.getData();
-
-                    if (scattoIniziale) {
-
-                        dataPiuRecente = dataCorrente;
-                        scattoIniziale = false;
-
-                    } else {
-
-                        if (dataPiuRecente.isBefore(dataCorrente))
-                            dataPiuRecente = dataCorrente;
-
-                    }
-                }
-            }
-
-        } else if (tipoScatto.equals(TipoScatto.Rimosso_da_dirigente) && listaScatti != null && !listaScatti.isEmpty()) {
-
-            for (ScattoCarriera scattoCarriera : listaScatti) {
-
-                if (scattoCarriera.getTipoScatto().equals(TipoScatto.Rimosso_da_dirigente)) {
-
-                    dataCorrente = scattoCarriera.getData();
-
-                    if (scattoIniziale) {
-
-                        dataPiuRecente = dataCorrente;
-                        scattoIniziale = false;
-
-                    } else {
-
-                        if (dataPiuRecente.isBefore(dataCorrente))
-                            dataPiuRecente = dataCorrente;
-
-                    }
-                }
-            }
-        }
-
-        return dataPiuRecente;
+        if (!tipoScatto.equals(TipoScatto.Promosso_a_dirigente) && !tipoScatto.equals(TipoScatto.Rimosso_da_dirigente))
+            return null;
 
+        // La cronologia mantiene le date ordinate: la piu' recente e' l'ultima
+        return dipendenteIndeterminato.getCronologiaScatti().getUltimo(tipoScatto);
     }
 
     /**
@@ -1947,17 +2491,20 @@ public class Controller {
      */
     public boolean coerenzaDateFineProgettoDipendente(LocalDate scadenzaDipendente, String progettoCup) {
 
-        boolean test = false;
+        return leggiModello(() -> {
 
-        // Recupera l'istanza del progetto da verificare (deve esistere)
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), progettoCup);
+            boolean test = false;
 
-        // Verifica se il progetto ha una data di fine definita e se la data di scadenza contrattuale del dipendente e' successiva alla data di fine del progetto.
-        if (progetto.getDataFine() != null && scadenzaDipendente.isAfter(progetto.getDataFine())) {
-            test = true;
-        }
+            // Recupera l'istanza del progetto da verificare (deve esistere)
+            Progetto progetto = getProgetto(progettoCup);
 
-        return test;
+            // Verifica se il progetto ha una data di fine definita e se la data di scadenza contrattuale del dipendente e' successiva alla data di fine del progetto.
+            if (progetto.getDataFine() != null && scadenzaDipendente.isAfter(progetto.getDataFine())) {
+                test = true;
+            }
+
+            return test;
+        });
     }
 
     /**
@@ -1968,24 +2515,27 @@ public class Controller {
      */
     public boolean checkIsDipendenteIndeterminato(String codFiscale) {
 
-        boolean test = false;
+        return leggiModello(() -> {
 
-        if (getElencoAllDipendentiIndeterminati() != null) {
+            boolean test = false;
 
-            for (DipendenteIndeterminato dip : getElencoAllDipendentiIndeterminati()) {
+            if (getElencoAllDipendentiIndeterminati() != null) {
 
-                if (dip.getCodFiscale().equals(codFiscale)) {
+                for (DipendenteIndeterminato dip : getContrattiIndeterminati(codFiscale)) {
 
-                    // Verifica se il dipendente è a tempo indeterminato e se il suo rapporto è attivo.
-                    if (dip.getDataFineRapporto() == null || dip.getDataFineRapporto().isAfter(LocalDate.now())) {
-                        test = true;
-                        break;
+                    if (dip.getCodFiscale().equals(codFiscale)) {
+
+                        // Verifica se il dipendente è a tempo indeterminato e se il suo rapporto è attivo.
+                        if (dip.getDataFineRapporto() == null || dip.getDataFineRapporto().isAfter(LocalDate.now())) {
+                            test = true;
+                            break;
+                        }
                     }
                 }
             }
-        }
 
-        return test;
+            return test;
+        });
     }
 
     /**
@@ -1996,25 +2546,28 @@ public class Controller {
      */
     public boolean checkIsDipendenteProgetto(String codFiscale) {
 
-        boolean test = false;
+        return leggiModello(() -> {
+
+            boolean test = false;
 
-        if (getElencoAllDipendentiProgetto() != null) {
+            if (getElencoAllDipendentiProgetto() != null) {
 
-            for (DipendenteProgetto dip : getElencoAllDipendentiProgetto()) {
+                for (DipendenteProgetto dip : getContrattiProgetto(codFiscale)) {
 
-                if (dip.getCodFiscale().equals(codFiscale)) {
+                    if (dip.getCodFiscale().equals(codFiscale)) {
 
-                    // Verifica se il dipendente a progetto ha una data di scadenza futura.
-                    if (dip.getScadenza().isAfter(LocalDate.now())) {
-                        test = true;
-                        break;
+                        // Verifica se il dipendente a progetto ha una data di scadenza futura.
+                        if (dip.getScadenza().isAfter(LocalDate.now())) {
+                            test = true;
+                            break;
+                        }
                     }
                 }
-            }
 
-        }
+            }
 
-        return test;
+            return test;
+        });
     }
 
     /**
@@ -2027,67 +2580,54 @@ public class Controller {
      */
     public boolean checkMatricolaUnica(String vecchiaMatricola, String matricola, boolean modificatoMode) {
 
-        boolean test = true;
+        return leggiModello(() -> {
 
-        if (getElencoAllDipendentiIndeterminati() != null || getElencoAllDipendentiProgetto() != null) {
+            boolean test = true;
 
-            if (getElencoAllDipendentiIndeterminati() != null) {
+            if (getElencoAllDipendentiIndeterminati() != null || getElencoAllDipendentiProgetto() != null) {
 
-                if (modificatoMode) {
+                if (getElencoAllDipendentiIndeterminati() != null) {
 
-                    DipendenteIndeterminato dipAttuale = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), vecchiaMatricola);
+                    if (modificatoMode) {
 
-                    for (DipendenteIndeterminato dip : getElencoAllDipendentiIndeterminati()) {
+                        DipendenteIndeterminato dipAttuale = getDipendenteIndeterminato(vecchiaMatricola);
 
-                        if (dip.getMatricola().equals(matricola) && !dip.equals(dipAttuale)) {
-                            test = false;
-                            break;
-                        }
-                    }
+                        DipendenteIndeterminato dip = indiceDipendentiIndeterminati.get(matricola);
 
-                } else {
+                        if (dip != null && !dip.equals(dipAttuale))
+                            test = false;
 
-                    for (DipendenteIndeterminato dip : getElencoAllDipendentiIndeterminati()) {
+                    } else {
 
-                        if (dip.getMatricola().equals(matricola)) {
+                        if (indiceDipendentiIndeterminati.containsKey(matricola))
                             test = false;
-                            break;
-                        }
                     }
-                }
 
-            } else {
+                } else {
 
-                if (test) {
+                    if (test) {
 
-                    if (modificatoMode) {
+                        if (modificatoMode) {
 
-                        DipendenteProgetto dipAttuale = getIstanceFromArrayList(getElencoAllDipendentiProgetto(), vecchiaMatricola);
+                            DipendenteProgetto dipAttuale = getDipendenteProgetto(vecchiaMatricola);
 
-                        for (DipendenteProgetto dip : getElencoAllDipendentiProgetto()) {
+                            DipendenteProgetto dip = indiceDipendentiProgetto.get(matricola);
 
-                            if (dip.getMatricola().equals(matricola) && !dip.equals(dipAttuale)) {
+                            if (dip != null && !dip.equals(dipAttuale))
                                 test = false;
-                                break;
-                            }
-                        }
 
-                    } else {
-
-                        for (DipendenteProgetto dip : getElencoAllDipendentiProgetto()) {
+                        } else {
 
-                            if (dip.getMatricola().equals(matricola)) {
+                            if (indiceDipendentiProgetto.containsKey(matricola))
                                 test = false;
-                                break;
-                            }
                         }
                     }
-                }
 
+                }
             }
-        }
 
-        return test;
+            return test;
+        });
     }
 
     /**
@@ -2099,30 +2639,33 @@ public class Controller {
      */
     public boolean checkCupUnico(String vecchioCup, String nuovoCup) {
 
-        boolean test = true;
+        return leggiModello(() -> {
 
-        // Se c'è un CUP precedente, otteniamo l'istanza del progetto corrispondente.
-        if (vecchioCup != null)
-            progetto = getIstanceFromArrayList(getElencoAllProgetti(), vecchioCup);
+            boolean test = true;
 
-        // Scansione di tutti i progetti per verificare l'unicità del nuovo CUP.
-        for (Progetto currentProgetto : getElencoAllProgetti()) {
+            // Se c'è un CUP precedente, otteniamo l'istanza del progetto corrispondente.
+            Progetto progetto = vecchioCup != null ? getProgetto(vecchioCup) : null;
 
-            if (vecchioCup != null) {
+            // Ricerca del progetto che utilizza gia' il nuovo CUP.
+            Progetto currentProgetto = indiceProgetti.get(nuovoCup);
 
-                // Se stiamo modificando un progetto esistente, ignoriamo il suo stesso CUP.
-                if (!currentProgetto.equals(progetto) && currentProgetto.getCup().equals(nuovoCup))
-                    test = false;
+            if (currentProgetto != null) {
 
-            } else {
+                if (vecchioCup != null) {
 
-                // Se stiamo creando un nuovo progetto, verifichiamo che il CUP sia unico.
-                if (currentProgetto.getCup().equals(nuovoCup))
+                    // Se stiamo modificando un progetto esistente, ignoriamo il suo stesso CUP.
+                    if (!currentProgetto.equals(progetto))
+                        test = false;
+
+                } else {
+
+                    // Se stiamo creando un nuovo progetto, verifichiamo che il CUP sia unico.
                     test = false;
+                }
             }
-        }
 
-        return test;
+            return test;
+        });
     }
 
     /**
@@ -2133,41 +2676,44 @@ public class Controller {
      */
     public boolean checkNomeLabUnico(String nomeLab) {
 
-        boolean test = true;
+        return leggiModello(() -> {
 
-        // Se trova un laboratorio con nell'elenco, allora nella verifica salta quel laboratorio, altrimenti li ispeziona tutti
+            boolean test = true;
 
-        // Otteniamo l'istanza del laboratorio corrispondente al nome.
-        laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), nomeLab);
+            // Se trova un laboratorio con nell'elenco, allora nella verifica salta quel laboratorio, altrimenti li ispeziona tutti
 
-        if (laboratorio == null){
+            // Otteniamo l'istanza del laboratorio corrispondente al nome.
+            Laboratorio laboratorioTrovato = getLaboratorio(nomeLab);
 
-            // Ispeziona tutti i laboratori per cercarne uno con lo stesso nome inserito
-            for (Laboratorio laboratorio : getElencoAllLaboratori()){
+            if (laboratorioTrovato == null){
 
-                if (laboratorio.getNome().equals(nomeLab)){
-                    test = false;
-                    break;
+                // Ispeziona tutti i laboratori per cercarne uno con lo stesso nome inserito
+                for (Laboratorio laboratorio : getElencoAllLaboratori()){
+
+                    if (laboratorio.getNome().equals(nomeLab)){
+                        test = false;
+                        break;
+                    }
                 }
-            }
 
-        } else {
+            } else {
 
-            // Ispeziona tutti i laboratori tranne il laboratorio trovato
-            for (Laboratorio currentLaboratorio : getElencoAllLaboratori()){
+                // Ispeziona tutti i laboratori tranne il laboratorio trovato
+                for (Laboratorio currentLaboratorio : getElencoAllLaboratori()){
 
-                if (currentLaboratorio.equals(laboratorio))
-                    continue;
+                    if (currentLaboratorio.equals(laboratorioTrovato))
+                        continue;
 
-                if (currentLaboratorio.getNome().equals(nomeLab)){
+                    if (currentLaboratorio.getNome().equals(nomeLab)){
 
-                    test = false;
-                    break;
+                        test = false;
+                        break;
+                    }
                 }
             }
-        }
 
-        return test;
+            return test;
+        });
     }
 
     /**
@@ -2180,36 +2726,39 @@ public class Controller {
      */
     public boolean isDipendenteIndeterminatoActive(boolean modificaMode, String codFiscale, String vecchiaMatricola) {
 
-        boolean test = false;
+        return leggiModello(() -> {
 
-        if (modificaMode) {
-            // Otteniamo l'istanza del dipendente indeterminato corrispondente alla matricola.
+            boolean test = false;
 
-            if (getElencoAllDipendentiIndeterminati() != null) {
-                // Scansione di tutti i dipendenti indeterminati per verificare l'attività.
-                for (DipendenteIndeterminato dipendenteRicercato : getElencoAllDipendentiIndeterminati()) {
+            if (modificaMode) {
+                // Otteniamo l'istanza del dipendente indeterminato corrispondente alla matricola.
 
-                    if (dipendenteRicercato.getDataFineRapporto() != null && !dipendenteRicercato.getMatricola().equals(vecchiaMatricola) && dipendenteRicercato.getCodFiscale().equals(codFiscale)) {
-                        test = true;
-                        break;
+                if (getElencoAllDipendentiIndeterminati() != null) {
+                    // Scansione di tutti i dipendenti indeterminati per verificare l'attività.
+                    for (DipendenteIndeterminato dipendenteRicercato : getContrattiIndeterminati(codFiscale)) {
+
+                        if (dipendenteRicercato.getDataFineRapporto() != null && !dipendenteRicercato.getMatricola().equals(vecchiaMatricola) && dipendenteRicercato.getCodFiscale().equals(codFiscale)) {
+                            test = true;
+                            break;
+                        }
                     }
                 }
-            }
 
-        } else {
+            } else {
 
-            if (getElencoAllDipendentiProgetto() != null) {
-                for (DipendenteIndeterminato dipendenteRicercato : getElencoAllDipendentiIndeterminati()) {
+                if (getElencoAllDipendentiProgetto() != null) {
+                    for (DipendenteIndeterminato dipendenteRicercato : getContrattiIndeterminati(codFiscale)) {
 
-                    if (dipendenteRicercato.getDataFineRapporto() != null && dipendenteRicercato.getCodFiscale().equals(codFiscale)) {
-                        test = true;
-                        break;
+                        if (dipendenteRicercato.getDataFineRapporto() != null && dipendenteRicercato.getCodFiscale().equals(codFiscale)) {
+                            test = true;
+                            break;
+                        }
                     }
                 }
             }
-        }
 
-        return test;
+            return test;
+        });
     }
 
     /**
@@ -2224,33 +2773,36 @@ public class Controller {
      */
     public boolean isDipendenteProgettoActive(boolean modificaMode, String codFiscale, LocalDate nuovaDataAssunzione, LocalDate nuovaScadenza, String vecchiaMatricola) {
 
-        boolean test = false;
+        return leggiModello(() -> {
 
-        if (getElencoAllDipendentiProgetto() != null) {
+            boolean test = false;
 
-            if (modificaMode) {
+            if (getElencoAllDipendentiProgetto() != null) {
 
-                // Scansione di tutti i dipendenti indeterminati per verificare l'attività.
-                for (DipendenteProgetto dipendenteRicercato : getElencoAllDipendentiProgetto()) {
+                if (modificaMode) {
 
-                    if (!dipendenteRicercato.getMatricola().equals(vecchiaMatricola) && dipendenteRicercato.getCodFiscale().equals(codFiscale) && ( (dipendenteRicercato.getDataAssunzione().isBefore(nuovaDataAssunzione) && dipendenteRicercato.getScadenza().isAfter(nuovaDataAssunzione)) || (dipendenteRicercato.getDataAssunzione().isBefore(nuovaScadenza) && dipendenteRicercato.getScadenza().isAfter(nuovaScadenza))) ) {
-                        test = true;
-                        break;
+                    // Scansione di tutti i dipendenti indeterminati per verificare l'attività.
+                    for (DipendenteProgetto dipendenteRicercato : getContrattiProgetto(codFiscale)) {
+
+                        if (!dipendenteRicercato.getMatricola().equals(vecchiaMatricola) && dipendenteRicercato.getCodFiscale().equals(codFiscale) && ( (dipendenteRicercato.getDataAssunzione().isBefore(nuovaDataAssunzione) && dipendenteRicercato.getScadenza().isAfter(nuovaDataAssunzione)) || (dipendenteRicercato.getDataAssunzione().isBefore(nuovaScadenza) && dipendenteRicercato.getScadenza().isAfter(nuovaScadenza))) ) {
+                            test = true;
+                            break;
+                        }
                     }
-                }
-            } else {
+                } else {
 
-                for (DipendenteProgetto dipendenteRicercato : getElencoAllDipendentiProgetto()) {
+                    for (DipendenteProgetto dipendenteRicercato : getContrattiProgetto(codFiscale)) {
 
-                    if (dipendenteRicercato.getCodFiscale().equals(codFiscale) && ( (dipendenteRicercato.getDataAssunzione().isBefore(nuovaDataAssunzione) && dipendenteRicercato.getScadenza().isAfter(nuovaDataAssunzione)) || (dipendenteRicercato.getDataAssunzione().isBefore(nuovaScadenza) && dipendenteRicercato.getScadenza().isAfter(nuovaScadenza)))) {
-                        test = true;
-                        break;
+                        if (dipendenteRicercato.getCodFiscale().equals(codFiscale) && ( (dipendenteRicercato.getDataAssunzione().isBefore(nuovaDataAssunzione) && dipendenteRicercato.getScadenza().isAfter(nuovaDataAssunzione)) || (dipendenteRicercato.getDataAssunzione().isBefore(nuovaScadenza) && dipendenteRicercato.getScadenza().isAfter(nuovaScadenza)))) {
+                            test = true;
+                            break;
+                        }
                     }
                 }
             }
-        }
 
-        return test;
+            return test;
+        });
     }
 
     /**
@@ -2270,58 +2822,13 @@ public class Controller {
     public boolean coerenzaCodiceFiscale(String vecchioNome, String vecchioCognome, String vecchioCodFiscale, LocalDate vecchiaDataNascita,
                                          String codFiscale, String nome, String cognome, LocalDate dataNascita, boolean modificatoMode) {
 
-        boolean test = false;
-
-        if (getElencoAllDipendentiIndeterminati() != null || getElencoAllDipendentiProgetto() != null) {
-
-            if (getElencoAllDipendentiIndeterminati() != null) {
+        return leggiModello(() -> {
 
-                if (modificatoMode) {
+            boolean test = false;
 
-                    //distinguo due situazioni:
-                    //1. se il codice fiscale non cambia, controllo che i dati anagrafici in modifica siano uguali ai dati anagrafici precedenti
-                    //2. se cambia il codice fiscale, controllo che non ci sia un altro dipendente con il nuovo codice fiscale ma con dati anagrafici diversi
-
-                    if (vecchioCodFiscale.equals(codFiscale)) {
-
-                        // il codice fiscale non cambia, controllo che i dati anagrafici in modifica siano uguali ai dati anagrafici precedenti
-
-                        if (!vecchioNome.equals(nome) || !vecchioCognome.equals(cognome) || !vecchiaDataNascita.equals(dataNascita))
-                            test = true;
-
-                    } else {
+            if (getElencoAllDipendentiIndeterminati() != null || getElencoAllDipendentiProgetto() != null) {
 
-                        // cambia il codice fiscale, controllo che non ci sia un altro dipendente con il nuovo codice fiscale ma con dati anagrafici diversi
-
-                        //cerco un dipendente a tempo indeterminato con il nuovo codice fiscale
-                        for (DipendenteIndeterminato dipNuovoCodFiscale : getElencoAllDipendentiIndeterminati()) {
-
-                            if (dipNuovoCodFiscale.getCodFiscale().equals(codFiscale) &&
-                                    (!dipNuovoCodFiscale.getNome().equals(nome) || !dipNuovoCodFiscale.getCognome().equals(cognome) || !dipNuovoCodFiscale.getDataNascita().equals(dataNascita))) {
-
-                                test = true;
-                                break;
-                            }
-                        }
-                    }
-
-                } else {
-
-                    // Ricerca di un dipendente indeterminato con lo stesso codice fiscale.
-                    for (DipendenteIndeterminato dip : getElencoAllDipendentiIndeterminati()) {
-
-                        if (dip.getCodFiscale().equals(codFiscale) &&
-                                (!dip.getNome().equals(nome) || !dip.getCognome().equals(cognome) || !dip.getDataNascita().equals(dataNascita))) {
-
-                            test = true;
-                            break;
-                        }
-                    }
-                }
-
-            } else {
-
-                if (!test) {
+                if (getElencoAllDipendentiIndeterminati() != null) {
 
                     if (modificatoMode) {
 
@@ -2341,7 +2848,7 @@ public class Controller {
                             // cambia il codice fiscale, controllo che non ci sia un altro dipendente con il nuovo codice fiscale ma con dati anagrafici diversi
 
                             //cerco un dipendente a tempo indeterminato con il nuovo codice fiscale
-                            for (DipendenteProgetto dipNuovoCodFiscale : getElencoAllDipendentiProgetto()) {
+                            for (DipendenteIndeterminato dipNuovoCodFiscale : getContrattiIndeterminati(codFiscale)) {
 
                                 if (dipNuovoCodFiscale.getCodFiscale().equals(codFiscale) &&
                                         (!dipNuovoCodFiscale.getNome().equals(nome) || !dipNuovoCodFiscale.getCognome().equals(cognome) || !dipNuovoCodFiscale.getDataNascita().equals(dataNascita))) {
@@ -2354,8 +2861,8 @@ public class Controller {
 
                     } else {
 
-                        // Ricerca di un dipendente a progetto con lo stesso codice fiscale.
-                        for (DipendenteIndeterminato dip : getElencoAllDipendentiIndeterminati()) {
+                        // Ricerca di un dipendente indeterminato con lo stesso codice fiscale.
+                        for (DipendenteIndeterminato dip : getContrattiIndeterminati(codFiscale)) {
 
                             if (dip.getCodFiscale().equals(codFiscale) &&
                                     (!dip.getNome().equals(nome) || !dip.getCognome().equals(cognome) || !dip.getDataNascita().equals(dataNascita))) {
@@ -2364,15 +2871,63 @@ public class Controller {
                                 break;
                             }
                         }
+                    }
+
+                } else {
+
+                    if (!test) {
 
+                        if (modificatoMode) {
+
+                            //distinguo due situazioni:
+                            //1. se il codice fiscale non cambia, controllo che i dati anagrafici in modifica siano uguali ai dati anagrafici precedenti
+                            //2. se cambia il codice fiscale, controllo che non ci sia un altro dipendente con il nuovo codice fiscale ma con dati anagrafici diversi
+
+                            if (vecchioCodFiscale.equals(codFiscale)) {
+
+                                // il codice fiscale non cambia, controllo che i dati anagrafici in modifica siano uguali ai dati anagrafici precedenti
+
+                                if (!vecchioNome.equals(nome) || !vecchioCognome.equals(cognome) || !vecchiaDataNascita.equals(dataNascita))
+                                    test = true;
+
+                            } else {
+
+                                // cambia il codice fiscale, controllo che non ci sia un altro dipendente con il nuovo codice fiscale ma con dati anagrafici diversi
+
+                                //cerco un dipendente a tempo indeterminato con il nuovo codice fiscale
+                                for (DipendenteProgetto dipNuovoCodFiscale : getContrattiProgetto(codFiscale)) {
+
+                                    if (dipNuovoCodFiscale.getCodFiscale().equals(codFiscale) &&
+                                            (!dipNuovoCodFiscale.getNome().equals(nome) || !dipNuovoCodFiscale.getCognome().equals(cognome) || !dipNuovoCodFiscale.getDataNascita().equals(dataNascita))) {
+
+                                        test = true;
+                                        break;
+                                    }
+                                }
+                            }
+
+                        } else {
+
+                            // Ricerca di un dipendente a progetto con lo stesso codice fiscale.
+                            for (DipendenteIndeterminato dip : getContrattiIndeterminati(codFiscale)) {
+
+                                if (dip.getCodFiscale().equals(codFiscale) &&
+                                        (!dip.getNome().equals(nome) || !dip.getCognome().equals(cognome) || !dip.getDataNascita().equals(dataNascita))) {
+
+                                    test = true;
+                                    break;
+                                }
+                            }
+
+                        }
                     }
+
                 }
 
             }
 
-        }
-
-        return test;
+            return test;
+        });
     }
 
     /**
@@ -2386,32 +2941,18 @@ public class Controller {
      */
     public boolean checkMaxLaboratoriLavoranti(boolean modificaMode, String stringProgetto, String stringVecchioProgetto) {
 
-        boolean test = false;
-
-        // Recupera l'istanza del progetto per cui effettuare la verifica, se specificato rappresenta il nuovo progetto (in modifica)
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
-
-        if (!modificaMode) {
+        return leggiModello(() -> {
 
-            // Se il progetto ha più di 3 laboratori lavoranti, segnala l'errore
-            if (progetto.getLaboratoriLavoranti().size() >= 3) {
-                test = true;
-            }
-        } else {
+            // Recupera l'istanza del progetto per cui effettuare la verifica, se specificato rappresenta il nuovo progetto (in modifica)
+            Progetto progetto = getProgetto(stringProgetto);
 
-            // Recupera l'istanza del vecchio progetto per cui effettuare la verifica
-            Progetto vecchioProgetto = getIstanceFromArrayList(getElencoAllProgetti(), stringVecchioProgetto);
-
-            if (!vecchioProgetto.equals(progetto)){
-
-                // Se il progetto ha più di 3 laboratori lavoranti, segnala l'errore
-                if (progetto.getLaboratoriLavoranti().size() >= 3) {
-                    test = true;
-                }
-            }
-        }
+            // In modifica, un laboratorio che resta sullo stesso progetto non ne aumenta il numero di laboratori lavoranti
+            if (modificaMode && getProgetto(stringVecchioProgetto).equals(progetto))
+                return false;
 
-        return test;
+            // Se il progetto ha già 3 laboratori lavoranti, segnala l'errore
+            return progetto.getNumeroLaboratoriLavoranti() >= 3;
+        });
     }
 
     /**
@@ -2425,37 +2966,26 @@ public class Controller {
      */
     public boolean checkAcquistoAttrezzaturaHalfBudget(boolean modificaMode, BigDecimal costo, String stringProgetto, String vecchioId) {
 
-        boolean test = false;
-
-        //recupero il budget del progetto
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
-        BigDecimal halfBudgetProgetto = progetto.getBudget().divide(BigDecimal.valueOf(2));
-
-        //recupero il costo totale delle attrezzature associato a quel progetto
-        BigDecimal costoTotaleAttrezzature = getCostoTotaleAttrezzatureProgetto(progetto.getCup());
+        return leggiModello(() -> {
 
-        if (!modificaMode) {
+            //recupero il budget del progetto
+            Progetto progetto = getProgetto(stringProgetto);
+            BigDecimal halfBudgetProgetto = progetto.getBudget().divide(BigDecimal.valueOf(2));
 
-            costoTotaleAttrezzature = costoTotaleAttrezzature.add(costo);
+            //recupero il costo totale delle attrezzature associato a quel progetto, mantenuto dal progetto stesso
+            BigDecimal costoTotaleAttrezzature = progetto.getCostoTotaleAttrezzature();
 
-            if (costoTotaleAttrezzature.compareTo(halfBudgetProgetto) > 0)
-                test = true;
-
-        } else if (!(attrezzatura = getIstanceFromArrayList(getElencoAllAttrezzature(), vecchioId)).getCosto().equals(costo)){
-
-            BigDecimal vecchioCosto = attrezzatura.getCosto();
-
-            // Sottrae il costo dell'attrezzatura da modificare al costo totale
-            costoTotaleAttrezzature = costoTotaleAttrezzature.subtract(vecchioCosto);
+            // In modifica, il costo dell'attrezzatura gia' acquistata dal progetto viene sostituito dal nuovo costo
+            if (modificaMode) {
 
-            // Aggiunge
-            costoTotaleAttrezzature = costoTotaleAttrezzature.add(costo);
+                Attrezzatura attrezzatura = getAttrezzatura(vecchioId);
 
-            if (costoTotaleAttrezzature.compareTo(halfBudgetProgetto) > 0)
-                test = true;
-        }
+                if (attrezzatura.getProgettoProprietario() == progetto)
+                    costoTotaleAttrezzature = costoTotaleAttrezzature.subtract(attrezzatura.getCosto());
+            }
 
-        return test;
+            return costoTotaleAttrezzature.add(costo).compareTo(halfBudgetProgetto) > 0;
+        });
     }
 
     /**
@@ -2469,37 +2999,26 @@ public class Controller {
      */
     public boolean checkAcquistoDipendenteProgettoHalfBudget(boolean modificaMode, BigDecimal costo, String stringProgetto, String vecchiaMatricola) {
 
-        boolean test = true;
+        return leggiModello(() -> {
 
-        // Recupera il budget del progetto.
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
-        BigDecimal halfBudgetProgetto = progetto.getBudget().divide(BigDecimal.valueOf(2));
+            // Recupera il budget del progetto.
+            Progetto progetto = getProgetto(stringProgetto);
+            BigDecimal halfBudgetProgetto = progetto.getBudget().divide(BigDecimal.valueOf(2));
 
-        // Recupera il costo totale dei dipendenti associati a quel progetto.
-        BigDecimal costoTotaleDipendentiProgetto = getCostoTotaleDipendentiProgettoProgetto(progetto.getCup());
+            // Recupera il costo totale dei dipendenti associati a quel progetto, mantenuto dal progetto stesso.
+            BigDecimal costoTotaleDipendentiProgetto = progetto.getCostoTotaleContratti();
 
-        if (!modificaMode) {
-
-            costoTotaleDipendentiProgetto = costoTotaleDipendentiProgetto.add(costo);
-
-            if (costoTotaleDipendentiProgetto.compareTo(halfBudgetProgetto) > 0)
-                test = true;
-
-        } else if (!(dipendenteProgetto = getIstanceFromArrayList(getElencoAllDipendentiProgetto(), vecchiaMatricola)).getCosto().equals(costo)){
-
-            BigDecimal vecchioCosto = dipendenteProgetto.getCosto();
-
-            // Sottrae il costo dell'attrezzatura da modificare al costo totale
-            costoTotaleDipendentiProgetto = costoTotaleDipendentiProgetto.subtract(vecchioCosto);
+            // In modifica, il costo del contratto gia' stipulato con il progetto viene sostituito dal nuovo costo.
+            if (modificaMode) {
 
-            // Aggiunge
-            costoTotaleDipendentiProgetto = costoTotaleDipendentiProgetto.add(costo);
+                DipendenteProgetto dipendenteProgetto = getDipendenteProgetto(vecchiaMatricola);
 
-            if (costoTotaleDipendentiProgetto.compareTo(halfBudgetProgetto) > 0)
-                test = true;
-        }
+                if (dipendenteProgetto.getProgettoProprietario() == progetto)
+                    costoTotaleDipendentiProgetto = costoTotaleDipendentiProgetto.subtract(dipendenteProgetto.getCosto());
+            }
 
-        return test;
+            return costoTotaleDipendentiProgetto.add(costo).compareTo(halfBudgetProgetto) > 0;
+        });
     }
 
     /**
@@ -2511,21 +3030,16 @@ public class Controller {
      */
     public boolean checkNewBudgetIsLegit(BigDecimal budget, String stringProgetto) {
 
-        boolean test = true;
-
-        // Recupera il budget del progetto.
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
-        BigDecimal halfBudgetProgetto = budget.divide(BigDecimal.valueOf(2));
+        return leggiModello(() -> {
 
-        // Recupera il costo totale delle attrezzature e dei dipendenti associati a quel progetto.
-        BigDecimal costoTotaleAttrezzature = getCostoTotaleAttrezzatureProgetto(progetto.getCup());
-        BigDecimal costoTotaleDipendentiProgetto = getCostoTotaleDipendentiProgettoProgetto(progetto.getCup());
+            // Recupera il progetto.
+            Progetto progetto = getProgetto(stringProgetto);
+            BigDecimal halfBudgetProgetto = budget.divide(BigDecimal.valueOf(2));
 
-        // Verifica se il costo totale supera la metà del budget del progetto.
-        if (costoTotaleAttrezzature.compareTo(halfBudgetProgetto) > 0 || costoTotaleDipendentiProgetto.compareTo(halfBudgetProgetto) > 0)
-            test = false;
-
-        return test;
+            // Verifica se il costo totale delle attrezzature o dei dipendenti, mantenuti dal progetto, supera la metà del nuovo budget.
+            return progetto.getCostoTotaleAttrezzature().compareTo(halfBudgetProgetto) <= 0
+                    && progetto.getCostoTotaleContratti().compareTo(halfBudgetProgetto) <= 0;
+        });
     }
 
     /**
@@ -2535,8 +3049,7 @@ public class Controller {
      * @return            {@link BigDecimal}    Il costo totale delle attrezzature acquistate dal progetto.
      */
     public BigDecimal getCostoTotaleAttrezzatureProgetto(String progettoCup) {
-        ProgettoPostgresDAO progettoDB = new ProgettoPostgresDAO();
-        return progettoDB.getCostoTotaleAttrezzature(progettoCup);
+        return leggiModello(() -> getProgetto(progettoCup).getCostoTotaleAttrezzature());
     }
 
     /**
@@ -2546,8 +3059,7 @@ public class Controller {
      * @return            {@link BigDecimal}   Il costo totale dei dipendenti ingaggiati dal progetto.
      */
     public BigDecimal getCostoTotaleDipendentiProgettoProgetto(String progettoCup) {
-        ProgettoPostgresDAO progettoDB = new ProgettoPostgresDAO();
-        return progettoDB.getCostoTotaleDipendentiProgetto(progettoCup);
+        return leggiModello(() -> getProgetto(progettoCup).getCostoTotaleContratti());
     }
 
     /**
@@ -2628,91 +3140,790 @@ public class Controller {
             if (LocalDate.now().isAfter(dateSupLimit))
                 test = 1;
 
-        } else if (TipoDipendente.valueOf(tipoDipendente).equals(TipoDipendente.Middle)) {
+        } else if (TipoDipendente.valueOf(tipoDipendente).equals(TipoDipendente.Middle)) {
+
+            LocalDate dateInfLimit = dataAssunzione.plusYears(3);
+            LocalDate dateSupLimit = dataAssunzione.plusYears(7);
+
+            if (LocalDate.now().isBefore(dateInfLimit))
+                test = 2;
+            else if (LocalDate.now().isAfter(dateSupLimit))
+                test = 3;
+
+        } else if (TipoDipendente.valueOf(tipoDipendente).equals(TipoDipendente.Senior)) {
+
+            LocalDate dateInfLimit = dataAssunzione.plusYears(7);
+
+            if (LocalDate.now().isBefore(dateInfLimit))
+                test = 4;
+
+        }
+
+        return test;
+    }
+
+    //METODI LETTURA
+    //Il ruolo di tali metodi e' quello di creare adeguatamente gli oggetti in memoria a partire dalle informazioni contenute nel database
+
+    /**
+     * Legge un'istantanea coerente di tutte le tabelle del database, lette in parallelo in sola lettura sullo stesso istante del database, e crea a partire da essa
+     * tutti gli oggetti in memoria e le loro associazioni, una tabella alla volta.
+     *
+     * @return Un intero che indica l'esito della lettura:
+     *         0 se i dati sono coerenti,
+     *         1 se sono incoerenti i dati dei dipendenti a tempo indeterminato o dei loro scatti di carriera,
+     *         2 se sono incoerenti i dati dei laboratori,
+     *         3 se sono incoerenti i dati dei progetti,
+     *         4 se sono incoerenti i dati dei dipendenti a progetto,
+     *         5 se sono incoerenti i dati delle attrezzature,
+     *         6 se sono incoerenti i dati delle istanze di lavoro.
+     *         Le singole violazioni rilevate sono descritte dal rapporto restituito da {@link #getRapportoLettura()}.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    public int leggiDatabase() throws SQLException{
+
+        // Il modello letto include tutte le modifiche confermate prima dell'apertura dell'istantanea
+        long inizioLettura = System.currentTimeMillis();
+
+        SnapshotDAO snapshotDB = fornitoreDAO.getSnapshotDAO();
+        SnapshotDati snapshot = snapshotDB.caricaSnapshot();
+
+        return leggiSnapshot(snapshot, inizioLettura);
+    }
+
+    /**
+     * Crea tutti gli oggetti in memoria e le loro associazioni a partire dall'istantanea specificata, una tabella alla volta,
+     * sostituendo interamente il modello precedente. Permette di costruire il modello da un'istantanea non letta dal database,
+     * ad esempio composta da dati sintetici.
+     *
+     * @param snapshot {@link SnapshotDati} L'istantanea da cui creare il modello, le cui tabelle non devono essere gia' state consumate.
+     *
+     * @return L'esito della lettura, come descritto in {@link #leggiDatabase()}.
+     *
+     * @throws SQLException Se la registrazione nel database delle correzioni dei dati letti non riesce.
+     */
+    public int leggiSnapshot(SnapshotDati snapshot) throws SQLException {
+        return leggiSnapshot(snapshot, System.currentTimeMillis());
+    }
+
+    //Crea il modello dall'istantanea, considerandolo aggiornato all'istante specificato
+    private int leggiSnapshot(SnapshotDati snapshot, long inizioLettura) throws SQLException {
+
+        int esito = 0;
+
+        // Il modello viene ricostruito in modo esclusivo rispetto alle azioni ed alle letture delle GUI
+        lockModello.writeLock().lock();
+
+        try {
+            // Il modello precedente, se presente, viene sostituito interamente da quello letto; fino al termine della lettura il modello e' superato
+            modelloAllineato = false;
+
+            setElencoAllDipendentiIndeterminati(null);
+            setElencoAllDipendentiProgetto(null);
+            setElencoAllScattiCarriera(null);
+            setElencoAllLaboratori(null);
+            setElencoAllAttrezzature(null);
+            setElencoAllProgetti(null);
+
+            // Gli indici del validatore vengono costruiti durante la lettura e rilasciati al suo termine
+            rapportoLettura = new RapportoIntegrita();
+            validatoreLettura = new ValidatoreLettura(rapportoLettura);
+
+            if (!leggiDipendentiIndeterminati(snapshot))
+                esito = 1;
+            else if (!leggiLaboratori(snapshot))
+                esito = 2;
+            else if (!leggiProgetti(snapshot))
+                esito = 3;
+            else if (!leggiDipendentiProgetto(snapshot))
+                esito = 4;
+            else if (!leggiAttrezzature(snapshot))
+                esito = 5;
+            else if (!leggiLavorare(snapshot))
+                esito = 6;
+
+            validatoreLettura = null;
+
+            // I candidati in cache potrebbero non includere le modifiche di altri client, o le correzioni registrate durante la lettura
+            cacheCandidati.svuota();
+
+            // Il modello letto e' allineato al database, anche se incoerente: le incoerenze sono descritte dal rapporto di lettura
+            istanteLetturaModello = inizioLettura;
+            modelloAllineato = true;
+
+        } finally {
+            lockModello.writeLock().unlock();
+        }
+
+        return esito;
+    }
+
+    /**
+     * Rilegge dal database l'intero modello in memoria, indipendentemente dal suo stato, e notifica agli ascoltatori delle modifiche
+     * il ricaricamento di tutte le tabelle. Permette di visualizzare le modifiche effettuate sul database da altri client.
+     *
+     * @return L'esito della lettura, come descritto in {@link #leggiDatabase()}.
+     *
+     * @throws SQLException Se la lettura del database non riesce; in tal caso il modello resta superato.
+     */
+    public int ricaricaModello() throws SQLException {
+
+        int esito = leggiDatabase();
+
+        notificaRicaricamento();
+
+        return esito;
+    }
+
+    /**
+     * Verifica se il modello in memoria e' superato, e deve quindi essere riletto dal database prima di essere visualizzato.
+     * Il modello e' superato se non e' mai stato letto, o se un'azione e' stata annullata dopo averlo modificato.
+     * Se l'ascolto delle notifiche e' attivo, il modello e' superato anche se e' stato letto prima dell'avvio dell'ascolto;
+     * altrimenti, e' superato se e' stato letto da piu' tempo della validita' massima configurata.
+     *
+     * @return True se il modello e' superato, altrimenti false.
+     */
+    public boolean isModelloSuperato() {
+
+        if (!modelloAllineato)
+            return true;
+
+        // Le modifiche degli altri client vengono applicate al modello tramite le notifiche
+        if (ascoltoAttivo)
+            return istanteLetturaModello <= istanteAvvioAscolto;
+
+        return validitaModelloMillis > 0 && System.currentTimeMillis() - istanteLetturaModello >= validitaModelloMillis;
+    }
+
+    //Esegue una lettura del modello in memoria, condivisa con le altre letture delle GUI, rileggendo prima il modello se e' superato.
+    //Le letture eseguite da un'azione, dalla lettura del database o da un'altra lettura detengono gia' il lock del modello, e lo leggono cosi' com'e'
+    private <T> T leggiModello(Supplier<T> lettura) {
+
+        if (!lockModello.isWriteLockedByCurrentThread() && lockModello.getReadHoldCount() == 0 && isModelloSuperato())
+            rileggiModelloSuperato();
+
+        lockModello.readLock().lock();
+
+        try {
+            return lettura.get();
+        } finally {
+            lockModello.readLock().unlock();
+        }
+    }
+
+    //Rilegge il modello dal database se e' superato, e notifica agli ascoltatori il ricaricamento di tutte le tabelle.
+    //Solo il primo dei thread concorrenti che trovano il modello superato, letture delle GUI o ascolto delle notifiche, lo rilegge
+    private void rileggiModelloSuperato() {
+
+        boolean riletto = false;
+
+        lockModello.writeLock().lock();
+
+        try {
+            if (isModelloSuperato()) {
+
+                // Una rilettura implicita non scrive sul database: le correzioni dei dati letti vengono applicate solo al modello,
+                // e vengono registrate dalla lettura all'avvio o dal ricaricamento esplicito del modello
+                letturaSenzaCorrezioni = true;
+
+                try {
+                    leggiDatabase();
+                } finally {
+                    letturaSenzaCorrezioni = false;
+                }
+
+                riletto = true;
+            }
+        } catch (SQLException sqlException) {
+            // Se il database non e' raggiungibile restano i dati gia' in memoria, e la rilettura viene ritentata alla lettura successiva
+            sqlException.printStackTrace();
+        } finally {
+            lockModello.writeLock().unlock();
+        }
+
+        if (riletto)
+            notificaRicaricamento();
+    }
+
+    //Notifica agli ascoltatori il ricaricamento di tutte le tabelle, dopo la rilettura del modello
+    private void notificaRicaricamento() {
+
+        for (AscoltatoreModifiche ascoltatore : ascoltatoriModifiche) {
+            for (Tabella tabella : Tabella.values())
+                ascoltatore.tabellaModificata(ModificaRiga.ricaricamento(tabella));
+        }
+    }
+
+    /**
+     * Applica allo schema del database gli script di migrazione non ancora applicati (trigger di notifica delle modifiche,
+     * indici delle interrogazioni), prima della lettura del modello.
+     *
+     * @return Il numero di script applicati, o -1 se l'applicazione di uno script e' fallita: lo schema resta alla versione
+     *         dell'ultimo script applicato, e l'applicativo puo' comunque essere utilizzato.
+     */
+    public int aggiornaSchema() {
+
+        try {
+            return fornitoreDAO.aggiornaSchema();
+        } catch (SQLException sqlException) {
+            sqlException.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Avvia l'ascolto delle modifiche effettuate sul database dagli altri client, che vengono applicate al modello in memoria
+     * e notificate agli ascoltatori delle modifiche come le modifiche di questo client. Finche' l'ascolto e' attivo,
+     * il modello non viene riletto allo scadere della sua validita' massima.
+     * Il database deve definire i trigger di notifica dello schema azienda; invocare il metodo piu' volte non ha ulteriori effetti.
+     * Se la sorgente dei dati non notifica le modifiche, come il database in memoria, il metodo non ha effetti.
+     */
+    public synchronized void avviaAscoltoNotifiche() {
+
+        if (ascoltatoreNotifiche != null || !fornitoreDAO.isNotificheSupportate())
+            return;
+
+        ascoltatoreNotifiche = new AscoltatoreNotifiche(new AscoltatoreNotifiche.Destinatario() {
+
+            @Override
+            public void ascoltoAvviato() {
+
+                // Le modifiche confermate prima dell'avvio potrebbero non essere state notificate
+                istanteAvvioAscolto = System.currentTimeMillis();
+                ascoltoAttivo = true;
+
+                // Un modello gia' letto, ad esempio prima di una riconnessione, viene riletto subito per aggiornare le aree aperte
+                if (istanteLetturaModello != 0 && isModelloSuperato())
+                    ricaricaModelloNotificato();
+            }
+
+            @Override
+            public void modificheNotificate(List<NotificaModifica> notifiche) {
+                applicaModificheNotificate(notifiche);
+            }
+
+            @Override
+            public void ascoltoInterrotto() {
+                // Senza notifiche, il modello torna ad essere riletto allo scadere della sua validita' massima
+                ascoltoAttivo = false;
+            }
+        });
+
+        ascoltatoreNotifiche.avvia();
+    }
+
+    /**
+     * Termina l'ascolto delle modifiche effettuate dagli altri client.
+     */
+    public synchronized void fermaAscoltoNotifiche() {
+
+        if (ascoltatoreNotifiche == null)
+            return;
+
+        ascoltatoreNotifiche.ferma();
+        ascoltatoreNotifiche = null;
+        ascoltoAttivo = false;
+    }
+
+    /**
+     * Restituisce l'ascoltatore delle notifiche del database, ad esempio per consultarne le metriche.
+     *
+     * @return {@link AscoltatoreNotifiche} L'ascoltatore, oppure null se l'ascolto non e' stato avviato.
+     */
+    public synchronized AscoltatoreNotifiche getAscoltatoreNotifiche() {
+        return ascoltatoreNotifiche;
+    }
+
+    //Applica al modello in memoria le modifiche notificate dagli altri client; se anche una sola modifica non puo' essere applicata, il modello viene riletto.
+    //Le righe da rileggere vengono lette prima di acquisire il lock, che resta occupato solo per l'applicazione al modello
+    private void applicaModificheNotificate(List<NotificaModifica> notifiche) {
+
+        ArrayList<ModificaRiga> modifiche = new ArrayList<>();
+        RigheNotificate righe;
+        boolean applicate;
+
+        try {
+            righe = RigheNotificate.leggi(notifiche, fornitoreDAO);
+        } catch (RuntimeException runtimeException) {
+            runtimeException.printStackTrace();
+            ricaricaModelloNotificato();
+            return;
+        }
+
+        lockModello.writeLock().lock();
+
+        try {
+            // Un modello superato verra' comunque riletto interamente
+            applicate = !isModelloSuperato();
+
+            for (int i = 0; i < notifiche.size() && applicate; i++)
+                applicate = applicaModificaNotificata(notifiche.get(i), righe, modifiche);
+
+            // Le modifiche gia' applicate vengono sostituite dalla rilettura del modello
+            if (!applicate)
+                modelloAllineato = false;
+
+        } catch (RuntimeException runtimeException) {
+            runtimeException.printStackTrace();
+            modelloAllineato = false;
+            applicate = false;
+        } finally {
+            lockModello.writeLock().unlock();
+        }
+
+        if (applicate)
+            notificaModifiche(modifiche);
+        else
+            ricaricaModelloNotificato();
+    }
+
+    //Rilegge il modello superato dal thread di ascolto delle notifiche, con la stessa disciplina delle letture delle GUI: se una lettura
+    //lo ha gia' riletto non viene riletto di nuovo, e se la lettura non riesce il modello resta superato e verra' riletto dalle GUI
+    private void ricaricaModelloNotificato() {
+        rileggiModelloSuperato();
+    }
+
+    /**
+     * Applica al modello in memoria una modifica notificata da un altro client, registrando le modifiche alle righe visualizzate.
+     * Le modifiche alle righe delle tabelle referenziate da altre tabelle (laboratori, progetti, e le eliminazioni o i cambi
+     * di matricola dei dipendenti a tempo indeterminato) si propagano a cascata sul database, e non vengono quindi applicate:
+     * in tal caso il modello deve essere riletto.
+     *
+     * @param notifica  {@link NotificaModifica}    La modifica notificata.
+     * @param righe     {@link RigheNotificate}     Le righe del database lette per il gruppo di modifiche notificate.
+     * @param modifiche {@link ArrayList}           Le modifiche alle righe, alle quali aggiungere quelle della modifica applicata.
+     * @return True se la modifica e' stata applicata, false se il modello deve essere riletto.
+     */
+    private boolean applicaModificaNotificata(NotificaModifica notifica, RigheNotificate righe, ArrayList<ModificaRiga> modifiche) {
+
+        switch (notifica.tabella()) {
+            case "dip_indeterminato":
+                return applicaDipendenteIndeterminatoNotificato(notifica, righe, modifiche);
+            case "scatto_carriera":
+                return applicaScattoCarrieraNotificato(notifica, modifiche);
+            case "dip_progetto":
+                return applicaDipendenteProgettoNotificato(notifica, righe, modifiche);
+            case "attrezzatura":
+                return applicaAttrezzaturaNotificata(notifica, righe, modifiche);
+            case "afferire":
+                return applicaAfferenzaNotificata(notifica, modifiche);
+            case "lavorare":
+                return applicaLavoroNotificato(notifica, modifiche);
+            default:
+                return false;
+        }
+    }
+
+    //Applica l'inserimento o l'aggiornamento di un dipendente a tempo indeterminato, senza cambio di matricola
+    private boolean applicaDipendenteIndeterminatoNotificato(NotificaModifica notifica, RigheNotificate righe, ArrayList<ModificaRiga> modifiche) {
+
+        if (notifica.nuovaChiave() == null || (notifica.chiave() != null && !notifica.chiave().equals(notifica.nuovaChiave())))
+            return false;
+
+        String matricola = notifica.nuovaChiave().get(0);
+
+        RigaDipendenteIndeterminato riga = righe.getDipendenteIndeterminato(matricola);
+
+        if (riga == null)
+            return false;
+
+        DipendenteIndeterminato presente = indiceDipendentiIndeterminati.get(matricola);
+
+        if (presente == null) {
+
+            addDipendenteIndeterminatoToElenco(new DipendenteIndeterminato(riga.nome(), riga.cognome(), riga.codFiscale(), riga.matricola(),
+                    TipoDipendente.valueOf(riga.tipo()), riga.indirizzo(), riga.dataNascita(), riga.dataAssunzione(), riga.dataFine(), riga.dirigente()));
+
+        } else {
+
+            presente.setNome(riga.nome());
+            presente.setCognome(riga.cognome());
+            rimuoviContratto(indiceCodFiscaleIndeterminati, presente.getCodFiscale(), presente);
+            presente.setCodFiscale(riga.codFiscale());
+            aggiungiContratto(indiceCodFiscaleIndeterminati, riga.codFiscale(), presente);
+            presente.setIndirizzo(riga.indirizzo());
+            presente.setDataNascita(riga.dataNascita());
+            presente.setDataAssunzione(riga.dataAssunzione());
+            presente.setDataFineRapporto(riga.dataFine());
+            presente.setTipoDipendente(TipoDipendente.valueOf(riga.tipo()));
+            presente.setDirigente(riga.dirigente());
+        }
+
+        modifiche.add(ModificaRiga.traChiavi(Tabella.DIPENDENTI_INDETERMINATI, notifica.chiave(), notifica.nuovaChiave()));
+
+        return true;
+    }
+
+    //Applica la modifica di uno scatto di carriera, la cui chiave comprende tutti i suoi dati; il tipo del dipendente e' notificato con la sua riga
+    private boolean applicaScattoCarrieraNotificato(NotificaModifica notifica, ArrayList<ModificaRiga> modifiche) {
+
+        List<Object> chiave = null;
+        List<Object> nuovaChiave = null;
+
+        if (notifica.chiave() != null) {
+
+            String matricola = notifica.chiave().get(0);
+            TipoScatto tipoScatto = TipoScatto.valueOf(notifica.chiave().get(1));
+            LocalDate data = LocalDate.parse(notifica.chiave().get(2));
+
+            DipendenteIndeterminato dipendente = indiceDipendentiIndeterminati.get(matricola);
+
+            if (dipendente == null)
+                return false;
+
+            dipendente.removeScattoCarriera(tipoScatto, data);
+
+            if (elencoAllScattiCarriera != null)
+                elencoAllScattiCarriera.removeIf(scatto -> scatto.getDipendente().getMatricola().equals(matricola)
+                        && scatto.getTipoScatto().equals(tipoScatto) && scatto.getData().equals(data));
+
+            chiave = List.of(matricola, tipoScatto.toString(), data);
+        }
+
+        if (notifica.nuovaChiave() != null) {
+
+            String matricola = notifica.nuovaChiave().get(0);
+            TipoScatto tipoScatto = TipoScatto.valueOf(notifica.nuovaChiave().get(1));
+            LocalDate data = LocalDate.parse(notifica.nuovaChiave().get(2));
+
+            DipendenteIndeterminato dipendente = indiceDipendentiIndeterminati.get(matricola);
+
+            if (dipendente == null)
+                return false;
+
+            ScattoCarriera scatto = new ScattoCarriera(data, tipoScatto, dipendente);
+
+            dipendente.addScattoCarriera(scatto);
+            addScattoCarrieraToElenco(scatto);
+
+            nuovaChiave = List.of(matricola, tipoScatto.toString(), data);
+        }
+
+        modifiche.add(ModificaRiga.traChiavi(Tabella.SCATTI_CARRIERA, chiave, nuovaChiave));
+
+        return true;
+    }
+
+    //Applica la modifica di un dipendente a progetto, a partire dalla sua riga letta dal database
+    private boolean applicaDipendenteProgettoNotificato(NotificaModifica notifica, RigheNotificate righe, ArrayList<ModificaRiga> modifiche) {
+
+        DipendenteProgetto presente = notifica.chiave() == null ? null : indiceDipendentiProgetto.get(notifica.chiave().get(0));
+
+        // Il dipendente eliminato viene rimosso dal progetto che lo ha ingaggiato, dall'elenco e dagli indici
+        if (notifica.nuovaChiave() == null) {
+
+            if (presente != null) {
+                presente.getProgettoProprietario().removeDipendenteIngaggiato(presente);
+                elencoAllDipendentiProgetto.removeIf(dipendente -> dipendente == presente);
+                indiceDipendentiProgetto.remove(presente.getMatricola(), presente);
+                rimuoviContratto(indiceCodFiscaleProgetto, presente.getCodFiscale(), presente);
+
+                modifiche.add(ModificaRiga.aggiornamento(Tabella.PROGETTI, presente.getProgettoProprietario().getCup()));
+            }
+
+            modifiche.add(ModificaRiga.traChiavi(Tabella.DIPENDENTI_PROGETTO, notifica.chiave(), null));
+
+            return true;
+        }
+
+        RigaDipendenteProgetto riga = righe.getDipendenteProgetto(notifica.nuovaChiave().get(0));
+        Progetto progettoRiga = riga == null ? null : indiceProgetti.get(riga.cup());
+
+        if (progettoRiga == null)
+            return false;
+
+        if (presente == null) {
+
+            DipendenteProgetto nuovoDipendente = new DipendenteProgetto(riga.nome(), riga.cognome(), riga.codFiscale(), riga.matricola(),
+                    riga.indirizzo(), riga.dataNascita(), riga.dataAssunzione(), riga.scadenza(), riga.costo(), progettoRiga);
+
+            progettoRiga.addDipendenteIngaggiato(nuovoDipendente);
+            addDipendenteProgettoToElenco(nuovoDipendente);
+
+        } else {
+
+            Progetto vecchioProgetto = presente.getProgettoProprietario();
+
+            presente.setNome(riga.nome());
+            presente.setCognome(riga.cognome());
+            rimuoviContratto(indiceCodFiscaleProgetto, presente.getCodFiscale(), presente);
+            presente.setCodFiscale(riga.codFiscale());
+            aggiungiContratto(indiceCodFiscaleProgetto, riga.codFiscale(), presente);
+            presente.setIndirizzo(riga.indirizzo());
+            presente.setDataNascita(riga.dataNascita());
+            presente.setDataAssunzione(riga.dataAssunzione());
+            presente.setScadenza(riga.scadenza());
+            presente.setCosto(riga.costo());
+
+            if (!vecchioProgetto.equals(progettoRiga)) {
+                vecchioProgetto.removeDipendenteIngaggiato(presente);
+                progettoRiga.addDipendenteIngaggiato(presente);
+                presente.setProgettoProprietario(progettoRiga);
+            }
+
+            String vecchiaMatricola = presente.getMatricola();
+            presente.setMatricola(riga.matricola());
+            reindicizza(indiceDipendentiProgetto, vecchiaMatricola, riga.matricola(), presente);
+
+            modifiche.add(ModificaRiga.aggiornamento(Tabella.PROGETTI, vecchioProgetto.getCup()));
+        }
+
+        // Il costo del dipendente viene aggiornato nel riepilogo del progetto
+        modifiche.add(ModificaRiga.traChiavi(Tabella.DIPENDENTI_PROGETTO, notifica.chiave(), notifica.nuovaChiave()));
+        modifiche.add(ModificaRiga.aggiornamento(Tabella.PROGETTI, progettoRiga.getCup()));
+
+        return true;
+    }
+
+    //Applica la modifica di un'attrezzatura, a partire dalla sua riga letta dal database
+    private boolean applicaAttrezzaturaNotificata(NotificaModifica notifica, RigheNotificate righe, ArrayList<ModificaRiga> modifiche) {
+
+        List<Integer> chiave = notifica.chiave() == null ? null : List.of(Integer.valueOf(notifica.chiave().get(0)));
+        List<Integer> nuovaChiave = notifica.nuovaChiave() == null ? null : List.of(Integer.valueOf(notifica.nuovaChiave().get(0)));
+
+        Attrezzatura presente = chiave == null ? null : indiceAttrezzature.get(chiave.get(0));
+
+        // L'attrezzatura eliminata viene rimossa dal progetto che l'ha acquistata, dal laboratorio che la possiede, dall'elenco e dall'indice
+        if (nuovaChiave == null) {
+
+            if (presente != null) {
+                presente.getProgettoProprietario().removeAttrezzaturaAcquistata(presente);
+
+                if (presente.getLaboratorioPossedente() != null)
+                    presente.getLaboratorioPossedente().removeAttrezzatura(presente);
+
+                elencoAllAttrezzature.removeIf(attrezzaturaElenco -> attrezzaturaElenco == presente);
+                indiceAttrezzature.remove(presente.getIdAttrezzatura(), presente);
+
+                modifiche.add(ModificaRiga.aggiornamento(Tabella.PROGETTI, presente.getProgettoProprietario().getCup()));
+            }
+
+            modifiche.add(ModificaRiga.traChiavi(Tabella.ATTREZZATURE, chiave, null));
+
+            return true;
+        }
+
+        RigaAttrezzatura riga = righe.getAttrezzatura(nuovaChiave.get(0));
+
+        if (riga == null)
+            return false;
+
+        Progetto progettoRiga = indiceProgetti.get(riga.cup());
+        Laboratorio laboratorioRiga = riga.nomeLab() == null ? null : indiceLaboratori.get(riga.nomeLab());
+
+        if (progettoRiga == null || (riga.nomeLab() != null && laboratorioRiga == null))
+            return false;
+
+        if (presente == null) {
+
+            Attrezzatura nuovaAttrezzatura = new Attrezzatura(riga.idAttrezzatura(), riga.descrizione(), riga.costo(), progettoRiga, laboratorioRiga);
+
+            progettoRiga.addAttrezzaturaAcquistata(nuovaAttrezzatura);
+
+            if (laboratorioRiga != null)
+                laboratorioRiga.addAttrezzatura(nuovaAttrezzatura);
+
+            addAttrezzaturaToElenco(nuovaAttrezzatura);
+
+        } else {
+
+            Progetto vecchioProgetto = presente.getProgettoProprietario();
+            Laboratorio vecchioLaboratorio = presente.getLaboratorioPossedente();
+
+            presente.setDescrizione(riga.descrizione());
+            presente.setCosto(riga.costo());
+
+            if (!vecchioProgetto.equals(progettoRiga)) {
+                vecchioProgetto.removeAttrezzaturaAcquistata(presente);
+                progettoRiga.addAttrezzaturaAcquistata(presente);
+                presente.setProgettoProprietario(progettoRiga);
+            }
+
+            if (vecchioLaboratorio != laboratorioRiga) {
+
+                if (vecchioLaboratorio != null)
+                    vecchioLaboratorio.removeAttrezzatura(presente);
+
+                if (laboratorioRiga != null)
+                    laboratorioRiga.addAttrezzatura(presente);
+
+                presente.setLaboratorioPossedente(laboratorioRiga);
+            }
+
+            presente.setIdAttrezzatura(riga.idAttrezzatura());
+
+            if (indiceAttrezzature.get(chiave.get(0)) == presente)
+                indiceAttrezzature.remove(chiave.get(0));
+
+            indiceAttrezzature.putIfAbsent(riga.idAttrezzatura(), presente);
+
+            modifiche.add(ModificaRiga.aggiornamento(Tabella.PROGETTI, vecchioProgetto.getCup()));
+        }
+
+        // Il costo dell'attrezzatura viene aggiornato nel riepilogo del progetto
+        modifiche.add(ModificaRiga.traChiavi(Tabella.ATTREZZATURE, chiave, nuovaChiave));
+        modifiche.add(ModificaRiga.aggiornamento(Tabella.PROGETTI, progettoRiga.getCup()));
+
+        return true;
+    }
+
+    //Applica la modifica di un'afferenza, la cui chiave comprende tutti i suoi dati
+    private boolean applicaAfferenzaNotificata(NotificaModifica notifica, ArrayList<ModificaRiga> modifiche) {
+
+        if (notifica.chiave() != null) {
+
+            DipendenteIndeterminato dipendente = indiceDipendentiIndeterminati.get(notifica.chiave().get(0));
+            Laboratorio laboratorioAfferenza = indiceLaboratori.get(notifica.chiave().get(1));
+
+            if (dipendente == null || laboratorioAfferenza == null)
+                return false;
+
+            dipendente.removeAfferenzaLaboratorio(laboratorioAfferenza);
+            laboratorioAfferenza.removeAfferente(dipendente);
+
+            modifiche.add(ModificaRiga.aggiornamento(Tabella.LABORATORI, laboratorioAfferenza.getNome()));
+        }
+
+        if (notifica.nuovaChiave() != null) {
+
+            DipendenteIndeterminato dipendente = indiceDipendentiIndeterminati.get(notifica.nuovaChiave().get(0));
+            Laboratorio laboratorioAfferenza = indiceLaboratori.get(notifica.nuovaChiave().get(1));
+
+            if (dipendente == null || laboratorioAfferenza == null)
+                return false;
+
+            dipendente.addAfferenzaLaboratorio(laboratorioAfferenza);
+            laboratorioAfferenza.addAfferente(dipendente);
+
+            modifiche.add(ModificaRiga.aggiornamento(Tabella.LABORATORI, laboratorioAfferenza.getNome()));
+        }
+
+        // Il numero di afferenti viene aggiornato nel riepilogo dei laboratori
+        modifiche.add(ModificaRiga.traChiavi(Tabella.AFFERENZE, notifica.chiave(), notifica.nuovaChiave()));
+
+        return true;
+    }
+
+    //Applica la modifica di un'istanza di lavoro, la cui chiave comprende tutti i suoi dati
+    private boolean applicaLavoroNotificato(NotificaModifica notifica, ArrayList<ModificaRiga> modifiche) {
+
+        if (notifica.chiave() != null) {
+
+            Progetto progettoLavoro = indiceProgetti.get(notifica.chiave().get(0));
+            Laboratorio laboratorioLavoro = indiceLaboratori.get(notifica.chiave().get(1));
+
+            if (progettoLavoro == null || laboratorioLavoro == null)
+                return false;
+
+            progettoLavoro.removeLaboratorioLavorante(laboratorioLavoro);
+            laboratorioLavoro.removeProgetto(progettoLavoro);
+        }
+
+        if (notifica.nuovaChiave() != null) {
+
+            Progetto progettoLavoro = indiceProgetti.get(notifica.nuovaChiave().get(0));
+            Laboratorio laboratorioLavoro = indiceLaboratori.get(notifica.nuovaChiave().get(1));
+
+            if (progettoLavoro == null || laboratorioLavoro == null)
+                return false;
+
+            progettoLavoro.addLaboratorioLavorante(laboratorioLavoro);
+            laboratorioLavoro.addProgetto(progettoLavoro);
+        }
+
+        modifiche.add(ModificaRiga.traChiavi(Tabella.LAVORI, notifica.chiave(), notifica.nuovaChiave()));
+
+        return true;
+    }
+
+    /**
+     * Recupera il rapporto delle incoerenze rilevate nell'ultima lettura del database.
+     *
+     * @return {@link RapportoIntegrita} Il rapporto dell'ultima lettura.
+     */
+    public RapportoIntegrita getRapportoLettura() {
+        return rapportoLettura;
+    }
+
+    /**
+     * Imposta se le correzioni dei dati rilevate durante la lettura (scatti di carriera automatici, afferenze dei responsabili
+     * scientifici, istanze di lavoro scadute) vengono registrate nel database, oltre che applicate al modello in memoria.
+     * Va disattivata solo quando il modello viene creato da un'istantanea che non proviene dal database, come i dati sintetici.
+     * Le riletture del modello superato richieste dalle letture delle GUI non registrano comunque alcuna correzione.
+     *
+     * @param registraCorrezioniLettura True per registrare le correzioni nel database, false per applicarle solo al modello.
+     */
+    public void setRegistraCorrezioniLettura(boolean registraCorrezioniLettura) {
+        this.registraCorrezioniLettura = registraCorrezioniLettura;
+    }
 
-            LocalDate dateInfLimit = dataAssunzione.plusYears(3);
-            LocalDate dateSupLimit = dataAssunzione.plusYears(7);
+    //Verifica se la lettura in corso registra nel database le correzioni dei dati letti
+    private boolean isCorrezioniDaRegistrare() {
+        return registraCorrezioniLettura && !letturaSenzaCorrezioni;
+    }
 
-            if (LocalDate.now().isBefore(dateInfLimit))
-                test = 2;
-            else if (LocalDate.now().isAfter(dateSupLimit))
-                test = 3;
+    /**
+     * Imposta l'eta' massima del modello in memoria, oltre la quale viene riletto dal database alla successiva lettura delle GUI.
+     *
+     * @param validitaModelloMillis La nuova eta' massima del modello in millisecondi, 0 per non rileggerlo mai.
+     */
+    public void setValiditaModelloMillis(long validitaModelloMillis) {
 
-        } else if (TipoDipendente.valueOf(tipoDipendente).equals(TipoDipendente.Senior)) {
+        if (validitaModelloMillis < 0)
+            throw new IllegalArgumentException("La validita' del modello non puo' essere negativa");
 
-            LocalDate dateInfLimit = dataAssunzione.plusYears(7);
+        this.validitaModelloMillis = validitaModelloMillis;
+    }
 
-            if (LocalDate.now().isBefore(dateInfLimit))
-                test = 4;
+    //Restituisce il validatore della lettura in corso, creandolo se le letture vengono eseguite singolarmente
+    private ValidatoreLettura getValidatoreLettura() {
 
-        }
+        if (validatoreLettura == null)
+            validatoreLettura = new ValidatoreLettura(rapportoLettura);
 
-        return test;
+        return validatoreLettura;
     }
 
-    //METODI LETTURA
-    //Il ruolo di tali metodi e' quello di creare adeguatamente gli oggetti in memoria a partire dalle informazioni contenute nel database
-
     /**
      * Legge tutti i dipendenti indeterminati dal database, crea oggetti in memoria e li aggiunge all'elenco dei dipendenti a tempo indeterminato.
      *
+     * @param snapshot {@link SnapshotDati} L'istantanea del database da cui leggere i dati.
+     *
      * @return True se i dati non presentano incoerenze irrisolvibili automaticamente, false altrimenti.
      *
      * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
      */
-    public boolean leggiDipendentiIndeterminati() throws SQLException{
+    public boolean leggiDipendentiIndeterminati(SnapshotDati snapshot) throws SQLException{
 
         boolean coerenzaDatiLettura;
 
-        // Creazione di liste per memorizzare i dati dei dipendenti indeterminati dal database.
-        ArrayList<String> nomi = new ArrayList<>();
-        ArrayList<String> cognomi = new ArrayList<>();
-        ArrayList<String> codFiscali = new ArrayList<>();
-        ArrayList<String> matricole = new ArrayList<>();
-        ArrayList<String> tipiDipendente = new ArrayList<>();
-        ArrayList<String> indirizzi = new ArrayList<>();
-        ArrayList<LocalDate> dateNascita = new ArrayList<>();
-        ArrayList<LocalDate> dateAssunzioni = new ArrayList<>();
-        ArrayList<LocalDate> dateFine = new ArrayList<>();
-        ArrayList<Boolean> dirigenti = new ArrayList<>();
-
-        // Estrae i dati dei dipendenti indeterminati dal database.
-        DipendenteIndeterminatoPostgresDAO dipendenteIndeterminatoDB = new DipendenteIndeterminatoPostgresDAO();
-        dipendenteIndeterminatoDB.obtainDipendentiIndeterminati(nomi, cognomi, codFiscali, matricole, tipiDipendente, indirizzi, dateNascita, dateAssunzioni, dateFine, dirigenti);
-
-        // Loop attraverso i dati estratti per creare oggetti DipendenteIndeterminato.
-        for (int i = 0; i < nomi.size(); i++) {
-
-            dipendenteIndeterminato = new DipendenteIndeterminato(nomi.get(i), cognomi.get(i), codFiscali.get(i), matricole.get(i),
-                    TipoDipendente.valueOf(tipiDipendente.get(i)), indirizzi.get(i), dateNascita.get(i), dateAssunzioni.get(i), dateFine.get(i), dirigenti.get(i));
-
-            // Controlla che il dipendente non sia gia' un dipendente a progetto
-            if (checkIsDipendenteProgetto(dipendenteIndeterminato.getCodFiscale()))
-                return false;
+        ValidatoreLettura validatore = getValidatoreLettura();
 
-            // Controlla che non ci siano dipendenti con lo stesso codice fiscale ma con dati anagrafici diversi
-            if (coerenzaCodiceFiscale(null, null, null, null, dipendenteIndeterminato.getCodFiscale(),
-                                        dipendenteIndeterminato.getNome(), dipendenteIndeterminato.getCognome(), dipendenteIndeterminato.getDataNascita(), false))
-                return false;
+        // Crea gli oggetti DipendenteIndeterminato a partire dai dipendenti indeterminati dell'istantanea.
+        boolean letturaCompletata = snapshot.consumaDipendentiIndeterminati((nome, cognome, codFiscale, matricola, tipoDipendente, indirizzo,
+                                                                             dataNascita, dataAssunzione, dataFine, dirigente) -> {
 
-            // Controlla se il dipedente a tempo indeterminato sia gia' attivo
-            if (isDipendenteIndeterminatoActive(false, dipendenteIndeterminato.getCodFiscale(), null))
-                return false;
+            DipendenteIndeterminato dipendenteIndeterminato = new DipendenteIndeterminato(nome, cognome, codFiscale, matricola,
+                    TipoDipendente.valueOf(tipoDipendente), indirizzo, dataNascita, dataAssunzione, dataFine, dirigente);
 
-            // Controlla se il dipendente abbia una dataFine impostata ma ricopra ancora il ruolo di responsabile scientifico
-            if (dipendenteIndeterminato.getDataFineRapporto() != null && checkResponsabileScientificoLaboratorioLetture(dipendenteIndeterminato.getMatricola()))
-                return false;
+            // Verifica il dipendente rispetto ai dipendenti gia' letti con lo stesso codice fiscale; le incoerenze vengono
+            // registrate nel rapporto di lettura ed il dipendente incoerente viene scartato, proseguendo con la lettura
+            if (validatore.validaDipendenteIndeterminato(dipendenteIndeterminato)) {
 
-            // Controlla se il dipendente abbia una dataFine impostata ma ricopra il ruolo di responsabile scientifico senza avere il giusto tipo
-            if (dipendenteIndeterminato.getDataFineRapporto() != null && !dipendenteIndeterminato.getTipoDipendente().equals(TipoDipendente.Senior) && checkResponsabileScientificoLaboratorioLetture(dipendenteIndeterminato.getMatricola()))
-                return false;
+                // Aggiunge il dipendente indeterminato all'elenco.
+                addDipendenteIndeterminatoToElenco(dipendenteIndeterminato);
+            }
 
-            // Aggiunge il dipendente indeterminato all'elenco.
-            addDipendenteIndeterminatoToElenco(dipendenteIndeterminato);
-        }
+            return true;
+        });
+
+        // La lettura e' incoerente se e' stata interrotta o se almeno un dipendente e' stato scartato
+        if (!letturaCompletata || rapportoLettura.contaViolazioni(ValidatoreLettura.DIPENDENTI_INDETERMINATI) > 0)
+            return false;
 
         // Legge gli scatti di carriera, per poter successivamente correggere o registrare nel database e nella memoria eventuali scatti mancanti o incoerenti
-        coerenzaDatiLettura = leggiScattiCarriera();
+        coerenzaDatiLettura = leggiScattiCarriera(snapshot);
 
         if (coerenzaDatiLettura) {
 
@@ -2722,6 +3933,13 @@ public class Controller {
             //inserisce tutti gli scatti carriera
             if (getElencoAllDipendentiIndeterminati() != null) {
 
+                // Gli scatti Middle e Senior ed i tipi di tutti i dipendenti vengono corretti con un'unica istruzione sul database;
+                // se non riesce, vengono corretti dipendente per dipendente insieme agli scatti dirigenziali
+                boolean scattiRiconciliati = isCorrezioniDaRegistrare() && riconciliaScattiAutomatici();
+
+                // Le correzioni di tutti i dipendenti vengono raccolte e inviate al database in batch
+                RiconciliazioneScatti riconciliazioneScatti = new RiconciliazioneScatti(fornitoreDAO);
+
                 for (DipendenteIndeterminato dipendente : getElencoAllDipendentiIndeterminati()) {
 
                     // Recupera le date di promozione e rimozione piu' recenti, recupera valori null se non esistono.
@@ -2729,13 +3947,18 @@ public class Controller {
                     dataRimozioneDirigente = recuperaDataScattoPiuRecente(dipendente, TipoScatto.Rimosso_da_dirigente);
 
                     // Inserimento automatico di scatti di carriera corretti
-                    if (dipendente.getDirigente()) {
-                        insertAutomaticScatti(dipendente, dataScattoDirigente);
+                    if (scattiRiconciliati) {
+                        insertAutomaticScattiDirigenziali(dipendente, dipendente.getDirigente() ? dataScattoDirigente : dataRimozioneDirigente, riconciliazioneScatti);
+                    } else if (dipendente.getDirigente()) {
+                        insertAutomaticScatti(dipendente, dataScattoDirigente, riconciliazioneScatti);
                     } else {
-                        insertAutomaticScatti(dipendente, dataRimozioneDirigente);
+                        insertAutomaticScatti(dipendente, dataRimozioneDirigente, riconciliazioneScatti);
                     }
 
                 }
+
+                if (isCorrezioniDaRegistrare())
+                    riconciliazioneScatti.esegui();
             }
         }
 
@@ -2745,31 +3968,24 @@ public class Controller {
     /**
      * Legge tutti gli scatti di carriera dal database, crea oggetti in memoria e li aggiunge all'elenco degli scatti di carriera.
      *
+     * @param snapshot {@link SnapshotDati} L'istantanea del database da cui leggere i dati.
+     *
      * @return True se i dati non presentano incoerenze, false altrimenti.
      *
      * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
      */
-    public boolean leggiScattiCarriera() throws SQLException{
+    public boolean leggiScattiCarriera(SnapshotDati snapshot) throws SQLException{
 
         boolean coerenzaDati = true;
 
-        // Creazione di liste per memorizzare i dati degli scatti di carriera dal database.
-        ArrayList<String> tipiScatto = new ArrayList<>();
-        ArrayList<String> stringDipendenti = new ArrayList<>();
-        ArrayList<LocalDate> date = new ArrayList<>();
-
-        // Estrae i dati degli scatti di carriera dal database.
-        ScattoCarrieraPostgresDAO scattoCarrieraDB = new ScattoCarrieraPostgresDAO();
-        scattoCarrieraDB.obtainScattiCarriera(tipiScatto, stringDipendenti, date);
-
-        // Loop attraverso i dati estratti e crea oggetti ScattoCarriera.
-        for (int i = 0; i < stringDipendenti.size(); i++) {
+        // Crea gli oggetti ScattoCarriera a partire dagli scatti di carriera dell'istantanea.
+        boolean letturaCompletata = snapshot.consumaScattiCarriera((tipoScatto, matricola, data) -> {
 
             // Ottiene un'istanza di DipendenteIndeterminato dal nome del dipendente.
-            dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringDipendenti.get(i));
+            DipendenteIndeterminato dipendenteIndeterminato = getDipendenteIndeterminato(matricola);
 
             // Crea un oggetto ScattoCarriera.
-            scattoCarriera = new ScattoCarriera(date.get(i), TipoScatto.valueOf(tipiScatto.get(i)), dipendenteIndeterminato);
+            ScattoCarriera scattoCarriera = new ScattoCarriera(data, TipoScatto.valueOf(tipoScatto), dipendenteIndeterminato);
 
             // Si verifica che la data dello scatto sia precedente rispetto la data assunzione del dipendente.
             if (checkNotCoerenzaDataAssunzioneDataScatto(scattoCarriera.getDipendente().getMatricola(), scattoCarriera.getData()))
@@ -2778,18 +3994,26 @@ public class Controller {
             // Aggiunge lo scatto di carriera al dipendente
             dipendenteIndeterminato.addScattoCarriera(scattoCarriera);
 
-            if (scattoCarriera.getTipoScatto().equals(TipoScatto.Middle))
-                dipendenteIndeterminato.setTipoDipendente(TipoDipendente.Middle);
-            else if (scattoCarriera.getTipoScatto().equals(TipoScatto.Senior))
-                dipendenteIndeterminato.setTipoDipendente(TipoDipendente.Senior);
-            else if (scattoCarriera.getTipoScatto().equals(TipoScatto.Promosso_a_dirigente))
-                dipendenteIndeterminato.setDirigente(true);
-            else if (scattoCarriera.getTipoScatto().equals(TipoScatto.Rimosso_da_dirigente))
-                dipendenteIndeterminato.setDirigente(false);
+            // Gli scatti vengono letti in un ordine qualsiasi: il tipo e lo stato dirigenziale derivano dalla cronologia, non dall'ultimo scatto letto
+            CronologiaScatti cronologia = dipendenteIndeterminato.getCronologiaScatti();
+
+            if (scattoCarriera.getTipoScatto().equals(TipoScatto.Middle) || scattoCarriera.getTipoScatto().equals(TipoScatto.Senior))
+                dipendenteIndeterminato.setTipoDipendente(cronologia.getNumeroScatti(TipoScatto.Senior) > 0 ? TipoDipendente.Senior : TipoDipendente.Middle);
+            else {
+                LocalDate ultimaPromozione = cronologia.getUltimo(TipoScatto.Promosso_a_dirigente);
+                LocalDate ultimaRimozione = cronologia.getUltimo(TipoScatto.Rimosso_da_dirigente);
+                dipendenteIndeterminato.setDirigente(ultimaPromozione != null && (ultimaRimozione == null || ultimaRimozione.isBefore(ultimaPromozione)));
+            }
 
             // Aggiunge lo scatto di carriera all'elenco.
             addScattoCarrieraToElenco(scattoCarriera);
-        }
+
+            return true;
+        });
+
+        // La lettura viene interrotta alla prima incoerenza
+        if (!letturaCompletata)
+            return false;
 
         //verifica che non ci siano incongruenze nell'alternanza di promozioni e rimozioni a ruoli dirigenziali
         if (getElencoAllScattiCarriera() != null)
@@ -2801,80 +4025,50 @@ public class Controller {
     /**
      * Legge tutti i dipendenti a progetto dal database, crea oggetti in memoria e li aggiunge all'elenco dei dipendenti a progetto.
      *
+     * @param snapshot {@link SnapshotDati} L'istantanea del database da cui leggere i dati.
+     *
      * @return True se i dati non presentano incoerenze, false altrimenti.
      *
      * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
      */
-    public boolean leggiDipendentiProgetto() throws SQLException{
+    public boolean leggiDipendentiProgetto(SnapshotDati snapshot) throws SQLException{
 
-        boolean integro = true;
+        boolean integro;
+
+        ValidatoreLettura validatore = getValidatoreLettura();
 
-        // Creazione di liste per memorizzare i dati dei dipendenti di progetto dal database.
-        ArrayList<String> nomi = new ArrayList<>();
-        ArrayList<String> cognomi = new ArrayList<>();
-        ArrayList<String> codFiscali = new ArrayList<>();
-        ArrayList<String> matricole = new ArrayList<>();
-        ArrayList<String> indirizzi = new ArrayList<>();
-        ArrayList<LocalDate> dateNascita = new ArrayList<>();
-        ArrayList<LocalDate> dateAssunzioni = new ArrayList<>();
-        ArrayList<LocalDate> scadenze = new ArrayList<>();
-        ArrayList<BigDecimal> costiContratti = new ArrayList<>();
-        ArrayList<String> stringProgetti = new ArrayList<>();
-
-        // Estrae i dati dei dipendenti di progetto dal database.
-        DipendenteProgettoPostgresDAO dipendenteProgettoDB = new DipendenteProgettoPostgresDAO();
-        dipendenteProgettoDB.obtainDipendentiProgetto(nomi, cognomi, codFiscali, matricole, indirizzi, dateNascita, dateAssunzioni, scadenze, costiContratti, stringProgetti);
-
-        // Loop attraverso i dati estratti e crea oggetti DipendenteProgetto.
-        for (int i = 0; i < nomi.size(); i++) {
+        // Crea gli oggetti DipendenteProgetto a partire dai dipendenti a progetto dell'istantanea.
+        boolean letturaCompletata = snapshot.consumaDipendentiProgetto((nome, cognome, codFiscale, matricola, indirizzo,
+                                                                        dataNascita, dataAssunzione, scadenza, costo, cup) -> {
 
             // Ottieni un'istanza di Progetto dal nome del progetto.
-            progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetti.get(i));
+            Progetto progetto = getProgetto(cup);
 
             // Crea un oggetto DipendenteProgetto.
-            dipendenteProgetto = new DipendenteProgetto(nomi.get(i), cognomi.get(i), codFiscali.get(i), matricole.get(i),
-                    indirizzi.get(i), dateNascita.get(i), dateAssunzioni.get(i), scadenze.get(i), costiContratti.get(i), progetto);
-
-            // Controlla che il dipendente non sia gia' un dipendente indeterminato
-            if (checkIsDipendenteIndeterminato(dipendenteProgetto.getCodFiscale()))
-                return false;
-
-            // Controlla che non ci siano dipendenti con lo stesso codice fiscale ma con dati anagrafici diversi
-            if (coerenzaCodiceFiscale(null, null, null, null, dipendenteProgetto.getCodFiscale(),
-                    dipendenteProgetto.getNome(), dipendenteProgetto.getCognome(), dipendenteProgetto.getDataNascita(), false))
-                return false;
-
-            // Controlla che la data di scadenza di un dipendente a progetto superi la data di fine del progetto
-            if (coerenzaDateFineProgettoDipendente(dipendenteProgetto.getScadenza(), progetto.getCup()))
-                return false;
+            DipendenteProgetto dipendenteProgetto = new DipendenteProgetto(nome, cognome, codFiscale, matricola,
+                    indirizzo, dataNascita, dataAssunzione, scadenza, costo, progetto);
 
-            // Controlla se il dipedente a progetto abbia gia' una carriera attiva
-            if (isDipendenteProgettoActive(false, dipendenteProgetto.getCodFiscale(), dipendenteProgetto.getDataAssunzione(), dipendenteProgetto.getScadenza(), null))
-                return false;
-
-            // Aggiunge l'acquisto al progetto
-            progetto.addDipendenteIngaggiato(dipendenteProgetto);
+            // Verifica il dipendente rispetto al progetto ed ai contratti gia' letti con lo stesso codice fiscale; le incoerenze
+            // vengono registrate nel rapporto di lettura ed il dipendente incoerente viene scartato, proseguendo con la lettura
+            if (validatore.validaDipendenteProgetto(dipendenteProgetto)) {
 
-            // Aggiungi il dipendente a progetto all'elenco.
-            addDipendenteProgettoToElenco(dipendenteProgetto);
-        }
+                // Aggiunge l'acquisto al progetto
+                progetto.addDipendenteIngaggiato(dipendenteProgetto);
 
-        BigDecimal costoTotaleDipendentiProgetto = new BigDecimal(0);
+                // Aggiungi il dipendente a progetto all'elenco.
+                addDipendenteProgettoToElenco(dipendenteProgetto);
+            }
 
-        //Verifica se il costo totale, per ogni progetto, dei dipendenti a progetto non supera la meta' del budget destinato al progetto
-        if (elencoAllProgetti != null) {
-            for (Progetto currentProgetto : getElencoAllProgetti()) {
+            return true;
+        });
 
-                if (currentProgetto.getDipendentiIngaggiati() != null) {
-                    for (DipendenteProgetto currentDipendenteProgetto : currentProgetto.getDipendentiIngaggiati())
-                        costoTotaleDipendentiProgetto = costoTotaleDipendentiProgetto.add(currentDipendenteProgetto.getCosto());
+        // La lettura e' incoerente se e' stata interrotta o se almeno un dipendente e' stato scartato
+        integro = letturaCompletata && rapportoLettura.contaViolazioni(ValidatoreLettura.DIPENDENTI_PROGETTO) == 0;
 
-                    if (currentProgetto.getBudget().divide(BigDecimal.valueOf(2)).compareTo(costoTotaleDipendentiProgetto) < 0)
-                        return false;
-                    costoTotaleDipendentiProgetto = new BigDecimal(0);
-                }
-            }
-        }
+        //Verifica se il costo totale, per ogni progetto, dei dipendenti a progetto non supera la meta' del budget destinato al progetto,
+        //con i costi gia' sommati per CUP durante la lettura
+        if (!validatore.validaBudgetDipendentiProgetto(getElencoAllProgetti()))
+            integro = false;
 
         return integro;
     }
@@ -2883,40 +4077,27 @@ public class Controller {
     /**
      * Legge tutte le attrezzature dal database, crea oggetti in memoria e li aggiunge all'elenco delle attrezzature.
      *
+     * @param snapshot {@link SnapshotDati} L'istantanea del database da cui leggere i dati.
+     *
      * @return True se i dati non presentano incoerenze, false altrimenti.
      *
      * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
      */
-    public boolean leggiAttrezzature() throws SQLException{
+    public boolean leggiAttrezzature(SnapshotDati snapshot) throws SQLException{
 
         boolean integro = true;
 
-        // Creazione di liste per memorizzare i dati delle attrezzature dal database.
-        ArrayList<Integer> idAttrezzature = new ArrayList<Integer>();
-        ArrayList<String> descrizioni = new ArrayList<>();
-        ArrayList<BigDecimal> costi = new ArrayList<>();
-        ArrayList<String> stringProgetti = new ArrayList<>();
-        ArrayList<String> stringLaboratori = new ArrayList<>();
-
-        Progetto progetto;
-        Laboratorio laboratorio = null;
+        // Crea gli oggetti Attrezzatura a partire dalle attrezzature dell'istantanea.
+        boolean letturaCompletata = snapshot.consumaAttrezzature((idAttrezzatura, descrizione, costo, cup, nomeLab) -> {
 
-        // Estrae i dati delle attrezzature dal database.
-        AttrezzaturaPostgresDAO attrezzaturaDB = new AttrezzaturaPostgresDAO();
-        attrezzaturaDB.obtainAttrezzature(idAttrezzature, descrizioni, costi, stringProgetti, stringLaboratori);
-
-        // Loop attraverso i dati estratti e crea oggetti Attrezzatura.
-        for (int i = 0; i < idAttrezzature.size(); i++) {
-
-            // Ottiene un'istanza di Progetto dal nome del progetto.
-            progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetti.get(i));
+            // Ottiene un'istanza di Progetto dal nome del progetto, e di Laboratorio dal nome del laboratorio che possiede l'attrezzatura, se presente.
+            Progetto progetto = getProgetto(cup);
+            Laboratorio laboratorio = nomeLab != null ? getLaboratorio(nomeLab) : null;
 
             // Crea un oggetto Attrezzatura.
-            attrezzatura = new Attrezzatura(idAttrezzature.get(i), descrizioni.get(i), costi.get(i), progetto, laboratorio);
+            Attrezzatura attrezzatura = new Attrezzatura(idAttrezzatura, descrizione, costo, progetto, laboratorio);
 
-            if (stringLaboratori.get(i) != null) {
-
-                laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), stringLaboratori.get(i));
+            if (laboratorio != null) {
 
                 // Controlla se il laboratorio non lavora al progetto
                 if (progetto.getLaboratoriLavoranti().contains(laboratorio))
@@ -2932,7 +4113,13 @@ public class Controller {
 
             // Aggiunge l'attrezzatura all'elenco.
             addAttrezzaturaToElenco(attrezzatura);
-        }
+
+            return true;
+        });
+
+        // La lettura viene interrotta alla prima incoerenza
+        if (!letturaCompletata)
+            return false;
 
         BigDecimal costoTotaleAttrezzature = new BigDecimal(0);
 
@@ -2959,61 +4146,71 @@ public class Controller {
     /**
      * Legge tutti i laboratori dal database, crea oggetti in memoria e li aggiunge all'elenco dei laboratori.
      *
+     * @param snapshot {@link SnapshotDati} L'istantanea del database da cui leggere i dati.
+     *
      * @return True se i dati non presentano incoerenze, false altrimenti.
      *
      * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
      */
-    public boolean leggiLaboratori() throws SQLException{
+    public boolean leggiLaboratori(SnapshotDati snapshot) throws SQLException{
 
         boolean integro = true;
 
-        // Creazione di liste per memorizzare i dati dei laboratori dal database.
-        ArrayList<String> nomi = new ArrayList<>();
-        ArrayList<String> topics = new ArrayList<>();
-        ArrayList<String> stringResponsabiliScientifici = new ArrayList<>();
-
-        // Estrae i dati dei laboratori dal database.
-        LaboratorioPostgresDAO laboratorioDB = new LaboratorioPostgresDAO();
-        laboratorioDB.obtainLaboratori(nomi, topics, stringResponsabiliScientifici);
+        ValidatoreLettura validatore = getValidatoreLettura();
 
-        // Loop attraverso i dati estratti e crea oggetti Laboratorio.
-        for (int i = 0; i < nomi.size(); i++) {
+        // Crea gli oggetti Laboratorio a partire dai laboratori dell'istantanea.
+        boolean letturaCompletata = snapshot.consumaLaboratori((nome, topic, matricolaResponsabileScientifico) -> {
 
             // Ottiene un'istanza di DipendenteIndeterminato dal nome del responsabile scientifico.
-            responsabileScientifico = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringResponsabiliScientifici.get(i));
+            DipendenteIndeterminato responsabileScientifico = getDipendenteIndeterminato(matricolaResponsabileScientifico);
 
             // Crea un oggetto Laboratorio.
-            laboratorio = new Laboratorio(nomi.get(i), topics.get(i), responsabileScientifico);
+            Laboratorio laboratorio = new Laboratorio(nome, topic, responsabileScientifico);
 
             // Verifica che, per il responsabile selezionato, siano coerenti il tipo e la data fine (non impostata)
-            if (!responsabileScientifico.getTipoDipendente().equals(TipoDipendente.Senior) || responsabileScientifico.getDataFineRapporto() != null)
-                return false;
+            if (validatore.validaLaboratorio(laboratorio)) {
 
-            // Aggiunge la responsabilita tra responsabile scientifico e il laboratorio.
-            responsabileScientifico.addLaboratorioResponsabileScientifico(laboratorio);
+                // Aggiunge la responsabilita tra responsabile scientifico e il laboratorio.
+                responsabileScientifico.addLaboratorioResponsabileScientifico(laboratorio);
 
-            // Aggiunge il laboratorio all'elenco.
-            addLaboratorioToElenco(laboratorio);
-        }
+                // Aggiunge il laboratorio all'elenco.
+                addLaboratorioToElenco(laboratorio);
+            }
+
+            return true;
+        });
+
+        // La lettura e' incoerente se e' stata interrotta o se almeno un laboratorio e' stato scartato
+        if (!letturaCompletata || rapportoLettura.contaViolazioni(ValidatoreLettura.LABORATORI) > 0)
+            return false;
 
         //aggiunge le afferenze dei responsabili scientifici
-        leggiAfferenze();
+        leggiAfferenze(snapshot);
 
         if (getElencoAllLaboratori() != null) {
 
+            // Le afferenze mancanti vengono raccolte e registrate nel database in un'unica scrittura in batch
+            ArrayList<String> matricoleAfferenzeMancanti = new ArrayList<>();
+            ArrayList<String> laboratoriAfferenzeMancanti = new ArrayList<>();
+
             for (Laboratorio lab : getElencoAllLaboratori()) {
 
-                responsabileScientifico = lab.getResponsabileScientifico();
+                DipendenteIndeterminato responsabileScientifico = lab.getResponsabileScientifico();
 
                 if (!lab.getAfferenti().contains(responsabileScientifico)) {
 
                     lab.addAfferente(responsabileScientifico);
                     responsabileScientifico.addAfferenzaLaboratorio(lab);
 
-                    AfferirePostgresDAO afferireDB = new AfferirePostgresDAO();
-                    afferireDB.addAfferenza(responsabileScientifico.getMatricola(), lab.getNome());
+                    matricoleAfferenzeMancanti.add(responsabileScientifico.getMatricola());
+                    laboratoriAfferenzeMancanti.add(lab.getNome());
                 }
             }
+
+            if (!matricoleAfferenzeMancanti.isEmpty() && isCorrezioniDaRegistrare()) {
+                AfferireDAO afferireDB = fornitoreDAO.getAfferireDAO();
+                afferireDB.addAfferenze(matricoleAfferenzeMancanti, laboratoriAfferenzeMancanti);
+            }
         }
 
         return integro;
@@ -3023,36 +4220,25 @@ public class Controller {
     /**
      * Legge tutti i progetti dal database, crea oggetti in memoria e li aggiunge all'elenco dei progetti.
      *
+     * @param snapshot {@link SnapshotDati} L'istantanea del database da cui leggere i dati.
+     *
      * @return True se i dati non presentano incoerenze, false altrimenti.
      *
      * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
      */
-    public boolean leggiProgetti() throws SQLException{
+    public boolean leggiProgetti(SnapshotDati snapshot) throws SQLException{
 
         boolean integro = true;
 
-        // Creazione di liste per memorizzare i dati dei progetti dal database.
-        ArrayList<String> nomi = new ArrayList<>();
-        ArrayList<String> cups = new ArrayList<>();
-        ArrayList<BigDecimal> budgets = new ArrayList<>();
-        ArrayList<LocalDate> dateInizio = new ArrayList<>();
-        ArrayList<LocalDate> dateFine = new ArrayList<>();
-        ArrayList<String> stringReferentiScientifici = new ArrayList<>();
-        ArrayList<String> stringResponsabili = new ArrayList<>();
-
-        // Estrae i dati dei progetti dal database.
-        ProgettoPostgresDAO progettoDB = new ProgettoPostgresDAO();
-        progettoDB.obtainProgetti(nomi, cups, budgets, dateInizio, dateFine, stringReferentiScientifici, stringResponsabili);
-
-        // Loop attraverso i dati estratti e crea oggetti Progetto.
-        for (int i = 0; i < nomi.size(); i++) {
+        // Crea gli oggetti Progetto a partire dai progetti dell'istantanea.
+        boolean letturaCompletata = snapshot.consumaProgetti((nome, cup, budget, dataInizio, dataFine, matricolaReferenteScientifico, matricolaResponsabile) -> {
 
             // Ottiene un'istanza di DipendenteIndeterminato dal nome del referente scientifico e del responsabile.
-            referenteScientifico = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringReferentiScientifici.get(i));
-            responsabile = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringResponsabili.get(i));
+            DipendenteIndeterminato referenteScientifico = getDipendenteIndeterminato(matricolaReferenteScientifico);
+            DipendenteIndeterminato responsabile = getDipendenteIndeterminato(matricolaResponsabile);
 
             // Crea un oggetto Progetto.
-            progetto = new Progetto(cups.get(i), nomi.get(i), budgets.get(i), dateInizio.get(i), dateFine.get(i), referenteScientifico, responsabile);
+            Progetto progetto = new Progetto(cup, nome, budget, dataInizio, dataFine, referenteScientifico, responsabile);
 
             // Controlla che la data fine del progetto rientra nel periodo lavorativo del referente scientifico
             if (checkPeriodoLavorativoCoerenteReferenteScientifico(referenteScientifico.getDataAssunzione(), referenteScientifico.getDataFineRapporto(), progetto.getDataInizio(), progetto.getDataFine()))
@@ -3068,7 +4254,13 @@ public class Controller {
 
             // Aggiunge il progetto all'elenco.
             addProgettoToElenco(progetto);
-        }
+
+            return true;
+        });
+
+        // La lettura viene interrotta alla prima incoerenza
+        if (!letturaCompletata)
+            return false;
 
         return integro;
     }
@@ -3081,41 +4273,23 @@ public class Controller {
      * */
     public boolean checkNomeProgettoUnico(String nomeProgetto){
 
-        boolean test = true;
-
-        // Se trova un progetto con il nome specificato nell'elenco, allora nella verifica salta quel progetto, altrimenti li ispeziona tutti
-
-        // Otteniamo l'istanza del progetto corrispondente al nome.
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), nomeProgetto);
-
-        if (progetto == null){
-
-            // Ispeziona tutti i progetti per cercarne uno con lo stesso nome inserito
-            for (Progetto progetto : getElencoAllProgetti()){
-
-                if (progetto.getNome().equals(nomeProgetto)){
-                    test = false;
-                    break;
-                }
-            }
+        return leggiModello(() -> {
 
-        } else{
+            // Il progetto in modifica mantiene il proprio nome: il nome non e' unico se e' gia' utilizzato da almeno due progetti
+            int progettiConNome = 0;
 
-            // Ispeziona tutti i progetti tranne il progetto trovato
-            for (Progetto currentProgetto : getElencoAllProgetti()){
+            if (getElencoAllProgetti() != null) {
 
-                if (currentProgetto.equals(progetto))
-                    continue;
+                // Ispeziona tutti i progetti in un'unica scansione, contando quelli con lo stesso nome inserito
+                for (Progetto currentProgetto : getElencoAllProgetti()) {
 
-                if (currentProgetto.getNome().equals(nomeProgetto)){
-
-                    test = false;
-                    break;
+                    if (currentProgetto.getNome().equals(nomeProgetto))
+                        progettiConNome++;
                 }
             }
-        }
 
-        return test;
+            return progettiConNome <= 1;
+        });
     }
 
     /**
@@ -3176,33 +4350,32 @@ public class Controller {
     /**
      * Legge tutte le istanze di lavoro, tra progetti e laboratori, dal database, crea oggetti in memoria e li aggiunge alle associazioni corrispettive.
      *
+     * @param snapshot {@link SnapshotDati} L'istantanea del database da cui leggere i dati.
+     *
      * @return True se i dati non presentano incoerenze, false altrimenti.
      *
      * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
      */
-    public boolean leggiLavorare() throws SQLException{
+    public boolean leggiLavorare(SnapshotDati snapshot) throws SQLException{
 
         boolean integro = true;
 
-        // Creazione di liste per memorizzare i dati delle associazioni Lavorare dal database.
-        ArrayList<String> progetti = new ArrayList<>();
-        ArrayList<String> laboratori = new ArrayList<>();
+        // Le istanze di lavoro di progetti non piu' attivi vengono rimosse dal database al termine della lettura, in un'unica scrittura in batch
+        ArrayList<String> cupLavoriScaduti = new ArrayList<>();
+        ArrayList<String> laboratoriLavoriScaduti = new ArrayList<>();
 
-        // Estrae i dati delle associazioni Lavorare dal database.
-        LavorarePostgresDAO lavorareDB = new LavorarePostgresDAO();
-        lavorareDB.obtainLavorare(progetti, laboratori);
-
-        // Loop attraverso i dati estratti e crea oggetti Lavorare.
-        for (int i = 0; i < progetti.size(); i++) {
+        // Crea le associazioni Lavorare a partire dalle istanze di lavoro dell'istantanea.
+        boolean letturaCompletata = snapshot.consumaLavori((cup, nomeLab) -> {
 
             // Ottiene un'istanza di Progetto e Laboratorio dal nome.
-            progetto = getIstanceFromArrayList(getElencoAllProgetti(), progetti.get(i));
-            laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), laboratori.get(i));
+            Progetto progetto = getProgetto(cup);
+            Laboratorio laboratorio = getLaboratorio(nomeLab);
 
             // Verifica se il progetto non e' attivo, nell'eventualita' elimina l'istanza di lavoro dal database e prosegue con la lettura
             if (checkProgettoIsNotActive(progetto.getDataFine())) {
 
-                lavorareDB.removeLavorare(progetto.getCup(), laboratorio.getNome());
+                cupLavoriScaduti.add(progetto.getCup());
+                laboratoriLavoriScaduti.add(laboratorio.getNome());
 
             } else {
 
@@ -3216,8 +4389,18 @@ public class Controller {
 
             }
 
+            return true;
+        });
+
+        if (!cupLavoriScaduti.isEmpty() && isCorrezioniDaRegistrare()) {
+            LavorareDAO lavorareDB = fornitoreDAO.getLavorareDAO();
+            lavorareDB.removeLavori(cupLavoriScaduti, laboratoriLavoriScaduti);
         }
 
+        // La lettura viene interrotta alla prima incoerenza
+        if (!letturaCompletata)
+            return false;
+
         return integro;
     }
 
@@ -3241,30 +4424,29 @@ public class Controller {
     /**
      * Legge tutte le afferenze tra dipendenti a tempo indeterminato e laboratori dal database, crea oggetti in memoria e li aggiunge alle associazioni corrispettive.
      *
+     * @param snapshot {@link SnapshotDati} L'istantanea del database da cui leggere i dati.
+     *
      * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
      */
-    public void leggiAfferenze() throws SQLException{
+    public void leggiAfferenze(SnapshotDati snapshot) throws SQLException{
 
-        // Creazione di liste per memorizzare i dati delle associazioni Afferenze dal database.
-        ArrayList<String> dipendenti = new ArrayList<>();
-        ArrayList<String> laboratori = new ArrayList<>();
+        // Le afferenze invalide vengono rimosse dal database al termine della lettura, in un'unica scrittura in batch
+        ArrayList<String> matricoleAfferenzeInvalide = new ArrayList<>();
+        ArrayList<String> laboratoriAfferenzeInvalide = new ArrayList<>();
 
-        // Estrae i dati delle associazioni Afferenze dal database.
-        AfferirePostgresDAO afferireDB = new AfferirePostgresDAO();
-        afferireDB.obtainAfferenze(dipendenti, laboratori);
-
-        // Loop attraverso i dati estratti e crea oggetti Afferenza.
-        for (int i = 0; i < dipendenti.size(); i++) {
+        // Crea le associazioni Afferenze a partire dalle afferenze dell'istantanea.
+        snapshot.consumaAfferenze((matricola, nomeLab) -> {
 
             // Ottiene un'istanza di DipendenteIndeterminato e Laboratorio dal nome.
-            dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), dipendenti.get(i));
-            laboratorio = getIstanceFromArrayList(getElencoAllLaboratori(), laboratori.get(i));
+            DipendenteIndeterminato dipendenteIndeterminato = getDipendenteIndeterminato(matricola);
+            Laboratorio laboratorio = getLaboratorio(nomeLab);
 
             // Verifica che il dipendente abbia una data di fine precedente alla data attuale, in tal caso lo rimuove.
             // Infatti, un dipendente in dirittura di licenziamento, mantiene le afferenze, ma non puo' registrarne di nuove.
             if (checkInvalidAfferenza(dipendenteIndeterminato.getMatricola())){
 
-                afferireDB.removeAfferenza(dipendenteIndeterminato.getMatricola(), laboratorio.getNome());
+                matricoleAfferenzeInvalide.add(dipendenteIndeterminato.getMatricola());
+                laboratoriAfferenzeInvalide.add(laboratorio.getNome());
 
             } else {
 
@@ -3272,6 +4454,13 @@ public class Controller {
                 laboratorio.addAfferente(dipendenteIndeterminato);
                 dipendenteIndeterminato.addAfferenzaLaboratorio(laboratorio);
             }
+
+            return true;
+        });
+
+        if (!matricoleAfferenzeInvalide.isEmpty() && isCorrezioniDaRegistrare()) {
+            AfferireDAO afferireDB = fornitoreDAO.getAfferireDAO();
+            afferireDB.removeAfferenze(matricoleAfferenzeInvalide, laboratoriAfferenzeInvalide);
         }
     }
 
@@ -3284,97 +4473,99 @@ public class Controller {
      * */
     public boolean checkInvalidAfferenza(String stringDipendenteIndeterminato){
 
-        boolean test = false;
+        return leggiModello(() -> {
 
-        // Recupera l'istanza del dipendente indeterminato da verificare (deve esistere)
-        dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringDipendenteIndeterminato);
+            boolean test = false;
 
-        if (dipendenteIndeterminato.getDataFineRapporto() != null && dipendenteIndeterminato.getDataFineRapporto().isBefore(LocalDate.now())) {
-                test = true;
-        }
+            // Recupera l'istanza del dipendente indeterminato da verificare (deve esistere)
+            DipendenteIndeterminato dipendenteIndeterminato = getDipendenteIndeterminato(stringDipendenteIndeterminato);
 
-        return test;
+            if (dipendenteIndeterminato.getDataFineRapporto() != null && dipendenteIndeterminato.getDataFineRapporto().isBefore(LocalDate.now())) {
+                    test = true;
+            }
+
+            return test;
+        });
     }
 
     //METODI PER DISPLAY
+    //Le tabelle e gli elenchi delle GUI vengono ricavati dal modello in memoria, senza interrogare il database, tramite "leggiModello".
+    //Fanno eccezione i candidati ai ruoli, selezionati dal database in base alle date specificate e mantenuti nella cache dei candidati.
     /**
-     * Recupera una lista di dati dei dipendenti a tempo indeterminato presenti nel database.
+     * Recupera una lista di dati dei dipendenti a tempo indeterminato presenti nel modello in memoria.
      *
      * @return {@link ArrayList}    Un array di stringhe contenente i dati dei dipendenti indeterminati.
      */
     public String[] recuperaDipendentiIndeterminati() {
-        DipendenteIndeterminatoPostgresDAO dipendenteIndeterminatoPostgresDAO = new DipendenteIndeterminatoPostgresDAO();
-        return stringArrayListToStringArray(dipendenteIndeterminatoPostgresDAO.getDipendentiIndeterminati(), new String[]{"3", "4", "5", "1", "2", "6", "7", "8", "9", "10"});
+        return leggiModello(() -> righeToStringArray(righeDipendentiIndeterminati(), 0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
     }
 
     /**
-     * Recupera una lista abbreviata di dati dei dipendenti a tempo indeterminato presenti nel database.
+     * Recupera una lista abbreviata di dati dei dipendenti a tempo indeterminato presenti nel modello in memoria.
      *
      * @return {@link ArrayList}    Un array di stringhe contenente dati abbreviati dei dipendenti indeterminati.
      */
     public String[] recuperaDipendentiIndeterminatiBreve() {
-        DipendenteIndeterminatoPostgresDAO dipendenteIndeterminatoPostgresDAO = new DipendenteIndeterminatoPostgresDAO();
-        return stringArrayListToStringArray(dipendenteIndeterminatoPostgresDAO.getDipendentiIndeterminati(), new String[]{"1", "3", "4"});
+        return leggiModello(() -> righeToStringArray(righeDipendentiIndeterminati(), 0, 2, 3));
     }
 
     /**
-     * Recupera una lista di dati dei progetti presenti nel database.
+     * Recupera una lista di dati dei progetti presenti nel modello in memoria.
      *
      * @return {@link ArrayList} Un array di stringhe contenente i dati dei progetti.
      */
     public String[] recuperaProgetti() {
-        ProgettoPostgresDAO progettoPostgresDAO = new ProgettoPostgresDAO();
-        return stringArrayListToStringArray(progettoPostgresDAO.getProgetti(), new String[]{"1", "2"});
+        return leggiModello(() -> righeToStringArray(righeProgetti(false), 0, 1));
     }
 
     /**
-     * Recupera una lista di dati dei progetti non terminati presenti nel database.
+     * Recupera una lista di dati dei progetti non terminati presenti nel modello in memoria.
      *
      * @return {@link ArrayList} Un array di stringhe contenente i dati dei progetti.
      */
     public String[] recuperaProgettiNonTerminati() {
-        ProgettoPostgresDAO progettoPostgresDAO = new ProgettoPostgresDAO();
-        return stringArrayListToStringArray(progettoPostgresDAO.getProgettiNonTerminati(), new String[]{"1", "2"});
+        return leggiModello(() -> righeToStringArray(righeProgetti(true), 0, 1));
     }
 
     /**
-     * Recupera una lista di dati dei laboratori presenti nel database.
+     * Recupera una lista di dati dei laboratori presenti nel modello in memoria.
      *
      * @return {@link ArrayList} Un array di stringhe contenente i dati dei laboratori.
      */
     public String[] recuperaLaboratori() {
-        LaboratorioPostgresDAO laboratorioPostgresDAO = new LaboratorioPostgresDAO();
-        return stringArrayListToStringArray(laboratorioPostgresDAO.getLaboratori(), new String[]{"1", "2"});
+        return leggiModello(() -> righeToStringArray(righeLaboratori(elencoAllLaboratori, null), 0, 1));
     }
 
     /**
-     * Recupera una lista di dati dei laboratori lavoranti per un progetto specifico presenti nel databse.
+     * Recupera una lista di dati dei laboratori lavoranti per un progetto specifico presenti nel modello in memoria.
      *
      * @param stringProgetto    {@link String}    I dati del progetto.
      * @return                  {@link ArrayList}  Un array di stringhe contenente i dati dei laboratori lavoranti per il progetto specificato.
      */
     public String[] recuperaLaboratoriLavoranti(String stringProgetto) {
 
-        LaboratorioPostgresDAO laboratorioPostgresDAO = new LaboratorioPostgresDAO();
+        return leggiModello(() -> {
 
-        // Recupera l'istanza del progetto interessato
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
-        return stringArrayListToStringArray(laboratorioPostgresDAO.getLaboratoriLavoranti(progetto.getCup()), new String[]{"1", "2"});
+            // Recupera l'istanza del progetto interessato
+            Progetto progettoLavori = getProgetto(stringProgetto);
+            return righeToStringArray(righeLaboratori(progettoLavori.getLaboratoriLavoranti(), null), 0, 1);
+        });
     }
 
     /**
-     * Recupera una lista di dati dei laboratori candidati ad una istanza di lavoro per un progetto specifico presente nel database.
+     * Recupera una lista di dati dei laboratori candidati ad una istanza di lavoro per un progetto specifico presente nel modello in memoria.
      *
      * @param stringProgetto {@link String}     I dati del progetto.
      * @return               {@link ArrayList}  Un array di stringhe contenente i dati dei laboratori candidati per il progetto specificato.
      */
     public String[] recuperaLaboratoriCandidati(String stringProgetto) {
 
-        LaboratorioPostgresDAO laboratorioPostgresDAO = new LaboratorioPostgresDAO();
+        return leggiModello(() -> {
 
-        // Recupera l'istanza del progetto interessato
-        progetto = getIstanceFromArrayList(getElencoAllProgetti(), stringProgetto);
-        return stringArrayListToStringArray(laboratorioPostgresDAO.getLaboratoriCandidati(progetto.getCup()), new String[]{"1", "2"});
+            // Recupera l'istanza del progetto interessato, i cui laboratori lavoranti non sono candidati
+            Progetto progettoLavori = getProgetto(stringProgetto);
+            return righeToStringArray(righeLaboratori(elencoAllLaboratori, progettoLavori.getLaboratoriLavoranti()), 0, 1);
+        });
     }
 
     /**
@@ -3383,8 +4574,11 @@ public class Controller {
      * @return {@link ArrayList} Un array di stringhe contenente i dati dei dipendenti candidati per il ruolo specifico.
      */
     public String[] recuperaAllDipendentiCandidatiResponsabileScientifico() {
-        DipendenteIndeterminatoPostgresDAO responsabiliScientificiDB = new DipendenteIndeterminatoPostgresDAO();
-        return stringArrayListToStringArray(responsabiliScientificiDB.getAllDipendentiCandidatiResponsabileScientifico(), new String[]{"1", "3", "4"});
+
+        return cacheCandidati.recupera(CacheCandidati.Tipo.RESPONSABILI_SCIENTIFICI, () -> {
+            DipendenteIndeterminatoDAO responsabiliScientificiDB = fornitoreDAO.getDipendenteIndeterminatoDAO();
+            return righeToStringArray(responsabiliScientificiDB.getAllDipendentiCandidatiResponsabileScientifico(), 0, 2, 3);
+        });
     }
 
     /**
@@ -3395,8 +4589,11 @@ public class Controller {
      * @return {@link ArrayList} Un array di stringhe contenente i dati dei dipendenti candidati per il ruolo specifico.
      */
     public String[] recuperaAllDipendentiCandidatiReferenteScientifico(LocalDate dataInizioProgetto, LocalDate dataFineProgetto) {
-        DipendenteIndeterminatoPostgresDAO referentiScientificiDB = new DipendenteIndeterminatoPostgresDAO();
-        return stringArrayListToStringArray(referentiScientificiDB.getAllDipendentiCandidatiReferenteScientifico(dataInizioProgetto, dataFineProgetto), new String[]{"1", "3", "4"});
+
+        return cacheCandidati.recupera(CacheCandidati.Tipo.REFERENTI_SCIENTIFICI, () -> {
+            DipendenteIndeterminatoDAO referentiScientificiDB = fornitoreDAO.getDipendenteIndeterminatoDAO();
+            return righeToStringArray(referentiScientificiDB.getAllDipendentiCandidatiReferenteScientifico(dataInizioProgetto, dataFineProgetto), 0, 2, 3);
+        }, dataInizioProgetto, dataFineProgetto);
     }
 
     /**
@@ -3407,8 +4604,11 @@ public class Controller {
      * @return {@link ArrayList}    Un array di stringhe contenente i dati dei dipendenti candidati per il ruolo specifico.
      */
     public String[] recuperaAllDipendentiCandidatiDirigente(LocalDate dataInizioProgetto, LocalDate dataFineProgetto) {
-        DipendenteIndeterminatoPostgresDAO dirigentiDB = new DipendenteIndeterminatoPostgresDAO();
-        return stringArrayListToStringArray(dirigentiDB.getAllDipendentiCandidatiDirigente(dataInizioProgetto, dataFineProgetto), new String[]{"1", "3", "4"});
+
+        return cacheCandidati.recupera(CacheCandidati.Tipo.DIRIGENTI, () -> {
+            DipendenteIndeterminatoDAO dirigentiDB = fornitoreDAO.getDipendenteIndeterminatoDAO();
+            return righeToStringArray(dirigentiDB.getAllDipendentiCandidatiDirigente(dataInizioProgetto, dataFineProgetto), 0, 2, 3);
+        }, dataInizioProgetto, dataFineProgetto);
     }
 
     /**
@@ -3418,627 +4618,522 @@ public class Controller {
      * @return           {@link ArrayList}  Un array di stringhe contenente i dati dei dipendenti candidati a ruoli specifici.
      */
     public String[] recuperaDipendentiCandidati(String tipoScatto) {
-        DipendenteIndeterminatoPostgresDAO dipendentiCandidatiPostgresDAO = new DipendenteIndeterminatoPostgresDAO();
-        return stringArrayListToStringArray(dipendentiCandidatiPostgresDAO.getDipendentiCandidatiScatto(tipoScatto), new String[]{"1", "3", "4"});
+
+        return cacheCandidati.recupera(CacheCandidati.Tipo.CANDIDATI_SCATTO, () -> {
+            DipendenteIndeterminatoDAO dipendentiCandidatiDAO = fornitoreDAO.getDipendenteIndeterminatoDAO();
+            return righeToStringArray(dipendentiCandidatiDAO.getDipendentiCandidatiScatto(tipoScatto), 0, 2, 3);
+        }, tipoScatto);
+    }
+
+    /**
+     * Restituisce la cache delle interrogazioni sui candidati ai ruoli, per consultarne le statistiche di utilizzo.
+     *
+     * @return {@link CacheCandidati} La cache dei candidati.
+     */
+    public CacheCandidati getCacheCandidati() {
+        return cacheCandidati;
     }
 
     /**
-     * Recupera una matrice di oggetti contenente tutti i dati di tutti i dipendenti indeterminati presenti nel database.
+     * Recupera una matrice di oggetti contenente tutti i dati di tutti i dipendenti indeterminati presenti nel modello in memoria.
      *
      * @return Una matrice di oggetti contenente tutti i dati di tutti i dipendenti indeterminati.
      */
     public Object[][] recuperaObjectDipendentiIndeterminati() {
-        DipendenteIndeterminatoPostgresDAO dipendenteIndeterminatoPostgresDAO = new DipendenteIndeterminatoPostgresDAO();
-        return stringArrayListToObjectMatrix(dipendenteIndeterminatoPostgresDAO.getDipendentiIndeterminati());
+        return leggiModello(() -> righeToObjectMatrix(righeDipendentiIndeterminati()));
     }
 
     /**
-     * Recupera una matrice di oggetti contenente tutti i dati di tutti i dipendenti a progetto presenti nel database.
+     * Recupera una matrice di oggetti contenente tutti i dati di tutti i dipendenti a progetto presenti nel modello in memoria.
      *
      * @return Una matrice di oggetti contenente tutti i dati di tutti i dipendenti a progetto.
      */
     public Object[][] recuperaObjectDipendentiProgetto() {
-        DipendenteProgettoPostgresDAO dipendenteProgettoPostgresDAO = new DipendenteProgettoPostgresDAO();
-        return stringArrayListToObjectMatrix(dipendenteProgettoPostgresDAO.getDipendentiProgetto());
+
+        return leggiModello(() -> {
+
+            ArrayList<RigaDipendenteProgetto> righe = new ArrayList<>();
+
+            if (elencoAllDipendentiProgetto != null) {
+                for (DipendenteProgetto dipendente : elencoAllDipendentiProgetto)
+                    righe.add(rigaDipendenteProgetto(dipendente));
+            }
+
+            return righeToObjectMatrix(righe);
+        });
     }
 
     /**
-     * Recupera una matrice di oggetti contenente tutti i dati di tutte le attrezzature presenti nel database.
+     * Recupera una matrice di oggetti contenente tutti i dati di tutte le attrezzature presenti nel modello in memoria.
      *
      * @return Una matrice di oggetti contenente tutti i dati di tutte le attrezzature.
      */
     public Object[][] recuperaObjectAttrezzature() {
-        AttrezzaturaPostgresDAO attrezzaturaPostgresDAO = new AttrezzaturaPostgresDAO();
-        return stringArrayListToObjectMatrix(attrezzaturaPostgresDAO.getAttrezzature());
-    }
 
-    /**
-     * Recupera una matrice di oggetti contenente tutti i dati di tutti i laboratori presenti nel database.
-     *
-     * @return Una matrice di oggetti contenente tutti i dati di tutti i laboratori.
-     */
-    public Object[][] recuperaObjectLaboratori() {
-        LaboratorioPostgresDAO laboratorioPostgresDAO = new LaboratorioPostgresDAO();
-        return stringArrayListToObjectMatrix(laboratorioPostgresDAO.getLaboratori());
-    }
+        return leggiModello(() -> {
 
-    /**
-     * Recupera una matrice di oggetti contenente tutti i dati di tutti gli scatti di carriera presenti nel database.
-     *
-     * @return Una matrice di oggetti contenente tutti i dati di tutti gli scatti di carriera.
-     */
-    public Object[][] recuperaObjectScatti() {
-        ScattoCarrieraPostgresDAO scattoPostgresDAO = new ScattoCarrieraPostgresDAO();
-        return stringArrayListToObjectMatrix(scattoPostgresDAO.getScattiCarriera());
-    }
+            ArrayList<RigaAttrezzatura> righe = new ArrayList<>();
 
-    /**
-     * Recupera una matrice di oggetti contenente tutti i dati di tutti i progetti presenti nel database.
-     *
-     * @return Una matrice di oggetti contenente tutti i dati di tutti i progetti.
-     */
-    public Object[][] recuperaObjectProgetti() {
-        ProgettoPostgresDAO progettoPostgresDAO = new ProgettoPostgresDAO();
-        return stringArrayListToObjectMatrix(progettoPostgresDAO.getProgetti());
-    }
+            if (elencoAllAttrezzature != null) {
+                for (Attrezzatura attrezzaturaElenco : elencoAllAttrezzature)
+                    righe.add(rigaAttrezzatura(attrezzaturaElenco));
+            }
 
-    /**
-     * Recupera una matrice di oggetti contenente tutti i dati di tutte le istanze di lavoro presenti nel database.
-     *
-     * @return Una matrice di oggetti contenente tutti i dati di tutte le istanze di lavoro.
-     */
-    public Object[][] recuperaObjectLavori() {
-        LavorarePostgresDAO lavorarePostgresDAO = new LavorarePostgresDAO();
-        return stringArrayListToObjectMatrix(lavorarePostgresDAO.getLavorare());
+            return righeToObjectMatrix(righe);
+        });
     }
 
     /**
-     * Recupera una matrice di oggetti contenente tutti i dati di tutte le afferenze presenti nel database.
+     * Recupera una matrice di oggetti contenente tutti i dati di tutti i laboratori presenti nel modello in memoria.
      *
-     * @return Una matrice di oggetti contenente tutti i dati di tutte le afferenze.
+     * @return Una matrice di oggetti contenente tutti i dati di tutti i laboratori.
      */
-    public Object[][] recuperaObjectAfferenze() {
-        AfferirePostgresDAO afferirePostgresDAO = new AfferirePostgresDAO();
-        return stringArrayListToObjectMatrix(afferirePostgresDAO.getAfferenze());
-    }
+    public Object[][] recuperaObjectLaboratori() {
 
-    /**
-     * Converte un ArrayList di stringhe in una matrice di oggetti per l'uso in una JTable, al fine di visualizzarne a video i valori.
-     *
-     * @param rawDatabase {@link ArrayList} ArrayList contenente i dati del database sottoforma di array di stringhe.
-     * @return Una matrice di oggetti contenente i dati del database.
-     */
-    public Object[][] stringArrayListToObjectMatrix(ArrayList<String[]> rawDatabase) {
+        return leggiModello(() -> {
 
-        Object[][] risultato;
+            ArrayList<RiepilogoLaboratorio> righe = new ArrayList<>();
 
-        if (rawDatabase.isEmpty())
-            risultato = null;
-        else {
-            // La prima riga dell'ArrayList contiene il numero di colonne
-            int columnNumber = Integer.parseInt(rawDatabase.get(0)[0]);
-            risultato = new Object[rawDatabase.size()][columnNumber - 1];
-
-            for (int i = 0; i < rawDatabase.size(); i++) {
-                for (int j = 0; j < columnNumber - 1; j++) {
-                    // Ogni elemento dell'ArrayList è una riga di dati, quindi si salta il primo elemento (numero di colonne)
-                    risultato[i][j] = rawDatabase.get(i)[j + 1];
-                }
+            if (elencoAllLaboratori != null) {
+                for (Laboratorio laboratorioElenco : elencoAllLaboratori)
+                    righe.add(riepilogoLaboratorio(laboratorioElenco));
             }
-        }
-        return risultato;
-    }
 
+            return righeToObjectMatrix(righe);
+        });
+    }
 
     /**
-     * Converte una matrice di stringhe in un array di stringhe, concatenando le stringhe di ogni array in un unico array di campi separati dal simbolo "-".
-     * Questo metodo è utilizzato per convertire i dati ottenuti dalle implementazioni DAO in un formato leggibile dalle componenti GUI JComboBox.
+     * Recupera una matrice di oggetti contenente tutti i dati di tutti gli scatti di carriera presenti nel modello in memoria.
      *
-     * @param rawDatabase Matrice di array di stringhe che rappresentano i dati di un dipendente.
-     * @param columns     Array di caratteri che rappresentano la numerazione delle colonne, a partire da 1, del database.
-     *                    Devono essere inseriti in modo tale che persista una relazione di ordine tra i valori numerici.
-     * @return Un array di stringhe, ognuna delle quali contiene tutte le colonne della matrice con i campi separati da un carattere "-".
+     * @return Una matrice di oggetti contenente tutti i dati di tutti gli scatti di carriera.
      */
-    public String[] stringArrayListToStringArray(ArrayList<String[]> rawDatabase, String[] columns) {
-
-        String[] risultato;
-
-        if (rawDatabase.isEmpty()) {
-            // Se la matrice è vuota, restituisci un array di stringa vuoto.
-            risultato = new String[]{""};
-        } else {
-
-            risultato = new String[rawDatabase.size()];
-            int columnNumber = Integer.parseInt(rawDatabase.get(0)[0]); // Numero totale di colonne nei dati del database
-
-            boolean find = false; // Variabile per verificare se la colonna corrente deve essere inclusa nell'output
-
-            for (int i = 0; i < rawDatabase.size(); i++) {
-
-                risultato[i] = ""; // Inizializza l'elemento dell'array risultato per l'indice corrente
+    public Object[][] recuperaObjectScatti() {
 
-                for (int j = 1; j < columnNumber; j++) { // Inizia da 1 poiché il primo elemento contiene il numero di colonne
+        return leggiModello(() -> {
 
-                    for (String string : columns) {
-                        if (string.equals(Integer.toString(j))) {
-                            find = true; // La colonna corrente deve essere inclusa nell'output
-                            break;
-                        }
-                    }
+            ArrayList<RigaScattoCarriera> righe = new ArrayList<>();
 
-                    if (find) {
-                        // Se la colonna corrente deve essere inclusa, aggiungi il suo valore all'elemento corrente dell'array risultato.
-                        if (!(risultato[i].isEmpty())) {
-                            risultato[i] = risultato[i] + " - " + rawDatabase.get(i)[j];
-                        } else {
-                            risultato[i] = rawDatabase.get(i)[j];
-                        }
+            // Gli scatti vengono ricavati dai dipendenti che li hanno effettuati
+            if (elencoAllDipendentiIndeterminati != null) {
+                for (DipendenteIndeterminato dipendente : elencoAllDipendentiIndeterminati) {
+                    if (dipendente.getScattiEffettuati() != null) {
+                        for (ScattoCarriera scatto : dipendente.getScattiEffettuati())
+                            righe.add(rigaScattoCarriera(scatto));
                     }
-
-                    find = false; // Reimposta la variabile di controllo per la prossima colonna
                 }
             }
-        }
 
-        return risultato;
+            return righeToObjectMatrix(righe);
+        });
     }
 
     /**
-     * Verifica l'integrità di tutti gli scatti di carriera, di tipo promozione e rimozione, dei dipendenti a tempo indeterminato che li hanno effettuati, presenti nell'elenco.
-     * Per compiere il controllo, ispeziona la corretta alternanza, a due a due, degli scatti.
+     * Recupera una matrice di oggetti contenente tutti i dati di tutti i progetti presenti nel modello in memoria.
      *
-     * @return True se l'alternanza di scatti è coerente per tutti i dipendenti, altrimenti False.
+     * @return Una matrice di oggetti contenente tutti i dati di tutti i progetti.
      */
-    public boolean verificaIntegritaAllPromozioniRimozioni() {
-
-        boolean integro = true;
-
-        LocalDate dataPromozioneMenoRecente;
-        LocalDate dataRimozioneMenoRecente;
-
-        for (DipendenteIndeterminato dipendenteIndeterminato : getElencoAllDipendentiIndeterminati()) {
-
-            if (integro) {
-
-                if (dipendenteIndeterminato.getScattiEffettuati() != null) {
-
-                    DipendenteIndeterminato dipendenteCopia = new DipendenteIndeterminato(
-                            dipendenteIndeterminato.getNome(),
-                            dipendenteIndeterminato.getCognome(),
-                            dipendenteIndeterminato.getCodFiscale(),
-                            dipendenteIndeterminato.getMatricola(),
-                            dipendenteIndeterminato.getTipoDipendente(),
-                            dipendenteIndeterminato.getIndirizzo(),
-                            dipendenteIndeterminato.getDataNascita(),
-                            dipendenteIndeterminato.getDataAssunzione(),
-                            dipendenteIndeterminato.getDataFineRapporto(),
-                            dipendenteIndeterminato.getDirigente());
-
-                    // Crea una copia dei dati di scatti per il dipendente.
-                    for (ScattoCarriera scattoCarriera : dipendenteIndeterminato.getScattiEffettuati()) {
-
-                        ScattoCarriera copiaScatto = new ScattoCarriera(scattoCarriera.getData(), scattoCarriera.getTipoScatto(), dipendenteCopia);
-
-                        if (scattoCarriera.getTipoScatto().equals(TipoScatto.Promosso_a_dirigente) || scattoCarriera.getTipoScatto().equals(TipoScatto.Rimosso_da_dirigente))
-                            dipendenteCopia.addScattoCarriera(copiaScatto);
-                    }
-
-                    while (dipendenteCopia.getScattiEffettuati() != null && !dipendenteCopia.getScattiEffettuati().isEmpty()) {
-
-                        // Ottieni la data della promozione meno recente e la data della rimozione meno recente.
-                        dataPromozioneMenoRecente = recuperaDataScattoMenoRecente(dipendenteCopia, TipoScatto.Promosso_a_dirigente);
-                        dataRimozioneMenoRecente = recuperaDataScattoMenoRecente(dipendenteCopia, TipoScatto.Rimosso_da_dirigente);
-
-                        if (dataPromozioneMenoRecente == null && dataRimozioneMenoRecente != null) {
-
-                            integro = false;
-                            break;
-
-                        } else if (dataPromozioneMenoRecente != null && dataRimozioneMenoRecente != null && dataRimozioneMenoRecente.isBefore(dataPromozioneMenoRecente)) {
-
-                            integro = false;
-                            break;
+    public Object[][] recuperaObjectProgetti() {
 
-                        } else {
+        return leggiModello(() -> {
 
-                            // Rimuovi gli scatti di carriera già controllati dalla copia.
-                            ScattoCarriera scattoPromozione = new ScattoCarriera(dataPromozioneMenoRecente, TipoScatto.Promosso_a_dirigente, dipendenteCopia);
-                            ScattoCarriera scattoRimozione = new ScattoCarriera(dataRimozioneMenoRecente, TipoScatto.Rimosso_da_dirigente, dipendenteCopia);
+            ArrayList<RiepilogoProgetto> righe = new ArrayList<>();
 
-                            dipendenteCopia.removeScattoCarriera(scattoPromozione);
-                            dipendenteCopia.removeScattoCarriera(scattoRimozione);
-                        }
-                    }
-                }
-            } else break;
-        }
+            if (elencoAllProgetti != null) {
+                for (Progetto progettoElenco : elencoAllProgetti)
+                    righe.add(riepilogoProgetto(progettoElenco));
+            }
 
-        return integro;
+            return righeToObjectMatrix(righe);
+        });
     }
 
     /**
-     * Verifica l'integrità degli scatti di carriera, di tipo promozione e rimozione, per un singolo dipedente a tempo indeterminato, per testare l'aggiunta di uno scatto di questo tipo.
-     * Per compiere il controllo, ispeziona la corretta alternanza, a due a due, degli scatti.
+     * Recupera una matrice di oggetti contenente tutti i dati di tutte le istanze di lavoro presenti nel modello in memoria.
      *
-     * @param tipoScatto       {@link String}   Il tipo di scatto da aggiungere (Promosso_a_dirigente o Rimosso_da_dirigente).
-     * @param stringDipendente {@link String}   I dati del dipendente indeterminato che ha effettuato lo scatto.
-     * @param dataScatto       {@link String}   La data dello scatto da verificare.
-     * @return True se l'integrità è verificata, altrimenti False.
-    */
-    public boolean verificaIntegritaAggiuntaPromozioniRimozioniDipendente(String tipoScatto, String stringDipendente, LocalDate dataScatto) {
-
-        boolean integro = true;
-
-        LocalDate dataPromozioneMenoRecente;
-        LocalDate dataRimozioneMenoRecente;
-
-        dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringDipendente);
-
-        if (integro) {
-
-            if (dipendenteIndeterminato.getScattiEffettuati() != null) {
-
-                DipendenteIndeterminato dipendenteCopia = new DipendenteIndeterminato(
-                        dipendenteIndeterminato.getNome(),
-                        dipendenteIndeterminato.getCognome(),
-                        dipendenteIndeterminato.getCodFiscale(),
-                        dipendenteIndeterminato.getMatricola(),
-                        dipendenteIndeterminato.getTipoDipendente(),
-                        dipendenteIndeterminato.getIndirizzo(),
-                        dipendenteIndeterminato.getDataNascita(),
-                        dipendenteIndeterminato.getDataAssunzione(),
-                        dipendenteIndeterminato.getDataFineRapporto(),
-                        dipendenteIndeterminato.getDirigente());
+     * @return Una matrice di oggetti contenente tutti i dati di tutte le istanze di lavoro.
+     */
+    public Object[][] recuperaObjectLavori() {
 
-                // Crea una copia dei dati di scatti per il dipendente.
-                for (ScattoCarriera scattoCarriera : dipendenteIndeterminato.getScattiEffettuati()) {
+        return leggiModello(() -> {
 
-                    ScattoCarriera copiaScatto = new ScattoCarriera(scattoCarriera.getData(), scattoCarriera.getTipoScatto(), dipendenteCopia);
+            ArrayList<RigaLavoro> righe = new ArrayList<>();
 
-                    if (scattoCarriera.getTipoScatto().equals(TipoScatto.Promosso_a_dirigente) || scattoCarriera.getTipoScatto().equals(TipoScatto.Rimosso_da_dirigente))
-                        dipendenteCopia.addScattoCarriera(copiaScatto);
+            if (elencoAllProgetti != null) {
+                for (Progetto progettoElenco : elencoAllProgetti) {
+                    for (Laboratorio laboratorioLavorante : progettoElenco.getLaboratoriLavoranti())
+                        righe.add(new RigaLavoro(progettoElenco.getCup(), laboratorioLavorante.getNome()));
                 }
+            }
 
-                // Inserisci lo scatto da testare nella copia.
-                scattoCarriera = new ScattoCarriera(dataScatto, TipoScatto.valueOf(tipoScatto), dipendenteCopia);
-                dipendenteCopia.addScattoCarriera(scattoCarriera);
-
-                while (dipendenteCopia.getScattiEffettuati() != null && !dipendenteCopia.getScattiEffettuati().isEmpty()) {
-
-                    // Ottieni la data della promozione meno recente e la data della rimozione meno recente.
-                    dataPromozioneMenoRecente = recuperaDataScattoMenoRecente(dipendenteCopia, TipoScatto.Promosso_a_dirigente);
-                    dataRimozioneMenoRecente = recuperaDataScattoMenoRecente(dipendenteCopia, TipoScatto.Rimosso_da_dirigente);
-
-                    if (dataPromozioneMenoRecente == null && dataRimozioneMenoRecente != null) {
-
-                        integro = false;
-                        break;
-
-                    } else if (dataPromozioneMenoRecente != null && dataRimozioneMenoRecente != null && dataRimozioneMenoRecente.isBefore(dataPromozioneMenoRecente)) {
+            return righeToObjectMatrix(righe);
+        });
+    }
 
-                        integro = false;
-                        break;
+    /**
+     * Recupera una matrice di oggetti contenente tutti i dati di tutte le afferenze presenti nel modello in memoria.
+     *
+     * @return Una matrice di oggetti contenente tutti i dati di tutte le afferenze.
+     */
+    public Object[][] recuperaObjectAfferenze() {
 
-                    } else {
+        return leggiModello(() -> {
 
-                        // Rimuovi gli scatti di carriera già controllati dalla copia.
-                        ScattoCarriera scattoPromozione = new ScattoCarriera(dataPromozioneMenoRecente, TipoScatto.Promosso_a_dirigente, dipendenteCopia);
-                        ScattoCarriera scattoRimozione = new ScattoCarriera(dataRimozioneMenoRecente, TipoScatto.Rimosso_da_dirigente, dipendenteCopia);
+            ArrayList<RigaAfferenza> righe = new ArrayList<>();
 
-                        dipendenteCopia.removeScattoCarriera(scattoPromozione);
-                        dipendenteCopia.removeScattoCarriera(scattoRimozione);
-                    }
+            if (elencoAllLaboratori != null) {
+                for (Laboratorio laboratorioElenco : elencoAllLaboratori) {
+                    for (DipendenteIndeterminato afferente : laboratorioElenco.getAfferenti())
+                        righe.add(new RigaAfferenza(afferente.getMatricola(), laboratorioElenco.getNome()));
                 }
             }
-        }
 
-        return integro;
+            return righeToObjectMatrix(righe);
+        });
     }
 
     /**
-    * Verifica l'integrità degli scatti di carriera, di tipo promozione e rimozione, per un singolo dipedente a tempo indeterminato, per testare la modifica di uno scatto di questo tipo.
-     * Per compiere il controllo, ispeziona la corretta alternanza, a due a due, degli scatti.
+     * Recupera dal modello in memoria i valori di una sola riga di una tabella, nello stesso formato delle righe restituite dai metodi "recuperaObject".
+     * La riga viene ritrovata tramite gli indici per chiave del modello.
      *
-     * @param vecchioTipoScatto         {@link String}      Il tipo di scatto da modificare.
-     * @param stringVecchioDipendente   {@link String}      I dati del dipendente da modificare.
-     * @param vecchiaDataScatto         {@link LocalDate}   La data dello scatto da modificare.
-     * @param tipoScatto                {@link String}      Il nuovo tipo di scatto (Promosso_a_dirigente o Rimosso_da_dirigente).
-     * @param dipendente                {@link String}      I nuovi dati del dipendente.
-     * @param dataScatto                {@link LocalDate}   La nuova data dello scatto da verificare.
-     * @return True se l'integrità è verificata, altrimenti False.
-    */
-    public boolean verificaIntegritaModificaPromozioniRimozioniDipendente(String vecchioTipoScatto, String stringVecchioDipendente, LocalDate vecchiaDataScatto, String tipoScatto, String dipendente, LocalDate dataScatto){
-
-        boolean integro = true;
-
-        LocalDate dataPromozioneMenoRecente;
-        LocalDate dataRimozioneMenoRecente;
+     * @param tabella   {@link Tabella} La tabella a cui appartiene la riga.
+     * @param chiave    {@link List}    La chiave della riga, come indicata da una {@link ModificaRiga}.
+     * @return Un array contenente i valori della riga, oppure null se la riga non e' presente.
+     */
+    public Object[] recuperaRiga(Tabella tabella, List<Object> chiave) {
 
-        dipendenteIndeterminato = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), dipendente);
-        DipendenteIndeterminato vecchioDipendente = getIstanceFromArrayList(getElencoAllDipendentiIndeterminati(), stringVecchioDipendente);
+        return leggiModello(() -> {
 
-        if (dipendenteIndeterminato.getMatricola().equals(vecchioDipendente.getMatricola())){
+            RigaTabella riga = null;
 
-            //quando il dipendente non cambia, si verifica che l'aggiornamento del vecchio scatto di carriera non porti ad una successione di scatti non coerente
+            switch (tabella) {
 
-            if (integro) {
+                case DIPENDENTI_INDETERMINATI: {
+                    DipendenteIndeterminato dipendente = indiceDipendentiIndeterminati.get((String) chiave.get(0));
 
-                if (dipendenteIndeterminato.getScattiEffettuati() != null) {
+                    if (dipendente != null)
+                        riga = rigaDipendenteIndeterminato(dipendente);
+                    break;
+                }
 
-                    DipendenteIndeterminato dipendenteCopia = new DipendenteIndeterminato(
-                            dipendenteIndeterminato.getNome(),
-                            dipendenteIndeterminato.getCognome(),
-                            dipendenteIndeterminato.getCodFiscale(),
-                            dipendenteIndeterminato.getMatricola(),
-                            dipendenteIndeterminato.getTipoDipendente(),
-                            dipendenteIndeterminato.getIndirizzo(),
-                            dipendenteIndeterminato.getDataNascita(),
-                            dipendenteIndeterminato.getDataAssunzione(),
-                            dipendenteIndeterminato.getDataFineRapporto(),
-                            dipendenteIndeterminato.getDirigente());
+                case DIPENDENTI_PROGETTO: {
+                    DipendenteProgetto dipendente = indiceDipendentiProgetto.get((String) chiave.get(0));
 
-                    //crea un altro arraylist con una copia degli elementi, ma con riferimento diverso
-                    for (ScattoCarriera scattoCarriera : dipendenteIndeterminato.getScattiEffettuati()) {
+                    if (dipendente != null)
+                        riga = rigaDipendenteProgetto(dipendente);
+                    break;
+                }
 
-                        ScattoCarriera copiaScatto = new ScattoCarriera(scattoCarriera.getData(), scattoCarriera.getTipoScatto(), dipendenteCopia);
+                case ATTREZZATURE: {
+                    Attrezzatura attrezzaturaIndice = indiceAttrezzature.get((Integer) chiave.get(0));
 
-                        if (scattoCarriera.getTipoScatto().equals(TipoScatto.Promosso_a_dirigente) || scattoCarriera.getTipoScatto().equals(TipoScatto.Rimosso_da_dirigente))
-                            dipendenteCopia.addScattoCarriera(copiaScatto);
-                    }
+                    if (attrezzaturaIndice != null)
+                        riga = rigaAttrezzatura(attrezzaturaIndice);
+                    break;
+                }
 
+                case LABORATORI: {
+                    Laboratorio laboratorioIndice = indiceLaboratori.get((String) chiave.get(0));
 
-                    //cerca l'istanza del vecchio scatto carriera (non utilizzabile il metodo statico getIstanceFromArrayList(...) poiche' uno scatto e' identificato contemporaneamente dalla data, dalla matricola del dipendente e dal tipo dello scatto)
-                    if (dipendenteCopia.getScattiEffettuati() != null) {
-                        for (ScattoCarriera vecchioScatto : dipendenteCopia.getScattiEffettuati()) {
+                    if (laboratorioIndice != null)
+                        riga = riepilogoLaboratorio(laboratorioIndice);
+                    break;
+                }
 
-                            if (vecchioScatto.getTipoScatto().equals(TipoScatto.valueOf(vecchioTipoScatto)) &&
-                                    vecchioScatto.getData().equals(vecchiaDataScatto)) {
+                case SCATTI_CARRIERA: {
+                    DipendenteIndeterminato dipendente = indiceDipendentiIndeterminati.get((String) chiave.get(0));
 
-                                vecchioScatto.setTipoScatto(TipoScatto.valueOf(tipoScatto));
-                                vecchioScatto.setData(dataScatto);
-                                break;
-                            }
+                    if (dipendente != null && dipendente.getScattiEffettuati() != null) {
+                        for (ScattoCarriera scatto : dipendente.getScattiEffettuati()) {
+                            if (scatto.getTipoScatto().toString().equals(chiave.get(1)) && scatto.getData().equals(chiave.get(2)))
+                                riga = rigaScattoCarriera(scatto);
                         }
                     }
+                    break;
+                }
 
-                    while (dipendenteCopia.getScattiEffettuati() != null && !dipendenteCopia.getScattiEffettuati().isEmpty()) {
-
-                        dataPromozioneMenoRecente = recuperaDataScattoMenoRecente(dipendenteCopia, TipoScatto.Promosso_a_dirigente);
-                        dataRimozioneMenoRecente = recuperaDataScattoMenoRecente(dipendenteCopia, TipoScatto.Rimosso_da_dirigente);
-
-                        if (dataPromozioneMenoRecente == null && dataRimozioneMenoRecente != null) {
-
-                            integro = false;
-                            break;
+                case PROGETTI: {
+                    Progetto progettoIndice = indiceProgetti.get((String) chiave.get(0));
 
-                        } else if (dataPromozioneMenoRecente != null && dataRimozioneMenoRecente != null && dataRimozioneMenoRecente.isBefore(dataPromozioneMenoRecente)) {
+                    if (progettoIndice != null)
+                        riga = riepilogoProgetto(progettoIndice);
+                    break;
+                }
 
-                            integro = false;
-                            break;
+                case LAVORI: {
+                    Progetto progettoIndice = indiceProgetti.get((String) chiave.get(0));
 
-                        } else {
+                    if (progettoIndice != null) {
+                        for (Laboratorio laboratorioLavorante : progettoIndice.getLaboratoriLavoranti()) {
+                            if (laboratorioLavorante.getNome().equals(chiave.get(1)))
+                                riga = new RigaLavoro(progettoIndice.getCup(), laboratorioLavorante.getNome());
+                        }
+                    }
+                    break;
+                }
 
-                            //prima elimina dall'arrayList copia gli scatti gia' controllati
-                            ScattoCarriera scattoPromozione = new ScattoCarriera(dataPromozioneMenoRecente, TipoScatto.Promosso_a_dirigente, dipendenteCopia);
-                            ScattoCarriera scattoRimozione = new ScattoCarriera(dataRimozioneMenoRecente, TipoScatto.Rimosso_da_dirigente, dipendenteCopia);
+                case AFFERENZE: {
+                    Laboratorio laboratorioIndice = indiceLaboratori.get((String) chiave.get(1));
 
-                            dipendenteCopia.removeScattoCarriera(scattoPromozione);
-                            dipendenteCopia.removeScattoCarriera(scattoRimozione);
+                    if (laboratorioIndice != null) {
+                        for (DipendenteIndeterminato afferente : laboratorioIndice.getAfferenti()) {
+                            if (afferente.getMatricola().equals(chiave.get(0)))
+                                riga = new RigaAfferenza(afferente.getMatricola(), laboratorioIndice.getNome());
                         }
                     }
+                    break;
                 }
             }
 
-        } else {
-
-            //altrimenti, quando il dipendente associato allo scatto cambia, si verificano:
-            //1) Se viene rimosso lo scatto del vecchio dipendente, allora la successione degli scatti resti coerente
-            //2) Se viene inserito lo scatto al nuovo dipendente, allora la successione degli scatti resti coerente
+            return riga == null ? null : riga.valori();
+        });
+    }
 
-            //caso 1: rimozione scatto al vecchio dipendente
-            if (integro) {
+    //Ricava le righe di tutti i dipendenti a tempo indeterminato in memoria
+    private ArrayList<RigaDipendenteIndeterminato> righeDipendentiIndeterminati() {
 
-                if (vecchioDipendente.getScattiEffettuati() != null) {
+        ArrayList<RigaDipendenteIndeterminato> righe = new ArrayList<>();
 
-                    DipendenteIndeterminato dipendenteCopia = new DipendenteIndeterminato(
-                            vecchioDipendente.getNome(),
-                            vecchioDipendente.getCognome(),
-                            vecchioDipendente.getCodFiscale(),
-                            vecchioDipendente.getMatricola(),
-                            vecchioDipendente.getTipoDipendente(),
-                            vecchioDipendente.getIndirizzo(),
-                            vecchioDipendente.getDataNascita(),
-                            vecchioDipendente.getDataAssunzione(),
-                            vecchioDipendente.getDataFineRapporto(),
-                            vecchioDipendente.getDirigente());
+        if (elencoAllDipendentiIndeterminati != null) {
+            for (DipendenteIndeterminato dipendente : elencoAllDipendentiIndeterminati)
+                righe.add(rigaDipendenteIndeterminato(dipendente));
+        }
 
-                    //crea un altro arraylist con una copia degli elementi, ma con riferimento diverso
-                    for (ScattoCarriera scattoCarriera : vecchioDipendente.getScattiEffettuati()) {
+        return righe;
+    }
 
-                        ScattoCarriera copiaScatto = new ScattoCarriera(scattoCarriera.getData(), scattoCarriera.getTipoScatto(), dipendenteCopia);
+    //Ricava le righe dei progetti in memoria, eventualmente solo di quelli non terminati alla data odierna
+    private ArrayList<RigaProgetto> righeProgetti(boolean soloNonTerminati) {
 
-                        if (scattoCarriera.getTipoScatto().equals(TipoScatto.Promosso_a_dirigente) || scattoCarriera.getTipoScatto().equals(TipoScatto.Rimosso_da_dirigente))
-                            dipendenteCopia.addScattoCarriera(copiaScatto);
-                    }
+        ArrayList<RigaProgetto> righe = new ArrayList<>();
+        LocalDate oggi = LocalDate.now();
 
+        if (elencoAllProgetti != null) {
+            for (Progetto progettoElenco : elencoAllProgetti) {
+                if (!soloNonTerminati || progettoElenco.getDataFine() == null || !progettoElenco.getDataFine().isBefore(oggi))
+                    righe.add(new RigaProgetto(progettoElenco.getCup(), progettoElenco.getNome(), progettoElenco.getDataInizio(), progettoElenco.getDataFine(),
+                            progettoElenco.getBudget(), matricola(progettoElenco.getReferenteScientifico()), matricola(progettoElenco.getResponsabile())));
+            }
+        }
 
-                    //cerca l'istanza del vecchio scatto carriera (non utilizzabile il metodo statico getIstanceFromArrayList(...) poiche' uno scatto e' identificato contemporaneamente dalla data, dalla matricola del dipendente e dal tipo dello scatto)
-                    if (dipendenteCopia.getScattiEffettuati() != null) {
-                        for (ScattoCarriera vecchioScatto : dipendenteCopia.getScattiEffettuati()) {
+        return righe;
+    }
 
-                            if (vecchioScatto.getTipoScatto().equals(TipoScatto.valueOf(vecchioTipoScatto)) &&
-                                    vecchioScatto.getData().equals(vecchiaDataScatto)) {
+    //Ricava le righe dei laboratori dell'elenco specificato, escludendo eventualmente quelli dell'elenco degli esclusi
+    private ArrayList<RigaLaboratorio> righeLaboratori(List<Laboratorio> laboratori, List<Laboratorio> esclusi) {
 
-                                //viene rimosso lo scatto
-                                dipendenteCopia.removeScattoCarriera(vecchioScatto);
-                                break;
-                            }
-                        }
-                    }
+        ArrayList<RigaLaboratorio> righe = new ArrayList<>();
 
-                    //si verifica la coerenza
-                    while (dipendenteCopia.getScattiEffettuati() != null && !dipendenteCopia.getScattiEffettuati().isEmpty()) {
+        if (laboratori != null) {
+            for (Laboratorio laboratorioElenco : laboratori) {
+                if (esclusi == null || !esclusi.contains(laboratorioElenco))
+                    righe.add(new RigaLaboratorio(laboratorioElenco.getNome(), laboratorioElenco.getTopic(), matricola(laboratorioElenco.getResponsabileScientifico())));
+            }
+        }
 
-                        dataPromozioneMenoRecente = recuperaDataScattoMenoRecente(dipendenteCopia, TipoScatto.Promosso_a_dirigente);
-                        dataRimozioneMenoRecente = recuperaDataScattoMenoRecente(dipendenteCopia, TipoScatto.Rimosso_da_dirigente);
+        return righe;
+    }
 
-                        if (dataPromozioneMenoRecente == null && dataRimozioneMenoRecente != null) {
+    //Ricava la riga della tabella dei dipendenti a tempo indeterminato dal dipendente in memoria
+    private static RigaDipendenteIndeterminato rigaDipendenteIndeterminato(DipendenteIndeterminato dipendente) {
+        return new RigaDipendenteIndeterminato(dipendente.getMatricola(), dipendente.getTipoDipendente().toString(), dipendente.getNome(),
+                dipendente.getCognome(), dipendente.getCodFiscale(), dipendente.getIndirizzo(), dipendente.getDataNascita(),
+                dipendente.getDataAssunzione(), dipendente.getDataFineRapporto(), dipendente.getDirigente());
+    }
 
-                            integro = false;
-                            break;
+    //Ricava la riga della tabella dei dipendenti a progetto dal dipendente in memoria
+    private static RigaDipendenteProgetto rigaDipendenteProgetto(DipendenteProgetto dipendente) {
 
-                        } else if (dataPromozioneMenoRecente != null && dataRimozioneMenoRecente != null && dataRimozioneMenoRecente.isBefore(dataPromozioneMenoRecente)) {
+        Progetto progettoProprietario = dipendente.getProgettoProprietario();
 
-                            integro = false;
-                            break;
+        return new RigaDipendenteProgetto(dipendente.getMatricola(), dipendente.getNome(), dipendente.getCognome(), dipendente.getCodFiscale(),
+                dipendente.getIndirizzo(), dipendente.getDataNascita(), dipendente.getDataAssunzione(), dipendente.getCosto(), dipendente.getScadenza(),
+                progettoProprietario == null ? null : progettoProprietario.getCup());
+    }
 
-                        } else {
+    //Ricava la riga della tabella delle attrezzature dall'attrezzatura in memoria
+    private static RigaAttrezzatura rigaAttrezzatura(Attrezzatura attrezzatura) {
 
-                            //prima elimina dall'arrayList copia gli scatti gia' controllati
-                            ScattoCarriera scattoPromozione = new ScattoCarriera(dataPromozioneMenoRecente, TipoScatto.Promosso_a_dirigente, dipendenteCopia);
-                            ScattoCarriera scattoRimozione = new ScattoCarriera(dataRimozioneMenoRecente, TipoScatto.Rimosso_da_dirigente, dipendenteCopia);
+        Laboratorio laboratorioPossedente = attrezzatura.getLaboratorioPossedente();
+        Progetto progettoProprietario = attrezzatura.getProgettoProprietario();
 
-                            dipendenteCopia.removeScattoCarriera(scattoPromozione);
-                            dipendenteCopia.removeScattoCarriera(scattoRimozione);
-                        }
-                    }
-                }
-            }
+        return new RigaAttrezzatura(attrezzatura.getIdAttrezzatura(), attrezzatura.getDescrizione(), attrezzatura.getCosto(),
+                laboratorioPossedente == null ? null : laboratorioPossedente.getNome(),
+                progettoProprietario == null ? null : progettoProprietario.getCup());
+    }
 
-            //caso 2: aggiunta scatto al nuovo dipendente
-            if (integro) {
+    //Ricava la riga della tabella degli scatti di carriera dallo scatto in memoria
+    private static RigaScattoCarriera rigaScattoCarriera(ScattoCarriera scatto) {
+        return new RigaScattoCarriera(scatto.getDipendente().getMatricola(), scatto.getTipoScatto().toString(), scatto.getData());
+    }
 
-                if (dipendenteIndeterminato.getScattiEffettuati() != null) {
+    //Ricava il riepilogo del laboratorio in memoria, con il numero dei suoi afferenti
+    private static RiepilogoLaboratorio riepilogoLaboratorio(Laboratorio laboratorio) {
+        return new RiepilogoLaboratorio(laboratorio.getNome(), laboratorio.getTopic(), matricola(laboratorio.getResponsabileScientifico()),
+                laboratorio.getAfferenti().size());
+    }
 
-                    DipendenteIndeterminato dipendenteCopia = new DipendenteIndeterminato(
-                            dipendenteIndeterminato.getNome(),
-                            dipendenteIndeterminato.getCognome(),
-                            dipendenteIndeterminato.getCodFiscale(),
-                            dipendenteIndeterminato.getMatricola(),
-                            dipendenteIndeterminato.getTipoDipendente(),
-                            dipendenteIndeterminato.getIndirizzo(),
-                            dipendenteIndeterminato.getDataNascita(),
-                            dipendenteIndeterminato.getDataAssunzione(),
-                            dipendenteIndeterminato.getDataFineRapporto(),
-                            dipendenteIndeterminato.getDirigente());
+    //Ricava il riepilogo del progetto in memoria, con i costi totali delle sue attrezzature e dei suoi dipendenti a progetto
+    private static RiepilogoProgetto riepilogoProgetto(Progetto progetto) {
 
-                    //crea un altro arraylist con una copia degli elementi, ma con riferimento diverso
-                    for (ScattoCarriera scattoCarriera : dipendenteIndeterminato.getScattiEffettuati()) {
+        // I costi totali sono mantenuti dal progetto: come nel database, sono assenti se il progetto non ha attrezzature o dipendenti
+        BigDecimal costoAttrezzature = progetto.getAttrezzature() == null || progetto.getAttrezzature().isEmpty() ? null : progetto.getCostoTotaleAttrezzature();
+        BigDecimal costoDipendenti = progetto.getDipendentiIngaggiati() == null || progetto.getDipendentiIngaggiati().isEmpty() ? null : progetto.getCostoTotaleContratti();
 
-                        ScattoCarriera copiaScatto = new ScattoCarriera(scattoCarriera.getData(), scattoCarriera.getTipoScatto(), dipendenteCopia);
+        return new RiepilogoProgetto(progetto.getCup(), progetto.getNome(), progetto.getDataInizio(), progetto.getDataFine(), progetto.getBudget(),
+                matricola(progetto.getReferenteScientifico()), matricola(progetto.getResponsabile()), costoAttrezzature, costoDipendenti);
+    }
 
-                        if (scattoCarriera.getTipoScatto().equals(TipoScatto.Promosso_a_dirigente) || scattoCarriera.getTipoScatto().equals(TipoScatto.Rimosso_da_dirigente))
-                            dipendenteCopia.addScattoCarriera(copiaScatto);
-                    }
+    //Restituisce la matricola del dipendente, oppure null se il dipendente non e' presente
+    private static String matricola(Dipendente dipendente) {
+        return dipendente == null ? null : dipendente.getMatricola();
+    }
 
+    /**
+     * Converte una lista di righe tipizzate in una matrice di oggetti per l'uso in una JTable, al fine di visualizzarne a video i valori.
+     * I valori mantengono il loro tipo (date, importi, flag), nell'ordine delle colonne della tabella.
+     *
+     * @param righe {@link ArrayList} Lista delle righe ottenute dalle implementazioni DAO.
+     * @return Una matrice di oggetti contenente i dati del database, oppure null se la lista e' vuota.
+     */
+    public Object[][] righeToObjectMatrix(ArrayList<? extends RigaTabella> righe) {
 
-                    //cerca l'istanza del vecchio scatto carriera (non utilizzabile il metodo statico getIstanceFromArrayList(...) poiche' uno scatto e' identificato contemporaneamente dalla data, dalla matricola del dipendente e dal tipo dello scatto)
-                    if (dipendenteCopia.getScattiEffettuati() != null) {
-                        for (ScattoCarriera vecchioScatto : dipendenteCopia.getScattiEffettuati()) {
+        Object[][] risultato;
 
-                            if (vecchioScatto.getTipoScatto().equals(TipoScatto.valueOf(vecchioTipoScatto)) &&
-                                    vecchioScatto.getData().equals(vecchiaDataScatto)) {
+        if (righe.isEmpty())
+            risultato = null;
+        else {
+            risultato = new Object[righe.size()][];
 
-                                //viene aggiunto lo scatto
-                                dipendenteCopia.getScattiEffettuati().add(vecchioScatto);
-                                break;
-                            }
-                        }
-                    }
+            for (int i = 0; i < righe.size(); i++)
+                risultato[i] = righe.get(i).valori();
+        }
+        return risultato;
+    }
 
-                    //si verifica la coerenza
-                    while (dipendenteCopia.getScattiEffettuati() != null && !dipendenteCopia.getScattiEffettuati().isEmpty()) {
 
-                        dataPromozioneMenoRecente = recuperaDataScattoMenoRecente(dipendenteCopia, TipoScatto.Promosso_a_dirigente);
-                        dataRimozioneMenoRecente = recuperaDataScattoMenoRecente(dipendenteCopia, TipoScatto.Rimosso_da_dirigente);
+    /**
+     * Converte una lista di righe tipizzate in un array di stringhe, concatenando i valori delle colonne selezionate di ogni riga in un unico campo separato dal simbolo "-".
+     * Questo metodo è utilizzato per convertire i dati ottenuti dalle implementazioni DAO in un formato leggibile dalle componenti GUI JComboBox.
+     *
+     * @param righe     {@link ArrayList} Lista delle righe ottenute dalle implementazioni DAO.
+     * @param colonne   Gli indici delle colonne da includere, a partire da 0, nell'ordine in cui devono comparire.
+     * @return Un array di stringhe, ognuna delle quali contiene le colonne selezionate di una riga con i campi separati da un carattere "-".
+     */
+    public String[] righeToStringArray(ArrayList<? extends RigaTabella> righe, int... colonne) {
 
-                        if (dataPromozioneMenoRecente == null && dataRimozioneMenoRecente != null) {
+        String[] risultato;
 
-                            integro = false;
-                            break;
+        if (righe.isEmpty()) {
+            // Se la lista è vuota, restituisci un array di stringa vuoto.
+            risultato = new String[]{""};
+        } else {
 
-                        } else if (dataPromozioneMenoRecente != null && dataRimozioneMenoRecente != null && dataRimozioneMenoRecente.isBefore(dataPromozioneMenoRecente)) {
+            risultato = new String[righe.size()];
 
-                            integro = false;
-                            break;
+            for (int i = 0; i < righe.size(); i++) {
 
-                        } else {
+                Object[] valori = righe.get(i).valori();
+                StringBuilder riga = new StringBuilder();
 
-                            //prima elimina dall'arrayList copia gli scatti gia' controllati
-                            ScattoCarriera scattoPromozione = new ScattoCarriera(dataPromozioneMenoRecente, TipoScatto.Promosso_a_dirigente, dipendenteCopia);
-                            ScattoCarriera scattoRimozione = new ScattoCarriera(dataRimozioneMenoRecente, TipoScatto.Rimosso_da_dirigente, dipendenteCopia);
+                for (int colonna : colonne) {
+                    if (riga.length() > 0)
+                        riga.append(" - ");
 
-                            dipendenteCopia.removeScattoCarriera(scattoPromozione);
-                            dipendenteCopia.removeScattoCarriera(scattoRimozione);
-                        }
-                    }
+                    riga.append(valori[colonna]);
                 }
+
+                risultato[i] = riga.toString();
             }
         }
 
-        return integro;
+        return risultato;
     }
 
     /**
-    * Restituisce la data del tipo di scatto dirigenziale meno recente per il dipendente indeterminato specificato.
+     * Verifica l'integrità di tutti gli scatti di carriera, di tipo promozione e rimozione, dei dipendenti a tempo indeterminato che li hanno effettuati, presenti nell'elenco.
+     * Per compiere il controllo, ispeziona la corretta alternanza, a due a due, degli scatti.
      *
-     * @param dipendenteIndeterminato {@link DipendenteIndeterminato}   Il dipendente indeterminato.
-     * @param tipoScatto              {@link TipoScatto}                Il tipo di scatto da cercare (Promosso_a_dirigente o Rimosso_da_dirigente).
-     * @return                        {@link LocalDate}                 La data del tipo di scatto meno recente, o null se non trovato.
-    */
-    public LocalDate recuperaDataScattoMenoRecente(DipendenteIndeterminato dipendenteIndeterminato, TipoScatto tipoScatto) {
-
-        LocalDate dataMenoRecente = null;
-        LocalDate dataCorrente;
-        boolean scattoIniziale = true;
-
-        if (tipoScatto.equals(TipoScatto.Promosso_a_dirigente) && dipendenteIndeterminato.getScattiEffettuati() != null && !dipendenteIndeterminato.getScattiEffettuati().isEmpty()) {
-
-            for (ScattoCarriera scattoCarriera : dipendenteIndeterminato.getScattiEffettuati()) {
-
-                if (scattoCarriera.getTipoScatto().equals(TipoScatto.Promosso_a_dirigente)) {
-
-                    dataCorrente = scattoCarriera.getData();
+     * @return True se l'alternanza di scatti è coerente per tutti i dipendenti, altrimenti False.
+     */
+    public boolean verificaIntegritaAllPromozioniRimozioni() {
 
-                    if (scattoIniziale) {
+        return leggiModello(() -> {
 
-                        dataMenoRecente = dataCorrente;
-                        scattoIniziale = false;
+            // La coerenza dell'alternanza e' mantenuta dalla cronologia di ogni dipendente ad ogni aggiunta o rimozione di uno scatto
+            for (DipendenteIndeterminato dipendenteIndeterminato : getElencoAllDipendentiIndeterminati()) {
 
-                    } else {
+                if (!dipendenteIndeterminato.getCronologiaScatti().isDirigenzaCoerente())
+                    return false;
+            }
 
-                        if (dataMenoRecente.isAfter(dataCorrente))
-                            dataMenoRecente = dataCorrente;
+            return true;
+        });
+    }
 
-                    }
-                }
-            }
+    /**
+     * Verifica l'integrità degli scatti di carriera, di tipo promozione e rimozione, per un singolo dipedente a tempo indeterminato, per testare l'aggiunta di uno scatto di questo tipo.
+     * Per compiere il controllo, ispeziona la corretta alternanza, a due a due, degli scatti.
+     *
+     * @param tipoScatto       {@link String}   Il tipo di scatto da aggiungere (Promosso_a_dirigente o Rimosso_da_dirigente).
+     * @param stringDipendente {@link String}   I dati del dipendente indeterminato che ha effettuato lo scatto.
+     * @param dataScatto       {@link String}   La data dello scatto da verificare.
+     * @return True se l'integrità è verificata, altrimenti False.
+    */
+    public boolean verificaIntegritaAggiuntaPromozioniRimozioniDipendente(String tipoScatto, String stringDipendente, LocalDate dataScatto) {
 
-        } else if (tipoScatto.equals(TipoScatto.Rimosso_da_dirigente) && dipendenteIndeterminato.getScattiEffettuati() != null && !dipendenteIndeterminato.getScattiEffettuati().isEmpty()) {
+        return leggiModello(() -> {
 
-            for (ScattoCarriera scattoCarriera : dipendenteIndeterminato.getScattiEffettuati()) {
+            DipendenteIndeterminato dipendenteIndeterminato = getDipendenteIndeterminato(stringDipendente);
 
-                if (scattoCarriera.getTipoScatto().equals(TipoScatto.Rimosso_da_dirigente)) {
+            // La cronologia ricontrolla solo le coppie di scatti successive alla posizione del nuovo scatto
+            return dipendenteIndeterminato.getCronologiaScatti().verificaAggiunta(TipoScatto.valueOf(tipoScatto), dataScatto);
+        });
+    }
 
-                    dataCorrente = scattoCarriera.getData();
+    /**
+    * Verifica l'integrità degli scatti di carriera, di tipo promozione e rimozione, per un singolo dipedente a tempo indeterminato, per testare la modifica di uno scatto di questo tipo.
+     * Per compiere il controllo, ispeziona la corretta alternanza, a due a due, degli scatti.
+     *
+     * @param vecchioTipoScatto         {@link String}      Il tipo di scatto da modificare.
+     * @param stringVecchioDipendente   {@link String}      I dati del dipendente da modificare.
+     * @param vecchiaDataScatto         {@link LocalDate}   La data dello scatto da modificare.
+     * @param tipoScatto                {@link String}      Il nuovo tipo di scatto (Promosso_a_dirigente o Rimosso_da_dirigente).
+     * @param dipendente                {@link String}      I nuovi dati del dipendente.
+     * @param dataScatto                {@link LocalDate}   La nuova data dello scatto da verificare.
+     * @return True se l'integrità è verificata, altrimenti False.
+    */
+    public boolean verificaIntegritaModificaPromozioniRimozioniDipendente(String vecchioTipoScatto, String stringVecchioDipendente, LocalDate vecchiaDataScatto, String tipoScatto, String dipendente, LocalDate dataScatto){
 
-                    if (scattoIniziale) {
+        return leggiModello(() -> {
 
-                        dataMenoRecente = dataCorrente;
-                        scattoIniziale = false;
+            DipendenteIndeterminato dipendenteIndeterminato = getDipendenteIndeterminato(dipendente);
+            DipendenteIndeterminato vecchioDipendente = getDipendenteIndeterminato(stringVecchioDipendente);
 
-                    } else {
+            //quando il dipendente non cambia, si verifica che la sostituzione del vecchio scatto di carriera con il nuovo non porti ad una successione di scatti non coerente
+            if (dipendenteIndeterminato.getMatricola().equals(vecchioDipendente.getMatricola()))
+                return dipendenteIndeterminato.getCronologiaScatti().verificaSostituzione(TipoScatto.valueOf(vecchioTipoScatto), vecchiaDataScatto, TipoScatto.valueOf(tipoScatto), dataScatto);
 
-                        if (dataMenoRecente.isAfter(dataCorrente))
-                            dataMenoRecente = dataCorrente;
+            //altrimenti, si verificano sia la rimozione dello scatto dal vecchio dipendente, sia l'aggiunta del nuovo scatto al nuovo dipendente
+            return vecchioDipendente.getCronologiaScatti().verificaRimozione(TipoScatto.valueOf(vecchioTipoScatto), vecchiaDataScatto)
+                    && dipendenteIndeterminato.getCronologiaScatti().verificaAggiunta(TipoScatto.valueOf(tipoScatto), dataScatto);
+        });
+    }
 
-                    }
-                }
+    /**
+    * Restituisce la data del tipo di scatto dirigenziale meno recente per il dipendente indeterminato specificato.
+     *
+     * @param dipendenteIndeterminato {@link DipendenteIndeterminato}   Il dipendente indeterminato.
+     * @param tipoScatto              {@link TipoScatto}                Il tipo di scatto da cercare (Promosso_a_dirigente o Rimosso_da_dirigente).
+     * @return                        {@link LocalDate}                 La data del tipo di scatto meno recente, o null se non trovato.
+    */
+    public LocalDate recuperaDataScattoMenoRecente(DipendenteIndeterminato dipendenteIndeterminato, TipoScatto tipoScatto) {
 
-            }
-        }
+        if (!tipoScatto.equals(TipoScatto.Promosso_a_dirigente) && !tipoScatto.equals(TipoScatto.Rimosso_da_dirigente))
+            return null;
 
-        return dataMenoRecente;
+        // La cronologia mantiene le date ordinate: la meno recente e' la prima
+        return dipendenteIndeterminato.getCronologiaScatti().getPrimo(tipoScatto);
     }
 
     // METODI ELENCHI
@@ -4049,6 +5144,14 @@ public class Controller {
     * */
     public void setElencoAllDipendentiIndeterminati(ArrayList<DipendenteIndeterminato> elencoAllDipendentiIndeterminati) {
         this.elencoAllDipendentiIndeterminati = elencoAllDipendentiIndeterminati;
+
+        indiceDipendentiIndeterminati.clear();
+        indiceCodFiscaleIndeterminati.clear();
+
+        if (elencoAllDipendentiIndeterminati != null) {
+            for (DipendenteIndeterminato dipendente : elencoAllDipendentiIndeterminati)
+                indicizzaDipendenteIndeterminato(dipendente);
+        }
     }
 
     /**
@@ -4057,6 +5160,14 @@ public class Controller {
     * */
     public void setElencoAllDipendentiProgetto(ArrayList<DipendenteProgetto> elencoAllDipendentiProgetto){
         this.elencoAllDipendentiProgetto = elencoAllDipendentiProgetto;
+
+        indiceDipendentiProgetto.clear();
+        indiceCodFiscaleProgetto.clear();
+
+        if (elencoAllDipendentiProgetto != null) {
+            for (DipendenteProgetto dipendente : elencoAllDipendentiProgetto)
+                indicizzaDipendenteProgetto(dipendente);
+        }
     }
 
     /**
@@ -4073,6 +5184,13 @@ public class Controller {
     */
     public void setElencoAllLaboratori(ArrayList<Laboratorio> elencoAllLaboratori){
         this.elencoAllLaboratori = elencoAllLaboratori;
+
+        indiceLaboratori.clear();
+
+        if (elencoAllLaboratori != null) {
+            for (Laboratorio laboratorio : elencoAllLaboratori)
+                indiceLaboratori.putIfAbsent(laboratorio.getNome(), laboratorio);
+        }
     }
 
     /**
@@ -4081,6 +5199,13 @@ public class Controller {
     */
     public void setElencoAllAttrezzature(ArrayList<Attrezzatura> elencoAllAttrezzature){
         this.elencoAllAttrezzature = elencoAllAttrezzature;
+
+        indiceAttrezzature.clear();
+
+        if (elencoAllAttrezzature != null) {
+            for (Attrezzatura attrezzatura : elencoAllAttrezzature)
+                indiceAttrezzature.putIfAbsent(attrezzatura.getIdAttrezzatura(), attrezzatura);
+        }
     }
 
     /**
@@ -4089,6 +5214,13 @@ public class Controller {
     */
     public void setElencoAllProgetti(ArrayList<Progetto> elencoAllProgetti){
         this.elencoAllProgetti = elencoAllProgetti;
+
+        indiceProgetti.clear();
+
+        if (elencoAllProgetti != null) {
+            for (Progetto progetto : elencoAllProgetti)
+                indiceProgetti.putIfAbsent(progetto.getCup(), progetto);
+        }
     }
 
     //GETTERS
@@ -4156,8 +5288,9 @@ public class Controller {
         if (elencoAllDipendentiIndeterminati == null)
             elencoAllDipendentiIndeterminati = new ArrayList<>();
 
-        if (!elencoAllDipendentiIndeterminati.contains(dipendenteIndeterminato)) {
-            elencoAllDipendentiIndeterminati.add(dipendenteIndeterminato);
+        if (!presenteInIndice(indiceDipendentiIndeterminati, dipendenteIndeterminato.getMatricola(), dipendenteIndeterminato)) {
+            aggiungiAdElenco(elencoAllDipendentiIndeterminati, dipendenteIndeterminato);
+            indicizzaDipendenteIndeterminato(dipendenteIndeterminato);
             test = true;
         }
 
@@ -4177,8 +5310,9 @@ public class Controller {
         if (elencoAllDipendentiProgetto == null)
             elencoAllDipendentiProgetto = new ArrayList<>();
 
-        if (!elencoAllDipendentiProgetto.contains(dipendenteProgetto)) {
-            elencoAllDipendentiProgetto.add(dipendenteProgetto);
+        if (!presenteInIndice(indiceDipendentiProgetto, dipendenteProgetto.getMatricola(), dipendenteProgetto)) {
+            aggiungiAdElenco(elencoAllDipendentiProgetto, dipendenteProgetto);
+            indicizzaDipendenteProgetto(dipendenteProgetto);
             test = true;
         }
 
@@ -4199,7 +5333,7 @@ public class Controller {
             elencoAllScattiCarriera = new ArrayList<>();
 
         if (!elencoAllScattiCarriera.contains(scattoCarriera)) {
-            elencoAllScattiCarriera.add(scattoCarriera);
+            aggiungiAdElenco(elencoAllScattiCarriera, scattoCarriera);
             test = true;
         }
 
@@ -4219,8 +5353,9 @@ public class Controller {
         if (elencoAllLaboratori == null)
             elencoAllLaboratori = new ArrayList<>();
 
-        if (!elencoAllLaboratori.contains(laboratorio)) {
-            elencoAllLaboratori.add(laboratorio);
+        if (!presenteInIndice(indiceLaboratori, laboratorio.getNome(), laboratorio)) {
+            aggiungiAdElenco(elencoAllLaboratori, laboratorio);
+            aggiungiAdIndice(indiceLaboratori, laboratorio.getNome(), laboratorio);
             test = true;
         }
 
@@ -4241,7 +5376,8 @@ public class Controller {
             elencoAllAttrezzature = new ArrayList<>();
 
         if (!elencoAllAttrezzature.contains(attrezzatura)) {
-            elencoAllAttrezzature.add(attrezzatura);
+            aggiungiAdElenco(elencoAllAttrezzature, attrezzatura);
+            aggiungiAdIndice(indiceAttrezzature, attrezzatura.getIdAttrezzatura(), attrezzatura);
             test = true;
         }
 
@@ -4261,8 +5397,9 @@ public class Controller {
         if (elencoAllProgetti == null)
             elencoAllProgetti = new ArrayList<>();
 
-        if (!elencoAllProgetti.contains(progetto)) {
-            elencoAllProgetti.add(progetto);
+        if (!presenteInIndice(indiceProgetti, progetto.getCup(), progetto)) {
+            aggiungiAdElenco(elencoAllProgetti, progetto);
+            aggiungiAdIndice(indiceProgetti, progetto.getCup(), progetto);
             test = true;
         }
 
@@ -4277,17 +5414,22 @@ public class Controller {
      */
     public void updateDatiAnagraficiDipendenteIndeterminatoInElenco(String vecchioCodFiscale, DipendenteIndeterminato nuovoDipendente){
 
-        for (int i = 0; i < elencoAllDipendentiIndeterminati.size(); i++) {
+        // Ricava tutti i contratti del dipendente dall'indice dei codici fiscali, invece di scandire l'intero elenco
+        salvaContratti(indiceCodFiscaleIndeterminati, vecchioCodFiscale);
+        ArrayList<DipendenteIndeterminato> contratti = indiceCodFiscaleIndeterminati.remove(vecchioCodFiscale);
 
-            if (vecchioCodFiscale.equals(elencoAllDipendentiIndeterminati.get(i).getCodFiscale())) {
-                //aggiorna tutti i campi del vecchio dipendente con i dati del nuovo
-                elencoAllDipendentiIndeterminati.get(i).setNome(nuovoDipendente.getNome());
-                elencoAllDipendentiIndeterminati.get(i).setCognome(nuovoDipendente.getCognome());
-                elencoAllDipendentiIndeterminati.get(i).setCodFiscale(nuovoDipendente.getCodFiscale());
-                elencoAllDipendentiIndeterminati.get(i).setDataNascita(nuovoDipendente.getDataNascita());
+        if (contratti == null)
+            return;
 
-                //non viene inserito il break; poiche aggiorna i dati anagrafici di ogni contratto del dipendente.
-            }
+        for (DipendenteIndeterminato contratto : contratti) {
+            //aggiorna tutti i campi del vecchio dipendente con i dati del nuovo
+            contratto.setNome(nuovoDipendente.getNome());
+            contratto.setCognome(nuovoDipendente.getCognome());
+            contratto.setCodFiscale(nuovoDipendente.getCodFiscale());
+            contratto.setDataNascita(nuovoDipendente.getDataNascita());
+
+            //non viene inserito il break; poiche aggiorna i dati anagrafici di ogni contratto del dipendente.
+            aggiungiContratto(indiceCodFiscaleIndeterminati, contratto.getCodFiscale(), contratto);
         }
     }
 
@@ -4300,15 +5442,9 @@ public class Controller {
 
         String matricola = dipendenteIndeterminato.getMatricola();
 
-        if (dipendenteIndeterminato.getScattiEffettuati() != null) {
-
-            for (int i = 0; i < elencoAllScattiCarriera.size(); i++) {
-
-                if (elencoAllScattiCarriera.get(i).getDipendente().getMatricola().equals(matricola)) {
-                    elencoAllScattiCarriera.remove(i);
-                }
-            }
-        }
+        // Gli scatti vengono rimossi senza saltare quelli consecutivi dello stesso dipendente
+        if (dipendenteIndeterminato.getScattiEffettuati() != null && elencoAllScattiCarriera != null)
+            rimuoviTuttiDaElenco(elencoAllScattiCarriera, scatto -> scatto.getDipendente().getMatricola().equals(matricola));
     }
 
     /**
@@ -4321,17 +5457,181 @@ public class Controller {
         String matricola = dipendenteIndeterminato.getMatricola();
         ArrayList<ScattoCarriera> scattiDipendente = dipendenteIndeterminato.getScattiEffettuati();
 
-        if (dipendenteIndeterminato.getScattiEffettuati() != null){
+        if (scattiDipendente != null){
 
-            for (int i = 0; i < scattiDipendente.size(); i++) {
+            //rimuovo gli scatti dall'associazione
+            dipendenteIndeterminato.removeScattiCarriera(tipoScatto);
 
-                if (scattiDipendente.get(i).getTipoScatto().equals(tipoScatto)){
-                    //rimuovo lo scatto dall'associazione
-                    scattiDipendente.remove(i);
-                    //rimuovo lo scatto dall'elenco
-                    elencoAllScattiCarriera.remove(i);
-                }
+            //rimuovo gli stessi scatti dall'elenco, e non quelli nella stessa posizione dell'associazione
+            if (elencoAllScattiCarriera != null)
+                rimuoviTuttiDaElenco(elencoAllScattiCarriera, scatto -> scatto.getDipendente().getMatricola().equals(matricola) && scatto.getTipoScatto().equals(tipoScatto));
+        }
+    }
+
+    // METODI INDICI
+    //Aggiunge il dipendente a tempo indeterminato agli indici per matricola e per codice fiscale
+    private void indicizzaDipendenteIndeterminato(DipendenteIndeterminato dipendente) {
+        aggiungiAdIndice(indiceDipendentiIndeterminati, dipendente.getMatricola(), dipendente);
+        aggiungiContratto(indiceCodFiscaleIndeterminati, dipendente.getCodFiscale(), dipendente);
+    }
+
+    //Aggiunge il dipendente a progetto agli indici per matricola e per codice fiscale
+    private void indicizzaDipendenteProgetto(DipendenteProgetto dipendente) {
+        aggiungiAdIndice(indiceDipendentiProgetto, dipendente.getMatricola(), dipendente);
+        aggiungiContratto(indiceCodFiscaleProgetto, dipendente.getCodFiscale(), dipendente);
+    }
+
+    //Verifica se l'indice contiene, con la chiave specificata, un'istanza uguale a quella specificata
+    private static <T> boolean presenteInIndice(HashMap<String, T> indice, String chiave, T istanza) {
+
+        T presente = indice.get(chiave);
+
+        return presente != null && presente.equals(istanza);
+    }
+
+    //Sposta l'istanza dalla vecchia alla nuova chiave dell'indice, dopo la modifica del suo identificativo
+    private static <T> void reindicizza(HashMap<String, T> indice, String vecchiaChiave, String nuovaChiave, T istanza) {
+
+        if (indice.get(vecchiaChiave) == istanza) {
+            salvaVoceIndice(indice, vecchiaChiave);
+            indice.remove(vecchiaChiave);
+        }
+
+        aggiungiAdIndice(indice, nuovaChiave, istanza);
+    }
+
+    //Aggiunge un contratto all'elenco dei contratti della persona con il codice fiscale specificato
+    private static <T> void aggiungiContratto(HashMap<String, ArrayList<T>> indice, String codFiscale, T contratto) {
+        salvaContratti(indice, codFiscale);
+        indice.computeIfAbsent(codFiscale, chiave -> new ArrayList<>()).add(contratto);
+    }
+
+    //Rimuove un contratto dall'elenco dei contratti della persona con il codice fiscale specificato
+    private static <T> void rimuoviContratto(HashMap<String, ArrayList<T>> indice, String codFiscale, T contratto) {
+
+        ArrayList<T> contratti = indice.get(codFiscale);
+
+        if (contratti != null) {
+            salvaContratti(indice, codFiscale);
+            contratti.removeIf(corrente -> corrente == contratto);
+
+            if (contratti.isEmpty())
+                indice.remove(codFiscale);
+        }
+    }
+
+    // METODI ANNULLAMENTO
+    // Le modifiche agli elenchi e agli indici effettuate durante un'azione registrano il proprio annullamento nel registro dell'azione,
+    // mentre fuori da un'azione (letture del database e modifiche notificate) vengono solo applicate
+
+    //Aggiunge un'istanza in coda all'elenco, registrandone la rimozione
+    private static <T> void aggiungiAdElenco(ArrayList<T> elenco, T istanza) {
+
+        elenco.add(istanza);
+
+        if (RegistroAnnullamenti.isAttivo())
+            RegistroAnnullamenti.registra(() -> elenco.remove(elenco.size() - 1));
+    }
+
+    //Rimuove un'istanza dall'elenco, registrandone il reinserimento nella stessa posizione
+    private static <T> void rimuoviDaElenco(ArrayList<T> elenco, T istanza) {
+
+        int posizione = elenco.indexOf(istanza);
+
+        if (posizione < 0)
+            return;
+
+        T rimossa = elenco.remove(posizione);
+
+        if (RegistroAnnullamenti.isAttivo())
+            RegistroAnnullamenti.registra(() -> elenco.add(posizione, rimossa));
+    }
+
+    //Rimuove dall'elenco tutte le istanze che soddisfano il filtro, registrandone il reinserimento nelle stesse posizioni
+    private static <T> void rimuoviTuttiDaElenco(ArrayList<T> elenco, Predicate<T> filtro) {
+
+        if (!RegistroAnnullamenti.isAttivo()) {
+            elenco.removeIf(filtro);
+            return;
+        }
+
+        ArrayList<Integer> posizioni = new ArrayList<>();
+        ArrayList<T> rimosse = new ArrayList<>();
+
+        for (int i = 0; i < elenco.size(); i++) {
+            if (filtro.test(elenco.get(i))) {
+                posizioni.add(i);
+                rimosse.add(elenco.get(i));
             }
         }
+
+        if (rimosse.isEmpty())
+            return;
+
+        elenco.removeIf(filtro);
+
+        // Reinserendo le istanze per posizione crescente, ognuna torna nella posizione originale
+        RegistroAnnullamenti.registra(() -> {
+            for (int i = 0; i < rimosse.size(); i++)
+                elenco.add(posizioni.get(i), rimosse.get(i));
+        });
+    }
+
+    //Aggiunge un'istanza all'indice, se la chiave non e' gia' presente, registrando il ripristino della voce
+    private static <K, T> void aggiungiAdIndice(HashMap<K, T> indice, K chiave, T istanza) {
+        salvaVoceIndice(indice, chiave);
+        indice.putIfAbsent(chiave, istanza);
+    }
+
+    //Rimuove dall'indice la voce con la chiave e l'istanza specificate, registrandone il ripristino
+    private static <K, T> void rimuoviDaIndice(HashMap<K, T> indice, K chiave, T istanza) {
+        salvaVoceIndice(indice, chiave);
+        indice.remove(chiave, istanza);
+    }
+
+    //Registra il ripristino della voce corrente dell'indice con la chiave specificata, prima della sua modifica
+    private static <K, T> void salvaVoceIndice(HashMap<K, T> indice, K chiave) {
+
+        if (!RegistroAnnullamenti.isAttivo())
+            return;
+
+        T istanza = indice.get(chiave);
+
+        RegistroAnnullamenti.registra(() -> {
+            if (istanza != null)
+                indice.put(chiave, istanza);
+            else
+                indice.remove(chiave);
+        });
+    }
+
+    //Registra il ripristino dei contratti correnti della persona con il codice fiscale specificato, prima della loro modifica
+    private static <T> void salvaContratti(HashMap<String, ArrayList<T>> indice, String codFiscale) {
+
+        if (!RegistroAnnullamenti.isAttivo())
+            return;
+
+        ArrayList<T> contratti = indice.get(codFiscale);
+        ArrayList<T> contenuto = contratti != null ? new ArrayList<>(contratti) : null;
+
+        RegistroAnnullamenti.registra(() -> {
+            if (contratti != null) {
+                contratti.clear();
+                contratti.addAll(contenuto);
+                indice.put(codFiscale, contratti);
+            } else {
+                indice.remove(codFiscale);
+            }
+        });
+    }
+
+    //Restituisce i contratti a tempo indeterminato della persona con il codice fiscale specificato
+    private ArrayList<DipendenteIndeterminato> getContrattiIndeterminati(String codFiscale) {
+        return indiceCodFiscaleIndeterminati.getOrDefault(codFiscale, new ArrayList<>());
+    }
+
+    //Restituisce i contratti a progetto della persona con il codice fiscale specificato
+    private ArrayList<DipendenteProgetto> getContrattiProgetto(String codFiscale) {
+        return indiceCodFiscaleProgetto.getOrDefault(codFiscale, new ArrayList<>());
     }
 }
@@ -0,0 +1,104 @@
+package Controller;
+
+import java.util.List;
+
+/**
+ * Una modifica ad una riga di una tabella del database, confermata da un'azione dell'utente e notificata agli {@link AscoltatoreModifiche}.
+ *
+ * La modifica indica solo la chiave della riga interessata: chi la riceve recupera i valori aggiornati della riga tramite
+ * {@link Controller#recuperaRiga(Tabella, List)}, in modo che il costo dell'aggiornamento dipenda dal numero di righe modificate
+ * e non dalla dimensione della tabella. Le modifiche che interessano un numero indefinito di righe (es. gli scatti di carriera
+ * ricalcolati di un dipendente) vengono notificate come ricaricamento dell'intera tabella.
+ *
+ * @param tabella       {@link Tabella} La tabella modificata.
+ * @param tipo          {@link Tipo}    Il tipo di modifica.
+ * @param chiave        {@link List}    La chiave della riga prima della modifica, null per gli inserimenti e i ricaricamenti.
+ * @param nuovaChiave   {@link List}    La chiave della riga dopo la modifica, null per le eliminazioni e i ricaricamenti.
+ */
+public record ModificaRiga(Tabella tabella, Tipo tipo, List<Object> chiave, List<Object> nuovaChiave) {
+
+    /**
+     * I tipi di modifica di una riga.
+     */
+    public enum Tipo {
+        INSERIMENTO,
+        MODIFICA,
+        ELIMINAZIONE,
+        RICARICAMENTO
+    }
+
+    /**
+     * Crea la modifica che inserisce una nuova riga.
+     *
+     * @param tabella   {@link Tabella} La tabella modificata.
+     * @param chiave                    I valori della chiave della riga inserita.
+     * @return {@link ModificaRiga} La modifica.
+     */
+    static ModificaRiga inserimento(Tabella tabella, Object... chiave) {
+        return new ModificaRiga(tabella, Tipo.INSERIMENTO, null, List.of(chiave));
+    }
+
+    /**
+     * Crea la modifica che aggiorna i valori di una riga, senza cambiarne la chiave.
+     *
+     * @param tabella   {@link Tabella} La tabella modificata.
+     * @param chiave                    I valori della chiave della riga aggiornata.
+     * @return {@link ModificaRiga} La modifica.
+     */
+    static ModificaRiga aggiornamento(Tabella tabella, Object... chiave) {
+        return new ModificaRiga(tabella, Tipo.MODIFICA, List.of(chiave), List.of(chiave));
+    }
+
+    /**
+     * Crea la modifica che aggiorna i valori di una riga, compresi eventualmente quelli della chiave.
+     *
+     * @param tabella       {@link Tabella} La tabella modificata.
+     * @param chiave        {@link List}    La chiave della riga prima della modifica.
+     * @param nuovaChiave   {@link List}    La chiave della riga dopo la modifica.
+     * @return {@link ModificaRiga} La modifica.
+     */
+    static ModificaRiga modifica(Tabella tabella, List<?> chiave, List<?> nuovaChiave) {
+        return new ModificaRiga(tabella, Tipo.MODIFICA, List.copyOf(chiave), List.copyOf(nuovaChiave));
+    }
+
+    /**
+     * Crea la modifica di una riga a partire dalle sue chiavi prima e dopo la modifica: la modifica e' un inserimento
+     * se la riga non era presente, ed un'eliminazione se la riga non e' piu' presente.
+     *
+     * @param tabella       {@link Tabella} La tabella modificata.
+     * @param chiave        {@link List}    La chiave della riga prima della modifica, null se la riga e' stata inserita.
+     * @param nuovaChiave   {@link List}    La chiave della riga dopo la modifica, null se la riga e' stata eliminata.
+     * @return {@link ModificaRiga} La modifica.
+     */
+    static ModificaRiga traChiavi(Tabella tabella, List<?> chiave, List<?> nuovaChiave) {
+
+        if (chiave == null)
+            return new ModificaRiga(tabella, Tipo.INSERIMENTO, null, List.copyOf(nuovaChiave));
+
+        if (nuovaChiave == null)
+            return new ModificaRiga(tabella, Tipo.ELIMINAZIONE, List.copyOf(chiave), null);
+
+        return modifica(tabella, chiave, nuovaChiave);
+    }
+
+    /**
+     * Crea la modifica che elimina una riga.
+     *
+     * @param tabella   {@link Tabella} La tabella modificata.
+     * @param chiave                    I valori della chiave della riga eliminata.
+     * @return {@link ModificaRiga} La modifica.
+     */
+    static ModificaRiga eliminazione(Tabella tabella, Object... chiave) {
+        return new ModificaRiga(tabella, Tipo.ELIMINAZIONE, List.of(chiave), null);
+    }
+
+    /**
+     * Crea la modifica che richiede il ricaricamento dell'intera tabella.
+     *
+     * @param tabella   {@link Tabella} La tabella modificata.
+     * @return {@link ModificaRiga} La modifica.
+     */
+    static ModificaRiga ricaricamento(Tabella tabella) {
+        return new ModificaRiga(tabella, Tipo.RICARICAMENTO, null, null);
+    }
+}
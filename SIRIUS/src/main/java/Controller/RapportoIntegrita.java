@@ -0,0 +1,97 @@
+package Controller;
+
+import java.util.ArrayList;
+
+/**
+ * Rapporto delle incoerenze rilevate nei dati letti dal database all'avvio.
+ *
+ * A differenza delle verifiche eseguite durante l'inserimento, che si fermano alla prima incoerenza, il rapporto
+ * raccoglie tutte le violazioni di una lettura, indicando per ognuna la tabella, la riga ed il vincolo violato.
+ */
+public class RapportoIntegrita {
+
+    /**
+     * Una violazione di un vincolo di integrita' da parte di una riga letta dal database.
+     *
+     * @param tabella       {@link String}  La tabella a cui appartiene la riga.
+     * @param riga          {@link String}  L'identificativo della riga (es. la matricola o il CUP).
+     * @param descrizione   {@link String}  La descrizione del vincolo violato.
+     */
+    public record Violazione(String tabella, String riga, String descrizione) {
+
+        @Override
+        public String toString() {
+            return String.format("%s %s: %s", tabella, riga, descrizione);
+        }
+    }
+
+    private final ArrayList<Violazione> violazioni = new ArrayList<>();
+
+
+    //METODI
+    /**
+     * Registra una violazione nel rapporto.
+     *
+     * @param tabella       {@link String}  La tabella a cui appartiene la riga.
+     * @param riga          {@link String}  L'identificativo della riga.
+     * @param descrizione   {@link String}  La descrizione del vincolo violato.
+     */
+    void aggiungi(String tabella, String riga, String descrizione) {
+        violazioni.add(new Violazione(tabella, riga, descrizione));
+    }
+
+    /**
+     * Verifica che non sia stata registrata alcuna violazione.
+     *
+     * @return True se i dati letti sono integri, false altrimenti.
+     */
+    public boolean isIntegro() {
+        return violazioni.isEmpty();
+    }
+
+    /**
+     * Conta le violazioni registrate per la tabella specificata.
+     *
+     * @param tabella {@link String} La tabella di cui contare le violazioni.
+     * @return Il numero di violazioni della tabella.
+     */
+    public int contaViolazioni(String tabella) {
+
+        int conteggio = 0;
+
+        for (Violazione violazione : violazioni) {
+            if (violazione.tabella().equals(tabella))
+                conteggio++;
+        }
+
+        return conteggio;
+    }
+
+    /**
+     * Recupera tutte le violazioni registrate, nell'ordine in cui sono state rilevate.
+     *
+     * @return {@link ArrayList<Violazione>} Le violazioni registrate.
+     */
+    public ArrayList<Violazione> getViolazioni() {
+        return new ArrayList<>(violazioni);
+    }
+
+    /**
+     * Descrive le violazioni registrate, una per riga, fino al numero massimo specificato.
+     *
+     * @param massimo Il numero massimo di violazioni da descrivere.
+     * @return {@link String} La descrizione delle violazioni, vuota se i dati sono integri.
+     */
+    public String descrivi(int massimo) {
+
+        StringBuilder descrizione = new StringBuilder();
+
+        for (int i = 0; i < violazioni.size() && i < massimo; i++)
+            descrizione.append(violazioni.get(i)).append(System.lineSeparator());
+
+        if (violazioni.size() > massimo)
+            descrizione.append(String.format("... e altre %d violazioni", violazioni.size() - massimo));
+
+        return descrizione.toString();
+    }
+}
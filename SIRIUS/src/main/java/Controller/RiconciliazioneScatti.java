@@ -0,0 +1,131 @@
+package Controller;
+
+import DAO.DipendenteIndeterminatoDAO;
+import DAO.FornitoreDAO;
+import DAO.ScattoCarrieraDAO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+/**
+ * Raccoglie le scritture sul database necessarie a correggere gli scatti di carriera letti all'avvio,
+ * in modo da inviarle con poche scritture in batch invece che con una scrittura per ogni dipendente.
+ *
+ * Le scritture vengono eseguite per tipo, nell'ordine: rimozione degli scatti incoerenti, inserimento degli scatti
+ * corretti, aggiornamento dei tipi dei dipendenti e aggiornamento degli stati dirigenziali. Poiche' le scritture di
+ * dipendenti diversi sono indipendenti tra loro, il risultato e' lo stesso dell'esecuzione dipendente per dipendente.
+ */
+class RiconciliazioneScatti {
+
+    private final FornitoreDAO fornitoreDAO;
+
+    private final ArrayList<String> tipiScattiDaRimuovere = new ArrayList<>();
+    private final ArrayList<String> matricoleScattiDaRimuovere = new ArrayList<>();
+
+    private final ArrayList<String> tipiScattiDaAggiungere = new ArrayList<>();
+    private final ArrayList<String> matricoleScattiDaAggiungere = new ArrayList<>();
+    private final ArrayList<LocalDate> dateScattiDaAggiungere = new ArrayList<>();
+
+    private final ArrayList<String> matricoleTipoDaAggiornare = new ArrayList<>();
+    private final ArrayList<String> tipiDipendenteDaAggiornare = new ArrayList<>();
+
+    private final ArrayList<String> matricoleDirigenteDaAggiornare = new ArrayList<>();
+    private final ArrayList<Boolean> statiDirigenteDaAggiornare = new ArrayList<>();
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore della riconciliazione.
+     *
+     * @param fornitoreDAO {@link FornitoreDAO} Il fornitore dei DAO con cui eseguire le scritture.
+     */
+    RiconciliazioneScatti(FornitoreDAO fornitoreDAO) {
+        this.fornitoreDAO = fornitoreDAO;
+    }
+
+
+    //METODI
+    /**
+     * Accoda la rimozione di tutti gli scatti di carriera di un tipo di un dipendente.
+     *
+     * @param tipoScatto    {@link String}  Il tipo di scatto da rimuovere.
+     * @param matricola     {@link String}  La matricola del dipendente.
+     */
+    void rimuoviScatti(String tipoScatto, String matricola) {
+        tipiScattiDaRimuovere.add(tipoScatto);
+        matricoleScattiDaRimuovere.add(matricola);
+    }
+
+    /**
+     * Accoda l'inserimento di uno scatto di carriera.
+     *
+     * @param tipoScatto    {@link String}      Il tipo di scatto da inserire.
+     * @param matricola     {@link String}      La matricola del dipendente che ha effettuato lo scatto.
+     * @param data          {@link LocalDate}   La data dello scatto.
+     */
+    void aggiungiScatto(String tipoScatto, String matricola, LocalDate data) {
+        tipiScattiDaAggiungere.add(tipoScatto);
+        matricoleScattiDaAggiungere.add(matricola);
+        dateScattiDaAggiungere.add(data);
+    }
+
+    /**
+     * Accoda l'aggiornamento del tipo di un dipendente.
+     *
+     * @param matricola         {@link String}  La matricola del dipendente.
+     * @param tipoDipendente    {@link String}  Il nuovo tipo del dipendente.
+     */
+    void aggiornaTipoDipendente(String matricola, String tipoDipendente) {
+        matricoleTipoDaAggiornare.add(matricola);
+        tipiDipendenteDaAggiornare.add(tipoDipendente);
+    }
+
+    /**
+     * Accoda l'aggiornamento dello stato dirigenziale di un dipendente.
+     *
+     * @param matricola     {@link String}  La matricola del dipendente.
+     * @param dirigente     Il nuovo stato dirigenziale.
+     */
+    void aggiornaStatoDirigente(String matricola, boolean dirigente) {
+        matricoleDirigenteDaAggiornare.add(matricola);
+        statiDirigenteDaAggiornare.add(dirigente);
+    }
+
+    /**
+     * Esegue in batch tutte le scritture accodate e svuota le code.
+     */
+    void esegui() {
+
+        if (!matricoleScattiDaRimuovere.isEmpty() || !matricoleScattiDaAggiungere.isEmpty()) {
+
+            ScattoCarrieraDAO scattoCarrieraDB = fornitoreDAO.getScattoCarrieraDAO();
+
+            if (!matricoleScattiDaRimuovere.isEmpty())
+                scattoCarrieraDB.removeScattiCarriera(tipiScattiDaRimuovere, matricoleScattiDaRimuovere);
+
+            if (!matricoleScattiDaAggiungere.isEmpty())
+                scattoCarrieraDB.addScattiCarriera(tipiScattiDaAggiungere, matricoleScattiDaAggiungere, dateScattiDaAggiungere);
+        }
+
+        if (!matricoleTipoDaAggiornare.isEmpty() || !matricoleDirigenteDaAggiornare.isEmpty()) {
+
+            DipendenteIndeterminatoDAO dipendenteIndeterminatoDB = fornitoreDAO.getDipendenteIndeterminatoDAO();
+
+            if (!matricoleTipoDaAggiornare.isEmpty())
+                dipendenteIndeterminatoDB.updateTipiDipendente(matricoleTipoDaAggiornare, tipiDipendenteDaAggiornare);
+
+            if (!matricoleDirigenteDaAggiornare.isEmpty())
+                dipendenteIndeterminatoDB.updateStatiDirigente(matricoleDirigenteDaAggiornare, statiDirigenteDaAggiornare);
+        }
+
+        tipiScattiDaRimuovere.clear();
+        matricoleScattiDaRimuovere.clear();
+        tipiScattiDaAggiungere.clear();
+        matricoleScattiDaAggiungere.clear();
+        dateScattiDaAggiungere.clear();
+        matricoleTipoDaAggiornare.clear();
+        tipiDipendenteDaAggiornare.clear();
+        matricoleDirigenteDaAggiornare.clear();
+        statiDirigenteDaAggiornare.clear();
+    }
+}
@@ -0,0 +1,104 @@
+package Controller;
+
+import DAO.FornitoreDAO;
+import DAO.RigaAttrezzatura;
+import DAO.RigaDipendenteIndeterminato;
+import DAO.RigaDipendenteProgetto;
+import Database.NotificaModifica;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Raccoglie le righe del database necessarie ad applicare al modello in memoria un gruppo di modifiche notificate dagli altri client.
+ *
+ * Le righe vengono lette prima di acquisire il lock del modello, in modo che le azioni dell'utente non attendano
+ * una lettura dal database per ogni modifica notificata. Ogni riga viene letta una sola volta per gruppo, anche se
+ * notificata piu' volte; una riga assente dal database viene riportata come null, e il modello deve allora essere riletto.
+ */
+class RigheNotificate {
+
+    private final HashMap<String, RigaDipendenteIndeterminato> dipendentiIndeterminati = new HashMap<>();
+    private final HashMap<String, RigaDipendenteProgetto> dipendentiProgetto = new HashMap<>();
+    private final HashMap<Integer, RigaAttrezzatura> attrezzature = new HashMap<>();
+
+
+    //COSTRUTTORE
+    private RigheNotificate() {}
+
+
+    //METODI
+    /**
+     * Legge dal database le righe inserite o aggiornate dalle modifiche notificate, per le tabelle le cui modifiche
+     * vengono applicate rileggendone la riga: dipendenti a tempo indeterminato, dipendenti a progetto e attrezzature.
+     *
+     * @param notifiche     {@link List}            Le modifiche notificate.
+     * @param fornitoreDAO  {@link FornitoreDAO}    Il fornitore dei DAO con cui leggere le righe.
+     * @return {@link RigheNotificate}  Le righe lette.
+     */
+    static RigheNotificate leggi(List<NotificaModifica> notifiche, FornitoreDAO fornitoreDAO) {
+
+        RigheNotificate righe = new RigheNotificate();
+
+        for (NotificaModifica notifica : notifiche) {
+
+            // Le eliminazioni non hanno righe da leggere
+            if (notifica.nuovaChiave() == null)
+                continue;
+
+            String chiave = notifica.nuovaChiave().get(0);
+
+            switch (notifica.tabella()) {
+                case "dip_indeterminato":
+                    // I cambi di matricola non vengono applicati, e richiedono comunque la rilettura del modello
+                    if (notifica.chiave() != null && !notifica.chiave().equals(notifica.nuovaChiave()))
+                        break;
+
+                    if (!righe.dipendentiIndeterminati.containsKey(chiave))
+                        righe.dipendentiIndeterminati.put(chiave, fornitoreDAO.getDipendenteIndeterminatoDAO().getDipendenteIndeterminato(chiave));
+                    break;
+
+                case "dip_progetto":
+                    if (!righe.dipendentiProgetto.containsKey(chiave))
+                        righe.dipendentiProgetto.put(chiave, fornitoreDAO.getDipendenteProgettoDAO().getDipendenteProgetto(chiave));
+                    break;
+
+                case "attrezzatura":
+                    Integer idAttrezzatura = Integer.valueOf(chiave);
+
+                    if (!righe.attrezzature.containsKey(idAttrezzatura))
+                        righe.attrezzature.put(idAttrezzatura, fornitoreDAO.getAttrezzaturaDAO().getAttrezzatura(idAttrezzatura));
+                    break;
+
+                default:
+                    break;
+            }
+        }
+
+        return righe;
+    }
+
+    /**
+     * @param matricola {@link String}  La matricola del dipendente notificato.
+     * @return {@link RigaDipendenteIndeterminato}  La riga letta, oppure null se non e' presente nel database o non e' stata letta.
+     */
+    RigaDipendenteIndeterminato getDipendenteIndeterminato(String matricola) {
+        return dipendentiIndeterminati.get(matricola);
+    }
+
+    /**
+     * @param matricola {@link String}  La matricola del dipendente notificato.
+     * @return {@link RigaDipendenteProgetto}   La riga letta, oppure null se non e' presente nel database o non e' stata letta.
+     */
+    RigaDipendenteProgetto getDipendenteProgetto(String matricola) {
+        return dipendentiProgetto.get(matricola);
+    }
+
+    /**
+     * @param idAttrezzatura    L'identificativo dell'attrezzatura notificata.
+     * @return {@link RigaAttrezzatura} La riga letta, oppure null se non e' presente nel database o non e' stata letta.
+     */
+    RigaAttrezzatura getAttrezzatura(int idAttrezzatura) {
+        return attrezzature.get(idAttrezzatura);
+    }
+}
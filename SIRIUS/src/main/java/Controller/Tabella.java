@@ -0,0 +1,47 @@
+package Controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Le tabelle del database visualizzate nelle aree, con le colonne che identificano ogni loro riga.
+ *
+ * Le colonne della chiave si riferiscono all'ordine delle colonne delle matrici restituite dal controller
+ * (es. {@link Controller#recuperaObjectAfferenze()}), e permettono di ritrovare la riga interessata da una {@link ModificaRiga}.
+ */
+public enum Tabella {
+
+    DIPENDENTI_INDETERMINATI(0),
+    DIPENDENTI_PROGETTO(0),
+    ATTREZZATURE(0),
+    LABORATORI(0),
+    SCATTI_CARRIERA(0, 1, 2),
+    PROGETTI(0),
+    LAVORI(0, 1),
+    AFFERENZE(0, 1);
+
+    private final int[] colonneChiave;
+
+    //COSTRUTTORE
+    Tabella(int... colonneChiave) {
+        this.colonneChiave = colonneChiave;
+    }
+
+
+    //METODI
+    /**
+     * Ricava la chiave di una riga della tabella, nel formato delle chiavi di {@link ModificaRiga}.
+     *
+     * @param riga  I valori della riga, nell'ordine delle colonne della tabella.
+     * @return {@link List} I valori delle colonne della chiave della riga.
+     */
+    public List<Object> chiave(Object[] riga) {
+
+        ArrayList<Object> chiave = new ArrayList<>(colonneChiave.length);
+
+        for (int colonna : colonneChiave)
+            chiave.add(riga[colonna]);
+
+        return chiave;
+    }
+}
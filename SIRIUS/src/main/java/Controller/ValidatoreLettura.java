@@ -0,0 +1,193 @@
+package Controller;
+
+import Model.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * Verifica l'integrita' delle righe lette dal database all'avvio, in un'unica scansione.
+ *
+ * Invece di ispezionare gli elenchi in memoria per ogni riga letta, il validatore costruisce durante la lettura degli indici
+ * raggruppati per codice fiscale, per responsabile scientifico e per CUP, e verifica ogni riga rispetto alle righe
+ * gia' accettate in tempo costante (o proporzionale ai soli contratti della stessa persona).
+ * Ogni incoerenza viene registrata nel {@link RapportoIntegrita}, e la riga incoerente viene scartata.
+ */
+class ValidatoreLettura {
+
+    static final String DIPENDENTI_INDETERMINATI = "Dipendente indeterminato";
+    static final String DIPENDENTI_PROGETTO = "Dipendente a progetto";
+    static final String LABORATORI = "Laboratorio";
+    static final String PROGETTI = "Progetto";
+
+    private final RapportoIntegrita rapporto;
+    private final LocalDate oggi = LocalDate.now();
+
+    // Per codice fiscale: il primo contratto letto, i cui dati anagrafici devono essere comuni a tutti i contratti della persona
+    private final HashMap<String, Dipendente> anagrafiche = new HashMap<>();
+    // Per codice fiscale: le persone con un contratto attivo di ciascun tipo
+    private final HashSet<String> codFiscaliIndeterminatiAttivi = new HashSet<>();
+    private final HashSet<String> codFiscaliProgettoAttivi = new HashSet<>();
+    // Per codice fiscale: i contratti a progetto accettati, per verificarne le sovrapposizioni
+    private final HashMap<String, ArrayList<DipendenteProgetto>> contrattiProgetto = new HashMap<>();
+    // Per CUP: il costo totale dei dipendenti a progetto ingaggiati
+    private final HashMap<String, BigDecimal> costiDipendentiProgetto = new HashMap<>();
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del validatore.
+     *
+     * @param rapporto {@link RapportoIntegrita} Il rapporto in cui registrare le violazioni rilevate.
+     */
+    ValidatoreLettura(RapportoIntegrita rapporto) {
+        this.rapporto = rapporto;
+    }
+
+
+    //METODI
+    /**
+     * Verifica un dipendente a tempo indeterminato letto e, se coerente, lo registra negli indici.
+     *
+     * @param dipendente {@link DipendenteIndeterminato} Il dipendente letto.
+     * @return True se il dipendente e' coerente con i dati gia' letti, false altrimenti.
+     */
+    boolean validaDipendenteIndeterminato(DipendenteIndeterminato dipendente) {
+
+        boolean integro = true;
+        String codFiscale = dipendente.getCodFiscale();
+
+        // Il dipendente non deve essere gia' un dipendente a progetto attivo
+        if (codFiscaliProgettoAttivi.contains(codFiscale))
+            integro = violazione(DIPENDENTI_INDETERMINATI, dipendente.getMatricola(), "e' gia' un dipendente a progetto attivo");
+
+        // I dati anagrafici devono coincidere con quelli degli altri contratti della stessa persona
+        if (!anagraficaCoerente(dipendente))
+            integro = violazione(DIPENDENTI_INDETERMINATI, dipendente.getMatricola(), "ha dati anagrafici diversi da un altro dipendente con lo stesso codice fiscale");
+
+        if (integro) {
+
+            anagrafiche.putIfAbsent(codFiscale, dipendente);
+
+            if (dipendente.getDataFineRapporto() == null || dipendente.getDataFineRapporto().isAfter(oggi))
+                codFiscaliIndeterminatiAttivi.add(codFiscale);
+        }
+
+        return integro;
+    }
+
+    /**
+     * Verifica un dipendente a progetto letto e, se coerente, lo registra negli indici.
+     *
+     * @param dipendente {@link DipendenteProgetto} Il dipendente letto, con il progetto proprietario gia' impostato.
+     * @return True se il dipendente e' coerente con i dati gia' letti, false altrimenti.
+     */
+    boolean validaDipendenteProgetto(DipendenteProgetto dipendente) {
+
+        boolean integro = true;
+        String codFiscale = dipendente.getCodFiscale();
+        Progetto progetto = dipendente.getProgettoProprietario();
+
+        // Il dipendente non deve essere gia' un dipendente indeterminato attivo
+        if (codFiscaliIndeterminatiAttivi.contains(codFiscale))
+            integro = violazione(DIPENDENTI_PROGETTO, dipendente.getMatricola(), "e' gia' un dipendente indeterminato attivo");
+
+        // I dati anagrafici devono coincidere con quelli degli altri contratti della stessa persona
+        if (!anagraficaCoerente(dipendente))
+            integro = violazione(DIPENDENTI_PROGETTO, dipendente.getMatricola(), "ha dati anagrafici diversi da un altro dipendente con lo stesso codice fiscale");
+
+        // La scadenza del contratto non deve superare la data di fine del progetto
+        if (progetto.getDataFine() != null && dipendente.getScadenza().isAfter(progetto.getDataFine()))
+            integro = violazione(DIPENDENTI_PROGETTO, dipendente.getMatricola(), "ha una scadenza successiva alla fine del progetto " + progetto.getCup());
+
+        // Il contratto non deve sovrapporsi ad un altro contratto a progetto della stessa persona
+        for (DipendenteProgetto contratto : contrattiProgetto.getOrDefault(codFiscale, new ArrayList<>())) {
+
+            if (sovrapposti(contratto, dipendente)) {
+                integro = violazione(DIPENDENTI_PROGETTO, dipendente.getMatricola(), "si sovrappone al contratto " + contratto.getMatricola());
+                break;
+            }
+        }
+
+        if (integro) {
+
+            anagrafiche.putIfAbsent(codFiscale, dipendente);
+            contrattiProgetto.computeIfAbsent(codFiscale, chiave -> new ArrayList<>()).add(dipendente);
+            costiDipendentiProgetto.merge(progetto.getCup(), dipendente.getCosto(), BigDecimal::add);
+
+            if (dipendente.getScadenza().isAfter(oggi))
+                codFiscaliProgettoAttivi.add(codFiscale);
+        }
+
+        return integro;
+    }
+
+    /**
+     * Verifica, per ogni progetto, che il costo totale dei dipendenti a progetto accettati non superi la meta' del budget.
+     *
+     * @param progetti {@link ArrayList<Progetto>} I progetti letti, puo' essere nullo.
+     * @return True se tutti i progetti rispettano il vincolo, false altrimenti.
+     */
+    boolean validaBudgetDipendentiProgetto(ArrayList<Progetto> progetti) {
+
+        boolean integro = true;
+
+        if (progetti != null) {
+
+            for (Progetto progetto : progetti) {
+
+                BigDecimal costoTotale = costiDipendentiProgetto.get(progetto.getCup());
+
+                if (costoTotale != null && progetto.getBudget().divide(BigDecimal.valueOf(2)).compareTo(costoTotale) < 0)
+                    integro = violazione(PROGETTI, progetto.getCup(), "il costo dei dipendenti a progetto supera la meta' del budget");
+            }
+        }
+
+        return integro;
+    }
+
+    /**
+     * Verifica che il responsabile scientifico di un laboratorio letto sia un dipendente Senior con il rapporto in corso.
+     *
+     * @param laboratorio {@link Laboratorio} Il laboratorio letto.
+     * @return True se il responsabile scientifico e' coerente, false altrimenti.
+     */
+    boolean validaLaboratorio(Laboratorio laboratorio) {
+
+        DipendenteIndeterminato responsabileScientifico = laboratorio.getResponsabileScientifico();
+
+        if (!responsabileScientifico.getTipoDipendente().equals(TipoDipendente.Senior))
+            return violazione(LABORATORI, laboratorio.getNome(), "il responsabile scientifico " + responsabileScientifico.getMatricola() + " non e' Senior");
+
+        if (responsabileScientifico.getDataFineRapporto() != null)
+            return violazione(LABORATORI, laboratorio.getNome(), "il responsabile scientifico " + responsabileScientifico.getMatricola() + " ha una data di fine rapporto");
+
+        return true;
+    }
+
+    //Verifica che i dati anagrafici coincidano con quelli del primo contratto letto con lo stesso codice fiscale
+    private boolean anagraficaCoerente(Dipendente dipendente) {
+
+        Dipendente anagrafica = anagrafiche.get(dipendente.getCodFiscale());
+
+        return anagrafica == null || (anagrafica.getNome().equals(dipendente.getNome())
+                && anagrafica.getCognome().equals(dipendente.getCognome())
+                && anagrafica.getDataNascita().equals(dipendente.getDataNascita()));
+    }
+
+    //Verifica se il nuovo contratto inizia o termina all'interno del periodo del contratto esistente
+    private static boolean sovrapposti(DipendenteProgetto esistente, DipendenteProgetto nuovo) {
+
+        return (esistente.getDataAssunzione().isBefore(nuovo.getDataAssunzione()) && esistente.getScadenza().isAfter(nuovo.getDataAssunzione()))
+                || (esistente.getDataAssunzione().isBefore(nuovo.getScadenza()) && esistente.getScadenza().isAfter(nuovo.getScadenza()));
+    }
+
+    //Registra la violazione nel rapporto e restituisce sempre false, per essere assegnata all'esito della verifica
+    private boolean violazione(String tabella, String riga, String descrizione) {
+        rapporto.aggiungi(tabella, riga, descrizione);
+        return false;
+    }
+}
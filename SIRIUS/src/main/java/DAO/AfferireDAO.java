@@ -1,7 +1,5 @@
 package DAO;
 
-import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 
@@ -27,6 +25,22 @@ public interface AfferireDAO {
      */
     void removeAfferenza(String matricola, String nomeLab);
 
+    /**
+     * Aggiunge in batch piu' afferenze di dipendenti indeterminati a laboratori nell'azienda. Le liste sono parallele.
+     *
+     * @param matricole {@link ArrayList<String>}   Le matricole dei dipendenti da associare.
+     * @param nomiLab   {@link ArrayList<String>}   I nomi dei laboratori da associare.
+     */
+    void addAfferenze(ArrayList<String> matricole, ArrayList<String> nomiLab);
+
+    /**
+     * Rimuove in batch piu' afferenze di dipendenti indeterminati a laboratori dall'azienda. Le liste sono parallele.
+     *
+     * @param matricole {@link ArrayList<String>}   Le matricole dei dipendenti di cui rimuovere l'associazione.
+     * @param nomiLab   {@link ArrayList<String>}   I nomi dei laboratori di cui rimuovere l'associazione.
+     */
+    void removeAfferenze(ArrayList<String> matricole, ArrayList<String> nomiLab);
+
     /**
      * Aggiorna un'afferenza di un dipendente indeterminato ad un laboratorio nell'azienda.
      *
@@ -38,6 +52,30 @@ public interface AfferireDAO {
     void updateAfferenza(String vecchiaMatricola, String vecchioNomeLab, String matricola, String nomeLab);
 
     //QUERY
+    /**
+     * Elabora un'afferenza tra dipendente e laboratorio letto dal database durante una lettura in streaming.
+     */
+    interface LetturaAfferenza {
+        /**
+         * @param matricola {@link String} La matricola del dipendente afferente.
+         * @param nomeLab   {@link String} Il nome del laboratorio.
+         * @return True per proseguire la lettura, false per interromperla.
+         * @throws SQLException Se l'elaborazione richiede un accesso al database che fallisce.
+         */
+        boolean leggi(String matricola, String nomeLab) throws SQLException;
+    }
+
+    /**
+     * Legge in streaming tutte le afferenze tra dipendenti e laboratori dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaAfferenza {@link LetturaAfferenza} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    boolean obtainAfferenze(LetturaAfferenza letturaAfferenza) throws SQLException;
+
     /**
      * Ottiene tutte le afferenze tra dipendenti indeterminati e laboratori nell'azienda.
      *
@@ -49,20 +87,19 @@ public interface AfferireDAO {
     void obtainAfferenze(ArrayList<String> dipendenti, ArrayList<String> laboratori) throws SQLException;
 
     /**
-     * Restituisce, sottoforma di matrice di stringhe, tutte le afferenze tra dipendenti indeterminati e laboratori registrate nell'azienda.
+     * Restituisce, sottoforma di righe tipizzate {@link RigaAfferenza}, tutte le afferenze tra dipendenti indeterminati e laboratori registrate nell'azienda.
      *
-     * @return  {@link ArrayList}  Un ArrayList di array di stringhe, rappresentante tutte le afferenze. Ogni array contiene la matricola e il nome del laboratorio.
+     * @return  {@link ArrayList}  Un ArrayList di righe tipizzate, rappresentante tutte le afferenze. Ogni riga contiene la matricola e il nome del laboratorio.
      */
-    ArrayList<String[]> getAfferenze();
+    ArrayList<RigaAfferenza> getAfferenze();
 
-    //Metodo utilizzato per convertire un resultSet in matrice
     /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
+     * Ottiene l'afferenza del dipendente specificato al laboratorio specificato.
+     *
+     * @param matricola   {@link String}  La matricola del dipendente.
+     * @param nomeLab     {@link String}  Il nome del laboratorio.
      *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
+     * @return {@link RigaAfferenza}  Le informazioni dell'afferenza, oppure null se non e' presente nel database.
      */
-    ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException;
+    RigaAfferenza getAfferenza(String matricola, String nomeLab);
 }
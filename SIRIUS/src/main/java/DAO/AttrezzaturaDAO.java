@@ -1,8 +1,6 @@
 package DAO;
 
 import java.math.BigDecimal;
-import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 
@@ -35,32 +33,55 @@ public interface AttrezzaturaDAO {
 
     //QUERY
     /**
-     * Ottiene le informazioni sulle attrezzature dal database e le inserisce in liste separate.
+     * Elabora un'attrezzatura letto dal database durante una lettura in streaming.
+     */
+    interface LetturaAttrezzatura {
+        /**
+         * @param idAttrezzatura                    L'identificativo dell'attrezzatura.
+         * @param descrizione    {@link String}     La descrizione dell'attrezzatura.
+         * @param costo          {@link BigDecimal} Il costo dell'attrezzatura.
+         * @param cup            {@link String}     Il CUP del progetto che ha acquistato l'attrezzatura.
+         * @param nomeLab        {@link String}     Il nome del laboratorio che possiede l'attrezzatura. Può essere nullo.
+         * @return True per proseguire la lettura, false per interromperla.
+         * @throws SQLException Se l'elaborazione richiede un accesso al database che fallisce.
+         */
+        boolean leggi(int idAttrezzatura, String descrizione, BigDecimal costo, String cup, String nomeLab) throws SQLException;
+    }
+
+    /**
+     * Legge in streaming tutte le attrezzature dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaAttrezzatura {@link LetturaAttrezzatura} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    boolean obtainAttrezzature(LetturaAttrezzatura letturaAttrezzatura) throws SQLException;
+
+    /**
+     * Carica tutte le attrezzature dal database in un buffer colonnare, dimensionato sulla stima del numero di righe della tabella.
+     * La connessione viene rilasciata al termine del caricamento, prima dell'elaborazione delle righe.
      *
-     * @param descrizioni       {@link ArrayList<String>}       Una lista vuota in cui verranno inserite le descrizioni delle attrezzature.
-     * @param costi             {@link ArrayList<BigDecimal>}   Una lista vuota in cui verranno inseriti i costi delle attrezzature.
-     * @param stringProgetti    {@link ArrayList<String>}       Una lista vuota in cui verranno inseriti i nomi dei progetti proprietari delle attrezzature.
-     * @param stringLaboratori  {@link ArrayList<String>}       Una lista vuota in cui verranno inseriti i nomi dei laboratori in cui potranno risiedere le attrezzature. Può contenere valori nulli.
+     * @return {@link BufferAttrezzature} Il buffer contenente le attrezzature lette, da consumare una sola volta.
      *
      * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
      */
-    void obtainAttrezzature(ArrayList<Integer> idAttrezzature, ArrayList<String> descrizioni, ArrayList<BigDecimal> costi, ArrayList<String> stringProgetti, ArrayList<String> stringLaboratori) throws SQLException;
+    BufferAttrezzature caricaAttrezzature() throws SQLException;
 
     /**
-     * Ottiene tutte le attrezzature dal database e restituisce una matrice di stringhe.
+     * Ottiene tutte le attrezzature dal database e le restituisce come righe tipizzate {@link RigaAttrezzatura}.
      *
      * @return  {@link ArrayList} Una lista di informazioni rappresentanti tutte le attrezzature nel database.
      */
-    ArrayList<String[]> getAttrezzature();
+    ArrayList<RigaAttrezzatura> getAttrezzature();
 
-    //Metodo utilizzato per convertire un resultSet in matrice
     /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
+     * Ottiene l'attrezzatura con l'identificativo specificato.
+     *
+     * @param idAttrezzatura    L'identificativo dell'attrezzatura.
      *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
+     * @return {@link RigaAttrezzatura}  Le informazioni dell'attrezzatura, oppure null se non e' presente nel database.
      */
-    ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException;
+    RigaAttrezzatura getAttrezzatura(int idAttrezzatura);
 }
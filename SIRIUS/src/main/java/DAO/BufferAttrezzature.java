@@ -0,0 +1,101 @@
+package DAO;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Buffer colonnare delle attrezzature caricate dal database.
+ *
+ * @see BufferColonnare
+ */
+public class BufferAttrezzature extends BufferColonnare {
+
+    private int[] idAttrezzature;
+    private String[] descrizioni;
+    private BigDecimal[] costi;
+    private String[] cups;
+    private String[] nomiLab;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del buffer delle attrezzature.
+     *
+     * @param righeStimate Il numero stimato di attrezzature da caricare.
+     */
+    public BufferAttrezzature(int righeStimate) {
+        super(righeStimate);
+
+        int capacita = getCapacita();
+
+        idAttrezzature = new int[capacita];
+        descrizioni = new String[capacita];
+        costi = new BigDecimal[capacita];
+        cups = new String[capacita];
+        nomiLab = new String[capacita];
+    }
+
+
+    //METODI
+    /**
+     * Aggiunge un'attrezzatura al buffer.
+     *
+     * @param idAttrezzatura                    L'identificativo dell'attrezzatura.
+     * @param descrizione    {@link String}     La descrizione dell'attrezzatura.
+     * @param costo          {@link BigDecimal} Il costo dell'attrezzatura.
+     * @param cup            {@link String}     Il CUP del progetto che ha acquistato l'attrezzatura.
+     * @param nomeLab        {@link String}     Il nome del laboratorio che possiede l'attrezzatura. Può essere nullo.
+     */
+    public void aggiungi(int idAttrezzatura, String descrizione, BigDecimal costo, String cup, String nomeLab) {
+
+        int riga = nuovaRiga();
+
+        idAttrezzature[riga] = idAttrezzatura;
+        descrizioni[riga] = descrizione;
+        costi[riga] = costo;
+        cups[riga] = cup;
+        nomiLab[riga] = nomeLab;
+    }
+
+    /**
+     * Consuma il buffer, consegnando le attrezzature una alla volta nell'ordine di caricamento, e ne rilascia le colonne.
+     *
+     * @param letturaAttrezzatura {@link AttrezzaturaDAO.LetturaAttrezzatura} Il metodo che elabora ogni attrezzatura.
+     * @return True se sono state consegnate tutte le attrezzature, false se il consumo e' stato interrotto dall'elaborazione.
+     * @throws SQLException Se l'elaborazione di un'attrezzatura richiede un accesso al database che fallisce.
+     */
+    public boolean consuma(AttrezzaturaDAO.LetturaAttrezzatura letturaAttrezzatura) throws SQLException {
+
+        int righe = iniziaConsumo();
+
+        try {
+            for (int i = 0; i < righe; i++) {
+                if (!letturaAttrezzatura.leggi(idAttrezzature[i], descrizioni[i], costi[i], cups[i], nomiLab[i]))
+                    return false;
+            }
+        } finally {
+            terminaConsumo();
+        }
+
+        return true;
+    }
+
+    @Override
+    protected void ridimensiona(int capacita) {
+        idAttrezzature = Arrays.copyOf(idAttrezzature, capacita);
+        descrizioni = Arrays.copyOf(descrizioni, capacita);
+        costi = Arrays.copyOf(costi, capacita);
+        cups = Arrays.copyOf(cups, capacita);
+        nomiLab = Arrays.copyOf(nomiLab, capacita);
+    }
+
+    @Override
+    protected void rilascia() {
+        idAttrezzature = null;
+        descrizioni = null;
+        costi = null;
+        cups = null;
+        nomiLab = null;
+    }
+}
@@ -0,0 +1,138 @@
+package DAO;
+
+import java.time.LocalDate;
+
+/**
+ * Buffer colonnare per i caricamenti massivi dal database.
+ * Le righe lette vengono memorizzate per colonne, in array dimensionati a partire da una stima del numero di righe
+ * della tabella: le date sono conservate come giorni dall'epoca in array di long e i flag in array di boolean,
+ * evitando di allocare un oggetto per ogni valore letto.
+ *
+ * Un buffer puo' essere consumato una sola volta: al termine del consumo gli array vengono rilasciati,
+ * in modo che la memoria occupata dal caricamento possa essere recuperata prima della costruzione degli oggetti successivi.
+ */
+public abstract class BufferColonnare {
+
+    /**
+     * Valore che rappresenta una data nulla nelle colonne di date.
+     */
+    protected static final long NESSUNA_DATA = Long.MIN_VALUE;
+
+    private static final int CAPACITA_MINIMA = 16;
+
+    private int capacita;
+    private int dimensione = 0;
+    private boolean consumato = false;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del buffer colonnare.
+     *
+     * @param righeStimate Il numero stimato di righe da caricare, utilizzato per dimensionare le colonne.
+     */
+    protected BufferColonnare(int righeStimate) {
+        this.capacita = Math.max(righeStimate, CAPACITA_MINIMA);
+    }
+
+
+    //METODI
+    /**
+     * Amplia tutte le colonne del buffer alla capacita' specificata, conservando le righe gia' inserite.
+     *
+     * @param capacita La nuova capacita' delle colonne.
+     */
+    protected abstract void ridimensiona(int capacita);
+
+    /**
+     * Rilascia tutte le colonne del buffer.
+     */
+    protected abstract void rilascia();
+
+    /**
+     * Restituisce la capacita' iniziale delle colonne, con cui le sottoclassi allocano le colonne nel costruttore.
+     *
+     * @return La capacita' delle colonne.
+     */
+    protected int getCapacita() {
+        return capacita;
+    }
+
+    /**
+     * Riserva la posizione della prossima riga, ampliando le colonne se la stima iniziale e' stata superata.
+     *
+     * @return L'indice della riga da valorizzare.
+     */
+    protected int nuovaRiga() {
+
+        if (consumato)
+            throw new IllegalStateException("Il buffer e' gia' stato consumato");
+
+        if (dimensione == capacita) {
+            capacita = capacita + (capacita >> 1);
+            ridimensiona(capacita);
+        }
+
+        return dimensione++;
+    }
+
+    /**
+     * Prepara il consumo del buffer, che puo' avvenire una sola volta.
+     *
+     * @return Il numero di righe da consumare.
+     */
+    protected int iniziaConsumo() {
+
+        if (consumato)
+            throw new IllegalStateException("Il buffer e' gia' stato consumato");
+
+        consumato = true;
+
+        return dimensione;
+    }
+
+    /**
+     * Termina il consumo del buffer, rilasciandone le colonne.
+     */
+    protected void terminaConsumo() {
+        rilascia();
+    }
+
+    /**
+     * Restituisce il numero di righe caricate nel buffer.
+     *
+     * @return Il numero di righe caricate.
+     */
+    public int getDimensione() {
+        return dimensione;
+    }
+
+    /**
+     * Indica se il buffer e' gia' stato consumato.
+     *
+     * @return True se il buffer e' stato consumato, altrimenti false.
+     */
+    public boolean isConsumato() {
+        return consumato;
+    }
+
+    /**
+     * Converte una data nel formato delle colonne di date.
+     *
+     * @param data {@link LocalDate} La data da convertire. Può essere nulla.
+     * @return Il numero di giorni dall'epoca, oppure {@link #NESSUNA_DATA} se la data e' nulla.
+     */
+    protected static long daData(LocalDate data) {
+        return data == null ? NESSUNA_DATA : data.toEpochDay();
+    }
+
+    /**
+     * Converte un valore di una colonna di date nella data corrispondente.
+     *
+     * @param giorni Il numero di giorni dall'epoca, oppure {@link #NESSUNA_DATA}.
+     * @return {@link LocalDate} La data corrispondente, oppure null.
+     */
+    protected static LocalDate aData(long giorni) {
+        return giorni == NESSUNA_DATA ? null : LocalDate.ofEpochDay(giorni);
+    }
+}
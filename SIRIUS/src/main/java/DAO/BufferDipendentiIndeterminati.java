@@ -0,0 +1,133 @@
+package DAO;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Buffer colonnare dei dipendenti a tempo indeterminato caricati dal database.
+ *
+ * @see BufferColonnare
+ */
+public class BufferDipendentiIndeterminati extends BufferColonnare {
+
+    private String[] nomi;
+    private String[] cognomi;
+    private String[] codFiscali;
+    private String[] matricole;
+    private String[] tipiDipendente;
+    private String[] indirizzi;
+    private long[] dateNascita;
+    private long[] dateAssunzione;
+    private long[] dateFine;
+    private boolean[] dirigenti;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del buffer dei dipendenti a tempo indeterminato.
+     *
+     * @param righeStimate Il numero stimato di dipendenti da caricare.
+     */
+    public BufferDipendentiIndeterminati(int righeStimate) {
+        super(righeStimate);
+
+        int capacita = getCapacita();
+
+        nomi = new String[capacita];
+        cognomi = new String[capacita];
+        codFiscali = new String[capacita];
+        matricole = new String[capacita];
+        tipiDipendente = new String[capacita];
+        indirizzi = new String[capacita];
+        dateNascita = new long[capacita];
+        dateAssunzione = new long[capacita];
+        dateFine = new long[capacita];
+        dirigenti = new boolean[capacita];
+    }
+
+
+    //METODI
+    /**
+     * Aggiunge un dipendente a tempo indeterminato al buffer.
+     *
+     * @param nome           {@link String}    Il nome del dipendente.
+     * @param cognome        {@link String}    Il cognome del dipendente.
+     * @param codFiscale     {@link String}    Il codice fiscale del dipendente.
+     * @param matricola      {@link String}    La matricola del dipendente.
+     * @param tipoDipendente {@link String}    Il tipo di dipendente (Junior, Middle, Senior).
+     * @param indirizzo      {@link String}    L'indirizzo del dipendente. Può essere nullo.
+     * @param dataNascita    {@link LocalDate} La data di nascita del dipendente.
+     * @param dataAssunzione {@link LocalDate} La data di assunzione del dipendente.
+     * @param dataFine       {@link LocalDate} La data di fine del dipendente. Può essere nulla.
+     * @param dirigente                        True se il dipendente è un dirigente, altrimenti False.
+     */
+    public void aggiungi(String nome, String cognome, String codFiscale, String matricola, String tipoDipendente, String indirizzo,
+                         LocalDate dataNascita, LocalDate dataAssunzione, LocalDate dataFine, boolean dirigente) {
+
+        int riga = nuovaRiga();
+
+        nomi[riga] = nome;
+        cognomi[riga] = cognome;
+        codFiscali[riga] = codFiscale;
+        matricole[riga] = matricola;
+        tipiDipendente[riga] = tipoDipendente;
+        indirizzi[riga] = indirizzo;
+        dateNascita[riga] = daData(dataNascita);
+        dateAssunzione[riga] = daData(dataAssunzione);
+        dateFine[riga] = daData(dataFine);
+        dirigenti[riga] = dirigente;
+    }
+
+    /**
+     * Consuma il buffer, consegnando i dipendenti uno alla volta nell'ordine di caricamento, e ne rilascia le colonne.
+     *
+     * @param letturaDipendenteIndeterminato {@link DipendenteIndeterminatoDAO.LetturaDipendenteIndeterminato} Il metodo che elabora ogni dipendente.
+     * @return True se sono stati consegnati tutti i dipendenti, false se il consumo e' stato interrotto dall'elaborazione.
+     * @throws SQLException Se l'elaborazione di un dipendente richiede un accesso al database che fallisce.
+     */
+    public boolean consuma(DipendenteIndeterminatoDAO.LetturaDipendenteIndeterminato letturaDipendenteIndeterminato) throws SQLException {
+
+        int righe = iniziaConsumo();
+
+        try {
+            for (int i = 0; i < righe; i++) {
+                if (!letturaDipendenteIndeterminato.leggi(nomi[i], cognomi[i], codFiscali[i], matricole[i], tipiDipendente[i], indirizzi[i],
+                                                          aData(dateNascita[i]), aData(dateAssunzione[i]), aData(dateFine[i]), dirigenti[i]))
+                    return false;
+            }
+        } finally {
+            terminaConsumo();
+        }
+
+        return true;
+    }
+
+    @Override
+    protected void ridimensiona(int capacita) {
+        nomi = Arrays.copyOf(nomi, capacita);
+        cognomi = Arrays.copyOf(cognomi, capacita);
+        codFiscali = Arrays.copyOf(codFiscali, capacita);
+        matricole = Arrays.copyOf(matricole, capacita);
+        tipiDipendente = Arrays.copyOf(tipiDipendente, capacita);
+        indirizzi = Arrays.copyOf(indirizzi, capacita);
+        dateNascita = Arrays.copyOf(dateNascita, capacita);
+        dateAssunzione = Arrays.copyOf(dateAssunzione, capacita);
+        dateFine = Arrays.copyOf(dateFine, capacita);
+        dirigenti = Arrays.copyOf(dirigenti, capacita);
+    }
+
+    @Override
+    protected void rilascia() {
+        nomi = null;
+        cognomi = null;
+        codFiscali = null;
+        matricole = null;
+        tipiDipendente = null;
+        indirizzi = null;
+        dateNascita = null;
+        dateAssunzione = null;
+        dateFine = null;
+        dirigenti = null;
+    }
+}
@@ -0,0 +1,134 @@
+package DAO;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Buffer colonnare dei dipendenti a progetto caricati dal database.
+ *
+ * @see BufferColonnare
+ */
+public class BufferDipendentiProgetto extends BufferColonnare {
+
+    private String[] nomi;
+    private String[] cognomi;
+    private String[] codFiscali;
+    private String[] matricole;
+    private String[] indirizzi;
+    private long[] dateNascita;
+    private long[] dateAssunzione;
+    private long[] scadenze;
+    private BigDecimal[] costi;
+    private String[] cups;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del buffer dei dipendenti a progetto.
+     *
+     * @param righeStimate Il numero stimato di dipendenti da caricare.
+     */
+    public BufferDipendentiProgetto(int righeStimate) {
+        super(righeStimate);
+
+        int capacita = getCapacita();
+
+        nomi = new String[capacita];
+        cognomi = new String[capacita];
+        codFiscali = new String[capacita];
+        matricole = new String[capacita];
+        indirizzi = new String[capacita];
+        dateNascita = new long[capacita];
+        dateAssunzione = new long[capacita];
+        scadenze = new long[capacita];
+        costi = new BigDecimal[capacita];
+        cups = new String[capacita];
+    }
+
+
+    //METODI
+    /**
+     * Aggiunge un dipendente a progetto al buffer.
+     *
+     * @param nome           {@link String}     Il nome del dipendente.
+     * @param cognome        {@link String}     Il cognome del dipendente.
+     * @param codFiscale     {@link String}     Il codice fiscale del dipendente.
+     * @param matricola      {@link String}     La matricola del dipendente.
+     * @param indirizzo      {@link String}     L'indirizzo del dipendente. Può essere nullo.
+     * @param dataNascita    {@link LocalDate}  La data di nascita del dipendente.
+     * @param dataAssunzione {@link LocalDate}  La data di assunzione del dipendente.
+     * @param scadenza       {@link LocalDate}  La data di scadenza del contratto del dipendente.
+     * @param costo          {@link BigDecimal} Il costo del contratto del dipendente.
+     * @param cup            {@link String}     Il CUP del progetto a cui lavora il dipendente.
+     */
+    public void aggiungi(String nome, String cognome, String codFiscale, String matricola, String indirizzo,
+                         LocalDate dataNascita, LocalDate dataAssunzione, LocalDate scadenza, BigDecimal costo, String cup) {
+
+        int riga = nuovaRiga();
+
+        nomi[riga] = nome;
+        cognomi[riga] = cognome;
+        codFiscali[riga] = codFiscale;
+        matricole[riga] = matricola;
+        indirizzi[riga] = indirizzo;
+        dateNascita[riga] = daData(dataNascita);
+        dateAssunzione[riga] = daData(dataAssunzione);
+        scadenze[riga] = daData(scadenza);
+        costi[riga] = costo;
+        cups[riga] = cup;
+    }
+
+    /**
+     * Consuma il buffer, consegnando i dipendenti uno alla volta nell'ordine di caricamento, e ne rilascia le colonne.
+     *
+     * @param letturaDipendenteProgetto {@link DipendenteProgettoDAO.LetturaDipendenteProgetto} Il metodo che elabora ogni dipendente.
+     * @return True se sono stati consegnati tutti i dipendenti, false se il consumo e' stato interrotto dall'elaborazione.
+     * @throws SQLException Se l'elaborazione di un dipendente richiede un accesso al database che fallisce.
+     */
+    public boolean consuma(DipendenteProgettoDAO.LetturaDipendenteProgetto letturaDipendenteProgetto) throws SQLException {
+
+        int righe = iniziaConsumo();
+
+        try {
+            for (int i = 0; i < righe; i++) {
+                if (!letturaDipendenteProgetto.leggi(nomi[i], cognomi[i], codFiscali[i], matricole[i], indirizzi[i],
+                                                     aData(dateNascita[i]), aData(dateAssunzione[i]), aData(scadenze[i]), costi[i], cups[i]))
+                    return false;
+            }
+        } finally {
+            terminaConsumo();
+        }
+
+        return true;
+    }
+
+    @Override
+    protected void ridimensiona(int capacita) {
+        nomi = Arrays.copyOf(nomi, capacita);
+        cognomi = Arrays.copyOf(cognomi, capacita);
+        codFiscali = Arrays.copyOf(codFiscali, capacita);
+        matricole = Arrays.copyOf(matricole, capacita);
+        indirizzi = Arrays.copyOf(indirizzi, capacita);
+        dateNascita = Arrays.copyOf(dateNascita, capacita);
+        dateAssunzione = Arrays.copyOf(dateAssunzione, capacita);
+        scadenze = Arrays.copyOf(scadenze, capacita);
+        costi = Arrays.copyOf(costi, capacita);
+        cups = Arrays.copyOf(cups, capacita);
+    }
+
+    @Override
+    protected void rilascia() {
+        nomi = null;
+        cognomi = null;
+        codFiscali = null;
+        matricole = null;
+        indirizzi = null;
+        dateNascita = null;
+        dateAssunzione = null;
+        scadenze = null;
+        costi = null;
+        cups = null;
+    }
+}
@@ -0,0 +1,607 @@
+package DAO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Generatore di dati sintetici dell'azienda, di dimensione arbitraria, per le prove di carico e le misure delle prestazioni.
+ *
+ * I dati rispettano tutti i vincoli dello schema (domini, CHECK, chiavi primarie ed esterne) e quelli verificati dal Controller
+ * durante la lettura: la lettura dei dati generati non rileva incoerenze e non richiede correzioni. In particolare:
+ * <ul>
+ *     <li>il tipo dei dipendenti e gli scatti Middle e Senior corrispondono all'anzianita', come calcolati dal Controller;</li>
+ *     <li>le promozioni e le rimozioni dirigenziali si alternano a partire da una promozione, ed i dirigenti hanno come ultimo scatto una promozione;</li>
+ *     <li>i responsabili scientifici dei laboratori sono Senior senza data di fine rapporto, ed afferiscono al proprio laboratorio;</li>
+ *     <li>i referenti scientifici sono Senior all'inizio del progetto, i responsabili sono dirigenti assunti entro l'inizio del progetto;</li>
+ *     <li>ogni progetto attivo lavora con al piu' tre laboratori, i progetti terminati con nessuno;</li>
+ *     <li>i costi dei dipendenti a progetto e quelli delle attrezzature di ogni progetto non superano, ciascuno, la meta' del budget;</li>
+ *     <li>i contratti a progetto scadono entro la fine del progetto, ed i dipendenti con fine rapporto passata non afferiscono a laboratori.</li>
+ * </ul>
+ *
+ * I dati sono una funzione deterministica del numero di dipendenti, del seme e della data di generazione: ogni riga viene
+ * ricavata dal proprio indice, senza mantenere in memoria le tabelle, e puo' essere generata piu' volte con lo stesso risultato.
+ * Le righe possono quindi essere consegnate in streaming, tabella per tabella, con i metodi "genera*", oppure raccolte in
+ * un'istantanea leggibile dal Controller con {@link #creaSnapshot()}. In proporzione ai dipendenti a tempo indeterminato vengono creati:
+ * un laboratorio ogni 50 dipendenti (almeno 3), un progetto ogni 20, un dipendente a progetto ogni 5 ed un'attrezzatura ogni 10.
+ */
+public class DatiSintetici {
+
+    //Identificativi delle sequenze casuali di ogni tabella, combinati con il seme e con l'indice della riga
+    private static final int ANAGRAFICA = 1;
+    private static final int DIRIGENZA = 2;
+    private static final int AFFERENZE = 3;
+    private static final int PROGETTI = 4;
+    private static final int DIPENDENTI_PROGETTO = 5;
+    private static final int ATTREZZATURE = 6;
+
+    private static final String[] NOMI = {"Marco", "Giulia", "Luca", "Francesca", "Alessandro", "Chiara", "Andrea", "Sara",
+            "Giuseppe", "Valentina", "Francesco", "Martina", "Antonio", "Elena", "Roberto", "Federica", "Stefano", "Anna",
+            "Matteo", "Laura", "Davide", "Silvia", "Simone", "Paola", "Lorenzo", "Alessia", "Gabriele", "Ilaria", "Riccardo", "Marta"};
+
+    private static final String[] COGNOMI = {"Rossi", "Russo", "Ferrari", "Esposito", "Bianchi", "Romano", "Colombo", "Ricci",
+            "Marino", "Greco", "Bruno", "Gallo", "Conti", "De Luca", "Mancini", "Costa", "Giordano", "Rizzo", "Lombardi", "Moretti",
+            "Barbieri", "Fontana", "Santoro", "Mariani", "Rinaldi", "Caruso", "Ferrara", "Galli", "Martini", "Leone"};
+
+    private static final String[] CITTA = {"Napoli", "Roma", "Milano", "Torino", "Bologna", "Firenze", "Bari", "Salerno", "Caserta", "Pisa"};
+
+    private static final String[] VIE = {"Via Roma", "Via Garibaldi", "Corso Italia", "Via Mazzini", "Via Verdi", "Piazza Dante",
+            "Via Toledo", "Via Manzoni", "Viale Europa", "Via dei Mille"};
+
+    private static final String[] TOPIC = {"Intelligenza artificiale", "Sicurezza informatica", "Basi di dati", "Robotica",
+            "Reti di calcolatori", "Calcolo ad alte prestazioni", "Bioinformatica", "Visione artificiale", "Sistemi embedded", "Energia"};
+
+    private static final String[] ATTREZZI = {"Server", "Workstation", "Oscilloscopio", "Stampante 3D", "Switch di rete",
+            "Microscopio", "Sensore", "Scheda di sviluppo", "Storage", "Robot collaborativo"};
+
+    private final int dipendenti;
+    private final long seme;
+    private final LocalDate oggi;
+
+    private final int laboratori;
+    private final int progetti;
+    private final int dipendentiProgetto;
+    private final int attrezzature;
+
+    // Per dipendente: le date del rapporto di lavoro, da cui dipendono il tipo, gli scatti ed i ruoli assegnabili
+    private final LocalDate[] dateAssunzione;
+    private final LocalDate[] dateFine;
+    // Per dipendente: il laboratorio di cui e' responsabile scientifico, oppure -1
+    private final int[] laboratorioResponsabilita;
+    // Per laboratorio: il dipendente responsabile scientifico
+    private final int[] responsabiliLaboratori;
+
+    // Per progetto: i dati da cui dipendono i lavori, i contratti a progetto e le attrezzature
+    private final int[] referenti;
+    private final int[] responsabili;
+    private final LocalDate[] dateInizio;
+    private final LocalDate[] dateFineProgetti;
+    private final long[] budgetCentesimi;
+    private final int[][] laboratoriProgetti;
+
+
+    //COSTRUTTORE
+    /**
+     * Prepara la generazione dei dati con il numero di dipendenti a tempo indeterminato ed il seme specificati, alla data odierna.
+     *
+     * @param dipendenti Il numero di dipendenti a tempo indeterminato, almeno 100.
+     * @param seme       Il seme delle sequenze casuali: lo stesso seme genera gli stessi dati.
+     */
+    public DatiSintetici(int dipendenti, long seme) {
+        this(dipendenti, seme, LocalDate.now());
+    }
+
+    /**
+     * Prepara la generazione dei dati con il numero di dipendenti a tempo indeterminato ed il seme specificati,
+     * coerenti rispetto alla data di riferimento specificata.
+     *
+     * @param dipendenti Il numero di dipendenti a tempo indeterminato, almeno 100.
+     * @param seme       Il seme delle sequenze casuali: lo stesso seme genera gli stessi dati.
+     * @param oggi       {@link LocalDate} La data rispetto alla quale si calcolano l'anzianita' e lo stato dei progetti.
+     */
+    public DatiSintetici(int dipendenti, long seme, LocalDate oggi) {
+
+        if (dipendenti < 100)
+            throw new IllegalArgumentException("I dati sintetici richiedono almeno 100 dipendenti");
+
+        this.dipendenti = dipendenti;
+        this.seme = seme;
+        this.oggi = oggi;
+
+        this.laboratori = Math.max(3, dipendenti / 50);
+        this.progetti = dipendenti / 20;
+        this.dipendentiProgetto = dipendenti / 5;
+        this.attrezzature = dipendenti / 10;
+
+        this.dateAssunzione = new LocalDate[dipendenti];
+        this.dateFine = new LocalDate[dipendenti];
+        this.laboratorioResponsabilita = new int[dipendenti];
+
+        // Solo i Senior ed i dirigenti con un rapporto di lavoro senza fine possono ricoprire i ruoli di laboratori e progetti
+        ArrayList<Integer> seniorAttivi = new ArrayList<>();
+        ArrayList<Integer> dirigentiAttivi = new ArrayList<>();
+
+        for (int i = 0; i < dipendenti; i++) {
+
+            SplittableRandom casuale = casuale(ANAGRAFICA, i);
+
+            // Anzianita' da 0 a 15 anni, almeno 3 giorni e mai esattamente in un anniversario dell'assunzione
+            dateAssunzione[i] = oggi.minusYears(casuale.nextInt(16)).minusDays(3 + casuale.nextInt(360));
+            laboratorioResponsabilita[i] = -1;
+
+            long giorniLavorati = ChronoUnit.DAYS.between(dateAssunzione[i], oggi);
+
+            // Un dipendente su 20 ha concluso il rapporto di lavoro, ed uno su 20 lo concludera' entro un anno
+            if (i % 20 == 19)
+                dateFine[i] = dateAssunzione[i].plusDays(casuale.nextLong(giorniLavorati));
+            else if (i % 20 == 9)
+                dateFine[i] = oggi.plusDays(1 + casuale.nextInt(365));
+
+            if (dateFine[i] == null && tipo(i).equals("Senior"))
+                seniorAttivi.add(i);
+
+            if (isDirigente(i))
+                dirigentiAttivi.add(i);
+        }
+
+        if (seniorAttivi.size() < laboratori)
+            throw new IllegalStateException("I dipendenti Senior non sono sufficienti per i responsabili scientifici dei laboratori");
+
+        // Ogni laboratorio ha come responsabile scientifico un Senior diverso
+        this.responsabiliLaboratori = new int[laboratori];
+
+        for (int j = 0; j < laboratori; j++) {
+            responsabiliLaboratori[j] = seniorAttivi.get(j);
+            laboratorioResponsabilita[seniorAttivi.get(j)] = j;
+        }
+
+        this.referenti = new int[progetti];
+        this.responsabili = new int[progetti];
+        this.dateInizio = new LocalDate[progetti];
+        this.dateFineProgetti = new LocalDate[progetti];
+        this.budgetCentesimi = new long[progetti];
+        this.laboratoriProgetti = new int[progetti][];
+
+        for (int k = 0; k < progetti; k++)
+            preparaProgetto(k, casuale(PROGETTI, k), seniorAttivi, dirigentiAttivi);
+    }
+
+
+    //METODI
+    /**
+     * Restituisce la matricola del dipendente a tempo indeterminato i-esimo.
+     *
+     * @param i L'indice del dipendente.
+     * @return {@link String} La matricola, di 8 caratteri.
+     */
+    public static String matricola(int i) {
+        return "D" + codice(i, 7);
+    }
+
+    /**
+     * Restituisce il codice fiscale del dipendente a tempo indeterminato i-esimo.
+     *
+     * @param i L'indice del dipendente.
+     * @return {@link String} Il codice fiscale, di 16 caratteri alfanumerici.
+     */
+    public static String codFiscale(int i) {
+        return "CFI" + codice(i, 13);
+    }
+
+    /**
+     * Restituisce il CUP del progetto k-esimo.
+     *
+     * @param k L'indice del progetto.
+     * @return {@link String} Il CUP, di 15 caratteri alfanumerici.
+     */
+    public static String cup(int k) {
+        return "CUP" + codice(k, 12);
+    }
+
+    /**
+     * Restituisce il nome del laboratorio j-esimo.
+     *
+     * @param j L'indice del laboratorio.
+     * @return {@link String} Il nome del laboratorio.
+     */
+    public static String nomeLaboratorio(int j) {
+        return "Laboratorio " + codice(j, 6);
+    }
+
+    /**
+     * Restituisce il nome del dipendente a tempo indeterminato i-esimo.
+     *
+     * @param i L'indice del dipendente.
+     * @return {@link String} Il nome del dipendente.
+     */
+    public String nome(int i) {
+        return NOMI[casuale(ANAGRAFICA, i).split().nextInt(NOMI.length)];
+    }
+
+    /**
+     * Restituisce il cognome del dipendente a tempo indeterminato i-esimo.
+     *
+     * @param i L'indice del dipendente.
+     * @return {@link String} Il cognome del dipendente.
+     */
+    public String cognome(int i) {
+
+        SplittableRandom casuale = casuale(ANAGRAFICA, i).split();
+        casuale.nextInt(NOMI.length);
+
+        return COGNOMI[casuale.nextInt(COGNOMI.length)];
+    }
+
+    /**
+     * Restituisce la data di nascita del dipendente a tempo indeterminato i-esimo.
+     *
+     * @param i L'indice del dipendente.
+     * @return {@link LocalDate} La data di nascita del dipendente, di almeno 20 anni precedente all'assunzione.
+     */
+    public LocalDate dataNascita(int i) {
+
+        SplittableRandom casuale = casuale(ANAGRAFICA, i).split();
+        casuale.nextInt(NOMI.length);
+        casuale.nextInt(COGNOMI.length);
+
+        return dateAssunzione[i].minusYears(20 + casuale.nextInt(40)).minusDays(casuale.nextInt(365));
+    }
+
+    /**
+     * @return Il numero di dipendenti a tempo indeterminato generati.
+     */
+    public int getNumeroDipendenti() {
+        return dipendenti;
+    }
+
+    /**
+     * @return Il numero di laboratori generati.
+     */
+    public int getNumeroLaboratori() {
+        return laboratori;
+    }
+
+    /**
+     * @return Il numero di progetti generati.
+     */
+    public int getNumeroProgetti() {
+        return progetti;
+    }
+
+    /**
+     * @return Il numero di dipendenti a progetto generati.
+     */
+    public int getNumeroDipendentiProgetto() {
+        return dipendentiProgetto;
+    }
+
+    /**
+     * @return Il numero di attrezzature generate.
+     */
+    public int getNumeroAttrezzature() {
+        return attrezzature;
+    }
+
+    /**
+     * Genera tutti i dipendenti a tempo indeterminato, in ordine di matricola.
+     *
+     * @param consumatore {@link Consumer} Il metodo che riceve ogni riga generata.
+     */
+    public void generaDipendentiIndeterminati(Consumer<RigaDipendenteIndeterminato> consumatore) {
+
+        for (int i = 0; i < dipendenti; i++) {
+
+            SplittableRandom casuale = casuale(ANAGRAFICA, i).split();
+            String nome = NOMI[casuale.nextInt(NOMI.length)];
+            String cognome = COGNOMI[casuale.nextInt(COGNOMI.length)];
+            LocalDate dataNascita = dateAssunzione[i].minusYears(20 + casuale.nextInt(40)).minusDays(casuale.nextInt(365));
+
+            consumatore.accept(new RigaDipendenteIndeterminato(matricola(i), tipo(i), nome, cognome, codFiscale(i),
+                    indirizzo(casuale), dataNascita, dateAssunzione[i], dateFine[i], isDirigente(i)));
+        }
+    }
+
+    /**
+     * Genera tutti gli scatti di carriera: gli scatti Middle e Senior raggiunti per anzianita' e, per un dipendente su 10,
+     * una o piu' promozioni e rimozioni dirigenziali alternate. Gli scatti di ogni dipendente sono generati in ordine di data.
+     *
+     * @param consumatore {@link Consumer} Il metodo che riceve ogni riga generata.
+     */
+    public void generaScattiCarriera(Consumer<RigaScattoCarriera> consumatore) {
+
+        for (int i = 0; i < dipendenti; i++) {
+
+            String tipo = tipo(i);
+
+            if (!tipo.equals("Junior"))
+                consumatore.accept(new RigaScattoCarriera(matricola(i), "Middle", dateAssunzione[i].plusYears(3)));
+
+            if (tipo.equals("Senior"))
+                consumatore.accept(new RigaScattoCarriera(matricola(i), "Senior", dateAssunzione[i].plusYears(7)));
+
+            LocalDate[] dateDirigenza = dateDirigenza(i);
+
+            // Le date sono ordinate e distinte: gli scatti di indice pari sono promozioni, quelli di indice dispari rimozioni
+            for (int s = 0; s < dateDirigenza.length; s++)
+                consumatore.accept(new RigaScattoCarriera(matricola(i), s % 2 == 0 ? "Promosso_a_dirigente" : "Rimosso_da_dirigente", dateDirigenza[s]));
+        }
+    }
+
+    /**
+     * Genera tutti i laboratori.
+     *
+     * @param consumatore {@link Consumer} Il metodo che riceve ogni riga generata.
+     */
+    public void generaLaboratori(Consumer<RigaLaboratorio> consumatore) {
+
+        for (int j = 0; j < laboratori; j++)
+            consumatore.accept(new RigaLaboratorio(nomeLaboratorio(j), TOPIC[j % TOPIC.length], matricola(responsabiliLaboratori[j])));
+    }
+
+    /**
+     * Genera tutte le afferenze: ogni dipendente con un rapporto di lavoro in corso afferisce ad uno o due laboratori,
+     * ed ogni responsabile scientifico afferisce anche al proprio laboratorio.
+     *
+     * @param consumatore {@link Consumer} Il metodo che riceve ogni riga generata.
+     */
+    public void generaAfferenze(Consumer<RigaAfferenza> consumatore) {
+
+        for (int i = 0; i < dipendenti; i++) {
+
+            // Le afferenze dei dipendenti con fine rapporto passata verrebbero rimosse dal Controller
+            if (dateFine[i] != null && dateFine[i].isBefore(oggi))
+                continue;
+
+            SplittableRandom casuale = casuale(AFFERENZE, i);
+            int primo = casuale.nextInt(laboratori);
+            int secondo = casuale.nextInt(3) == 0 ? (primo + 1 + casuale.nextInt(laboratori - 1)) % laboratori : -1;
+            int proprio = laboratorioResponsabilita[i];
+
+            consumatore.accept(new RigaAfferenza(matricola(i), nomeLaboratorio(primo)));
+
+            if (secondo >= 0)
+                consumatore.accept(new RigaAfferenza(matricola(i), nomeLaboratorio(secondo)));
+
+            if (proprio >= 0 && proprio != primo && proprio != secondo)
+                consumatore.accept(new RigaAfferenza(matricola(i), nomeLaboratorio(proprio)));
+        }
+    }
+
+    /**
+     * Genera tutti i progetti: un progetto su 10 e' terminato, uno su 10 non ha una data di fine, gli altri terminano nei prossimi anni.
+     *
+     * @param consumatore {@link Consumer} Il metodo che riceve ogni riga generata.
+     */
+    public void generaProgetti(Consumer<RigaProgetto> consumatore) {
+
+        for (int k = 0; k < progetti; k++)
+            consumatore.accept(new RigaProgetto(cup(k), "Progetto " + codice(k, 8), dateInizio[k], dateFineProgetti[k],
+                    BigDecimal.valueOf(budgetCentesimi[k], 2), matricola(referenti[k]), matricola(responsabili[k])));
+    }
+
+    /**
+     * Genera tutte le istanze di lavoro tra progetti attivi e laboratori, al piu' tre per progetto.
+     *
+     * @param consumatore {@link Consumer} Il metodo che riceve ogni riga generata.
+     */
+    public void generaLavori(Consumer<RigaLavoro> consumatore) {
+
+        for (int k = 0; k < progetti; k++) {
+            for (int j : laboratoriProgetti[k])
+                consumatore.accept(new RigaLavoro(cup(k), nomeLaboratorio(j)));
+        }
+    }
+
+    /**
+     * Genera tutti i dipendenti a progetto, ripartiti equamente tra i progetti. Il costo totale dei contratti di ogni progetto
+     * non supera la meta' del budget, ed ogni contratto scade entro la fine del proprio progetto.
+     *
+     * @param consumatore {@link Consumer} Il metodo che riceve ogni riga generata.
+     */
+    public void generaDipendentiProgetto(Consumer<RigaDipendenteProgetto> consumatore) {
+
+        int massimoPerProgetto = (dipendentiProgetto + progetti - 1) / progetti;
+
+        for (int m = 0; m < dipendentiProgetto; m++) {
+
+            int k = m % progetti;
+            SplittableRandom casuale = casuale(DIPENDENTI_PROGETTO, m);
+
+            // Il contratto inizia entro due anni dall'inizio del progetto e dura da un mese a due anni, senza superarne la fine
+            long durataProgetto = dateFineProgetti[k] != null ? ChronoUnit.DAYS.between(dateInizio[k], dateFineProgetti[k]) + 1 : 730;
+            LocalDate dataAssunzione = dateInizio[k].plusDays(casuale.nextLong(Math.min(durataProgetto, 730)));
+            LocalDate scadenza = dataAssunzione.plusDays(30 + casuale.nextInt(700));
+
+            if (dateFineProgetti[k] != null && scadenza.isAfter(dateFineProgetti[k]))
+                scadenza = dateFineProgetti[k];
+
+            String nome = NOMI[casuale.nextInt(NOMI.length)];
+            String cognome = COGNOMI[casuale.nextInt(COGNOMI.length)];
+            LocalDate dataNascita = dataAssunzione.minusYears(20 + casuale.nextInt(40)).minusDays(casuale.nextInt(365));
+
+            consumatore.accept(new RigaDipendenteProgetto("P" + codice(m, 7), nome, cognome, "CFP" + codice(m, 13),
+                    indirizzo(casuale), dataNascita, dataAssunzione, quotaMetaBudget(k, massimoPerProgetto, casuale), scadenza, cup(k)));
+        }
+    }
+
+    /**
+     * Genera tutte le attrezzature, ripartite equamente tra i progetti, con identificativi da 1 in poi. Il costo totale delle
+     * attrezzature di ogni progetto non supera la meta' del budget; circa meta' sono possedute da un laboratorio che lavora al progetto.
+     *
+     * @param consumatore {@link Consumer} Il metodo che riceve ogni riga generata.
+     */
+    public void generaAttrezzature(Consumer<RigaAttrezzatura> consumatore) {
+
+        int massimoPerProgetto = (attrezzature + progetti - 1) / progetti;
+
+        for (int a = 0; a < attrezzature; a++) {
+
+            int k = a % progetti;
+            SplittableRandom casuale = casuale(ATTREZZATURE, a);
+
+            String descrizione = ATTREZZI[casuale.nextInt(ATTREZZI.length)] + " " + codice(a, 8);
+            BigDecimal costo = quotaMetaBudget(k, massimoPerProgetto, casuale);
+            String nomeLab = null;
+
+            if (laboratoriProgetti[k].length > 0 && casuale.nextBoolean())
+                nomeLab = nomeLaboratorio(laboratoriProgetti[k][casuale.nextInt(laboratoriProgetti[k].length)]);
+
+            consumatore.accept(new RigaAttrezzatura(a + 1, descrizione, costo, nomeLab, cup(k)));
+        }
+    }
+
+    /**
+     * Crea una nuova istantanea con tutti i dati generati, leggibile dal Controller; ogni istantanea puo' essere letta una sola volta.
+     *
+     * @return {@link SnapshotDati} L'istantanea dei dati generati.
+     */
+    public SnapshotDati creaSnapshot() {
+
+        BufferDipendentiIndeterminati bufferIndeterminati = new BufferDipendentiIndeterminati(dipendenti);
+        generaDipendentiIndeterminati(riga -> bufferIndeterminati.aggiungi(riga.nome(), riga.cognome(), riga.codFiscale(), riga.matricola(),
+                riga.tipo(), riga.indirizzo(), riga.dataNascita(), riga.dataAssunzione(), riga.dataFine(), riga.dirigente()));
+
+        ArrayList<RigaScattoCarriera> scatti = new ArrayList<>();
+        generaScattiCarriera(scatti::add);
+
+        ArrayList<RigaLaboratorio> righeLaboratori = new ArrayList<>(laboratori);
+        generaLaboratori(righeLaboratori::add);
+
+        ArrayList<RigaAfferenza> afferenze = new ArrayList<>();
+        generaAfferenze(afferenze::add);
+
+        ArrayList<RigaProgetto> righeProgetti = new ArrayList<>(progetti);
+        generaProgetti(righeProgetti::add);
+
+        BufferDipendentiProgetto bufferProgetto = new BufferDipendentiProgetto(dipendentiProgetto);
+        generaDipendentiProgetto(riga -> bufferProgetto.aggiungi(riga.nome(), riga.cognome(), riga.codFiscale(), riga.matricola(),
+                riga.indirizzo(), riga.dataNascita(), riga.dataAssunzione(), riga.scadenza(), riga.costo(), riga.cup()));
+
+        BufferAttrezzature bufferAttrezzature = new BufferAttrezzature(attrezzature);
+        generaAttrezzature(riga -> bufferAttrezzature.aggiungi(riga.idAttrezzatura(), riga.descrizione(), riga.costo(), riga.cup(), riga.nomeLab()));
+
+        ArrayList<RigaLavoro> lavori = new ArrayList<>();
+        generaLavori(lavori::add);
+
+        return new SnapshotDati(bufferIndeterminati, scatti, righeLaboratori, afferenze, righeProgetti, bufferProgetto, bufferAttrezzature, lavori);
+    }
+
+    //Sceglie referente, responsabile, date, budget e laboratori del progetto k-esimo
+    private void preparaProgetto(int k, SplittableRandom casuale, ArrayList<Integer> seniorAttivi, ArrayList<Integer> dirigentiAttivi) {
+
+        referenti[k] = seniorAttivi.get(casuale.nextInt(seniorAttivi.size()));
+        responsabili[k] = dirigentiAttivi.get(casuale.nextInt(dirigentiAttivi.size()));
+
+        // Il progetto non puo' iniziare prima dello scatto Senior del referente e dell'assunzione del responsabile, entrambi passati
+        LocalDate inizioMinimo = dateAssunzione[referenti[k]].plusYears(7);
+
+        if (dateAssunzione[responsabili[k]].isAfter(inizioMinimo))
+            inizioMinimo = dateAssunzione[responsabili[k]];
+
+        int stato = casuale.nextInt(10);
+
+        if (stato == 0) {
+
+            // Progetto terminato prima di oggi, senza laboratori lavoranti
+            dateInizio[k] = inizioMinimo;
+            dateFineProgetti[k] = inizioMinimo.plusDays(casuale.nextLong(ChronoUnit.DAYS.between(inizioMinimo, oggi)));
+            laboratoriProgetti[k] = new int[0];
+
+        } else {
+
+            dateInizio[k] = inizioMinimo.plusDays(casuale.nextInt(60));
+            LocalDate inizioAttivita = dateInizio[k].isAfter(oggi) ? dateInizio[k] : oggi;
+            dateFineProgetti[k] = stato == 1 ? null : inizioAttivita.plusYears(1 + casuale.nextInt(5)).plusDays(casuale.nextInt(365));
+
+            // Da uno a tre laboratori distinti e consecutivi, a partire da uno casuale
+            int primo = casuale.nextInt(laboratori);
+            laboratoriProgetti[k] = new int[1 + casuale.nextInt(3)];
+
+            for (int l = 0; l < laboratoriProgetti[k].length; l++)
+                laboratoriProgetti[k][l] = (primo + l) % laboratori;
+        }
+
+        // Budget da 100.000 a 5.000.000 euro, in centesimi
+        budgetCentesimi[k] = 10_000_000L + casuale.nextLong(490_000_000L);
+    }
+
+    //Restituisce un costo casuale tale che la somma di al piu' "quote" costi non superi la meta' del budget del progetto k-esimo
+    private BigDecimal quotaMetaBudget(int k, int quote, SplittableRandom casuale) {
+
+        long massimo = budgetCentesimi[k] / 2 / quote;
+
+        return BigDecimal.valueOf(massimo / 10 + casuale.nextLong(massimo - massimo / 10 + 1), 2);
+    }
+
+    //Restituisce le date ordinate e distinte delle promozioni e rimozioni dirigenziali del dipendente i-esimo, tra l'assunzione e oggi.
+    //I dirigenti hanno una o due promozioni, con una rimozione intermedia; gli ex dirigenti una promozione ed una rimozione.
+    private LocalDate[] dateDirigenza(int i) {
+
+        if (i % 10 != 0 && i % 10 != 5)
+            return new LocalDate[0];
+
+        SplittableRandom casuale = casuale(DIRIGENZA, i);
+        int scatti = i % 10 == 5 ? 2 : (casuale.nextBoolean() ? 1 : 3);
+
+        // L'assunzione precede oggi di almeno 3 giorni, quindi ci sono sempre abbastanza giorni distinti
+        long giorni = ChronoUnit.DAYS.between(dateAssunzione[i], oggi);
+        TreeSet<Long> scostamenti = new TreeSet<>();
+
+        while (scostamenti.size() < scatti)
+            scostamenti.add(1 + casuale.nextLong(giorni));
+
+        LocalDate[] date = new LocalDate[scatti];
+        int s = 0;
+
+        for (long scostamento : scostamenti)
+            date[s++] = dateAssunzione[i].plusDays(scostamento);
+
+        return date;
+    }
+
+    //Restituisce true se il dipendente i-esimo e' attualmente dirigente; i dirigenti non hanno una data di fine rapporto
+    private boolean isDirigente(int i) {
+        return i % 10 == 0;
+    }
+
+    //Restituisce il tipo del dipendente i-esimo in base all'anzianita', come calcolato dal Controller
+    private String tipo(int i) {
+
+        if (oggi.isBefore(dateAssunzione[i].plusYears(3)))
+            return "Junior";
+
+        if (oggi.isBefore(dateAssunzione[i].plusYears(7)))
+            return "Middle";
+
+        return "Senior";
+    }
+
+    //Restituisce un indirizzo casuale, assente per un dipendente su 10
+    private static String indirizzo(SplittableRandom casuale) {
+
+        if (casuale.nextInt(10) == 0)
+            return null;
+
+        return VIE[casuale.nextInt(VIE.length)] + ", " + (1 + casuale.nextInt(200)) + ", " + CITTA[casuale.nextInt(CITTA.length)];
+    }
+
+    //Restituisce la sequenza casuale della riga specificata della tabella specificata, indipendente dalle altre righe
+    private SplittableRandom casuale(int tabella, long riga) {
+        return new SplittableRandom(seme * 0x9E3779B97F4A7C15L + tabella * 0xC2B2AE3D27D4EB4FL + riga);
+    }
+
+    //Restituisce l'indice in base 36, maiuscolo e completato con zeri iniziali fino alla lunghezza specificata
+    private static String codice(long indice, int lunghezza) {
+
+        String codice = Long.toString(indice, 36).toUpperCase();
+
+        if (codice.length() > lunghezza)
+            throw new IllegalArgumentException("L'indice " + indice + " non e' rappresentabile con " + lunghezza + " caratteri");
+
+        return "0".repeat(lunghezza - codice.length()) + codice;
+    }
+}
@@ -1,7 +1,5 @@
 package DAO;
 
-import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -61,6 +59,22 @@ public interface DipendenteIndeterminatoDAO {
      */
     void updateTipoDipendente(String matricola, String tipoDipendente);
 
+    /**
+     * Aggiorna in batch lo stato dirigenziale di piu' dipendenti a tempo indeterminato. Le liste sono parallele.
+     *
+     * @param matricole {@link ArrayList<String>}   Le matricole dei dipendenti indeterminati da aggiornare.
+     * @param dirigenti {@link ArrayList<Boolean>}  I nuovi stati dirigenziali da impostare.
+     */
+    void updateStatiDirigente(ArrayList<String> matricole, ArrayList<Boolean> dirigenti);
+
+    /**
+     * Aggiorna in batch il tipo di piu' dipendenti a tempo indeterminato. Le liste sono parallele.
+     *
+     * @param matricole         {@link ArrayList<String>}   Le matricole dei dipendenti indeterminati da aggiornare.
+     * @param tipiDipendente    {@link ArrayList<String>}   I nuovi tipi in aggiornamento.
+     */
+    void updateTipiDipendente(ArrayList<String> matricole, ArrayList<String> tipiDipendente);
+
     /**
      * Aggiorna i dati anagrafici del dipendente a tempo indeterminato specificato.
      *
@@ -83,38 +97,60 @@ public interface DipendenteIndeterminatoDAO {
 
     // QUERY
     /**
-     * Ottiene le informazioni sui dipendenti a tempo indeterminato dal database e le inserisce in liste separate.
+     * Elabora un dipendente a tempo indeterminato letto dal database durante una lettura in streaming.
+     */
+    interface LetturaDipendenteIndeterminato {
+        /**
+         * @param nome           {@link String}    Il nome del dipendente.
+         * @param cognome        {@link String}    Il cognome del dipendente.
+         * @param codFiscale     {@link String}    Il codice fiscale del dipendente.
+         * @param matricola      {@link String}    La matricola del dipendente.
+         * @param tipoDipendente {@link String}    Il tipo di dipendente (Junior, Middle, Senior).
+         * @param indirizzo      {@link String}    L'indirizzo del dipendente. Può essere nullo.
+         * @param dataNascita    {@link LocalDate} La data di nascita del dipendente.
+         * @param dataAssunzione {@link LocalDate} La data di assunzione del dipendente.
+         * @param dataFine       {@link LocalDate} La data di fine del dipendente. Può essere nulla.
+         * @param dirigente                        True se il dipendente è un dirigente, altrimenti False.
+         * @return True per proseguire la lettura, false per interromperla.
+         * @throws SQLException Se l'elaborazione richiede un accesso al database che fallisce.
+         */
+        boolean leggi(String nome, String cognome, String codFiscale, String matricola, String tipoDipendente, String indirizzo, LocalDate dataNascita, LocalDate dataAssunzione, LocalDate dataFine, boolean dirigente) throws SQLException;
+    }
+
+    /**
+     * Legge in streaming tutti i dipendenti a tempo indeterminato dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
      *
-     * @param nomi              {@link ArrayList<String>}       Una lista vuota in cui verranno inseriti i nomi dei dipendenti indeterminati da leggere.
-     * @param cognomi           {@link ArrayList<String>}       Una lista vuota in cui verranno inseriti i cognomi dei dipendenti indeterminati da leggere.
-     * @param codFiscali        {@link ArrayList<String>}       Una lista vuota in cui verranno inseriti i codici fiscali dei dipendenti indeterminati da leggere.
-     * @param matricole         {@link ArrayList<String>}       Una lista vuota in cui verranno inserite le matricole dei dipendenti indeterminati da leggere.
-     * @param tipiDipendente    {@link ArrayList<String>}       Una lista vuota in cui verranno inseriti i tipi di dipendente dei dipendenti indeterminati da leggere.
-     * @param indirizzi         {@link ArrayList<String>}       Una lista vuota in cui verranno inseriti gli indirizzi dei dipendenti indeterminati da leggere. Può contenere valori nulli.
-     * @param dateNascita       {@link ArrayList<LocalDate>}    Una lista vuota in cui verranno inserite le date di nascita dei dipendenti indeterminati da leggere.
-     * @param dateAssunzioni    {@link ArrayList<LocalDate>}    Una lista vuota in cui verranno inserite le date di assunzione dei dipendenti indeterminati. da leggere
-     * @param dateFine          {@link ArrayList<LocalDate>}    Una lista vuota in cui verranno inserite le date di fine dell'impiego dei dipendenti indeterminati da leggere. Può contenere valori nulli.
-     * @param dirigenti         {@link ArrayList}               Una lista vuota in cui verranno inseriti i flag che indicano se un dipendente da leggere è dirigente o meno.
+     * @param letturaDipendenteIndeterminato {@link LetturaDipendenteIndeterminato} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
      *
      * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
      */
-    void obtainDipendentiIndeterminati(ArrayList<String> nomi, ArrayList<String> cognomi, ArrayList<String> codFiscali,
-                                       ArrayList<String> matricole, ArrayList<String> tipiDipendente, ArrayList<String> indirizzi,
-                                       ArrayList<LocalDate> dateNascita, ArrayList<LocalDate> dateAssunzioni, ArrayList<LocalDate> dateFine, ArrayList<Boolean> dirigenti) throws SQLException;
+    boolean obtainDipendentiIndeterminati(LetturaDipendenteIndeterminato letturaDipendenteIndeterminato) throws SQLException;
 
     /**
-     * Ottiene tutti i dipendenti a tempo indeterminato dal database e restituisce una matrice di stringhe.
+     * Carica tutti i dipendenti a tempo indeterminato dal database in un buffer colonnare, dimensionato sulla stima del numero di righe della tabella.
+     * La connessione viene rilasciata al termine del caricamento, prima dell'elaborazione delle righe.
+     *
+     * @return {@link BufferDipendentiIndeterminati} Il buffer contenente i dipendenti a tempo indeterminato letti, da consumare una sola volta.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    BufferDipendentiIndeterminati caricaDipendentiIndeterminati() throws SQLException;
+
+    /**
+     * Ottiene tutti i dipendenti a tempo indeterminato dal database e li restituisce come righe tipizzate {@link RigaDipendenteIndeterminato}.
      *
      * @return  {@link ArrayList} Una lista di informazioni rappresentanti tutti i dipendenti nel database.
      */
-    ArrayList<String[]> getDipendentiIndeterminati();
+    ArrayList<RigaDipendenteIndeterminato> getDipendentiIndeterminati();
 
     /**
      * Recupera tutti i dipendenti a tempo indeterminato senior candidati al ruolo di responsabile scientifico per un laboratorio.
      *
      * @return  {@link ArrayList}  Una lista di informazioni rappresentanti i dati dei dipendenti candidati al ruolo specificato.
      */
-    ArrayList<String[]> getAllDipendentiCandidatiResponsabileScientifico();
+    ArrayList<RigaDipendenteIndeterminato> getAllDipendentiCandidatiResponsabileScientifico();
 
     /**
      * Recupera tutti i dipendenti a tempo indeterminato senior candidati al ruolo di referente scientifico per un progetto.
@@ -123,7 +159,7 @@ public interface DipendenteIndeterminatoDAO {
      * @param dataFineProgetto   {@link LocalDate} La data di fine del progetto.
      * @return  {@link ArrayList}  Una lista di informazioni rappresentanti i dati dei dipendenti candidati al ruolo specificato.
      */
-    ArrayList<String[]> getAllDipendentiCandidatiReferenteScientifico(LocalDate dataInizioProgetto, LocalDate dataFineProgetto);
+    ArrayList<RigaDipendenteIndeterminato> getAllDipendentiCandidatiReferenteScientifico(LocalDate dataInizioProgetto, LocalDate dataFineProgetto);
 
     /**
      * Recupera tutti i dipendenti a tempo indeterminato dirigenti candidati al ruolo di responsabile per un progetto.
@@ -132,7 +168,7 @@ public interface DipendenteIndeterminatoDAO {
      * @param dataFineProgetto   {@link LocalDate} La data di fine del progetto.
      * @return  {@link ArrayList}  Una lista di informazioni rappresentanti i dati dei dipendenti candidati al ruolo specificato.
      */
-    ArrayList<String[]> getAllDipendentiCandidatiDirigente(LocalDate dataInizioProgetto, LocalDate dataFineProgetto);
+    ArrayList<RigaDipendenteIndeterminato> getAllDipendentiCandidatiDirigente(LocalDate dataInizioProgetto, LocalDate dataFineProgetto);
 
     /**
      * Recupera tutti i dipendenti a tempo indeterminato che, se facessero il tipo di scatto passato in input, non andrebbero in uno stato illegale.
@@ -141,15 +177,14 @@ public interface DipendenteIndeterminatoDAO {
      *
      * @return  {@link ArrayList}  Una lista di informazioni rappresentanti i dati dei dipendenti candidati al tipo di scatto specificato.
      */
-    ArrayList<String[]> getDipendentiCandidatiScatto(String tipo);
+    ArrayList<RigaDipendenteIndeterminato> getDipendentiCandidatiScatto(String tipo);
 
     /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
+     * Ottiene il dipendente a tempo indeterminato con la matricola specificata.
+     *
+     * @param matricola    {@link String}  La matricola del dipendente.
      *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
+     * @return {@link RigaDipendenteIndeterminato}  Le informazioni del dipendente, oppure null se non e' presente nel database.
      */
-    ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException;
+    RigaDipendenteIndeterminato getDipendenteIndeterminato(String matricola);
 }
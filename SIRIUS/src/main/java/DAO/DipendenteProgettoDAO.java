@@ -1,8 +1,6 @@
 package DAO;
 
 import java.math.BigDecimal;
-import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -60,41 +58,60 @@ public interface DipendenteProgettoDAO {
 
     //QUERY
     /**
-     * Recupera i dati di tutti i dipendenti a progetto ingaggiati da progetti dall'archivio dei dipendenti.
+     * Elabora un dipendente a progetto letto dal database durante una lettura in streaming.
+     */
+    interface LetturaDipendenteProgetto {
+        /**
+         * @param nome           {@link String}     Il nome del dipendente.
+         * @param cognome        {@link String}     Il cognome del dipendente.
+         * @param codFiscale     {@link String}     Il codice fiscale del dipendente.
+         * @param matricola      {@link String}     La matricola del dipendente.
+         * @param indirizzo      {@link String}     L'indirizzo del dipendente. Può essere nullo.
+         * @param dataNascita    {@link LocalDate}  La data di nascita del dipendente.
+         * @param dataAssunzione {@link LocalDate}  La data di assunzione del dipendente.
+         * @param scadenza       {@link LocalDate}  La data di scadenza del contratto del dipendente.
+         * @param costo          {@link BigDecimal} Il costo del contratto del dipendente.
+         * @param cup            {@link String}     Il CUP del progetto a cui lavora il dipendente.
+         * @return True per proseguire la lettura, false per interromperla.
+         * @throws SQLException Se l'elaborazione richiede un accesso al database che fallisce.
+         */
+        boolean leggi(String nome, String cognome, String codFiscale, String matricola, String indirizzo, LocalDate dataNascita, LocalDate dataAssunzione, LocalDate scadenza, BigDecimal costo, String cup) throws SQLException;
+    }
+
+    /**
+     * Legge in streaming tutti i dipendenti a progetto dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaDipendenteProgetto {@link LetturaDipendenteProgetto} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    boolean obtainDipendentiProgetto(LetturaDipendenteProgetto letturaDipendenteProgetto) throws SQLException;
+
+    /**
+     * Carica tutti i dipendenti a progetto dal database in un buffer colonnare, dimensionato sulla stima del numero di righe della tabella.
+     * La connessione viene rilasciata al termine del caricamento, prima dell'elaborazione delle righe.
      *
-     * @param nomi             {@link ArrayList<String>}        Una lista in cui verranno inseriti i nomi dei dipendenti da leggere.
-     * @param cognomi          {@link ArrayList<String>}        Una lista in cui verranno inseriti i cognomi dei dipendenti da leggere.
-     * @param codFiscali       {@link ArrayList<String>}        Una lista in cui verranno inseriti i codici fiscali dei dipendenti da leggere.
-     * @param matricole        {@link ArrayList<String>}        Una lista in cui verranno inserite le matricole dei dipendenti da leggere.
-     * @param indirizzi        {@link ArrayList<String>}        Una lista in cui verranno inseriti gli indirizzi dei dipendenti da leggere. Possono essere nulli.
-     * @param dateNascita      {@link ArrayList<LocalDate>}     Una lista in cui verranno inserite le date di nascita dei dipendenti da leggere.
-     * @param dateAssunzioni   {@link ArrayList<LocalDate>}     Una lista in cui verranno inserite le date di assunzione dei dipendenti da leggere.
-     * @param scadenze         {@link ArrayList<LocalDate>}     Una lista in cui verranno inserite le date di scadenza dei contratti dei dipendenti da leggere.
-     * @param costiContratti   {@link ArrayList<BigDecimal>}    Una lista in cui verranno inseriti i costi dei contratti dei dipendenti da leggere.
-     * @param progetti         {@link ArrayList<String>}        Una lista in cui verranno inseriti i CUP unici dei progetti che ingaggiano da leggere.
+     * @return {@link BufferDipendentiProgetto} Il buffer contenente i dipendenti a progetto letti, da consumare una sola volta.
      *
      * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
      */
-    void obtainDipendentiProgetto(ArrayList<String> nomi, ArrayList<String> cognomi, ArrayList<String> codFiscali,
-                                         ArrayList<String> matricole, ArrayList<String> indirizzi,
-                                         ArrayList<LocalDate> dateNascita, ArrayList<LocalDate> dateAssunzioni, ArrayList<LocalDate> scadenze,
-                                         ArrayList<BigDecimal> costiContratti, ArrayList<String> progetti) throws SQLException;
+    BufferDipendentiProgetto caricaDipendentiProgetto() throws SQLException;
 
     /**
      * Ottiene i dati di tutti i dipendenti a progetto ingaggiati da progetti dall'archivio dei dipendenti.
      *
      * @return {@link ArrayList}   Una lista di informazioni rappresentanti i dati dei dipendenti.
      */
-    ArrayList<String[]> getDipendentiProgetto();
+    ArrayList<RigaDipendenteProgetto> getDipendentiProgetto();
 
-    //Metodo utilizzato per convertire un resultSet in matrice
     /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
+     * Ottiene il dipendente a progetto con la matricola specificata.
+     *
+     * @param matricola    {@link String}  La matricola del dipendente.
      *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
+     * @return {@link RigaDipendenteProgetto}  Le informazioni del dipendente, oppure null se non e' presente nel database.
      */
-    ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException;
+    RigaDipendenteProgetto getDipendenteProgetto(String matricola);
 }
@@ -0,0 +1,84 @@
+package DAO;
+
+import java.sql.SQLException;
+
+/**
+ * Interfaccia che fornisce i DAO di un'unica sorgente di dati, in modo che il Controller possa operare indifferentemente
+ * sul database Postgres o su un'implementazione in memoria, senza dipendere dalle classi che le realizzano.
+ *
+ * I DAO restituiti possono essere istanze nuove ad ogni chiamata, e vanno quindi ottenuti per ogni utilizzo senza conservarli.
+ */
+public interface FornitoreDAO {
+
+    //DAO
+    /**
+     * @return {@link DipendenteIndeterminatoDAO}   Il DAO dei dipendenti a tempo indeterminato.
+     */
+    DipendenteIndeterminatoDAO getDipendenteIndeterminatoDAO();
+
+    /**
+     * @return {@link DipendenteProgettoDAO}    Il DAO dei dipendenti a progetto.
+     */
+    DipendenteProgettoDAO getDipendenteProgettoDAO();
+
+    /**
+     * @return {@link ScattoCarrieraDAO}    Il DAO degli scatti di carriera.
+     */
+    ScattoCarrieraDAO getScattoCarrieraDAO();
+
+    /**
+     * @return {@link LaboratorioDAO}   Il DAO dei laboratori.
+     */
+    LaboratorioDAO getLaboratorioDAO();
+
+    /**
+     * @return {@link ProgettoDAO}  Il DAO dei progetti.
+     */
+    ProgettoDAO getProgettoDAO();
+
+    /**
+     * @return {@link AfferireDAO}  Il DAO delle afferenze dei dipendenti ai laboratori.
+     */
+    AfferireDAO getAfferireDAO();
+
+    /**
+     * @return {@link LavorareDAO}  Il DAO dei laboratori che lavorano ai progetti.
+     */
+    LavorareDAO getLavorareDAO();
+
+    /**
+     * @return {@link AttrezzaturaDAO}  Il DAO delle attrezzature.
+     */
+    AttrezzaturaDAO getAttrezzaturaDAO();
+
+    /**
+     * @return {@link SnapshotDAO}  Il DAO delle istantanee dell'intero contenuto della sorgente di dati.
+     */
+    SnapshotDAO getSnapshotDAO();
+
+    //TRANSAZIONI
+    /**
+     * Apre una transazione sul thread corrente, di cui fanno parte tutte le operazioni eseguite dai DAO del fornitore
+     * fino alla sua chiusura. Se una transazione e' gia' aperta sul thread corrente, viene estesa.
+     *
+     * @return {@link Transazione}  La transazione aperta, da chiudere al termine dell'azione.
+     * @throws SQLException Se non e' possibile aprire la transazione.
+     */
+    Transazione apriTransazione() throws SQLException;
+
+    //CONFIGURAZIONE
+    /**
+     * Porta la struttura della sorgente di dati alla versione prevista dall'applicativo.
+     *
+     * @return Il numero di modifiche della struttura applicate.
+     * @throws SQLException Se l'aggiornamento della struttura fallisce.
+     */
+    int aggiornaSchema() throws SQLException;
+
+    /**
+     * Indica se la sorgente di dati notifica le modifiche eseguite da altri client, permettendo di aggiornare il modello in memoria.
+     *
+     * @return True se le notifiche delle modifiche sono supportate, altrimenti false.
+     */
+    boolean isNotificheSupportate();
+}
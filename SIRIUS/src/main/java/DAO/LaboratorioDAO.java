@@ -1,7 +1,5 @@
 package DAO;
 
-import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 
@@ -38,6 +36,31 @@ public interface LaboratorioDAO {
     void updateLaboratorio (String vecchioNome, String nome, String topic, String matricolaResponsabileScientifico);
 
     // QUERY
+    /**
+     * Elabora un laboratorio letto dal database durante una lettura in streaming.
+     */
+    interface LetturaLaboratorio {
+        /**
+         * @param nome                    {@link String} Il nome del laboratorio.
+         * @param topic                   {@link String} Il topic del laboratorio.
+         * @param responsabileScientifico {@link String} La matricola del responsabile scientifico del laboratorio.
+         * @return True per proseguire la lettura, false per interromperla.
+         * @throws SQLException Se l'elaborazione richiede un accesso al database che fallisce.
+         */
+        boolean leggi(String nome, String topic, String responsabileScientifico) throws SQLException;
+    }
+
+    /**
+     * Legge in streaming tutti i laboratori dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaLaboratorio {@link LetturaLaboratorio} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    boolean obtainLaboratori(LetturaLaboratorio letturaLaboratorio) throws SQLException;
+
     /**
      * Ottiene informazioni sui laboratori nel database, inclusi i nomi, i topics e i responsabili scientifici.
      *
@@ -56,7 +79,7 @@ public interface LaboratorioDAO {
      *
      * @return {@link ArrayList}   Una lista di laboratori candidati a lavorare per il progetto specificato.
      */
-    ArrayList<String[]> getLaboratoriCandidati(String progettoCup);
+    ArrayList<RigaLaboratorio> getLaboratoriCandidati(String progettoCup);
 
     /**
      * Ottiene una lista di laboratori che attualmente lavorano sul progetto specifico.
@@ -65,23 +88,21 @@ public interface LaboratorioDAO {
      *
      * @return {@link ArrayList}   Una lista di informazioni sui laboratori che stanno lavorando atturalmente sul progetto specifico.
      */
-    ArrayList<String[]> getLaboratoriLavoranti(String progettoCup);
+    ArrayList<RigaLaboratorio> getLaboratoriLavoranti(String progettoCup);
 
     /**
      * Ottiene informazioni sui laboratori nel database, inclusi i nomi, i topics, i responsabili scientifici e il numero di afferenti.
      *
      * @return {@link ArrayList}    Una lista di informazioni sui laboratori, con i rispettivi nomi, topics, responsabili scientifici e il numero di afferenti.
      */
-    ArrayList<String[]> getLaboratori();
+    ArrayList<RiepilogoLaboratorio> getLaboratori();
 
-    //Metodo utilizzato per convertire un resultSet in matrice
     /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
+     * Ottiene le informazioni del laboratorio specificato, incluso il numero di afferenti.
+     *
+     * @param nome    {@link String}  Il nome del laboratorio.
      *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
+     * @return {@link RiepilogoLaboratorio}  Le informazioni del laboratorio, oppure null se non e' presente nel database.
      */
-    ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException;
+    RiepilogoLaboratorio getLaboratorio(String nome);
 }
@@ -1,7 +1,5 @@
 package DAO;
 
-import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 
@@ -27,6 +25,22 @@ public interface LavorareDAO {
      */
     void removeLavorare(String cup, String nomeLaboratorio);
 
+    /**
+     * Aggiunge in batch piu' istanze di lavoro tra progetti e laboratori. Le liste sono parallele.
+     *
+     * @param cup               {@link ArrayList<String>}   I CUP dei progetti.
+     * @param nomiLaboratori    {@link ArrayList<String>}   I nomi dei laboratori.
+     */
+    void addLavori(ArrayList<String> cup, ArrayList<String> nomiLaboratori);
+
+    /**
+     * Rimuove in batch piu' istanze di lavoro tra progetti e laboratori. Le liste sono parallele.
+     *
+     * @param cup               {@link ArrayList<String>}   I CUP dei progetti da specificare per la rimozione.
+     * @param nomiLaboratori    {@link ArrayList<String>}   I nomi dei laboratori da specificare per la rimozione.
+     */
+    void removeLavori(ArrayList<String> cup, ArrayList<String> nomiLaboratori);
+
     /**
      * Aggiorna un'istanza di lavoro tra un progetto e un laboratorio.
      *
@@ -38,6 +52,30 @@ public interface LavorareDAO {
     void updateLavorare(String vecchioCup, String vecchioNomeLaboratorio, String cup, String nomeLaboratorio);
 
     //QUERY
+    /**
+     * Elabora un'istanza di lavoro tra progetto e laboratorio letto dal database durante una lettura in streaming.
+     */
+    interface LetturaLavoro {
+        /**
+         * @param cup     {@link String} Il CUP del progetto.
+         * @param nomeLab {@link String} Il nome del laboratorio che lavora al progetto.
+         * @return True per proseguire la lettura, false per interromperla.
+         * @throws SQLException Se l'elaborazione richiede un accesso al database che fallisce.
+         */
+        boolean leggi(String cup, String nomeLab) throws SQLException;
+    }
+
+    /**
+     * Legge in streaming tutte le istanze di lavoro tra progetti e laboratori dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaLavoro {@link LetturaLavoro} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    boolean obtainLavorare(LetturaLavoro letturaLavoro) throws SQLException;
+
     /**
      * Ottiene tutte le istanze di lavoro dal database e le inserisce nelle liste specificate.
      *
@@ -53,16 +91,15 @@ public interface LavorareDAO {
      *
      * @return {@link ArrayList}   Una lista di informazioni rappresentanti le istanze di lavoro tra progetti e laboratori.
      */
-    ArrayList<String[]> getLavorare();
+    ArrayList<RigaLavoro> getLavorare();
 
-    //Metodo utilizzato per convertire un resultSet in matrice
     /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
+     * Ottiene l'istanza di lavoro del laboratorio specificato per il progetto specificato.
+     *
+     * @param cup       {@link String}  Il CUP del progetto.
+     * @param nomeLab   {@link String}  Il nome del laboratorio.
      *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
+     * @return {@link RigaLavoro}  Le informazioni dell'istanza di lavoro, oppure null se non e' presente nel database.
      */
-    ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException;
+    RigaLavoro getLavoro(String cup, String nomeLab);
 }
@@ -1,8 +1,6 @@
 package DAO;
 
 import java.math.BigDecimal;
-import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -42,6 +40,35 @@ public interface ProgettoDAO {
 
     //QUERY
 
+    /**
+     * Elabora un progetto letto dal database durante una lettura in streaming.
+     */
+    interface LetturaProgetto {
+        /**
+         * @param nome                 {@link String}     Il nome del progetto.
+         * @param cup                  {@link String}     Il CUP del progetto.
+         * @param budget               {@link BigDecimal} Il budget del progetto.
+         * @param dataInizio           {@link LocalDate}  La data di inizio del progetto.
+         * @param dataFine             {@link LocalDate}  La data di fine del progetto. Può essere nulla.
+         * @param referenteScientifico {@link String}     La matricola del referente scientifico del progetto.
+         * @param responsabile         {@link String}     La matricola del responsabile del progetto.
+         * @return True per proseguire la lettura, false per interromperla.
+         * @throws SQLException Se l'elaborazione richiede un accesso al database che fallisce.
+         */
+        boolean leggi(String nome, String cup, BigDecimal budget, LocalDate dataInizio, LocalDate dataFine, String referenteScientifico, String responsabile) throws SQLException;
+    }
+
+    /**
+     * Legge in streaming tutti i progetti dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaProgetto {@link LetturaProgetto} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    boolean obtainProgetti(LetturaProgetto letturaProgetto) throws SQLException;
+
     /**
      * Recupera informazioni sui progetti dal database e le inserisce in liste separate.
      *
@@ -63,14 +90,14 @@ public interface ProgettoDAO {
      *
      * @return {@link ArrayList}   Una lista di informazioni rappresentanti le informazioni sui progetti.
      */
-    ArrayList<String[]> getProgetti();
+    ArrayList<RiepilogoProgetto> getProgetti();
 
     /**
      * Recupera informazioni sui progetti non terminati dal database.
      *
      * @return {@link ArrayList}    Una lista di informazioni rappresentanti i progetti non terminati.
      */
-    ArrayList<String[]> getProgettiNonTerminati();
+    ArrayList<RigaProgetto> getProgettiNonTerminati();
 
     /**
      * Ottiene il costo totale delle attrezzature acquistate da un progetto specifico.
@@ -88,14 +115,12 @@ public interface ProgettoDAO {
      */
     BigDecimal getCostoTotaleDipendentiProgetto(String progetto);
 
-    //Metodo utilizzato per convertire un resultSet in matrice
     /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
+     * Ottiene le informazioni del progetto specificato, inclusi i costi delle attrezzature e dei dipendenti a progetto.
+     *
+     * @param cup    {@link String}  Il CUP del progetto.
      *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
+     * @return {@link RiepilogoProgetto}  Le informazioni del progetto, oppure null se non e' presente nel database.
      */
-    ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException;
+    RiepilogoProgetto getProgetto(String cup);
 }
@@ -0,0 +1,21 @@
+package DAO;
+
+/**
+ * Riga di riepilogo di un laboratorio, comprensiva del numero di afferenti.
+ *
+ * @param nome                    {@link String} Il nome del laboratorio.
+ * @param topic                   {@link String} Il topic del laboratorio.
+ * @param responsabileScientifico {@link String} La matricola del responsabile scientifico del laboratorio.
+ * @param numeroAfferenti                        Il numero di dipendenti afferenti al laboratorio.
+ */
+public record RiepilogoLaboratorio(
+        String nome,
+        String topic,
+        String responsabileScientifico,
+        long numeroAfferenti) implements RigaTabella {
+
+    @Override
+    public Object[] valori() {
+        return new Object[]{nome, topic, responsabileScientifico, numeroAfferenti};
+    }
+}
@@ -0,0 +1,34 @@
+package DAO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Riga di riepilogo di un progetto, comprensiva delle spese per attrezzature e dipendenti a progetto.
+ *
+ * @param cup                  {@link String}     Il CUP del progetto.
+ * @param nome                 {@link String}     Il nome del progetto.
+ * @param dataInizio           {@link LocalDate}  La data di inizio del progetto.
+ * @param dataFine             {@link LocalDate}  La data di fine del progetto. Può essere nulla.
+ * @param budget               {@link BigDecimal} Il budget del progetto.
+ * @param referenteScientifico {@link String}     La matricola del referente scientifico del progetto.
+ * @param responsabile         {@link String}     La matricola del responsabile del progetto.
+ * @param costoAttrezzature    {@link BigDecimal} La spesa per le attrezzature del progetto, zero se non ne ha acquistate.
+ * @param costoDipendenti      {@link BigDecimal} La spesa per i dipendenti a progetto, zero se non ne ha ingaggiati.
+ */
+public record RiepilogoProgetto(
+        String cup,
+        String nome,
+        LocalDate dataInizio,
+        LocalDate dataFine,
+        BigDecimal budget,
+        String referenteScientifico,
+        String responsabile,
+        BigDecimal costoAttrezzature,
+        BigDecimal costoDipendenti) implements RigaTabella {
+
+    @Override
+    public Object[] valori() {
+        return new Object[]{cup, nome, dataInizio, dataFine, budget, referenteScientifico, responsabile, costoAttrezzature, costoDipendenti};
+    }
+}
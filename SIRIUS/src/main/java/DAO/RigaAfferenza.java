@@ -0,0 +1,17 @@
+package DAO;
+
+/**
+ * Riga della tabella delle afferenze tra dipendenti e laboratori.
+ *
+ * @param matricola {@link String} La matricola del dipendente afferente.
+ * @param nomeLab   {@link String} Il nome del laboratorio.
+ */
+public record RigaAfferenza(
+        String matricola,
+        String nomeLab) implements RigaTabella {
+
+    @Override
+    public Object[] valori() {
+        return new Object[]{matricola, nomeLab};
+    }
+}
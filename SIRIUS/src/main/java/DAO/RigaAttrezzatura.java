@@ -0,0 +1,25 @@
+package DAO;
+
+import java.math.BigDecimal;
+
+/**
+ * Riga della tabella delle attrezzature.
+ *
+ * @param idAttrezzatura                    L'identificativo dell'attrezzatura.
+ * @param descrizione    {@link String}     La descrizione dell'attrezzatura.
+ * @param costo          {@link BigDecimal} Il costo dell'attrezzatura.
+ * @param nomeLab        {@link String}     Il nome del laboratorio che possiede l'attrezzatura. Può essere nullo.
+ * @param cup            {@link String}     Il CUP del progetto che ha acquistato l'attrezzatura.
+ */
+public record RigaAttrezzatura(
+        int idAttrezzatura,
+        String descrizione,
+        BigDecimal costo,
+        String nomeLab,
+        String cup) implements RigaTabella {
+
+    @Override
+    public Object[] valori() {
+        return new Object[]{idAttrezzatura, descrizione, costo, nomeLab, cup};
+    }
+}
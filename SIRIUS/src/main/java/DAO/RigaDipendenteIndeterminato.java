@@ -0,0 +1,35 @@
+package DAO;
+
+import java.time.LocalDate;
+
+/**
+ * Riga della tabella dei dipendenti a tempo indeterminato.
+ *
+ * @param matricola      {@link String}    La matricola del dipendente.
+ * @param tipo           {@link String}    Il tipo del dipendente (Junior, Middle, Senior).
+ * @param nome           {@link String}    Il nome del dipendente.
+ * @param cognome        {@link String}    Il cognome del dipendente.
+ * @param codFiscale     {@link String}    Il codice fiscale del dipendente.
+ * @param indirizzo      {@link String}    L'indirizzo del dipendente. Può essere nullo.
+ * @param dataNascita    {@link LocalDate} La data di nascita del dipendente.
+ * @param dataAssunzione {@link LocalDate} La data di assunzione del dipendente.
+ * @param dataFine       {@link LocalDate} La data di fine rapporto del dipendente. Può essere nulla.
+ * @param dirigente                        True se il dipendente è un dirigente, altrimenti False.
+ */
+public record RigaDipendenteIndeterminato(
+        String matricola,
+        String tipo,
+        String nome,
+        String cognome,
+        String codFiscale,
+        String indirizzo,
+        LocalDate dataNascita,
+        LocalDate dataAssunzione,
+        LocalDate dataFine,
+        boolean dirigente) implements RigaTabella {
+
+    @Override
+    public Object[] valori() {
+        return new Object[]{matricola, tipo, nome, cognome, codFiscale, indirizzo, dataNascita, dataAssunzione, dataFine, dirigente};
+    }
+}
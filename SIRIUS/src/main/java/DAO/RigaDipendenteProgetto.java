@@ -0,0 +1,36 @@
+package DAO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Riga della tabella dei dipendenti a progetto.
+ *
+ * @param matricola      {@link String}     La matricola del dipendente.
+ * @param nome           {@link String}     Il nome del dipendente.
+ * @param cognome        {@link String}     Il cognome del dipendente.
+ * @param codFiscale     {@link String}     Il codice fiscale del dipendente.
+ * @param indirizzo      {@link String}     L'indirizzo del dipendente. Può essere nullo.
+ * @param dataNascita    {@link LocalDate}  La data di nascita del dipendente.
+ * @param dataAssunzione {@link LocalDate}  La data di assunzione del dipendente.
+ * @param costo          {@link BigDecimal} Il costo del contratto del dipendente.
+ * @param scadenza       {@link LocalDate}  La data di scadenza del contratto.
+ * @param cup            {@link String}     Il CUP del progetto a cui lavora il dipendente.
+ */
+public record RigaDipendenteProgetto(
+        String matricola,
+        String nome,
+        String cognome,
+        String codFiscale,
+        String indirizzo,
+        LocalDate dataNascita,
+        LocalDate dataAssunzione,
+        BigDecimal costo,
+        LocalDate scadenza,
+        String cup) implements RigaTabella {
+
+    @Override
+    public Object[] valori() {
+        return new Object[]{matricola, nome, cognome, codFiscale, indirizzo, dataNascita, dataAssunzione, costo, scadenza, cup};
+    }
+}
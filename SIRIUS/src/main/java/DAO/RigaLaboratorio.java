@@ -0,0 +1,19 @@
+package DAO;
+
+/**
+ * Riga della tabella dei laboratori.
+ *
+ * @param nome                    {@link String} Il nome del laboratorio.
+ * @param topic                   {@link String} Il topic del laboratorio.
+ * @param responsabileScientifico {@link String} La matricola del responsabile scientifico del laboratorio.
+ */
+public record RigaLaboratorio(
+        String nome,
+        String topic,
+        String responsabileScientifico) implements RigaTabella {
+
+    @Override
+    public Object[] valori() {
+        return new Object[]{nome, topic, responsabileScientifico};
+    }
+}
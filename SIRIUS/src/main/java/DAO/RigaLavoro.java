@@ -0,0 +1,17 @@
+package DAO;
+
+/**
+ * Riga della tabella delle istanze di lavoro tra progetti e laboratori.
+ *
+ * @param cup     {@link String} Il CUP del progetto.
+ * @param nomeLab {@link String} Il nome del laboratorio che lavora al progetto.
+ */
+public record RigaLavoro(
+        String cup,
+        String nomeLab) implements RigaTabella {
+
+    @Override
+    public Object[] valori() {
+        return new Object[]{cup, nomeLab};
+    }
+}
@@ -0,0 +1,30 @@
+package DAO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Riga della tabella dei progetti.
+ *
+ * @param cup                  {@link String}     Il CUP del progetto.
+ * @param nome                 {@link String}     Il nome del progetto.
+ * @param dataInizio           {@link LocalDate}  La data di inizio del progetto.
+ * @param dataFine             {@link LocalDate}  La data di fine del progetto. Può essere nulla.
+ * @param budget               {@link BigDecimal} Il budget del progetto.
+ * @param referenteScientifico {@link String}     La matricola del referente scientifico del progetto.
+ * @param responsabile         {@link String}     La matricola del responsabile del progetto.
+ */
+public record RigaProgetto(
+        String cup,
+        String nome,
+        LocalDate dataInizio,
+        LocalDate dataFine,
+        BigDecimal budget,
+        String referenteScientifico,
+        String responsabile) implements RigaTabella {
+
+    @Override
+    public Object[] valori() {
+        return new Object[]{cup, nome, dataInizio, dataFine, budget, referenteScientifico, responsabile};
+    }
+}
@@ -0,0 +1,28 @@
+package DAO;
+
+import java.time.LocalDate;
+
+/**
+ * Riga restituita dalla riconciliazione degli scatti di carriera automatici: descrive una modifica effettuata sul database,
+ * oppure il tipo che un dipendente deve avere in base alla propria anzianita'.
+ *
+ * @param operazione {@link String}    L'operazione descritta dalla riga, tra {@link #RIMOZIONE}, {@link #INSERIMENTO} e {@link #TIPO}.
+ * @param matricola  {@link String}    La matricola del dipendente interessato.
+ * @param tipo       {@link String}    Il tipo dello scatto rimosso o inserito, oppure il tipo del dipendente.
+ * @param data       {@link LocalDate} La data dello scatto rimosso o inserito, null per le righe di tipo {@link #TIPO}.
+ */
+public record RigaRiconciliazioneScatto(
+        String operazione,
+        String matricola,
+        String tipo,
+        LocalDate data) {
+
+    /** Uno scatto Middle o Senior non coerente con la data di assunzione, rimosso dal database. */
+    public static final String RIMOZIONE = "RIMOZIONE";
+
+    /** Uno scatto Middle o Senior mancante, inserito nel database. */
+    public static final String INSERIMENTO = "INSERIMENTO";
+
+    /** Il tipo del dipendente in base alla sua anzianita', gia' registrato nel database. */
+    public static final String TIPO = "TIPO";
+}
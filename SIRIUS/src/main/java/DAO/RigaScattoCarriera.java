@@ -0,0 +1,21 @@
+package DAO;
+
+import java.time.LocalDate;
+
+/**
+ * Riga della tabella degli scatti di carriera.
+ *
+ * @param matricola {@link String}    La matricola del dipendente che ha effettuato lo scatto.
+ * @param tipo      {@link String}    Il tipo dello scatto di carriera.
+ * @param data      {@link LocalDate} La data dello scatto di carriera.
+ */
+public record RigaScattoCarriera(
+        String matricola,
+        String tipo,
+        LocalDate data) implements RigaTabella {
+
+    @Override
+    public Object[] valori() {
+        return new Object[]{matricola, tipo, data};
+    }
+}
@@ -0,0 +1,16 @@
+package DAO;
+
+/**
+ * Riga tipizzata letta dal database tramite un DAO.
+ * Le righe conservano i valori con il loro tipo (date, importi, flag), senza convertirli in stringhe,
+ * e li espongono nell'ordine delle colonne della tabella corrispondente.
+ */
+public interface RigaTabella {
+
+    /**
+     * Restituisce i valori della riga nell'ordine delle colonne della tabella, ad esempio per la visualizzazione in una JTable.
+     *
+     * @return Un array contenente i valori della riga, con i valori nulli del database rappresentati da null.
+     */
+    Object[] valori();
+}
@@ -1,7 +1,5 @@
 package DAO;
 
-import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -36,6 +34,24 @@ public interface ScattoCarrieraDAO {
      */
     void removeAllScattiCarrieraDipendente(String matricola);
 
+    /**
+     * Aggiunge in batch piu' scatti di carriera al database. Le liste sono parallele: l'elemento i-esimo di ogni lista descrive lo stesso scatto.
+     *
+     * @param tipiScatto    {@link ArrayList<String>}       I tipi degli scatti di carriera da aggiungere.
+     * @param matricole     {@link ArrayList<String>}       Le matricole dei dipendenti che hanno effettuato gli scatti.
+     * @param date          {@link ArrayList<LocalDate>}    Le date in cui sono stati effettuati gli scatti.
+     */
+    void addScattiCarriera(ArrayList<String> tipiScatto, ArrayList<String> matricole, ArrayList<LocalDate> date);
+
+    /**
+     * Rimuove in batch tutti gli scatti di carriera dei tipi specificati, effettuati dai dipendenti specificati, dal database.
+     * Le liste sono parallele: l'elemento i-esimo di ogni lista descrive la stessa rimozione.
+     *
+     * @param tipiScatto    {@link ArrayList<String>}   I tipi degli scatti di carriera da rimuovere.
+     * @param matricole     {@link ArrayList<String>}   Le matricole dei dipendenti di cui rimuovere gli scatti.
+     */
+    void removeScattiCarriera(ArrayList<String> tipiScatto, ArrayList<String> matricole);
+
     /**
      * Aggiorna uno scatto di carriera, di un dipendente a tempo indeterminato specificato, esistente nel database.
      *
@@ -48,7 +64,43 @@ public interface ScattoCarrieraDAO {
      */
     void updateScattoCarriera(String vecchioTipoScatto, String vecchiaMatricola, LocalDate vecchiaData, String tipoScatto, String matricola, LocalDate data);
 
+    /**
+     * Riconcilia con un'unica istruzione gli scatti di carriera automatici di tutti i dipendenti a tempo indeterminato:
+     * rimuove gli scatti Middle e Senior non coerenti con la data di assunzione, inserisce quelli mancanti (Middle dopo 3 anni,
+     * Senior dopo 7 anni) ed aggiorna il tipo dei dipendenti che non corrisponde alla loro anzianita'.
+     *
+     * @param dataRiferimento   {@link LocalDate}   La data rispetto alla quale si calcola l'anzianita' dei dipendenti.
+     *
+     * @return {@link ArrayList}    Gli scatti rimossi ed inseriti ed il tipo di ogni dipendente, oppure null se la riconciliazione fallisce.
+     */
+    ArrayList<RigaRiconciliazioneScatto> riconciliaScattiAutomatici(LocalDate dataRiferimento);
+
     //QUERY
+    /**
+     * Elabora uno scatto di carriera letto dal database durante una lettura in streaming.
+     */
+    interface LetturaScattoCarriera {
+        /**
+         * @param tipoScatto {@link String}    Il tipo dello scatto di carriera.
+         * @param matricola  {@link String}    La matricola del dipendente che ha effettuato lo scatto.
+         * @param data       {@link LocalDate} La data dello scatto di carriera.
+         * @return True per proseguire la lettura, false per interromperla.
+         * @throws SQLException Se l'elaborazione richiede un accesso al database che fallisce.
+         */
+        boolean leggi(String tipoScatto, String matricola, LocalDate data) throws SQLException;
+    }
+
+    /**
+     * Legge in streaming tutti gli scatti di carriera dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaScattoCarriera {@link LetturaScattoCarriera} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    boolean obtainScattiCarriera(LetturaScattoCarriera letturaScattoCarriera) throws SQLException;
+
     /**
      * Ottiene tutti gli scatti di carriera, effettuati da un dipendente a tempo indeterminato, dal database, e li inserisce nelle liste specificate.
      *
@@ -65,17 +117,16 @@ public interface ScattoCarrieraDAO {
      *
      * @return {@link ArrayList}    Una lista di informazioni rappresentanti tutti gli scatti di carriera.
      */
-    ArrayList<String[]> getScattiCarriera();
+    ArrayList<RigaScattoCarriera> getScattiCarriera();
 
-    //Metodo utilizzato per convertire un resultSet in matrice
     /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
+     * Ottiene lo scatto di carriera del tipo e della data specificati, effettuato dal dipendente specificato.
+     *
+     * @param matricola   {@link String}     La matricola del dipendente.
+     * @param tipo        {@link String}     Il tipo dello scatto.
+     * @param data        {@link LocalDate}  La data dello scatto.
      *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
+     * @return {@link RigaScattoCarriera}  Le informazioni dello scatto, oppure null se non e' presente nel database.
      */
-    ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException;
-
+    RigaScattoCarriera getScattoCarriera(String matricola, String tipo, LocalDate data);
 }
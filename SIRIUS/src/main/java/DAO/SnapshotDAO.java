@@ -0,0 +1,20 @@
+package DAO;
+
+import java.sql.SQLException;
+
+/**
+ * Interfaccia che fornisce il caricamento di un'istantanea coerente di tutti i dati presenti in un qualsiasi database.
+ */
+public interface SnapshotDAO {
+
+    // QUERY
+    /**
+     * Legge tutte le tabelle del database in sola lettura, anche in parallelo su piu' connessioni, restituendone il contenuto
+     * cosi' come si presentava in un singolo istante.
+     *
+     * @return {@link SnapshotDati} L'istantanea dei dati letti.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    SnapshotDati caricaSnapshot() throws SQLException;
+}
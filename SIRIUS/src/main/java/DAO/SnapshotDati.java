@@ -0,0 +1,210 @@
+package DAO;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+/**
+ * Istantanea del contenuto del database, letta in sola lettura da transazioni che condividono lo stesso istante del database.
+ * Tutte le tabelle dell'istantanea riflettono lo stesso istante del database, e possono quindi essere utilizzate
+ * per costruire gli oggetti in memoria senza incoerenze dovute a modifiche concorrenti avvenute tra una lettura e l'altra.
+ *
+ * Ogni tabella dell'istantanea puo' essere consumata una sola volta, consegnandone le righe con le stesse interfacce
+ * delle letture in streaming dei DAO; al termine del consumo le righe vengono rilasciate.
+ *
+ * @see SnapshotDAO
+ */
+public class SnapshotDati {
+
+    private BufferDipendentiIndeterminati dipendentiIndeterminati;
+    private ArrayList<RigaScattoCarriera> scattiCarriera;
+    private ArrayList<RigaLaboratorio> laboratori;
+    private ArrayList<RigaAfferenza> afferenze;
+    private ArrayList<RigaProgetto> progetti;
+    private BufferDipendentiProgetto dipendentiProgetto;
+    private BufferAttrezzature attrezzature;
+    private ArrayList<RigaLavoro> lavori;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore dell'istantanea.
+     *
+     * @param dipendentiIndeterminati   {@link BufferDipendentiIndeterminati}   I dipendenti a tempo indeterminato letti.
+     * @param scattiCarriera            {@link ArrayList}                       Gli scatti di carriera letti.
+     * @param laboratori                {@link ArrayList}                       I laboratori letti.
+     * @param afferenze                 {@link ArrayList}                       Le afferenze lette.
+     * @param progetti                  {@link ArrayList}                       I progetti letti.
+     * @param dipendentiProgetto        {@link BufferDipendentiProgetto}        I dipendenti a progetto letti.
+     * @param attrezzature              {@link BufferAttrezzature}              Le attrezzature lette.
+     * @param lavori                    {@link ArrayList}                       Le istanze di lavoro lette.
+     */
+    public SnapshotDati(BufferDipendentiIndeterminati dipendentiIndeterminati, ArrayList<RigaScattoCarriera> scattiCarriera,
+                        ArrayList<RigaLaboratorio> laboratori, ArrayList<RigaAfferenza> afferenze, ArrayList<RigaProgetto> progetti,
+                        BufferDipendentiProgetto dipendentiProgetto, BufferAttrezzature attrezzature, ArrayList<RigaLavoro> lavori) {
+        this.dipendentiIndeterminati = dipendentiIndeterminati;
+        this.scattiCarriera = scattiCarriera;
+        this.laboratori = laboratori;
+        this.afferenze = afferenze;
+        this.progetti = progetti;
+        this.dipendentiProgetto = dipendentiProgetto;
+        this.attrezzature = attrezzature;
+        this.lavori = lavori;
+    }
+
+
+    //METODI
+    /**
+     * Consuma i dipendenti a tempo indeterminato dell'istantanea.
+     *
+     * @param letturaDipendenteIndeterminato {@link DipendenteIndeterminatoDAO.LetturaDipendenteIndeterminato} Il metodo che elabora ogni dipendente.
+     * @return True se sono stati consegnati tutti i dipendenti, false se il consumo e' stato interrotto dall'elaborazione.
+     * @throws SQLException Se l'elaborazione di un dipendente richiede un accesso al database che fallisce.
+     */
+    public boolean consumaDipendentiIndeterminati(DipendenteIndeterminatoDAO.LetturaDipendenteIndeterminato letturaDipendenteIndeterminato) throws SQLException {
+
+        BufferDipendentiIndeterminati buffer = disponibile(dipendentiIndeterminati);
+        dipendentiIndeterminati = null;
+
+        return buffer.consuma(letturaDipendenteIndeterminato);
+    }
+
+    /**
+     * Consuma gli scatti di carriera dell'istantanea.
+     *
+     * @param letturaScattoCarriera {@link ScattoCarrieraDAO.LetturaScattoCarriera} Il metodo che elabora ogni scatto.
+     * @return True se sono stati consegnati tutti gli scatti, false se il consumo e' stato interrotto dall'elaborazione.
+     * @throws SQLException Se l'elaborazione di uno scatto richiede un accesso al database che fallisce.
+     */
+    public boolean consumaScattiCarriera(ScattoCarrieraDAO.LetturaScattoCarriera letturaScattoCarriera) throws SQLException {
+
+        ArrayList<RigaScattoCarriera> righe = disponibile(scattiCarriera);
+        scattiCarriera = null;
+
+        for (RigaScattoCarriera riga : righe) {
+            if (!letturaScattoCarriera.leggi(riga.tipo(), riga.matricola(), riga.data()))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Consuma i laboratori dell'istantanea.
+     *
+     * @param letturaLaboratorio {@link LaboratorioDAO.LetturaLaboratorio} Il metodo che elabora ogni laboratorio.
+     * @return True se sono stati consegnati tutti i laboratori, false se il consumo e' stato interrotto dall'elaborazione.
+     * @throws SQLException Se l'elaborazione di un laboratorio richiede un accesso al database che fallisce.
+     */
+    public boolean consumaLaboratori(LaboratorioDAO.LetturaLaboratorio letturaLaboratorio) throws SQLException {
+
+        ArrayList<RigaLaboratorio> righe = disponibile(laboratori);
+        laboratori = null;
+
+        for (RigaLaboratorio riga : righe) {
+            if (!letturaLaboratorio.leggi(riga.nome(), riga.topic(), riga.responsabileScientifico()))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Consuma le afferenze dell'istantanea.
+     *
+     * @param letturaAfferenza {@link AfferireDAO.LetturaAfferenza} Il metodo che elabora ogni afferenza.
+     * @return True se sono state consegnate tutte le afferenze, false se il consumo e' stato interrotto dall'elaborazione.
+     * @throws SQLException Se l'elaborazione di un'afferenza richiede un accesso al database che fallisce.
+     */
+    public boolean consumaAfferenze(AfferireDAO.LetturaAfferenza letturaAfferenza) throws SQLException {
+
+        ArrayList<RigaAfferenza> righe = disponibile(afferenze);
+        afferenze = null;
+
+        for (RigaAfferenza riga : righe) {
+            if (!letturaAfferenza.leggi(riga.matricola(), riga.nomeLab()))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Consuma i progetti dell'istantanea.
+     *
+     * @param letturaProgetto {@link ProgettoDAO.LetturaProgetto} Il metodo che elabora ogni progetto.
+     * @return True se sono stati consegnati tutti i progetti, false se il consumo e' stato interrotto dall'elaborazione.
+     * @throws SQLException Se l'elaborazione di un progetto richiede un accesso al database che fallisce.
+     */
+    public boolean consumaProgetti(ProgettoDAO.LetturaProgetto letturaProgetto) throws SQLException {
+
+        ArrayList<RigaProgetto> righe = disponibile(progetti);
+        progetti = null;
+
+        for (RigaProgetto riga : righe) {
+            if (!letturaProgetto.leggi(riga.nome(), riga.cup(), riga.budget(), riga.dataInizio(), riga.dataFine(),
+                                       riga.referenteScientifico(), riga.responsabile()))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Consuma i dipendenti a progetto dell'istantanea.
+     *
+     * @param letturaDipendenteProgetto {@link DipendenteProgettoDAO.LetturaDipendenteProgetto} Il metodo che elabora ogni dipendente.
+     * @return True se sono stati consegnati tutti i dipendenti, false se il consumo e' stato interrotto dall'elaborazione.
+     * @throws SQLException Se l'elaborazione di un dipendente richiede un accesso al database che fallisce.
+     */
+    public boolean consumaDipendentiProgetto(DipendenteProgettoDAO.LetturaDipendenteProgetto letturaDipendenteProgetto) throws SQLException {
+
+        BufferDipendentiProgetto buffer = disponibile(dipendentiProgetto);
+        dipendentiProgetto = null;
+
+        return buffer.consuma(letturaDipendenteProgetto);
+    }
+
+    /**
+     * Consuma le attrezzature dell'istantanea.
+     *
+     * @param letturaAttrezzatura {@link AttrezzaturaDAO.LetturaAttrezzatura} Il metodo che elabora ogni attrezzatura.
+     * @return True se sono state consegnate tutte le attrezzature, false se il consumo e' stato interrotto dall'elaborazione.
+     * @throws SQLException Se l'elaborazione di un'attrezzatura richiede un accesso al database che fallisce.
+     */
+    public boolean consumaAttrezzature(AttrezzaturaDAO.LetturaAttrezzatura letturaAttrezzatura) throws SQLException {
+
+        BufferAttrezzature buffer = disponibile(attrezzature);
+        attrezzature = null;
+
+        return buffer.consuma(letturaAttrezzatura);
+    }
+
+    /**
+     * Consuma le istanze di lavoro dell'istantanea.
+     *
+     * @param letturaLavoro {@link LavorareDAO.LetturaLavoro} Il metodo che elabora ogni istanza di lavoro.
+     * @return True se sono state consegnate tutte le istanze di lavoro, false se il consumo e' stato interrotto dall'elaborazione.
+     * @throws SQLException Se l'elaborazione di un'istanza di lavoro richiede un accesso al database che fallisce.
+     */
+    public boolean consumaLavori(LavorareDAO.LetturaLavoro letturaLavoro) throws SQLException {
+
+        ArrayList<RigaLavoro> righe = disponibile(lavori);
+        lavori = null;
+
+        for (RigaLavoro riga : righe) {
+            if (!letturaLavoro.leggi(riga.cup(), riga.nomeLab()))
+                return false;
+        }
+
+        return true;
+    }
+
+    //Verifica che la tabella dell'istantanea non sia gia' stata consumata
+    private static <T> T disponibile(T tabella) {
+
+        if (tabella == null)
+            throw new IllegalStateException("La tabella dell'istantanea e' gia' stata consumata");
+
+        return tabella;
+    }
+}
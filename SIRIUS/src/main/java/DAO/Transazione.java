@@ -0,0 +1,40 @@
+package DAO;
+
+import java.sql.SQLException;
+
+/**
+ * Transazione che raccoglie tutte le operazioni eseguite tramite i DAO di un {@link FornitoreDAO} per una singola azione dell'utente.
+ *
+ * Finche' una transazione e' aperta sul thread corrente, le operazioni eseguite dai DAO dello stesso fornitore ne fanno parte.
+ * Le modifiche vengono rese definitive alla chiamata di {@link #conferma()}; se la transazione viene chiusa senza conferma,
+ * o se durante l'esecuzione un'istruzione e' fallita, tutte le modifiche vengono annullate.
+ *
+ * Le transazioni sono rientranti: aprire una transazione mentre un'altra e' gia' aperta sullo stesso thread
+ * la estende, e le modifiche vengono confermate solo dal livello piu' esterno.
+ *
+ * @see FornitoreDAO#apriTransazione()
+ */
+public interface Transazione extends AutoCloseable {
+
+    /**
+     * Conferma la transazione. Se chiamato dal livello piu' esterno, rende definitive tutte le modifiche;
+     * se durante la transazione un'istruzione e' fallita, le modifiche vengono invece annullate e viene lanciata un'eccezione.
+     *
+     * @throws SQLException Se un'istruzione della transazione e' fallita o se la conferma non riesce.
+     */
+    void conferma() throws SQLException;
+
+    /**
+     * Restituisce il numero di istruzioni eseguite finora nella transazione.
+     *
+     * @return Il numero di istruzioni eseguite.
+     */
+    int getStatementEseguiti();
+
+    /**
+     * Chiude la transazione. Se chiamato dal livello piu' esterno, annulla le modifiche non confermate;
+     * se chiamato da un livello interno senza conferma, l'intera transazione verra' annullata.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,224 @@
+package Database;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ascolta, su una connessione fisica dedicata, le notifiche delle modifiche effettuate sul database dagli altri client,
+ * e le consegna al proprio {@link Destinatario}.
+ *
+ * Le notifiche vengono emesse dai trigger delle tabelle dello schema azienda solo al commit delle transazioni, e vengono
+ * consegnate a gruppi, nell'ordine di conferma, dal thread di ascolto. Le notifiche delle modifiche effettuate da questo client,
+ * gia' applicate al suo modello in memoria, vengono scartate confrontandone l'origine con {@link ConnessioneDatabase#getIdentificativoClient()}.
+ *
+ * Le notifiche emesse mentre la connessione dedicata non e' in ascolto vengono perse: il destinatario viene quindi avvisato
+ * sia dell'interruzione dell'ascolto, sia del suo avvio, dopo il quale deve considerare superati i dati letti in precedenza.
+ * Dopo la perdita della connessione, l'ascolto viene ritentato periodicamente fino alla chiamata di {@link #ferma()}.
+ */
+public class AscoltatoreNotifiche {
+
+    /**
+     * Il destinatario delle notifiche, invocato dal thread di ascolto.
+     */
+    public interface Destinatario {
+
+        /**
+         * Segnala che l'ascolto e' attivo: le modifiche confermate da questo momento in poi verranno notificate.
+         */
+        void ascoltoAvviato();
+
+        /**
+         * Consegna un gruppo di modifiche effettuate da altri client, nell'ordine in cui sono state confermate.
+         *
+         * @param notifiche {@link List}    Le modifiche notificate.
+         */
+        void modificheNotificate(List<NotificaModifica> notifiche);
+
+        /**
+         * Segnala che l'ascolto e' stato interrotto, e che le modifiche successive potrebbero non essere notificate.
+         */
+        void ascoltoInterrotto();
+    }
+
+    private final Destinatario destinatario;
+    private final Thread thread;
+    private volatile boolean attivo = true;
+
+    //METRICHE
+    private final AtomicLong notificheRicevute = new AtomicLong();
+    private final AtomicLong notificheProprie = new AtomicLong();
+    private final AtomicLong connessioniPerse = new AtomicLong();
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore dell'ascoltatore. L'ascolto inizia solo alla chiamata di {@link #avvia()}.
+     *
+     * @param destinatario  {@link Destinatario}    Il destinatario delle notifiche.
+     */
+    public AscoltatoreNotifiche(Destinatario destinatario) {
+        this.destinatario = destinatario;
+
+        thread = new Thread(this::ascolta, "ascoltatore-notifiche");
+        thread.setDaemon(true);
+    }
+
+
+    //METODI
+    /**
+     * Avvia il thread di ascolto delle notifiche.
+     */
+    public void avvia() {
+        thread.start();
+    }
+
+    /**
+     * Termina l'ascolto delle notifiche e chiude la connessione dedicata, entro l'attesa massima di una notifica.
+     */
+    public void ferma() {
+        attivo = false;
+        thread.interrupt();
+    }
+
+    //Mantiene l'ascolto delle notifiche, riaprendo la connessione dedicata se viene persa
+    private void ascolta() {
+
+        while (attivo) {
+
+            try (Connection connessione = ConnessioneDatabase.getInstance().apriConnessioneDedicata()) {
+
+                ConnessioneDatabase connessioneDatabase = ConnessioneDatabase.getInstance();
+
+                // Senza i trigger di notifica nessuna modifica verrebbe notificata, ed il destinatario non deve quindi considerare attivo l'ascolto
+                if (!triggerDefiniti(connessione)) {
+                    System.out.println("Trigger di notifica delle modifiche non definiti nel database: ascolto delle notifiche terminato.");
+                    attivo = false;
+                    return;
+                }
+
+                try (Statement statement = connessione.createStatement()) {
+                    statement.execute("LISTEN " + connessioneDatabase.getCanaleNotifiche());
+                }
+
+                PGConnection connessionePostgres = connessione.unwrap(PGConnection.class);
+
+                destinatario.ascoltoAvviato();
+
+                while (attivo) {
+
+                    PGNotification[] notifiche = connessionePostgres.getNotifications(connessioneDatabase.getAttesaNotificheMillis());
+
+                    if (notifiche != null && notifiche.length > 0)
+                        consegna(notifiche, connessioneDatabase.getIdentificativoClient());
+                }
+
+            } catch (SQLException sqlException) {
+
+                if (!attivo)
+                    return;
+
+                connessioniPerse.incrementAndGet();
+                sqlException.printStackTrace();
+            }
+
+            destinatario.ascoltoInterrotto();
+
+            try {
+                if (attivo)
+                    Thread.sleep(ConnessioneDatabase.getInstance().getAttesaRiconnessioneMillis());
+            } catch (InterruptedException interruptedException) {
+                return;
+            } catch (SQLException sqlException) {
+                sqlException.printStackTrace();
+            }
+        }
+    }
+
+    //Verifica se il database definisce la funzione dei trigger di notifica delle modifiche
+    private static boolean triggerDefiniti(Connection connessione) throws SQLException {
+
+        String query = "SELECT EXISTS (SELECT 1 FROM pg_proc AS P JOIN pg_namespace AS N ON P.pronamespace = N.oid " +
+                       "WHERE N.nspname = 'azienda' AND P.proname = 'notifica_modifica')";
+
+        try (Statement statement = connessione.createStatement(); ResultSet result = statement.executeQuery(query)) {
+            return result.next() && result.getBoolean(1);
+        }
+    }
+
+    //Consegna al destinatario le notifiche degli altri client, scartando quelle di questo client e quelle non riconosciute
+    private void consegna(PGNotification[] notifiche, String identificativoClient) {
+
+        ArrayList<NotificaModifica> modifiche = new ArrayList<>(notifiche.length);
+
+        for (PGNotification notifica : notifiche) {
+
+            notificheRicevute.incrementAndGet();
+
+            try {
+                NotificaModifica modifica = NotificaModifica.interpreta(notifica.getParameter());
+
+                if (modifica.origine().equals(identificativoClient))
+                    notificheProprie.incrementAndGet();
+                else
+                    modifiche.add(modifica);
+
+            } catch (IllegalArgumentException illegalArgumentException) {
+                illegalArgumentException.printStackTrace();
+            }
+        }
+
+        if (modifiche.isEmpty())
+            return;
+
+        // Un errore del destinatario non interrompe l'ascolto delle notifiche successive
+        try {
+            destinatario.modificheNotificate(modifiche);
+        } catch (RuntimeException runtimeException) {
+            runtimeException.printStackTrace();
+        }
+    }
+
+    /**
+     * Verifica se il thread di ascolto e' in esecuzione.
+     *
+     * @return True se l'ascolto non e' stato terminato, altrimenti false.
+     */
+    public boolean isAttivo() {
+        return attivo && thread.isAlive();
+    }
+
+    /**
+     * Restituisce il numero di notifiche ricevute dal database, comprese quelle delle modifiche di questo client.
+     *
+     * @return Il numero di notifiche ricevute.
+     */
+    public long getNotificheRicevute() {
+        return notificheRicevute.get();
+    }
+
+    /**
+     * Restituisce il numero di notifiche scartate perche' relative alle modifiche effettuate da questo client.
+     *
+     * @return Il numero di notifiche proprie scartate.
+     */
+    public long getNotificheProprie() {
+        return notificheProprie.get();
+    }
+
+    /**
+     * Restituisce il numero di volte in cui la connessione dedicata all'ascolto e' stata persa.
+     *
+     * @return Il numero di connessioni perse.
+     */
+    public long getConnessioniPerse() {
+        return connessioniPerse.get();
+    }
+}
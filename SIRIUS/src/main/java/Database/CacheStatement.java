@@ -0,0 +1,102 @@
+package Database;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache dei {@link PreparedStatement} di una singola connessione fisica, indicizzata sul testo SQL.
+ * Poiche' le connessioni fisiche restano aperte nel pool, riutilizzare lo stesso statement per la stessa query
+ * evita di ripetere la preparazione e permette al driver di riutilizzare il piano di esecuzione lato server.
+ *
+ * Uno statement prelevato dalla cache ne viene rimosso finche' non viene restituito, in modo che due utilizzi
+ * contemporanei della stessa query sulla stessa connessione non condividano lo stesso statement.
+ * Quando la cache supera la dimensione massima, lo statement usato meno di recente viene chiuso.
+ *
+ * @see ConnessioneFisica
+ */
+class CacheStatement {
+
+    private final LinkedHashMap<String, PreparedStatement> statement;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore della cache.
+     *
+     * @param dimensioneMassima Il numero massimo di statement mantenuti nella cache.
+     */
+    CacheStatement(int dimensioneMassima) {
+
+        this.statement = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > dimensioneMassima) {
+                    chiudiStatement(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+
+    //METODI
+    /**
+     * Preleva dalla cache lo statement associato alla query specificata.
+     *
+     * @param sql   {@link String}  Il testo SQL della query.
+     * @return {@link PreparedStatement}    Lo statement in cache, oppure null se la query non e' presente.
+     */
+    synchronized PreparedStatement preleva(String sql) {
+        return statement.remove(sql);
+    }
+
+    /**
+     * Restituisce alla cache uno statement prelevato in precedenza, dopo averne azzerato i parametri.
+     * Se lo statement e' stato chiuso, o se la cache contiene gia' uno statement per la stessa query, viene scartato.
+     *
+     * @param sql                   {@link String}              Il testo SQL della query.
+     * @param preparedStatement     {@link PreparedStatement}   Lo statement da restituire.
+     */
+    synchronized void restituisci(String sql, PreparedStatement preparedStatement) {
+
+        try {
+            if (preparedStatement.isClosed())
+                return;
+
+            preparedStatement.clearParameters();
+        } catch (SQLException sqlException) {
+            chiudiStatement(preparedStatement);
+            return;
+        }
+
+        if (statement.putIfAbsent(sql, preparedStatement) != null)
+            chiudiStatement(preparedStatement);
+    }
+
+    /**
+     * Chiude tutti gli statement presenti nella cache e la svuota.
+     */
+    synchronized void chiudi() {
+
+        for (PreparedStatement preparedStatement : statement.values())
+            chiudiStatement(preparedStatement);
+
+        statement.clear();
+    }
+
+    /**
+     * Chiude uno statement, ignorando eventuali errori (lo statement viene comunque scartato).
+     *
+     * @param preparedStatement     {@link PreparedStatement}   Lo statement da chiudere.
+     */
+    private static void chiudiStatement(PreparedStatement preparedStatement) {
+        try {
+            preparedStatement.close();
+        } catch (SQLException sqlException) {
+            sqlException.printStackTrace();
+        }
+    }
+}
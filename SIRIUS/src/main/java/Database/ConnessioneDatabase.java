@@ -1,88 +1,248 @@
 package Database;
 
 import java.sql.*;
+import java.util.UUID;
 
 /**
- * Questa classe gestisce la connessione a un database PostgreSQL utilizzando il pattern Singleton.
- * Solo un'istanza di questa classe è consentita per garantire che ci sia una sola connessione al database
- * in tutto l'applicativo.
+ * Questa classe gestisce l'accesso a un database PostgreSQL utilizzando il pattern Singleton.
+ * L'unica istanza della classe mantiene un {@link PoolConnessioni} limitato, condiviso da tutto l'applicativo,
+ * in modo che le connessioni fisiche vengano riutilizzate invece di essere aperte e chiuse a ogni operazione.
  *
- * La classe fornisce un metodo statico {@link #getInstance()} per ottenere un'istanza dell'oggetto di connessione al database.
- * Una volta ottenuta un'istanza di questa classe, è possibile ottenere la connessione al database tramite
+ * La classe fornisce un metodo statico {@link #getInstance()} per ottenere l'istanza della classe.
+ * Una volta ottenuta l'istanza, è possibile ottenere una connessione al database tramite
  * il metodo {@link #getConnection()} per eseguire query e interagire con il database.
+ * La chiusura della connessione ottenuta restituisce la connessione fisica al pool.
  *
  * @see Connection
- * @see DriverManager
+ * @see PoolConnessioni
  */
 public class ConnessioneDatabase {
 
     private static ConnessioneDatabase instance;
-    private Connection connection = null;
+    private PoolConnessioni pool = null;
     private String userName = "postgres";
     private String password = "password";
-    private String url = "jdbc:postgresql://localhost:5432/azienda";
+    private String url = "jdbc:postgresql://localhost:5432/azienda?reWriteBatchedInserts=true";
 
     private String driver = "org.postgresql.Driver";
 
+    //CONFIGURAZIONE DEL POOL
+    private int dimensioneMassimaPool = 8;
+    private long attesaMassimaMillis = 10_000;
+    private long inattivitaMassimaMillis = 5 * 60_000;
+    private long durataMassimaMillis = 30 * 60_000;
+    private int dimensioneCacheStatement = 64;
+
+    //CONFIGURAZIONE DELLE SCRITTURE IN BATCH
+    private int dimensioneBatch = 500;
+
+    //CONFIGURAZIONE DELLE LETTURE IN STREAMING
+    private int dimensioneFetch = 1000;
+
+    //CONFIGURAZIONE DEL CARICAMENTO ALL'AVVIO
+    private int lettoriParalleli = 4;
+
+    //CONFIGURAZIONE DELLE METRICHE DEI DAO
+    // Intervallo della stampa periodica delle metriche sullo standard output, 0 per consultarle solo tramite JMX
+    private long intervalloDumpMetricheMillis = 5 * 60_000;
+
+    //CONFIGURAZIONE DELLE NOTIFICHE DELLE MODIFICHE
+    private String canaleNotifiche = "azienda_modifiche";
+    private int attesaNotificheMillis = 500;
+    private long attesaRiconnessioneMillis = 5_000;
+
+    // Identifica le connessioni di questo client nelle notifiche delle modifiche, per distinguerle da quelle degli altri client
+    private final String identificativoClient = "SIRIUS-" + UUID.randomUUID();
+
 
 
     //COSTRUTTORE
     /**
-     * Costruttore privato della classe. Questo costruttore si occupa di stabilire la connessione al database
-     * utilizzando le credenziali specificate come attributi privati. Se il driver o la connessione falliscono,
-     * vengono gestite le eccezioni corrispondenti.
+     * Costruttore privato della classe. Questo costruttore si occupa di caricare il driver del database e di creare
+     * il pool di connessioni utilizzando le credenziali specificate come attributi privati.
+     * Le connessioni fisiche vengono aperte dal pool solo quando richieste.
      *
      */
     private ConnessioneDatabase() {
 
         try{
             Class.forName(driver);
-            connection = DriverManager.getConnection(url, userName, password);
         }
         catch (ClassNotFoundException classNotFoundException){
             System.out.println("Database Driver non trovato!");
             classNotFoundException.printStackTrace();
         }
-        catch (SQLException sqlException){
-            System.out.println("Connessione non riuscita!");
-            sqlException.printStackTrace();
-        }
+
+        pool = new PoolConnessioni(urlClient(), userName, password, dimensioneMassimaPool, attesaMassimaMillis, inattivitaMassimaMillis, durataMassimaMillis, dimensioneCacheStatement);
+
+        //Le metriche del pool e dei DAO vengono pubblicate via JMX e, se configurato, stampate periodicamente
+        MetricheDAO.getInstance().pubblicaPool(pool);
+        MetricheDAO.getInstance().avviaDumpPeriodico(intervalloDumpMetricheMillis);
+
+        //Alla chiusura dell'applicativo si chiudono tutte le connessioni fisiche ancora aperte
+        Runtime.getRuntime().addShutdownHook(new Thread(pool::chiudi, "pool-connessioni-chiusura"));
     }
 
 
     //METODI
     /* Singleton pattern: costruttore privato accessibile solo all'interno della classe stessa (da questo metodo).
-     * Serve per impedire di poter creare piu' connessioni al database in qualunque parte del codice (ne deve essere solo una).
-     * Le altre classi potranno utilizzare solo questo metodo per richiedere un riferimento all'oggetto della connessione o crearne una
-     * nuova se non esiste gia'
+     * Serve per impedire di poter creare piu' pool di connessioni al database in qualunque parte del codice (ne deve essere solo uno).
+     * Le altre classi potranno utilizzare solo questo metodo per richiedere un riferimento all'oggetto che gestisce il pool.
      */
 
     /**
-     * Restituisce un'istanza unica di questa classe. Se non esiste già un'istanza o se l'istanza
-     * esistente è stata chiusa, viene creata una nuova istanza.
+     * Restituisce un'istanza unica di questa classe. Se non esiste già un'istanza, viene creata insieme al pool di connessioni.
      *
      * @return un'istanza di ConnessioneDatabase
-     * @throws SQLException se la creazione di una nuova connessione fallisce.
+     * @throws SQLException se la creazione dell'istanza fallisce.
      */
-    public static ConnessioneDatabase getInstance() throws SQLException{
+    public static synchronized ConnessioneDatabase getInstance() throws SQLException{
 
         if (instance == null)
             instance = new ConnessioneDatabase();
-        else if (instance.getConnection().isClosed()) {
-            instance = new ConnessioneDatabase();
-        }
 
         return instance;
     }
 
-    //Restituisce la connessione al database tramite la quale poter effettuare query
+    //Restituisce una connessione al database tramite la quale poter effettuare query
     /**
-     * Restituisce la connessione al database attualmente aperta. Questa connessione può essere utilizzata
-     * per eseguire query e interagire con il database.
+     * Restituisce una connessione al database appartenente al pool. La connessione fisica viene prelevata dal pool
+     * al primo utilizzo e restituita al pool alla chiamata di {@link Connection#close()}; dopo la restituzione la
+     * connessione puo' essere riutilizzata, prelevando nuovamente una connessione fisica dal pool.
      *
      * @return l'oggetto Connection per il database.
      */
     public Connection getConnection(){
-        return connection;
+        return ConnessioneLogica.crea(pool);
+    }
+
+    /**
+     * Apre una connessione fisica dedicata, esterna al pool, ad esempio per restare in ascolto delle notifiche del database
+     * per tutta la durata dell'applicativo. La connessione deve essere chiusa dal chiamante.
+     *
+     * @return l'oggetto Connection dedicato.
+     * @throws SQLException se la connessione al database non riesce.
+     */
+    public Connection apriConnessioneDedicata() throws SQLException {
+        return DriverManager.getConnection(urlClient(), userName, password);
+    }
+
+    //Restituisce l'url del database, con il nome dell'applicativo che identifica le connessioni di questo client
+    private String urlClient() {
+        return url + (url.contains("?") ? "&" : "?") + "ApplicationName=" + identificativoClient;
+    }
+
+    /**
+     * Restituisce l'identificativo di questo client, riportato come application_name dalle sue connessioni e quindi
+     * come origine delle notifiche delle modifiche che effettua.
+     *
+     * @return {@link String}   L'identificativo del client.
+     */
+    public String getIdentificativoClient() {
+        return identificativoClient;
+    }
+
+    /**
+     * Restituisce il canale sul quale i trigger del database notificano le modifiche alle tabelle.
+     *
+     * @return {@link String}   Il nome del canale delle notifiche.
+     */
+    public String getCanaleNotifiche() {
+        return canaleNotifiche;
+    }
+
+    /**
+     * Restituisce il tempo massimo di attesa di nuove notifiche, trascorso il quale l'ascolto verifica se deve essere terminato.
+     *
+     * @return L'attesa delle notifiche, in millisecondi.
+     */
+    public int getAttesaNotificheMillis() {
+        return attesaNotificheMillis;
+    }
+
+    /**
+     * Restituisce il tempo di attesa prima di ritentare l'ascolto delle notifiche, dopo la perdita della connessione dedicata.
+     *
+     * @return L'attesa prima della riconnessione, in millisecondi.
+     */
+    public long getAttesaRiconnessioneMillis() {
+        return attesaRiconnessioneMillis;
+    }
+
+    /**
+     * Restituisce il pool di connessioni, ad esempio per consultarne le metriche.
+     *
+     * @return {@link PoolConnessioni}  Il pool di connessioni al database.
+     */
+    public PoolConnessioni getPool() {
+        return pool;
+    }
+
+    /**
+     * Restituisce il numero massimo di righe inviate al database in un'unica esecuzione di una scrittura in batch.
+     *
+     * @return La dimensione dei gruppi delle scritture in batch.
+     */
+    public int getDimensioneBatch() {
+        return dimensioneBatch;
+    }
+
+    /**
+     * Imposta il numero massimo di righe inviate al database in un'unica esecuzione di una scrittura in batch.
+     *
+     * @param dimensioneBatch   La nuova dimensione dei gruppi delle scritture in batch, maggiore di zero.
+     */
+    public void setDimensioneBatch(int dimensioneBatch) {
+
+        if (dimensioneBatch <= 0)
+            throw new IllegalArgumentException("La dimensione del batch deve essere positiva");
+
+        this.dimensioneBatch = dimensioneBatch;
+    }
+
+    /**
+     * Restituisce il numero di righe trasferite dal database per ogni blocco di una lettura in streaming.
+     *
+     * @return La dimensione dei blocchi delle letture in streaming.
+     */
+    public int getDimensioneFetch() {
+        return dimensioneFetch;
+    }
+
+    /**
+     * Imposta il numero di righe trasferite dal database per ogni blocco di una lettura in streaming.
+     * Valori piu' piccoli riducono la memoria occupata dal driver, valori piu' grandi riducono il numero di round trip.
+     *
+     * @param dimensioneFetch   La nuova dimensione dei blocchi delle letture in streaming, maggiore di zero.
+     */
+    public void setDimensioneFetch(int dimensioneFetch) {
+
+        if (dimensioneFetch <= 0)
+            throw new IllegalArgumentException("La dimensione del fetch deve essere positiva");
+
+        this.dimensioneFetch = dimensioneFetch;
+    }
+
+    /**
+     * Restituisce il numero di tabelle lette contemporaneamente, su connessioni fisiche distinte, durante il caricamento all'avvio.
+     *
+     * @return Il numero di letture parallele del caricamento.
+     */
+    public int getLettoriParalleli() {
+        return lettoriParalleli;
+    }
+
+    /**
+     * Imposta il numero di tabelle lette contemporaneamente durante il caricamento all'avvio. Ogni lettura occupa una connessione
+     * del pool, oltre a quella che mantiene l'istantanea condivisa: il numero effettivo e' quindi limitato dalla dimensione del pool.
+     *
+     * @param lettoriParalleli  Il nuovo numero di letture parallele, maggiore di zero; con 1 le tabelle vengono lette una alla volta.
+     */
+    public void setLettoriParalleli(int lettoriParalleli) {
+
+        if (lettoriParalleli <= 0)
+            throw new IllegalArgumentException("Il numero di letture parallele deve essere positivo");
+
+        this.lettoriParalleli = lettoriParalleli;
     }
 }
@@ -0,0 +1,96 @@
+package Database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Rappresenta una connessione fisica al database gestita dal {@link PoolConnessioni}.
+ * Oltre alla connessione JDBC vera e propria, mantiene gli istanti di creazione e di ultimo utilizzo,
+ * necessari al pool per applicare le politiche di validazione, di scadenza per inattivita' e di durata massima,
+ * e la cache degli statement preparati sulla connessione.
+ *
+ * @see PoolConnessioni
+ */
+class ConnessioneFisica {
+
+    private final Connection connection;
+    private final CacheStatement cacheStatement;
+    private final long istanteCreazione;
+    private long istanteUltimoUtilizzo;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore della connessione fisica.
+     *
+     * @param connection                  {@link Connection}  La connessione JDBC appena aperta verso il database.
+     * @param dimensioneCacheStatement    Il numero massimo di statement preparati mantenuti in cache sulla connessione.
+     */
+    ConnessioneFisica(Connection connection, int dimensioneCacheStatement) {
+        this.connection = connection;
+        this.cacheStatement = new CacheStatement(dimensioneCacheStatement);
+        this.istanteCreazione = System.nanoTime();
+        this.istanteUltimoUtilizzo = this.istanteCreazione;
+    }
+
+
+    //METODI
+    /**
+     * Restituisce la connessione JDBC sottostante.
+     *
+     * @return {@link Connection}   La connessione fisica al database.
+     */
+    Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Restituisce la cache degli statement preparati sulla connessione.
+     *
+     * @return {@link CacheStatement}   La cache degli statement della connessione.
+     */
+    CacheStatement getCacheStatement() {
+        return cacheStatement;
+    }
+
+    /**
+     * Restituisce da quanti nanosecondi la connessione e' stata aperta.
+     *
+     * @param adesso    Istante corrente, ottenuto tramite {@link System#nanoTime()}.
+     * @return Eta' della connessione in nanosecondi.
+     */
+    long getEta(long adesso) {
+        return adesso - istanteCreazione;
+    }
+
+    /**
+     * Restituisce da quanti nanosecondi la connessione e' inutilizzata.
+     *
+     * @param adesso    Istante corrente, ottenuto tramite {@link System#nanoTime()}.
+     * @return Tempo di inattivita' della connessione in nanosecondi.
+     */
+    long getInattivita(long adesso) {
+        return adesso - istanteUltimoUtilizzo;
+    }
+
+    /**
+     * Registra l'istante corrente come ultimo utilizzo della connessione.
+     */
+    void aggiornaUltimoUtilizzo() {
+        this.istanteUltimoUtilizzo = System.nanoTime();
+    }
+
+    /**
+     * Chiude definitivamente la connessione fisica, ignorando eventuali errori (la connessione viene comunque scartata).
+     */
+    void chiudi() {
+
+        cacheStatement.chiudi();
+
+        try {
+            connection.close();
+        } catch (SQLException sqlException) {
+            sqlException.printStackTrace();
+        }
+    }
+}
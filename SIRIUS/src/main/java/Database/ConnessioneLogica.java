@@ -0,0 +1,233 @@
+package Database;
+
+import java.lang.ref.Cleaner;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * Connessione logica consegnata ai DAO al posto della connessione fisica.
+ * Preleva una connessione dal {@link PoolConnessioni} al primo utilizzo e la restituisce al pool quando viene invocato
+ * {@link Connection#close()}, senza chiudere la connessione fisica sottostante.
+ * Dopo la restituzione la connessione logica resta utilizzabile: un nuovo utilizzo preleva nuovamente una connessione dal pool.
+ * Gli statement preparati con {@link Connection#prepareStatement(String)} vengono presi dalla cache della connessione fisica
+ * e vi vengono riposti alla restituzione; gli altri statement creati tramite la connessione logica vengono chiusi alla
+ * restituzione, cosi' da non accumularsi sulla connessione fisica che rimane aperta nel pool.
+ *
+ * Se la connessione logica viene creata mentre sul thread corrente e' aperta una {@link UnitaDiLavoro}, utilizza la
+ * connessione fisica dell'unita' di lavoro invece di prelevarne una dal pool: la sua chiusura non restituisce la connessione,
+ * e gli statement consegnati registrano nell'unita' di lavoro le istruzioni eseguite e gli eventuali errori.
+ *
+ * Se la connessione viene usata durante un'invocazione di un DAO misurato da {@link MetricheDAO}, gli statement consegnati
+ * registrano nelle metriche dell'invocazione gli errori del database, le righe lette e modificate e i byte letti.
+ *
+ * Se un DAO viene abbandonato senza restituire la connessione, questa viene comunque riconsegnata al pool
+ * quando la connessione logica viene raccolta dal garbage collector.
+ *
+ * @see PoolConnessioni
+ */
+class ConnessioneLogica implements InvocationHandler {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Prelievo prelievo;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore privato della connessione logica: le istanze vengono create tramite {@link #crea(PoolConnessioni)}.
+     *
+     * @param prelievo  {@link Prelievo}    Lo stato del prelievo condiviso con l'azione di pulizia.
+     */
+    private ConnessioneLogica(Prelievo prelievo) {
+        this.prelievo = prelievo;
+    }
+
+
+    //METODI
+    /**
+     * Crea una nuova connessione logica associata al pool specificato, o all'unita' di lavoro aperta sul thread corrente.
+     *
+     * @param pool  {@link PoolConnessioni}     Il pool da cui prelevare la connessione fisica.
+     * @return {@link Connection}   La connessione logica da consegnare ai DAO.
+     */
+    static Connection crea(PoolConnessioni pool) {
+
+        Prelievo prelievo = new Prelievo(pool, UnitaDiLavoro.getCorrente());
+
+        Connection connessione = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnessioneLogica(prelievo));
+
+        CLEANER.register(connessione, prelievo);
+
+        return connessione;
+    }
+
+    /**
+     * Inoltra ogni invocazione alla connessione fisica prelevata, prelevandola se necessario.
+     * L'invocazione di "close" restituisce la connessione fisica al pool, mentre la preparazione di uno statement
+     * a partire dal solo testo SQL passa per la cache degli statement.
+     */
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+        switch (method.getName()) {
+            case "close":
+                prelievo.run();
+                return null;
+
+            case "isClosed":
+                return !prelievo.isAttivo();
+
+            case "equals":
+                return proxy == args[0];
+
+            case "hashCode":
+                return System.identityHashCode(proxy);
+
+            case "toString":
+                return "ConnessioneLogica[" + (prelievo.isAttivo() ? "prelevata" : "restituita") + "]";
+        }
+
+        Object risultato;
+
+        try {
+            if (method.getName().equals("prepareStatement") && args.length == 1) {
+                risultato = prelievo.prepara((String) args[0]);
+            } else {
+                try {
+                    risultato = method.invoke(prelievo.getConnection(), args);
+                } catch (InvocationTargetException invocationTargetException) {
+                    throw invocationTargetException.getCause();
+                }
+
+                if (risultato instanceof Statement)
+                    prelievo.registraStatement((Statement) risultato);
+            }
+        } catch (SQLException sqlException) {
+            // Anche il mancato prelievo di una connessione e' un errore dell'eventuale invocazione misurata in corso
+            MetricheDAO.registraErrore();
+            throw sqlException;
+        }
+
+        // All'interno di un'unita' di lavoro gli statement vengono controllati, per contarne le esecuzioni e rilevarne gli errori
+        if (risultato instanceof Statement && prelievo.getUnitaDiLavoro() != null)
+            risultato = StatementControllato.crea((Statement) risultato, method.getReturnType(), prelievo.getUnitaDiLavoro());
+
+        // Durante la verifica dei piani di esecuzione gli statement registrano le istruzioni eseguite
+        if (risultato instanceof Statement && RegistroInterrogazioni.isAttivo())
+            risultato = RegistroInterrogazioni.crea((Statement) risultato, method.getReturnType());
+
+        // Durante un'invocazione di un DAO misurato gli statement registrano nelle sue metriche errori, righe e byte letti
+        MetricheOperazione.Misurazione misurazione = MetricheDAO.getMisurazioneCorrente();
+
+        if (risultato instanceof Statement && misurazione != null)
+            risultato = StatementMisurato.crea((Statement) risultato, method.getReturnType(), misurazione);
+
+        return risultato;
+    }
+
+
+    /**
+     * Stato del prelievo di una connessione logica: mantiene il riferimento alla connessione fisica prelevata,
+     * o a quella dell'unita' di lavoro a cui la connessione logica e' associata.
+     * E' separato dalla connessione logica perche' viene usato anche come azione di pulizia dal {@link Cleaner},
+     * e quindi non deve mantenere riferimenti alla connessione logica stessa.
+     */
+    private static class Prelievo implements Runnable {
+
+        private final PoolConnessioni pool;
+        private final UnitaDiLavoro unitaDiLavoro;
+        private ConnessioneFisica connessioneFisica = null;
+        private final ArrayList<Statement> statementAperti = new ArrayList<>();
+        private final ArrayList<Map.Entry<String, PreparedStatement>> statementInCache = new ArrayList<>();
+
+        Prelievo(PoolConnessioni pool, UnitaDiLavoro unitaDiLavoro) {
+            this.pool = pool;
+            this.unitaDiLavoro = unitaDiLavoro;
+        }
+
+        UnitaDiLavoro getUnitaDiLavoro() {
+            return unitaDiLavoro;
+        }
+
+        synchronized boolean isAttivo() {
+            return connessioneFisica != null;
+        }
+
+        synchronized Connection getConnection() throws SQLException {
+
+            if (unitaDiLavoro != null && unitaDiLavoro.isChiusa())
+                throw new SQLException("L'unita' di lavoro a cui e' associata la connessione e' stata chiusa");
+
+            if (connessioneFisica == null)
+                connessioneFisica = unitaDiLavoro != null ? unitaDiLavoro.getConnessioneFisica() : pool.preleva();
+
+            return connessioneFisica.getConnection();
+        }
+
+        //Preleva lo statement dalla cache della connessione fisica, preparandolo se non presente
+        synchronized PreparedStatement prepara(String sql) throws SQLException {
+
+            Connection connection = getConnection();
+            PreparedStatement preparedStatement = connessioneFisica.getCacheStatement().preleva(sql);
+
+            pool.registraEsitoCacheStatement(preparedStatement != null);
+
+            if (preparedStatement == null)
+                preparedStatement = connection.prepareStatement(sql);
+
+            statementInCache.add(new AbstractMap.SimpleEntry<>(sql, preparedStatement));
+
+            return preparedStatement;
+        }
+
+        synchronized void registraStatement(Statement statement) {
+            statementAperti.add(statement);
+        }
+
+        //Chiude gli statement rimasti aperti, ripone in cache quelli preparati e restituisce la connessione fisica al pool, se prelevata.
+        //La connessione fisica di un'unita' di lavoro non viene restituita: se ne occupa l'unita' di lavoro alla sua chiusura.
+        @Override
+        public synchronized void run() {
+
+            // Se l'unita' di lavoro e' gia' chiusa, la sua connessione potrebbe essere in uso altrove: gli statement vengono chiusi
+            if (unitaDiLavoro != null && unitaDiLavoro.isChiusa()) {
+                for (Map.Entry<String, PreparedStatement> statement : statementInCache)
+                    statementAperti.add(statement.getValue());
+
+                statementInCache.clear();
+            }
+
+            for (Statement statement : statementAperti) {
+                try {
+                    statement.close();
+                } catch (SQLException sqlException) {
+                    sqlException.printStackTrace();
+                }
+            }
+            statementAperti.clear();
+
+            if (connessioneFisica != null) {
+                for (Map.Entry<String, PreparedStatement> statement : statementInCache)
+                    connessioneFisica.getCacheStatement().restituisci(statement.getKey(), statement.getValue());
+            }
+            statementInCache.clear();
+
+            if (connessioneFisica != null) {
+                if (unitaDiLavoro == null)
+                    pool.restituisci(connessioneFisica);
+
+                connessioneFisica = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package Database;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Istogramma delle latenze di un'operazione, aggiornabile contemporaneamente da piu' thread senza lock.
+ *
+ * Le latenze vengono registrate in microsecondi in intervalli a scala logaritmica: ogni potenza di due e' suddivisa in
+ * {@value #SOTTOINTERVALLI} intervalli di uguale ampiezza, per cui i percentili restituiti hanno un errore relativo inferiore
+ * al 12,5% su tutta la scala, da un microsecondo a oltre un'ora, con una memoria costante di pochi kilobyte.
+ */
+public class IstogrammaLatenze {
+
+    private static final int BIT_SOTTOINTERVALLI = 3;
+    private static final int SOTTOINTERVALLI = 1 << BIT_SOTTOINTERVALLI;
+
+    // Le latenze oltre 2^32 microsecondi (circa 71 minuti) vengono registrate nell'ultimo intervallo
+    private static final int ESPONENTE_MASSIMO = 32;
+    private static final int INTERVALLI = (ESPONENTE_MASSIMO - BIT_SOTTOINTERVALLI + 2) * SOTTOINTERVALLI;
+
+    private final AtomicLongArray conteggi = new AtomicLongArray(INTERVALLI);
+    private final LongAdder numero = new LongAdder();
+    private final LongAdder totaleNanos = new LongAdder();
+    private final LongAccumulator massimoNanos = new LongAccumulator(Math::max, 0);
+
+
+    //METODI
+    /**
+     * Registra una latenza.
+     *
+     * @param nanos La latenza da registrare, in nanosecondi.
+     */
+    public void registra(long nanos) {
+
+        nanos = Math.max(nanos, 0);
+
+        conteggi.incrementAndGet(intervallo(nanos / 1000));
+        numero.increment();
+        totaleNanos.add(nanos);
+        massimoNanos.accumulate(nanos);
+    }
+
+    /**
+     * Restituisce il percentile specificato delle latenze registrate, come estremo superiore dell'intervallo che lo contiene.
+     *
+     * @param percentile    Il percentile richiesto, compreso tra 0 e 100.
+     * @return Il percentile in millisecondi, 0 se non sono state registrate latenze.
+     */
+    public double getPercentileMillis(double percentile) {
+
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("Il percentile deve essere compreso tra 0 e 100");
+
+        // I conteggi vengono letti una sola volta, per ottenere un totale coerente con i singoli intervalli
+        long[] copia = new long[INTERVALLI];
+        long totale = 0;
+
+        for (int i = 0; i < INTERVALLI; i++) {
+            copia[i] = conteggi.get(i);
+            totale += copia[i];
+        }
+
+        if (totale == 0)
+            return 0;
+
+        long soglia = Math.max(1, (long) Math.ceil(totale * percentile / 100));
+        long cumulato = 0;
+
+        for (int i = 0; i < INTERVALLI; i++) {
+            cumulato += copia[i];
+
+            // Il percentile non puo' superare la latenza massima osservata
+            if (cumulato >= soglia)
+                return Math.min(estremoSuperiore(i) / 1000.0, getMassimoMillis());
+        }
+
+        return getMassimoMillis();
+    }
+
+    /**
+     * @return Il numero di latenze registrate.
+     */
+    public long getNumero() {
+        return numero.sum();
+    }
+
+    /**
+     * @return La somma delle latenze registrate, in millisecondi.
+     */
+    public double getTotaleMillis() {
+        return totaleNanos.sum() / 1_000_000.0;
+    }
+
+    /**
+     * @return La latenza media registrata in millisecondi, 0 se non sono state registrate latenze.
+     */
+    public double getMediaMillis() {
+        long n = numero.sum();
+        return n == 0 ? 0 : totaleNanos.sum() / 1_000_000.0 / n;
+    }
+
+    /**
+     * @return La latenza massima registrata, in millisecondi.
+     */
+    public double getMassimoMillis() {
+        return massimoNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Scarta tutte le latenze registrate. Le latenze registrate contemporaneamente all'azzeramento possono essere scartate solo in parte.
+     */
+    public void azzera() {
+
+        for (int i = 0; i < INTERVALLI; i++)
+            conteggi.set(i, 0);
+
+        numero.reset();
+        totaleNanos.reset();
+        massimoNanos.reset();
+    }
+
+    //Restituisce l'intervallo di una latenza in microsecondi: i primi intervalli hanno ampiezza unitaria, i successivi crescono con la potenza di due
+    private static int intervallo(long micros) {
+
+        if (micros < SOTTOINTERVALLI)
+            return (int) micros;
+
+        int esponente = Math.min(63 - Long.numberOfLeadingZeros(micros), ESPONENTE_MASSIMO);
+
+        if (esponente == ESPONENTE_MASSIMO)
+            return INTERVALLI - 1;
+
+        int sottointervallo = (int) (micros >>> (esponente - BIT_SOTTOINTERVALLI)) & (SOTTOINTERVALLI - 1);
+
+        return (esponente - BIT_SOTTOINTERVALLI + 1) * SOTTOINTERVALLI + sottointervallo;
+    }
+
+    //Restituisce l'estremo superiore, in microsecondi, delle latenze registrate nell'intervallo specificato
+    private static long estremoSuperiore(int intervallo) {
+
+        if (intervallo < SOTTOINTERVALLI)
+            return intervallo + 1;
+
+        if (intervallo == INTERVALLI - 1)
+            return Long.MAX_VALUE / 1000;
+
+        int esponente = intervallo / SOTTOINTERVALLI + BIT_SOTTOINTERVALLI - 1;
+        long sottointervallo = intervallo % SOTTOINTERVALLI;
+
+        return (SOTTOINTERVALLI + sottointervallo + 1) << (esponente - BIT_SOTTOINTERVALLI);
+    }
+}
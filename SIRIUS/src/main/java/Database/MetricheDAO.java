@@ -0,0 +1,316 @@
+package Database;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raccoglie le metriche di latenza e di throughput di ogni operazione dei DAO, e le pubblica come MBean JMX
+ * nel dominio {@value #DOMINIO_JMX}, consultabili ad esempio con JConsole o VisualVM.
+ *
+ * I DAO vengono misurati tramite {@link #misura(Class, Object)}, che li avvolge in un proxy dell'interfaccia implementata:
+ * ogni invocazione di un metodo viene cronometrata e registrata nelle {@link MetricheOperazione} dell'operazione
+ * "ClasseDAO.metodo". Durante l'invocazione, gli statement consegnati dalle connessioni logiche registrano nella stessa operazione
+ * gli errori del database (anche quelli che il DAO si limita a stampare), le righe lette e modificate e i byte letti,
+ * mentre il pool vi registra l'attesa del prelievo delle connessioni.
+ *
+ * Le metriche di tutte le operazioni sono inoltre disponibili come riepilogo testuale tramite {@link #istantanea()},
+ * che puo' essere stampato periodicamente con {@link #avviaDumpPeriodico(long)}.
+ */
+public class MetricheDAO implements MetricheDAOMBean {
+
+    /**
+     * Il dominio JMX in cui vengono pubblicati gli MBean dell'applicativo.
+     */
+    public static final String DOMINIO_JMX = "SIRIUS";
+
+    private static final MetricheDAO instance = new MetricheDAO();
+
+    // L'invocazione misurata in corso sul thread corrente, che riferisce quelle piu' esterne eventualmente sospese
+    private static final ThreadLocal<MetricheOperazione.Misurazione> MISURAZIONE_CORRENTE = new ThreadLocal<>();
+
+    private final ConcurrentHashMap<String, MetricheOperazione> operazioni = new ConcurrentHashMap<>();
+    private volatile PoolConnessioni pool = null;
+    private ScheduledExecutorService dump = null;
+    private long chiamateUltimoDump = 0;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore privato: l'unica istanza viene pubblicata come MBean alla creazione.
+     */
+    private MetricheDAO() {
+        pubblica("type=MetricheDAO", this);
+    }
+
+
+    //METODI
+    /**
+     * @return {@link MetricheDAO}  L'unica istanza della classe.
+     */
+    public static MetricheDAO getInstance() {
+        return instance;
+    }
+
+    /**
+     * Avvolge un DAO in un proxy che registra le metriche di ogni invocazione dei metodi dell'interfaccia specificata.
+     *
+     * @param interfaccia   {@link Class}   L'interfaccia del DAO da esporre.
+     * @param dao                           Il DAO da misurare.
+     * @param <T>                           Il tipo dell'interfaccia del DAO.
+     * @return Il DAO misurato, che inoltra ogni invocazione al DAO specificato.
+     */
+    public static <T> T misura(Class<T> interfaccia, T dao) {
+
+        if (!interfaccia.isInterface())
+            throw new IllegalArgumentException("Il DAO puo' essere misurato solo tramite un'interfaccia: " + interfaccia.getName());
+
+        return interfaccia.cast(Proxy.newProxyInstance(interfaccia.getClassLoader(), new Class<?>[]{interfaccia},
+                new InvocazioneMisurata(dao)));
+    }
+
+    /**
+     * Restituisce l'invocazione misurata in corso sul thread corrente, a cui gli statement e il pool registrano le proprie metriche.
+     *
+     * @return {@link MetricheOperazione.Misurazione}   L'invocazione in corso, o null se il thread non sta eseguendo un DAO misurato.
+     */
+    static MetricheOperazione.Misurazione getMisurazioneCorrente() {
+        return MISURAZIONE_CORRENTE.get();
+    }
+
+    /**
+     * Registra il tempo di attesa di un prelievo dal pool nell'invocazione misurata in corso sul thread corrente, se presente.
+     *
+     * @param attesaNanos   L'attesa del prelievo, in nanosecondi.
+     */
+    static void registraAttesaConnessione(long attesaNanos) {
+
+        MetricheOperazione.Misurazione misurazione = MISURAZIONE_CORRENTE.get();
+
+        if (misurazione != null)
+            misurazione.attesaConnessioneNanos += attesaNanos;
+    }
+
+    /**
+     * Registra un errore del database nell'invocazione misurata in corso sul thread corrente, se presente.
+     */
+    static void registraErrore() {
+
+        MetricheOperazione.Misurazione misurazione = MISURAZIONE_CORRENTE.get();
+
+        if (misurazione != null)
+            misurazione.errore = true;
+    }
+
+    /**
+     * Pubblica come MBean il pool di connessioni specificato, e ne include lo stato nel riepilogo delle metriche.
+     *
+     * @param pool  {@link PoolConnessioni}    Il pool di connessioni dell'applicativo.
+     */
+    void pubblicaPool(PoolConnessioni pool) {
+        this.pool = pool;
+        pubblica("type=PoolConnessioni", pool);
+    }
+
+    /**
+     * Avvia la stampa periodica del riepilogo delle metriche sullo standard output. Il riepilogo viene stampato solo se,
+     * dalla stampa precedente, e' stata conclusa almeno un'invocazione. Le invocazioni successive non hanno effetto.
+     *
+     * @param intervalloMillis  L'intervallo tra due stampe, in millisecondi; se non positivo, la stampa periodica non viene avviata.
+     */
+    public synchronized void avviaDumpPeriodico(long intervalloMillis) {
+
+        if (intervalloMillis <= 0 || dump != null)
+            return;
+
+        dump = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metriche-dao-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        dump.scheduleWithFixedDelay(this::stampaSeAggiornate, intervalloMillis, intervalloMillis, TimeUnit.MILLISECONDS);
+    }
+
+    //Stampa il riepilogo delle metriche, se dalla stampa precedente e' stata conclusa almeno un'invocazione
+    private void stampaSeAggiornate() {
+
+        long chiamate = getChiamate();
+
+        synchronized (this) {
+            if (chiamate == chiamateUltimoDump)
+                return;
+
+            chiamateUltimoDump = chiamate;
+        }
+
+        System.out.println(istantanea());
+    }
+
+    /**
+     * Restituisce le metriche dell'operazione specificata.
+     *
+     * @param nome  {@link String}  Il nome dell'operazione, composto dalla classe del DAO e dal metodo, ad esempio "LaboratorioPostgresDAO.getLaboratori".
+     * @return {@link MetricheOperazione}   Le metriche dell'operazione, o null se non e' mai stata invocata.
+     */
+    public MetricheOperazione getOperazione(String nome) {
+        return operazioni.get(nome);
+    }
+
+    /**
+     * @return {@link ArrayList}    Le metriche di tutte le operazioni invocate almeno una volta, ordinate per tempo totale decrescente.
+     */
+    public ArrayList<MetricheOperazione> getOperazioni() {
+
+        ArrayList<MetricheOperazione> elenco = new ArrayList<>(operazioni.values());
+        elenco.sort(Comparator.comparingDouble(MetricheOperazione::getTempoTotaleMillis).reversed());
+
+        return elenco;
+    }
+
+    @Override
+    public int getNumeroOperazioni() {
+        return operazioni.size();
+    }
+
+    @Override
+    public long getChiamate() {
+
+        long chiamate = 0;
+
+        for (MetricheOperazione operazione : operazioni.values())
+            chiamate += operazione.getChiamate();
+
+        return chiamate;
+    }
+
+    @Override
+    public String istantanea() {
+
+        StringBuilder testo = new StringBuilder();
+
+        testo.append("Metriche DAO al ").append(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).append('\n');
+        testo.append(String.format("%-60s %9s %7s %11s %11s %12s %12s %12s %9s %9s %9s %9s %9s%n", "Operazione", "Chiamate", "Errori",
+                "Righe lette", "Righe mod.", "KB letti", "Attesa conn", "Totale ms", "Media ms", "p50 ms", "p95 ms", "p99 ms", "Max ms"));
+
+        for (MetricheOperazione operazione : getOperazioni())
+            testo.append(String.format("%-60s %9d %7d %11d %11d %12.1f %12.3f %12.3f %9.3f %9.3f %9.3f %9.3f %9.3f%n", operazione.getNome(),
+                    operazione.getChiamate(), operazione.getErrori(), operazione.getRigheLette(), operazione.getRigheModificate(),
+                    operazione.getByteLetti() / 1024.0, operazione.getAttesaConnessioneMillis(), operazione.getTempoTotaleMillis(),
+                    operazione.getLatenzaMediaMillis(), operazione.getLatenzaP50Millis(), operazione.getLatenzaP95Millis(),
+                    operazione.getLatenzaP99Millis(), operazione.getLatenzaMassimaMillis()));
+
+        if (pool != null)
+            testo.append(pool).append('\n');
+
+        return testo.toString();
+    }
+
+    @Override
+    public void azzera() {
+        for (MetricheOperazione operazione : operazioni.values())
+            operazione.azzera();
+    }
+
+    //Restituisce le metriche dell'operazione, creandole e pubblicandole come MBean alla prima invocazione
+    private MetricheOperazione getOrCreaOperazione(String nome) {
+
+        MetricheOperazione operazione = operazioni.get(nome);
+
+        if (operazione != null)
+            return operazione;
+
+        return operazioni.computeIfAbsent(nome, chiave -> {
+            MetricheOperazione nuova = new MetricheOperazione(chiave);
+            pubblica("type=MetricheDAO,operazione=" + ObjectName.quote(chiave), nuova);
+            return nuova;
+        });
+    }
+
+    //Registra un MBean nel dominio dell'applicativo, sostituendo quello eventualmente registrato con lo stesso nome
+    private static void pubblica(String proprieta, Object mbean) {
+
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nome = new ObjectName(DOMINIO_JMX + ":" + proprieta);
+
+            if (server.isRegistered(nome))
+                server.unregisterMBean(nome);
+
+            server.registerMBean(mbean, nome);
+        } catch (JMException jmException) {
+            // Senza JMX le metriche restano comunque disponibili tramite il riepilogo testuale
+            jmException.printStackTrace();
+        }
+    }
+
+
+    /**
+     * Gestore delle invocazioni di un DAO misurato: cronometra ogni invocazione e la registra nelle metriche dell'operazione,
+     * rendendola l'invocazione corrente del thread per la sua durata. I metodi di Object vengono inoltrati senza essere misurati.
+     */
+    private static final class InvocazioneMisurata implements InvocationHandler {
+
+        private final Object dao;
+        private final String classe;
+
+        InvocazioneMisurata(Object dao) {
+            this.dao = dao;
+
+            // Le classi anonime, prive di nome semplice, vengono identificate dal nome completo
+            String nomeSemplice = dao.getClass().getSimpleName();
+            this.classe = nomeSemplice.isEmpty() ? dao.getClass().getName() : nomeSemplice;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+
+                    default:
+                        return method.invoke(dao, args);
+                }
+            }
+
+            MetricheOperazione operazione = instance.getOrCreaOperazione(classe + "." + method.getName());
+            MetricheOperazione.Misurazione misurazione = new MetricheOperazione.Misurazione(MISURAZIONE_CORRENTE.get());
+
+            MISURAZIONE_CORRENTE.set(misurazione);
+            long inizio = System.nanoTime();
+
+            try {
+                return method.invoke(dao, args);
+            } catch (InvocationTargetException invocationTargetException) {
+                misurazione.errore = true;
+                throw invocationTargetException.getCause();
+            } finally {
+                operazione.registra(misurazione, System.nanoTime() - inizio);
+
+                // Al termine di un'invocazione annidata, ad esempio da una lettura in streaming, torna corrente quella esterna
+                if (misurazione.precedente != null)
+                    MISURAZIONE_CORRENTE.set(misurazione.precedente);
+                else
+                    MISURAZIONE_CORRENTE.remove();
+            }
+        }
+    }
+}
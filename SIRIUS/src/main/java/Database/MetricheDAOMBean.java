@@ -0,0 +1,29 @@
+package Database;
+
+/**
+ * Interfaccia di gestione JMX dell'insieme delle metriche dei DAO, pubblicata da {@link MetricheDAO}.
+ *
+ * @see MetricheDAO
+ */
+public interface MetricheDAOMBean {
+
+    /**
+     * @return Il numero di operazioni dei DAO invocate almeno una volta.
+     */
+    int getNumeroOperazioni();
+
+    /**
+     * @return Il numero totale di invocazioni concluse di tutte le operazioni dei DAO.
+     */
+    long getChiamate();
+
+    /**
+     * @return {@link String}   Il riepilogo delle metriche di tutte le operazioni, ordinate per tempo totale decrescente.
+     */
+    String istantanea();
+
+    /**
+     * Azzera le metriche di tutte le operazioni dei DAO.
+     */
+    void azzera();
+}
@@ -0,0 +1,153 @@
+package Database;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metriche cumulative di un'operazione dei DAO, cioe' di un metodo di una classe DAO: numero di invocazioni e di errori,
+ * righe lette e modificate, byte letti, attesa delle connessioni e istogramma delle latenze.
+ *
+ * Le metriche vengono aggiornate al termine di ogni invocazione con i valori raccolti da una {@link Misurazione},
+ * e sono pubblicate come MBean da {@link MetricheDAO}.
+ */
+public class MetricheOperazione implements MetricheOperazioneMBean {
+
+    private final String nome;
+
+    private final LongAdder chiamate = new LongAdder();
+    private final LongAdder errori = new LongAdder();
+    private final LongAdder righeLette = new LongAdder();
+    private final LongAdder righeModificate = new LongAdder();
+    private final LongAdder byteLetti = new LongAdder();
+    private final LongAdder attesaConnessioneNanos = new LongAdder();
+    private final IstogrammaLatenze latenze = new IstogrammaLatenze();
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore delle metriche di un'operazione.
+     *
+     * @param nome  {@link String}  Il nome dell'operazione, composto dalla classe del DAO e dal metodo.
+     */
+    MetricheOperazione(String nome) {
+        this.nome = nome;
+    }
+
+
+    //METODI
+    /**
+     * Registra un'invocazione conclusa dell'operazione.
+     *
+     * @param misurazione   {@link Misurazione} I valori raccolti durante l'invocazione.
+     * @param durataNanos   La durata dell'invocazione, in nanosecondi.
+     */
+    void registra(Misurazione misurazione, long durataNanos) {
+
+        chiamate.increment();
+
+        if (misurazione.errore)
+            errori.increment();
+
+        righeLette.add(misurazione.righeLette);
+        righeModificate.add(misurazione.righeModificate);
+        byteLetti.add(misurazione.byteLetti);
+        attesaConnessioneNanos.add(misurazione.attesaConnessioneNanos);
+        latenze.registra(durataNanos);
+    }
+
+    @Override
+    public String getNome() {
+        return nome;
+    }
+
+    @Override
+    public long getChiamate() {
+        return chiamate.sum();
+    }
+
+    @Override
+    public long getErrori() {
+        return errori.sum();
+    }
+
+    @Override
+    public long getRigheLette() {
+        return righeLette.sum();
+    }
+
+    @Override
+    public long getRigheModificate() {
+        return righeModificate.sum();
+    }
+
+    @Override
+    public long getByteLetti() {
+        return byteLetti.sum();
+    }
+
+    @Override
+    public double getAttesaConnessioneMillis() {
+        return attesaConnessioneNanos.sum() / 1_000_000.0;
+    }
+
+    @Override
+    public double getTempoTotaleMillis() {
+        return latenze.getTotaleMillis();
+    }
+
+    @Override
+    public double getLatenzaMediaMillis() {
+        return latenze.getMediaMillis();
+    }
+
+    @Override
+    public double getLatenzaP50Millis() {
+        return latenze.getPercentileMillis(50);
+    }
+
+    @Override
+    public double getLatenzaP95Millis() {
+        return latenze.getPercentileMillis(95);
+    }
+
+    @Override
+    public double getLatenzaP99Millis() {
+        return latenze.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getLatenzaMassimaMillis() {
+        return latenze.getMassimoMillis();
+    }
+
+    @Override
+    public void azzera() {
+        chiamate.reset();
+        errori.reset();
+        righeLette.reset();
+        righeModificate.reset();
+        byteLetti.reset();
+        attesaConnessioneNanos.reset();
+        latenze.azzera();
+    }
+
+
+    /**
+     * Valori raccolti durante una singola invocazione di un'operazione, dal thread che la esegue.
+     * Gli statement e i risultati creati durante l'invocazione vi registrano errori, righe e byte letti,
+     * e il pool il tempo di attesa del prelievo delle connessioni.
+     */
+    static final class Misurazione {
+
+        final Misurazione precedente;
+
+        boolean errore = false;
+        long righeLette = 0;
+        long righeModificate = 0;
+        long byteLetti = 0;
+        long attesaConnessioneNanos = 0;
+
+        Misurazione(Misurazione precedente) {
+            this.precedente = precedente;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package Database;
+
+/**
+ * Interfaccia di gestione JMX delle metriche di un'operazione dei DAO, pubblicata da {@link MetricheDAO}.
+ *
+ * @see MetricheOperazione
+ */
+public interface MetricheOperazioneMBean {
+
+    /**
+     * @return {@link String}   Il nome dell'operazione, composto dalla classe del DAO e dal metodo.
+     */
+    String getNome();
+
+    /**
+     * @return Il numero di invocazioni concluse.
+     */
+    long getChiamate();
+
+    /**
+     * @return Il numero di invocazioni in cui il database ha restituito almeno un errore, anche se non propagato dal DAO.
+     */
+    long getErrori();
+
+    /**
+     * @return Il numero di righe lette dai risultati delle interrogazioni.
+     */
+    long getRigheLette();
+
+    /**
+     * @return Il numero di righe inserite, modificate o eliminate.
+     */
+    long getRigheModificate();
+
+    /**
+     * @return Il numero stimato di byte dei valori letti dai risultati delle interrogazioni.
+     */
+    long getByteLetti();
+
+    /**
+     * @return Il tempo totale di attesa delle connessioni prelevate dal pool durante le invocazioni, in millisecondi.
+     */
+    double getAttesaConnessioneMillis();
+
+    /**
+     * @return Il tempo totale trascorso nelle invocazioni, in millisecondi.
+     */
+    double getTempoTotaleMillis();
+
+    /**
+     * @return La latenza media delle invocazioni, in millisecondi.
+     */
+    double getLatenzaMediaMillis();
+
+    /**
+     * @return La mediana delle latenze delle invocazioni, in millisecondi.
+     */
+    double getLatenzaP50Millis();
+
+    /**
+     * @return Il 95-esimo percentile delle latenze delle invocazioni, in millisecondi.
+     */
+    double getLatenzaP95Millis();
+
+    /**
+     * @return Il 99-esimo percentile delle latenze delle invocazioni, in millisecondi.
+     */
+    double getLatenzaP99Millis();
+
+    /**
+     * @return La latenza massima delle invocazioni, in millisecondi.
+     */
+    double getLatenzaMassimaMillis();
+
+    /**
+     * Azzera tutte le metriche dell'operazione.
+     */
+    void azzera();
+}
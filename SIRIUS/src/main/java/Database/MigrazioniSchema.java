@@ -0,0 +1,139 @@
+package Database;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Applica allo schema azienda gli script di migrazione versionati, contenuti nella cartella "migrazioni" delle risorse.
+ *
+ * Ogni script e' identificato dalla versione riportata nel suo nome (es. "V002__indici_prestazioni.sql"), ed e' applicato
+ * una sola volta: le versioni applicate vengono registrate nella tabella azienda.VERSIONE_SCHEMA, creata alla prima esecuzione.
+ * Ogni script viene applicato in un'unica {@link UnitaDiLavoro}, insieme alla registrazione della sua versione: uno script
+ * fallito non lascia modifiche parziali e viene ritentato all'avvio successivo.
+ *
+ * Piu' client avviati contemporaneamente applicano le migrazioni in modo esclusivo, tramite un advisory lock di transazione:
+ * il client che ottiene il lock per secondo trova la versione gia' registrata e non la riapplica.
+ */
+public class MigrazioniSchema {
+
+    // Gli script di migrazione, nell'ordine di applicazione; la versione di ogni script deve essere maggiore di quella del precedente
+    private static final String[] SCRIPT = {
+            "V001__notifiche_modifiche.sql",
+            "V002__indici_prestazioni.sql"
+    };
+
+    private static final String CARTELLA_SCRIPT = "/migrazioni/";
+
+    // Chiave dell'advisory lock che serializza le migrazioni dei client
+    private static final long CHIAVE_LOCK = 0x5349524955534DL;
+
+    private static final String CREAZIONE_VERSIONI = "CREATE TABLE IF NOT EXISTS azienda.VERSIONE_SCHEMA(" +
+            "Versione INTEGER NOT NULL, " +
+            "Script VARCHAR(100) NOT NULL, " +
+            "dataApplicazione TIMESTAMP NOT NULL DEFAULT now(), " +
+            "CONSTRAINT pk_versione_schema PRIMARY KEY (Versione))";
+
+
+    //COSTRUTTORE
+    private MigrazioniSchema() {
+    }
+
+
+    //METODI
+    /**
+     * Applica, nell'ordine, gli script di migrazione con versione non ancora registrata nel database.
+     *
+     * @return Il numero di script applicati da questa invocazione.
+     * @throws SQLException Se uno script non e' presente tra le risorse o se la sua applicazione fallisce;
+     *                      gli script applicati in precedenza restano registrati.
+     */
+    public static int applica() throws SQLException {
+
+        int applicati = 0;
+
+        for (String script : SCRIPT) {
+            if (applicaScript(script))
+                applicati++;
+        }
+
+        return applicati;
+    }
+
+    /**
+     * Restituisce la versione piu' recente tra gli script di migrazione previsti dall'applicativo.
+     *
+     * @return La versione attesa dello schema.
+     */
+    public static int getVersioneAttesa() {
+        return versione(SCRIPT[SCRIPT.length - 1]);
+    }
+
+    //Applica lo script specificato, se la sua versione non e' gia' registrata, insieme alla registrazione della versione
+    private static boolean applicaScript(String script) throws SQLException {
+
+        int versione = versione(script);
+        String testo = leggiScript(script);
+
+        try (UnitaDiLavoro unitaDiLavoro = UnitaDiLavoro.apri();
+             Connection connessione = ConnessioneDatabase.getInstance().getConnection()) {
+
+            try (Statement statement = connessione.createStatement()) {
+                // Il lock viene rilasciato al termine della transazione
+                statement.execute("SELECT pg_advisory_xact_lock(" + CHIAVE_LOCK + ")");
+                statement.execute(CREAZIONE_VERSIONI);
+            }
+
+            try (PreparedStatement verifica = connessione.prepareStatement("SELECT 1 FROM azienda.VERSIONE_SCHEMA WHERE Versione = ?")) {
+
+                verifica.setInt(1, versione);
+
+                try (ResultSet result = verifica.executeQuery()) {
+                    if (result.next())
+                        return false;
+                }
+            }
+
+            try (Statement statement = connessione.createStatement()) {
+                statement.execute(testo);
+            }
+
+            try (PreparedStatement registrazione = connessione.prepareStatement("INSERT INTO azienda.VERSIONE_SCHEMA(Versione, Script) VALUES (?, ?)")) {
+                registrazione.setInt(1, versione);
+                registrazione.setString(2, script);
+                registrazione.executeUpdate();
+            }
+
+            unitaDiLavoro.conferma();
+        }
+
+        System.out.println("Migrazione dello schema applicata: " + script);
+
+        return true;
+    }
+
+    //Ricava la versione dal nome dello script, nel formato "V<versione>__<descrizione>.sql"
+    private static int versione(String script) {
+        return Integer.parseInt(script.substring(1, script.indexOf("__")));
+    }
+
+    //Legge il testo dello script dalle risorse dell'applicativo
+    private static String leggiScript(String script) throws SQLException {
+
+        try (InputStream input = MigrazioniSchema.class.getResourceAsStream(CARTELLA_SCRIPT + script)) {
+
+            if (input == null)
+                throw new SQLException("Script di migrazione non trovato: " + script);
+
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+
+        } catch (IOException ioException) {
+            throw new SQLException("Lettura dello script di migrazione non riuscita: " + script, ioException);
+        }
+    }
+}
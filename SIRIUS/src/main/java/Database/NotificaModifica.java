@@ -0,0 +1,45 @@
+package Database;
+
+import java.util.List;
+
+/**
+ * Una modifica ad una riga di una tabella del database, notificata dai trigger del database sul canale delle modifiche
+ * al commit della transazione che l'ha effettuata.
+ *
+ * Le chiavi sono riportate come testo, nell'ordine delle colonne della chiave primaria della tabella
+ * (es. matricola, tipo e data per gli scatti di carriera).
+ *
+ * @param origine       {@link String}  L'identificativo del client che ha effettuato la modifica, vuoto se la modifica non proviene da SIRIUS.
+ * @param tabella       {@link String}  Il nome della tabella modificata, in minuscolo (es. "dip_progetto").
+ * @param operazione    {@link String}  L'operazione effettuata: "INSERT", "UPDATE" o "DELETE".
+ * @param chiave        {@link List}    La chiave della riga prima della modifica, null per gli inserimenti.
+ * @param nuovaChiave   {@link List}    La chiave della riga dopo la modifica, null per le eliminazioni.
+ */
+public record NotificaModifica(String origine, String tabella, String operazione, List<String> chiave, List<String> nuovaChiave) {
+
+    // Separatori del payload, scelti tra i caratteri di controllo che non compaiono nei dati dell'azienda
+    private static final String SEPARATORE_CAMPI = String.valueOf((char) 30);
+    private static final String SEPARATORE_VALORI = String.valueOf((char) 31);
+
+    /**
+     * Interpreta il payload di una notifica, nel formato prodotto dalla funzione azienda.notifica_modifica().
+     *
+     * @param payload   {@link String}  Il payload della notifica.
+     * @return {@link NotificaModifica} La modifica notificata.
+     * @throws IllegalArgumentException Se il payload non e' nel formato previsto.
+     */
+    static NotificaModifica interpreta(String payload) throws IllegalArgumentException {
+
+        String[] campi = payload.split(SEPARATORE_CAMPI, -1);
+
+        if (campi.length != 5)
+            throw new IllegalArgumentException("Notifica non riconosciuta: " + payload);
+
+        String operazione = campi[2];
+
+        List<String> chiave = operazione.equals("INSERT") ? null : List.of(campi[3].split(SEPARATORE_VALORI, -1));
+        List<String> nuovaChiave = operazione.equals("DELETE") ? null : List.of(campi[4].split(SEPARATORE_VALORI, -1));
+
+        return new NotificaModifica(campi[0], campi[1].toLowerCase(), operazione, chiave, nuovaChiave);
+    }
+}
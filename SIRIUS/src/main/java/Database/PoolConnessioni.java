@@ -0,0 +1,533 @@
+package Database;
+
+import java.sql.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool limitato di connessioni fisiche al database PostgreSQL.
+ * Le connessioni vengono aperte solo quando servono, fino a un massimo prefissato, e vengono riutilizzate
+ * tra un'operazione e l'altra invece di essere chiuse e riaperte ogni volta.
+ *
+ * Il pool si occupa di:
+ * <ul>
+ *     <li>prelevare e restituire le connessioni, mettendo in attesa i richiedenti quando il pool e' esaurito;</li>
+ *     <li>validare le connessioni rimaste inattive prima di consegnarle;</li>
+ *     <li>chiudere le connessioni inattive da troppo tempo o che hanno superato la durata massima;</li>
+ *     <li>mantenere, per ogni connessione fisica, una cache degli statement preparati;</li>
+ *     <li>raccogliere le metriche sui tempi di attesa, sul numero di connessioni in uso e sull'efficacia della cache degli statement,
+ *     pubblicate anche come MBean JMX tramite {@link MetricheDAO}.</li>
+ * </ul>
+ *
+ * @see ConnessioneDatabase
+ * @see ConnessioneFisica
+ */
+public class PoolConnessioni implements PoolConnessioniMBean {
+
+    private final String url;
+    private final String userName;
+    private final String password;
+
+    private final int dimensioneMassima;
+    private final long attesaMassimaNanos;
+    private final long inattivitaMassimaNanos;
+    private final long durataMassimaNanos;
+    private final long sogliaValidazioneNanos;
+    private final int timeoutValidazioneSecondi;
+    private final int dimensioneCacheStatement;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition disponibile = lock.newCondition();
+    private final ArrayDeque<ConnessioneFisica> inattive = new ArrayDeque<>();
+    private final ScheduledExecutorService manutenzione;
+
+    private int totali = 0;
+    private int attive = 0;
+    private boolean chiuso = false;
+
+    //METRICHE
+    private long prelievi = 0;
+    private long timeoutAttesa = 0;
+    private long connessioniCreate = 0;
+    private long connessioniScartate = 0;
+    private long attesaTotaleNanos = 0;
+    private long attesaMassimaOsservataNanos = 0;
+    private int piccoAttive = 0;
+    private final AtomicLong statementCacheHit = new AtomicLong();
+    private final AtomicLong statementCacheMiss = new AtomicLong();
+
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del pool di connessioni. Nessuna connessione viene aperta alla creazione del pool:
+     * le connessioni fisiche vengono create al primo prelievo che ne ha bisogno.
+     *
+     * @param url                       {@link String}  L'url JDBC del database.
+     * @param userName                  {@link String}  Il nome utente per l'accesso al database.
+     * @param password                  {@link String}  La password per l'accesso al database.
+     * @param dimensioneMassima         Il numero massimo di connessioni fisiche aperte contemporaneamente.
+     * @param attesaMassimaMillis       Il tempo massimo di attesa per ottenere una connessione, in millisecondi.
+     * @param inattivitaMassimaMillis   Il tempo dopo il quale una connessione inattiva viene chiusa, in millisecondi.
+     * @param durataMassimaMillis       La durata massima di una connessione fisica, in millisecondi.
+     * @param dimensioneCacheStatement  Il numero massimo di statement preparati mantenuti in cache per ogni connessione fisica.
+     */
+    public PoolConnessioni(String url, String userName, String password, int dimensioneMassima,
+                           long attesaMassimaMillis, long inattivitaMassimaMillis, long durataMassimaMillis, int dimensioneCacheStatement) {
+
+        if (dimensioneMassima <= 0)
+            throw new IllegalArgumentException("La dimensione del pool deve essere positiva");
+
+        this.url = url;
+        this.userName = userName;
+        this.password = password;
+        this.dimensioneMassima = dimensioneMassima;
+        this.attesaMassimaNanos = TimeUnit.MILLISECONDS.toNanos(attesaMassimaMillis);
+        this.inattivitaMassimaNanos = TimeUnit.MILLISECONDS.toNanos(inattivitaMassimaMillis);
+        this.durataMassimaNanos = TimeUnit.MILLISECONDS.toNanos(durataMassimaMillis);
+        this.sogliaValidazioneNanos = TimeUnit.SECONDS.toNanos(1);
+        this.timeoutValidazioneSecondi = 2;
+        this.dimensioneCacheStatement = dimensioneCacheStatement;
+
+        // Thread di manutenzione che chiude periodicamente le connessioni inattive o scadute
+        this.manutenzione = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pool-connessioni-manutenzione");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long periodo = Math.max(1000, Math.min(inattivitaMassimaMillis, durataMassimaMillis) / 2);
+        this.manutenzione.scheduleWithFixedDelay(this::rimuoviConnessioniScadute, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+
+    //METODI
+    /**
+     * Preleva una connessione fisica dal pool. Se non ci sono connessioni inattive e il pool non ha raggiunto
+     * la dimensione massima, ne viene aperta una nuova; altrimenti si attende che un'altra connessione venga restituita.
+     * Le connessioni inattive da piu' di un secondo vengono validate prima di essere consegnate.
+     *
+     * @return {@link ConnessioneFisica}    La connessione prelevata, da restituire con {@link #restituisci(ConnessioneFisica)}.
+     * @throws SQLException Se il pool e' chiuso, se l'attesa supera il tempo massimo o se l'apertura di una nuova connessione fallisce.
+     */
+    ConnessioneFisica preleva() throws SQLException {
+
+        long inizio = System.nanoTime();
+        long scadenza = inizio + attesaMassimaNanos;
+
+        while (true) {
+
+            ConnessioneFisica connessione = null;
+            boolean daCreare = false;
+
+            lock.lock();
+            try {
+                while (connessione == null && !daCreare) {
+
+                    if (chiuso)
+                        throw new SQLException("Il pool di connessioni e' stato chiuso");
+
+                    // Si preferisce la connessione usata piu' di recente, che e' anche quella con meno probabilita' di essere scaduta
+                    connessione = inattive.pollLast();
+
+                    if (connessione == null) {
+                        if (totali < dimensioneMassima) {
+                            totali++;
+                            daCreare = true;
+                        } else {
+                            long rimanente = scadenza - System.nanoTime();
+
+                            if (rimanente <= 0) {
+                                timeoutAttesa++;
+                                throw new SQLException("Nessuna connessione disponibile entro " + TimeUnit.NANOSECONDS.toMillis(attesaMassimaNanos) + " ms");
+                            }
+
+                            disponibile.awaitNanos(rimanente);
+                        }
+                    }
+                }
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Attesa di una connessione interrotta", interruptedException);
+            } finally {
+                lock.unlock();
+            }
+
+            // L'apertura e la validazione avvengono fuori dal lock, per non bloccare gli altri richiedenti
+            if (daCreare) {
+                try {
+                    connessione = new ConnessioneFisica(DriverManager.getConnection(url, userName, password), dimensioneCacheStatement);
+                } catch (SQLException sqlException) {
+                    lock.lock();
+                    try {
+                        totali--;
+                        disponibile.signal();
+                    } finally {
+                        lock.unlock();
+                    }
+                    throw sqlException;
+                }
+            } else if (!isUtilizzabile(connessione)) {
+                scarta(connessione);
+                continue;
+            }
+
+            long attesa = System.nanoTime() - inizio;
+
+            lock.lock();
+            try {
+                if (daCreare)
+                    connessioniCreate++;
+
+                prelievi++;
+                attive++;
+                piccoAttive = Math.max(piccoAttive, attive);
+                attesaTotaleNanos += attesa;
+                attesaMassimaOsservataNanos = Math.max(attesaMassimaOsservataNanos, attesa);
+            } finally {
+                lock.unlock();
+            }
+
+            // L'attesa viene attribuita anche all'eventuale invocazione di un DAO misurato che ha richiesto la connessione
+            MetricheDAO.registraAttesaConnessione(attesa);
+
+            return connessione;
+        }
+    }
+
+    /**
+     * Restituisce al pool una connessione prelevata in precedenza. Eventuali transazioni lasciate aperte vengono annullate
+     * e l'auto-commit viene ripristinato; se la connessione risulta chiusa o scaduta viene scartata.
+     *
+     * @param connessione   {@link ConnessioneFisica}   La connessione da restituire.
+     */
+    void restituisci(ConnessioneFisica connessione) {
+
+        boolean riutilizzabile;
+
+        try {
+            Connection connection = connessione.getConnection();
+
+            if (!connection.isClosed() && !connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+
+            riutilizzabile = !connection.isClosed() && connessione.getEta(System.nanoTime()) < durataMassimaNanos;
+        } catch (SQLException sqlException) {
+            riutilizzabile = false;
+        }
+
+        lock.lock();
+        try {
+            attive--;
+
+            if (riutilizzabile && !chiuso) {
+                connessione.aggiornaUltimoUtilizzo();
+                inattive.addLast(connessione);
+                disponibile.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        scarta(connessione);
+    }
+
+    /**
+     * Verifica che una connessione inattiva possa essere consegnata: non deve aver superato la durata massima e,
+     * se e' rimasta inutilizzata per piu' di un secondo, deve superare la validazione del driver.
+     *
+     * @param connessione   {@link ConnessioneFisica}   La connessione da verificare.
+     * @return True se la connessione e' utilizzabile, altrimenti false.
+     */
+    private boolean isUtilizzabile(ConnessioneFisica connessione) {
+
+        long adesso = System.nanoTime();
+
+        if (connessione.getEta(adesso) >= durataMassimaNanos)
+            return false;
+
+        if (connessione.getInattivita(adesso) < sogliaValidazioneNanos)
+            return true;
+
+        try {
+            return connessione.getConnection().isValid(timeoutValidazioneSecondi);
+        } catch (SQLException sqlException) {
+            return false;
+        }
+    }
+
+    /**
+     * Chiude definitivamente una connessione e libera il suo posto nel pool.
+     *
+     * @param connessione   {@link ConnessioneFisica}   La connessione da scartare.
+     */
+    private void scarta(ConnessioneFisica connessione) {
+
+        connessione.chiudi();
+
+        lock.lock();
+        try {
+            totali--;
+            connessioniScartate++;
+            disponibile.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Chiude le connessioni inattive da piu' del tempo di inattivita' massimo o che hanno superato la durata massima.
+     * Viene eseguito periodicamente dal thread di manutenzione del pool.
+     */
+    private void rimuoviConnessioniScadute() {
+
+        ArrayList<ConnessioneFisica> scadute = new ArrayList<>();
+        long adesso = System.nanoTime();
+
+        lock.lock();
+        try {
+            inattive.removeIf(connessione -> {
+                if (connessione.getInattivita(adesso) >= inattivitaMassimaNanos || connessione.getEta(adesso) >= durataMassimaNanos) {
+                    scadute.add(connessione);
+                    return true;
+                }
+                return false;
+            });
+        } finally {
+            lock.unlock();
+        }
+
+        for (ConnessioneFisica connessione : scadute)
+            scarta(connessione);
+    }
+
+    /**
+     * Registra l'esito di una ricerca nella cache degli statement di una connessione fisica.
+     *
+     * @param hit   True se lo statement era presente in cache, altrimenti false.
+     */
+    void registraEsitoCacheStatement(boolean hit) {
+        if (hit)
+            statementCacheHit.incrementAndGet();
+        else
+            statementCacheMiss.incrementAndGet();
+    }
+
+    /**
+     * Chiude il pool: le connessioni inattive vengono chiuse subito, quelle in uso alla loro restituzione.
+     * Dopo la chiusura non e' piu' possibile prelevare connessioni.
+     */
+    public void chiudi() {
+
+        ArrayList<ConnessioneFisica> daChiudere;
+
+        lock.lock();
+        try {
+            chiuso = true;
+            daChiudere = new ArrayList<>(inattive);
+            inattive.clear();
+            disponibile.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        manutenzione.shutdownNow();
+
+        for (ConnessioneFisica connessione : daChiudere)
+            scarta(connessione);
+    }
+
+
+    /**
+     * Restituisce il numero massimo di connessioni fisiche aperte contemporaneamente dal pool.
+     *
+     * @return La dimensione massima del pool.
+     */
+    @Override
+    public int getDimensioneMassima() {
+        return dimensioneMassima;
+    }
+
+    //METRICHE
+    /**
+     * Restituisce il numero di connessioni attualmente prelevate e non ancora restituite.
+     *
+     * @return Il numero di connessioni in uso.
+     */
+    @Override
+    public int getConnessioniAttive() {
+        lock.lock();
+        try {
+            return attive;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Restituisce il numero di connessioni aperte e disponibili al prelievo.
+     *
+     * @return Il numero di connessioni inattive.
+     */
+    @Override
+    public int getConnessioniInattive() {
+        lock.lock();
+        try {
+            return inattive.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Restituisce il numero massimo di connessioni in uso contemporaneamente osservato dall'avvio del pool.
+     *
+     * @return Il picco di connessioni attive.
+     */
+    @Override
+    public int getPiccoConnessioniAttive() {
+        lock.lock();
+        try {
+            return piccoAttive;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Restituisce il numero totale di prelievi andati a buon fine.
+     *
+     * @return Il numero di prelievi.
+     */
+    @Override
+    public long getPrelievi() {
+        lock.lock();
+        try {
+            return prelievi;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Restituisce il numero di richieste fallite per superamento del tempo massimo di attesa.
+     *
+     * @return Il numero di timeout di attesa.
+     */
+    @Override
+    public long getTimeoutAttesa() {
+        lock.lock();
+        try {
+            return timeoutAttesa;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Restituisce il numero di connessioni fisiche aperte dall'avvio del pool.
+     *
+     * @return Il numero di connessioni create.
+     */
+    @Override
+    public long getConnessioniCreate() {
+        lock.lock();
+        try {
+            return connessioniCreate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Restituisce il numero di connessioni fisiche chiuse perche' scadute, non valide o a seguito della chiusura del pool.
+     *
+     * @return Il numero di connessioni scartate.
+     */
+    @Override
+    public long getConnessioniScartate() {
+        lock.lock();
+        try {
+            return connessioniScartate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Restituisce il tempo medio di attesa per ottenere una connessione, comprensivo dell'eventuale apertura o validazione.
+     *
+     * @return Il tempo medio di attesa in millisecondi.
+     */
+    @Override
+    public double getAttesaMediaMillis() {
+        lock.lock();
+        try {
+            return prelievi == 0 ? 0 : (double) attesaTotaleNanos / prelievi / 1_000_000;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Restituisce il tempo massimo di attesa osservato per ottenere una connessione.
+     *
+     * @return Il tempo massimo di attesa in millisecondi.
+     */
+    @Override
+    public double getAttesaMassimaMillis() {
+        lock.lock();
+        try {
+            return (double) attesaMassimaOsservataNanos / 1_000_000;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Restituisce il numero di statement preparati trovati nella cache di una connessione fisica.
+     *
+     * @return Il numero di hit della cache degli statement.
+     */
+    @Override
+    public long getStatementCacheHit() {
+        return statementCacheHit.get();
+    }
+
+    /**
+     * Restituisce il numero di statement preparati che non erano presenti in cache e sono stati preparati ex novo.
+     *
+     * @return Il numero di miss della cache degli statement.
+     */
+    @Override
+    public long getStatementCacheMiss() {
+        return statementCacheMiss.get();
+    }
+
+    /**
+     * Restituisce una descrizione sintetica dello stato e delle metriche del pool.
+     *
+     * @return {@link String}   Lo stato del pool.
+     */
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return String.format("Pool connessioni: attive=%d, inattive=%d, totali=%d/%d, picco attive=%d, prelievi=%d, create=%d, scartate=%d, timeout=%d, attesa media=%.3f ms, attesa massima=%.3f ms, statement in cache hit=%d miss=%d",
+                    attive, inattive.size(), totali, dimensioneMassima, piccoAttive, prelievi, connessioniCreate, connessioniScartate, timeoutAttesa,
+                    prelievi == 0 ? 0 : (double) attesaTotaleNanos / prelievi / 1_000_000, (double) attesaMassimaOsservataNanos / 1_000_000,
+                    statementCacheHit.get(), statementCacheMiss.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package Database;
+
+/**
+ * Interfaccia di gestione JMX delle metriche del pool di connessioni, pubblicata da {@link MetricheDAO}.
+ *
+ * @see PoolConnessioni
+ */
+public interface PoolConnessioniMBean {
+
+    /**
+     * @return Il numero massimo di connessioni fisiche aperte contemporaneamente dal pool.
+     */
+    int getDimensioneMassima();
+
+    /**
+     * @return Il numero di connessioni attualmente prelevate e non ancora restituite.
+     */
+    int getConnessioniAttive();
+
+    /**
+     * @return Il numero di connessioni aperte e disponibili al prelievo.
+     */
+    int getConnessioniInattive();
+
+    /**
+     * @return Il numero massimo di connessioni in uso contemporaneamente osservato dall'avvio del pool.
+     */
+    int getPiccoConnessioniAttive();
+
+    /**
+     * @return Il numero totale di prelievi andati a buon fine.
+     */
+    long getPrelievi();
+
+    /**
+     * @return Il numero di richieste fallite per superamento del tempo massimo di attesa.
+     */
+    long getTimeoutAttesa();
+
+    /**
+     * @return Il numero di connessioni fisiche aperte dall'avvio del pool.
+     */
+    long getConnessioniCreate();
+
+    /**
+     * @return Il numero di connessioni fisiche chiuse perche' scadute, non valide o a seguito della chiusura del pool.
+     */
+    long getConnessioniScartate();
+
+    /**
+     * @return Il tempo medio di attesa per ottenere una connessione, in millisecondi.
+     */
+    double getAttesaMediaMillis();
+
+    /**
+     * @return Il tempo massimo di attesa osservato per ottenere una connessione, in millisecondi.
+     */
+    double getAttesaMassimaMillis();
+
+    /**
+     * @return Il numero di statement preparati trovati nella cache di una connessione fisica.
+     */
+    long getStatementCacheHit();
+
+    /**
+     * @return Il numero di statement preparati che non erano presenti in cache e sono stati preparati ex novo.
+     */
+    long getStatementCacheMiss();
+}
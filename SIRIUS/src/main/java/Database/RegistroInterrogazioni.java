@@ -0,0 +1,114 @@
+package Database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+
+/**
+ * Registra il testo delle istruzioni SQL eseguite tramite le connessioni consegnate da {@link ConnessioneDatabase},
+ * per consentire la verifica dei piani di esecuzione delle interrogazioni dei DAO.
+ *
+ * La registrazione e' disattivata di default, e durante il normale funzionamento dell'applicativo non ha alcun costo:
+ * gli statement vengono controllati solo se creati mentre la registrazione e' attiva. Degli statement preparati viene
+ * registrato il testo reso dal driver, in cui i parametri sono sostituiti dai valori impostati al momento dell'esecuzione.
+ */
+public class RegistroInterrogazioni implements InvocationHandler {
+
+    private static volatile boolean attivo = false;
+    private static final LinkedHashSet<String> interrogazioni = new LinkedHashSet<>();
+
+    private final Statement statement;
+
+
+    //COSTRUTTORE
+    private RegistroInterrogazioni(Statement statement) {
+        this.statement = statement;
+    }
+
+
+    //METODI
+    /**
+     * Avvia la registrazione delle istruzioni eseguite, scartando quelle registrate in precedenza.
+     */
+    public static void avvia() {
+
+        synchronized (interrogazioni) {
+            interrogazioni.clear();
+        }
+
+        attivo = true;
+    }
+
+    /**
+     * Termina la registrazione delle istruzioni eseguite.
+     *
+     * @return {@link ArrayList}    Le istruzioni distinte eseguite durante la registrazione, nell'ordine della prima esecuzione.
+     */
+    public static ArrayList<String> ferma() {
+
+        attivo = false;
+
+        synchronized (interrogazioni) {
+            return new ArrayList<>(interrogazioni);
+        }
+    }
+
+    /**
+     * Verifica se la registrazione delle istruzioni eseguite e' attiva.
+     *
+     * @return True se la registrazione e' attiva, altrimenti false.
+     */
+    static boolean isAttivo() {
+        return attivo;
+    }
+
+    /**
+     * Crea uno statement che registra le istruzioni eseguite, esponendo l'interfaccia specificata.
+     *
+     * @param statement     {@link Statement}   Lo statement da controllare.
+     * @param interfaccia   {@link Class}       L'interfaccia JDBC da esporre (Statement, PreparedStatement o CallableStatement).
+     * @return {@link Statement}    Lo statement controllato.
+     */
+    static Statement crea(Statement statement, Class<?> interfaccia) {
+
+        if (!interfaccia.isInterface() || !Statement.class.isAssignableFrom(interfaccia))
+            interfaccia = Statement.class;
+
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                new Class<?>[]{interfaccia}, new RegistroInterrogazioni(statement));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+        if (attivo && method.getName().startsWith("execute")) {
+
+            String sql;
+
+            // Uno statement preparato, eseguito senza testo, viene reso dal driver con i valori dei parametri
+            if (args != null && args.length > 0 && args[0] instanceof String)
+                sql = (String) args[0];
+            else if (statement instanceof PreparedStatement)
+                sql = statement.toString();
+            else
+                sql = null;
+
+            if (sql != null) {
+                synchronized (interrogazioni) {
+                    interrogazioni.add(sql.strip());
+                }
+            }
+        }
+
+        try {
+            return method.invoke(statement, args);
+        } catch (InvocationTargetException invocationTargetException) {
+            throw invocationTargetException.getCause();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package Database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Statement consegnato ai DAO all'interno di una {@link UnitaDiLavoro}.
+ * Inoltra ogni invocazione allo statement reale, registrando nell'unita' di lavoro ogni esecuzione
+ * e ogni errore generato, anche quando il DAO si limita a stampare l'eccezione senza propagarla.
+ *
+ * @see UnitaDiLavoro
+ */
+class StatementControllato implements InvocationHandler {
+
+    private final Statement statement;
+    private final UnitaDiLavoro unitaDiLavoro;
+
+
+    //COSTRUTTORE
+    private StatementControllato(Statement statement, UnitaDiLavoro unitaDiLavoro) {
+        this.statement = statement;
+        this.unitaDiLavoro = unitaDiLavoro;
+    }
+
+
+    //METODI
+    /**
+     * Crea uno statement controllato che espone l'interfaccia specificata.
+     *
+     * @param statement         {@link Statement}       Lo statement reale.
+     * @param interfaccia       {@link Class}           L'interfaccia JDBC da esporre (Statement, PreparedStatement o CallableStatement).
+     * @param unitaDiLavoro     {@link UnitaDiLavoro}   L'unita' di lavoro in cui registrare esecuzioni ed errori.
+     * @return {@link Statement}    Lo statement controllato.
+     */
+    static Statement crea(Statement statement, Class<?> interfaccia, UnitaDiLavoro unitaDiLavoro) {
+
+        if (!interfaccia.isInterface() || !Statement.class.isAssignableFrom(interfaccia))
+            interfaccia = Statement.class;
+
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                new Class<?>[]{interfaccia}, new StatementControllato(statement, unitaDiLavoro));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+        boolean esecuzione = method.getName().startsWith("execute");
+
+        if (esecuzione)
+            unitaDiLavoro.registraStatement();
+
+        try {
+            return method.invoke(statement, args);
+        } catch (InvocationTargetException invocationTargetException) {
+
+            if (esecuzione && invocationTargetException.getCause() instanceof SQLException)
+                unitaDiLavoro.registraErrore((SQLException) invocationTargetException.getCause());
+
+            throw invocationTargetException.getCause();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package Database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Statement, o risultato di un'interrogazione, consegnato ai DAO durante un'invocazione misurata da {@link MetricheDAO}.
+ * Inoltra ogni invocazione all'oggetto JDBC reale, registrando nella misurazione dell'invocazione gli errori del database,
+ * le righe modificate dalle esecuzioni e, per i risultati, le righe lette e la dimensione stimata dei valori letti.
+ *
+ * Il driver non espone i byte ricevuti dal database: vengono quindi stimati dai valori restituiti al DAO,
+ * contando un byte per carattere delle stringhe e la dimensione della rappresentazione binaria degli altri tipi.
+ *
+ * @see MetricheDAO
+ */
+class StatementMisurato implements InvocationHandler {
+
+    private final Object oggetto;
+    private final MetricheOperazione.Misurazione misurazione;
+
+
+    //COSTRUTTORE
+    private StatementMisurato(Object oggetto, MetricheOperazione.Misurazione misurazione) {
+        this.oggetto = oggetto;
+        this.misurazione = misurazione;
+    }
+
+
+    //METODI
+    /**
+     * Crea uno statement misurato che espone l'interfaccia specificata.
+     *
+     * @param statement     {@link Statement}                       Lo statement reale.
+     * @param interfaccia   {@link Class}                           L'interfaccia JDBC da esporre (Statement, PreparedStatement o CallableStatement).
+     * @param misurazione   {@link MetricheOperazione.Misurazione}  L'invocazione misurata in cui registrare le metriche.
+     * @return {@link Statement}    Lo statement misurato.
+     */
+    static Statement crea(Statement statement, Class<?> interfaccia, MetricheOperazione.Misurazione misurazione) {
+
+        if (!interfaccia.isInterface() || !Statement.class.isAssignableFrom(interfaccia))
+            interfaccia = Statement.class;
+
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                new Class<?>[]{interfaccia}, new StatementMisurato(statement, misurazione));
+    }
+
+    //Crea un risultato misurato, che registra le righe e i valori letti
+    private static ResultSet creaRisultato(ResultSet resultSet, MetricheOperazione.Misurazione misurazione) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, new StatementMisurato(resultSet, misurazione));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+        Object risultato;
+
+        try {
+            risultato = method.invoke(oggetto, args);
+        } catch (InvocationTargetException invocationTargetException) {
+
+            if (invocationTargetException.getCause() instanceof SQLException)
+                misurazione.errore = true;
+
+            throw invocationTargetException.getCause();
+        }
+
+        if (oggetto instanceof ResultSet)
+            registraLettura(method.getName(), args, risultato);
+        else
+            registraEsecuzione(method.getName(), risultato);
+
+        // Anche i risultati ottenuti dallo statement registrano le righe lette nella stessa invocazione
+        if (risultato instanceof ResultSet && !(oggetto instanceof ResultSet))
+            risultato = creaRisultato((ResultSet) risultato, misurazione);
+
+        return risultato;
+    }
+
+    //Registra le righe modificate da un'esecuzione dello statement
+    private void registraEsecuzione(String metodo, Object risultato) {
+
+        switch (metodo) {
+            case "executeUpdate":
+            case "executeLargeUpdate":
+                misurazione.righeModificate += ((Number) risultato).longValue();
+                break;
+
+            case "executeBatch":
+                for (int righe : (int[]) risultato)
+                    misurazione.righeModificate += Math.max(righe, 0);
+                break;
+
+            case "executeLargeBatch":
+                for (long righe : (long[]) risultato)
+                    misurazione.righeModificate += Math.max(righe, 0);
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    //Registra una riga letta dal risultato, o la dimensione di un valore letto da una colonna
+    private void registraLettura(String metodo, Object[] args, Object valore) {
+
+        if (metodo.equals("next")) {
+            if ((Boolean) valore)
+                misurazione.righeLette++;
+
+            return;
+        }
+
+        // Solo i metodi che leggono il valore di una colonna, identificata dall'indice o dal nome, contribuiscono ai byte letti
+        if (metodo.startsWith("get") && args != null && args.length > 0 && (args[0] instanceof Integer || args[0] instanceof String))
+            misurazione.byteLetti += stimaByte(valore);
+    }
+
+    //Stima la dimensione di un valore letto, senza considerare l'intestazione dei messaggi del protocollo
+    private static long stimaByte(Object valore) {
+
+        if (valore == null)
+            return 0;
+
+        if (valore instanceof String stringa)
+            return stringa.length();
+
+        if (valore instanceof byte[] bytes)
+            return bytes.length;
+
+        if (valore instanceof BigDecimal numero)
+            return numero.unscaledValue().bitLength() / 8 + 1;
+
+        if (valore instanceof Boolean || valore instanceof Byte)
+            return 1;
+
+        if (valore instanceof Short)
+            return 2;
+
+        if (valore instanceof Integer || valore instanceof Float || valore instanceof java.sql.Date || valore instanceof java.time.LocalDate)
+            return 4;
+
+        return 8;
+    }
+}
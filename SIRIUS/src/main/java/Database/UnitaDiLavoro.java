@@ -0,0 +1,347 @@
+package Database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Unita' di lavoro sul database, che raccoglie tutte le operazioni eseguite per una singola azione dell'utente
+ * in un'unica transazione su un'unica connessione fisica.
+ *
+ * Finche' un'unita' di lavoro e' aperta sul thread corrente, tutte le connessioni ottenute tramite
+ * {@link ConnessioneDatabase#getConnection()} utilizzano la connessione fisica dell'unita' di lavoro, e la loro chiusura
+ * non la restituisce al pool. Le modifiche vengono rese definitive con un unico commit alla chiamata di {@link #conferma()};
+ * se l'unita' di lavoro viene chiusa senza conferma, o se durante l'esecuzione un'istruzione e' fallita, tutte le modifiche
+ * vengono annullate.
+ *
+ * Le unita' di lavoro sono rientranti: aprire un'unita' di lavoro mentre un'altra e' gia' aperta sullo stesso thread
+ * restituisce quella esistente, che viene confermata solo dal livello piu' esterno.
+ *
+ * Utilizzo tipico:
+ * <pre>
+ *     try (UnitaDiLavoro unitaDiLavoro = UnitaDiLavoro.apri()) {
+ *         ...
+ *         unitaDiLavoro.conferma();
+ *     }
+ * </pre>
+ *
+ * @see ConnessioneDatabase
+ */
+public class UnitaDiLavoro implements AutoCloseable {
+
+    private static final ThreadLocal<UnitaDiLavoro> UNITA_CORRENTE = new ThreadLocal<>();
+
+    // Formato degli identificativi restituiti da pg_export_snapshot(), inseriti come letterali in SET TRANSACTION SNAPSHOT
+    private static final Pattern FORMATO_ISTANTANEA = Pattern.compile("[0-9A-Fa-f]+-[0-9A-Fa-f]+(-[0-9]+)?");
+
+    //STATISTICHE GLOBALI
+    private static final AtomicLong unitaConfermate = new AtomicLong();
+    private static final AtomicLong unitaAnnullate = new AtomicLong();
+    private static final AtomicLong statementTotali = new AtomicLong();
+
+    private final PoolConnessioni pool;
+    private final ConnessioneFisica connessioneFisica;
+    private boolean solaLettura = false;
+    private int isolamentoPrecedente;
+    private int profondita = 1;
+    private int statementEseguiti = 0;
+    private boolean confermata = false;
+    private boolean livelloInternoConfermato = false;
+    private boolean soloAnnullamento = false;
+    private volatile boolean chiusa = false;
+    private SQLException primoErrore = null;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore privato dell'unita' di lavoro: le istanze vengono create tramite {@link #apri()}.
+     *
+     * @param pool                  {@link PoolConnessioni}     Il pool a cui restituire la connessione alla chiusura.
+     * @param connessioneFisica     {@link ConnessioneFisica}   La connessione fisica prelevata per l'unita' di lavoro.
+     */
+    private UnitaDiLavoro(PoolConnessioni pool, ConnessioneFisica connessioneFisica) {
+        this.pool = pool;
+        this.connessioneFisica = connessioneFisica;
+    }
+
+
+    //METODI
+    /**
+     * Apre un'unita' di lavoro sul thread corrente, prelevando una connessione dal pool e disattivando l'auto-commit.
+     * Se un'unita' di lavoro e' gia' aperta sul thread corrente, viene restituita quella esistente.
+     *
+     * @return {@link UnitaDiLavoro}    L'unita' di lavoro aperta, da chiudere al termine dell'azione.
+     * @throws SQLException Se non e' possibile ottenere una connessione dal pool.
+     */
+    public static UnitaDiLavoro apri() throws SQLException {
+
+        UnitaDiLavoro unitaDiLavoro = UNITA_CORRENTE.get();
+
+        if (unitaDiLavoro != null) {
+            unitaDiLavoro.profondita++;
+            return unitaDiLavoro;
+        }
+
+        PoolConnessioni pool = ConnessioneDatabase.getInstance().getPool();
+        ConnessioneFisica connessioneFisica = pool.preleva();
+
+        try {
+            connessioneFisica.getConnection().setAutoCommit(false);
+        } catch (SQLException sqlException) {
+            pool.restituisci(connessioneFisica);
+            throw sqlException;
+        }
+
+        unitaDiLavoro = new UnitaDiLavoro(pool, connessioneFisica);
+        UNITA_CORRENTE.set(unitaDiLavoro);
+
+        return unitaDiLavoro;
+    }
+
+    /**
+     * Apre un'unita' di lavoro in sola lettura sul thread corrente, con isolamento REPEATABLE READ: tutte le letture
+     * eseguite nell'unita' di lavoro osservano lo stesso istante del database, anche se nel frattempo altre connessioni lo modificano.
+     * Le proprieta' della connessione vengono ripristinate alla chiusura, prima della sua restituzione al pool.
+     * Se un'unita' di lavoro e' gia' aperta sul thread corrente, viene restituita quella esistente, le cui letture partecipano alla sua transazione.
+     *
+     * @return {@link UnitaDiLavoro}    L'unita' di lavoro aperta, da chiudere al termine delle letture.
+     * @throws SQLException Se non e' possibile ottenere una connessione dal pool o impostarne la sola lettura.
+     */
+    public static UnitaDiLavoro apriInSolaLettura() throws SQLException {
+
+        if (UNITA_CORRENTE.get() != null)
+            return apri();
+
+        UnitaDiLavoro unitaDiLavoro = apri();
+        Connection connection = unitaDiLavoro.connessioneFisica.getConnection();
+
+        try {
+            unitaDiLavoro.isolamentoPrecedente = connection.getTransactionIsolation();
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setReadOnly(true);
+            unitaDiLavoro.solaLettura = true;
+        } catch (SQLException sqlException) {
+            unitaDiLavoro.close();
+            throw sqlException;
+        }
+
+        return unitaDiLavoro;
+    }
+
+    /**
+     * Apre un'unita' di lavoro in sola lettura sul thread corrente che osserva l'istantanea esportata da un'altra unita' di lavoro
+     * con {@link #esportaIstantanea()}: le letture eseguite sulle due connessioni fisiche vedono esattamente lo stesso istante del database.
+     * L'unita' di lavoro che ha esportato l'istantanea deve restare aperta finche' l'importazione non e' avvenuta.
+     *
+     * @param istantanea {@link String} L'identificativo dell'istantanea da importare.
+     * @return {@link UnitaDiLavoro}    L'unita' di lavoro aperta, da chiudere al termine delle letture.
+     * @throws SQLException Se sul thread corrente e' gia' aperta un'unita' di lavoro, o se l'istantanea non puo' essere importata.
+     */
+    public static UnitaDiLavoro apriInSolaLettura(String istantanea) throws SQLException {
+
+        if (istantanea == null || !FORMATO_ISTANTANEA.matcher(istantanea).matches())
+            throw new IllegalArgumentException("Identificativo dell'istantanea non valido: " + istantanea);
+
+        // L'istantanea puo' essere importata solo all'inizio di una transazione, quindi non in un'unita' di lavoro gia' aperta
+        if (UNITA_CORRENTE.get() != null)
+            throw new SQLException("Impossibile importare un'istantanea in un'unita' di lavoro gia' aperta");
+
+        UnitaDiLavoro unitaDiLavoro = apriInSolaLettura();
+
+        try (Statement statement = unitaDiLavoro.connessioneFisica.getConnection().createStatement()) {
+            statement.execute("SET TRANSACTION SNAPSHOT '" + istantanea + "'");
+            unitaDiLavoro.statementEseguiti++;
+        } catch (SQLException sqlException) {
+            unitaDiLavoro.close();
+            throw sqlException;
+        }
+
+        return unitaDiLavoro;
+    }
+
+    /**
+     * Esporta l'istantanea della transazione dell'unita' di lavoro, in modo che altre unita' di lavoro, su altre connessioni fisiche,
+     * possano importarla con {@link #apriInSolaLettura(String)}. L'istantanea resta importabile finche' questa unita' di lavoro resta aperta.
+     *
+     * @return {@link String}   L'identificativo dell'istantanea esportata.
+     * @throws SQLException Se l'unita' di lavoro non e' in sola lettura o se l'esportazione fallisce.
+     */
+    public String esportaIstantanea() throws SQLException {
+
+        if (!solaLettura)
+            throw new SQLException("Solo un'unita' di lavoro in sola lettura puo' esportare la propria istantanea");
+
+        try (Statement statement = connessioneFisica.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT pg_export_snapshot()")) {
+
+            statementEseguiti++;
+            resultSet.next();
+
+            return resultSet.getString(1);
+        }
+    }
+
+    /**
+     * Restituisce l'unita' di lavoro aperta sul thread corrente.
+     *
+     * @return {@link UnitaDiLavoro}    L'unita' di lavoro corrente, oppure null se non ce n'e' una aperta.
+     */
+    static UnitaDiLavoro getCorrente() {
+        return UNITA_CORRENTE.get();
+    }
+
+    /**
+     * Conferma l'unita' di lavoro. Se chiamato dal livello piu' esterno, esegue il commit di tutte le modifiche;
+     * se durante l'unita' di lavoro un'istruzione e' fallita, le modifiche vengono invece annullate e viene lanciata un'eccezione.
+     * Va chiamato come ultima operazione di ciascun livello, subito prima della sua chiusura.
+     *
+     * @throws SQLException Se un'istruzione dell'unita' di lavoro e' fallita o se il commit non riesce.
+     */
+    public void conferma() throws SQLException {
+
+        if (profondita > 1) {
+            livelloInternoConfermato = true;
+            return;
+        }
+
+        if (confermata)
+            return;
+
+        Connection connection = connessioneFisica.getConnection();
+
+        if (soloAnnullamento) {
+            connection.rollback();
+            unitaAnnullate.incrementAndGet();
+            confermata = true;
+            throw new SQLException("Unita' di lavoro annullata: un'istruzione non e' andata a buon fine", primoErrore);
+        }
+
+        connection.commit();
+        unitaConfermate.incrementAndGet();
+        confermata = true;
+    }
+
+    /**
+     * Chiude l'unita' di lavoro. Se chiamato dal livello piu' esterno, annulla le modifiche non confermate
+     * e restituisce la connessione al pool; se chiamato da un livello interno senza conferma, l'intera unita'
+     * di lavoro verra' annullata.
+     */
+    @Override
+    public void close() {
+
+        profondita--;
+
+        if (profondita > 0) {
+            // Un livello interno chiuso senza conferma (ad esempio per un'eccezione) annulla l'intera unita' di lavoro
+            if (!livelloInternoConfermato)
+                soloAnnullamento = true;
+
+            livelloInternoConfermato = false;
+            return;
+        }
+
+        UNITA_CORRENTE.remove();
+        chiusa = true;
+
+        if (!confermata) {
+            try {
+                connessioneFisica.getConnection().rollback();
+            } catch (SQLException sqlException) {
+                sqlException.printStackTrace();
+            }
+            unitaAnnullate.incrementAndGet();
+        }
+
+        statementTotali.addAndGet(statementEseguiti);
+
+        if (solaLettura) {
+            try {
+                Connection connection = connessioneFisica.getConnection();
+                connection.setReadOnly(false);
+                connection.setTransactionIsolation(isolamentoPrecedente);
+            } catch (SQLException sqlException) {
+                sqlException.printStackTrace();
+            }
+        }
+
+        // Il pool ripristina l'auto-commit alla restituzione
+        pool.restituisci(connessioneFisica);
+    }
+
+    /**
+     * Restituisce la connessione fisica dell'unita' di lavoro.
+     *
+     * @return {@link ConnessioneFisica}    La connessione fisica su cui viene eseguita la transazione.
+     */
+    ConnessioneFisica getConnessioneFisica() {
+        return connessioneFisica;
+    }
+
+    /**
+     * Indica se l'unita' di lavoro e' stata chiusa dal suo livello piu' esterno.
+     *
+     * @return True se l'unita' di lavoro e' chiusa, altrimenti false.
+     */
+    boolean isChiusa() {
+        return chiusa;
+    }
+
+    /**
+     * Registra l'esecuzione di un'istruzione nell'unita' di lavoro.
+     */
+    void registraStatement() {
+        statementEseguiti++;
+    }
+
+    /**
+     * Registra il fallimento di un'istruzione: l'unita' di lavoro potra' solo essere annullata.
+     *
+     * @param sqlException  {@link SQLException}    L'errore generato dall'istruzione.
+     */
+    void registraErrore(SQLException sqlException) {
+
+        if (primoErrore == null)
+            primoErrore = sqlException;
+
+        soloAnnullamento = true;
+    }
+
+    /**
+     * Restituisce il numero di istruzioni eseguite finora nell'unita' di lavoro.
+     *
+     * @return Il numero di istruzioni eseguite.
+     */
+    public int getStatementEseguiti() {
+        return statementEseguiti;
+    }
+
+    /**
+     * Restituisce il numero di unita' di lavoro confermate dall'avvio dell'applicativo.
+     *
+     * @return Il numero di unita' di lavoro confermate.
+     */
+    public static long getUnitaConfermate() {
+        return unitaConfermate.get();
+    }
+
+    /**
+     * Restituisce il numero di unita' di lavoro annullate dall'avvio dell'applicativo.
+     *
+     * @return Il numero di unita' di lavoro annullate.
+     */
+    public static long getUnitaAnnullate() {
+        return unitaAnnullate.get();
+    }
+
+    /**
+     * Restituisce il numero totale di istruzioni eseguite all'interno di unita' di lavoro dall'avvio dell'applicativo.
+     *
+     * @return Il numero totale di istruzioni eseguite.
+     */
+    public static long getStatementTotali() {
+        return statementTotali.get();
+    }
+}
@@ -25,7 +25,6 @@ public class Afferenza {
     private String vecchioNomeLab;
     private String vecchiaMatricola;
     private boolean modificaMode;
-    private AggiornaArea callback;
 
     /**
      * Costruisce un'interfaccia grafica di finalizzazione "Afferenza".
@@ -131,9 +130,6 @@ public class Afferenza {
                     // Rendi visibile la finestra chiamante
                     frameChiamante.setVisible(true);
 
-                    // Permette di invocare il metodo sovrascritto dell'interfaccia, che a sua volta chiama un metodo di "AreaAfferenza" per aggiornare la tabella
-                    callback.aggiornaAggiuntaModificaArea();
-
                     // Rilascia le risorse della finestra corrente
                     frame.dispose();
                 }
@@ -187,11 +183,4 @@ public class Afferenza {
     public void setVecchioLaboratorio(String vecchioNomeLab){
         this.vecchioNomeLab = vecchioNomeLab;
     }
-
-    /**
-     * Imposta il riferimento ad un ogetto, che permette di invocare un metodo nella GUI chiamante
-     *
-     * @param callback  {@link AggiornaArea}  Rappresenta il riferimento ad un ogetto anonimo, creato nell'apposita area.
-     * */
-    public void setAggiornaArea(AggiornaArea callback){ this.callback = callback; }
 }
\ No newline at end of file
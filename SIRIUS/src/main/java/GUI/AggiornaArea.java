@@ -1,13 +0,0 @@
-package GUI;
-
-/**
- * L'interfaccia "AggiornaArea" fornisce la possibilita', alle GUI di finalizzazione, di poter invocare un metodo di aggiornamento dei valori, contenuti nella table dell'area
- * apposita cui si fa riferimento
- * */
-public interface AggiornaArea {
-
-    /**
-     * Aggiorna i valori contenuti nell'apposita tabella dopo operazioni di aggiunta, modifica o eliminazione.
-     * */
-    void aggiornaAggiuntaModificaArea();
-}
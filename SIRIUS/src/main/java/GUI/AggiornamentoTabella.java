@@ -0,0 +1,281 @@
+package GUI;
+
+import Controller.AscoltatoreModifiche;
+import Controller.Controller;
+import Controller.ModificaRiga;
+import Controller.Tabella;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Questa classe aggiorna in modo asincrono il contenuto della tabella di un'area.
+ *
+ * La tabella viene caricata interamente solo all'apertura dell'area, o quando il controller segnala una modifica
+ * che interessa un numero indefinito di righe. Dopo il caricamento, le modifiche confermate dal controller vengono
+ * applicate riga per riga al {@link ModelloTabellaArea}, recuperando dal controller solo le righe modificate: il costo
+ * di un aggiornamento dipende quindi dal numero di righe modificate e non dalla dimensione della tabella.
+ *
+ * I dati vengono recuperati fuori dall'event dispatch thread, tramite degli {@link SwingWorker}, in modo che l'interfaccia
+ * resti reattiva anche quando il controller deve rileggere il modello dal database; il modello della tabella viene poi aggiornato dall'event dispatch thread.
+ * Durante il caricamento completo la tabella viene disabilitata e il cursore della finestra indica il caricamento in corso.
+ * Un caricamento completo richiesto prima del termine del precedente lo sostituisce, ed il risultato superato viene scartato.
+ *
+ * I dati vengono ricavati dal modello in memoria del controller; il tasto F5 permette di rileggere l'intero modello dal database,
+ * ad esempio per visualizzare le modifiche effettuate da altri client.
+ */
+public class AggiornamentoTabella implements AscoltatoreModifiche {
+
+    private final Controller controller;
+    private final JFrame frame;
+    private final JTable tabella;
+    private final ModelloTabellaArea modello;
+    private final Supplier<Object[][]> recupero;
+
+    // Gli aggiornamenti in corso, il cui risultato puo' essere applicato al modello; vengono acceduti solo dall'event dispatch thread
+    private SwingWorker<Object[][], Void> caricamentoCorrente = null;
+    private SwingWorker<ArrayList<Object[]>, Void> applicazioneCorrente = null;
+    private final ArrayDeque<ModificaRiga> modificheInAttesa = new ArrayDeque<>();
+
+    /**
+     * Costruisce il servizio di aggiornamento della tabella di un'area, impostandone il modello e registrandolo come
+     * ascoltatore delle modifiche del controller fino alla chiusura della finestra dell'area.
+     *
+     * @param controller        {@link Controller}  Il controller che notifica le modifiche e recupera le righe modificate.
+     * @param frame             {@link JFrame}      La finestra dell'area, chiusa se i dati non sono recuperabili.
+     * @param tabella           {@link JTable}      La tabella da aggiornare.
+     * @param tabellaDatabase   {@link Tabella}     La tabella del database visualizzata.
+     * @param colonne                               Le intestazioni delle colonne della tabella.
+     * @param recupero          {@link Supplier}    Il metodo del controller che recupera l'intero contenuto della tabella.
+     */
+    public AggiornamentoTabella(Controller controller, JFrame frame, JTable tabella, Tabella tabellaDatabase, String[] colonne, Supplier<Object[][]> recupero) {
+        this.controller = controller;
+        this.frame = frame;
+        this.tabella = tabella;
+        this.recupero = recupero;
+
+        modello = new ModelloTabellaArea(tabellaDatabase, colonne);
+        tabella.setModel(modello);
+
+        controller.aggiungiAscoltatoreModifiche(this);
+
+        // Alla chiusura dell'area le modifiche non vengono piu' ricevute, e gli aggiornamenti in corso vengono scartati
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                controller.rimuoviAscoltatoreModifiche(AggiornamentoTabella.this);
+                annullaAggiornamenti();
+            }
+        });
+
+        // Il tasto F5 forza la rilettura del modello dal database
+        frame.getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F5, 0), "ricaricaModello");
+        frame.getRootPane().getActionMap().put("ricaricaModello", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                forzaRicaricamento();
+            }
+        });
+    }
+
+    /**
+     * Avvia il caricamento dell'intero contenuto della tabella, annullando gli aggiornamenti ancora in corso.
+     * Deve essere invocato dall'event dispatch thread.
+     */
+    public void ricarica() {
+
+        // Il contenuto caricato comprende anche le modifiche in attesa
+        annullaAggiornamenti();
+
+        mostraCaricamento(true);
+
+        SwingWorker<Object[][], Void> caricamento = new SwingWorker<>() {
+
+            @Override
+            protected Object[][] doInBackground() {
+                // Il recupero dal database avviene fuori dall'event dispatch thread
+                return recupero.get();
+            }
+
+            @Override
+            protected void done() {
+
+                // Un caricamento superato da uno piu' recente non modifica la tabella
+                if (caricamentoCorrente != this)
+                    return;
+
+                caricamentoCorrente = null;
+                mostraCaricamento(false);
+
+                try {
+                    modello.impostaRighe(get());
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException executionException) {
+                    gestisciErrore(executionException.getCause());
+                }
+            }
+        };
+
+        caricamentoCorrente = caricamento;
+        caricamento.execute();
+    }
+
+    /**
+     * Avvia la rilettura dell'intero modello in memoria dal database, indipendentemente dalla sua eta'.
+     * Al termine della rilettura il controller notifica il ricaricamento di tutte le tabelle, che vengono quindi
+     * ricaricate in tutte le aree aperte. Deve essere invocato dall'event dispatch thread.
+     */
+    public void forzaRicaricamento() {
+
+        mostraCaricamento(true);
+
+        new SwingWorker<Integer, Void>() {
+
+            @Override
+            protected Integer doInBackground() throws SQLException {
+                return controller.ricaricaModello();
+            }
+
+            @Override
+            protected void done() {
+
+                // Il ricaricamento della tabella, notificato dal controller, potrebbe essere ancora in corso
+                mostraCaricamento(caricamentoCorrente != null);
+
+                try {
+                    if (get() != 0)
+                        JOptionPane.showMessageDialog(frame, "Attenzione! Problema nella coerenza dei dati registrati nel database!\n" + controller.getRapportoLettura().descrivi(10));
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException executionException) {
+                    gestisciErrore(executionException.getCause());
+                }
+            }
+        }.execute();
+    }
+
+    @Override
+    public void tabellaModificata(ModificaRiga modifica) {
+
+        // Il modello viene modificato solo dall'event dispatch thread
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> tabellaModificata(modifica));
+            return;
+        }
+
+        if (modifica.tabella() != modello.getTabella())
+            return;
+
+        // Un caricamento in corso potrebbe aver letto la tabella prima della modifica, e viene quindi ripetuto
+        if (modifica.tipo() == ModificaRiga.Tipo.RICARICAMENTO || caricamentoCorrente != null) {
+            ricarica();
+            return;
+        }
+
+        modificheInAttesa.add(modifica);
+
+        if (applicazioneCorrente == null)
+            applicaModifiche();
+    }
+
+    //Recupera in background le righe modificate dalle modifiche in attesa, e le applica al modello nell'ordine in cui sono state ricevute
+    private void applicaModifiche() {
+
+        ArrayList<ModificaRiga> modifiche = new ArrayList<>(modificheInAttesa);
+        modificheInAttesa.clear();
+
+        SwingWorker<ArrayList<Object[]>, Void> applicazione = new SwingWorker<>() {
+
+            @Override
+            protected ArrayList<Object[]> doInBackground() {
+
+                ArrayList<Object[]> righe = new ArrayList<>(modifiche.size());
+
+                // Le righe eliminate non vengono recuperate
+                for (ModificaRiga modifica : modifiche)
+                    righe.add(modifica.nuovaChiave() == null ? null : controller.recuperaRiga(modifica.tabella(), modifica.nuovaChiave()));
+
+                return righe;
+            }
+
+            @Override
+            protected void done() {
+
+                if (applicazioneCorrente != this)
+                    return;
+
+                applicazioneCorrente = null;
+
+                try {
+                    ArrayList<Object[]> righe = get();
+
+                    for (int i = 0; i < modifiche.size(); i++)
+                        modello.applica(modifiche.get(i).chiave(), righe.get(i));
+
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException executionException) {
+                    gestisciErrore(executionException.getCause());
+                }
+
+                // Le modifiche ricevute durante il recupero vengono applicate con il recupero successivo
+                if (!modificheInAttesa.isEmpty())
+                    applicaModifiche();
+            }
+        };
+
+        applicazioneCorrente = applicazione;
+        applicazione.execute();
+    }
+
+    //Annulla il caricamento e l'applicazione delle modifiche in corso, scartandone i risultati
+    private void annullaAggiornamenti() {
+
+        if (caricamentoCorrente != null)
+            caricamentoCorrente.cancel(false);
+
+        if (applicazioneCorrente != null)
+            applicazioneCorrente.cancel(false);
+
+        caricamentoCorrente = null;
+        applicazioneCorrente = null;
+        modificheInAttesa.clear();
+    }
+
+    //Mostra o nasconde lo stato di caricamento della tabella
+    private void mostraCaricamento(boolean inCaricamento) {
+        tabella.setEnabled(!inCaricamento);
+        frame.setCursor(inCaricamento ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
+    //Gestisce l'errore del recupero dei dati, con gli stessi messaggi mostrati all'apertura di un'area
+    private void gestisciErrore(Throwable errore) {
+
+        if (errore instanceof NullPointerException) {
+
+            // Se il modello non può essere recuperato, chiudi la finestra corrente
+            frame.setVisible(false);
+            frame.dispose();
+
+        } else if (errore instanceof IllegalArgumentException) {
+
+            JOptionPane.showMessageDialog(frame, "Attenzione! Autenticazione al database fallita! Controllare le credenziali e riprovare!");
+            errore.printStackTrace();
+
+        } else {
+
+            JOptionPane.showMessageDialog(frame, "Attenzione! Si e' verificato un errore, riprovare.");
+            errore.printStackTrace();
+        }
+    }
+}
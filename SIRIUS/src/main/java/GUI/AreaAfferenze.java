@@ -1,12 +1,11 @@
 package GUI;
 
 import Controller.Controller;
+import Controller.Tabella;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableModel;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.sql.SQLException;
@@ -27,7 +26,7 @@ public class AreaAfferenze {
     private JButton eliminaButton;
     private JTextField cercaTextField;
     private JLabel cercaLabel;
-    private TableModel model;
+    private AggiornamentoTabella aggiornamentoTabella = null;
 
     /**
      * Costruisce un'interfaccia utente "AreaAfferenze", che permette di visualizzare, aggiungere, modificare o eliminare un'afferenza'.
@@ -93,14 +92,6 @@ public class AreaAfferenze {
                 try {
                     afferenza = new Afferenza(controller, frame, false);
 
-                    // Viene creato un oggetto che implementa l'interfaccia "AggiornaArea", il cui riferimento e' assegnato alla variabile di istanza callback nell'apposita GUI
-                    afferenza.setAggiornaArea(new AggiornaArea() {
-                        @Override
-                        public void aggiornaAggiuntaModificaArea() {
-                            aggiornaValori(controller, colonne);
-                        }
-                    });
-
                 } catch (SQLException sqlException) {
                     sqlException.printStackTrace();
                 }
@@ -135,14 +126,6 @@ public class AreaAfferenze {
                     try {
                         afferenza = new Afferenza(controller, frame, true);
 
-                        // Viene creato un oggetto che implementa l'interfaccia "AggiornaArea", il cui riferimento e' assegnato alla variabile di istanza callback nell'apposita GUI
-                        afferenza.setAggiornaArea(new AggiornaArea() {
-                            @Override
-                            public void aggiornaAggiuntaModificaArea() {
-                                aggiornaValori(controller, colonne);
-                            }
-                        });
-
                         // Imposta i dati nella finestra di modifica di Afferenza
                         afferenza.setField(controller, dati);
 
@@ -178,8 +161,6 @@ public class AreaAfferenze {
                         JOptionPane.showMessageDialog(frame, "Attenzione! " + illegalArgumentException);
                     }
                 }
-
-                aggiornaValori(controller, colonne);
             }
         });
     }
@@ -211,26 +192,19 @@ public class AreaAfferenze {
 
     /**
      * Aggiorna i risultati visualizzabili a video, nella tabella JTable apposita.
+     * La tabella viene caricata interamente solo alla prima invocazione: in seguito viene aggiornata riga per riga,
+     * in modo asincrono, con le modifiche notificate dal controller dopo ogni azione confermata.
      *
      * @param controller {@link Controller} Fornisce i metodi per il recupero di informazioni dal database.
      * @param colonne                       Array di stringhe, rappresenta le intestazioni dei dati forniti dal controller.
      * */
     public void aggiornaValori(Controller controller, String[] colonne){
-        try {
-            // Crea un nuovo modello per la tabella delle afferenze
-            model = new DefaultTableModel(controller.recuperaObjectAfferenze(), colonne) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false; // Rendi tutte le celle non modificabili
-                }
-            };
-        } catch (NullPointerException nullPointerException) {
-            // Se il modello non può essere recuperato, chiudi la finestra corrente
-            frame.setVisible(false);
-            frame.dispose();
-        }
 
-        // Aggiorna il modello della tabella delle afferenze
-        afferenzeTable.setModel(model);
+        // Il primo aggiornamento crea il servizio che aggiorna la tabella con le modifiche notificate dal controller
+        if (aggiornamentoTabella == null)
+            aggiornamentoTabella = new AggiornamentoTabella(controller, frame, afferenzeTable, Tabella.AFFERENZE, colonne, controller::recuperaObjectAfferenze);
+
+        // Recupera in background il contenuto della tabella delle afferenze, che viene aggiornata al termine del recupero
+        aggiornamentoTabella.ricarica();
     }
 }
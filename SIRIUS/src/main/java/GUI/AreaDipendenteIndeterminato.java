@@ -1,12 +1,11 @@
 package GUI;
 
 import Controller.Controller;
+import Controller.Tabella;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableModel;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
@@ -27,7 +26,7 @@ public class AreaDipendenteIndeterminato {
     private JButton modificaButton;
     private JTextField cercaTextField;
     private JLabel cercaLabel;
-    private TableModel model = null;
+    private AggiornamentoTabella aggiornamentoTabella = null;
 
     /**
      * Costruisce un'interfaccia utente "AreaDipendenteIndeterminato", che permette di visualizzare, aggiungere o modificare dipendenti indeterminati.
@@ -91,14 +90,6 @@ public class AreaDipendenteIndeterminato {
                 // Crea una nuova finestra per aggiungere un dipendente indeterminato
                 DipendenteIndeterminato dipendenteIndeterminato = new DipendenteIndeterminato(controller, frame, false);
 
-                // Viene creato un oggetto che implementa l'interfaccia "AggiornaArea", il cui riferimento e' assegnato alla variabile di istanza callback nell'apposita GUI
-                dipendenteIndeterminato.setAggiornaArea(new AggiornaArea() {
-                    @Override
-                    public void aggiornaAggiuntaModificaArea() {
-                        aggiornaValori(controller, colonne);
-                    }
-                });
-
                 frame.setVisible(false);
                 dipendenteIndeterminato.frame.setVisible(true);
             }
@@ -125,14 +116,6 @@ public class AreaDipendenteIndeterminato {
                     // Crea una finestra per modificare un dipendente indeterminato
                     dipendenteIndeterminato = new DipendenteIndeterminato(controller, frame, true);
 
-                    // Viene creato un oggetto che implementa l'interfaccia "AggiornaArea", il cui riferimento e' assegnato alla variabile di istanza callback nell'apposita GUI
-                    dipendenteIndeterminato.setAggiornaArea(new AggiornaArea() {
-                        @Override
-                        public void aggiornaAggiuntaModificaArea() {
-                            aggiornaValori(controller, colonne);
-                        }
-                    });
-
                     try {
                         // Imposta i dati nella finestra di modifica di DipendenteIndeterminato
                         dipendenteIndeterminato.setField(dati);
@@ -177,27 +160,19 @@ public class AreaDipendenteIndeterminato {
 
     /**
      * Aggiorna i risultati visualizzabili a video, nella tabella JTable apposita.
+     * La tabella viene caricata interamente solo alla prima invocazione: in seguito viene aggiornata riga per riga,
+     * in modo asincrono, con le modifiche notificate dal controller dopo ogni azione confermata.
      *
      * @param controller {@link Controller} Fornisce i metodi per il recupero di informazioni dal database.
      * @param colonne                       Array di stringhe, rappresenta le intestazioni dei dati forniti dal controller.
      * */
     public void aggiornaValori(Controller controller, String[] colonne){
-        try {
-            // Crea un nuovo modello per la tabella dei dipendenti indeterminati
-            model = new DefaultTableModel(controller.recuperaObjectDipendentiIndeterminati(), colonne) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false; // Rendi tutte le celle non modificabili
-                }
-            };
 
-        } catch (NullPointerException exception) {
-            // Se il modello non può essere recuperato, chiudi il frame
-            frame.setVisible(false);
-            frame.dispose();
-        }
+        // Il primo aggiornamento crea il servizio che aggiorna la tabella con le modifiche notificate dal controller
+        if (aggiornamentoTabella == null)
+            aggiornamentoTabella = new AggiornamentoTabella(controller, frame, dipendentiIndeterminatiTable, Tabella.DIPENDENTI_INDETERMINATI, colonne, controller::recuperaObjectDipendentiIndeterminati);
 
-        // Aggiorna il modello della tabella dei dipendenti indeterminati
-        dipendentiIndeterminatiTable.setModel(model);
+        // Recupera in background il contenuto della tabella dei dipendenti indeterminati, che viene aggiornata al termine del recupero
+        aggiornamentoTabella.ricarica();
     }
 }
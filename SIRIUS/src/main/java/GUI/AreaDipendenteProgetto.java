@@ -1,12 +1,11 @@
 package GUI;
 
 import Controller.Controller;
+import Controller.Tabella;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableModel;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
@@ -27,7 +26,7 @@ public class AreaDipendenteProgetto {
     private JButton modificaButton;
     private JTextField cercaTextField;
     private JLabel cercaLabel;
-    private TableModel model = null;
+    private AggiornamentoTabella aggiornamentoTabella = null;
 
     /**
      * Costruisce un'interfaccia utente "AreaDipendenteProgetto", che permette di visualizzare, aggiungere o modificare dipendenti a progetto.
@@ -92,14 +91,6 @@ public class AreaDipendenteProgetto {
                 DipendenteProgetto dipendenteProgetto = null;
                 try {
                     dipendenteProgetto = new DipendenteProgetto(controller, frame, false);
-
-                    // Viene creato un oggetto che implementa l'interfaccia "AggiornaArea", il cui riferimento e' assegnato alla variabile di istanza callback nell'apposita GUI
-                    dipendenteProgetto.setAggiornaArea(new AggiornaArea() {
-                        @Override
-                        public void aggiornaAggiuntaModificaArea() {
-                            aggiornaValori(controller, colonne);
-                        }
-                    });
                 } catch (SQLException sqlException) {
                     sqlException.printStackTrace();
                 }
@@ -134,14 +125,6 @@ public class AreaDipendenteProgetto {
                     try {
                         dipendenteProgetto = new DipendenteProgetto(controller, frame, true);
 
-                        // Viene creato un oggetto che implementa l'interfaccia "AggiornaArea", il cui riferimento e' assegnato alla variabile di istanza callback nell'apposita GUI
-                        dipendenteProgetto.setAggiornaArea(new AggiornaArea() {
-                            @Override
-                            public void aggiornaAggiuntaModificaArea() {
-                                aggiornaValori(controller, colonne);
-                            }
-                        });
-
                         // Imposta i dati nella finestra di modifica di DipendenteProgetto
                         dipendenteProgetto.setField(controller, dati);
 
@@ -186,28 +169,19 @@ public class AreaDipendenteProgetto {
 
     /**
      * Aggiorna i risultati visualizzabili a video, nella tabella JTable apposita.
+     * La tabella viene caricata interamente solo alla prima invocazione: in seguito viene aggiornata riga per riga,
+     * in modo asincrono, con le modifiche notificate dal controller dopo ogni azione confermata.
      *
      * @param controller {@link Controller} Fornisce i metodi per il recupero di informazioni dal database.
      * @param colonne                       Array di stringhe, rappresenta le intestazioni dei dati forniti dal controller.
      * */
     public void aggiornaValori(Controller controller, String[] colonne){
 
-        try {
-            // Crea un nuovo modello per la tabella dei dipendenti di progetto
-            model = new DefaultTableModel(controller.recuperaObjectDipendentiProgetto(), colonne) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false; // Rendi tutte le celle non modificabili
-                }
-            };
-
-        } catch (NullPointerException exception) {
-            // Se il modello non può essere recuperato, chiudi il frame
-            frame.setVisible(false);
-            frame.dispose();
-        }
+        // Il primo aggiornamento crea il servizio che aggiorna la tabella con le modifiche notificate dal controller
+        if (aggiornamentoTabella == null)
+            aggiornamentoTabella = new AggiornamentoTabella(controller, frame, dipendenteProgettoTable, Tabella.DIPENDENTI_PROGETTO, colonne, controller::recuperaObjectDipendentiProgetto);
 
-        // Aggiorna il modello della tabella dei dipendenti di progetto
-        dipendenteProgettoTable.setModel(model);
+        // Recupera in background il contenuto della tabella dei dipendenti di progetto, che viene aggiornata al termine del recupero
+        aggiornamentoTabella.ricarica();
     }
 }
@@ -1,12 +1,11 @@
 package GUI;
 
 import Controller.Controller;
+import Controller.Tabella;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableModel;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
@@ -28,7 +27,7 @@ public class AreaLaboratorio {
     private JTextField cercaTextField;
     private JButton eliminaButton;
     private JLabel cercaLabel;
-    private TableModel model = null;
+    private AggiornamentoTabella aggiornamentoTabella = null;
 
     /**
      * Costruisce un'interfaccia utente "AreaLaboratorio", che permette di visualizzare, aggiungere, modificare o eliminare laboratori.
@@ -96,14 +95,6 @@ public class AreaLaboratorio {
                 Laboratorio laboratorio = null;
                 try {
                     laboratorio = new Laboratorio(controller, frame, false); // Passa null come datiLaboratorioDaModificare
-
-                    // Viene creato un oggetto che implementa l'interfaccia "AggiornaArea", il cui riferimento e' assegnato alla variabile di istanza callback nell'apposita GUI
-                    laboratorio.setAggiornaArea(new AggiornaArea() {
-                        @Override
-                        public void aggiornaAggiuntaModificaArea() {
-                            aggiornaValori(controller, colonne);
-                        }
-                    });
                 } catch (SQLException sqlException) {
                     sqlException.printStackTrace();
                 }
@@ -138,14 +129,6 @@ public class AreaLaboratorio {
                         // Creazione di un'istanza della classe Laboratorio in modalità modifica
                         laboratorio = new Laboratorio(controller, frame, true);
 
-                        // Viene creato un oggetto che implementa l'interfaccia "AggiornaArea", il cui riferimento e' assegnato alla variabile di istanza callback nell'apposita GUI
-                        laboratorio.setAggiornaArea(new AggiornaArea() {
-                            @Override
-                            public void aggiornaAggiuntaModificaArea() {
-                                aggiornaValori(controller, colonne);
-                            }
-                        });
-
                         if (laboratorio != null) {
                             // Imposta i dati nella finestra di modifica di Laboratorio
                             laboratorio.setField(controller, dati);
@@ -177,8 +160,6 @@ public class AreaLaboratorio {
                     String selectedNomeLab = (String) laboratorioTable.getValueAt(rigaSelezionata, 0);
                     controller.eliminaLaboratorio(selectedNomeLab);
                 }
-
-                aggiornaValori(controller, colonne);
             }
         });
     }
@@ -210,27 +191,19 @@ public class AreaLaboratorio {
 
     /**
      * Aggiorna i risultati visualizzabili a video, nella tabella JTable apposita.
+     * La tabella viene caricata interamente solo alla prima invocazione: in seguito viene aggiornata riga per riga,
+     * in modo asincrono, con le modifiche notificate dal controller dopo ogni azione confermata.
      *
      * @param controller {@link Controller} Fornisce i metodi per il recupero di informazioni dal database.
      * @param colonne                       Array di stringhe, rappresenta le intestazioni dei dati forniti dal controller.
      * */
     public void aggiornaValori(Controller controller, String[] colonne) {
-        try {
-            // Crea un nuovo modello per la tabella dei laboratori
-            model = new DefaultTableModel(controller.recuperaObjectLaboratori(), colonne) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false; // Rendi tutte le celle non modificabili
-                }
-            };
 
-        } catch (NullPointerException exception) {
-            // Se il modello non può essere recuperato, chiudi la finestra corrente
-            frame.setVisible(false);
-            frame.dispose();
-        }
+        // Il primo aggiornamento crea il servizio che aggiorna la tabella con le modifiche notificate dal controller
+        if (aggiornamentoTabella == null)
+            aggiornamentoTabella = new AggiornamentoTabella(controller, frame, laboratorioTable, Tabella.LABORATORI, colonne, controller::recuperaObjectLaboratori);
 
-        // Aggiorna il modello della tabella dei laboratori
-        laboratorioTable.setModel(model);
+        // Recupera in background il contenuto della tabella dei laboratori, che viene aggiornata al termine del recupero
+        aggiornamentoTabella.ricarica();
     }
 }
\ No newline at end of file
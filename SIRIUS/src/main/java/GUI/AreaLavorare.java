@@ -1,12 +1,11 @@
 package GUI;
 
 import Controller.Controller;
+import Controller.Tabella;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableModel;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
@@ -28,7 +27,7 @@ public class AreaLavorare {
     private JTextField cercaTextField;
     private JLabel cercaLabel;
     private JButton eliminaButton;
-    private TableModel model;
+    private AggiornamentoTabella aggiornamentoTabella = null;
 
     /**
      * Costruisce un'interfaccia utente "AreaLavorare", che permette di visualizzare, aggiungere, modificare o rimuovere istanze di lavoro tra laboratori e progetti.
@@ -95,14 +94,6 @@ public class AreaLavorare {
                 Lavorare lavorare = null;
                 try {
                     lavorare = new Lavorare(controller, frame, false);
-
-                    // Viene creato un oggetto che implementa l'interfaccia "AggiornaArea", il cui riferimento e' assegnato alla variabile di istanza callback nell'apposita GUI
-                    lavorare.setAggiornaArea(new AggiornaArea() {
-                        @Override
-                        public void aggiornaAggiuntaModificaArea() {
-                            aggiornaValori(controller, colonne);
-                        }
-                    });
                 } catch (SQLException sqlException) {
                     sqlException.printStackTrace();
                 }
@@ -137,14 +128,6 @@ public class AreaLavorare {
                         // Creazione di un'istanza della classe Lavorare in modalità modifica
                         lavorare = new Lavorare(controller, frame, true);
 
-                        // Viene creato un oggetto che implementa l'interfaccia "AggiornaArea", il cui riferimento e' assegnato alla variabile di istanza callback nell'apposita GUI
-                        lavorare.setAggiornaArea(new AggiornaArea() {
-                            @Override
-                            public void aggiornaAggiuntaModificaArea() {
-                                aggiornaValori(controller, colonne);
-                            }
-                        });
-
                         if (lavorare != null) {
 
                             // Imposta i dati nella finestra di modifica di Lavorare
@@ -177,8 +160,6 @@ public class AreaLavorare {
                     String selectedNomeLab = (String) lavorareTable.getValueAt(rigaSelezionata, 1);
 
                     controller.eliminaLavoro(selectedCupProgetto, selectedNomeLab);
-
-                    aggiornaValori(controller, colonne);
                 }
             }
         });
@@ -211,28 +192,19 @@ public class AreaLavorare {
 
     /**
      * Aggiorna i risultati visualizzabili a video, nella tabella JTable apposita.
+     * La tabella viene caricata interamente solo alla prima invocazione: in seguito viene aggiornata riga per riga,
+     * in modo asincrono, con le modifiche notificate dal controller dopo ogni azione confermata.
      *
      * @param controller {@link Controller} Fornisce i metodi per il recupero di informazioni dal database.
      * @param colonne                       Array di stringhe, rappresenta le intestazioni dei dati forniti dal controller.
      * */
     public void aggiornaValori(Controller controller, String[] colonne){
 
-        try {
-            // Crea un nuovo modello per la tabella dei lavori
-            model = new DefaultTableModel(controller.recuperaObjectLavori(), colonne) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false; // Rendi tutte le celle non modificabili
-                }
-            };
-
-        } catch (NullPointerException nullPointerException) {
-            // Se il modello non può essere recuperato, chiudi la finestra corrente
-            frame.setVisible(false);
-            frame.dispose();
-        }
+        // Il primo aggiornamento crea il servizio che aggiorna la tabella con le modifiche notificate dal controller
+        if (aggiornamentoTabella == null)
+            aggiornamentoTabella = new AggiornamentoTabella(controller, frame, lavorareTable, Tabella.LAVORI, colonne, controller::recuperaObjectLavori);
 
-        // Aggiorna il modello della tabella dei lavori
-        lavorareTable.setModel(model);
+        // Recupera in background il contenuto della tabella dei lavori, che viene aggiornata al termine del recupero
+        aggiornamentoTabella.ricarica();
     }
 }
\ No newline at end of file
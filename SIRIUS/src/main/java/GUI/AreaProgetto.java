@@ -1,12 +1,11 @@
 package GUI;
 
 import Controller.Controller;
+import Controller.Tabella;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableModel;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
@@ -27,7 +26,7 @@ public class AreaProgetto {
     private JButton modificaButton;
     private JTextField cercaTextField;
     private JLabel cercaLabel;
-    private TableModel model = null;
+    private AggiornamentoTabella aggiornamentoTabella = null;
 
     /**
      * Costruisce un'interfaccia utente "AreaProgetto", che permette di visualizzare, aggiungere o modificare progetti.
@@ -96,14 +95,6 @@ public class AreaProgetto {
                 try {
                     progetto = new Progetto(controller, frame, false);
 
-                    // Viene creato un oggetto che implementa l'interfaccia "AggiornaArea", il cui riferimento e' assegnato alla variabile di istanza callback nell'apposita GUI
-                    progetto.setAggiornaArea(new AggiornaArea() {
-                        @Override
-                        public void aggiornaAggiuntaModificaArea() {
-                            aggiornaValori(controller, colonne);
-                        }
-                    });
-
                 } catch (SQLException sqlException) {
                     sqlException.printStackTrace();
                 }
@@ -139,14 +130,6 @@ public class AreaProgetto {
                         // Crea un'istanza della classe Progetto in modalità modifica
                         progetto = new Progetto(controller, frame, true);
 
-                        // Viene creato un oggetto che implementa l'interfaccia "AggiornaArea", il cui riferimento e' assegnato alla variabile di istanza callback nell'apposita GUI
-                        progetto.setAggiornaArea(new AggiornaArea() {
-                            @Override
-                            public void aggiornaAggiuntaModificaArea() {
-                                aggiornaValori(controller, colonne);
-                            }
-                        });
-
                         if (progetto != null) {
 
                             // Imposta i dati nella finestra di modifica di Progetto
@@ -194,27 +177,19 @@ public class AreaProgetto {
 
     /**
      * Aggiorna i risultati visualizzabili a video, nella tabella JTable apposita.
+     * La tabella viene caricata interamente solo alla prima invocazione: in seguito viene aggiornata riga per riga,
+     * in modo asincrono, con le modifiche notificate dal controller dopo ogni azione confermata.
      *
      * @param controller {@link Controller} Fornisce i metodi per il recupero di informazioni dal database.
      * @param colonne                       Array di stringhe, rappresenta le intestazioni dei dati forniti dal controller.
      * */
     public void aggiornaValori(Controller controller, String[] colonne){
-        try {
-            // Crea un nuovo modello per la tabella dei progetti
-            model = new DefaultTableModel(controller.recuperaObjectProgetti(), colonne) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false; // Rende tutte le celle non modificabili
-                }
-            };
 
-        } catch (NullPointerException exception) {
-            // Se il modello non può essere recuperato, chiudi la finestra corrente
-            frame.setVisible(false);
-            frame.dispose();
-        }
+        // Il primo aggiornamento crea il servizio che aggiorna la tabella con le modifiche notificate dal controller
+        if (aggiornamentoTabella == null)
+            aggiornamentoTabella = new AggiornamentoTabella(controller, frame, progettoTable, Tabella.PROGETTI, colonne, controller::recuperaObjectProgetti);
 
-        // Aggiorna il modello della tabella dei progetti
-        progettoTable.setModel(model);
+        // Recupera in background il contenuto della tabella dei progetti, che viene aggiornata al termine del recupero
+        aggiornamentoTabella.ricarica();
     }
 }
\ No newline at end of file
@@ -1,12 +1,11 @@
 package GUI;
 
 import Controller.Controller;
+import Controller.Tabella;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableModel;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
@@ -27,7 +26,7 @@ public class AreaScattoCarriera {
     private JButton modificaButton;
     private JTextField cercaTextField;
     private JLabel cercaLabel;
-    private TableModel model = null;
+    private AggiornamentoTabella aggiornamentoTabella = null;
 
     /**
      * Costruisce un'interfaccia utente "AreaScattoCarriera", che permette di visualizzare, aggiungere o modificare scatti di carriera.
@@ -95,14 +94,6 @@ public class AreaScattoCarriera {
                 try {
                     scattoCarriera = new ScattoCarriera(controller, frame, false);
 
-                    // Viene creato un oggetto che implementa l'interfaccia "AggiornaArea", il cui riferimento e' assegnato alla variabile di istanza callback nell'apposita GUI
-                    scattoCarriera.setAggiornaArea(new AggiornaArea() {
-                        @Override
-                        public void aggiornaAggiuntaModificaArea() {
-                            aggiornaValori(controller, colonne);
-                        }
-                    });
-
                 } catch (SQLException sqlException) {
                     sqlException.printStackTrace();
                 }
@@ -141,14 +132,6 @@ public class AreaScattoCarriera {
                         try {
                             scattoCarriera = new ScattoCarriera(controller, frame, true);
 
-                            // Viene creato un oggetto che implementa l'interfaccia, il cui riferimento e' assegnato alla variabile di istanza callback nell'apposita GUI
-                            scattoCarriera.setAggiornaArea(new AggiornaArea() {
-                                @Override
-                                public void aggiornaAggiuntaModificaArea() {
-                                    aggiornaValori(controller, colonne);
-                                }
-                            });
-
                             // Imposta i dati nella finestra di modifica di ScattoCarriera
                             scattoCarriera.setField(controller, dati);
 
@@ -195,26 +178,19 @@ public class AreaScattoCarriera {
 
     /**
      * Aggiorna i risultati visualizzabili a video, nella tabella JTable apposita.
+     * La tabella viene caricata interamente solo alla prima invocazione: in seguito viene aggiornata riga per riga,
+     * in modo asincrono, con le modifiche notificate dal controller dopo ogni azione confermata.
      *
      * @param controller {@link Controller} Fornisce i metodi per il recupero di informazioni dal database.
      * @param colonne                       Array di stringhe, rappresenta le intestazioni dei dati forniti dal controller.
      * */
     public void aggiornaValori(Controller controller, String[] colonne){
-        try {
-            // Crea un nuovo modello per la tabella degli scatti di carriera
-            model = new DefaultTableModel(controller.recuperaObjectScatti(), colonne) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false; // Rende tutte le celle non modificabili
-                }
-            };
-        } catch (NullPointerException exception) {
-            // Se il modello non può essere recuperato, chiudi la finestra corrente
-            frame.setVisible(false);
-            frame.dispose();
-        }
 
-        // Aggiorna il modello della tabella degli scatti di carriera
-        scattoCarrieraTable.setModel(model);
+        // Il primo aggiornamento crea il servizio che aggiorna la tabella con le modifiche notificate dal controller
+        if (aggiornamentoTabella == null)
+            aggiornamentoTabella = new AggiornamentoTabella(controller, frame, scattoCarrieraTable, Tabella.SCATTI_CARRIERA, colonne, controller::recuperaObjectScatti);
+
+        // Recupera in background il contenuto della tabella degli scatti di carriera, che viene aggiornata al termine del recupero
+        aggiornamentoTabella.ricarica();
     }
 }
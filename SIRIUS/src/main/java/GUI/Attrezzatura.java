@@ -35,7 +35,6 @@ public class Attrezzatura {
     private String vecchioProgetto;
     private String vecchioLaboratorio = null;
     private boolean modificaMode;
-    private AggiornaArea callback;
 
     /**
      * Costruisce un'interfaccia grafica di finalizzazione "Attrezzatura".
@@ -168,9 +167,6 @@ public class Attrezzatura {
                     // Rende visibile la finestra chiamante
                     frameChiamante.setVisible(true);
 
-                    // Permette di invocare il metodo sovrascritto dell'interfaccia, che a sua volta chiama un metodo di "AreaAttrezzatura" per aggiornare la tabella
-                    callback.aggiornaAggiuntaModificaArea();
-
                     // Rilascia le risorse della finestra corrente
                     frame.dispose();
                 }
@@ -205,13 +201,13 @@ public class Attrezzatura {
     public void setField(Controller controller, Object[] dati) throws SQLException {
 
         // Imposta il vecchio ID dell'oggetto
-        setVecchioId((String) dati[0]);
+        setVecchioId(dati[0].toString());
 
         // Imposta la descrizione nel campo di testo
         descrizioneTextField.setText((String) dati[1]);
 
         // Imposta il costo nel campo di testo
-        costoTextField.setText((String) dati[2]);
+        costoTextField.setText(dati[2].toString());
 
         // Itera attraverso i progetti disponibili e seleziona quello corrispondente al dato preesistente
         for (String stored : controller.recuperaProgetti()){
@@ -265,11 +261,4 @@ public class Attrezzatura {
     public void setVecchioLaboratorio(String vecchioLaboratorio){
         this.vecchioLaboratorio = vecchioLaboratorio;
     }
-
-    /**
-     * Imposta il riferimento ad un ogetto, che permette di invocare un metodo nella GUI chiamante
-     *
-     * @param callback  {@link AggiornaArea}  Rappresenta il riferimento ad un ogetto anonimo, creato nell'apposita area.
-     * */
-    public void setAggiornaArea(AggiornaArea callback){ this.callback = callback; }
 }
@@ -54,7 +54,6 @@ public class DipendenteIndeterminato {
     private LocalDate vecchiaDataNascita;
     private boolean vecchioDirigente;
     private boolean modificaMode;
-    private AggiornaArea callback;
 
     /**
      * Costruisce un'interfaccia grafica di finalizzazione "DipendenteIndeterminato".
@@ -374,9 +373,6 @@ public class DipendenteIndeterminato {
                     frame.setVisible(false);
                     frameChiamante.setVisible(true);
 
-                    // Permette di invocare il metodo sovrascritto dell'interfaccia, che a sua volta chiama un metodo di "AreaDipendenteIndeterminato" per aggiornare la tabella
-                    callback.aggiornaAggiuntaModificaArea();
-
                     frame.dispose();
                 }
             }
@@ -424,22 +420,22 @@ public class DipendenteIndeterminato {
         }
 
         // Imposta la data di nascita
-        dataNascitaTextField.setText((String) dati[6]);
-        setVecchiaDataNascita(LocalDate.parse((String) dati[6]));
+        dataNascitaTextField.setText(dati[6].toString());
+        setVecchiaDataNascita((LocalDate) dati[6]);
 
         // Imposta la data di assunzione
-        dataAssunzioneTextField.setText((String) dati[7]);
+        dataAssunzioneTextField.setText(dati[7].toString());
 
         // Imposta la data di fine se presente
         if (dati[8] == null) {
             dataFineCheckBox.setSelected(false);
         } else {
             dataFineCheckBox.setSelected(true);
-            dataFineTextField.setText((String) dati[8]);
+            dataFineTextField.setText(dati[8].toString());
         }
 
         // Imposta il flag dirigente
-        if (dati[9].toString().equals("t")) {
+        if (Boolean.TRUE.equals(dati[9])) {
             dirigenteCheckBox.setSelected(true);
             setVecchioDirigente(true);
         } else {
@@ -512,11 +508,4 @@ public class DipendenteIndeterminato {
     public void setVecchioDirigente(boolean vecchioDirigente){
         this.vecchioDirigente = vecchioDirigente;
     }
-
-    /**
-     * Imposta il riferimento ad un ogetto, che permette di invocare un metodo nella GUI chiamante
-     *
-     * @param callback  {@link AggiornaArea}  Rappresenta il riferimento ad un ogetto anonimo, creato nell'apposita area.
-     * */
-    public void setAggiornaArea(AggiornaArea callback) { this.callback = callback; }
 }
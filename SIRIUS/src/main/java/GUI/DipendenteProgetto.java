@@ -54,7 +54,6 @@ public class DipendenteProgetto {
     private LocalDate vecchiaDataNascita;
     private String vecchioProgetto;
     private boolean modificaMode;
-    private AggiornaArea callback;
 
     /**
      * Costruisce un'interfaccia grafica di finalizzazione "DipendenteProgetto".
@@ -280,9 +279,6 @@ public class DipendenteProgetto {
                     frame.setVisible(false);
                     frameChiamante.setVisible(true);
 
-                    // Permette di invocare il metodo sovrascritto dell'interfaccia, che a sua volta chiama un metodo di "AreaDipendenteProgetto" per aggiornare la tabella
-                    callback.aggiornaAggiuntaModificaArea();
-
                     frame.dispose();
                 }
             }
@@ -323,17 +319,17 @@ public class DipendenteProgetto {
         }
 
         // Imposta il campo Data di Nascita con il valore dal database
-        dataNascitaTextField.setText((String) dati[5]);
-        setVecchiaDataNascita(LocalDate.parse((String) dati[5]));
+        dataNascitaTextField.setText(dati[5].toString());
+        setVecchiaDataNascita((LocalDate) dati[5]);
 
         // Imposta il campo Data di Assunzione con il valore dal database
-        dataAssunzioneTextField.setText((String) dati[6]);
+        dataAssunzioneTextField.setText(dati[6].toString());
 
         // Imposta il campo Costo con il valore dal database
-        costoTextField.setText((String) dati[7]);
+        costoTextField.setText(dati[7].toString());
 
         // Imposta il campo Scadenza con il valore dal database
-        scadenzaTextField.setText((String) dati[8]);
+        scadenzaTextField.setText(dati[8].toString());
 
         // Imposta la ComboBox Progetto con il valore dal database
         for (String stored : controller.recuperaProgetti()) {
@@ -397,11 +393,4 @@ public class DipendenteProgetto {
     public void setVecchioProgetto(String vecchioProgetto){
         this.vecchioProgetto = vecchioProgetto;
     }
-
-    /**
-     * Imposta il riferimento ad un ogetto, che permette di invocare un metodo nella GUI chiamante
-     *
-     * @param callback  {@link AggiornaArea}  Rappresenta il riferimento ad un ogetto anonimo, creato nell'apposita area.
-     * */
-    public void setAggiornaArea(AggiornaArea callback){ this.callback = callback; }
 }
@@ -26,7 +26,6 @@ public class Laboratorio {
     private JButton okButton;
     private String vecchioNome;
     private boolean modificaMode;
-    private AggiornaArea callback;
 
 
     /**
@@ -110,9 +109,6 @@ public class Laboratorio {
                     frame.setVisible(false);
                     frameChiamante.setVisible(true);
 
-                    // Permette di invocare il metodo sovrascritto dell'interfaccia, che a sua volta chiama un metodo di "AreaLaboratorio" per aggiornare la tabella
-                    callback.aggiornaAggiuntaModificaArea();
-
                     frame.dispose();
                 }
             }
@@ -151,13 +147,4 @@ public class Laboratorio {
     public void setVecchioNome(String vecchioNome){
         this.vecchioNome = vecchioNome;
     }
-
-    /**
-     * Imposta il riferimento ad un ogetto, che permette di invocare un metodo nella GUI chiamante
-     *
-     * @param callback  {@link AggiornaArea}  Rappresenta il riferimento ad un ogetto anonimo, creato nell'apposita area.
-     * */
-    public void setAggiornaArea(AggiornaArea callback){
-            this.callback = callback;
-    }
 }
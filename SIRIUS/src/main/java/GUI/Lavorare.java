@@ -26,7 +26,6 @@ public class Lavorare {
     private String vecchioLaboratorio;
     private String vecchioProgetto;
     private boolean modificaMode;
-    private AggiornaArea callback;
 
     /**
      * Costruisce un'interfaccia grafica di finalizzazione "Lavorare".
@@ -120,9 +119,6 @@ public class Lavorare {
                     frame.setVisible(false);
                     frameChiamante.setVisible(true);
 
-                    // Permette di invocare il metodo sovrascritto dell'interfaccia, che a sua volta chiama un metodo di "AreaLavorare" per aggiornare la tabella
-                    callback.aggiornaAggiuntaModificaArea();
-
                     frame.dispose();
                 }
             }
@@ -169,11 +165,4 @@ public class Lavorare {
      * @param vecchioProgetto  {@link String}  Rappresenta il progetto corrente dell'istanza da modificare
      * */
     public void setVecchioProgetto(String vecchioProgetto) { this.vecchioProgetto = vecchioProgetto; }
-
-    /**
-     * Imposta il riferimento ad un ogetto, che permette di invocare un metodo nella GUI chiamante
-     *
-     * @param callback  {@link AggiornaArea}  Rappresenta il riferimento ad un ogetto anonimo, creato nell'apposita area.
-     * */
-    public void setAggiornaArea(AggiornaArea callback){ this.callback = callback; }
 }
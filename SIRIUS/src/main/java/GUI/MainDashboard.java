@@ -149,41 +149,37 @@ public class MainDashboard {
             }
         });
 
-        //creazione delle istanze del model a partire dal database;
-        if (!controller.leggiDipendentiIndeterminati()) {
-            JOptionPane.showMessageDialog(frame, "Attenzione! Problema nella coerenza dei dati degli scatti di carriera registrati nel database!");
-            throw new IllegalArgumentException();
-        }
+        //applicazione delle migrazioni dello schema non ancora applicate, prima dell'ascolto e della lettura che ne dipendono
+        if (controller.aggiornaSchema() < 0)
+            JOptionPane.showMessageDialog(frame, "Attenzione! Aggiornamento dello schema del database non riuscito: alcune funzionalita' potrebbero essere piu' lente.");
 
-        if (!controller.leggiLaboratori()) {
+        //ascolto delle modifiche degli altri client, avviato prima della lettura per non perdere quelle confermate durante la lettura
+        controller.avviaAscoltoNotifiche();
 
-            JOptionPane.showMessageDialog(frame, "Attenzione! Problema nella coerenza dei dati dei laboratori registrati nel database!");
-            throw new IllegalArgumentException();
-        }
+        //creazione delle istanze del model a partire da un'istantanea coerente del database;
+        int esitoLettura = controller.leggiDatabase();
 
-        if (!controller.leggiProgetti()) {
+        // Le singole incoerenze rilevate vengono riportate, dopo il messaggio, in ogni avviso
+        String incoerenzeLettura = controller.getRapportoLettura().descrivi(10);
 
-            JOptionPane.showMessageDialog(frame, "Attenzione! Problema nella coerenza dei dati dei progetti registrati nel database!");
+        if (esitoLettura == 1) {
+            JOptionPane.showMessageDialog(frame, "Attenzione! Problema nella coerenza dei dati degli scatti di carriera registrati nel database!\n" + incoerenzeLettura);
             throw new IllegalArgumentException();
-        }
-
-        if (!controller.leggiDipendentiProgetto()) {
-
-            JOptionPane.showMessageDialog(frame, "Attenzione! Problema nella coerenza dei dati dei dipendenti a progetto registrati nel database!");
+        } else if (esitoLettura == 2) {
+            JOptionPane.showMessageDialog(frame, "Attenzione! Problema nella coerenza dei dati dei laboratori registrati nel database!\n" + incoerenzeLettura);
             throw new IllegalArgumentException();
-        }
-
-        if (!controller.leggiAttrezzature()) {
-
-            JOptionPane.showMessageDialog(frame, "Attenzione! Problema nella coerenza dei dati delle attrezzature registrate nel databse!");
+        } else if (esitoLettura == 3) {
+            JOptionPane.showMessageDialog(frame, "Attenzione! Problema nella coerenza dei dati dei progetti registrati nel database!\n" + incoerenzeLettura);
             throw new IllegalArgumentException();
-        }
-
-        if (!controller.leggiLavorare()) {
-
-            JOptionPane.showMessageDialog(frame, "Attenzione! Problema nella coerenza dei dati delle istanze di lavoro registrate nel database!");
+        } else if (esitoLettura == 4) {
+            JOptionPane.showMessageDialog(frame, "Attenzione! Problema nella coerenza dei dati dei dipendenti a progetto registrati nel database!\n" + incoerenzeLettura);
+            throw new IllegalArgumentException();
+        } else if (esitoLettura == 5) {
+            JOptionPane.showMessageDialog(frame, "Attenzione! Problema nella coerenza dei dati delle attrezzature registrate nel databse!\n" + incoerenzeLettura);
+            throw new IllegalArgumentException();
+        } else if (esitoLettura == 6) {
+            JOptionPane.showMessageDialog(frame, "Attenzione! Problema nella coerenza dei dati delle istanze di lavoro registrate nel database!\n" + incoerenzeLettura);
             throw new IllegalArgumentException();
-
         }
 
         //configurazione del bottone per accedere alla sezione dei dipendenti indeterminati
@@ -0,0 +1,151 @@
+package GUI;
+
+import Controller.Tabella;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Modello della tabella di un'area, aggiornabile riga per riga.
+ *
+ * Oltre al caricamento dell'intero contenuto, il modello permette di inserire, aggiornare o eliminare una singola riga,
+ * ritrovata tramite la sua chiave, notificando alla tabella solo la riga interessata: l'ordinamento, la selezione
+ * e lo scorrimento della tabella vengono cosi' mantenuti dopo ogni modifica.
+ * Tutte le celle del modello sono non modificabili.
+ */
+public class ModelloTabellaArea extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Tabella tabella;
+    private final String[] colonne;
+    private final ArrayList<Object[]> righe = new ArrayList<>();
+
+    // Posizione di ogni riga nel modello, per chiave
+    private final HashMap<List<Object>, Integer> indiceRighe = new HashMap<>();
+
+    /**
+     * Costruisce un modello vuoto per la tabella specificata.
+     *
+     * @param tabella   {@link Tabella} La tabella del database visualizzata, che definisce la chiave delle righe.
+     * @param colonne                   Le intestazioni delle colonne della tabella.
+     */
+    public ModelloTabellaArea(Tabella tabella, String[] colonne) {
+        this.tabella = tabella;
+        this.colonne = colonne;
+    }
+
+    /**
+     * Restituisce la tabella del database visualizzata dal modello.
+     *
+     * @return {@link Tabella} La tabella del database.
+     */
+    public Tabella getTabella() {
+        return tabella;
+    }
+
+    @Override
+    public int getRowCount() {
+        return righe.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return colonne.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return colonne[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return righe.get(rowIndex)[columnIndex];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false; // Rendi tutte le celle non modificabili
+    }
+
+    /**
+     * Sostituisce l'intero contenuto del modello.
+     *
+     * @param nuoveRighe Le righe della tabella, oppure null se la tabella e' vuota.
+     */
+    public void impostaRighe(Object[][] nuoveRighe) {
+
+        righe.clear();
+        indiceRighe.clear();
+
+        if (nuoveRighe != null) {
+            for (Object[] riga : nuoveRighe) {
+                indiceRighe.put(tabella.chiave(riga), righe.size());
+                righe.add(riga);
+            }
+        }
+
+        fireTableDataChanged();
+    }
+
+    /**
+     * Applica la modifica di una singola riga: la riga con la chiave specificata viene sostituita dai nuovi valori,
+     * oppure eliminata se i nuovi valori non sono presenti. Se la riga non e' presente nel modello, i nuovi valori vengono aggiunti.
+     *
+     * @param chiave    {@link List}    La chiave della riga prima della modifica, null se la riga e' nuova.
+     * @param riga                      I nuovi valori della riga, oppure null se la riga e' stata eliminata.
+     */
+    public void applica(List<Object> chiave, Object[] riga) {
+
+        Integer posizione = chiave == null ? null : indiceRighe.get(chiave);
+
+        if (riga == null) {
+
+            if (posizione != null)
+                rimuovi(posizione);
+
+            return;
+        }
+
+        // Una riga gia' presente con la nuova chiave viene sostituita, al posto di essere duplicata
+        List<Object> nuovaChiave = tabella.chiave(riga);
+        Integer posizioneNuovaChiave = indiceRighe.get(nuovaChiave);
+
+        if (posizione == null) {
+            posizione = posizioneNuovaChiave;
+        } else if (posizioneNuovaChiave != null && !posizioneNuovaChiave.equals(posizione)) {
+            rimuovi(posizioneNuovaChiave);
+
+            if (posizioneNuovaChiave < posizione)
+                posizione--;
+        }
+
+        if (posizione == null) {
+
+            indiceRighe.put(nuovaChiave, righe.size());
+            righe.add(riga);
+            fireTableRowsInserted(righe.size() - 1, righe.size() - 1);
+
+        } else {
+
+            indiceRighe.remove(tabella.chiave(righe.get(posizione)));
+            indiceRighe.put(nuovaChiave, posizione);
+            righe.set(posizione, riga);
+            fireTableRowsUpdated(posizione, posizione);
+        }
+    }
+
+    //Rimuove la riga nella posizione specificata, aggiornando la posizione delle righe successive
+    private void rimuovi(int posizione) {
+
+        indiceRighe.remove(tabella.chiave(righe.remove(posizione)));
+
+        for (int i = posizione; i < righe.size(); i++)
+            indiceRighe.put(tabella.chiave(righe.get(i)), i);
+
+        fireTableRowsDeleted(posizione, posizione);
+    }
+}
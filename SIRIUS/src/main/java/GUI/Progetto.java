@@ -46,7 +46,6 @@ public class Progetto {
     private String vecchioReferenteScientifico;
     private String vecchioResponsabile;
     private boolean modificaMode;
-    private AggiornaArea callback;
     private boolean selezionataDataFine = false;
 
     /**
@@ -299,9 +298,6 @@ public class Progetto {
                     frame.setVisible(false);
                     frameChiamante.setVisible(true);
 
-                    // Permette di invocare il metodo sovrascritto dell'interfaccia, che a sua volta chiama un metodo di "AreaProgetto" per aggiornare la tabella
-                    callback.aggiornaAggiuntaModificaArea();
-
                     frame.dispose();
                 }
             }
@@ -326,11 +322,11 @@ public class Progetto {
         setVecchioCup((String) dati[0]);
 
         // Imposta il budget del progetto
-        budgetTextField.setText((String) dati[4]);
+        budgetTextField.setText(dati[4].toString());
 
         // Imposta la data di inizio del progetto
-        dataInizioTextField.setText((String) dati[2]);
-        setVecchiaDataInizio(LocalDate.parse((String) dati[2]));
+        dataInizioTextField.setText(dati[2].toString());
+        setVecchiaDataInizio((LocalDate) dati[2]);
 
         // Verifica se esiste una data di fine per il progetto
         if (dati[3] == null) {
@@ -338,8 +334,8 @@ public class Progetto {
             setVecchiaDataFine(null);
         } else {
             dataFineCheckBox.setSelected(true);
-            dataFineTextField.setText((String) dati[3]);
-            setVecchiaDataFine(LocalDate.parse(dati[3].toString()));
+            dataFineTextField.setText(dati[3].toString());
+            setVecchiaDataFine((LocalDate) dati[3]);
         }
 
         // Imposta il referente scientifico del progetto
@@ -396,11 +392,4 @@ public class Progetto {
      * @param vecchioResponsabile {@link String} Rappresenta la matricola del referente scientifico dell'istanza da modificare.
      */
     public void setVecchioResponsabile(String vecchioResponsabile){this.vecchioResponsabile = vecchioResponsabile;}
-
-    /**
-     * Imposta il riferimento ad un ogetto, che permette di invocare un metodo nella GUI chiamante
-     *
-     * @param callback  {@link AggiornaArea}  Rappresenta il riferimento ad un ogetto anonimo, creato nell'apposita area.
-     * */
-    public void setAggiornaArea(AggiornaArea callback){ this.callback = callback; }
 }
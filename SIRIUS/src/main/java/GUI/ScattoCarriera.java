@@ -34,7 +34,6 @@ public class ScattoCarriera {
     private String vecchiaMatricola;
     private LocalDate vecchiaData;
     private boolean modificaMode;
-    private AggiornaArea callback;
 
     /**
      * Costruisce un'interfaccia grafica di finalizzazione "ScattoCarriera".
@@ -132,9 +131,6 @@ public class ScattoCarriera {
                     frame.setVisible(false);
                     frameChiamante.setVisible(true);
 
-                    // Permette di invocare il metodo sovrascritto dell'interfaccia, che a sua volta chiama un metodo di "AreaScattoCarriera" per aggiornare la tabella
-                    callback.aggiornaAggiuntaModificaArea();
-
                     frame.dispose();
                 }
             }
@@ -184,7 +180,7 @@ public class ScattoCarriera {
 
         // Imposta la data nello scatto di carriera
         dataTextField.setText(dati[2].toString());
-        setVecchiaData(LocalDate.parse(dati[2].toString()));
+        setVecchiaData((LocalDate) dati[2]);
     }
 
     /**
@@ -213,11 +209,4 @@ public class ScattoCarriera {
     public void setVecchioTipoScatto(String vecchioTipoScatto){
         this.vecchioTipoScatto = vecchioTipoScatto;
     }
-
-    /**
-     * Imposta il riferimento ad un ogetto, che permette di invocare un metodo nella GUI chiamante
-     *
-     * @param callback  {@link AggiornaArea}  Rappresenta il riferimento ad un ogetto anonimo, creato nell'apposita area.
-     * */
-    public void setAggiornaArea(AggiornaArea callback){ this.callback = callback; }
 }
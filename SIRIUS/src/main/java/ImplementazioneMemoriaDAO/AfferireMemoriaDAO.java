@@ -0,0 +1,122 @@
+package ImplementazioneMemoriaDAO;
+
+import DAO.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+/**
+ * Questa classe implementa l'interfaccia AfferireDAO sul database in memoria {@link DatabaseMemoria},
+ * con gli stessi vincoli della tabella AFFERIRE.
+ */
+public class AfferireMemoriaDAO implements AfferireDAO {
+
+    private final DatabaseMemoria database;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del DAO.
+     *
+     * @param database {@link DatabaseMemoria} Il database in memoria su cui opera il DAO.
+     */
+    public AfferireMemoriaDAO(DatabaseMemoria database) {
+        this.database = database;
+    }
+
+
+    //CUD
+    @Override
+    public void addAfferenza(String matricola, String nomeLab) {
+
+        database.esegui(() -> {
+            database.afferenze.inserisci(verifica(new RigaAfferenza(matricola, nomeLab)));
+            return null;
+        });
+    }
+
+    @Override
+    public void removeAfferenza(String matricola, String nomeLab) {
+
+        database.esegui(() -> database.afferenze.rimuovi(new RigaAfferenza(matricola, nomeLab)));
+    }
+
+    @Override
+    public void addAfferenze(ArrayList<String> matricole, ArrayList<String> nomiLab) {
+
+        database.esegui(() -> {
+            for (int i = 0; i < matricole.size(); i++)
+                database.afferenze.inserisci(verifica(new RigaAfferenza(matricole.get(i), nomiLab.get(i))));
+            return null;
+        });
+    }
+
+    @Override
+    public void removeAfferenze(ArrayList<String> matricole, ArrayList<String> nomiLab) {
+
+        database.esegui(() -> {
+            for (int i = 0; i < matricole.size(); i++)
+                database.afferenze.rimuovi(new RigaAfferenza(matricole.get(i), nomiLab.get(i)));
+            return null;
+        });
+    }
+
+    @Override
+    public void updateAfferenza(String vecchiaMatricola, String vecchioNomeLab, String matricola, String nomeLab) {
+
+        database.esegui(() -> {
+            RigaAfferenza afferenza = database.afferenze.get(new RigaAfferenza(vecchiaMatricola, vecchioNomeLab));
+
+            if (afferenza != null)
+                database.afferenze.sostituisci(afferenza, verifica(new RigaAfferenza(matricola, nomeLab)));
+            return null;
+        });
+    }
+
+    //Verifica i domini e le chiavi esterne di un'afferenza
+    private RigaAfferenza verifica(RigaAfferenza afferenza) throws SQLException {
+
+        VincoliMemoria.matricola(afferenza.matricola(), "AFFERIRE.Matricola");
+        VincoliMemoria.stringa(afferenza.nomeLab(), "AFFERIRE.nomeLab");
+
+        if (!database.dipendentiIndeterminati.contiene(afferenza.matricola()))
+            throw VincoliMemoria.violazioneChiaveEsterna("AFFERIRE", "Matricola", afferenza.matricola());
+
+        if (!database.laboratori.contiene(afferenza.nomeLab()))
+            throw VincoliMemoria.violazioneChiaveEsterna("AFFERIRE", "nomeLab", afferenza.nomeLab());
+
+        return afferenza;
+    }
+
+    //QUERY
+    @Override
+    public boolean obtainAfferenze(LetturaAfferenza letturaAfferenza) throws SQLException {
+
+        // Le righe vengono copiate sotto il lock di lettura e consegnate fuori da esso, in modo che l'elaborazione possa accedere al database
+        for (RigaAfferenza afferenza : getAfferenze())
+            if (!letturaAfferenza.leggi(afferenza.matricola(), afferenza.nomeLab()))
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public void obtainAfferenze(ArrayList<String> dipendenti, ArrayList<String> laboratori) throws SQLException {
+
+        obtainAfferenze((matricola, nomeLab) -> {
+            dipendenti.add(matricola);
+            laboratori.add(nomeLab);
+            return true;
+        });
+    }
+
+    @Override
+    public ArrayList<RigaAfferenza> getAfferenze() {
+        return database.leggi(() -> new ArrayList<>(database.afferenze.righe()));
+    }
+
+    @Override
+    public RigaAfferenza getAfferenza(String matricola, String nomeLab) {
+        return database.leggi(() -> database.afferenze.get(new RigaAfferenza(matricola, nomeLab)));
+    }
+}
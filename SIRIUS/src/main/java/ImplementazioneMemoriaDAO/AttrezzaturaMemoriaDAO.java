@@ -0,0 +1,108 @@
+package ImplementazioneMemoriaDAO;
+
+import DAO.*;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+/**
+ * Questa classe implementa l'interfaccia AttrezzaturaDAO sul database in memoria {@link DatabaseMemoria},
+ * con gli stessi vincoli della tabella ATTREZZATURA. Gli identificativi vengono assegnati da una sequenza, come la colonna SERIAL.
+ */
+public class AttrezzaturaMemoriaDAO implements AttrezzaturaDAO {
+
+    private final DatabaseMemoria database;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del DAO.
+     *
+     * @param database {@link DatabaseMemoria} Il database in memoria su cui opera il DAO.
+     */
+    public AttrezzaturaMemoriaDAO(DatabaseMemoria database) {
+        this.database = database;
+    }
+
+
+    //CUD
+    @Override
+    public void addAttrezzatura(String descrizione, BigDecimal costo, String cup, String nomeLab) {
+
+        database.esegui(() -> {
+            database.attrezzature.inserisci(verifica(new RigaAttrezzatura(database.prossimoIdAttrezzatura(), descrizione, costo, nomeLab, cup)));
+            return null;
+        });
+    }
+
+    @Override
+    public void updateAttrezzatura(Integer idAttrezzatura, String descrizione, BigDecimal costo, String cup, String nomeLab) {
+
+        database.esegui(() -> {
+            RigaAttrezzatura attrezzatura = database.attrezzature.get(idAttrezzatura);
+
+            if (attrezzatura != null)
+                database.attrezzature.sostituisci(attrezzatura, verifica(new RigaAttrezzatura(idAttrezzatura, descrizione, costo, nomeLab, cup)));
+            return null;
+        });
+    }
+
+    //Verifica i domini e le chiavi esterne di un'attrezzatura, restituendola con il costo arrotondato ai centesimi
+    private RigaAttrezzatura verifica(RigaAttrezzatura attrezzatura) throws SQLException {
+
+        VincoliMemoria.nonNullo(attrezzatura.descrizione(), "ATTREZZATURA.Descrizione");
+        VincoliMemoria.lunghezza(attrezzatura.descrizione(), 256, "ATTREZZATURA.Descrizione");
+        BigDecimal costo = VincoliMemoria.euro(attrezzatura.costo(), "ATTREZZATURA.Costo");
+        VincoliMemoria.lunghezza(attrezzatura.nomeLab(), 30, "ATTREZZATURA.nomeLab");
+        VincoliMemoria.cup(attrezzatura.cup(), "ATTREZZATURA.CUP");
+
+        if (attrezzatura.nomeLab() != null && !database.laboratori.contiene(attrezzatura.nomeLab()))
+            throw VincoliMemoria.violazioneChiaveEsterna("ATTREZZATURA", "nomeLab", attrezzatura.nomeLab());
+
+        if (!database.progetti.contiene(attrezzatura.cup()))
+            throw VincoliMemoria.violazioneChiaveEsterna("ATTREZZATURA", "CUP", attrezzatura.cup());
+
+        return new RigaAttrezzatura(attrezzatura.idAttrezzatura(), attrezzatura.descrizione(), costo, attrezzatura.nomeLab(), attrezzatura.cup());
+    }
+
+    //QUERY
+    @Override
+    public boolean obtainAttrezzature(LetturaAttrezzatura letturaAttrezzatura) throws SQLException {
+
+        // Le righe vengono copiate sotto il lock di lettura e consegnate fuori da esso, in modo che l'elaborazione possa accedere al database
+        for (RigaAttrezzatura attrezzatura : getAttrezzature())
+            if (!letturaAttrezzatura.leggi(attrezzatura.idAttrezzatura(), attrezzatura.descrizione(), attrezzatura.costo(), attrezzatura.cup(), attrezzatura.nomeLab()))
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public BufferAttrezzature caricaAttrezzature() throws SQLException {
+        return database.leggi(() -> caricaBuffer(database));
+    }
+
+    /**
+     * Copia tutte le attrezzature in un buffer colonnare. Va chiamato sotto il lock di lettura.
+     */
+    static BufferAttrezzature caricaBuffer(DatabaseMemoria database) {
+
+        BufferAttrezzature buffer = new BufferAttrezzature(database.attrezzature.dimensione());
+
+        for (RigaAttrezzatura attrezzatura : database.attrezzature.righe())
+            buffer.aggiungi(attrezzatura.idAttrezzatura(), attrezzatura.descrizione(), attrezzatura.costo(), attrezzatura.cup(), attrezzatura.nomeLab());
+
+        return buffer;
+    }
+
+    @Override
+    public ArrayList<RigaAttrezzatura> getAttrezzature() {
+        return database.leggi(() -> new ArrayList<>(database.attrezzature.righe()));
+    }
+
+    @Override
+    public RigaAttrezzatura getAttrezzatura(int idAttrezzatura) {
+        return database.leggi(() -> database.attrezzature.get(idAttrezzatura));
+    }
+}
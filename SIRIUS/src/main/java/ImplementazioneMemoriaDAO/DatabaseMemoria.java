@@ -0,0 +1,272 @@
+package ImplementazioneMemoriaDAO;
+
+import DAO.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Database dell'azienda interamente in memoria, con le stesse tabelle, gli stessi vincoli e le stesse azioni referenziali
+ * dello schema Postgres, utilizzato dai DAO di {@link FornitoreMemoriaDAO}.
+ *
+ * Ogni tabella e' una {@link TabellaMemoria}, indicizzata per chiave primaria e per le colonne su cui i DAO eseguono ricerche
+ * o propagano le modifiche delle chiavi esterne. La concorrenza e' regolata da un unico lock di lettura e scrittura:
+ * <ul>
+ *     <li>ogni lettura avviene sotto il lock di lettura, e osserva quindi solo modifiche confermate, oppure quelle della propria transazione;</li>
+ *     <li>ogni istruzione di modifica avviene sotto il lock di scrittura, che una transazione mantiene fino alla propria chiusura.</li>
+ * </ul>
+ *
+ * Ogni istruzione e' atomica: le modifiche eseguite vengono registrate in un registro di annullamento, e se l'istruzione
+ * viola un vincolo vengono annullate prima di segnalare l'errore. Come per i DAO Postgres, l'errore viene stampato e,
+ * se l'istruzione fa parte di una transazione, la transazione potra' solo essere annullata.
+ */
+public class DatabaseMemoria {
+
+    //TABELLE
+    final TabellaMemoria<String, RigaDipendenteIndeterminato> dipendentiIndeterminati;
+    final TabellaMemoria<RigaScattoCarriera, RigaScattoCarriera> scattiCarriera;
+    final TabellaMemoria<String, RigaLaboratorio> laboratori;
+    final TabellaMemoria<RigaAfferenza, RigaAfferenza> afferenze;
+    final TabellaMemoria<String, RigaProgetto> progetti;
+    final TabellaMemoria<RigaLavoro, RigaLavoro> lavori;
+    final TabellaMemoria<String, RigaDipendenteProgetto> dipendentiProgetto;
+    final TabellaMemoria<Integer, RigaAttrezzatura> attrezzature;
+
+    //INDICI SECONDARI
+    final TabellaMemoria<String, RigaDipendenteIndeterminato>.Indice<String> dipendentiIndeterminatiPerCodFiscale;
+    final TabellaMemoria<RigaScattoCarriera, RigaScattoCarriera>.Indice<String> scattiPerMatricola;
+    final TabellaMemoria<String, RigaLaboratorio>.Indice<String> laboratoriPerResponsabile;
+    final TabellaMemoria<RigaAfferenza, RigaAfferenza>.Indice<String> afferenzePerMatricola;
+    final TabellaMemoria<RigaAfferenza, RigaAfferenza>.Indice<String> afferenzePerLaboratorio;
+    final TabellaMemoria<String, RigaProgetto>.Indice<String> progettiPerNome;
+    final TabellaMemoria<String, RigaProgetto>.Indice<String> progettiPerReferente;
+    final TabellaMemoria<String, RigaProgetto>.Indice<String> progettiPerResponsabile;
+    final TabellaMemoria<RigaLavoro, RigaLavoro>.Indice<String> lavoriPerProgetto;
+    final TabellaMemoria<RigaLavoro, RigaLavoro>.Indice<String> lavoriPerLaboratorio;
+    final TabellaMemoria<String, RigaDipendenteProgetto>.Indice<String> dipendentiProgettoPerProgetto;
+    final TabellaMemoria<String, RigaDipendenteProgetto>.Indice<String> dipendentiProgettoPerCodFiscale;
+    final TabellaMemoria<Integer, RigaAttrezzatura>.Indice<String> attrezzaturePerProgetto;
+    final TabellaMemoria<Integer, RigaAttrezzatura>.Indice<String> attrezzaturePerLaboratorio;
+
+    // Sequenza di idAttrezzatura: come una sequenza Postgres, i valori assegnati non vengono restituiti all'annullamento
+    private final AtomicInteger sequenzaAttrezzature = new AtomicInteger();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<TransazioneMemoria> transazioneCorrente = new ThreadLocal<>();
+
+    // Operazioni che annullano le modifiche non ancora confermate, in ordine di esecuzione; accessibile solo a chi detiene il lock di scrittura
+    private final ArrayList<Runnable> annullamenti = new ArrayList<>();
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del database, che crea le tabelle vuote e i loro indici.
+     */
+    public DatabaseMemoria() {
+
+        dipendentiIndeterminati = new TabellaMemoria<>(this, "DIP_INDETERMINATO", RigaDipendenteIndeterminato::matricola);
+        dipendentiIndeterminatiPerCodFiscale = dipendentiIndeterminati.creaIndice(RigaDipendenteIndeterminato::codFiscale);
+
+        scattiCarriera = new TabellaMemoria<>(this, "SCATTO_CARRIERA", riga -> riga);
+        scattiPerMatricola = scattiCarriera.creaIndice(RigaScattoCarriera::matricola);
+
+        laboratori = new TabellaMemoria<>(this, "LABORATORIO", RigaLaboratorio::nome);
+        laboratoriPerResponsabile = laboratori.creaIndice(RigaLaboratorio::responsabileScientifico);
+
+        afferenze = new TabellaMemoria<>(this, "AFFERIRE", riga -> riga);
+        afferenzePerMatricola = afferenze.creaIndice(RigaAfferenza::matricola);
+        afferenzePerLaboratorio = afferenze.creaIndice(RigaAfferenza::nomeLab);
+
+        progetti = new TabellaMemoria<>(this, "PROGETTO", RigaProgetto::cup);
+        progettiPerNome = progetti.creaIndice(RigaProgetto::nome);
+        progettiPerReferente = progetti.creaIndice(RigaProgetto::referenteScientifico);
+        progettiPerResponsabile = progetti.creaIndice(RigaProgetto::responsabile);
+
+        lavori = new TabellaMemoria<>(this, "LAVORARE", riga -> riga);
+        lavoriPerProgetto = lavori.creaIndice(RigaLavoro::cup);
+        lavoriPerLaboratorio = lavori.creaIndice(RigaLavoro::nomeLab);
+
+        dipendentiProgetto = new TabellaMemoria<>(this, "DIP_PROGETTO", RigaDipendenteProgetto::matricola);
+        dipendentiProgettoPerProgetto = dipendentiProgetto.creaIndice(RigaDipendenteProgetto::cup);
+        dipendentiProgettoPerCodFiscale = dipendentiProgetto.creaIndice(RigaDipendenteProgetto::codFiscale);
+
+        attrezzature = new TabellaMemoria<>(this, "ATTREZZATURA", RigaAttrezzatura::idAttrezzatura);
+        attrezzaturePerProgetto = attrezzature.creaIndice(RigaAttrezzatura::cup);
+        attrezzaturePerLaboratorio = attrezzature.creaIndice(RigaAttrezzatura::nomeLab);
+    }
+
+
+    //METODI
+    /**
+     * Istruzione di modifica del database, eseguita atomicamente sotto il lock di scrittura.
+     *
+     * @param <T> Il tipo del risultato dell'istruzione.
+     */
+    interface Istruzione<T> {
+        /**
+         * @return Il risultato dell'istruzione.
+         * @throws SQLException Se l'istruzione viola un vincolo dello schema.
+         */
+        T esegui() throws SQLException;
+    }
+
+    /**
+     * Esegue atomicamente un'istruzione di modifica: se viola un vincolo, tutte le sue modifiche vengono annullate,
+     * l'errore viene stampato e, se e' aperta una transazione sul thread corrente, la transazione potra' solo essere annullata.
+     *
+     * @param istruzione {@link Istruzione} L'istruzione da eseguire.
+     * @return Il risultato dell'istruzione, oppure null se l'istruzione e' fallita.
+     */
+    <T> T esegui(Istruzione<T> istruzione) {
+
+        TransazioneMemoria transazione = transazioneCorrente.get();
+
+        // Fuori da una transazione, ogni istruzione e' confermata singolarmente
+        if (transazione == null)
+            lock.writeLock().lock();
+
+        int inizio = annullamenti.size();
+
+        try {
+            // Come in Postgres, dopo un errore la transazione rifiuta ogni altra istruzione fino al suo annullamento
+            if (transazione != null && transazione.isFallita())
+                throw new SQLException("La transazione e' stata annullata: le istruzioni vengono ignorate fino alla sua chiusura", VincoliMemoria.TRANSAZIONE_ANNULLATA);
+
+            T risultato = istruzione.esegui();
+
+            if (transazione != null)
+                transazione.registraStatement();
+
+            return risultato;
+
+        } catch (SQLException sqlException) {
+            annullaFino(inizio);
+
+            if (transazione != null)
+                transazione.registraErrore(sqlException);
+
+            sqlException.printStackTrace();
+            return null;
+
+        } catch (RuntimeException runtimeException) {
+            annullaFino(inizio);
+
+            if (transazione != null)
+                transazione.registraErrore(new SQLException(runtimeException));
+
+            throw runtimeException;
+
+        } finally {
+            if (transazione == null) {
+                annullamenti.clear();
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Esegue una lettura sotto il lock di lettura: la lettura non osserva le modifiche di transazioni non ancora concluse,
+     * eccetto quelle della transazione aperta sul thread corrente.
+     *
+     * @param lettura {@link Supplier} La lettura da eseguire, che non deve modificare il database.
+     * @return Il risultato della lettura.
+     */
+    <T> T leggi(Supplier<T> lettura) {
+
+        lock.readLock().lock();
+
+        try {
+            return lettura.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apre una transazione sul thread corrente, acquisendo il lock di scrittura fino alla sua chiusura.
+     * Se una transazione e' gia' aperta sul thread corrente, viene restituita quella esistente.
+     *
+     * @return {@link Transazione}  La transazione aperta.
+     */
+    public Transazione apriTransazione() {
+
+        TransazioneMemoria transazione = transazioneCorrente.get();
+
+        if (transazione != null) {
+            transazione.estendi();
+            return transazione;
+        }
+
+        lock.writeLock().lock();
+
+        transazione = new TransazioneMemoria(this);
+        transazioneCorrente.set(transazione);
+
+        return transazione;
+    }
+
+    /**
+     * Rimuove tutte le righe di tutte le tabelle e riporta la sequenza delle attrezzature al valore iniziale.
+     * Lo svuotamento non fa parte di alcuna transazione e non puo' essere annullato.
+     */
+    public void svuota() {
+
+        lock.writeLock().lock();
+
+        try {
+            dipendentiIndeterminati.svuota();
+            scattiCarriera.svuota();
+            laboratori.svuota();
+            afferenze.svuota();
+            progetti.svuota();
+            lavori.svuota();
+            dipendentiProgetto.svuota();
+            attrezzature.svuota();
+
+            sequenzaAttrezzature.set(0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Restituisce il prossimo valore della sequenza degli identificativi delle attrezzature.
+     *
+     * @return Il nuovo identificativo.
+     */
+    int prossimoIdAttrezzatura() {
+        return sequenzaAttrezzature.incrementAndGet();
+    }
+
+    /**
+     * Registra l'operazione che annulla una modifica appena eseguita. Va chiamato solo da chi detiene il lock di scrittura.
+     *
+     * @param annullamento {@link Runnable} L'operazione di annullamento.
+     */
+    void registraAnnullamento(Runnable annullamento) {
+        annullamenti.add(annullamento);
+    }
+
+    //Annulla, in ordine inverso, le modifiche registrate dalla posizione specificata in poi
+    void annullaFino(int inizio) {
+
+        for (int i = annullamenti.size() - 1; i >= inizio; i--)
+            annullamenti.remove(i).run();
+    }
+
+    //Rende definitive le modifiche registrate, dimenticandone l'annullamento
+    void confermaModifiche() {
+        annullamenti.clear();
+    }
+
+    //Chiude la transazione corrente del thread, rilasciando il lock di scrittura
+    void chiudiTransazione() {
+
+        annullaFino(0);
+        transazioneCorrente.remove();
+        lock.writeLock().unlock();
+    }
+}
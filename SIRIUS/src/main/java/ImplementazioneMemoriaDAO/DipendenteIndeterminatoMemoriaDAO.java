@@ -0,0 +1,308 @@
+package ImplementazioneMemoriaDAO;
+
+import DAO.*;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.function.Predicate;
+
+/**
+ * Questa classe implementa l'interfaccia DipendenteIndeterminatoDAO sul database in memoria {@link DatabaseMemoria},
+ * con gli stessi vincoli della tabella DIP_INDETERMINATO e la propagazione delle modifiche della matricola alle tabelle che la riferiscono.
+ */
+public class DipendenteIndeterminatoMemoriaDAO implements DipendenteIndeterminatoDAO {
+
+    private final DatabaseMemoria database;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del DAO.
+     *
+     * @param database {@link DatabaseMemoria} Il database in memoria su cui opera il DAO.
+     */
+    public DipendenteIndeterminatoMemoriaDAO(DatabaseMemoria database) {
+        this.database = database;
+    }
+
+
+    //CUD
+    @Override
+    public void addDipendenteIndeterminato(String nome, String cognome, String codFiscale, String matricola, String tipoDipendente, String indirizzo,
+                                           LocalDate dataNascita, LocalDate dataAssunzione, LocalDate dataFine, boolean dirigente) {
+
+        RigaDipendenteIndeterminato riga = new RigaDipendenteIndeterminato(matricola, tipoDipendente, nome, cognome, codFiscale, indirizzo,
+                dataNascita, dataAssunzione, dataFine, dirigente);
+
+        database.esegui(() -> {
+            verifica(riga);
+            database.dipendentiIndeterminati.inserisci(riga);
+            return null;
+        });
+    }
+
+    @Override
+    public void updateDipendenteIndeterminato(String vecchiaMatricola, String nome, String cognome, String codFiscale, String matricola, String tipoDipendente,
+                                              String indirizzo, LocalDate dataNascita, LocalDate dataAssunzione, LocalDate dataFine, boolean dirigente) {
+
+        RigaDipendenteIndeterminato nuovaRiga = new RigaDipendenteIndeterminato(matricola, tipoDipendente, nome, cognome, codFiscale, indirizzo,
+                dataNascita, dataAssunzione, dataFine, dirigente);
+
+        database.esegui(() -> {
+            RigaDipendenteIndeterminato riga = database.dipendentiIndeterminati.get(vecchiaMatricola);
+
+            if (riga != null) {
+                verifica(nuovaRiga);
+                database.dipendentiIndeterminati.sostituisci(riga, nuovaRiga);
+
+                if (!vecchiaMatricola.equals(matricola))
+                    propagaMatricola(vecchiaMatricola, matricola);
+            }
+
+            return null;
+        });
+    }
+
+    @Override
+    public void updateStatoDirigente(String matricola, boolean dirigente) {
+
+        database.esegui(() -> {
+            aggiornaStatoDirigente(matricola, dirigente);
+            return null;
+        });
+    }
+
+    @Override
+    public void updateTipoDipendente(String matricola, String tipoDipendente) {
+
+        database.esegui(() -> {
+            aggiornaTipo(database, matricola, tipoDipendente);
+            return null;
+        });
+    }
+
+    @Override
+    public void updateStatiDirigente(ArrayList<String> matricole, ArrayList<Boolean> dirigenti) {
+
+        database.esegui(() -> {
+            for (int i = 0; i < matricole.size(); i++)
+                aggiornaStatoDirigente(matricole.get(i), dirigenti.get(i));
+            return null;
+        });
+    }
+
+    @Override
+    public void updateTipiDipendente(ArrayList<String> matricole, ArrayList<String> tipiDipendente) {
+
+        database.esegui(() -> {
+            for (int i = 0; i < matricole.size(); i++)
+                aggiornaTipo(database, matricole.get(i), tipiDipendente.get(i));
+            return null;
+        });
+    }
+
+    @Override
+    public void updateDatiAnagraficiDipendente(String vecchioCodFiscale, String nome, String cognome, String codFiscale, String indirizzo, LocalDate dataNascita) {
+
+        database.esegui(() -> {
+            for (RigaDipendenteIndeterminato riga : database.dipendentiIndeterminatiPerCodFiscale.righe(vecchioCodFiscale)) {
+
+                RigaDipendenteIndeterminato nuovaRiga = new RigaDipendenteIndeterminato(riga.matricola(), riga.tipo(), nome, cognome, codFiscale, indirizzo,
+                        dataNascita, riga.dataAssunzione(), riga.dataFine(), riga.dirigente());
+
+                verifica(nuovaRiga);
+                database.dipendentiIndeterminati.sostituisci(riga, nuovaRiga);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void updateDataAssunzione(String matricola, LocalDate nuovaDataAssunzione) {
+
+        database.esegui(() -> {
+            RigaDipendenteIndeterminato riga = database.dipendentiIndeterminati.get(matricola);
+
+            if (riga != null) {
+                RigaDipendenteIndeterminato nuovaRiga = new RigaDipendenteIndeterminato(riga.matricola(), riga.tipo(), riga.nome(), riga.cognome(), riga.codFiscale(),
+                        riga.indirizzo(), riga.dataNascita(), nuovaDataAssunzione, riga.dataFine(), riga.dirigente());
+
+                verifica(nuovaRiga);
+                database.dipendentiIndeterminati.sostituisci(riga, nuovaRiga);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Verifica i domini e i vincoli di una riga della tabella DIP_INDETERMINATO.
+     *
+     * @param riga {@link RigaDipendenteIndeterminato} La riga da verificare.
+     * @throws SQLException Se la riga viola un dominio o un vincolo della tabella.
+     */
+    static void verifica(RigaDipendenteIndeterminato riga) throws SQLException {
+
+        VincoliMemoria.matricola(riga.matricola(), "DIP_INDETERMINATO.Matricola");
+        VincoliMemoria.tipoDipendente(riga.tipo(), "DIP_INDETERMINATO.Tipo");
+        VincoliMemoria.stringa(riga.nome(), "DIP_INDETERMINATO.Nome");
+        VincoliMemoria.stringa(riga.cognome(), "DIP_INDETERMINATO.Cognome");
+        VincoliMemoria.codFiscale(riga.codFiscale(), "DIP_INDETERMINATO.codFiscale");
+        VincoliMemoria.lunghezza(riga.indirizzo(), 100, "DIP_INDETERMINATO.Indirizzo");
+        VincoliMemoria.nonNullo(riga.dataNascita(), "DIP_INDETERMINATO.dataNascita");
+        VincoliMemoria.nonNullo(riga.dataAssunzione(), "DIP_INDETERMINATO.dataAssunzione");
+        VincoliMemoria.ordineDate(riga.dataNascita(), riga.dataAssunzione(), riga.dataFine(), "check_ordine_date_di");
+    }
+
+    /**
+     * Aggiorna il tipo del dipendente specificato, se presente. Utilizzato anche dalla riconciliazione degli scatti di carriera.
+     */
+    static void aggiornaTipo(DatabaseMemoria database, String matricola, String tipoDipendente) throws SQLException {
+
+        RigaDipendenteIndeterminato riga = database.dipendentiIndeterminati.get(matricola);
+
+        if (riga != null) {
+            VincoliMemoria.tipoDipendente(tipoDipendente, "DIP_INDETERMINATO.Tipo");
+
+            database.dipendentiIndeterminati.sostituisci(riga, new RigaDipendenteIndeterminato(riga.matricola(), tipoDipendente, riga.nome(), riga.cognome(),
+                    riga.codFiscale(), riga.indirizzo(), riga.dataNascita(), riga.dataAssunzione(), riga.dataFine(), riga.dirigente()));
+        }
+    }
+
+    //Aggiorna lo stato di dirigente del dipendente specificato, se presente
+    private void aggiornaStatoDirigente(String matricola, boolean dirigente) throws SQLException {
+
+        RigaDipendenteIndeterminato riga = database.dipendentiIndeterminati.get(matricola);
+
+        if (riga != null)
+            database.dipendentiIndeterminati.sostituisci(riga, new RigaDipendenteIndeterminato(riga.matricola(), riga.tipo(), riga.nome(), riga.cognome(),
+                    riga.codFiscale(), riga.indirizzo(), riga.dataNascita(), riga.dataAssunzione(), riga.dataFine(), dirigente));
+    }
+
+    //Propaga la nuova matricola alle tabelle che la riferiscono, come le chiavi esterne ON UPDATE CASCADE
+    private void propagaMatricola(String vecchiaMatricola, String matricola) throws SQLException {
+
+        for (RigaScattoCarriera scatto : database.scattiPerMatricola.righe(vecchiaMatricola))
+            database.scattiCarriera.sostituisci(scatto, new RigaScattoCarriera(matricola, scatto.tipo(), scatto.data()));
+
+        for (RigaLaboratorio laboratorio : database.laboratoriPerResponsabile.righe(vecchiaMatricola))
+            database.laboratori.sostituisci(laboratorio, new RigaLaboratorio(laboratorio.nome(), laboratorio.topic(), matricola));
+
+        for (RigaAfferenza afferenza : database.afferenzePerMatricola.righe(vecchiaMatricola))
+            database.afferenze.sostituisci(afferenza, new RigaAfferenza(matricola, afferenza.nomeLab()));
+
+        // Lo stesso dipendente puo' essere sia referente sia responsabile di un progetto: ogni progetto viene aggiornato una sola volta
+        LinkedHashSet<String> cups = new LinkedHashSet<>();
+
+        for (RigaProgetto progetto : database.progettiPerReferente.righe(vecchiaMatricola))
+            cups.add(progetto.cup());
+
+        for (RigaProgetto progetto : database.progettiPerResponsabile.righe(vecchiaMatricola))
+            cups.add(progetto.cup());
+
+        for (String cup : cups) {
+            RigaProgetto progetto = database.progetti.get(cup);
+
+            database.progetti.sostituisci(progetto, new RigaProgetto(progetto.cup(), progetto.nome(), progetto.dataInizio(), progetto.dataFine(), progetto.budget(),
+                    vecchiaMatricola.equals(progetto.referenteScientifico()) ? matricola : progetto.referenteScientifico(),
+                    vecchiaMatricola.equals(progetto.responsabile()) ? matricola : progetto.responsabile()));
+        }
+    }
+
+    //QUERY
+    @Override
+    public boolean obtainDipendentiIndeterminati(LetturaDipendenteIndeterminato letturaDipendenteIndeterminato) throws SQLException {
+
+        // Le righe vengono copiate sotto il lock di lettura e consegnate fuori da esso, in modo che l'elaborazione possa accedere al database
+        for (RigaDipendenteIndeterminato riga : getDipendentiIndeterminati())
+            if (!letturaDipendenteIndeterminato.leggi(riga.nome(), riga.cognome(), riga.codFiscale(), riga.matricola(), riga.tipo(), riga.indirizzo(),
+                    riga.dataNascita(), riga.dataAssunzione(), riga.dataFine(), riga.dirigente()))
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public BufferDipendentiIndeterminati caricaDipendentiIndeterminati() throws SQLException {
+        return database.leggi(() -> caricaBuffer(database));
+    }
+
+    /**
+     * Copia tutti i dipendenti a tempo indeterminato in un buffer colonnare. Va chiamato sotto il lock di lettura.
+     */
+    static BufferDipendentiIndeterminati caricaBuffer(DatabaseMemoria database) {
+
+        BufferDipendentiIndeterminati buffer = new BufferDipendentiIndeterminati(database.dipendentiIndeterminati.dimensione());
+
+        for (RigaDipendenteIndeterminato riga : database.dipendentiIndeterminati.righe())
+            buffer.aggiungi(riga.nome(), riga.cognome(), riga.codFiscale(), riga.matricola(), riga.tipo(), riga.indirizzo(),
+                    riga.dataNascita(), riga.dataAssunzione(), riga.dataFine(), riga.dirigente());
+
+        return buffer;
+    }
+
+    @Override
+    public ArrayList<RigaDipendenteIndeterminato> getDipendentiIndeterminati() {
+        return seleziona(riga -> true);
+    }
+
+    @Override
+    public ArrayList<RigaDipendenteIndeterminato> getAllDipendentiCandidatiResponsabileScientifico() {
+        return seleziona(riga -> riga.tipo().equalsIgnoreCase("Senior") && riga.dataFine() == null);
+    }
+
+    @Override
+    public ArrayList<RigaDipendenteIndeterminato> getAllDipendentiCandidatiReferenteScientifico(LocalDate dataInizioProgetto, LocalDate dataFineProgetto) {
+        return seleziona(riga -> !riga.dataAssunzione().plusYears(7).isAfter(dataInizioProgetto) && contrattoCompatibile(riga, dataFineProgetto));
+    }
+
+    @Override
+    public ArrayList<RigaDipendenteIndeterminato> getAllDipendentiCandidatiDirigente(LocalDate dataInizioProgetto, LocalDate dataFineProgetto) {
+        return seleziona(riga -> riga.dirigente() && !riga.dataAssunzione().isAfter(dataInizioProgetto) && contrattoCompatibile(riga, dataFineProgetto));
+    }
+
+    @Override
+    public ArrayList<RigaDipendenteIndeterminato> getDipendentiCandidatiScatto(String tipo) {
+
+        switch (tipo) {
+            case "Middle":
+            case "Senior":
+                return seleziona(riga -> riga.tipo().equalsIgnoreCase(tipo));
+            case "Promosso_a_dirigente":
+                return seleziona(riga -> !riga.dirigente());
+            case "Rimosso_da_dirigente":
+                return seleziona(RigaDipendenteIndeterminato::dirigente);
+            default:
+                return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public RigaDipendenteIndeterminato getDipendenteIndeterminato(String matricola) {
+        return database.leggi(() -> database.dipendentiIndeterminati.get(matricola));
+    }
+
+    //Verifica che il contratto del dipendente copra il progetto, con le stesse condizioni delle query Postgres
+    private static boolean contrattoCompatibile(RigaDipendenteIndeterminato riga, LocalDate dataFineProgetto) {
+
+        if (dataFineProgetto == null)
+            return riga.dataFine() == null;
+
+        return riga.dataFine() == null || (!dataFineProgetto.isAfter(riga.dataFine()) && LocalDate.now().isAfter(riga.dataFine()));
+    }
+
+    //Restituisce i dipendenti che soddisfano la condizione specificata
+    private ArrayList<RigaDipendenteIndeterminato> seleziona(Predicate<RigaDipendenteIndeterminato> condizione) {
+
+        return database.leggi(() -> {
+            ArrayList<RigaDipendenteIndeterminato> righe = new ArrayList<>();
+
+            for (RigaDipendenteIndeterminato riga : database.dipendentiIndeterminati.righe())
+                if (condizione.test(riga))
+                    righe.add(riga);
+
+            return righe;
+        });
+    }
+}
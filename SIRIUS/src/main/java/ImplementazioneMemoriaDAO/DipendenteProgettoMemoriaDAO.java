@@ -0,0 +1,130 @@
+package ImplementazioneMemoriaDAO;
+
+import DAO.*;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+/**
+ * Questa classe implementa l'interfaccia DipendenteProgettoDAO sul database in memoria {@link DatabaseMemoria},
+ * con gli stessi vincoli della tabella DIP_PROGETTO.
+ */
+public class DipendenteProgettoMemoriaDAO implements DipendenteProgettoDAO {
+
+    private final DatabaseMemoria database;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del DAO.
+     *
+     * @param database {@link DatabaseMemoria} Il database in memoria su cui opera il DAO.
+     */
+    public DipendenteProgettoMemoriaDAO(DatabaseMemoria database) {
+        this.database = database;
+    }
+
+
+    //CUD
+    @Override
+    public void addDipendenteProgetto(String nome, String cognome, String codFiscale, String matricola, String indirizzo, LocalDate dataNascita,
+                                      LocalDate dataAssunzione, LocalDate scadenza, String cup, BigDecimal costo) {
+
+        database.esegui(() -> {
+            database.dipendentiProgetto.inserisci(verifica(new RigaDipendenteProgetto(matricola, nome, cognome, codFiscale, indirizzo,
+                    dataNascita, dataAssunzione, costo, scadenza, cup)));
+            return null;
+        });
+    }
+
+    @Override
+    public void updateDipendenteProgetto(String vecchiaMatricola, String nome, String cognome, String codFiscale, String matricola, String indirizzo,
+                                         LocalDate dataNascita, LocalDate dataAssunzione, LocalDate scadenza, String cup, BigDecimal costo) {
+
+        database.esegui(() -> {
+            RigaDipendenteProgetto riga = database.dipendentiProgetto.get(vecchiaMatricola);
+
+            if (riga != null)
+                database.dipendentiProgetto.sostituisci(riga, verifica(new RigaDipendenteProgetto(matricola, nome, cognome, codFiscale, indirizzo,
+                        dataNascita, dataAssunzione, costo, scadenza, cup)));
+            return null;
+        });
+    }
+
+    @Override
+    public void updateDatiAnagraficiDipendente(String vecchioCodFiscale, String nome, String cognome, String codFiscale, String indirizzo, LocalDate dataNascita) {
+
+        database.esegui(() -> {
+            for (RigaDipendenteProgetto riga : database.dipendentiProgettoPerCodFiscale.righe(vecchioCodFiscale))
+                database.dipendentiProgetto.sostituisci(riga, verifica(new RigaDipendenteProgetto(riga.matricola(), nome, cognome, codFiscale, indirizzo,
+                        dataNascita, riga.dataAssunzione(), riga.costo(), riga.scadenza(), riga.cup())));
+            return null;
+        });
+    }
+
+    //Verifica i domini, i vincoli e le chiavi esterne di una riga della tabella DIP_PROGETTO, restituendola con il costo arrotondato ai centesimi
+    private RigaDipendenteProgetto verifica(RigaDipendenteProgetto riga) throws SQLException {
+
+        VincoliMemoria.matricola(riga.matricola(), "DIP_PROGETTO.Matricola");
+        VincoliMemoria.stringa(riga.nome(), "DIP_PROGETTO.Nome");
+        VincoliMemoria.stringa(riga.cognome(), "DIP_PROGETTO.Cognome");
+        VincoliMemoria.codFiscale(riga.codFiscale(), "DIP_PROGETTO.codFiscale");
+        VincoliMemoria.lunghezza(riga.indirizzo(), 100, "DIP_PROGETTO.Indirizzo");
+        VincoliMemoria.nonNullo(riga.dataNascita(), "DIP_PROGETTO.dataNascita");
+        VincoliMemoria.nonNullo(riga.dataAssunzione(), "DIP_PROGETTO.dataAssunzione");
+        VincoliMemoria.nonNullo(riga.scadenza(), "DIP_PROGETTO.Scadenza");
+        BigDecimal costo = VincoliMemoria.euro(riga.costo(), "DIP_PROGETTO.Costo");
+        VincoliMemoria.cup(riga.cup(), "DIP_PROGETTO.CUP");
+        VincoliMemoria.ordineDate(riga.dataNascita(), riga.dataAssunzione(), riga.scadenza(), "check_ordine_date_dp");
+
+        if (!database.progetti.contiene(riga.cup()))
+            throw VincoliMemoria.violazioneChiaveEsterna("DIP_PROGETTO", "CUP", riga.cup());
+
+        return new RigaDipendenteProgetto(riga.matricola(), riga.nome(), riga.cognome(), riga.codFiscale(), riga.indirizzo(),
+                riga.dataNascita(), riga.dataAssunzione(), costo, riga.scadenza(), riga.cup());
+    }
+
+    //QUERY
+    @Override
+    public boolean obtainDipendentiProgetto(LetturaDipendenteProgetto letturaDipendenteProgetto) throws SQLException {
+
+        // Le righe vengono copiate sotto il lock di lettura e consegnate fuori da esso, in modo che l'elaborazione possa accedere al database
+        for (RigaDipendenteProgetto riga : getDipendentiProgetto())
+            if (!letturaDipendenteProgetto.leggi(riga.nome(), riga.cognome(), riga.codFiscale(), riga.matricola(), riga.indirizzo(),
+                    riga.dataNascita(), riga.dataAssunzione(), riga.scadenza(), riga.costo(), riga.cup()))
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public BufferDipendentiProgetto caricaDipendentiProgetto() throws SQLException {
+        return database.leggi(() -> caricaBuffer(database));
+    }
+
+    /**
+     * Copia tutti i dipendenti a progetto in un buffer colonnare. Va chiamato sotto il lock di lettura.
+     */
+    static BufferDipendentiProgetto caricaBuffer(DatabaseMemoria database) {
+
+        BufferDipendentiProgetto buffer = new BufferDipendentiProgetto(database.dipendentiProgetto.dimensione());
+
+        for (RigaDipendenteProgetto riga : database.dipendentiProgetto.righe())
+            buffer.aggiungi(riga.nome(), riga.cognome(), riga.codFiscale(), riga.matricola(), riga.indirizzo(),
+                    riga.dataNascita(), riga.dataAssunzione(), riga.scadenza(), riga.costo(), riga.cup());
+
+        return buffer;
+    }
+
+    @Override
+    public ArrayList<RigaDipendenteProgetto> getDipendentiProgetto() {
+        return database.leggi(() -> new ArrayList<>(database.dipendentiProgetto.righe()));
+    }
+
+    @Override
+    public RigaDipendenteProgetto getDipendenteProgetto(String matricola) {
+        return database.leggi(() -> database.dipendentiProgetto.get(matricola));
+    }
+}
@@ -0,0 +1,170 @@
+package ImplementazioneMemoriaDAO;
+
+import DAO.*;
+
+import java.sql.SQLException;
+
+/**
+ * Questa classe implementa l'interfaccia FornitoreDAO e fornisce i DAO che operano su un {@link DatabaseMemoria},
+ * senza alcuna latenza di rete o di disco.
+ *
+ * Permette di misurare le prestazioni e di sottoporre a carico il Controller indipendentemente da Postgres,
+ * e di avviare istanze dimostrative dell'applicativo senza un database. I vincoli e le azioni referenziali sono gli stessi
+ * dello schema Postgres, ma i dati non sono persistenti e non vengono notificate modifiche ad altri client.
+ */
+public class FornitoreMemoriaDAO implements FornitoreDAO {
+
+    private final DatabaseMemoria database;
+
+    // I DAO in memoria non hanno stato proprio, e vengono quindi condivisi da tutte le richieste
+    private final DipendenteIndeterminatoMemoriaDAO dipendenteIndeterminatoDAO;
+    private final DipendenteProgettoMemoriaDAO dipendenteProgettoDAO;
+    private final ScattoCarrieraMemoriaDAO scattoCarrieraDAO;
+    private final LaboratorioMemoriaDAO laboratorioDAO;
+    private final ProgettoMemoriaDAO progettoDAO;
+    private final AfferireMemoriaDAO afferireDAO;
+    private final LavorareMemoriaDAO lavorareDAO;
+    private final AttrezzaturaMemoriaDAO attrezzaturaDAO;
+    private final SnapshotMemoriaDAO snapshotDAO;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del fornitore, su un nuovo database in memoria vuoto.
+     */
+    public FornitoreMemoriaDAO() {
+        this(new DatabaseMemoria());
+    }
+
+    /**
+     * Costruttore del fornitore, sul database in memoria specificato.
+     *
+     * @param database {@link DatabaseMemoria} Il database in memoria su cui operano i DAO.
+     */
+    public FornitoreMemoriaDAO(DatabaseMemoria database) {
+
+        this.database = database;
+
+        dipendenteIndeterminatoDAO = new DipendenteIndeterminatoMemoriaDAO(database);
+        dipendenteProgettoDAO = new DipendenteProgettoMemoriaDAO(database);
+        scattoCarrieraDAO = new ScattoCarrieraMemoriaDAO(database);
+        laboratorioDAO = new LaboratorioMemoriaDAO(database);
+        progettoDAO = new ProgettoMemoriaDAO(database);
+        afferireDAO = new AfferireMemoriaDAO(database);
+        lavorareDAO = new LavorareMemoriaDAO(database);
+        attrezzaturaDAO = new AttrezzaturaMemoriaDAO(database);
+        snapshotDAO = new SnapshotMemoriaDAO(database);
+    }
+
+
+    //METODI
+    /**
+     * Carica nel database in memoria i dati sintetici specificati, in un'unica transazione e con la verifica di tutti i vincoli:
+     * se una riga viola un vincolo, nessuna riga viene caricata.
+     *
+     * @param dati {@link DatiSintetici} I dati da caricare.
+     * @throws SQLException Se il caricamento viola un vincolo dello schema.
+     */
+    public void caricaDatiSintetici(DatiSintetici dati) throws SQLException {
+
+        try (Transazione transazione = apriTransazione()) {
+
+            dati.generaDipendentiIndeterminati(riga -> dipendenteIndeterminatoDAO.addDipendenteIndeterminato(riga.nome(), riga.cognome(), riga.codFiscale(),
+                    riga.matricola(), riga.tipo(), riga.indirizzo(), riga.dataNascita(), riga.dataAssunzione(), riga.dataFine(), riga.dirigente()));
+
+            dati.generaScattiCarriera(riga -> scattoCarrieraDAO.addScattoCarriera(riga.tipo(), riga.matricola(), riga.data()));
+
+            dati.generaLaboratori(riga -> laboratorioDAO.addLaboratorio(riga.nome(), riga.topic(), riga.responsabileScientifico()));
+
+            dati.generaAfferenze(riga -> afferireDAO.addAfferenza(riga.matricola(), riga.nomeLab()));
+
+            dati.generaProgetti(riga -> progettoDAO.addProgetto(riga.nome(), riga.cup(), riga.budget(), riga.dataInizio(), riga.dataFine(),
+                    riga.referenteScientifico(), riga.responsabile()));
+
+            dati.generaLavori(riga -> lavorareDAO.addLavorare(riga.cup(), riga.nomeLab()));
+
+            dati.generaDipendentiProgetto(riga -> dipendenteProgettoDAO.addDipendenteProgetto(riga.nome(), riga.cognome(), riga.codFiscale(), riga.matricola(),
+                    riga.indirizzo(), riga.dataNascita(), riga.dataAssunzione(), riga.scadenza(), riga.cup(), riga.costo()));
+
+            // Gli identificativi vengono assegnati dalla sequenza, e coincidono con quelli generati solo se il database era vuoto
+            dati.generaAttrezzature(riga -> attrezzaturaDAO.addAttrezzatura(riga.descrizione(), riga.costo(), riga.cup(), riga.nomeLab()));
+
+            transazione.conferma();
+        }
+    }
+
+    /**
+     * @return {@link DatabaseMemoria}  Il database in memoria su cui operano i DAO.
+     */
+    public DatabaseMemoria getDatabase() {
+        return database;
+    }
+
+    //DAO
+    @Override
+    public DipendenteIndeterminatoDAO getDipendenteIndeterminatoDAO() {
+        return dipendenteIndeterminatoDAO;
+    }
+
+    @Override
+    public DipendenteProgettoDAO getDipendenteProgettoDAO() {
+        return dipendenteProgettoDAO;
+    }
+
+    @Override
+    public ScattoCarrieraDAO getScattoCarrieraDAO() {
+        return scattoCarrieraDAO;
+    }
+
+    @Override
+    public LaboratorioDAO getLaboratorioDAO() {
+        return laboratorioDAO;
+    }
+
+    @Override
+    public ProgettoDAO getProgettoDAO() {
+        return progettoDAO;
+    }
+
+    @Override
+    public AfferireDAO getAfferireDAO() {
+        return afferireDAO;
+    }
+
+    @Override
+    public LavorareDAO getLavorareDAO() {
+        return lavorareDAO;
+    }
+
+    @Override
+    public AttrezzaturaDAO getAttrezzaturaDAO() {
+        return attrezzaturaDAO;
+    }
+
+    @Override
+    public SnapshotDAO getSnapshotDAO() {
+        return snapshotDAO;
+    }
+
+    //TRANSAZIONI
+    @Override
+    public Transazione apriTransazione() {
+        return database.apriTransazione();
+    }
+
+    //CONFIGURAZIONE
+    /**
+     * Il database in memoria e' creato direttamente con la struttura prevista dall'applicativo.
+     *
+     * @return Sempre 0.
+     */
+    @Override
+    public int aggiornaSchema() {
+        return 0;
+    }
+
+    @Override
+    public boolean isNotificheSupportate() {
+        return false;
+    }
+}
@@ -0,0 +1,182 @@
+package ImplementazioneMemoriaDAO;
+
+import DAO.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+/**
+ * Questa classe implementa l'interfaccia LaboratorioDAO sul database in memoria {@link DatabaseMemoria},
+ * con gli stessi vincoli della tabella LABORATORIO e le stesse azioni referenziali sulle tabelle che la riferiscono:
+ * la rimozione di un laboratorio rimuove le sue afferenze e i suoi lavori e lascia le sue attrezzature senza laboratorio,
+ * mentre la modifica del nome viene propagata.
+ */
+public class LaboratorioMemoriaDAO implements LaboratorioDAO {
+
+    private final DatabaseMemoria database;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del DAO.
+     *
+     * @param database {@link DatabaseMemoria} Il database in memoria su cui opera il DAO.
+     */
+    public LaboratorioMemoriaDAO(DatabaseMemoria database) {
+        this.database = database;
+    }
+
+
+    //CUD
+    @Override
+    public void addLaboratorio(String nome, String topic, String matricolaResponsabileScientifico) {
+
+        database.esegui(() -> {
+            database.laboratori.inserisci(verifica(new RigaLaboratorio(nome, topic, matricolaResponsabileScientifico)));
+            return null;
+        });
+    }
+
+    @Override
+    public void removeLaboratorio(String nome) {
+
+        database.esegui(() -> {
+            if (database.laboratori.rimuovi(nome) != null) {
+
+                // ON DELETE CASCADE
+                for (RigaAfferenza afferenza : database.afferenzePerLaboratorio.righe(nome))
+                    database.afferenze.rimuovi(afferenza);
+
+                for (RigaLavoro lavoro : database.lavoriPerLaboratorio.righe(nome))
+                    database.lavori.rimuovi(lavoro);
+
+                // ON DELETE SET NULL
+                for (RigaAttrezzatura attrezzatura : database.attrezzaturePerLaboratorio.righe(nome))
+                    database.attrezzature.sostituisci(attrezzatura, new RigaAttrezzatura(attrezzatura.idAttrezzatura(), attrezzatura.descrizione(),
+                            attrezzatura.costo(), null, attrezzatura.cup()));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void updateLaboratorio(String vecchioNome, String nome, String topic, String matricolaResponsabileScientifico) {
+
+        database.esegui(() -> {
+            RigaLaboratorio laboratorio = database.laboratori.get(vecchioNome);
+
+            if (laboratorio != null) {
+                database.laboratori.sostituisci(laboratorio, verifica(new RigaLaboratorio(nome, topic, matricolaResponsabileScientifico)));
+
+                // ON UPDATE CASCADE
+                if (!vecchioNome.equals(nome)) {
+
+                    for (RigaAfferenza afferenza : database.afferenzePerLaboratorio.righe(vecchioNome))
+                        database.afferenze.sostituisci(afferenza, new RigaAfferenza(afferenza.matricola(), nome));
+
+                    for (RigaLavoro lavoro : database.lavoriPerLaboratorio.righe(vecchioNome))
+                        database.lavori.sostituisci(lavoro, new RigaLavoro(lavoro.cup(), nome));
+
+                    for (RigaAttrezzatura attrezzatura : database.attrezzaturePerLaboratorio.righe(vecchioNome))
+                        database.attrezzature.sostituisci(attrezzatura, new RigaAttrezzatura(attrezzatura.idAttrezzatura(), attrezzatura.descrizione(),
+                                attrezzatura.costo(), nome, attrezzatura.cup()));
+                }
+            }
+            return null;
+        });
+    }
+
+    //Verifica i domini e la chiave esterna di una riga della tabella LABORATORIO
+    private RigaLaboratorio verifica(RigaLaboratorio laboratorio) throws SQLException {
+
+        VincoliMemoria.stringa(laboratorio.nome(), "LABORATORIO.Nome");
+        VincoliMemoria.stringa(laboratorio.topic(), "LABORATORIO.Topic");
+        VincoliMemoria.matricola(laboratorio.responsabileScientifico(), "LABORATORIO.Responsabile_Scientifico");
+
+        if (!database.dipendentiIndeterminati.contiene(laboratorio.responsabileScientifico()))
+            throw VincoliMemoria.violazioneChiaveEsterna("LABORATORIO", "Responsabile_Scientifico", laboratorio.responsabileScientifico());
+
+        return laboratorio;
+    }
+
+    //QUERY
+    @Override
+    public boolean obtainLaboratori(LetturaLaboratorio letturaLaboratorio) throws SQLException {
+
+        // Le righe vengono copiate sotto il lock di lettura e consegnate fuori da esso, in modo che l'elaborazione possa accedere al database
+        ArrayList<RigaLaboratorio> laboratori = database.leggi(() -> new ArrayList<>(database.laboratori.righe()));
+
+        for (RigaLaboratorio laboratorio : laboratori)
+            if (!letturaLaboratorio.leggi(laboratorio.nome(), laboratorio.topic(), laboratorio.responsabileScientifico()))
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public void obtainLaboratori(ArrayList<String> nomi, ArrayList<String> topics, ArrayList<String> stringResponsabiliScientifici) throws SQLException {
+
+        obtainLaboratori((nome, topic, responsabileScientifico) -> {
+            nomi.add(nome);
+            topics.add(topic);
+            stringResponsabiliScientifici.add(responsabileScientifico);
+            return true;
+        });
+    }
+
+    @Override
+    public ArrayList<RigaLaboratorio> getLaboratoriCandidati(String progettoCup) {
+
+        return database.leggi(() -> {
+            ArrayList<RigaLaboratorio> righe = new ArrayList<>();
+
+            for (RigaLaboratorio laboratorio : database.laboratori.righe())
+                if (!database.lavori.contiene(new RigaLavoro(progettoCup, laboratorio.nome())))
+                    righe.add(laboratorio);
+
+            return righe;
+        });
+    }
+
+    @Override
+    public ArrayList<RigaLaboratorio> getLaboratoriLavoranti(String progettoCup) {
+
+        return database.leggi(() -> {
+            ArrayList<RigaLaboratorio> righe = new ArrayList<>();
+
+            for (RigaLavoro lavoro : database.lavoriPerProgetto.righe(progettoCup))
+                righe.add(database.laboratori.get(lavoro.nomeLab()));
+
+            return righe;
+        });
+    }
+
+    @Override
+    public ArrayList<RiepilogoLaboratorio> getLaboratori() {
+
+        return database.leggi(() -> {
+            ArrayList<RiepilogoLaboratorio> righe = new ArrayList<>(database.laboratori.dimensione());
+
+            for (RigaLaboratorio laboratorio : database.laboratori.righe())
+                righe.add(riepilogo(laboratorio));
+
+            return righe;
+        });
+    }
+
+    @Override
+    public RiepilogoLaboratorio getLaboratorio(String nome) {
+
+        return database.leggi(() -> {
+            RigaLaboratorio laboratorio = database.laboratori.get(nome);
+
+            return laboratorio == null ? null : riepilogo(laboratorio);
+        });
+    }
+
+    //Completa il laboratorio con il numero dei suoi afferenti
+    private RiepilogoLaboratorio riepilogo(RigaLaboratorio laboratorio) {
+        return new RiepilogoLaboratorio(laboratorio.nome(), laboratorio.topic(), laboratorio.responsabileScientifico(),
+                database.afferenzePerLaboratorio.conta(laboratorio.nome()));
+    }
+}
@@ -0,0 +1,122 @@
+package ImplementazioneMemoriaDAO;
+
+import DAO.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+/**
+ * Questa classe implementa l'interfaccia LavorareDAO sul database in memoria {@link DatabaseMemoria},
+ * con gli stessi vincoli della tabella LAVORARE.
+ */
+public class LavorareMemoriaDAO implements LavorareDAO {
+
+    private final DatabaseMemoria database;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del DAO.
+     *
+     * @param database {@link DatabaseMemoria} Il database in memoria su cui opera il DAO.
+     */
+    public LavorareMemoriaDAO(DatabaseMemoria database) {
+        this.database = database;
+    }
+
+
+    //CUD
+    @Override
+    public void addLavorare(String cup, String nomeLaboratorio) {
+
+        database.esegui(() -> {
+            database.lavori.inserisci(verifica(new RigaLavoro(cup, nomeLaboratorio)));
+            return null;
+        });
+    }
+
+    @Override
+    public void removeLavorare(String cup, String nomeLaboratorio) {
+
+        database.esegui(() -> database.lavori.rimuovi(new RigaLavoro(cup, nomeLaboratorio)));
+    }
+
+    @Override
+    public void addLavori(ArrayList<String> cup, ArrayList<String> nomiLaboratori) {
+
+        database.esegui(() -> {
+            for (int i = 0; i < cup.size(); i++)
+                database.lavori.inserisci(verifica(new RigaLavoro(cup.get(i), nomiLaboratori.get(i))));
+            return null;
+        });
+    }
+
+    @Override
+    public void removeLavori(ArrayList<String> cup, ArrayList<String> nomiLaboratori) {
+
+        database.esegui(() -> {
+            for (int i = 0; i < cup.size(); i++)
+                database.lavori.rimuovi(new RigaLavoro(cup.get(i), nomiLaboratori.get(i)));
+            return null;
+        });
+    }
+
+    @Override
+    public void updateLavorare(String vecchioCup, String vecchioNomeLaboratorio, String cup, String nomeLaboratorio) {
+
+        database.esegui(() -> {
+            RigaLavoro lavoro = database.lavori.get(new RigaLavoro(vecchioCup, vecchioNomeLaboratorio));
+
+            if (lavoro != null)
+                database.lavori.sostituisci(lavoro, verifica(new RigaLavoro(cup, nomeLaboratorio)));
+            return null;
+        });
+    }
+
+    //Verifica i domini e le chiavi esterne di un lavoro
+    private RigaLavoro verifica(RigaLavoro lavoro) throws SQLException {
+
+        VincoliMemoria.cup(lavoro.cup(), "LAVORARE.CUP");
+        VincoliMemoria.stringa(lavoro.nomeLab(), "LAVORARE.nomeLab");
+
+        if (!database.progetti.contiene(lavoro.cup()))
+            throw VincoliMemoria.violazioneChiaveEsterna("LAVORARE", "CUP", lavoro.cup());
+
+        if (!database.laboratori.contiene(lavoro.nomeLab()))
+            throw VincoliMemoria.violazioneChiaveEsterna("LAVORARE", "nomeLab", lavoro.nomeLab());
+
+        return lavoro;
+    }
+
+    //QUERY
+    @Override
+    public boolean obtainLavorare(LetturaLavoro letturaLavoro) throws SQLException {
+
+        // Le righe vengono copiate sotto il lock di lettura e consegnate fuori da esso, in modo che l'elaborazione possa accedere al database
+        for (RigaLavoro lavoro : getLavorare())
+            if (!letturaLavoro.leggi(lavoro.cup(), lavoro.nomeLab()))
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public void obtainLavorare(ArrayList<String> progetti, ArrayList<String> laboratori) throws SQLException {
+
+        obtainLavorare((cup, nomeLab) -> {
+            progetti.add(cup);
+            laboratori.add(nomeLab);
+            return true;
+        });
+    }
+
+    @Override
+    public ArrayList<RigaLavoro> getLavorare() {
+        return database.leggi(() -> new ArrayList<>(database.lavori.righe()));
+    }
+
+    @Override
+    public RigaLavoro getLavoro(String cup, String nomeLab) {
+        return database.leggi(() -> database.lavori.get(new RigaLavoro(cup, nomeLab)));
+    }
+}
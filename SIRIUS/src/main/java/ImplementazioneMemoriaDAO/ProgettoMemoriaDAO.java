@@ -0,0 +1,212 @@
+package ImplementazioneMemoriaDAO;
+
+import DAO.*;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+/**
+ * Questa classe implementa l'interfaccia ProgettoDAO sul database in memoria {@link DatabaseMemoria},
+ * con gli stessi vincoli della tabella PROGETTO e la propagazione delle modifiche del CUP alle tabelle che lo riferiscono.
+ */
+public class ProgettoMemoriaDAO implements ProgettoDAO {
+
+    private final DatabaseMemoria database;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del DAO.
+     *
+     * @param database {@link DatabaseMemoria} Il database in memoria su cui opera il DAO.
+     */
+    public ProgettoMemoriaDAO(DatabaseMemoria database) {
+        this.database = database;
+    }
+
+
+    //CUD
+    @Override
+    public void addProgetto(String nome, String cup, BigDecimal budget, LocalDate dataInizio, LocalDate dataFine, String referenteScientifico, String responsabile) {
+
+        database.esegui(() -> {
+            database.progetti.inserisci(verifica(null, new RigaProgetto(cup, nome, dataInizio, dataFine, budget, referenteScientifico, responsabile)));
+            return null;
+        });
+    }
+
+    @Override
+    public void updateProgetto(String vecchioCup, String nome, String cup, BigDecimal budget, LocalDate dataInizio, LocalDate dataFine,
+                               String referenteScientifico, String responsabile) {
+
+        database.esegui(() -> {
+            RigaProgetto progetto = database.progetti.get(vecchioCup);
+
+            if (progetto != null) {
+                database.progetti.sostituisci(progetto, verifica(vecchioCup, new RigaProgetto(cup, nome, dataInizio, dataFine, budget, referenteScientifico, responsabile)));
+
+                // ON UPDATE CASCADE
+                if (!vecchioCup.equals(cup)) {
+
+                    for (RigaLavoro lavoro : database.lavoriPerProgetto.righe(vecchioCup))
+                        database.lavori.sostituisci(lavoro, new RigaLavoro(cup, lavoro.nomeLab()));
+
+                    for (RigaAttrezzatura attrezzatura : database.attrezzaturePerProgetto.righe(vecchioCup))
+                        database.attrezzature.sostituisci(attrezzatura, new RigaAttrezzatura(attrezzatura.idAttrezzatura(), attrezzatura.descrizione(),
+                                attrezzatura.costo(), attrezzatura.nomeLab(), cup));
+
+                    for (RigaDipendenteProgetto dipendente : database.dipendentiProgettoPerProgetto.righe(vecchioCup))
+                        database.dipendentiProgetto.sostituisci(dipendente, new RigaDipendenteProgetto(dipendente.matricola(), dipendente.nome(), dipendente.cognome(),
+                                dipendente.codFiscale(), dipendente.indirizzo(), dipendente.dataNascita(), dipendente.dataAssunzione(), dipendente.costo(),
+                                dipendente.scadenza(), cup));
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Verifica i domini, i vincoli e le chiavi esterne di una riga della tabella PROGETTO, restituendola con il budget arrotondato ai centesimi.
+     *
+     * @param vecchioCup    {@link String}          Il CUP della riga sostituita, escluso dalla verifica di unicita' del nome, oppure null per un inserimento.
+     * @param progetto      {@link RigaProgetto}    La riga da verificare.
+     */
+    private RigaProgetto verifica(String vecchioCup, RigaProgetto progetto) throws SQLException {
+
+        VincoliMemoria.cup(progetto.cup(), "PROGETTO.CUP");
+        VincoliMemoria.stringa(progetto.nome(), "PROGETTO.Nome");
+        VincoliMemoria.nonNullo(progetto.dataInizio(), "PROGETTO.dataInizio");
+        BigDecimal budget = VincoliMemoria.euro(progetto.budget(), "PROGETTO.Budget");
+        VincoliMemoria.matricola(progetto.referenteScientifico(), "PROGETTO.Referente_Scientifico");
+        VincoliMemoria.matricola(progetto.responsabile(), "PROGETTO.Responsabile");
+
+        if (budget.signum() <= 0)
+            throw VincoliMemoria.violazioneControllo("check_positive_budget");
+
+        if (progetto.dataFine() != null && progetto.dataInizio().isAfter(progetto.dataFine()))
+            throw VincoliMemoria.violazioneControllo("check_date_fine_inizio");
+
+        for (RigaProgetto omonimo : database.progettiPerNome.righe(progetto.nome()))
+            if (!omonimo.cup().equals(vecchioCup))
+                throw VincoliMemoria.violazioneUnicita("PROGETTO", progetto.nome());
+
+        if (!database.dipendentiIndeterminati.contiene(progetto.referenteScientifico()))
+            throw VincoliMemoria.violazioneChiaveEsterna("PROGETTO", "Referente_Scientifico", progetto.referenteScientifico());
+
+        if (!database.dipendentiIndeterminati.contiene(progetto.responsabile()))
+            throw VincoliMemoria.violazioneChiaveEsterna("PROGETTO", "Responsabile", progetto.responsabile());
+
+        return new RigaProgetto(progetto.cup(), progetto.nome(), progetto.dataInizio(), progetto.dataFine(), budget,
+                progetto.referenteScientifico(), progetto.responsabile());
+    }
+
+    //QUERY
+    @Override
+    public boolean obtainProgetti(LetturaProgetto letturaProgetto) throws SQLException {
+
+        // Le righe vengono copiate sotto il lock di lettura e consegnate fuori da esso, in modo che l'elaborazione possa accedere al database
+        ArrayList<RigaProgetto> progetti = database.leggi(() -> new ArrayList<>(database.progetti.righe()));
+
+        for (RigaProgetto progetto : progetti)
+            if (!letturaProgetto.leggi(progetto.nome(), progetto.cup(), progetto.budget(), progetto.dataInizio(), progetto.dataFine(),
+                    progetto.referenteScientifico(), progetto.responsabile()))
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public void obtainProgetti(ArrayList<String> nomi, ArrayList<String> cups, ArrayList<BigDecimal> budgets, ArrayList<LocalDate> dateInizio,
+                               ArrayList<LocalDate> dateFine, ArrayList<String> stringReferentiScientifici, ArrayList<String> stringResponsabili) throws SQLException {
+
+        obtainProgetti((nome, cup, budget, dataInizio, dataFine, referenteScientifico, responsabile) -> {
+            nomi.add(nome);
+            cups.add(cup);
+            budgets.add(budget);
+            dateInizio.add(dataInizio);
+            dateFine.add(dataFine);
+            stringReferentiScientifici.add(referenteScientifico);
+            stringResponsabili.add(responsabile);
+            return true;
+        });
+    }
+
+    @Override
+    public ArrayList<RiepilogoProgetto> getProgetti() {
+
+        return database.leggi(() -> {
+            ArrayList<RiepilogoProgetto> righe = new ArrayList<>(database.progetti.dimensione());
+
+            for (RigaProgetto progetto : database.progetti.righe())
+                righe.add(riepilogo(progetto));
+
+            return righe;
+        });
+    }
+
+    @Override
+    public ArrayList<RigaProgetto> getProgettiNonTerminati() {
+
+        LocalDate oggi = LocalDate.now();
+
+        return database.leggi(() -> {
+            ArrayList<RigaProgetto> righe = new ArrayList<>();
+
+            for (RigaProgetto progetto : database.progetti.righe())
+                if (progetto.dataFine() == null || !progetto.dataFine().isBefore(oggi))
+                    righe.add(progetto);
+
+            return righe;
+        });
+    }
+
+    @Override
+    public BigDecimal getCostoTotaleAttrezzature(String progetto) {
+        return database.leggi(() -> costoAttrezzature(progetto));
+    }
+
+    @Override
+    public BigDecimal getCostoTotaleDipendentiProgetto(String progetto) {
+        return database.leggi(() -> costoDipendenti(progetto));
+    }
+
+    @Override
+    public RiepilogoProgetto getProgetto(String cup) {
+
+        return database.leggi(() -> {
+            RigaProgetto progetto = database.progetti.get(cup);
+
+            return progetto == null ? null : riepilogo(progetto);
+        });
+    }
+
+    //Completa il progetto con i costi delle sue attrezzature e dei suoi dipendenti
+    private RiepilogoProgetto riepilogo(RigaProgetto progetto) {
+        return new RiepilogoProgetto(progetto.cup(), progetto.nome(), progetto.dataInizio(), progetto.dataFine(), progetto.budget(),
+                progetto.referenteScientifico(), progetto.responsabile(), costoAttrezzature(progetto.cup()), costoDipendenti(progetto.cup()));
+    }
+
+    //Somma i costi delle attrezzature del progetto, null se non ne ha come per SUM su nessuna riga
+    private BigDecimal costoAttrezzature(String cup) {
+
+        BigDecimal totale = null;
+
+        for (RigaAttrezzatura attrezzatura : database.attrezzaturePerProgetto.righe(cup))
+            totale = totale == null ? attrezzatura.costo() : totale.add(attrezzatura.costo());
+
+        return totale;
+    }
+
+    //Somma i costi dei dipendenti a progetto del progetto, null se non ne ha come per SUM su nessuna riga
+    private BigDecimal costoDipendenti(String cup) {
+
+        BigDecimal totale = null;
+
+        for (RigaDipendenteProgetto dipendente : database.dipendentiProgettoPerProgetto.righe(cup))
+            totale = totale == null ? dipendente.costo() : totale.add(dipendente.costo());
+
+        return totale;
+    }
+}
@@ -0,0 +1,207 @@
+package ImplementazioneMemoriaDAO;
+
+import DAO.*;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+/**
+ * Questa classe implementa l'interfaccia ScattoCarrieraDAO sul database in memoria {@link DatabaseMemoria},
+ * con gli stessi vincoli della tabella SCATTO_CARRIERA.
+ */
+public class ScattoCarrieraMemoriaDAO implements ScattoCarrieraDAO {
+
+    private final DatabaseMemoria database;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del DAO.
+     *
+     * @param database {@link DatabaseMemoria} Il database in memoria su cui opera il DAO.
+     */
+    public ScattoCarrieraMemoriaDAO(DatabaseMemoria database) {
+        this.database = database;
+    }
+
+
+    //CUD
+    @Override
+    public void addScattoCarriera(String tipoScatto, String matricola, LocalDate data) {
+
+        database.esegui(() -> {
+            inserisci(new RigaScattoCarriera(matricola, tipoScatto, data));
+            return null;
+        });
+    }
+
+    @Override
+    public void removeScattoCarriera(String tipoScatto, String matricola) {
+
+        database.esegui(() -> {
+            rimuovi(tipoScatto, matricola);
+            return null;
+        });
+    }
+
+    @Override
+    public void removeAllScattiCarrieraDipendente(String matricola) {
+
+        database.esegui(() -> {
+            for (RigaScattoCarriera scatto : database.scattiPerMatricola.righe(matricola))
+                database.scattiCarriera.rimuovi(scatto);
+            return null;
+        });
+    }
+
+    @Override
+    public void addScattiCarriera(ArrayList<String> tipiScatto, ArrayList<String> matricole, ArrayList<LocalDate> date) {
+
+        database.esegui(() -> {
+            for (int i = 0; i < tipiScatto.size(); i++)
+                inserisci(new RigaScattoCarriera(matricole.get(i), tipiScatto.get(i), date.get(i)));
+            return null;
+        });
+    }
+
+    @Override
+    public void removeScattiCarriera(ArrayList<String> tipiScatto, ArrayList<String> matricole) {
+
+        database.esegui(() -> {
+            for (int i = 0; i < tipiScatto.size(); i++)
+                rimuovi(tipiScatto.get(i), matricole.get(i));
+            return null;
+        });
+    }
+
+    @Override
+    public void updateScattoCarriera(String vecchioTipoScatto, String vecchiaMatricola, LocalDate vecchiaData, String tipoScatto, String matricola, LocalDate data) {
+
+        database.esegui(() -> {
+            RigaScattoCarriera scatto = database.scattiCarriera.get(new RigaScattoCarriera(vecchiaMatricola, vecchioTipoScatto, vecchiaData));
+
+            if (scatto != null)
+                database.scattiCarriera.sostituisci(scatto, verifica(new RigaScattoCarriera(matricola, tipoScatto, data)));
+            return null;
+        });
+    }
+
+    /**
+     * Riconcilia gli scatti automatici con una sola istruzione, come la query con espressioni di tabella comuni
+     * dell'implementazione Postgres: tutte le righe restituite sono calcolate sullo stato delle tabelle precedente all'istruzione.
+     */
+    @Override
+    public ArrayList<RigaRiconciliazioneScatto> riconciliaScattiAutomatici(LocalDate dataRiferimento) {
+
+        return database.esegui(() -> {
+            ArrayList<RigaRiconciliazioneScatto> rimozioni = new ArrayList<>();
+            ArrayList<RigaRiconciliazioneScatto> inserimenti = new ArrayList<>();
+            ArrayList<RigaRiconciliazioneScatto> tipi = new ArrayList<>();
+
+            // Le righe attese sono calcolate prima di qualsiasi modifica, e le verifiche usano lo stato iniziale della tabella
+            ArrayList<RigaDipendenteIndeterminato> dipendenti = new ArrayList<>(database.dipendentiIndeterminati.righe());
+            HashSet<RigaScattoCarriera> attesi = new HashSet<>();
+
+            for (RigaDipendenteIndeterminato dipendente : dipendenti) {
+
+                LocalDate middle = dipendente.dataAssunzione().plusYears(3);
+                LocalDate senior = dipendente.dataAssunzione().plusYears(7);
+
+                if (!middle.isAfter(dataRiferimento))
+                    attesi.add(new RigaScattoCarriera(dipendente.matricola(), "Middle", middle));
+
+                if (!senior.isAfter(dataRiferimento))
+                    attesi.add(new RigaScattoCarriera(dipendente.matricola(), "Senior", senior));
+
+                String tipo = !senior.isAfter(dataRiferimento) ? "Senior" : !middle.isAfter(dataRiferimento) ? "Middle" : "Junior";
+                tipi.add(new RigaRiconciliazioneScatto(RigaRiconciliazioneScatto.TIPO, dipendente.matricola(), tipo, null));
+            }
+
+            for (RigaScattoCarriera scatto : new ArrayList<>(database.scattiCarriera.righe()))
+                if ((scatto.tipo().equals("Middle") || scatto.tipo().equals("Senior")) && !attesi.contains(scatto)) {
+                    database.scattiCarriera.rimuovi(scatto);
+                    rimozioni.add(new RigaRiconciliazioneScatto(RigaRiconciliazioneScatto.RIMOZIONE, scatto.matricola(), scatto.tipo(), scatto.data()));
+                }
+
+            for (RigaScattoCarriera scatto : attesi)
+                if (!database.scattiCarriera.contiene(scatto)) {
+                    database.scattiCarriera.inserisci(scatto);
+                    inserimenti.add(new RigaRiconciliazioneScatto(RigaRiconciliazioneScatto.INSERIMENTO, scatto.matricola(), scatto.tipo(), scatto.data()));
+                }
+
+            for (RigaRiconciliazioneScatto tipo : tipi) {
+                RigaDipendenteIndeterminato dipendente = database.dipendentiIndeterminati.get(tipo.matricola());
+
+                if (!dipendente.tipo().equals(tipo.tipo()))
+                    DipendenteIndeterminatoMemoriaDAO.aggiornaTipo(database, tipo.matricola(), tipo.tipo());
+            }
+
+            ArrayList<RigaRiconciliazioneScatto> righe = new ArrayList<>(rimozioni.size() + inserimenti.size() + tipi.size());
+            righe.addAll(rimozioni);
+            righe.addAll(inserimenti);
+            righe.addAll(tipi);
+
+            return righe;
+        });
+    }
+
+    //Verifica i domini e la chiave esterna di uno scatto di carriera
+    private RigaScattoCarriera verifica(RigaScattoCarriera scatto) throws SQLException {
+
+        VincoliMemoria.matricola(scatto.matricola(), "SCATTO_CARRIERA.Matricola");
+        VincoliMemoria.tipoScatto(scatto.tipo(), "SCATTO_CARRIERA.Tipo");
+        VincoliMemoria.nonNullo(scatto.data(), "SCATTO_CARRIERA.Data");
+
+        if (!database.dipendentiIndeterminati.contiene(scatto.matricola()))
+            throw VincoliMemoria.violazioneChiaveEsterna("SCATTO_CARRIERA", "Matricola", scatto.matricola());
+
+        return scatto;
+    }
+
+    private void inserisci(RigaScattoCarriera scatto) throws SQLException {
+        database.scattiCarriera.inserisci(verifica(scatto));
+    }
+
+    //Rimuove tutti gli scatti del tipo specificato del dipendente
+    private void rimuovi(String tipoScatto, String matricola) {
+
+        for (RigaScattoCarriera scatto : database.scattiPerMatricola.righe(matricola))
+            if (scatto.tipo().equals(tipoScatto))
+                database.scattiCarriera.rimuovi(scatto);
+    }
+
+    //QUERY
+    @Override
+    public boolean obtainScattiCarriera(LetturaScattoCarriera letturaScattoCarriera) throws SQLException {
+
+        // Le righe vengono copiate sotto il lock di lettura e consegnate fuori da esso, in modo che l'elaborazione possa accedere al database
+        for (RigaScattoCarriera scatto : getScattiCarriera())
+            if (!letturaScattoCarriera.leggi(scatto.tipo(), scatto.matricola(), scatto.data()))
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public void obtainScattiCarriera(ArrayList<String> tipiScatto, ArrayList<String> stringDipendenti, ArrayList<LocalDate> date) throws SQLException {
+
+        obtainScattiCarriera((tipoScatto, matricola, data) -> {
+            tipiScatto.add(tipoScatto);
+            stringDipendenti.add(matricola);
+            date.add(data);
+            return true;
+        });
+    }
+
+    @Override
+    public ArrayList<RigaScattoCarriera> getScattiCarriera() {
+        return database.leggi(() -> new ArrayList<>(database.scattiCarriera.righe()));
+    }
+
+    @Override
+    public RigaScattoCarriera getScattoCarriera(String matricola, String tipo, LocalDate data) {
+        return database.leggi(() -> database.scattiCarriera.get(new RigaScattoCarriera(matricola, tipo, data)));
+    }
+}
@@ -0,0 +1,42 @@
+package ImplementazioneMemoriaDAO;
+
+import DAO.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+/**
+ * Questa classe implementa l'interfaccia SnapshotDAO sul database in memoria {@link DatabaseMemoria}:
+ * tutte le tabelle vengono copiate sotto un unico lock di lettura, e riflettono quindi lo stesso istante del database.
+ */
+public class SnapshotMemoriaDAO implements SnapshotDAO {
+
+    private final DatabaseMemoria database;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore del DAO.
+     *
+     * @param database {@link DatabaseMemoria} Il database in memoria su cui opera il DAO.
+     */
+    public SnapshotMemoriaDAO(DatabaseMemoria database) {
+        this.database = database;
+    }
+
+
+    //QUERY
+    @Override
+    public SnapshotDati caricaSnapshot() throws SQLException {
+
+        return database.leggi(() -> new SnapshotDati(
+                DipendenteIndeterminatoMemoriaDAO.caricaBuffer(database),
+                new ArrayList<>(database.scattiCarriera.righe()),
+                new ArrayList<>(database.laboratori.righe()),
+                new ArrayList<>(database.afferenze.righe()),
+                new ArrayList<>(database.progetti.righe()),
+                DipendenteProgettoMemoriaDAO.caricaBuffer(database),
+                AttrezzaturaMemoriaDAO.caricaBuffer(database),
+                new ArrayList<>(database.lavori.righe())));
+    }
+}
@@ -0,0 +1,258 @@
+package ImplementazioneMemoriaDAO;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Tabella del database in memoria: le righe sono indicizzate per chiave primaria in una tabella hash concorrente,
+ * e gli indici secondari, creati con {@link #creaIndice(Function)}, vengono mantenuti ad ogni modifica.
+ *
+ * Le righe sono record immutabili: ogni modifica sostituisce la riga, e viene registrata nel registro di annullamento
+ * del {@link DatabaseMemoria}, in modo da poter essere annullata insieme all'istruzione o alla transazione di cui fa parte.
+ * Le modifiche vanno eseguite solo tramite {@link DatabaseMemoria#esegui(DatabaseMemoria.Istruzione)}, che ne garantisce l'esclusivita'.
+ *
+ * @param <K> Il tipo della chiave primaria.
+ * @param <R> Il tipo delle righe.
+ */
+class TabellaMemoria<K, R> {
+
+    private final DatabaseMemoria database;
+    private final String nome;
+    private final Function<R, K> chiavePrimaria;
+    private final ConcurrentHashMap<K, R> righe = new ConcurrentHashMap<>();
+    private final ArrayList<Indice<?>> indici = new ArrayList<>();
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore della tabella.
+     *
+     * @param database          {@link DatabaseMemoria} Il database a cui appartiene la tabella.
+     * @param nome              {@link String}          Il nome della tabella, riportato negli errori.
+     * @param chiavePrimaria    {@link Function}        La funzione che estrae la chiave primaria da una riga.
+     */
+    TabellaMemoria(DatabaseMemoria database, String nome, Function<R, K> chiavePrimaria) {
+        this.database = database;
+        this.nome = nome;
+        this.chiavePrimaria = chiavePrimaria;
+    }
+
+
+    //METODI
+    /**
+     * Crea un indice secondario sui valori della colonna specificata. Le righe con valore nullo non vengono indicizzate.
+     * Gli indici vanno creati prima dell'inserimento delle righe.
+     *
+     * @param colonna   {@link Function}    La funzione che estrae da una riga il valore indicizzato.
+     * @return {@link Indice}   L'indice creato.
+     */
+    <C> Indice<C> creaIndice(Function<R, C> colonna) {
+
+        Indice<C> indice = new Indice<>(colonna);
+        indici.add(indice);
+
+        return indice;
+    }
+
+    /**
+     * @param chiave La chiave primaria della riga.
+     * @return La riga con la chiave specificata, oppure null se non e' presente.
+     */
+    R get(K chiave) {
+        return chiave == null ? null : righe.get(chiave);
+    }
+
+    /**
+     * @param chiave La chiave primaria della riga.
+     * @return True se la tabella contiene una riga con la chiave specificata.
+     */
+    boolean contiene(K chiave) {
+        return chiave != null && righe.containsKey(chiave);
+    }
+
+    /**
+     * @return {@link Collection}   Una vista di tutte le righe della tabella, in ordine non specificato.
+     */
+    Collection<R> righe() {
+        return righe.values();
+    }
+
+    /**
+     * @return Il numero di righe della tabella.
+     */
+    int dimensione() {
+        return righe.size();
+    }
+
+    /**
+     * Inserisce una riga nella tabella.
+     *
+     * @param riga La riga da inserire.
+     * @throws SQLException Se una riga con la stessa chiave primaria e' gia' presente.
+     */
+    void inserisci(R riga) throws SQLException {
+
+        K chiave = chiavePrimaria.apply(riga);
+
+        if (righe.containsKey(chiave))
+            throw VincoliMemoria.violazioneUnicita(nome, chiave);
+
+        inserisciRiga(chiave, riga);
+        database.registraAnnullamento(() -> rimuoviRiga(chiave));
+    }
+
+    /**
+     * Rimuove la riga con la chiave specificata dalla tabella.
+     *
+     * @param chiave La chiave primaria della riga da rimuovere.
+     * @return La riga rimossa, oppure null se non era presente.
+     */
+    R rimuovi(K chiave) {
+
+        R riga = get(chiave);
+
+        if (riga != null) {
+            rimuoviRiga(chiave);
+            database.registraAnnullamento(() -> inserisciRiga(chiave, riga));
+        }
+
+        return riga;
+    }
+
+    /**
+     * Sostituisce una riga della tabella con una nuova versione, eventualmente con una chiave primaria diversa.
+     *
+     * @param vecchiaRiga   La riga da sostituire, presente nella tabella.
+     * @param nuovaRiga     La nuova versione della riga.
+     * @throws SQLException Se la nuova chiave primaria e' diversa dalla precedente ed e' gia' presente.
+     */
+    void sostituisci(R vecchiaRiga, R nuovaRiga) throws SQLException {
+
+        K vecchiaChiave = chiavePrimaria.apply(vecchiaRiga);
+        K nuovaChiave = chiavePrimaria.apply(nuovaRiga);
+
+        if (!vecchiaChiave.equals(nuovaChiave) && righe.containsKey(nuovaChiave))
+            throw VincoliMemoria.violazioneUnicita(nome, nuovaChiave);
+
+        rimuoviRiga(vecchiaChiave);
+        inserisciRiga(nuovaChiave, nuovaRiga);
+
+        database.registraAnnullamento(() -> {
+            rimuoviRiga(nuovaChiave);
+            inserisciRiga(vecchiaChiave, vecchiaRiga);
+        });
+    }
+
+    /**
+     * Rimuove tutte le righe della tabella, senza registrarne l'annullamento.
+     */
+    void svuota() {
+
+        righe.clear();
+
+        for (Indice<?> indice : indici)
+            indice.chiavi.clear();
+    }
+
+    //Inserisce la riga e la aggiunge agli indici secondari
+    private void inserisciRiga(K chiave, R riga) {
+
+        righe.put(chiave, riga);
+
+        for (Indice<?> indice : indici)
+            indice.aggiungi(chiave, riga);
+    }
+
+    //Rimuove la riga e la toglie dagli indici secondari
+    private void rimuoviRiga(K chiave) {
+
+        R riga = righe.remove(chiave);
+
+        if (riga != null)
+            for (Indice<?> indice : indici)
+                indice.rimuovi(chiave, riga);
+    }
+
+    /**
+     * Indice secondario di una tabella, che associa ad ogni valore di una colonna le chiavi primarie delle righe che lo contengono.
+     *
+     * @param <C> Il tipo dei valori indicizzati.
+     */
+    class Indice<C> {
+
+        private final Function<R, C> colonna;
+        private final ConcurrentHashMap<C, Set<K>> chiavi = new ConcurrentHashMap<>();
+
+        private Indice(Function<R, C> colonna) {
+            this.colonna = colonna;
+        }
+
+        /**
+         * @param valore Il valore cercato.
+         * @return True se almeno una riga contiene il valore specificato.
+         */
+        boolean contiene(C valore) {
+
+            Set<K> insieme = valore == null ? null : chiavi.get(valore);
+
+            return insieme != null && !insieme.isEmpty();
+        }
+
+        /**
+         * @param valore Il valore cercato.
+         * @return Il numero di righe che contengono il valore specificato.
+         */
+        int conta(C valore) {
+
+            Set<K> insieme = valore == null ? null : chiavi.get(valore);
+
+            return insieme == null ? 0 : insieme.size();
+        }
+
+        /**
+         * Restituisce le righe che contengono il valore specificato, copiate in una nuova lista che puo' essere
+         * scorsa anche mentre la tabella viene modificata.
+         *
+         * @param valore Il valore cercato.
+         * @return {@link ArrayList}    Le righe che contengono il valore, in ordine non specificato.
+         */
+        ArrayList<R> righe(C valore) {
+
+            ArrayList<R> risultato = new ArrayList<>();
+            Set<K> insieme = valore == null ? null : chiavi.get(valore);
+
+            if (insieme != null)
+                for (K chiave : insieme) {
+                    R riga = TabellaMemoria.this.righe.get(chiave);
+
+                    if (riga != null)
+                        risultato.add(riga);
+                }
+
+            return risultato;
+        }
+
+        private void aggiungi(K chiave, R riga) {
+
+            C valore = colonna.apply(riga);
+
+            if (valore != null)
+                chiavi.computeIfAbsent(valore, v -> ConcurrentHashMap.newKeySet()).add(chiave);
+        }
+
+        private void rimuovi(K chiave, R riga) {
+
+            C valore = colonna.apply(riga);
+
+            if (valore != null)
+                chiavi.computeIfPresent(valore, (v, insieme) -> {
+                    insieme.remove(chiave);
+                    return insieme.isEmpty() ? null : insieme;
+                });
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ImplementazioneMemoriaDAO;
+
+import DAO.Transazione;
+
+import java.sql.SQLException;
+
+/**
+ * Transazione sul {@link DatabaseMemoria}, con la stessa semantica delle unita' di lavoro sul database Postgres:
+ * le modifiche vengono confermate dal livello piu' esterno, e annullate se la transazione viene chiusa senza conferma
+ * o se un'istruzione e' fallita. Per tutta la sua durata la transazione detiene il lock di scrittura del database.
+ */
+class TransazioneMemoria implements Transazione {
+
+    private final DatabaseMemoria database;
+    private int profondita = 1;
+    private int statementEseguiti = 0;
+    private boolean confermata = false;
+    private boolean livelloInternoConfermato = false;
+    private boolean soloAnnullamento = false;
+    private SQLException primoErrore = null;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruttore della transazione, creata da {@link DatabaseMemoria#apriTransazione()} dopo aver acquisito il lock di scrittura.
+     *
+     * @param database {@link DatabaseMemoria} Il database su cui opera la transazione.
+     */
+    TransazioneMemoria(DatabaseMemoria database) {
+        this.database = database;
+    }
+
+
+    //METODI
+    @Override
+    public void conferma() throws SQLException {
+
+        if (profondita > 1) {
+            livelloInternoConfermato = true;
+            return;
+        }
+
+        if (confermata)
+            return;
+
+        confermata = true;
+
+        if (soloAnnullamento) {
+            database.annullaFino(0);
+            throw new SQLException("Transazione annullata: un'istruzione non e' andata a buon fine", primoErrore);
+        }
+
+        database.confermaModifiche();
+    }
+
+    @Override
+    public void close() {
+
+        profondita--;
+
+        if (profondita > 0) {
+            // Un livello interno chiuso senza conferma (ad esempio per un'eccezione) annulla l'intera transazione
+            if (!livelloInternoConfermato)
+                soloAnnullamento = true;
+
+            livelloInternoConfermato = false;
+            return;
+        }
+
+        // Le modifiche confermate sono gia' state rese definitive, le altre vengono annullate
+        database.chiudiTransazione();
+    }
+
+    @Override
+    public int getStatementEseguiti() {
+        return statementEseguiti;
+    }
+
+    /**
+     * Aggiunge un livello alla transazione, aperto sullo stesso thread mentre la transazione era gia' aperta.
+     */
+    void estendi() {
+        profondita++;
+    }
+
+    /**
+     * Registra l'esecuzione di un'istruzione nella transazione.
+     */
+    void registraStatement() {
+        statementEseguiti++;
+    }
+
+    /**
+     * Registra il fallimento di un'istruzione: la transazione potra' solo essere annullata.
+     *
+     * @param sqlException {@link SQLException} L'errore generato dall'istruzione.
+     */
+    void registraErrore(SQLException sqlException) {
+
+        if (primoErrore == null)
+            primoErrore = sqlException;
+
+        soloAnnullamento = true;
+    }
+
+    /**
+     * @return True se un'istruzione della transazione e' fallita, e la transazione potra' quindi solo essere annullata.
+     */
+    boolean isFallita() {
+        return primoErrore != null;
+    }
+}
@@ -0,0 +1,180 @@
+package ImplementazioneMemoriaDAO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Verifiche dei domini e dei vincoli dello schema dell'azienda, eseguite dal database in memoria prima di ogni modifica.
+ *
+ * Le violazioni vengono segnalate con un'eccezione {@link SQLException} con lo stesso SQLState che restituirebbe Postgres,
+ * in modo che chi le gestisce non debba distinguere tra le due implementazioni.
+ */
+final class VincoliMemoria {
+
+    //SQLSTATE DI POSTGRES
+    static final String VALORE_TROPPO_LUNGO = "22001";
+    static final String VALORE_NUMERICO_FUORI_INTERVALLO = "22003";
+    static final String VALORE_NULLO = "23502";
+    static final String CHIAVE_ESTERNA = "23503";
+    static final String UNICITA = "23505";
+    static final String CONTROLLO = "23514";
+    static final String TRANSAZIONE_ANNULLATA = "25P02";
+
+    // Limite del dominio EURO, NUMERIC(20, 2): 18 cifre intere
+    private static final BigDecimal MASSIMO_EURO = BigDecimal.TEN.pow(18);
+
+    private static final String[] TIPI_DIPENDENTE = {"JUNIOR", "MIDDLE", "SENIOR"};
+    private static final String[] TIPI_SCATTO = {"MIDDLE", "SENIOR", "PROMOSSO_A_DIRIGENTE", "RIMOSSO_DA_DIRIGENTE"};
+
+
+    //COSTRUTTORE
+    private VincoliMemoria() {
+    }
+
+
+    //ECCEZIONI
+    static SQLException violazioneUnicita(String tabella, Object chiave) {
+        return new SQLException("Violazione del vincolo di unicita' su " + tabella + ": la chiave " + chiave + " e' gia' presente", UNICITA);
+    }
+
+    static SQLException violazioneChiaveEsterna(String tabella, String colonna, Object valore) {
+        return new SQLException("Violazione della chiave esterna " + tabella + "." + colonna + ": il valore " + valore + " non e' presente nella tabella riferita", CHIAVE_ESTERNA);
+    }
+
+    static SQLException violazioneControllo(String vincolo) {
+        return new SQLException("Violazione del vincolo " + vincolo, CONTROLLO);
+    }
+
+    //DOMINI
+    /**
+     * Verifica che una colonna NOT NULL abbia un valore.
+     */
+    static void nonNullo(Object valore, String colonna) throws SQLException {
+
+        if (valore == null)
+            throw new SQLException("Valore nullo nella colonna " + colonna + ", che non ammette valori nulli", VALORE_NULLO);
+    }
+
+    /**
+     * Verifica che un valore testuale non superi la lunghezza della colonna VARCHAR.
+     */
+    static void lunghezza(String valore, int lunghezzaMassima, String colonna) throws SQLException {
+
+        if (valore != null && valore.length() > lunghezzaMassima)
+            throw new SQLException("Valore troppo lungo per la colonna " + colonna + " di tipo VARCHAR(" + lunghezzaMassima + ")", VALORE_TROPPO_LUNGO);
+    }
+
+    /**
+     * Verifica un valore del dominio STRING, VARCHAR(30).
+     */
+    static void stringa(String valore, String colonna) throws SQLException {
+        nonNullo(valore, colonna);
+        lunghezza(valore, 30, colonna);
+    }
+
+    /**
+     * Verifica un valore del dominio MATRICOLA, di esattamente 8 caratteri.
+     */
+    static void matricola(String valore, String colonna) throws SQLException {
+
+        nonNullo(valore, colonna);
+        lunghezza(valore, 8, colonna);
+
+        if (valore.length() != 8)
+            throw violazioneControllo("dom_matricola_check_length");
+    }
+
+    /**
+     * Verifica un valore del dominio CUP, di esattamente 15 caratteri alfanumerici.
+     */
+    static void cup(String valore, String colonna) throws SQLException {
+        alfanumerico(valore, 15, colonna, "dom_cup_check_length", "dom_cup_check_alphanumeric");
+    }
+
+    /**
+     * Verifica un valore del dominio CODFISCALE, di esattamente 16 caratteri alfanumerici.
+     */
+    static void codFiscale(String valore, String colonna) throws SQLException {
+        alfanumerico(valore, 16, colonna, "dom_codfiscale_check_length", "dom_codfiscale_check_alphanumeric");
+    }
+
+    /**
+     * Verifica un valore del dominio TIPO_DIPENDENTE, senza distinzione tra maiuscole e minuscole.
+     */
+    static void tipoDipendente(String valore, String colonna) throws SQLException {
+
+        nonNullo(valore, colonna);
+        lunghezza(valore, 6, colonna);
+
+        if (!contieneIgnorandoMaiuscole(TIPI_DIPENDENTE, valore))
+            throw violazioneControllo("dom_tipo_dipendente_check_jms");
+    }
+
+    /**
+     * Verifica un valore del dominio TIPO_SCATTO, senza distinzione tra maiuscole e minuscole.
+     */
+    static void tipoScatto(String valore, String colonna) throws SQLException {
+
+        nonNullo(valore, colonna);
+        lunghezza(valore, 20, colonna);
+
+        if (!contieneIgnorandoMaiuscole(TIPI_SCATTO, valore))
+            throw violazioneControllo("dom_tipo_scatto_check_msd");
+    }
+
+    /**
+     * Verifica un valore del dominio EURO, NUMERIC(20, 2) non negativo, e lo arrotonda ai centesimi come Postgres.
+     *
+     * @return {@link BigDecimal}   Il valore arrotondato ai centesimi, come verrebbe memorizzato.
+     */
+    static BigDecimal euro(BigDecimal valore, String colonna) throws SQLException {
+
+        nonNullo(valore, colonna);
+
+        BigDecimal arrotondato = valore.setScale(2, RoundingMode.HALF_UP);
+
+        if (arrotondato.abs().compareTo(MASSIMO_EURO) >= 0)
+            throw new SQLException("Valore fuori dall'intervallo della colonna " + colonna + " di tipo NUMERIC(20, 2)", VALORE_NUMERICO_FUORI_INTERVALLO);
+
+        if (arrotondato.signum() < 0)
+            throw violazioneControllo("positive_euro");
+
+        return arrotondato;
+    }
+
+    //VINCOLI DI TABELLA
+    /**
+     * Verifica che le date di un contratto siano ordinate: la nascita precede l'assunzione, che non segue la fine del contratto.
+     * Come in un vincolo CHECK, il confronto con una data di fine nulla e' soddisfatto.
+     */
+    static void ordineDate(LocalDate dataNascita, LocalDate dataAssunzione, LocalDate dataFine, String vincolo) throws SQLException {
+
+        if (!dataNascita.isBefore(dataAssunzione) || (dataFine != null && dataAssunzione.isAfter(dataFine)))
+            throw violazioneControllo(vincolo);
+    }
+
+    //Verifica un dominio di lunghezza fissa composto da soli caratteri alfanumerici
+    private static void alfanumerico(String valore, int lunghezza, String colonna, String vincoloLunghezza, String vincoloAlfanumerico) throws SQLException {
+
+        nonNullo(valore, colonna);
+        lunghezza(valore, lunghezza, colonna);
+
+        if (valore.length() != lunghezza)
+            throw violazioneControllo(vincoloLunghezza);
+
+        for (int i = 0; i < valore.length(); i++)
+            if (!Character.isLetterOrDigit(valore.charAt(i)))
+                throw violazioneControllo(vincoloAlfanumerico);
+    }
+
+    private static boolean contieneIgnorandoMaiuscole(String[] valori, String valore) {
+
+        for (String ammesso : valori)
+            if (ammesso.equalsIgnoreCase(valore))
+                return true;
+
+        return false;
+    }
+}
@@ -1,6 +1,6 @@
 package ImplementazionePostgresDAO;
 
-import DAO.AfferireDAO;
+import DAO.*;
 import Database.ConnessioneDatabase;
 
 import java.sql.*;
@@ -11,10 +11,8 @@ import java.util.ArrayList;
  */
 public class AfferirePostgresDAO implements AfferireDAO {
     private Connection connessione;
-    private ResultSetMetaData metaData = null;
     private PreparedStatement preparedStatement = null;
     private ResultSet result = null;
-    private ArrayList<String[]> resultMatrix = null;
 
     /**
      * Costruttore della classe che richiede l'istanza di connessione al database Postgres tramite la classe ConnessioneDatabase.
@@ -49,13 +47,14 @@ public class AfferirePostgresDAO implements AfferireDAO {
             preparedStatement.setString(2, nomeLab);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -76,11 +75,70 @@ public class AfferirePostgresDAO implements AfferireDAO {
             preparedStatement.setString(2, nomeLab);
 
             preparedStatement.executeUpdate();
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
+    }
+
+    /**
+     * Aggiunge in batch piu' afferenze di dipendenti indeterminati a laboratori nell'azienda. Le liste sono parallele.
+     *
+     * @param matricole {@link ArrayList<String>}   Le matricole dei dipendenti da associare.
+     * @param nomiLab   {@link ArrayList<String>}   I nomi dei laboratori da associare.
+     */
+    @Override
+    public void addAfferenze(ArrayList<String> matricole, ArrayList<String> nomiLab) {
+
+        String query = "INSERT INTO azienda.AFFERIRE(Matricola, nomeLab) VALUES (?, ?)";
+
+        try{
+            preparedStatement = connessione.prepareStatement(query);
 
+            EsecutoreBatch.esegui(preparedStatement, matricole.size(), (statement, i) -> {
+                statement.setString(1, matricole.get(i));
+                statement.setString(2, nomiLab.get(i));
+            });
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
+    }
+
+    /**
+     * Rimuove in batch piu' afferenze di dipendenti indeterminati a laboratori dall'azienda. Le liste sono parallele.
+     *
+     * @param matricole {@link ArrayList<String>}   Le matricole dei dipendenti di cui rimuovere l'associazione.
+     * @param nomiLab   {@link ArrayList<String>}   I nomi dei laboratori di cui rimuovere l'associazione.
+     */
+    @Override
+    public void removeAfferenze(ArrayList<String> matricole, ArrayList<String> nomiLab) {
+
+        String query = "DELETE FROM azienda.AFFERIRE WHERE Matricola = ? AND nomelab = ?";
+
+        try{
+            preparedStatement = connessione.prepareStatement(query);
+
+            EsecutoreBatch.esegui(preparedStatement, matricole.size(), (statement, i) -> {
+                statement.setString(1, matricole.get(i));
+                statement.setString(2, nomiLab.get(i));
+            });
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -106,13 +164,14 @@ public class AfferirePostgresDAO implements AfferireDAO {
             preparedStatement.setString(4, vecchioNomeLab);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     //QUERY
@@ -128,32 +187,54 @@ public class AfferirePostgresDAO implements AfferireDAO {
     @Override
     public void obtainAfferenze(ArrayList<String> dipendenti, ArrayList<String> laboratori) throws SQLException{
 
+        // Le righe lette in streaming vengono accumulate nelle liste specificate
+        obtainAfferenze((matricola, nomeLab) -> {
+            dipendenti.add(matricola);
+            laboratori.add(nomeLab);
+            return true;
+        });
+    }
+
+    /**
+     * Legge in streaming tutte le afferenze tra dipendenti e laboratori dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaAfferenza {@link LetturaAfferenza} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    @Override
+    public boolean obtainAfferenze(LetturaAfferenza letturaAfferenza) throws SQLException{
+
         String query = "SELECT * FROM azienda.AFFERIRE";
 
         try{
             preparedStatement = connessione.prepareStatement(query);
-            result = preparedStatement.executeQuery();
-
-            while(result.next()){
 
-                dipendenti.add(result.getString("Matricola"));
-                laboratori.add(result.getString("NomeLab"));
-            }
-
-            result.close();
-
-        }catch (SQLException sqlException){
+            // Le righe vengono lette tramite un cursore e consegnate una alla volta
+            return LettoreCursore.scorri(connessione, preparedStatement, MappatureRighe.AFFERENZA, riga ->
+                    letturaAfferenza.leggi(riga.matricola(),
+                                           riga.nomeLab()));
+        }
+        catch (SQLException sqlException){
             throw new SQLException();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
-     * Restituisce, sottoforma di matrice di stringhe, tutte le afferenze tra dipendenti indeterminati e laboratori registrate nell'azienda.
+     * Restituisce, sottoforma di righe tipizzate {@link RigaAfferenza}, tutte le afferenze tra dipendenti indeterminati e laboratori registrate nell'azienda.
      *
-     * @return  {@link ArrayList<String[]>}  Un ArrayList di array di stringhe, rappresentante tutte le afferenze. Ogni array contiene la matricola e il nome del laboratorio.
+     * @return  {@link ArrayList}  Un ArrayList di righe tipizzate, rappresentante tutte le afferenze. Ogni riga contiene la matricola e il nome del laboratorio.
      */
     @Override
-    public ArrayList<String[]> getAfferenze() {
+    public ArrayList<RigaAfferenza> getAfferenze() {
+
+        ArrayList<RigaAfferenza> righe = null;
 
         String query = "SELECT * FROM azienda.AFFERIRE";
 
@@ -161,52 +242,60 @@ public class AfferirePostgresDAO implements AfferireDAO {
             preparedStatement = connessione.prepareStatement(query);
             result = preparedStatement.executeQuery();
 
-            //Converto in matrice
-            metaData = result.getMetaData();
-            resultMatrix = createMatrix(metaData, result);
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.AFFERENZA);
 
-            //Chiudo le istanze aperte
+            //Chiudo il resultSet
             result.close();
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
-        return resultMatrix;
+        return righe;
     }
 
-
-    //Metodo utilizzato per convertire un resultSet in matrice
-
     /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
+     * Ottiene l'afferenza del dipendente specificato al laboratorio specificato.
      *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
+     * @param matricola   {@link String}  La matricola del dipendente.
+     * @param nomeLab     {@link String}  Il nome del laboratorio.
+     *
+     * @return {@link RigaAfferenza}  Le informazioni dell'afferenza, oppure null se non e' presente nel database.
      */
     @Override
-    public ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException {
+    public RigaAfferenza getAfferenza(String matricola, String nomeLab) {
 
-        resultMatrix = new ArrayList<>();
+        RigaAfferenza riga = null;
 
-        int columns = metaData.getColumnCount() + 1;
+        String query = "SELECT * FROM azienda.AFFERIRE WHERE Matricola = ? AND NomeLab = ?";
 
-        while (result.next()) {
+        try{
+            preparedStatement = connessione.prepareStatement(query);
 
-            String[] str = new String[columns];
+            preparedStatement.setString(1, matricola);
+            preparedStatement.setString(2, nomeLab);
 
-            str[0] = Integer.toString(columns);
+            result = preparedStatement.executeQuery();
 
-            for (int j = 1; j < columns; j++) {
-                str[j] = result.getString(j);
-            }
+            //Converto la riga tipizzata, se presente
+            riga = MappatureRighe.leggiPrima(result, MappatureRighe.AFFERENZA);
 
-            resultMatrix.add(str);
+            //Chiudo il resultSet
+            result.close();
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
         }
 
-        return resultMatrix;
+        return riga;
     }
 }
@@ -1,6 +1,6 @@
 package ImplementazionePostgresDAO;
 
-import DAO.AttrezzaturaDAO;
+import DAO.*;
 import Database.ConnessioneDatabase;
 
 import java.math.BigDecimal;
@@ -12,10 +12,8 @@ import java.util.ArrayList;
  */
 public class AttrezzaturaPostgresDAO implements AttrezzaturaDAO {
     private Connection connessione;
-    private ResultSetMetaData metaData = null;
     private PreparedStatement preparedStatement = null;
     private ResultSet result = null;
-    private ArrayList<String[]> resultMatrix = null;
 
     /**
      * Costruttore della classe che richiede un'istanza di connessione al database Postgres tramite la classe ConnessioneDatabase.
@@ -53,13 +51,14 @@ public class AttrezzaturaPostgresDAO implements AttrezzaturaDAO {
             preparedStatement.setBigDecimal(4, costo);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
     }
 
@@ -88,69 +87,98 @@ public class AttrezzaturaPostgresDAO implements AttrezzaturaDAO {
             preparedStatement.setInt(5, idAttrezzatura);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
     }
 
     //QUERY
 
     /**
-     * Ottiene le informazioni sulle attrezzature dal database e le inserisce in liste separate.
+     * Carica tutte le attrezzature dal database in un buffer colonnare.
+     * Il buffer viene dimensionato sulla stima del numero di righe mantenuta dalle statistiche del database
+     * e riempito tramite un cursore, cosi' da non trattenere in memoria contemporaneamente il risultato della query e il buffer.
      *
-     * @param descrizioni       {@link ArrayList<String>}       Una lista vuota in cui verranno inserite le descrizioni delle attrezzature.
-     * @param costi             {@link ArrayList<BigDecimal>}   Una lista vuota in cui verranno inseriti i costi delle attrezzature.
-     * @param stringProgetti    {@link ArrayList<String>}       Una lista vuota in cui verranno inseriti i nomi dei progetti proprietari delle attrezzature.
-     * @param stringLaboratori  {@link ArrayList<String>}       Una lista vuota in cui verranno inseriti i nomi dei laboratori in cui potranno risiedere le attrezzature. Può contenere valori nulli.
+     * @return {@link BufferAttrezzature} Il buffer contenente le attrezzature lette, da consumare una sola volta.
      *
      * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
      */
     @Override
-    public void obtainAttrezzature(ArrayList<Integer> idAttrezzature, ArrayList<String> descrizioni, ArrayList<BigDecimal> costi, ArrayList<String> stringProgetti, ArrayList<String> stringLaboratori) throws SQLException{
+    public BufferAttrezzature caricaAttrezzature() throws SQLException{
 
         String query = "SELECT * FROM azienda.ATTREZZATURA";
 
         try{
+            BufferAttrezzature buffer = new BufferAttrezzature(LettoreCursore.stimaRighe(connessione, "azienda.attrezzatura"));
+
             preparedStatement = connessione.prepareStatement(query);
-            result = preparedStatement.executeQuery();
 
-            while (result.next()) {
+            // Le righe lette tramite il cursore vengono memorizzate per colonne nel buffer
+            LettoreCursore.scorri(connessione, preparedStatement, MappatureRighe.ATTREZZATURA, riga -> {
+                buffer.aggiungi(riga.idAttrezzatura(), riga.descrizione(), riga.costo(), riga.cup(), riga.nomeLab());
+                return true;
+            });
 
-                idAttrezzature.add(result.getInt("idAttrezzatura"));
-                descrizioni.add(result.getString("Descrizione"));
-                costi.add(result.getBigDecimal("Costo"));
-                stringProgetti.add(result.getString("Cup"));
+            return buffer;
+        }
+        catch (SQLException sqlException){
+            throw new SQLException();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
+    }
 
-                if (result.getString("NomeLab") == null)
-                    stringLaboratori.add(null);
-                else
-                    stringLaboratori.add(result.getString("NomeLab"));
+    /**
+     * Legge in streaming tutte le attrezzature dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaAttrezzatura {@link LetturaAttrezzatura} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    @Override
+    public boolean obtainAttrezzature(LetturaAttrezzatura letturaAttrezzatura) throws SQLException{
 
-            }
+        String query = "SELECT * FROM azienda.ATTREZZATURA";
 
-            //Chiudo il resultSet
-            result.close();
+        try{
+            preparedStatement = connessione.prepareStatement(query);
 
-            //Chiudo la connessione
-            connessione.close();
+            // Le righe vengono lette tramite un cursore e consegnate una alla volta
+            return LettoreCursore.scorri(connessione, preparedStatement, MappatureRighe.ATTREZZATURA, riga ->
+                    letturaAttrezzatura.leggi(riga.idAttrezzatura(),
+                                              riga.descrizione(),
+                                              riga.costo(),
+                                              riga.cup(),
+                                              riga.nomeLab()));
         }
         catch (SQLException sqlException){
             throw new SQLException();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
-     * Ottiene tutte le attrezzature dal database e restituisce una matrice di stringhe.
+     * Ottiene tutte le attrezzature dal database e le restituisce come righe tipizzate {@link RigaAttrezzatura}.
      *
-     * @return  {@link ArrayList<String[]>} Una lista di informazioni rappresentanti tutte le attrezzature nel database.
+     * @return  {@link ArrayList} Una lista di righe tipizzate rappresentanti tutte le attrezzature nel database.
      */
     @Override
-    public ArrayList<String[]> getAttrezzature() {
+    public ArrayList<RigaAttrezzatura> getAttrezzature() {
+
+        ArrayList<RigaAttrezzatura> righe = null;
 
         String query = "SELECT * FROM azienda.ATTREZZATURA";
 
@@ -158,52 +186,58 @@ public class AttrezzaturaPostgresDAO implements AttrezzaturaDAO {
             preparedStatement = connessione.prepareStatement(query);
             result = preparedStatement.executeQuery();
 
-            //Converto in matrice
-            metaData = result.getMetaData();
-            resultMatrix = createMatrix(metaData, result);
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.ATTREZZATURA);
 
-            //Chiudo le istanze aperte
+            //Chiudo il resultSet
             result.close();
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
-        return resultMatrix;
+        return righe;
     }
 
-
-    //Metodo utilizzato per convertire un resultSet in matrice
-
     /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
+     * Ottiene l'attrezzatura con l'identificativo specificato.
+     *
+     * @param idAttrezzatura    L'identificativo dell'attrezzatura.
      *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
+     * @return {@link RigaAttrezzatura}  Le informazioni dell'attrezzatura, oppure null se non e' presente nel database.
      */
     @Override
-    public ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException {
+    public RigaAttrezzatura getAttrezzatura(int idAttrezzatura) {
 
-        resultMatrix = new ArrayList<>();
+        RigaAttrezzatura riga = null;
 
-        int columns = metaData.getColumnCount() + 1;
+        String query = "SELECT * FROM azienda.ATTREZZATURA WHERE idAttrezzatura = ?";
 
-        while (result.next()) {
+        try{
+            preparedStatement = connessione.prepareStatement(query);
 
-            String[] str = new String[columns];
+            preparedStatement.setInt(1, idAttrezzatura);
 
-            str[0] = Integer.toString(columns);
+            result = preparedStatement.executeQuery();
 
-            for (int j = 1; j < columns; j++) {
-                str[j] = result.getString(j);
-            }
+            //Converto la riga tipizzata, se presente
+            riga = MappatureRighe.leggiPrima(result, MappatureRighe.ATTREZZATURA);
 
-            resultMatrix.add(str);
+            //Chiudo il resultSet
+            result.close();
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
         }
 
-        return resultMatrix;
+        return riga;
     }
-}
\ No newline at end of file
+}
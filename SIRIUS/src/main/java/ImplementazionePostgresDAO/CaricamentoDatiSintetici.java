@@ -0,0 +1,252 @@
+package ImplementazionePostgresDAO;
+
+import DAO.DatiSintetici;
+import Database.ConnessioneDatabase;
+import Database.MigrazioniSchema;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+/**
+ * Carica nel database i dati sintetici prodotti da {@link DatiSintetici}, per disporre di un'azienda di dimensione arbitraria
+ * su cui misurare le prestazioni dei DAO e del Controller.
+ *
+ * Le righe vengono generate in streaming ed inviate con {@code COPY ... FROM STDIN}, tabella per tabella nell'ordine delle chiavi
+ * esterne, senza mantenere in memoria le tabelle. Il caricamento avviene in un'unica transazione: i vincoli dello schema restano attivi,
+ * e qualsiasi violazione annulla l'intero caricamento. I trigger di notifica delle modifiche vengono disattivati per la durata della
+ * transazione, per non inviare una notifica per ogni riga caricata: i client gia' avviati devono ricaricare il modello.
+ *
+ * Si esegue come applicativo a se' stante, sullo stesso database configurato in {@link ConnessioneDatabase}, con gli argomenti:
+ * {@code <dipendenti> [seme] [--svuota]}. Con {@code --svuota} le tabelle dell'azienda vengono prima svuotate; altrimenti
+ * il caricamento fallisce se i dati generati sono in conflitto con quelli gia' presenti.
+ */
+public class CaricamentoDatiSintetici {
+
+    // Tabelle nell'ordine di caricamento, con i rispettivi trigger di notifica delle modifiche
+    private static final String[][] TABELLE = {
+            {"azienda.DIP_INDETERMINATO", "notifica_dip_indeterminato"},
+            {"azienda.SCATTO_CARRIERA", "notifica_scatto_carriera"},
+            {"azienda.LABORATORIO", "notifica_laboratorio"},
+            {"azienda.AFFERIRE", "notifica_afferire"},
+            {"azienda.PROGETTO", "notifica_progetto"},
+            {"azienda.LAVORARE", "notifica_lavorare"},
+            {"azienda.DIP_PROGETTO", "notifica_dip_progetto"},
+            {"azienda.ATTREZZATURA", "notifica_attrezzatura"}
+    };
+
+    private static final String SVUOTA_TABELLE = "TRUNCATE azienda.DIP_INDETERMINATO, azienda.SCATTO_CARRIERA, azienda.LABORATORIO, " +
+            "azienda.AFFERIRE, azienda.PROGETTO, azienda.LAVORARE, azienda.DIP_PROGETTO, azienda.ATTREZZATURA RESTART IDENTITY";
+
+    // Le attrezzature vengono caricate con il proprio identificativo: la sequenza deve ripartire dal successivo
+    private static final String ALLINEA_SEQUENZA_ATTREZZATURE = "SELECT setval(pg_get_serial_sequence('azienda.attrezzatura', 'idattrezzatura'), " +
+            "COALESCE((SELECT MAX(idAttrezzatura) FROM azienda.ATTREZZATURA), 1))";
+
+    // Dimensione del buffer di ogni COPY, oltre la quale i dati vengono inviati al database
+    private static final int DIMENSIONE_BUFFER = 1 << 16;
+
+
+    //COSTRUTTORE
+    private CaricamentoDatiSintetici() {
+    }
+
+
+    //METODI
+    public static void main(String[] args) {
+
+        if (args.length < 1) {
+            System.err.println("Argomenti: <dipendenti> [seme] [--svuota]");
+            return;
+        }
+
+        int dipendenti = Integer.parseInt(args[0]);
+        long seme = 1;
+        boolean svuota = false;
+
+        for (int i = 1; i < args.length; i++) {
+
+            if (args[i].equals("--svuota"))
+                svuota = true;
+            else
+                seme = Long.parseLong(args[i]);
+        }
+
+        try {
+            int applicate = MigrazioniSchema.applica();
+            System.out.println("Migrazioni applicate: " + applicate + " (versione dello schema: " + MigrazioniSchema.getVersioneAttesa() + ")");
+
+            carica(new DatiSintetici(dipendenti, seme), svuota);
+
+        } catch (SQLException sqlException) {
+            sqlException.printStackTrace();
+        }
+    }
+
+    /**
+     * Carica i dati sintetici specificati nel database, in un'unica transazione su una connessione dedicata.
+     *
+     * @param dati   {@link DatiSintetici} I dati da caricare.
+     * @param svuota True per svuotare le tabelle dell'azienda prima del caricamento.
+     *
+     * @throws SQLException Se il caricamento fallisce, ad esempio per la violazione di un vincolo; in tal caso nessuna riga viene caricata.
+     */
+    public static void carica(DatiSintetici dati, boolean svuota) throws SQLException {
+
+        long inizio = System.nanoTime();
+
+        try (Connection connessione = ConnessioneDatabase.getInstance().apriConnessioneDedicata()) {
+
+            connessione.setAutoCommit(false);
+            PGConnection connessionePostgres = connessione.unwrap(PGConnection.class);
+
+            try (Statement statement = connessione.createStatement()) {
+
+                if (svuota)
+                    statement.executeUpdate(SVUOTA_TABELLE);
+
+                // La disattivazione dei trigger fa parte della transazione, ed e' annullata insieme ad essa in caso di errore
+                for (String[] tabella : TABELLE)
+                    statement.executeUpdate("ALTER TABLE " + tabella[0] + " DISABLE TRIGGER " + tabella[1]);
+
+                copia(connessionePostgres, "azienda.DIP_INDETERMINATO(Matricola, Tipo, Nome, Cognome, codFiscale, Indirizzo, dataNascita, dataAssunzione, dataFine, Dirigente)",
+                        consumatore -> dati.generaDipendentiIndeterminati(riga -> consumatore.accept(riga.valori())));
+
+                copia(connessionePostgres, "azienda.SCATTO_CARRIERA(Matricola, Tipo, Data)",
+                        consumatore -> dati.generaScattiCarriera(riga -> consumatore.accept(new Object[]{riga.matricola(), riga.tipo(), riga.data()})));
+
+                copia(connessionePostgres, "azienda.LABORATORIO(Nome, Topic, Responsabile_Scientifico)",
+                        consumatore -> dati.generaLaboratori(riga -> consumatore.accept(riga.valori())));
+
+                copia(connessionePostgres, "azienda.AFFERIRE(Matricola, nomeLab)",
+                        consumatore -> dati.generaAfferenze(riga -> consumatore.accept(riga.valori())));
+
+                copia(connessionePostgres, "azienda.PROGETTO(CUP, Nome, dataInizio, dataFine, Budget, Referente_Scientifico, Responsabile)",
+                        consumatore -> dati.generaProgetti(riga -> consumatore.accept(new Object[]{riga.cup(), riga.nome(), riga.dataInizio(),
+                                riga.dataFine(), riga.budget(), riga.referenteScientifico(), riga.responsabile()})));
+
+                copia(connessionePostgres, "azienda.LAVORARE(CUP, nomeLab)",
+                        consumatore -> dati.generaLavori(riga -> consumatore.accept(riga.valori())));
+
+                copia(connessionePostgres, "azienda.DIP_PROGETTO(Matricola, Nome, Cognome, codFiscale, Indirizzo, dataNascita, dataAssunzione, Costo, Scadenza, CUP)",
+                        consumatore -> dati.generaDipendentiProgetto(riga -> consumatore.accept(riga.valori())));
+
+                copia(connessionePostgres, "azienda.ATTREZZATURA(idAttrezzatura, Descrizione, Costo, nomeLab, CUP)",
+                        consumatore -> dati.generaAttrezzature(riga -> consumatore.accept(riga.valori())));
+
+                statement.execute(ALLINEA_SEQUENZA_ATTREZZATURE);
+
+                for (String[] tabella : TABELLE)
+                    statement.executeUpdate("ALTER TABLE " + tabella[0] + " ENABLE TRIGGER " + tabella[1]);
+
+                connessione.commit();
+
+            } catch (SQLException | RuntimeException eccezione) {
+                connessione.rollback();
+                throw eccezione;
+            }
+
+            // Le statistiche aggiornate permettono al planner di scegliere i piani adatti alla nuova dimensione delle tabelle
+            connessione.setAutoCommit(true);
+
+            try (Statement statement = connessione.createStatement()) {
+                for (String[] tabella : TABELLE)
+                    statement.executeUpdate("ANALYZE " + tabella[0]);
+            }
+        }
+
+        System.out.println("Caricati " + dati.getNumeroDipendenti() + " dipendenti a tempo indeterminato, " + dati.getNumeroLaboratori() + " laboratori, "
+                + dati.getNumeroProgetti() + " progetti, " + dati.getNumeroDipendentiProgetto() + " dipendenti a progetto e "
+                + dati.getNumeroAttrezzature() + " attrezzature in " + (System.nanoTime() - inizio) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Genera le righe di una tabella, consegnandole una alla volta come valori delle colonne.
+     */
+    private interface GenerazioneRighe {
+        void genera(Consumer<Object[]> consumatore);
+    }
+
+    //Invia con un'unica COPY in formato testo tutte le righe generate per la tabella e le colonne specificate
+    private static void copia(PGConnection connessione, String tabella, GenerazioneRighe generazione) throws SQLException {
+
+        PGCopyOutputStream flusso = new PGCopyOutputStream(connessione, "COPY " + tabella + " FROM STDIN", DIMENSIONE_BUFFER);
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(flusso, StandardCharsets.UTF_8), DIMENSIONE_BUFFER)) {
+
+            generazione.genera(valori -> {
+                try {
+                    scriviRiga(writer, valori);
+                } catch (IOException ioException) {
+                    throw new UncheckedIOException(ioException);
+                }
+            });
+
+        } catch (IOException | UncheckedIOException eccezione) {
+
+            // Gli errori del database, come la violazione di un vincolo, vengono riportati dal driver come errori di scrittura
+            Throwable causa = eccezione instanceof UncheckedIOException ? eccezione.getCause().getCause() : eccezione.getCause();
+
+            if (causa instanceof SQLException sqlException)
+                throw sqlException;
+
+            throw new SQLException("Caricamento di " + tabella + " non riuscito", eccezione);
+        }
+    }
+
+    //Scrive una riga nel formato testo di COPY: valori separati da tabulazioni, \N per i valori nulli
+    private static void scriviRiga(Writer writer, Object[] valori) throws IOException {
+
+        for (int c = 0; c < valori.length; c++) {
+
+            if (c > 0)
+                writer.write('\t');
+
+            Object valore = valori[c];
+
+            if (valore == null)
+                writer.write("\\N");
+            else if (valore instanceof BigDecimal decimale)
+                writer.write(decimale.toPlainString());
+            else
+                scriviTesto(writer, valore.toString());
+        }
+
+        writer.write('\n');
+    }
+
+    //Scrive un valore testuale, con i caratteri speciali del formato testo di COPY preceduti dalla barra rovesciata
+    private static void scriviTesto(Writer writer, String testo) throws IOException {
+
+        for (int i = 0; i < testo.length(); i++) {
+
+            char carattere = testo.charAt(i);
+
+            switch (carattere) {
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                default:
+                    writer.write(carattere);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ImplementazionePostgresDAO;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Classe di supporto per la chiusura delle connessioni dei DAO Postgres al termine di ogni operazione.
+ * La chiusura restituisce la connessione al pool anche quando l'operazione non va a buon fine, senza attendere il Cleaner;
+ * un eventuale errore della chiusura viene solo riportato, per non nascondere l'errore dell'operazione.
+ */
+class ChiusuraConnessione {
+
+    //COSTRUTTORE
+    private ChiusuraConnessione() {}
+
+
+    //METODI
+    /**
+     * Chiude la connessione specificata, restituendola al pool.
+     *
+     * @param connessione   {@link Connection}  La connessione da chiudere, eventualmente null se non e' stato possibile ottenerla.
+     */
+    static void chiudi(Connection connessione) {
+
+        if (connessione == null)
+            return;
+
+        try {
+            connessione.close();
+        } catch (SQLException sqlException) {
+            sqlException.printStackTrace();
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package ImplementazionePostgresDAO;
 
 import Database.ConnessioneDatabase;
-import DAO.DipendenteIndeterminatoDAO;
+import DAO.*;
 import org.postgresql.util.PSQLException;
 
 import java.sql.*;
@@ -13,10 +13,8 @@ import java.util.ArrayList;
  */
 public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndeterminatoDAO {
     private Connection connessione;
-    private ResultSetMetaData metaData = null;
     private PreparedStatement preparedStatement = null;
     private ResultSet result = null;
-    private ArrayList<String[]> resultMatrix = null;
 
     /**
      * Costruttore della classe che richiede un'istanza di connessione al database Postgres tramite la classe ConnessioneDatabase.
@@ -76,13 +74,14 @@ public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndetermina
             preparedStatement.setBoolean(10, dirigente);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -132,13 +131,14 @@ public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndetermina
             preparedStatement.setString(11, vecchiaMatricola);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -163,6 +163,10 @@ public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndetermina
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
     }
 
@@ -188,6 +192,66 @@ public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndetermina
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
+    }
+
+    /**
+     * Aggiorna in batch lo stato dirigenziale di piu' dipendenti a tempo indeterminato. Le liste sono parallele.
+     *
+     * @param matricole {@link ArrayList<String>}   Le matricole dei dipendenti indeterminati da aggiornare.
+     * @param dirigenti {@link ArrayList<Boolean>}  I nuovi stati dirigenziali da impostare.
+     */
+    @Override
+    public void updateStatiDirigente(ArrayList<String> matricole, ArrayList<Boolean> dirigenti) {
+
+        String query = "UPDATE azienda.DIP_INDETERMINATO SET Dirigente = ? WHERE Matricola = ?";
+
+        try{
+            preparedStatement = connessione.prepareStatement(query);
+
+            EsecutoreBatch.esegui(preparedStatement, matricole.size(), (statement, i) -> {
+                statement.setBoolean(1, dirigenti.get(i));
+                statement.setString(2, matricole.get(i));
+            });
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
+    }
+
+    /**
+     * Aggiorna in batch il tipo di piu' dipendenti a tempo indeterminato. Le liste sono parallele.
+     *
+     * @param matricole         {@link ArrayList<String>}   Le matricole dei dipendenti indeterminati da aggiornare.
+     * @param tipiDipendente    {@link ArrayList<String>}   I nuovi tipi in aggiornamento.
+     */
+    @Override
+    public void updateTipiDipendente(ArrayList<String> matricole, ArrayList<String> tipiDipendente) {
+
+        String query = "UPDATE azienda.DIP_INDETERMINATO SET Tipo = ? WHERE Matricola = ?";
+
+        try{
+            preparedStatement = connessione.prepareStatement(query);
+
+            EsecutoreBatch.esegui(preparedStatement, matricole.size(), (statement, i) -> {
+                statement.setString(1, tipiDipendente.get(i));
+                statement.setString(2, matricole.get(i));
+            });
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -222,13 +286,14 @@ public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndetermina
             preparedStatement.setString(6, vecchioCodFiscale);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -249,112 +314,163 @@ public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndetermina
             preparedStatement.setString(2, matricola);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
     }
 
     //QUERY
     /**
-     * Ottiene le informazioni sui dipendenti a tempo indeterminato dal database e le inserisce in liste separate.
+     * Carica tutti i dipendenti a tempo indeterminato dal database in un buffer colonnare.
+     * Il buffer viene dimensionato sulla stima del numero di righe mantenuta dalle statistiche del database
+     * e riempito tramite un cursore, cosi' da non trattenere in memoria contemporaneamente il risultato della query e il buffer.
      *
-     * @param nomi              {@link ArrayList<String>}       Una lista vuota in cui verranno inseriti i nomi dei dipendenti indeterminati da leggere.
-     * @param cognomi           {@link ArrayList<String>}       Una lista vuota in cui verranno inseriti i cognomi dei dipendenti indeterminati da leggere.
-     * @param codFiscali        {@link ArrayList<String>}       Una lista vuota in cui verranno inseriti i codici fiscali dei dipendenti indeterminati da leggere.
-     * @param matricole         {@link ArrayList<String>}       Una lista vuota in cui verranno inserite le matricole dei dipendenti indeterminati da leggere.
-     * @param tipiDipendente    {@link ArrayList<String>}       Una lista vuota in cui verranno inseriti i tipi di dipendente dei dipendenti indeterminati da leggere.
-     * @param indirizzi         {@link ArrayList<String>}       Una lista vuota in cui verranno inseriti gli indirizzi dei dipendenti indeterminati da leggere. Può contenere valori nulli.
-     * @param dateNascita       {@link ArrayList<LocalDate>}    Una lista vuota in cui verranno inserite le date di nascita dei dipendenti indeterminati da leggere.
-     * @param dateAssunzioni    {@link ArrayList<LocalDate>}    Una lista vuota in cui verranno inserite le date di assunzione dei dipendenti indeterminati. da leggere
-     * @param dateFine          {@link ArrayList<LocalDate>}    Una lista vuota in cui verranno inserite le date di fine dell'impiego dei dipendenti indeterminati da leggere. Può contenere valori nulli.
-     * @param dirigenti         {@link ArrayList}               Una lista vuota in cui verranno inseriti i flag che indicano se un dipendente da leggere è dirigente o meno.
+     * @return {@link BufferDipendentiIndeterminati} Il buffer contenente i dipendenti a tempo indeterminato letti, da consumare una sola volta.
      *
      * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
      */
     @Override
-    public void obtainDipendentiIndeterminati(ArrayList<String> nomi, ArrayList<String> cognomi, ArrayList<String> codFiscali,
-                                              ArrayList<String> matricole, ArrayList<String> tipiDipendente, ArrayList<String> indirizzi,
-                                              ArrayList<LocalDate> dateNascita, ArrayList<LocalDate> dateAssunzioni, ArrayList<LocalDate> dateFine, ArrayList<Boolean> dirigenti) throws SQLException {
+    public BufferDipendentiIndeterminati caricaDipendentiIndeterminati() throws SQLException{
 
         String query = "SELECT * FROM azienda.DIP_INDETERMINATO";
 
         try{
+            BufferDipendentiIndeterminati buffer = new BufferDipendentiIndeterminati(LettoreCursore.stimaRighe(connessione, "azienda.dip_indeterminato"));
+
             preparedStatement = connessione.prepareStatement(query);
-            result = preparedStatement.executeQuery();
 
+            // Le righe lette tramite il cursore vengono memorizzate per colonne nel buffer
+            LettoreCursore.scorri(connessione, preparedStatement, MappatureRighe.DIPENDENTE_INDETERMINATO, riga -> {
+                buffer.aggiungi(riga.nome(), riga.cognome(), riga.codFiscale(), riga.matricola(), riga.tipo(), riga.indirizzo(),
+                                riga.dataNascita(), riga.dataAssunzione(), riga.dataFine(), riga.dirigente());
+                return true;
+            });
+
+            return buffer;
+        }
+        catch (SQLException sqlException){
+            throw new SQLException();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
+    }
 
-            while (result.next()) {
+    /**
+     * Legge in streaming tutti i dipendenti a tempo indeterminato dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaDipendenteIndeterminato {@link LetturaDipendenteIndeterminato} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    @Override
+    public boolean obtainDipendentiIndeterminati(LetturaDipendenteIndeterminato letturaDipendenteIndeterminato) throws SQLException{
+
+        String query = "SELECT * FROM azienda.DIP_INDETERMINATO";
+
+        try{
+            preparedStatement = connessione.prepareStatement(query);
 
-                nomi.add(result.getString("Nome"));
-                cognomi.add(result.getString("Cognome"));
-                codFiscali.add(result.getString("CodFiscale"));
-                matricole.add(result.getString("Matricola"));
-                tipiDipendente.add(result.getString("Tipo"));
+            // Le righe vengono lette tramite un cursore e consegnate una alla volta
+            return LettoreCursore.scorri(connessione, preparedStatement, MappatureRighe.DIPENDENTE_INDETERMINATO, riga ->
+                    letturaDipendenteIndeterminato.leggi(riga.nome(),
+                                                         riga.cognome(),
+                                                         riga.codFiscale(),
+                                                         riga.matricola(),
+                                                         riga.tipo(),
+                                                         riga.indirizzo(),
+                                                         riga.dataNascita(),
+                                                         riga.dataAssunzione(),
+                                                         riga.dataFine(),
+                                                         riga.dirigente()));
+        }
+        catch (SQLException sqlException){
+            throw new SQLException();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
+    }
 
-                //lavorazione di indirizzo
-                String indirizzo = result.getString("Indirizzo");
-                if (indirizzo == null)
-                    indirizzi.add(null);
-                else indirizzi.add(indirizzo);
+    /**
+     * Ottiene tutti i dipendenti a tempo indeterminato dal database e li restituisce come righe tipizzate {@link RigaDipendenteIndeterminato}.
+     *
+     * @return  {@link ArrayList} Una lista di informazioni rappresentanti tutti i dipendenti nel database.
+     */
+    @Override
+    public ArrayList<RigaDipendenteIndeterminato> getDipendentiIndeterminati() {
 
-                dateNascita.add(result.getDate("DataNascita").toLocalDate());
-                dateAssunzioni.add(result.getDate("DataAssunzione").toLocalDate());
+        ArrayList<RigaDipendenteIndeterminato> righe = null;
 
-                //lavorazione di dataFine
-                Date dataFine = result.getDate("DataFine");
-                if (dataFine == null)
-                    dateFine.add(null);
-                else dateFine.add(dataFine.toLocalDate());
+        String query = "SELECT * FROM azienda.DIP_INDETERMINATO";
 
-                dirigenti.add(result.getBoolean("Dirigente"));
+        try{
+            preparedStatement = connessione.prepareStatement(query);
+            result = preparedStatement.executeQuery();
 
-            }
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.DIPENDENTE_INDETERMINATO);
 
             //Chiudo il resultSet
             result.close();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
-            throw new SQLException();
+            sqlException.printStackTrace();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
         }
+
+        return righe;
     }
 
     /**
-     * Ottiene tutti i dipendenti a tempo indeterminato dal database e restituisce una matrice di stringhe.
+     * Ottiene il dipendente a tempo indeterminato con la matricola specificata.
      *
-     * @return  {@link ArrayList} Una lista di informazioni rappresentanti tutti i dipendenti nel database.
+     * @param matricola    {@link String}  La matricola del dipendente.
+     *
+     * @return {@link RigaDipendenteIndeterminato}  Le informazioni del dipendente, oppure null se non e' presente nel database.
      */
     @Override
-    public ArrayList<String[]> getDipendentiIndeterminati() {
+    public RigaDipendenteIndeterminato getDipendenteIndeterminato(String matricola) {
 
-        String query = "SELECT * FROM azienda.DIP_INDETERMINATO";
+        RigaDipendenteIndeterminato riga = null;
+
+        String query = "SELECT * FROM azienda.DIP_INDETERMINATO WHERE Matricola = ?";
 
         try{
             preparedStatement = connessione.prepareStatement(query);
+
+            preparedStatement.setString(1, matricola);
+
             result = preparedStatement.executeQuery();
 
-            //Converto in matrice
-            metaData = result.getMetaData();
-            resultMatrix = createMatrix(metaData, result);
+            //Converto la riga tipizzata, se presente
+            riga = MappatureRighe.leggiPrima(result, MappatureRighe.DIPENDENTE_INDETERMINATO);
 
             //Chiudo il resultSet
             result.close();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
-        return resultMatrix;
+        return riga;
     }
 
     /**
@@ -363,7 +479,9 @@ public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndetermina
      * @return  {@link ArrayList}  Una lista di informazioni rappresentanti i dati dei dipendenti candidati al ruolo specificato.
      */
     @Override
-    public ArrayList<String[]> getAllDipendentiCandidatiResponsabileScientifico() {
+    public ArrayList<RigaDipendenteIndeterminato> getAllDipendentiCandidatiResponsabileScientifico() {
+
+        ArrayList<RigaDipendenteIndeterminato> righe = null;
 
         String query = "SELECT * FROM azienda.DIP_INDETERMINATO WHERE UPPER(Tipo) = 'SENIOR' AND dataFine is null";
 
@@ -371,22 +489,21 @@ public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndetermina
             preparedStatement = connessione.prepareStatement(query);
             result = preparedStatement.executeQuery();
 
-            //Converto in matrice
-            metaData = result.getMetaData();
-            resultMatrix = createMatrix(metaData, result);
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.DIPENDENTE_INDETERMINATO);
 
             //Chiudo il resultSet
             result.close();
-
-            //Chiudo la connessione
-            connessione.close();
-
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
-        return resultMatrix;
+        return righe;
     }
 
     /**
@@ -397,7 +514,9 @@ public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndetermina
      * @return  {@link ArrayList}  Una lista di informazioni rappresentanti i dati dei dipendenti candidati al ruolo specificato.
      */
     @Override
-    public ArrayList<String[]> getAllDipendentiCandidatiReferenteScientifico(LocalDate dataInizioProgetto, LocalDate dataFineProgetto) {
+    public ArrayList<RigaDipendenteIndeterminato> getAllDipendentiCandidatiReferenteScientifico(LocalDate dataInizioProgetto, LocalDate dataFineProgetto) {
+
+        ArrayList<RigaDipendenteIndeterminato> righe = null;
 
         String query;
         boolean dataFineProgettoIsPresent;
@@ -424,22 +543,21 @@ public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndetermina
 
             result = preparedStatement.executeQuery();
 
-            //Converto in matrice
-            metaData = result.getMetaData();
-            resultMatrix = createMatrix(metaData, result);
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.DIPENDENTE_INDETERMINATO);
 
             //Chiudo il resultSet
             result.close();
-
-            //Chiudo la connessione
-            connessione.close();
-
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
-        return resultMatrix;
+        return righe;
     }
 
     /**
@@ -449,7 +567,9 @@ public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndetermina
      * @return  {@link ArrayList}  Una lista di informazioni rappresentanti i dati dei dipendenti candidati al ruolo specificato.
      */
     @Override
-    public ArrayList<String[]> getAllDipendentiCandidatiDirigente(LocalDate dataInizioProgetto, LocalDate dataFineProgetto) {
+    public ArrayList<RigaDipendenteIndeterminato> getAllDipendentiCandidatiDirigente(LocalDate dataInizioProgetto, LocalDate dataFineProgetto) {
+
+        ArrayList<RigaDipendenteIndeterminato> righe = null;
 
         String query;
         boolean dataFineProgettoIsPresent;
@@ -474,22 +594,21 @@ public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndetermina
 
             result = preparedStatement.executeQuery();
 
-            //Converto in matrice
-            metaData = result.getMetaData();
-            resultMatrix = createMatrix(metaData, result);
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.DIPENDENTE_INDETERMINATO);
 
             //Chiudo il resultSet
             result.close();
-
-            //Chiudo la connessione
-            connessione.close();
-
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
-        return resultMatrix;
+        return righe;
     }
 
     /**
@@ -500,7 +619,9 @@ public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndetermina
      * @return  {@link ArrayList}  Una lista di informazioni rappresentanti i dati dei dipendenti candidati al tipo di scatto specificato.
      */
     @Override
-    public ArrayList<String[]> getDipendentiCandidatiScatto(String tipo) {
+    public ArrayList<RigaDipendenteIndeterminato> getDipendentiCandidatiScatto(String tipo) {
+
+        ArrayList<RigaDipendenteIndeterminato> righe = null;
 
         try{
             if(tipo.equals("Middle") || tipo.equals("Senior")) {
@@ -520,54 +641,19 @@ public class DipendenteIndeterminatoPostgresDAO implements DipendenteIndetermina
             }
 
             result = preparedStatement.executeQuery();
-            metaData = result.getMetaData();
-
-            resultMatrix = createMatrix(metaData, result);
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.DIPENDENTE_INDETERMINATO);
 
             //Chiudo il resultSet
             result.close();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
-
-        return resultMatrix;
-    }
-
-
-    //Metodo utilizzato per convertire un resultSet in matrice
-
-    /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
-     *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
-     */
-    @Override
-    public ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException {
-
-        resultMatrix = new ArrayList<>();
-
-        int columns = metaData.getColumnCount() + 1;
-
-        while (result.next()) {
-
-            String[] str = new String[columns];
-
-            str[0] = Integer.toString(columns);
-
-            for (int j = 1; j < columns; j++) {
-                str[j] = result.getString(j);
-            }
-
-            resultMatrix.add(str);
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
         }
 
-        return resultMatrix;
+        return righe;
     }
 }
@@ -1,6 +1,6 @@
 package ImplementazionePostgresDAO;
 
-import DAO.DipendenteProgettoDAO;
+import DAO.*;
 import Database.ConnessioneDatabase;
 
 import java.math.BigDecimal;
@@ -13,10 +13,8 @@ import java.util.ArrayList;
  */
 public class DipendenteProgettoPostgresDAO implements DipendenteProgettoDAO {
     private Connection connessione;
-    private ResultSetMetaData metaData = null;
     private PreparedStatement preparedStatement = null;
     private ResultSet result = null;
-    private ArrayList<String[]> resultMatrix = null;
 
     /**
      * Costruttore della classe che richiede un'istanza di connessione al database Postgres tramite la classe ConnessioneDatabase.
@@ -70,13 +68,14 @@ public class DipendenteProgettoPostgresDAO implements DipendenteProgettoDAO {
             preparedStatement.setBigDecimal(10, costo);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
     }
 
@@ -124,11 +123,14 @@ public class DipendenteProgettoPostgresDAO implements DipendenteProgettoDAO {
             preparedStatement.executeUpdate();
 
             // Si chiude la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -163,74 +165,93 @@ public class DipendenteProgettoPostgresDAO implements DipendenteProgettoDAO {
             preparedStatement.setString(6, vecchioCodFiscale);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
     }
 
     //QUERY
 
     /**
-     * Recupera i dati di tutti i dipendenti a progetto ingaggiati da progetti dall'archivio dei dipendenti.
+     * Carica tutti i dipendenti a progetto dal database in un buffer colonnare.
+     * Il buffer viene dimensionato sulla stima del numero di righe mantenuta dalle statistiche del database
+     * e riempito tramite un cursore, cosi' da non trattenere in memoria contemporaneamente il risultato della query e il buffer.
      *
-     * @param nomi             {@link ArrayList<String>}        Una lista in cui verranno inseriti i nomi dei dipendenti da leggere.
-     * @param cognomi          {@link ArrayList<String>}        Una lista in cui verranno inseriti i cognomi dei dipendenti da leggere.
-     * @param codFiscali       {@link ArrayList<String>}        Una lista in cui verranno inseriti i codici fiscali dei dipendenti da leggere.
-     * @param matricole        {@link ArrayList<String>}        Una lista in cui verranno inserite le matricole dei dipendenti da leggere.
-     * @param indirizzi        {@link ArrayList<String>}        Una lista in cui verranno inseriti gli indirizzi dei dipendenti da leggere. Possono essere nulli.
-     * @param dateNascita      {@link ArrayList<LocalDate>}     Una lista in cui verranno inserite le date di nascita dei dipendenti da leggere.
-     * @param dateAssunzioni   {@link ArrayList<LocalDate>}     Una lista in cui verranno inserite le date di assunzione dei dipendenti da leggere.
-     * @param scadenze         {@link ArrayList<LocalDate>}     Una lista in cui verranno inserite le date di scadenza dei contratti dei dipendenti da leggere.
-     * @param costiContratti   {@link ArrayList<BigDecimal>}    Una lista in cui verranno inseriti i costi dei contratti dei dipendenti da leggere.
-     * @param progetti         {@link ArrayList<String>}        Una lista in cui verranno inseriti i CUP unici dei progetti che ingaggiano da leggere.
+     * @return {@link BufferDipendentiProgetto} Il buffer contenente i dipendenti a progetto letti, da consumare una sola volta.
      *
      * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
      */
     @Override
-    public void obtainDipendentiProgetto(ArrayList<String> nomi, ArrayList<String> cognomi, ArrayList<String> codFiscali,
-                                         ArrayList<String> matricole, ArrayList<String> indirizzi,
-                                         ArrayList<LocalDate> dateNascita, ArrayList<LocalDate> dateAssunzioni, ArrayList<LocalDate> scadenze,
-                                         ArrayList<BigDecimal> costiContratti, ArrayList<String> progetti) throws SQLException{
+    public BufferDipendentiProgetto caricaDipendentiProgetto() throws SQLException{
 
         String query = "SELECT * FROM azienda.DIP_PROGETTO";
 
         try{
+            BufferDipendentiProgetto buffer = new BufferDipendentiProgetto(LettoreCursore.stimaRighe(connessione, "azienda.dip_progetto"));
+
             preparedStatement = connessione.prepareStatement(query);
-            result = preparedStatement.executeQuery();
 
-            while (result.next()) {
+            // Le righe lette tramite il cursore vengono memorizzate per colonne nel buffer
+            LettoreCursore.scorri(connessione, preparedStatement, MappatureRighe.DIPENDENTE_PROGETTO, riga -> {
+                buffer.aggiungi(riga.nome(), riga.cognome(), riga.codFiscale(), riga.matricola(), riga.indirizzo(),
+                                riga.dataNascita(), riga.dataAssunzione(), riga.scadenza(), riga.costo(), riga.cup());
+                return true;
+            });
 
-                nomi.add(result.getString("Nome"));
-                cognomi.add(result.getString("Cognome"));
-                codFiscali.add(result.getString("CodFiscale"));
-                matricole.add(result.getString("Matricola"));
+            return buffer;
+        }
+        catch (SQLException sqlException){
+            throw new SQLException();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
+    }
 
-                //lavorazione di indirizzo
-                String indirizzo = result.getString("Indirizzo");
-                if (indirizzo == null)
-                    indirizzi.add(null);
-                else indirizzi.add(indirizzo);
+    /**
+     * Legge in streaming tutti i dipendenti a progetto dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaDipendenteProgetto {@link LetturaDipendenteProgetto} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    @Override
+    public boolean obtainDipendentiProgetto(LetturaDipendenteProgetto letturaDipendenteProgetto) throws SQLException{
 
-                dateNascita.add(result.getDate("DataNascita").toLocalDate());
-                dateAssunzioni.add(result.getDate("DataAssunzione").toLocalDate());
-                scadenze.add(result.getDate("Scadenza").toLocalDate());
-                costiContratti.add(result.getBigDecimal("Costo"));
-                progetti.add(result.getString("Cup"));
+        String query = "SELECT * FROM azienda.DIP_PROGETTO";
 
-            }
+        try{
+            preparedStatement = connessione.prepareStatement(query);
 
-            //Chiudo le istanze aperte
-            result.close();
-            connessione.close();
+            // Le righe vengono lette tramite un cursore e consegnate una alla volta
+            return LettoreCursore.scorri(connessione, preparedStatement, MappatureRighe.DIPENDENTE_PROGETTO, riga ->
+                    letturaDipendenteProgetto.leggi(riga.nome(),
+                                                    riga.cognome(),
+                                                    riga.codFiscale(),
+                                                    riga.matricola(),
+                                                    riga.indirizzo(),
+                                                    riga.dataNascita(),
+                                                    riga.dataAssunzione(),
+                                                    riga.scadenza(),
+                                                    riga.costo(),
+                                                    riga.cup()));
         }
         catch (SQLException sqlException){
             throw new SQLException();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -239,59 +260,68 @@ public class DipendenteProgettoPostgresDAO implements DipendenteProgettoDAO {
      * @return {@link ArrayList}  Una lista di informazioni rappresentanti i dati dei dipendenti.
      */
     @Override
-    public ArrayList<String[]> getDipendentiProgetto() {
+    public ArrayList<RigaDipendenteProgetto> getDipendentiProgetto() {
+
+        ArrayList<RigaDipendenteProgetto> righe = new ArrayList<>();
 
-        resultMatrix = new ArrayList<>();
         String query = "SELECT * FROM azienda.DIP_PROGETTO";
 
         try{
             preparedStatement = connessione.prepareStatement(query);
             result = preparedStatement.executeQuery();
 
-            //Converto in matrice
-            metaData = result.getMetaData();
-            resultMatrix = createMatrix(metaData, result);
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.DIPENDENTE_PROGETTO);
 
-            //Chiudo le istanze aperte
+            //Chiudo il resultSet
             result.close();
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
-        return resultMatrix;
+        return righe;
     }
 
-    //Metodo utilizzato per convertire un resultSet in matrice
     /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
+     * Ottiene il dipendente a progetto con la matricola specificata.
      *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
+     * @param matricola    {@link String}  La matricola del dipendente.
+     *
+     * @return {@link RigaDipendenteProgetto}  Le informazioni del dipendente, oppure null se non e' presente nel database.
      */
     @Override
-    public ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException {
+    public RigaDipendenteProgetto getDipendenteProgetto(String matricola) {
 
-        resultMatrix = new ArrayList<>();
+        RigaDipendenteProgetto riga = null;
 
-        int columns = metaData.getColumnCount() + 1;
+        String query = "SELECT * FROM azienda.DIP_PROGETTO WHERE Matricola = ?";
 
-        while (result.next()) {
+        try{
+            preparedStatement = connessione.prepareStatement(query);
 
-            String[] str = new String[columns];
+            preparedStatement.setString(1, matricola);
 
-            str[0] = Integer.toString(columns);
+            result = preparedStatement.executeQuery();
 
-            for (int j = 1; j < columns; j++) {
-                str[j] = result.getString(j);
-            }
+            //Converto la riga tipizzata, se presente
+            riga = MappatureRighe.leggiPrima(result, MappatureRighe.DIPENDENTE_PROGETTO);
 
-            resultMatrix.add(str);
+            //Chiudo il resultSet
+            result.close();
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
         }
 
-        return resultMatrix;
+        return riga;
     }
 }
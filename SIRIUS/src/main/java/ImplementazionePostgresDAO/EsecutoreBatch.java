@@ -0,0 +1,78 @@
+package ImplementazionePostgresDAO;
+
+import Database.ConnessioneDatabase;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Classe di supporto per le scritture in batch dei DAO Postgres.
+ * Accoda le righe sullo statement specificato tramite addBatch e le invia al database con executeBatch a gruppi
+ * della dimensione configurata in {@link ConnessioneDatabase#getDimensioneBatch()}, riducendo il numero di round trip
+ * da uno per riga a uno per gruppo.
+ */
+class EsecutoreBatch {
+
+    /**
+     * Imposta sullo statement i parametri di una singola riga del batch.
+     */
+    interface ImpostaParametri {
+        /**
+         * @param preparedStatement {@link PreparedStatement}   Lo statement su cui impostare i parametri.
+         * @param riga              L'indice della riga da impostare.
+         * @throws SQLException Se l'impostazione di un parametro fallisce.
+         */
+        void imposta(PreparedStatement preparedStatement, int riga) throws SQLException;
+    }
+
+    //COSTRUTTORE
+    private EsecutoreBatch() {}
+
+
+    //METODI
+    /**
+     * Esegue in batch lo statement specificato per tutte le righe richieste.
+     *
+     * @param preparedStatement     {@link PreparedStatement}   Lo statement da eseguire.
+     * @param numeroRighe           Il numero di righe da scrivere.
+     * @param impostaParametri      {@link ImpostaParametri}    Il metodo che imposta i parametri di ogni riga.
+     * @return Il numero di righe modificate nel database, per quanto riportato dal driver.
+     * @throws SQLException Se l'esecuzione di un gruppo fallisce.
+     */
+    static int esegui(PreparedStatement preparedStatement, int numeroRighe, ImpostaParametri impostaParametri) throws SQLException {
+
+        int dimensioneBatch = ConnessioneDatabase.getInstance().getDimensioneBatch();
+        int righeModificate = 0;
+        int righeAccodate = 0;
+
+        for (int i = 0; i < numeroRighe; i++) {
+
+            impostaParametri.imposta(preparedStatement, i);
+            preparedStatement.addBatch();
+            righeAccodate++;
+
+            if (righeAccodate == dimensioneBatch) {
+                righeModificate += contaRigheModificate(preparedStatement.executeBatch());
+                righeAccodate = 0;
+            }
+        }
+
+        if (righeAccodate > 0)
+            righeModificate += contaRigheModificate(preparedStatement.executeBatch());
+
+        return righeModificate;
+    }
+
+    //Somma i conteggi restituiti da executeBatch, ignorando quelli non disponibili (SUCCESS_NO_INFO)
+    private static int contaRigheModificate(int[] conteggi) {
+
+        int totale = 0;
+
+        for (int conteggio : conteggi) {
+            if (conteggio > 0)
+                totale += conteggio;
+        }
+
+        return totale;
+    }
+}
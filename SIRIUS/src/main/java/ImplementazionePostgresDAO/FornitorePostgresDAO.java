@@ -0,0 +1,99 @@
+package ImplementazionePostgresDAO;
+
+import DAO.*;
+import Database.MetricheDAO;
+import Database.MigrazioniSchema;
+import Database.UnitaDiLavoro;
+
+import java.sql.SQLException;
+
+/**
+ * Questa classe implementa l'interfaccia FornitoreDAO e fornisce i DAO che operano sul database Postgres.
+ *
+ * Ogni DAO Postgres chiude la propria connessione al termine di ogni metodo, e viene quindi creato nuovo ad ogni richiesta.
+ * Le transazioni sono realizzate tramite le {@link UnitaDiLavoro}, a cui partecipano tutte le connessioni ottenute dai DAO sullo stesso thread.
+ * I DAO forniti sono misurati da {@link MetricheDAO}, che ne registra le latenze e il throughput di ogni metodo.
+ */
+public class FornitorePostgresDAO implements FornitoreDAO {
+
+    //DAO
+    @Override
+    public DipendenteIndeterminatoDAO getDipendenteIndeterminatoDAO() {
+        return MetricheDAO.misura(DipendenteIndeterminatoDAO.class, new DipendenteIndeterminatoPostgresDAO());
+    }
+
+    @Override
+    public DipendenteProgettoDAO getDipendenteProgettoDAO() {
+        return MetricheDAO.misura(DipendenteProgettoDAO.class, new DipendenteProgettoPostgresDAO());
+    }
+
+    @Override
+    public ScattoCarrieraDAO getScattoCarrieraDAO() {
+        return MetricheDAO.misura(ScattoCarrieraDAO.class, new ScattoCarrieraPostgresDAO());
+    }
+
+    @Override
+    public LaboratorioDAO getLaboratorioDAO() {
+        return MetricheDAO.misura(LaboratorioDAO.class, new LaboratorioPostgresDAO());
+    }
+
+    @Override
+    public ProgettoDAO getProgettoDAO() {
+        return MetricheDAO.misura(ProgettoDAO.class, new ProgettoPostgresDAO());
+    }
+
+    @Override
+    public AfferireDAO getAfferireDAO() {
+        return MetricheDAO.misura(AfferireDAO.class, new AfferirePostgresDAO());
+    }
+
+    @Override
+    public LavorareDAO getLavorareDAO() {
+        return MetricheDAO.misura(LavorareDAO.class, new LavorarePostgresDAO());
+    }
+
+    @Override
+    public AttrezzaturaDAO getAttrezzaturaDAO() {
+        return MetricheDAO.misura(AttrezzaturaDAO.class, new AttrezzaturaPostgresDAO());
+    }
+
+    @Override
+    public SnapshotDAO getSnapshotDAO() {
+        return MetricheDAO.misura(SnapshotDAO.class, new SnapshotPostgresDAO());
+    }
+
+    //TRANSAZIONI
+    @Override
+    public Transazione apriTransazione() throws SQLException {
+
+        UnitaDiLavoro unitaDiLavoro = UnitaDiLavoro.apri();
+
+        return new Transazione() {
+            @Override
+            public void conferma() throws SQLException {
+                unitaDiLavoro.conferma();
+            }
+
+            @Override
+            public int getStatementEseguiti() {
+                return unitaDiLavoro.getStatementEseguiti();
+            }
+
+            @Override
+            public void close() {
+                unitaDiLavoro.close();
+            }
+        };
+    }
+
+    //CONFIGURAZIONE
+    @Override
+    public int aggiornaSchema() throws SQLException {
+        return MigrazioniSchema.applica();
+    }
+
+    @Override
+    public boolean isNotificheSupportate() {
+        return true;
+    }
+}
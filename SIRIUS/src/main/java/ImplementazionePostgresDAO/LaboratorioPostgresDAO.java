@@ -1,6 +1,6 @@
 package ImplementazionePostgresDAO;
 
-import DAO.LaboratorioDAO;
+import DAO.*;
 import Database.ConnessioneDatabase;
 
 import java.sql.*;
@@ -11,11 +11,13 @@ import java.util.ArrayList;
  */
 public class LaboratorioPostgresDAO implements LaboratorioDAO{
 
+    // Riepilogo dei laboratori con il numero di afferenti, completato dal filtro e dal raggruppamento per nome
+    private static final String RIEPILOGO_LABORATORI = "SELECT Nome, Topic, Responsabile_scientifico, COUNT(*) nAfferenti " +
+            "FROM azienda.LABORATORIO LEFT JOIN azienda.AFFERIRE ON Nome = nomeLab ";
+
     private Connection connessione;
-    private ResultSetMetaData metaData = null;
     private PreparedStatement preparedStatement = null;
     private ResultSet result = null;
-    private ArrayList<String[]> resultMatrix = null;
 
     /**
      * Costruttore della classe che richiede un'istanza di connessione al database Postgres tramite la classe ConnessioneDatabase.
@@ -51,13 +53,14 @@ public class LaboratorioPostgresDAO implements LaboratorioDAO{
             preparedStatement.setString(3, matricolaResponsabileScientifico);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -76,13 +79,14 @@ public class LaboratorioPostgresDAO implements LaboratorioDAO{
             preparedStatement.setString(1, nome);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -108,13 +112,14 @@ public class LaboratorioPostgresDAO implements LaboratorioDAO{
             preparedStatement.setString(4, vecchioNome);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     //QUERY
@@ -130,30 +135,45 @@ public class LaboratorioPostgresDAO implements LaboratorioDAO{
     @Override
     public void obtainLaboratori(ArrayList<String> nomi, ArrayList<String> topics, ArrayList<String> stringResponsabiliScientifici) throws SQLException{
 
+        // Le righe lette in streaming vengono accumulate nelle liste specificate
+        obtainLaboratori((nome, topic, responsabileScientifico) -> {
+            nomi.add(nome);
+            topics.add(topic);
+            stringResponsabiliScientifici.add(responsabileScientifico);
+            return true;
+        });
+    }
+
+    /**
+     * Legge in streaming tutti i laboratori dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaLaboratorio {@link LetturaLaboratorio} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    @Override
+    public boolean obtainLaboratori(LetturaLaboratorio letturaLaboratorio) throws SQLException{
+
         String query = "SELECT * FROM azienda.LABORATORIO";
 
         try{
-
             preparedStatement = connessione.prepareStatement(query);
-            result = preparedStatement.executeQuery();
 
-            while (result.next()) {
-
-                nomi.add(result.getString("Nome"));
-                topics.add(result.getString("Topic"));
-                stringResponsabiliScientifici.add(result.getString("Responsabile_scientifico"));
-
-            }
-
-            //Chiudo il resultSet
-            result.close();
-
-            //Chiudo la connessione
-            connessione.close();
-
-        }catch (SQLException sqlException){
+            // Le righe vengono lette tramite un cursore e consegnate una alla volta
+            return LettoreCursore.scorri(connessione, preparedStatement, MappatureRighe.LABORATORIO, riga ->
+                    letturaLaboratorio.leggi(riga.nome(),
+                                             riga.topic(),
+                                             riga.responsabileScientifico()));
+        }
+        catch (SQLException sqlException){
             throw new SQLException();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -164,7 +184,9 @@ public class LaboratorioPostgresDAO implements LaboratorioDAO{
      * @return {@link ArrayList}   Una lista di laboratori candidati a lavorare per il progetto specificato.
      */
     @Override
-    public ArrayList<String[]> getLaboratoriCandidati(String progettoCup) {
+    public ArrayList<RigaLaboratorio> getLaboratoriCandidati(String progettoCup) {
+
+        ArrayList<RigaLaboratorio> righe = null;
 
         String query = "SELECT * " +
                 "FROM azienda.LABORATORIO " +
@@ -177,20 +199,21 @@ public class LaboratorioPostgresDAO implements LaboratorioDAO{
 
             result = preparedStatement.executeQuery();
 
-            //Converto in matrice
-            metaData = result.getMetaData();
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.LABORATORIO);
 
-            resultMatrix = createMatrix(metaData, result);
-
-            //Chiudo le istanze aperte
+            //Chiudo il resultSet
             result.close();
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
-        return resultMatrix;
+        return righe;
     }
 
     /**
@@ -201,7 +224,9 @@ public class LaboratorioPostgresDAO implements LaboratorioDAO{
      * @return {@link ArrayList}   Una lista di informazioni sui laboratori che stanno lavorando atturalmente sul progetto specifico.
      */
     @Override
-    public ArrayList<String[]> getLaboratoriLavoranti(String progettoCup) {
+    public ArrayList<RigaLaboratorio> getLaboratoriLavoranti(String progettoCup) {
+
+        ArrayList<RigaLaboratorio> righe = null;
 
         String query = "SELECT * " +
                         "FROM azienda.LABORATORIO " +
@@ -214,19 +239,21 @@ public class LaboratorioPostgresDAO implements LaboratorioDAO{
 
             result = preparedStatement.executeQuery();
 
-            //Converto in matrice
-            metaData = result.getMetaData();
-            resultMatrix = createMatrix(metaData, result);
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.LABORATORIO);
 
-            //Chiudo le istanze aperte
+            //Chiudo il resultSet
             result.close();
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
-        return resultMatrix;
+        return righe;
     }
 
     /**
@@ -235,59 +262,68 @@ public class LaboratorioPostgresDAO implements LaboratorioDAO{
      * @return {@link ArrayList}    Una lista di informazioni sui laboratori, con i rispettivi nomi, topics, responsabili scientifici e il numero di afferenti.
      */
     @Override
-    public ArrayList<String[]> getLaboratori() {
+    public ArrayList<RiepilogoLaboratorio> getLaboratori() {
+
+        ArrayList<RiepilogoLaboratorio> righe = null;
 
-        String query = "SELECT Nome, Topic, Responsabile_scientifico, COUNT(*) nAfferenti " +
-                "FROM azienda.LABORATORIO LEFT JOIN azienda.AFFERIRE ON Nome = nomeLab "
-                + "GROUP BY Nome";
+        String query = RIEPILOGO_LABORATORI + "GROUP BY Nome";
 
         try{
             preparedStatement = connessione.prepareStatement(query);
             result = preparedStatement.executeQuery();
 
-            //Converto in matrice
-            metaData = result.getMetaData();
-            resultMatrix = createMatrix(metaData, result);
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.RIEPILOGO_LABORATORIO);
 
-            //Chiudo le istanze aperte
+            //Chiudo il resultSet
             result.close();
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
-        return resultMatrix;
+        return righe;
     }
 
     /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
+     * Ottiene le informazioni del laboratorio specificato, incluso il numero di afferenti.
+     *
+     * @param nome    {@link String}  Il nome del laboratorio.
      *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
+     * @return {@link RiepilogoLaboratorio}  Le informazioni del laboratorio, oppure null se non e' presente nel database.
      */
     @Override
-    public ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException {
+    public RiepilogoLaboratorio getLaboratorio(String nome) {
 
-        resultMatrix = new ArrayList<>();
+        RiepilogoLaboratorio riga = null;
 
-        int columns = metaData.getColumnCount() + 1;
+        String query = RIEPILOGO_LABORATORI + "WHERE Nome = ? GROUP BY Nome";
 
-        while (result.next()) {
+        try{
+            preparedStatement = connessione.prepareStatement(query);
 
-            String[] str = new String[columns];
+            preparedStatement.setString(1, nome);
 
-            str[0] = Integer.toString(columns);
+            result = preparedStatement.executeQuery();
 
-            for (int j = 1; j < columns; j++) {
-                str[j] = result.getString(j);
-            }
+            //Converto la riga tipizzata, se presente
+            riga = MappatureRighe.leggiPrima(result, MappatureRighe.RIEPILOGO_LABORATORIO);
 
-            resultMatrix.add(str);
+            //Chiudo il resultSet
+            result.close();
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
         }
 
-        return resultMatrix;
+        return riga;
     }
 }
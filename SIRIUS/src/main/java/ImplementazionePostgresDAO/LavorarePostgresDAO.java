@@ -1,6 +1,6 @@
 package ImplementazionePostgresDAO;
 
-import DAO.LavorareDAO;
+import DAO.*;
 import Database.ConnessioneDatabase;
 
 import java.sql.*;
@@ -11,10 +11,8 @@ import java.util.ArrayList;
  */
 public class LavorarePostgresDAO implements LavorareDAO {
     private Connection connessione;
-    private ResultSetMetaData metaData = null;
     private PreparedStatement preparedStatement = null;
     private ResultSet result = null;
-    private ArrayList<String[]> resultMatrix = null;
 
     /**
      * Costruttore della classe che richiede un'istanza di connessione al database Postgres tramite la classe ConnessioneDatabase.
@@ -47,13 +45,14 @@ public class LavorarePostgresDAO implements LavorareDAO {
             preparedStatement.setString(2, nomeLaboratorio);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -74,11 +73,70 @@ public class LavorarePostgresDAO implements LavorareDAO {
             preparedStatement.setString(2, nomeLaboratorio);
 
             preparedStatement.executeUpdate();
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
+    }
+
+    /**
+     * Aggiunge in batch piu' istanze di lavoro tra progetti e laboratori. Le liste sono parallele.
+     *
+     * @param cup               {@link ArrayList<String>}   I CUP dei progetti.
+     * @param nomiLaboratori    {@link ArrayList<String>}   I nomi dei laboratori.
+     */
+    @Override
+    public void addLavori(ArrayList<String> cup, ArrayList<String> nomiLaboratori) {
+
+        String query = "INSERT INTO azienda.LAVORARE(CUP, nomeLab) VALUES (?, ?)";
+
+        try{
+            preparedStatement = connessione.prepareStatement(query);
+
+            EsecutoreBatch.esegui(preparedStatement, cup.size(), (statement, i) -> {
+                statement.setString(1, cup.get(i));
+                statement.setString(2, nomiLaboratori.get(i));
+            });
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
+    }
+
+    /**
+     * Rimuove in batch piu' istanze di lavoro tra progetti e laboratori. Le liste sono parallele.
+     *
+     * @param cup               {@link ArrayList<String>}   I CUP dei progetti da specificare per la rimozione.
+     * @param nomiLaboratori    {@link ArrayList<String>}   I nomi dei laboratori da specificare per la rimozione.
+     */
+    @Override
+    public void removeLavori(ArrayList<String> cup, ArrayList<String> nomiLaboratori) {
+
+        String query = "DELETE FROM azienda.LAVORARE WHERE CUP = ? AND nomeLab = ?";
+
+        try{
+            preparedStatement = connessione.prepareStatement(query);
 
+            EsecutoreBatch.esegui(preparedStatement, cup.size(), (statement, i) -> {
+                statement.setString(1, cup.get(i));
+                statement.setString(2, nomiLaboratori.get(i));
+            });
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -104,13 +162,14 @@ public class LavorarePostgresDAO implements LavorareDAO {
             preparedStatement.setString(4, vecchioNomeLaboratorio);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
     }
     //QUERY
@@ -126,23 +185,43 @@ public class LavorarePostgresDAO implements LavorareDAO {
     @Override
     public void obtainLavorare(ArrayList<String> progetti, ArrayList<String> laboratori) throws SQLException{
 
+        // Le righe lette in streaming vengono accumulate nelle liste specificate
+        obtainLavorare((cup, nomeLab) -> {
+            progetti.add(cup);
+            laboratori.add(nomeLab);
+            return true;
+        });
+    }
+
+    /**
+     * Legge in streaming tutte le istanze di lavoro tra progetti e laboratori dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaLavoro {@link LetturaLavoro} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    @Override
+    public boolean obtainLavorare(LetturaLavoro letturaLavoro) throws SQLException{
+
         String query = "SELECT * FROM azienda.LAVORARE";
 
         try{
             preparedStatement = connessione.prepareStatement(query);
-            result = preparedStatement.executeQuery();
-
-            while(result.next()){
-
-                progetti.add(result.getString("Cup"));
-                laboratori.add(result.getString("NomeLab"));
-            }
-
-            result.close();
 
-        }catch (SQLException sqlException){
+            // Le righe vengono lette tramite un cursore e consegnate una alla volta
+            return LettoreCursore.scorri(connessione, preparedStatement, MappatureRighe.LAVORO, riga ->
+                    letturaLavoro.leggi(riga.cup(),
+                                        riga.nomeLab()));
+        }
+        catch (SQLException sqlException){
             throw new SQLException();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -151,7 +230,9 @@ public class LavorarePostgresDAO implements LavorareDAO {
      * @return {@link ArrayList}   Una lista di informazioni rappresentanti le istanze di lavoro tra progetti e laboratori.
      */
     @Override
-    public ArrayList<String[]> getLavorare() {
+    public ArrayList<RigaLavoro> getLavorare() {
+
+        ArrayList<RigaLavoro> righe = null;
 
         String query = "SELECT * FROM azienda.LAVORARE";
 
@@ -159,49 +240,60 @@ public class LavorarePostgresDAO implements LavorareDAO {
             preparedStatement = connessione.prepareStatement(query);
             result = preparedStatement.executeQuery();
 
-            //Converto in matrice
-            metaData = result.getMetaData();
-            resultMatrix = createMatrix(metaData, result);
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.LAVORO);
 
-            //Chiudo le istanze aperte
+            //Chiudo il resultSet
             result.close();
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
-        return resultMatrix;
+        return righe;
     }
 
     /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
+     * Ottiene l'istanza di lavoro del laboratorio specificato per il progetto specificato.
      *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
+     * @param cup       {@link String}  Il CUP del progetto.
+     * @param nomeLab   {@link String}  Il nome del laboratorio.
+     *
+     * @return {@link RigaLavoro}  Le informazioni dell'istanza di lavoro, oppure null se non e' presente nel database.
      */
     @Override
-    public ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException {
+    public RigaLavoro getLavoro(String cup, String nomeLab) {
 
-        resultMatrix = new ArrayList<>();
+        RigaLavoro riga = null;
 
-        int columns = metaData.getColumnCount() + 1;
+        String query = "SELECT * FROM azienda.LAVORARE WHERE Cup = ? AND NomeLab = ?";
 
-        while (result.next()) {
+        try{
+            preparedStatement = connessione.prepareStatement(query);
 
-            String[] str = new String[columns];
+            preparedStatement.setString(1, cup);
+            preparedStatement.setString(2, nomeLab);
 
-            str[0] = Integer.toString(columns);
+            result = preparedStatement.executeQuery();
 
-            for (int j = 1; j < columns; j++) {
-                str[j] = result.getString(j);
-            }
+            //Converto la riga tipizzata, se presente
+            riga = MappatureRighe.leggiPrima(result, MappatureRighe.LAVORO);
 
-            resultMatrix.add(str);
+            //Chiudo il resultSet
+            result.close();
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
         }
 
-        return resultMatrix;
+        return riga;
     }
 }
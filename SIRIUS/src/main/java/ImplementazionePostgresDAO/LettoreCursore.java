@@ -0,0 +1,121 @@
+package ImplementazionePostgresDAO;
+
+import Database.ConnessioneDatabase;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Classe di supporto per le letture in streaming dei DAO Postgres.
+ * In auto-commit il driver PostgreSQL carica in memoria l'intero risultato di una query prima di restituirne la prima riga;
+ * questa classe esegue invece la query tramite un cursore lato server, trasferendo le righe a blocchi della dimensione
+ * configurata in {@link ConnessioneDatabase#getDimensioneFetch()} e consegnandole una alla volta a chi le elabora.
+ *
+ * Il driver utilizza un cursore solo all'interno di una transazione: se la connessione e' in auto-commit, la lettura
+ * viene eseguita in una transazione di sola lettura che viene chiusa al termine, ripristinando l'auto-commit.
+ * Se la connessione appartiene gia' a una transazione (ad esempio a una unita' di lavoro), la lettura vi partecipa.
+ */
+class LettoreCursore {
+
+    /**
+     * Elabora una singola riga tipizzata di una lettura in streaming.
+     *
+     * @param <T> Il tipo delle righe lette.
+     */
+    interface LetturaRiga<T> {
+        /**
+         * @param riga  La riga letta, convertita dalla mappatura della lettura.
+         * @return True per proseguire la lettura, false per interromperla.
+         * @throws SQLException Se l'elaborazione della riga richiede un accesso al database che fallisce.
+         */
+        boolean leggi(T riga) throws SQLException;
+    }
+
+    //COSTRUTTORE
+    private LettoreCursore() {}
+
+
+    //METODI
+    /**
+     * Esegue la query dello statement specificato tramite un cursore, consegnando le righe una alla volta.
+     * Gli indici delle colonne vengono risolti dalla mappatura una sola volta, prima della lettura della prima riga.
+     *
+     * @param connessione           {@link Connection}                  La connessione su cui e' stato preparato lo statement.
+     * @param preparedStatement     {@link PreparedStatement}           Lo statement della query da eseguire.
+     * @param mappatura             {@link MappatureRighe.Mappatura}    La mappatura delle righe del risultato.
+     * @param letturaRiga           {@link LetturaRiga}                 Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta.
+     * @param <T> Il tipo delle righe lette.
+     * @throws SQLException Se l'esecuzione della query o la lettura di una riga fallisce.
+     */
+    static <T> boolean scorri(Connection connessione, PreparedStatement preparedStatement, MappatureRighe.Mappatura<T> mappatura,
+                              LetturaRiga<T> letturaRiga) throws SQLException {
+
+        boolean autoCommit = connessione.getAutoCommit();
+        boolean solaLettura = connessione.isReadOnly();
+        boolean completata = true;
+
+        try {
+            // La sola lettura va impostata prima dell'inizio della transazione, che il driver apre quindi con BEGIN READ ONLY
+            if (autoCommit) {
+                connessione.setReadOnly(true);
+                connessione.setAutoCommit(false);
+            }
+
+            preparedStatement.setFetchSize(ConnessioneDatabase.getInstance().getDimensioneFetch());
+
+            try (ResultSet result = preparedStatement.executeQuery()) {
+
+                MappatureRighe.MapperRiga<T> mapper = mappatura.risolvi(result);
+
+                while (result.next()) {
+                    if (!letturaRiga.leggi(mapper.mappa(result))) {
+                        completata = false;
+                        break;
+                    }
+                }
+            }
+
+            if (autoCommit)
+                connessione.commit();
+        } finally {
+            // Anche in caso di errore la transazione di sola lettura viene chiusa dal ripristino dell'auto-commit,
+            // dopo il quale viene ripristinata la modalita' di accesso precedente della connessione
+            if (autoCommit) {
+                try {
+                    connessione.setAutoCommit(true);
+                } finally {
+                    connessione.setReadOnly(solaLettura);
+                }
+            }
+        }
+
+        return completata;
+    }
+
+    /**
+     * Restituisce la stima del numero di righe di una tabella mantenuta dal database nelle proprie statistiche,
+     * senza eseguirne il conteggio. La stima e' utilizzata per dimensionare i buffer dei caricamenti massivi.
+     *
+     * @param connessione   {@link Connection}  La connessione su cui eseguire la richiesta.
+     * @param tabella       {@link String}      Il nome della tabella, qualificato con lo schema.
+     * @return Il numero stimato di righe della tabella, oppure 0 se la tabella non e' mai stata analizzata.
+     * @throws SQLException Se la lettura delle statistiche fallisce.
+     */
+    static int stimaRighe(Connection connessione, String tabella) throws SQLException {
+
+        PreparedStatement preparedStatement = connessione.prepareStatement("SELECT reltuples FROM pg_class WHERE oid = to_regclass(?)");
+        preparedStatement.setString(1, tabella);
+
+        try (ResultSet result = preparedStatement.executeQuery()) {
+
+            // Una tabella mai analizzata riporta una stima negativa o nulla
+            if (result.next() && result.getFloat(1) > 0)
+                return (int) Math.min(result.getFloat(1), Integer.MAX_VALUE - 8);
+        }
+
+        return 0;
+    }
+}
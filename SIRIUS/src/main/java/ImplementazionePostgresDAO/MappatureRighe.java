@@ -0,0 +1,228 @@
+package ImplementazionePostgresDAO;
+
+import DAO.*;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+/**
+ * Mappature condivise dai DAO Postgres per convertire le righe di un ResultSet nelle righe tipizzate del package DAO.
+ *
+ * Ogni mappatura risolve gli indici delle colonne una sola volta per query, alla prima riga, e restituisce un mapper
+ * che legge i valori per indice e con il loro tipo (date, importi, flag), senza passare per la loro rappresentazione testuale.
+ * Le colonne sono cercate per nome, quindi le mappature non dipendono dall'ordine delle colonne nelle query.
+ */
+class MappatureRighe {
+
+    /**
+     * Converte la riga corrente di un ResultSet in una riga tipizzata.
+     *
+     * @param <T> Il tipo della riga prodotta.
+     */
+    interface MapperRiga<T> {
+        /**
+         * @param riga  {@link ResultSet}   Il ResultSet posizionato sulla riga da convertire.
+         * @return La riga tipizzata.
+         * @throws SQLException Se la lettura di un valore della riga fallisce.
+         */
+        T mappa(ResultSet riga) throws SQLException;
+    }
+
+    /**
+     * Risolve gli indici delle colonne di un ResultSet e restituisce il mapper che li utilizza.
+     *
+     * @param <T> Il tipo della riga prodotta.
+     */
+    interface Mappatura<T> {
+        /**
+         * @param result    {@link ResultSet}   Il ResultSet di cui risolvere le colonne.
+         * @return {@link MapperRiga}   Il mapper delle righe del ResultSet.
+         * @throws SQLException Se il ResultSet non contiene una delle colonne richieste.
+         */
+        MapperRiga<T> risolvi(ResultSet result) throws SQLException;
+    }
+
+    static final Mappatura<RigaDipendenteIndeterminato> DIPENDENTE_INDETERMINATO = result -> {
+
+        int matricola = result.findColumn("Matricola");
+        int tipo = result.findColumn("Tipo");
+        int nome = result.findColumn("Nome");
+        int cognome = result.findColumn("Cognome");
+        int codFiscale = result.findColumn("CodFiscale");
+        int indirizzo = result.findColumn("Indirizzo");
+        int dataNascita = result.findColumn("DataNascita");
+        int dataAssunzione = result.findColumn("DataAssunzione");
+        int dataFine = result.findColumn("DataFine");
+        int dirigente = result.findColumn("Dirigente");
+
+        return riga -> new RigaDipendenteIndeterminato(riga.getString(matricola), riga.getString(tipo), riga.getString(nome),
+                riga.getString(cognome), riga.getString(codFiscale), riga.getString(indirizzo), riga.getObject(dataNascita, LocalDate.class),
+                riga.getObject(dataAssunzione, LocalDate.class), riga.getObject(dataFine, LocalDate.class), riga.getBoolean(dirigente));
+    };
+
+    static final Mappatura<RigaDipendenteProgetto> DIPENDENTE_PROGETTO = result -> {
+
+        int matricola = result.findColumn("Matricola");
+        int nome = result.findColumn("Nome");
+        int cognome = result.findColumn("Cognome");
+        int codFiscale = result.findColumn("CodFiscale");
+        int indirizzo = result.findColumn("Indirizzo");
+        int dataNascita = result.findColumn("DataNascita");
+        int dataAssunzione = result.findColumn("DataAssunzione");
+        int costo = result.findColumn("Costo");
+        int scadenza = result.findColumn("Scadenza");
+        int cup = result.findColumn("Cup");
+
+        return riga -> new RigaDipendenteProgetto(riga.getString(matricola), riga.getString(nome), riga.getString(cognome),
+                riga.getString(codFiscale), riga.getString(indirizzo), riga.getObject(dataNascita, LocalDate.class),
+                riga.getObject(dataAssunzione, LocalDate.class), riga.getBigDecimal(costo), riga.getObject(scadenza, LocalDate.class), riga.getString(cup));
+    };
+
+    static final Mappatura<RigaScattoCarriera> SCATTO_CARRIERA = result -> {
+
+        int matricola = result.findColumn("Matricola");
+        int tipo = result.findColumn("Tipo");
+        int data = result.findColumn("Data");
+
+        return riga -> new RigaScattoCarriera(riga.getString(matricola), riga.getString(tipo), riga.getObject(data, LocalDate.class));
+    };
+
+    static final Mappatura<RigaLaboratorio> LABORATORIO = result -> {
+
+        int nome = result.findColumn("Nome");
+        int topic = result.findColumn("Topic");
+        int responsabileScientifico = result.findColumn("Responsabile_scientifico");
+
+        return riga -> new RigaLaboratorio(riga.getString(nome), riga.getString(topic), riga.getString(responsabileScientifico));
+    };
+
+    static final Mappatura<RiepilogoLaboratorio> RIEPILOGO_LABORATORIO = result -> {
+
+        int nome = result.findColumn("Nome");
+        int topic = result.findColumn("Topic");
+        int responsabileScientifico = result.findColumn("Responsabile_scientifico");
+        int numeroAfferenti = result.findColumn("nAfferenti");
+
+        return riga -> new RiepilogoLaboratorio(riga.getString(nome), riga.getString(topic), riga.getString(responsabileScientifico), riga.getLong(numeroAfferenti));
+    };
+
+    static final Mappatura<RigaProgetto> PROGETTO = result -> {
+
+        int cup = result.findColumn("Cup");
+        int nome = result.findColumn("Nome");
+        int dataInizio = result.findColumn("DataInizio");
+        int dataFine = result.findColumn("DataFine");
+        int budget = result.findColumn("Budget");
+        int referenteScientifico = result.findColumn("Referente_scientifico");
+        int responsabile = result.findColumn("Responsabile");
+
+        return riga -> new RigaProgetto(riga.getString(cup), riga.getString(nome), riga.getObject(dataInizio, LocalDate.class),
+                riga.getObject(dataFine, LocalDate.class), riga.getBigDecimal(budget), riga.getString(referenteScientifico), riga.getString(responsabile));
+    };
+
+    static final Mappatura<RiepilogoProgetto> RIEPILOGO_PROGETTO = result -> {
+
+        int cup = result.findColumn("CupProgetto");
+        int nome = result.findColumn("Nome");
+        int dataInizio = result.findColumn("DataInizio");
+        int dataFine = result.findColumn("DataFine");
+        int budget = result.findColumn("Budget");
+        int referenteScientifico = result.findColumn("Referente_scientifico");
+        int responsabile = result.findColumn("Responsabile");
+        int costoAttrezzature = result.findColumn("CostoAttrezzature");
+        int costoDipendenti = result.findColumn("CostoDip");
+
+        // I costi dei progetti senza attrezzature o senza dipendenti a progetto vengono riportati a zero
+        return riga -> new RiepilogoProgetto(riga.getString(cup), riga.getString(nome), riga.getObject(dataInizio, LocalDate.class),
+                riga.getObject(dataFine, LocalDate.class), riga.getBigDecimal(budget), riga.getString(referenteScientifico), riga.getString(responsabile),
+                zeroSeNullo(riga.getBigDecimal(costoAttrezzature)), zeroSeNullo(riga.getBigDecimal(costoDipendenti)));
+    };
+
+    static final Mappatura<RigaAttrezzatura> ATTREZZATURA = result -> {
+
+        int idAttrezzatura = result.findColumn("idAttrezzatura");
+        int descrizione = result.findColumn("Descrizione");
+        int costo = result.findColumn("Costo");
+        int nomeLab = result.findColumn("NomeLab");
+        int cup = result.findColumn("Cup");
+
+        return riga -> new RigaAttrezzatura(riga.getInt(idAttrezzatura), riga.getString(descrizione), riga.getBigDecimal(costo),
+                riga.getString(nomeLab), riga.getString(cup));
+    };
+
+    static final Mappatura<RigaLavoro> LAVORO = result -> {
+
+        int cup = result.findColumn("Cup");
+        int nomeLab = result.findColumn("NomeLab");
+
+        return riga -> new RigaLavoro(riga.getString(cup), riga.getString(nomeLab));
+    };
+
+    static final Mappatura<RigaAfferenza> AFFERENZA = result -> {
+
+        int matricola = result.findColumn("Matricola");
+        int nomeLab = result.findColumn("NomeLab");
+
+        return riga -> new RigaAfferenza(riga.getString(matricola), riga.getString(nomeLab));
+    };
+
+    static final Mappatura<RigaRiconciliazioneScatto> RICONCILIAZIONE_SCATTO = result -> {
+
+        int operazione = result.findColumn("Operazione");
+        int matricola = result.findColumn("Matricola");
+        int tipo = result.findColumn("Tipo");
+        int data = result.findColumn("Data");
+
+        return riga -> new RigaRiconciliazioneScatto(riga.getString(operazione), riga.getString(matricola), riga.getString(tipo),
+                riga.getObject(data, LocalDate.class));
+    };
+
+    //COSTRUTTORE
+    private MappatureRighe() {}
+
+
+    //METODI
+    /**
+     * Legge tutte le righe rimanenti di un ResultSet, convertendole con la mappatura specificata.
+     *
+     * @param result        {@link ResultSet}   Il ResultSet da leggere.
+     * @param mappatura     {@link Mappatura}   La mappatura delle righe del ResultSet.
+     * @return {@link ArrayList}    La lista delle righe tipizzate, nell'ordine in cui sono state lette.
+     * @param <T> Il tipo delle righe prodotte.
+     * @throws SQLException Se la lettura del ResultSet fallisce.
+     */
+    static <T> ArrayList<T> leggiTutte(ResultSet result, Mappatura<T> mappatura) throws SQLException {
+
+        ArrayList<T> righe = new ArrayList<>();
+        MapperRiga<T> mapper = mappatura.risolvi(result);
+
+        while (result.next())
+            righe.add(mapper.mappa(result));
+
+        return righe;
+    }
+
+    /**
+     * Legge la prima riga rimanente di un ResultSet, convertendola con la mappatura specificata.
+     *
+     * @param result        {@link ResultSet}   Il ResultSet da leggere.
+     * @param mappatura     {@link Mappatura}   La mappatura delle righe del ResultSet.
+     * @return La riga tipizzata, oppure null se il ResultSet non contiene altre righe.
+     * @param <T> Il tipo della riga prodotta.
+     * @throws SQLException Se la lettura del ResultSet fallisce.
+     */
+    static <T> T leggiPrima(ResultSet result, Mappatura<T> mappatura) throws SQLException {
+
+        MapperRiga<T> mapper = mappatura.risolvi(result);
+
+        return result.next() ? mapper.mappa(result) : null;
+    }
+
+    //Restituisce zero al posto di un importo nullo
+    private static BigDecimal zeroSeNullo(BigDecimal importo) {
+        return importo == null ? BigDecimal.ZERO : importo;
+    }
+}
@@ -1,6 +1,6 @@
 package ImplementazionePostgresDAO;
 
-import DAO.ProgettoDAO;
+import DAO.*;
 import Database.ConnessioneDatabase;
 
 import java.math.BigDecimal;
@@ -13,11 +13,20 @@ import java.util.ArrayList;
  */
 public class ProgettoPostgresDAO implements ProgettoDAO {
 
+    // Costi totali per progetto, aggregati separatamente per tabella: unirli prima dell'aggregazione moltiplicherebbe le righe
+    private static final String COSTO_ATTREZZATURE = "SELECT Cup, SUM(Costo) CostoAttrezzature FROM azienda.ATTREZZATURA GROUP BY Cup";
+    private static final String COSTO_DIPENDENTI = "SELECT Cup, SUM(Costo) CostoDipendenti FROM azienda.DIP_PROGETTO GROUP BY Cup";
+
+    // Riepilogo dei progetti con i costi delle attrezzature e dei dipendenti a progetto, completato dall'eventuale filtro per CUP
+    private static final String RIEPILOGO_PROGETTI = "SELECT P.Cup CupProgetto, P.Nome, P.DataInizio, P.DataFine, P.Budget, P.Referente_scientifico, P.Responsabile, " +
+            "A.CostoAttrezzature, D.CostoDipendenti CostoDip " +
+            "FROM azienda.PROGETTO AS P " +
+            "LEFT JOIN (" + COSTO_ATTREZZATURE + ") AS A ON P.Cup = A.Cup " +
+            "LEFT JOIN (" + COSTO_DIPENDENTI + ") AS D ON P.Cup = D.Cup ";
+
     private Connection connessione;
-    private ResultSetMetaData metaData = null;
     private PreparedStatement preparedStatement = null;
     private ResultSet result = null;
-    private ArrayList<String[]> resultMatrix = null;
 
     /**
      * Costruttore della classe che richiede un'istanza di connessione al database Postgres tramite la classe ConnessioneDatabase.
@@ -66,13 +75,14 @@ public class ProgettoPostgresDAO implements ProgettoDAO {
             preparedStatement.setString(7, responsabile);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -111,13 +121,14 @@ public class ProgettoPostgresDAO implements ProgettoDAO {
             preparedStatement.setString(8, vecchioCup);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     //QUERY
@@ -138,72 +149,124 @@ public class ProgettoPostgresDAO implements ProgettoDAO {
     public void obtainProgetti(ArrayList<String> nomi, ArrayList<String> cups, ArrayList<BigDecimal> budgets, ArrayList<LocalDate> dateInizio,
                                ArrayList<LocalDate> dateFine, ArrayList<String> stringReferentiScientifici, ArrayList<String> stringResponsabili) throws SQLException{
 
+        // Le righe lette in streaming vengono accumulate nelle liste specificate
+        obtainProgetti((nome, cup, budget, dataInizio, dataFine, referenteScientifico, responsabile) -> {
+            nomi.add(nome);
+            cups.add(cup);
+            budgets.add(budget);
+            dateInizio.add(dataInizio);
+            dateFine.add(dataFine);
+            stringReferentiScientifici.add(referenteScientifico);
+            stringResponsabili.add(responsabile);
+            return true;
+        });
+    }
+
+    /**
+     * Legge in streaming tutti i progetti dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaProgetto {@link LetturaProgetto} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    @Override
+    public boolean obtainProgetti(LetturaProgetto letturaProgetto) throws SQLException{
+
         String query = "SELECT * FROM azienda.PROGETTO";
 
         try{
-
             preparedStatement = connessione.prepareStatement(query);
-            result = preparedStatement.executeQuery();
 
-            while(result.next()){
+            // Le righe vengono lette tramite un cursore e consegnate una alla volta
+            return LettoreCursore.scorri(connessione, preparedStatement, MappatureRighe.PROGETTO, riga ->
+                    letturaProgetto.leggi(riga.nome(),
+                                          riga.cup(),
+                                          riga.budget(),
+                                          riga.dataInizio(),
+                                          riga.dataFine(),
+                                          riga.referenteScientifico(),
+                                          riga.responsabile()));
+        }
+        catch (SQLException sqlException){
+            throw new SQLException();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
+    }
+
+    /**
+     * Recupera informazioni sui progetti dal database.
+     *
+     * @return {@link ArrayList}   Una lista di informazioni rappresentanti le informazioni sui progetti.
+     */
+    @Override
+    public ArrayList<RiepilogoProgetto> getProgetti() {
+
+        ArrayList<RiepilogoProgetto> righe = null;
+
+        String query = RIEPILOGO_PROGETTI;
 
-                nomi.add(result.getString("Nome"));
-                cups.add(result.getString("Cup"));
-                budgets.add(result.getBigDecimal("Budget"));
-                dateInizio.add(result.getDate("DataInizio").toLocalDate());
+        try{
+            preparedStatement = connessione.prepareStatement(query);
 
-                if (result.getDate("DataFine") == null)
-                    dateFine.add(null);
-                else
-                    dateFine.add(result.getDate("DataFine").toLocalDate());
+            result = preparedStatement.executeQuery();
 
-                stringReferentiScientifici.add(result.getString("Referente_scientifico"));
-                stringResponsabili.add(result.getString("Responsabile"));
-            }
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.RIEPILOGO_PROGETTO);
 
             //Chiudo il resultSet
             result.close();
-
+        } catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
             //Chiudo la connessione
-            connessione.close();
-
-        }catch (SQLException sqlException){
-            throw new SQLException();
+            ChiusuraConnessione.chiudi(connessione);
         }
+
+        return righe;
     }
 
     /**
-     * Recupera informazioni sui progetti dal database.
+     * Ottiene le informazioni del progetto specificato, inclusi i costi delle attrezzature e dei dipendenti a progetto.
      *
-     * @return {@link ArrayList}   Una lista di informazioni rappresentanti le informazioni sui progetti.
+     * @param cup    {@link String}  Il CUP del progetto.
+     *
+     * @return {@link RiepilogoProgetto}  Le informazioni del progetto, oppure null se non e' presente nel database.
      */
     @Override
-    public ArrayList<String[]> getProgetti() {
+    public RiepilogoProgetto getProgetto(String cup) {
+
+        RiepilogoProgetto riga = null;
 
-        String query = "SELECT CupProgetto, Nome, DataInizio, DataFine, Budget, Referente_scientifico, Responsabile, SUM(DISTINCT(costo)) CostoAttrezzature, SUM(DISTINCT(costoDip)) CostoDip " +
-                        "FROM (azienda.PROGETTO AS PROGETTO(cupProgetto, nome, dataInizio, dataFine, budget, referente_scientifico, responsabile) " +
-                        "LEFT JOIN azienda.DIP_PROGETTO AS DIP_PROGETTO(matricola, nomeDip, cognome, codFiscale, indirizzo, dataNascita, dataAssunzione, costoDip, scadenza, cupDip) " +
-                        "ON cupProgetto = cupDip) LEFT JOIN azienda.ATTREZZATURA AS ATT ON cupProgetto = ATT.cup " +
-                        "GROUP BY cupProgetto";
+        String query = RIEPILOGO_PROGETTI + "WHERE P.Cup = ?";
 
         try{
             preparedStatement = connessione.prepareStatement(query);
 
+            preparedStatement.setString(1, cup);
+
             result = preparedStatement.executeQuery();
 
-            //Converto in matrice
-            metaData = result.getMetaData();
-            resultMatrix = createMatrix(metaData, result);
+            //Converto la riga tipizzata, se presente
+            riga = MappatureRighe.leggiPrima(result, MappatureRighe.RIEPILOGO_PROGETTO);
 
-            //Chiudo le istanze aperte
+            //Chiudo il resultSet
             result.close();
-            connessione.close();
-
-        } catch (SQLException sqlException){
+        }
+        catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
-        return resultMatrix;
+        return riga;
     }
 
     /**
@@ -212,7 +275,9 @@ public class ProgettoPostgresDAO implements ProgettoDAO {
      * @return {@link ArrayList}    Una lista di informazioni rappresentanti i progetti non terminati.
      */
     @Override
-    public ArrayList<String[]> getProgettiNonTerminati() {
+    public ArrayList<RigaProgetto> getProgettiNonTerminati() {
+
+        ArrayList<RigaProgetto> righe = null;
 
         String query = "SELECT * FROM azienda.PROGETTO WHERE DataFine is null OR dataFine >= CURRENT_DATE";
 
@@ -221,19 +286,20 @@ public class ProgettoPostgresDAO implements ProgettoDAO {
 
             result = preparedStatement.executeQuery();
 
-            //Converto in matrice
-            metaData = result.getMetaData();
-            resultMatrix = createMatrix(metaData, result);
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.PROGETTO);
 
-            //Chiudo le istanze aperte
+            //Chiudo il resultSet
             result.close();
-            connessione.close();
-
         } catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
-        return resultMatrix;
+        return righe;
     }
 
     /**
@@ -247,11 +313,8 @@ public class ProgettoPostgresDAO implements ProgettoDAO {
 
         BigDecimal costoTotaleAttrezzature = null;
 
-        String query = "SELECT Cup, SUM(Costo) CostoAttrezzature " +
-                        "FROM azienda.ATTREZZATURA " +
-                        "WHERE Cup = ? " +
-                        "GROUP BY Cup";
-
+        // Il filtro sul CUP viene applicato dal planner prima dell'aggregazione
+        String query = "SELECT CostoAttrezzature FROM (" + COSTO_ATTREZZATURE + ") AS A WHERE Cup = ?";
 
         try{
             preparedStatement = connessione.prepareStatement(query);
@@ -263,13 +326,15 @@ public class ProgettoPostgresDAO implements ProgettoDAO {
             while(result.next())
                 costoTotaleAttrezzature = result.getBigDecimal("CostoAttrezzature");
 
-            //Chiudo le istanze aperte
+            //Chiudo il resultSet
             result.close();
-            connessione.close();
-
         } catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
         return costoTotaleAttrezzature;
     }
@@ -285,10 +350,8 @@ public class ProgettoPostgresDAO implements ProgettoDAO {
 
         BigDecimal costoTotaleDipendentiProgetto = null;
 
-        String query = "SELECT Cup, SUM(Costo) CostoDipendenti " +
-                        "FROM azienda.DIP_PROGETTO " +
-                        "WHERE Cup = ? " +
-                        "GROUP BY Cup";
+        // Il filtro sul CUP viene applicato dal planner prima dell'aggregazione
+        String query = "SELECT CostoDipendenti FROM (" + COSTO_DIPENDENTI + ") AS D WHERE Cup = ?";
 
         try{
             preparedStatement = connessione.prepareStatement(query);
@@ -300,50 +363,16 @@ public class ProgettoPostgresDAO implements ProgettoDAO {
             while(result.next())
                 costoTotaleDipendentiProgetto = result.getBigDecimal("CostoDipendenti");
 
-            //Chiudo le istanze aperte
+            //Chiudo il resultSet
             result.close();
-            connessione.close();
-
         } catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
-
-        return costoTotaleDipendentiProgetto;
-    }
-
-    /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
-     *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
-     */
-    @Override
-    public ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException {
-
-        resultMatrix = new ArrayList<>();
-
-        int columns = metaData.getColumnCount() + 1;
-
-        while (result.next()) {
-
-            String[] str = new String[columns];
-
-            str[0] = Integer.toString(columns);
-
-            //gli ultimi due campi saranno destinati ad impostare i costi a 0
-            for (int j = 1; j < columns; j++) {
-
-                if (result.getString(j) == null && (j == columns - 2 || j == columns - 1))
-                    str[j] = "0";
-                else
-                    str[j] = result.getString(j);
-            }
-
-            resultMatrix.add(str);
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
         }
 
-        return resultMatrix;
+        return costoTotaleDipendentiProgetto;
     }
 }
@@ -1,6 +1,6 @@
 package ImplementazionePostgresDAO;
 
-import DAO.ScattoCarrieraDAO;
+import DAO.*;
 import Database.ConnessioneDatabase;
 
 import java.sql.*;
@@ -12,11 +12,44 @@ import java.util.ArrayList;
  */
 public class ScattoCarrieraPostgresDAO implements ScattoCarrieraDAO {
 
+    // Riconciliazione degli scatti automatici in un'unica istruzione: le CTE di modifica vedono tutte la stessa istantanea,
+    // quindi gli scatti attesi vengono confrontati con quelli presenti prima della riconciliazione.
+    // Le rimozioni riguardano solo gli scatti non attesi e gli inserimenti solo quelli attesi, percio' non si sovrappongono;
+    // il tipo viene aggiornato solo dove e' diverso, per non generare notifiche per le righe invariate.
+    private static final String RICONCILIAZIONE_SCATTI = "WITH Riferimento AS (SELECT CAST(? AS DATE) AS Oggi), " +
+            "Attesi AS (" +
+                "SELECT DI.Matricola, S.Tipo, CAST(DI.dataAssunzione + S.Anzianita AS DATE) AS Data " +
+                "FROM azienda.DIP_INDETERMINATO AS DI " +
+                "CROSS JOIN (VALUES ('Middle', INTERVAL '3 years'), ('Senior', INTERVAL '7 years')) AS S(Tipo, Anzianita) " +
+                "CROSS JOIN Riferimento AS R " +
+                "WHERE DI.dataAssunzione + S.Anzianita <= R.Oggi), " +
+            "Tipi AS (" +
+                "SELECT DI.Matricola, " +
+                "CASE WHEN DI.dataAssunzione + INTERVAL '7 years' <= R.Oggi THEN 'Senior' " +
+                     "WHEN DI.dataAssunzione + INTERVAL '3 years' <= R.Oggi THEN 'Middle' " +
+                     "ELSE 'Junior' END AS Tipo " +
+                "FROM azienda.DIP_INDETERMINATO AS DI CROSS JOIN Riferimento AS R), " +
+            "Rimossi AS (" +
+                "DELETE FROM azienda.SCATTO_CARRIERA AS SC " +
+                "WHERE SC.Tipo IN ('Middle', 'Senior') " +
+                "AND NOT EXISTS (SELECT 1 FROM Attesi AS A WHERE A.Matricola = SC.Matricola AND A.Tipo = SC.Tipo AND A.Data = SC.Data) " +
+                "RETURNING SC.Matricola, SC.Tipo, SC.Data), " +
+            "Inseriti AS (" +
+                "INSERT INTO azienda.SCATTO_CARRIERA (Matricola, Tipo, Data) " +
+                "SELECT A.Matricola, A.Tipo, A.Data FROM Attesi AS A " +
+                "WHERE NOT EXISTS (SELECT 1 FROM azienda.SCATTO_CARRIERA AS SC WHERE SC.Matricola = A.Matricola AND SC.Tipo = A.Tipo AND SC.Data = A.Data) " +
+                "RETURNING Matricola, Tipo, Data), " +
+            "Aggiornati AS (" +
+                "UPDATE azienda.DIP_INDETERMINATO AS DI SET Tipo = T.Tipo " +
+                "FROM Tipi AS T WHERE DI.Matricola = T.Matricola AND DI.Tipo <> T.Tipo " +
+                "RETURNING DI.Matricola) " +
+            "SELECT 'RIMOZIONE' AS Operazione, CAST(Matricola AS VARCHAR) AS Matricola, CAST(Tipo AS VARCHAR) AS Tipo, Data FROM Rimossi " +
+            "UNION ALL SELECT 'INSERIMENTO', Matricola, Tipo, Data FROM Inseriti " +
+            "UNION ALL SELECT 'TIPO', Matricola, Tipo, NULL FROM Tipi";
+
     private Connection connessione;
     private PreparedStatement preparedStatement = null;
     private ResultSet result = null;
-    private ResultSetMetaData metaData = null;
-    private ArrayList<String[]> resultMatrix = null;
 
     /**
      * Costruttore della classe che richiede un'istanza di connessione al database Postgres tramite la classe ConnessioneDatabase.
@@ -54,6 +87,10 @@ public class ScattoCarrieraPostgresDAO implements ScattoCarrieraDAO {
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
     }
 
@@ -75,13 +112,14 @@ public class ScattoCarrieraPostgresDAO implements ScattoCarrieraDAO {
             preparedStatement.setString(2, tipoScatto);
 
             preparedStatement.executeUpdate();
-
-            //Chiudo la connessione
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
     }
 
@@ -101,13 +139,73 @@ public class ScattoCarrieraPostgresDAO implements ScattoCarrieraDAO {
             preparedStatement.setString(1, matricola);
 
             preparedStatement.executeUpdate();
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
+    }
 
+    /**
+     * Aggiunge in batch piu' scatti di carriera al database. Le liste sono parallele: l'elemento i-esimo di ogni lista descrive lo stesso scatto.
+     *
+     * @param tipiScatto    {@link ArrayList<String>}       I tipi degli scatti di carriera da aggiungere.
+     * @param matricole     {@link ArrayList<String>}       Le matricole dei dipendenti che hanno effettuato gli scatti.
+     * @param date          {@link ArrayList<LocalDate>}    Le date in cui sono stati effettuati gli scatti.
+     */
+    @Override
+    public void addScattiCarriera(ArrayList<String> tipiScatto, ArrayList<String> matricole, ArrayList<LocalDate> date) {
+
+        String query = "INSERT INTO azienda.SCATTO_CARRIERA (matricola, tipo, data) VALUES (?, ?, ?)";
+
+        try{
+            preparedStatement = connessione.prepareStatement(query);
+
+            EsecutoreBatch.esegui(preparedStatement, matricole.size(), (statement, i) -> {
+                statement.setString(1, matricole.get(i));
+                statement.setString(2, tipiScatto.get(i));
+                statement.setDate(3, Date.valueOf(date.get(i)));
+            });
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
             //Chiudo la connessione
-            connessione.close();
+            ChiusuraConnessione.chiudi(connessione);
+        }
+    }
+
+    /**
+     * Rimuove in batch tutti gli scatti di carriera dei tipi specificati, effettuati dai dipendenti specificati, dal database.
+     * Le liste sono parallele: l'elemento i-esimo di ogni lista descrive la stessa rimozione.
+     *
+     * @param tipiScatto    {@link ArrayList<String>}   I tipi degli scatti di carriera da rimuovere.
+     * @param matricole     {@link ArrayList<String>}   Le matricole dei dipendenti di cui rimuovere gli scatti.
+     */
+    @Override
+    public void removeScattiCarriera(ArrayList<String> tipiScatto, ArrayList<String> matricole) {
+
+        String query = "DELETE FROM azienda.SCATTO_CARRIERA WHERE matricola = ? AND tipo = ?";
+
+        try{
+            preparedStatement = connessione.prepareStatement(query);
+
+            EsecutoreBatch.esegui(preparedStatement, matricole.size(), (statement, i) -> {
+                statement.setString(1, matricole.get(i));
+                statement.setString(2, tipiScatto.get(i));
+            });
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -139,13 +237,54 @@ public class ScattoCarrieraPostgresDAO implements ScattoCarrieraDAO {
             preparedStatement.setDate(6, Date.valueOf(vecchiaData));
 
             preparedStatement.executeUpdate();
-
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
             //Chiudo la connessione
-            connessione.close();
+            ChiusuraConnessione.chiudi(connessione);
+        }
+    }
+
+    /**
+     * Riconcilia con un'unica istruzione gli scatti di carriera automatici di tutti i dipendenti a tempo indeterminato:
+     * rimuove gli scatti Middle e Senior non coerenti con la data di assunzione, inserisce quelli mancanti (Middle dopo 3 anni,
+     * Senior dopo 7 anni) ed aggiorna il tipo dei dipendenti che non corrisponde alla loro anzianita'.
+     * Le date degli scatti attesi sono calcolate dal database con l'aritmetica degli intervalli, con lo stesso risultato di
+     * {@link LocalDate#plusYears(long)} anche per le assunzioni del 29 febbraio.
+     *
+     * @param dataRiferimento   {@link LocalDate}   La data rispetto alla quale si calcola l'anzianita' dei dipendenti.
+     *
+     * @return {@link ArrayList}    Gli scatti rimossi ed inseriti ed il tipo di ogni dipendente, oppure null se la riconciliazione fallisce.
+     */
+    @Override
+    public ArrayList<RigaRiconciliazioneScatto> riconciliaScattiAutomatici(LocalDate dataRiferimento) {
+
+        ArrayList<RigaRiconciliazioneScatto> righe = null;
+
+        try{
+            preparedStatement = connessione.prepareStatement(RICONCILIAZIONE_SCATTI);
+
+            preparedStatement.setDate(1, Date.valueOf(dataRiferimento));
+
+            result = preparedStatement.executeQuery();
+
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.RICONCILIAZIONE_SCATTO);
+
+            //Chiudo il resultSet
+            result.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
+
+        return righe;
     }
 
     //QUERY
@@ -161,29 +300,45 @@ public class ScattoCarrieraPostgresDAO implements ScattoCarrieraDAO {
     @Override
     public void obtainScattiCarriera(ArrayList<String> tipiScatto, ArrayList<String> stringDipendenti, ArrayList<LocalDate> date) throws SQLException{
 
-        String query = "SELECT * FROM azienda.SCATTO_CARRIERA";
-
-        try {
-
-            preparedStatement = connessione.prepareStatement(query);
-            result = preparedStatement.executeQuery();
-
-            while(result.next()){
+        // Le righe lette in streaming vengono accumulate nelle liste specificate
+        obtainScattiCarriera((tipoScatto, matricola, data) -> {
+            tipiScatto.add(tipoScatto);
+            stringDipendenti.add(matricola);
+            date.add(data);
+            return true;
+        });
+    }
 
-                tipiScatto.add(result.getString("Tipo"));
-                stringDipendenti.add(result.getString("Matricola"));
-                date.add(result.getDate("Data").toLocalDate());
-            }
+    /**
+     * Legge in streaming tutti gli scatti di carriera dal database, consegnandoli uno alla volta man mano che vengono ricevuti,
+     * senza caricare in memoria l'intero risultato della query.
+     *
+     * @param letturaScattoCarriera {@link LetturaScattoCarriera} Il metodo che elabora ogni riga letta.
+     * @return True se sono state lette tutte le righe, false se la lettura e' stata interrotta dall'elaborazione.
+     *
+     * @throws SQLException Viene lanciata un'eccezione nel caso la definizione delle tabelle del database non e' uguale a quella prevista.
+     */
+    @Override
+    public boolean obtainScattiCarriera(LetturaScattoCarriera letturaScattoCarriera) throws SQLException{
 
-            //Chiudo il resultSet
-            result.close();
+        String query = "SELECT * FROM azienda.SCATTO_CARRIERA";
 
-            //Chiudo la connessione
-            connessione.close();
+        try{
+            preparedStatement = connessione.prepareStatement(query);
 
-        }catch (SQLException sqlException){
+            // Le righe vengono lette tramite un cursore e consegnate una alla volta
+            return LettoreCursore.scorri(connessione, preparedStatement, MappatureRighe.SCATTO_CARRIERA, riga ->
+                    letturaScattoCarriera.leggi(riga.tipo(),
+                                                riga.matricola(),
+                                                riga.data()));
+        }
+        catch (SQLException sqlException){
             throw new SQLException();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
     }
 
     /**
@@ -192,7 +347,9 @@ public class ScattoCarrieraPostgresDAO implements ScattoCarrieraDAO {
      * @return {@link ArrayList}    Una lista di informazioni rappresentanti tutti gli scatti di carriera.
      */
     @Override
-    public ArrayList<String[]> getScattiCarriera() {
+    public ArrayList<RigaScattoCarriera> getScattiCarriera() {
+
+        ArrayList<RigaScattoCarriera> righe = null;
 
         String query = "SELECT * FROM azienda.SCATTO_CARRIERA";
 
@@ -200,49 +357,62 @@ public class ScattoCarrieraPostgresDAO implements ScattoCarrieraDAO {
             preparedStatement = connessione.prepareStatement(query);
             result = preparedStatement.executeQuery();
 
-            //Converto in matrice
-            metaData = result.getMetaData();
-            resultMatrix = createMatrix(metaData, result);
+            //Converto in righe tipizzate
+            righe = MappatureRighe.leggiTutte(result, MappatureRighe.SCATTO_CARRIERA);
 
-            //Chiudo le istanze aperte
+            //Chiudo il resultSet
             result.close();
-            connessione.close();
         }
         catch (SQLException sqlException){
             sqlException.printStackTrace();
         }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
+        }
 
-        return resultMatrix;
+        return righe;
     }
 
     /**
-     * Converte un ResultSet in una matrice di stringhe, costituita dai dati recuperati mediante una query.
+     * Ottiene lo scatto di carriera del tipo e della data specificati, effettuato dal dipendente specificato.
      *
-     * @param metaData      {@link ResultSetMetaData}       Il meta-data del ResultSet.
-     * @param result        {@link ResultSet}               Il ResultSet contenente i dati.
-     * @return              {@link ArrayList}               Una matrice di stringhe contenente i dati ottenuti dalla query.
-     * @throws SQLException Se si verifica un errore durante l'accesso ai dati nel ResultSet.
+     * @param matricola   {@link String}     La matricola del dipendente.
+     * @param tipo        {@link String}     Il tipo dello scatto.
+     * @param data        {@link LocalDate}  La data dello scatto.
+     *
+     * @return {@link RigaScattoCarriera}  Le informazioni dello scatto, oppure null se non e' presente nel database.
      */
     @Override
-    public ArrayList<String[]> createMatrix(ResultSetMetaData metaData, ResultSet result) throws SQLException {
+    public RigaScattoCarriera getScattoCarriera(String matricola, String tipo, LocalDate data) {
 
-        resultMatrix = new ArrayList<>();
+        RigaScattoCarriera riga = null;
 
-        int columns = metaData.getColumnCount() + 1;
+        String query = "SELECT * FROM azienda.SCATTO_CARRIERA WHERE matricola = ? AND tipo = ? AND data = ?";
 
-        while (result.next()) {
+        try{
+            preparedStatement = connessione.prepareStatement(query);
 
-            String[] str = new String[columns];
+            preparedStatement.setString(1, matricola);
+            preparedStatement.setString(2, tipo);
+            preparedStatement.setDate(3, Date.valueOf(data));
 
-            str[0] = Integer.toString(columns);
+            result = preparedStatement.executeQuery();
 
-            for (int j = 1; j < columns; j++) {
-                str[j] = result.getString(j);
-            }
+            //Converto la riga tipizzata, se presente
+            riga = MappatureRighe.leggiPrima(result, MappatureRighe.SCATTO_CARRIERA);
 
-            resultMatrix.add(str);
+            //Chiudo il resultSet
+            result.close();
+        }
+        catch (SQLException sqlException){
+            sqlException.printStackTrace();
+        }
+        finally {
+            //Chiudo la connessione
+            ChiusuraConnessione.chiudi(connessione);
         }
 
-        return resultMatrix;
+        return riga;
     }
 }
@@ -0,0 +1,165 @@
+package ImplementazionePostgresDAO;
+
+import DAO.*;
+import Database.ConnessioneDatabase;
+import Database.UnitaDiLavoro;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Questa classe implementa l'interfaccia SnapshotDAO e carica un'istantanea coerente di tutte le tabelle del database Postgres.
+ *
+ * Le tabelle sono indipendenti tra loro fino alla costruzione degli oggetti in memoria, e vengono quindi lette in parallelo,
+ * ognuna in un thread virtuale e su una connessione fisica del pool: il tempo di caricamento e' limitato dalla tabella piu' lenta invece che dalla
+ * somma di tutte le tabelle. Per mantenere la coerenza, una {@link UnitaDiLavoro} in sola lettura esporta la propria istantanea
+ * ({@code pg_export_snapshot()}), e ogni lettura la importa ({@code SET TRANSACTION SNAPSHOT}) nella propria unita' di lavoro:
+ * tutte le letture osservano cosi' lo stesso istante del database anche in presenza di modifiche concorrenti.
+ * Le letture contemporanee sono limitate al numero di lettori configurato, per non attendere connessioni del pool oltre il timeout.
+ *
+ * Se le letture parallele non sono disponibili (pool con una sola connessione o un solo lettore configurato),
+ * le tabelle vengono lette una alla volta nell'unita' di lavoro che mantiene l'istantanea.
+ */
+public class SnapshotPostgresDAO implements SnapshotDAO {
+
+    /**
+     * Lettura di una tabella dell'istantanea, eseguita all'interno di un'unita' di lavoro.
+     *
+     * @param <T> Il tipo del contenuto letto.
+     */
+    @FunctionalInterface
+    private interface LetturaTabella<T> {
+        T leggi() throws SQLException;
+    }
+
+    // Le letture delle singole tabelle usano i DAO misurati, per distinguerne il contributo al caricamento nelle metriche
+    private final FornitorePostgresDAO fornitore = new FornitorePostgresDAO();
+
+    @Override
+    public SnapshotDati caricaSnapshot() throws SQLException {
+
+        ConnessioneDatabase connessioneDatabase = ConnessioneDatabase.getInstance();
+
+        // Una connessione del pool resta occupata dall'unita' di lavoro che mantiene l'istantanea
+        int lettori = Math.min(connessioneDatabase.getLettoriParalleli(), connessioneDatabase.getPool().getDimensioneMassima() - 1);
+
+        try (UnitaDiLavoro unitaDiLavoro = UnitaDiLavoro.apriInSolaLettura()) {
+
+            ExecutorService esecutore = null;
+            Semaphore lettoriDisponibili = new Semaphore(Math.max(lettori, 1));
+            String istantanea = null;
+
+            if (lettori > 1) {
+                istantanea = unitaDiLavoro.esportaIstantanea();
+                esecutore = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lettura-istantanea-", 1).factory());
+            }
+
+            try {
+                // Le tabelle piu' grandi vengono avviate per prime, per non lasciarle in coda alle piu' piccole
+                Future<BufferDipendentiIndeterminati> dipendentiIndeterminati = avvia(esecutore, lettoriDisponibili, istantanea,
+                        () -> fornitore.getDipendenteIndeterminatoDAO().caricaDipendentiIndeterminati());
+
+                Future<ArrayList<RigaScattoCarriera>> scattiCarriera = avvia(esecutore, lettoriDisponibili, istantanea, () -> {
+                    ArrayList<RigaScattoCarriera> righe = new ArrayList<>();
+                    fornitore.getScattoCarrieraDAO().obtainScattiCarriera((tipoScatto, matricola, data) ->
+                            righe.add(new RigaScattoCarriera(matricola, tipoScatto, data)));
+                    return righe;
+                });
+
+                Future<BufferDipendentiProgetto> dipendentiProgetto = avvia(esecutore, lettoriDisponibili, istantanea,
+                        () -> fornitore.getDipendenteProgettoDAO().caricaDipendentiProgetto());
+
+                Future<BufferAttrezzature> attrezzature = avvia(esecutore, lettoriDisponibili, istantanea,
+                        () -> fornitore.getAttrezzaturaDAO().caricaAttrezzature());
+
+                Future<ArrayList<RigaAfferenza>> afferenze = avvia(esecutore, lettoriDisponibili, istantanea, () -> {
+                    ArrayList<RigaAfferenza> righe = new ArrayList<>();
+                    fornitore.getAfferireDAO().obtainAfferenze((matricola, nomeLab) ->
+                            righe.add(new RigaAfferenza(matricola, nomeLab)));
+                    return righe;
+                });
+
+                Future<ArrayList<RigaProgetto>> progetti = avvia(esecutore, lettoriDisponibili, istantanea, () -> {
+                    ArrayList<RigaProgetto> righe = new ArrayList<>();
+                    fornitore.getProgettoDAO().obtainProgetti((nome, cup, budget, dataInizio, dataFine, referenteScientifico, responsabile) ->
+                            righe.add(new RigaProgetto(cup, nome, dataInizio, dataFine, budget, referenteScientifico, responsabile)));
+                    return righe;
+                });
+
+                Future<ArrayList<RigaLaboratorio>> laboratori = avvia(esecutore, lettoriDisponibili, istantanea, () -> {
+                    ArrayList<RigaLaboratorio> righe = new ArrayList<>();
+                    fornitore.getLaboratorioDAO().obtainLaboratori((nome, topic, responsabileScientifico) ->
+                            righe.add(new RigaLaboratorio(nome, topic, responsabileScientifico)));
+                    return righe;
+                });
+
+                Future<ArrayList<RigaLavoro>> lavori = avvia(esecutore, lettoriDisponibili, istantanea, () -> {
+                    ArrayList<RigaLavoro> righe = new ArrayList<>();
+                    fornitore.getLavorareDAO().obtainLavorare((cup, nomeLab) ->
+                            righe.add(new RigaLavoro(cup, nomeLab)));
+                    return righe;
+                });
+
+                SnapshotDati snapshot = new SnapshotDati(attendi(dipendentiIndeterminati), attendi(scattiCarriera), attendi(laboratori),
+                                                         attendi(afferenze), attendi(progetti), attendi(dipendentiProgetto),
+                                                         attendi(attrezzature), attendi(lavori));
+
+                // L'istantanea esportata resta valida fino alla chiusura di questa unita' di lavoro, dopo tutte le letture
+                unitaDiLavoro.conferma();
+
+                return snapshot;
+
+            } finally {
+                // In caso di errore le letture ancora in coda vengono annullate
+                if (esecutore != null)
+                    esecutore.shutdownNow();
+            }
+        }
+    }
+
+    //Avvia la lettura di una tabella: in parallelo, in un'unita' di lavoro che importa l'istantanea, oppure subito nell'unita' di lavoro corrente
+    private static <T> Future<T> avvia(ExecutorService esecutore, Semaphore lettoriDisponibili, String istantanea,
+                                       LetturaTabella<T> lettura) throws SQLException {
+
+        if (esecutore == null)
+            return CompletableFuture.completedFuture(lettura.leggi());
+
+        return esecutore.submit(() -> {
+            // Il thread virtuale attende un lettore libero prima di prelevare la connessione dal pool
+            lettoriDisponibili.acquire();
+
+            try (UnitaDiLavoro unitaDiLavoro = UnitaDiLavoro.apriInSolaLettura(istantanea)) {
+
+                // I DAO vengono creati all'interno dell'unita' di lavoro, per condividerne la connessione e l'istantanea
+                T contenuto = lettura.leggi();
+                unitaDiLavoro.conferma();
+
+                return contenuto;
+            } finally {
+                lettoriDisponibili.release();
+            }
+        });
+    }
+
+    //Attende il termine della lettura di una tabella, restituendo l'eventuale errore del database
+    private static <T> T attendi(Future<T> lettura) throws SQLException {
+
+        try {
+            return lettura.get();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Caricamento dell'istantanea interrotto", interruptedException);
+        } catch (ExecutionException executionException) {
+            if (executionException.getCause() instanceof SQLException sqlException)
+                throw sqlException;
+
+            throw new SQLException("Caricamento dell'istantanea fallito", executionException.getCause());
+        }
+    }
+}
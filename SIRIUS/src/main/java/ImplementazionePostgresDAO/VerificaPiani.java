@@ -0,0 +1,182 @@
+package ImplementazionePostgresDAO;
+
+import DAO.*;
+import Database.ConnessioneDatabase;
+import Database.MigrazioniSchema;
+import Database.RegistroInterrogazioni;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * Verifica i piani di esecuzione delle interrogazioni dei DAO Postgres sui dati presenti nel database.
+ *
+ * Dopo aver applicato le migrazioni dello schema, esegue i metodi di lettura dei DAO con chiavi prese dai dati stessi,
+ * registrando le interrogazioni effettivamente eseguite tramite il {@link RegistroInterrogazioni}. Per ogni interrogazione
+ * stampa il piano scelto dal planner ({@code EXPLAIN}) e quello ottenuto scoraggiando le scansioni sequenziali
+ * ({@code enable_seqscan = off}): sulle tabelle piccole dei dati di esempio il planner preferisce comunque la scansione
+ * sequenziale, mentre il secondo piano mostra se esiste un indice utilizzabile. Le interrogazioni che anche nel secondo piano
+ * scansionano sequenzialmente una tabella vengono segnalate: sono le letture di intere tabelle o i filtri privi di indice.
+ *
+ * Si esegue come applicativo a se' stante, sullo stesso database configurato in {@link ConnessioneDatabase}.
+ */
+public class VerificaPiani {
+
+    //COSTRUTTORE
+    private VerificaPiani() {
+    }
+
+
+    //METODI
+    public static void main(String[] args) {
+
+        try {
+            int applicate = MigrazioniSchema.applica();
+            System.out.println("Migrazioni applicate: " + applicate + " (versione dello schema: " + MigrazioniSchema.getVersioneAttesa() + ")");
+
+            RegistroInterrogazioni.avvia();
+
+            try {
+                eseguiLetture();
+            } finally {
+                stampaPiani(RegistroInterrogazioni.ferma());
+            }
+
+        } catch (SQLException sqlException) {
+            sqlException.printStackTrace();
+        }
+    }
+
+    //Esegue i metodi di lettura dei DAO, con chiavi e date prese dalle prime righe delle rispettive tabelle
+    private static void eseguiLetture() {
+
+        DipendenteIndeterminatoDAO dipendenteIndeterminatoDAO = new DipendenteIndeterminatoPostgresDAO();
+        DipendenteProgettoDAO dipendenteProgettoDAO = new DipendenteProgettoPostgresDAO();
+        ScattoCarrieraDAO scattoCarrieraDAO = new ScattoCarrieraPostgresDAO();
+        LaboratorioDAO laboratorioDAO = new LaboratorioPostgresDAO();
+        ProgettoDAO progettoDAO = new ProgettoPostgresDAO();
+        AfferireDAO afferireDAO = new AfferirePostgresDAO();
+        LavorareDAO lavorareDAO = new LavorarePostgresDAO();
+        AttrezzaturaDAO attrezzaturaDAO = new AttrezzaturaPostgresDAO();
+
+        ArrayList<RigaDipendenteIndeterminato> dipendentiIndeterminati = dipendenteIndeterminatoDAO.getDipendentiIndeterminati();
+        ArrayList<RigaDipendenteProgetto> dipendentiProgetto = dipendenteProgettoDAO.getDipendentiProgetto();
+        ArrayList<RigaScattoCarriera> scattiCarriera = scattoCarrieraDAO.getScattiCarriera();
+        ArrayList<RiepilogoLaboratorio> laboratori = laboratorioDAO.getLaboratori();
+        ArrayList<RiepilogoProgetto> progetti = progettoDAO.getProgetti();
+        ArrayList<RigaAfferenza> afferenze = afferireDAO.getAfferenze();
+        ArrayList<RigaLavoro> lavori = lavorareDAO.getLavorare();
+        ArrayList<RigaAttrezzatura> attrezzature = attrezzaturaDAO.getAttrezzature();
+
+        progettoDAO.getProgettiNonTerminati();
+        dipendenteIndeterminatoDAO.getAllDipendentiCandidatiResponsabileScientifico();
+
+        for (String tipo : new String[]{"Middle", "Senior", "Promosso_a_dirigente", "Rimosso_da_dirigente"})
+            dipendenteIndeterminatoDAO.getDipendentiCandidatiScatto(tipo);
+
+        if (dipendentiIndeterminati != null && !dipendentiIndeterminati.isEmpty())
+            dipendenteIndeterminatoDAO.getDipendenteIndeterminato(dipendentiIndeterminati.get(0).matricola());
+
+        if (dipendentiProgetto != null && !dipendentiProgetto.isEmpty())
+            dipendenteProgettoDAO.getDipendenteProgetto(dipendentiProgetto.get(0).matricola());
+
+        if (scattiCarriera != null && !scattiCarriera.isEmpty()) {
+            RigaScattoCarriera scatto = scattiCarriera.get(0);
+            scattoCarrieraDAO.getScattoCarriera(scatto.matricola(), scatto.tipo(), scatto.data());
+        }
+
+        if (laboratori != null && !laboratori.isEmpty())
+            laboratorioDAO.getLaboratorio(laboratori.get(0).nome());
+
+        if (progetti != null && !progetti.isEmpty()) {
+            RiepilogoProgetto progetto = progetti.get(0);
+            LocalDate dataFine = progetto.dataFine() != null ? progetto.dataFine() : progetto.dataInizio().plusYears(3);
+
+            progettoDAO.getProgetto(progetto.cup());
+            progettoDAO.getCostoTotaleAttrezzature(progetto.cup());
+            progettoDAO.getCostoTotaleDipendentiProgetto(progetto.cup());
+            laboratorioDAO.getLaboratoriCandidati(progetto.cup());
+            laboratorioDAO.getLaboratoriLavoranti(progetto.cup());
+            dipendenteIndeterminatoDAO.getAllDipendentiCandidatiReferenteScientifico(progetto.dataInizio(), dataFine);
+            dipendenteIndeterminatoDAO.getAllDipendentiCandidatiDirigente(progetto.dataInizio(), dataFine);
+        }
+
+        if (afferenze != null && !afferenze.isEmpty())
+            afferireDAO.getAfferenza(afferenze.get(0).matricola(), afferenze.get(0).nomeLab());
+
+        if (lavori != null && !lavori.isEmpty())
+            lavorareDAO.getLavoro(lavori.get(0).cup(), lavori.get(0).nomeLab());
+
+        if (attrezzature != null && !attrezzature.isEmpty())
+            attrezzaturaDAO.getAttrezzatura(attrezzature.get(0).idAttrezzatura());
+    }
+
+    //Stampa i due piani di ogni interrogazione registrata, segnalando le scansioni sequenziali non evitabili
+    private static void stampaPiani(ArrayList<String> interrogazioni) throws SQLException {
+
+        int segnalate = 0;
+        int verificate = 0;
+
+        // La connessione dedicata non passa per il registro, e le impostazioni del planner non raggiungono le connessioni del pool
+        try (Connection connessione = ConnessioneDatabase.getInstance().apriConnessioneDedicata();
+             Statement statement = connessione.createStatement()) {
+
+            for (String interrogazione : interrogazioni) {
+
+                String inizio = interrogazione.toUpperCase(Locale.ROOT);
+
+                if (!inizio.startsWith("SELECT") && !inizio.startsWith("WITH"))
+                    continue;
+
+                verificate++;
+
+                System.out.println("\n==== " + interrogazione);
+
+                try {
+                    statement.execute("RESET enable_seqscan");
+                    System.out.println("-- piano scelto:");
+                    piano(statement, interrogazione);
+
+                    statement.execute("SET enable_seqscan = off");
+                    System.out.println("-- piano senza scansioni sequenziali:");
+
+                    if (piano(statement, interrogazione)) {
+                        segnalate++;
+                        System.out.println("!! Scansione sequenziale anche senza scansioni sequenziali abilitate: lettura dell'intera tabella o indice mancante");
+                    }
+
+                } catch (SQLException sqlException) {
+                    System.out.println("!! Piano non disponibile: " + sqlException.getMessage());
+                }
+            }
+        }
+
+        System.out.println("\nInterrogazioni verificate: " + verificate + ", con scansioni sequenziali: " + segnalate);
+    }
+
+    //Stampa il piano dell'interrogazione specificata, restituendo true se contiene una scansione sequenziale
+    private static boolean piano(Statement statement, String interrogazione) throws SQLException {
+
+        boolean scansioneSequenziale = false;
+
+        try (ResultSet result = statement.executeQuery("EXPLAIN " + interrogazione)) {
+
+            while (result.next()) {
+
+                String riga = result.getString(1);
+
+                if (riga.contains("Seq Scan"))
+                    scansioneSequenziale = true;
+
+                System.out.println(riga);
+            }
+        }
+
+        return scansioneSequenziale;
+    }
+}
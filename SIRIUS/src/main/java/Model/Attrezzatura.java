@@ -20,6 +20,9 @@ public class Attrezzatura {
     //Associazione: progetto proprietario
     private Progetto progettoProprietario;
 
+    //Il progetto nel cui costo totale delle attrezzature e' conteggiata l'attrezzatura, aggiornato dal progetto stesso
+    Progetto progettoConteggiante = null;
+
     // COSTRUTTORI
     /**
      * Costruisce un nuovo oggetto "Attrezzatura" con le infromazioni fornite, non specificando il laboratorio che la possiede, che sara' nullo.
@@ -66,6 +69,7 @@ public class Attrezzatura {
      * @param idAttrezzatura {@link Integer}    Numero intero che rappresentera' l'identificativo unico dell'attrezzatura.
      * */
     public void setIdAttrezzatura(Integer idAttrezzatura){
+        RegistroAnnullamenti.salva(this, Attrezzatura::ripristinoStato);
         this.idAttrezzatura = idAttrezzatura;
     }
 
@@ -75,6 +79,7 @@ public class Attrezzatura {
      * @param descrizione  {@link String}   Stringa che rappresentera' la descrizione dell'attrezzatura.
      * */
     public void setDescrizione(String descrizione) {
+        RegistroAnnullamenti.salva(this, Attrezzatura::ripristinoStato);
         this.descrizione = descrizione;
     }
 
@@ -84,6 +89,12 @@ public class Attrezzatura {
      * @param costo {@link BigDecimal}  Valore monetario che rappresentera' i prezzo di acquisto dell'attrezzatura.
      * */
     public void setCosto(BigDecimal costo) {
+
+        RegistroAnnullamenti.salva(this, Attrezzatura::ripristinoStato);
+
+        if (progettoConteggiante != null)
+            progettoConteggiante.aggiornaCostoAttrezzatura(this.costo, costo);
+
         this.costo = costo;
     }
 
@@ -93,6 +104,7 @@ public class Attrezzatura {
      * @param laboratorioPossedente {@link Laboratorio} Rappresenta il laboratorio che possiedera' l'attrezzatura.
      * */
     public void setLaboratorioPossedente(Laboratorio laboratorioPossedente){
+        RegistroAnnullamenti.salva(this, Attrezzatura::ripristinoStato);
         this.laboratorioPossedente = laboratorioPossedente;
     }
 
@@ -102,6 +114,7 @@ public class Attrezzatura {
      * @param progettoProprietario  {@link Progetto}    Rappresenta il progetto che acquista l'attrezzatura, nonche' il progetto proprietario.
      * */
     public void setProgettoProprietario(Progetto progettoProprietario) {
+        RegistroAnnullamenti.salva(this, Attrezzatura::ripristinoStato);
         this.progettoProprietario = progettoProprietario;
     }
 
@@ -152,6 +165,30 @@ public class Attrezzatura {
     }
 
     // METODI
+    /**
+     * Crea l'operazione che ripristina lo stato corrente dell'attrezzatura, salvato da {@link RegistroAnnullamenti} prima della sua prima modifica.
+     *
+     * @return {@link Runnable}  Il ripristino dello stato corrente.
+     */
+    Runnable ripristinoStato() {
+
+        Integer idAttrezzatura = this.idAttrezzatura;
+        String descrizione = this.descrizione;
+        BigDecimal costo = this.costo;
+        Laboratorio laboratorioPossedente = this.laboratorioPossedente;
+        Progetto progettoProprietario = this.progettoProprietario;
+        Progetto progettoConteggiante = this.progettoConteggiante;
+
+        return () -> {
+            this.idAttrezzatura = idAttrezzatura;
+            this.descrizione = descrizione;
+            this.costo = costo;
+            this.laboratorioPossedente = laboratorioPossedente;
+            this.progettoProprietario = progettoProprietario;
+            this.progettoConteggiante = progettoConteggiante;
+        };
+    }
+
     /**
      * Sovrascrittura del metodo "equals" di object, che permette di effettuare un confronto tra un oggetto di tipo "Attrezzatura" ed un oggetto di tipo "Object".
      * Il risultato e' calcolato confrontando l'uguaglianza dei campi "descrizione" e "costo".
@@ -0,0 +1,340 @@
+package Model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+
+/**
+ * La cronologia degli scatti di carriera di un dipendente a tempo indeterminato, mantenuta dal dipendente stesso
+ * ad ogni aggiunta e rimozione di uno scatto.
+ *
+ * Per ogni tipo di scatto le date sono mantenute ordinate, cosi' che la data meno recente, la piu' recente e quelle
+ * immediatamente precedenti o successive ad una data si ottengano in tempo logaritmico, senza scorrere gli scatti.
+ *
+ * La cronologia mantiene inoltre la coerenza dell'alternanza tra promozioni e rimozioni dirigenziali: ordinate le date,
+ * l'i-esima rimozione deve avere una promozione i-esima non successiva ad essa. Viene conservato l'indice della prima coppia
+ * non coerente, per cui ogni modifica, effettiva o solo da verificare, ricontrolla solo le coppie a partire dalla prima
+ * posizione interessata: l'aggiunta di uno scatto piu' recente degli altri ricontrolla una sola coppia.
+ */
+public class CronologiaScatti {
+
+    private final EnumMap<TipoScatto, ArrayList<LocalDate>> date = new EnumMap<>(TipoScatto.class);
+
+    //Indice della prima rimozione senza una promozione coerente, -1 se l'alternanza e' coerente
+    private int primaIncoerenza = -1;
+
+
+    //COSTRUTTORE
+    /**
+     * Costruisce una cronologia senza scatti di carriera.
+     */
+    public CronologiaScatti() {
+        for (TipoScatto tipoScatto : TipoScatto.values())
+            date.put(tipoScatto, new ArrayList<>());
+    }
+
+
+    //METODI
+    /**
+     * Aggiunge la data di uno scatto di carriera, mantenendo l'ordine delle date del suo tipo.
+     *
+     * @param tipoScatto    {@link TipoScatto}  Il tipo dello scatto.
+     * @param data          {@link LocalDate}   La data dello scatto.
+     * @return True se la data e' stata aggiunta, altrimenti false se gia' presente per lo stesso tipo.
+     */
+    boolean aggiungi(TipoScatto tipoScatto, LocalDate data) {
+
+        ArrayList<LocalDate> dateTipo = date.get(tipoScatto);
+        int indice = Collections.binarySearch(dateTipo, data);
+
+        if (indice >= 0)
+            return false;
+
+        dateTipo.add(-indice - 1, data);
+        aggiornaCoerenza(tipoScatto, -indice - 1);
+
+        return true;
+    }
+
+    /**
+     * Rimuove la data di uno scatto di carriera.
+     *
+     * @param tipoScatto    {@link TipoScatto}  Il tipo dello scatto.
+     * @param data          {@link LocalDate}   La data dello scatto.
+     * @return True se la data e' stata rimossa, altrimenti false se non presente.
+     */
+    boolean rimuovi(TipoScatto tipoScatto, LocalDate data) {
+
+        ArrayList<LocalDate> dateTipo = date.get(tipoScatto);
+        int indice = Collections.binarySearch(dateTipo, data);
+
+        if (indice < 0)
+            return false;
+
+        dateTipo.remove(indice);
+        aggiornaCoerenza(tipoScatto, indice);
+
+        return true;
+    }
+
+    /**
+     * Rimuove le date di tutti gli scatti di carriera del tipo specificato.
+     *
+     * @param tipoScatto    {@link TipoScatto}  Il tipo degli scatti da rimuovere.
+     */
+    void rimuoviTutti(TipoScatto tipoScatto) {
+        date.get(tipoScatto).clear();
+        aggiornaCoerenza(tipoScatto, 0);
+    }
+
+    /**
+     * Crea l'operazione che ripristina le date correnti di tutti i tipi di scatto, salvate insieme allo stato del dipendente.
+     *
+     * @return {@link Runnable}  Il ripristino delle date correnti.
+     */
+    Runnable ripristinoStato() {
+
+        ArrayList<Runnable> ripristiniDate = new ArrayList<>();
+        int primaIncoerenza = this.primaIncoerenza;
+
+        for (ArrayList<LocalDate> dateTipo : date.values())
+            ripristiniDate.add(RegistroAnnullamenti.ripristinoContenuto(dateTipo));
+
+        return () -> {
+            for (Runnable ripristino : ripristiniDate)
+                ripristino.run();
+
+            this.primaIncoerenza = primaIncoerenza;
+        };
+    }
+
+    /**
+     * Restituisce il numero di scatti di carriera del tipo specificato.
+     *
+     * @param tipoScatto    {@link TipoScatto}  Il tipo di scatto.
+     * @return Il numero di scatti del tipo specificato.
+     */
+    public int getNumeroScatti(TipoScatto tipoScatto) {
+        return date.get(tipoScatto).size();
+    }
+
+    /**
+     * Restituisce la data meno recente tra gli scatti di carriera del tipo specificato.
+     *
+     * @param tipoScatto    {@link TipoScatto}  Il tipo di scatto.
+     * @return {@link LocalDate}    La data meno recente, o null se non ci sono scatti del tipo specificato.
+     */
+    public LocalDate getPrimo(TipoScatto tipoScatto) {
+        ArrayList<LocalDate> dateTipo = date.get(tipoScatto);
+        return dateTipo.isEmpty() ? null : dateTipo.get(0);
+    }
+
+    /**
+     * Restituisce la data piu' recente tra gli scatti di carriera del tipo specificato.
+     *
+     * @param tipoScatto    {@link TipoScatto}  Il tipo di scatto.
+     * @return {@link LocalDate}    La data piu' recente, o null se non ci sono scatti del tipo specificato.
+     */
+    public LocalDate getUltimo(TipoScatto tipoScatto) {
+        ArrayList<LocalDate> dateTipo = date.get(tipoScatto);
+        return dateTipo.isEmpty() ? null : dateTipo.get(dateTipo.size() - 1);
+    }
+
+    /**
+     * Restituisce la data piu' recente, tra gli scatti di carriera del tipo specificato, non successiva alla data specificata.
+     *
+     * @param tipoScatto    {@link TipoScatto}  Il tipo di scatto.
+     * @param data          {@link LocalDate}   La data di riferimento.
+     * @return {@link LocalDate}    La data dello scatto, o null se tutti gli scatti del tipo specificato sono successivi.
+     */
+    public LocalDate getPrecedente(TipoScatto tipoScatto, LocalDate data) {
+
+        ArrayList<LocalDate> dateTipo = date.get(tipoScatto);
+        int indice = Collections.binarySearch(dateTipo, data);
+
+        if (indice >= 0)
+            return dateTipo.get(indice);
+
+        return -indice - 1 > 0 ? dateTipo.get(-indice - 2) : null;
+    }
+
+    /**
+     * Restituisce la data meno recente, tra gli scatti di carriera del tipo specificato, non precedente alla data specificata.
+     *
+     * @param tipoScatto    {@link TipoScatto}  Il tipo di scatto.
+     * @param data          {@link LocalDate}   La data di riferimento.
+     * @return {@link LocalDate}    La data dello scatto, o null se tutti gli scatti del tipo specificato sono precedenti.
+     */
+    public LocalDate getSuccessivo(TipoScatto tipoScatto, LocalDate data) {
+
+        ArrayList<LocalDate> dateTipo = date.get(tipoScatto);
+        int indice = Collections.binarySearch(dateTipo, data);
+
+        if (indice >= 0)
+            return dateTipo.get(indice);
+
+        return -indice - 1 < dateTipo.size() ? dateTipo.get(-indice - 1) : null;
+    }
+
+    /**
+     * Verifica la coerenza dell'alternanza tra le promozioni e le rimozioni dirigenziali della cronologia.
+     *
+     * @return True se ogni rimozione e' preceduta dalla propria promozione, altrimenti false.
+     */
+    public boolean isDirigenzaCoerente() {
+        return primaIncoerenza < 0;
+    }
+
+    /**
+     * Verifica se l'aggiunta di uno scatto di carriera manterrebbe coerente l'alternanza tra promozioni e rimozioni dirigenziali,
+     * senza modificare la cronologia.
+     *
+     * @param tipoScatto    {@link TipoScatto}  Il tipo dello scatto da aggiungere.
+     * @param data          {@link LocalDate}   La data dello scatto da aggiungere.
+     * @return True se l'alternanza resterebbe coerente, altrimenti false.
+     */
+    public boolean verificaAggiunta(TipoScatto tipoScatto, LocalDate data) {
+        return verifica(null, null, tipoScatto, data);
+    }
+
+    /**
+     * Verifica se la rimozione di uno scatto di carriera manterrebbe coerente l'alternanza tra promozioni e rimozioni dirigenziali,
+     * senza modificare la cronologia.
+     *
+     * @param tipoScatto    {@link TipoScatto}  Il tipo dello scatto da rimuovere.
+     * @param data          {@link LocalDate}   La data dello scatto da rimuovere.
+     * @return True se l'alternanza resterebbe coerente, altrimenti false.
+     */
+    public boolean verificaRimozione(TipoScatto tipoScatto, LocalDate data) {
+        return verifica(tipoScatto, data, null, null);
+    }
+
+    /**
+     * Verifica se la sostituzione di uno scatto di carriera con un altro manterrebbe coerente l'alternanza tra promozioni e
+     * rimozioni dirigenziali, senza modificare la cronologia.
+     *
+     * @param vecchioTipoScatto {@link TipoScatto}  Il tipo dello scatto da sostituire.
+     * @param vecchiaData       {@link LocalDate}   La data dello scatto da sostituire.
+     * @param tipoScatto        {@link TipoScatto}  Il tipo del nuovo scatto.
+     * @param data              {@link LocalDate}   La data del nuovo scatto.
+     * @return True se l'alternanza resterebbe coerente, altrimenti false.
+     */
+    public boolean verificaSostituzione(TipoScatto vecchioTipoScatto, LocalDate vecchiaData, TipoScatto tipoScatto, LocalDate data) {
+        return verifica(vecchioTipoScatto, vecchiaData, tipoScatto, data);
+    }
+
+    //Verifica l'alternanza dopo la rimozione e l'aggiunta specificate, ricontrollando solo le coppie dalla prima posizione modificata
+    private boolean verifica(TipoScatto tipoRimosso, LocalDate dataRimossa, TipoScatto tipoAggiunto, LocalDate dataAggiunta) {
+
+        Vista promozioni = vista(TipoScatto.Promosso_a_dirigente, tipoRimosso, dataRimossa, tipoAggiunto, dataAggiunta);
+        Vista rimozioni = vista(TipoScatto.Rimosso_da_dirigente, tipoRimosso, dataRimossa, tipoAggiunto, dataAggiunta);
+
+        int primaModifica = Math.min(promozioni.primaModifica, rimozioni.primaModifica);
+
+        // Le coppie precedenti la prima posizione modificata restano invariate
+        if (primaIncoerenza >= 0 && primaIncoerenza < primaModifica)
+            return false;
+
+        return cercaIncoerenza(promozioni, rimozioni, primaModifica) < 0;
+    }
+
+    //Crea la vista delle date del tipo specificato dopo la rimozione e l'aggiunta, se riguardano quel tipo
+    private Vista vista(TipoScatto tipoVista, TipoScatto tipoRimosso, LocalDate dataRimossa, TipoScatto tipoAggiunto, LocalDate dataAggiunta) {
+        return new Vista(date.get(tipoVista), tipoVista == tipoRimosso ? dataRimossa : null, tipoVista == tipoAggiunto ? dataAggiunta : null);
+    }
+
+    //Aggiorna l'indice della prima incoerenza dopo una modifica delle date del tipo specificato, a partire dalla posizione modificata
+    private void aggiornaCoerenza(TipoScatto tipoScatto, int primaModifica) {
+
+        if (tipoScatto != TipoScatto.Promosso_a_dirigente && tipoScatto != TipoScatto.Rimosso_da_dirigente)
+            return;
+
+        if (primaIncoerenza >= 0 && primaIncoerenza < primaModifica)
+            return;
+
+        primaIncoerenza = cercaIncoerenza(new Vista(date.get(TipoScatto.Promosso_a_dirigente), null, null),
+                new Vista(date.get(TipoScatto.Rimosso_da_dirigente), null, null), primaModifica);
+    }
+
+    //Cerca, dalla posizione specificata, la prima rimozione senza una promozione non successiva nella stessa posizione
+    private static int cercaIncoerenza(Vista promozioni, Vista rimozioni, int da) {
+
+        for (int i = da; i < rimozioni.dimensione; i++) {
+            if (i >= promozioni.dimensione || rimozioni.get(i).isBefore(promozioni.get(i)))
+                return i;
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * Vista delle date ordinate di un tipo di scatto dopo la rimozione di una data e l'aggiunta di un'altra,
+     * calcolata per posizione senza copiare le date.
+     */
+    private static final class Vista {
+
+        private final ArrayList<LocalDate> date;
+        private final int rimossa;
+        private final int inserita;
+        private final LocalDate nuova;
+        private final int dimensione;
+        private final int primaModifica;
+
+        Vista(ArrayList<LocalDate> date, LocalDate daRimuovere, LocalDate daAggiungere) {
+
+            this.date = date;
+
+            int indiceRimossa = daRimuovere != null ? Collections.binarySearch(date, daRimuovere) : -1;
+
+            // Rimuovere e aggiungere di nuovo la stessa data presente lascia invariate le date
+            if (indiceRimossa >= 0 && daRimuovere.equals(daAggiungere)) {
+                indiceRimossa = -1;
+                daAggiungere = null;
+            }
+
+            rimossa = Math.max(indiceRimossa, -1);
+
+            // Come nell'aggiunta effettiva, una data gia' presente non viene aggiunta di nuovo
+            int indiceNuova = daAggiungere != null ? Collections.binarySearch(date, daAggiungere) : 0;
+
+            if (daAggiungere != null && indiceNuova < 0) {
+                int posizione = -indiceNuova - 1;
+                inserita = rimossa >= 0 && rimossa < posizione ? posizione - 1 : posizione;
+                nuova = daAggiungere;
+            } else {
+                inserita = -1;
+                nuova = null;
+            }
+
+            dimensione = date.size() - (rimossa >= 0 ? 1 : 0) + (inserita >= 0 ? 1 : 0);
+
+            int modifica = Integer.MAX_VALUE;
+
+            if (rimossa >= 0)
+                modifica = rimossa;
+
+            if (inserita >= 0)
+                modifica = Math.min(modifica, inserita);
+
+            primaModifica = modifica;
+        }
+
+        LocalDate get(int indice) {
+
+            if (inserita >= 0) {
+                if (indice == inserita)
+                    return nuova;
+
+                if (indice > inserita)
+                    indice--;
+            }
+
+            if (rimossa >= 0 && indice >= rimossa)
+                indice++;
+
+            return date.get(indice);
+        }
+    }
+}
@@ -68,6 +68,7 @@ public abstract class Dipendente {
      * @param matricola {@link String}  Stringa di 8 caratteri alfanumerici, che rappresenta la matricola identificante della carriera del dipendente, unica nel sistema.
      * */
     public void setMatricola (String matricola) {
+        RegistroAnnullamenti.salva(this, Dipendente::ripristinoStato);
         this.matricola = matricola;
     }
 
@@ -77,6 +78,7 @@ public abstract class Dipendente {
      * @param nome  {@link String}  Stringa che rappresenta il nome del dipendente.
      * */
     public void setNome (String nome) {
+        RegistroAnnullamenti.salva(this, Dipendente::ripristinoStato);
         this.nome = nome;
     }
 
@@ -86,6 +88,7 @@ public abstract class Dipendente {
      * @param cognome   {@link String}  Stringa che rappresenta il cognome del dipendente.
      * */
     public void setCognome (String cognome) {
+        RegistroAnnullamenti.salva(this, Dipendente::ripristinoStato);
         this.cognome = cognome;
     }
 
@@ -95,6 +98,7 @@ public abstract class Dipendente {
      * @param codFiscale    {@link String}  Codice alfanumerico di 16 caratteri, che rappresenta il codice fiscale del dipendente.
      * */
     public void setCodFiscale (String codFiscale) {
+        RegistroAnnullamenti.salva(this, Dipendente::ripristinoStato);
         this.codFiscale = codFiscale;
     }
 
@@ -104,6 +108,7 @@ public abstract class Dipendente {
      * @param dataNascita   {@link LocalDate}   Data con formattazione (YYYY-MM-DD), che rappresenta la data di nascita del dipendente.
      * */
     public void setDataNascita (LocalDate dataNascita) {
+        RegistroAnnullamenti.salva(this, Dipendente::ripristinoStato);
         this.dataNascita = dataNascita;
     }
 
@@ -113,6 +118,7 @@ public abstract class Dipendente {
      * @param dataAssunzione    {@link LocalDate}   Data con formattazione (YYYY-MM-DD), che rappresenta la data di assunzione del dipendente.
      * */
     public void setDataAssunzione (LocalDate dataAssunzione) {
+        RegistroAnnullamenti.salva(this, Dipendente::ripristinoStato);
         this.dataAssunzione = dataAssunzione;
     }
 
@@ -122,6 +128,7 @@ public abstract class Dipendente {
      * @param indirizzo {@link String}  Stringa che rappresenta l'indirizzo del dipendente.
      * */
     public void setIndirizzo (String indirizzo) {
+        RegistroAnnullamenti.salva(this, Dipendente::ripristinoStato);
         this.indirizzo = indirizzo;
     }
 
@@ -190,6 +197,32 @@ public abstract class Dipendente {
     }
 
     //METODI
+    /**
+     * Crea l'operazione che ripristina lo stato corrente del dipendente, salvato da {@link RegistroAnnullamenti} prima della sua prima modifica.
+     *
+     * @return {@link Runnable}  Il ripristino dello stato corrente.
+     */
+    Runnable ripristinoStato() {
+
+        String matricola = this.matricola;
+        String nome = this.nome;
+        String cognome = this.cognome;
+        String codFiscale = this.codFiscale;
+        String indirizzo = this.indirizzo;
+        LocalDate dataNascita = this.dataNascita;
+        LocalDate dataAssunzione = this.dataAssunzione;
+
+        return () -> {
+            this.matricola = matricola;
+            this.nome = nome;
+            this.cognome = cognome;
+            this.codFiscale = codFiscale;
+            this.indirizzo = indirizzo;
+            this.dataNascita = dataNascita;
+            this.dataAssunzione = dataAssunzione;
+        };
+    }
+
     /**
      * Sovrascrittura del metodo "equals" di object, che permette di effettuare un confronto tra un oggetto di tipo "DipendenteIndeterminato" e "DipendenteProgetto"
      * ed un oggetto di tipo "Object".
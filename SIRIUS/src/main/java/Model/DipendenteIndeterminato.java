@@ -22,6 +22,9 @@ public class DipendenteIndeterminato extends Dipendente {
     //Associazione: rappresenta la lista degli scatti effettuati dal dipendente
     private ArrayList<ScattoCarriera> scattiEffettuati = null;
 
+    //Le date degli scatti effettuati, ordinate per tipo di scatto e aggiornate insieme alla lista degli scatti
+    private final CronologiaScatti cronologiaScatti = new CronologiaScatti();
+
     //Associazione: rappresenta la lista dei laboratori a cui il dipendente afferisce
     private ArrayList<Laboratorio> laboratoriAfferiti = null;
 
@@ -132,6 +135,7 @@ public class DipendenteIndeterminato extends Dipendente {
      * @param tipoDipendente {@link TipoDipendente}    Puo' essere Junior, Middle o Senior, in base all'anzianita' di servizio.
      * */
     public void setTipoDipendente (TipoDipendente tipoDipendente) { //Posso settare il tipo solo tramite l'aggiunta di uno scatto di carriera
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
         this.tipoDipendente = tipoDipendente;
     }
 
@@ -141,6 +145,7 @@ public class DipendenteIndeterminato extends Dipendente {
      * @param dirigente True se il dipendente e' un dirigente, altrimenti false.
      * */
     public void setDirigente (boolean dirigente) { //Posso settare il dirigente solo tramite l'aggiunta di uno scatto di carriera
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
         this.dirigente = dirigente;
     }
 
@@ -150,6 +155,7 @@ public class DipendenteIndeterminato extends Dipendente {
      * @param dataFineRapporto {@link LocalDate}    Rappresenta la data di fine rapporto del dipendente.
      * */
     public void setDataFineRapporto (LocalDate dataFineRapporto) {
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
         this.dataFineRapporto = dataFineRapporto;
     }
 
@@ -158,14 +164,31 @@ public class DipendenteIndeterminato extends Dipendente {
      *
      * @param scattiEffettuati {@link ArrayList<ScattoCarriera>}    Lista di tutti gli scatti di carriera effettuati dal dipendente.
      * */
-    public void setScattiEffettuati(ArrayList<ScattoCarriera> scattiEffettuati) { this.scattiEffettuati = scattiEffettuati; }
+    public void setScattiEffettuati(ArrayList<ScattoCarriera> scattiEffettuati) {
+
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+
+        this.scattiEffettuati = scattiEffettuati;
+
+        //La cronologia viene ricostruita a partire dai nuovi scatti
+        for (TipoScatto tipoScatto : TipoScatto.values())
+            this.cronologiaScatti.rimuoviTutti(tipoScatto);
+
+        if (scattiEffettuati != null) {
+            for (ScattoCarriera scatto : scattiEffettuati)
+                this.cronologiaScatti.aggiungi(scatto.getTipoScatto(), scatto.getData());
+        }
+    }
 
     /**
      * Imposta tutti i laboratori afferiti dal dipendente.
      *
      * @param laboratoriAfferiti {@link ArrayList<Laboratorio>}    Lista di tutti i laboratori afferiti dal dipendente.
      * */
-    public void setLaboratoriAfferiti(ArrayList<Laboratorio> laboratoriAfferiti) { this.laboratoriAfferiti = laboratoriAfferiti; }
+    public void setLaboratoriAfferiti(ArrayList<Laboratorio> laboratoriAfferiti) {
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+        this.laboratoriAfferiti = laboratoriAfferiti;
+    }
 
     /**
      * Imposta tutti i laboratori di cui il dipendente e' responsabile scientifico.
@@ -173,6 +196,7 @@ public class DipendenteIndeterminato extends Dipendente {
      * @param laboratoriResponsabileScientifico {@link ArrayList<Laboratorio>}    Lista di tutti i laboratori di cui il dipendente e' responsabile scientifico.
      * */
     public void setLaboratoriResponsabileScientifico(ArrayList<Laboratorio> laboratoriResponsabileScientifico) {
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
         this.laboratoriResponsabileScientifico = laboratoriResponsabileScientifico;
     }
 
@@ -182,6 +206,7 @@ public class DipendenteIndeterminato extends Dipendente {
      * @param progettiReferenteScientifico {@link ArrayList<Progetto>}    Lista di tutti i progetti di cui il dipendente e' referente scientifico.
      * */
     public void setProgettoReferenteScientifico(ArrayList<Progetto> progettiReferenteScientifico) {
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
         this.progettiReferenteScientifico = progettiReferenteScientifico;
     }
 
@@ -192,6 +217,8 @@ public class DipendenteIndeterminato extends Dipendente {
      * */
     public void setProgettiResponsabile(ArrayList<Progetto> progettiResponsabile) {
 
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+
         this.progettiResponsabile = progettiResponsabile;
     }
 
@@ -232,6 +259,16 @@ public class DipendenteIndeterminato extends Dipendente {
         return scattiEffettuati;
     }
 
+    /**
+     * Restituisce la cronologia degli scatti di carriera effettuati dal dipendente, ordinata per tipo di scatto.
+     * La cronologia e' aggiornata solo dai metodi di aggiunta e rimozione degli scatti del dipendente.
+     *
+     * @return {@link CronologiaScatti}  La cronologia degli scatti del dipendente.
+     * */
+    public CronologiaScatti getCronologiaScatti() {
+        return cronologiaScatti;
+    }
+
     /**
      * Restituisce tutti i laboratori afferiti dal dipendente.
      *
@@ -279,6 +316,8 @@ public class DipendenteIndeterminato extends Dipendente {
      * */
     public boolean addAfferenzaLaboratorio (Laboratorio lab) {
 
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+
         boolean aggiunto = false;
 
         if (this.laboratoriAfferiti == null)
@@ -303,6 +342,8 @@ public class DipendenteIndeterminato extends Dipendente {
      * */
     public boolean removeAfferenzaLaboratorio (Laboratorio lab) {
 
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+
         boolean rimosso = false;
 
         if (this.laboratoriAfferiti != null) {
@@ -328,6 +369,8 @@ public class DipendenteIndeterminato extends Dipendente {
      * */
     public boolean addScattoCarriera (ScattoCarriera scatto) {
 
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+
         boolean aggiunto = false;
 
         if (this.scattiEffettuati == null)
@@ -336,6 +379,7 @@ public class DipendenteIndeterminato extends Dipendente {
         if (!this.scattiEffettuati.contains(scatto)) {
 
             this.scattiEffettuati.add(scatto);
+            this.cronologiaScatti.aggiungi(scatto.getTipoScatto(), scatto.getData());
 
             aggiunto = true;
         }
@@ -351,12 +395,15 @@ public class DipendenteIndeterminato extends Dipendente {
      * */
     public boolean removeScattoCarriera (ScattoCarriera scatto) {
 
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+
         boolean rimosso = false;
 
         if (this.scattiEffettuati != null) {
             if (this.scattiEffettuati.contains(scatto)) { //Se lo scatto esiste nell'elenco di scatti effettuati
 
                 this.scattiEffettuati.remove(scatto); //Il GC deallocherà lo scatto
+                this.cronologiaScatti.rimuovi(scatto.getTipoScatto(), scatto.getData());
 
                 rimosso = true;
             }
@@ -368,6 +415,55 @@ public class DipendenteIndeterminato extends Dipendente {
         return rimosso;
     }
 
+    /**
+     * Rimuove lo scatto di carriera del tipo e della data specificati dalla lista degli scatti effettuati dal dipendente.
+     *
+     * @param tipoScatto    {@link TipoScatto}  Il tipo dello scatto da eliminare.
+     * @param data          {@link LocalDate}   La data dello scatto da eliminare.
+     * @return True se lo scatto viene rimosso, altrimenti false se lo scatto non esiste.
+     * */
+    public boolean removeScattoCarriera (TipoScatto tipoScatto, LocalDate data) {
+
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+
+        boolean rimosso = false;
+
+        if (this.scattiEffettuati != null) {
+
+            rimosso = this.scattiEffettuati.removeIf(scatto -> scatto.getTipoScatto().equals(tipoScatto) && scatto.getData().equals(data));
+            this.cronologiaScatti.rimuovi(tipoScatto, data);
+
+            if (this.scattiEffettuati.isEmpty())
+                this.scattiEffettuati = null;
+        }
+
+        return rimosso;
+    }
+
+    /**
+     * Rimuove tutti gli scatti di carriera del tipo specificato dalla lista degli scatti effettuati dal dipendente.
+     *
+     * @param tipoScatto    {@link TipoScatto}  Il tipo degli scatti da eliminare.
+     * @return True se almeno uno scatto viene rimosso, altrimenti false.
+     * */
+    public boolean removeScattiCarriera (TipoScatto tipoScatto) {
+
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+
+        boolean rimosso = false;
+
+        if (this.scattiEffettuati != null) {
+
+            rimosso = this.scattiEffettuati.removeIf(scatto -> scatto.getTipoScatto().equals(tipoScatto));
+            this.cronologiaScatti.rimuoviTutti(tipoScatto);
+
+            if (this.scattiEffettuati.isEmpty())
+                this.scattiEffettuati = null;
+        }
+
+        return rimosso;
+    }
+
 
     //ASSOCIAZIONE: Laboratorio - Dipendente indeterminato (responsabile scientifico)
     //Aggiunge il dipendente come responsabile scientifico
@@ -379,6 +475,8 @@ public class DipendenteIndeterminato extends Dipendente {
      * */
     public boolean addLaboratorioResponsabileScientifico(Laboratorio laboratorio) {
 
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+
         boolean aggiunto = false;
 
         if (this.laboratoriResponsabileScientifico == null)
@@ -403,6 +501,8 @@ public class DipendenteIndeterminato extends Dipendente {
      * */
     public boolean removeLaboratorioResponsabileScientifico(Laboratorio laboratorio) {
 
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+
         boolean rimosso = false;
 
         if (this.laboratoriResponsabileScientifico != null) {
@@ -431,6 +531,8 @@ public class DipendenteIndeterminato extends Dipendente {
      * */
     public boolean addProgettoReferenteScientifico(Progetto progetto) {
 
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+
         boolean aggiunto = false;
 
         if (this.progettiReferenteScientifico == null)
@@ -455,6 +557,8 @@ public class DipendenteIndeterminato extends Dipendente {
      * */
     public boolean removeProgettoReferenteScientifico(Progetto progetto) {
 
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+
         boolean rimosso = false;
 
         if (this.progettiReferenteScientifico != null) {
@@ -483,6 +587,8 @@ public class DipendenteIndeterminato extends Dipendente {
      * */
     public boolean addProgettoResponsabile(Progetto progetto) {
 
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+
         boolean aggiunto = false;
 
         if (this.progettiResponsabile == null)
@@ -507,6 +613,8 @@ public class DipendenteIndeterminato extends Dipendente {
      * */
     public boolean removeProgettoResponsabile(Progetto progetto) {
 
+        RegistroAnnullamenti.salva(this, DipendenteIndeterminato::ripristinoStato);
+
         boolean rimosso = false;
 
         if (this.progettiResponsabile != null) {
@@ -526,6 +634,49 @@ public class DipendenteIndeterminato extends Dipendente {
 
 
 
+    /**
+     * Crea l'operazione che ripristina lo stato corrente del dipendente a tempo indeterminato, compresi i dati anagrafici, gli scatti e le associazioni, salvato da {@link RegistroAnnullamenti} prima della sua prima modifica.
+     *
+     * @return {@link Runnable}  Il ripristino dello stato corrente.
+     */
+    @Override
+    Runnable ripristinoStato() {
+
+        Runnable ripristinoDipendente = super.ripristinoStato();
+        TipoDipendente tipoDipendente = this.tipoDipendente;
+        boolean dirigente = this.dirigente;
+        LocalDate dataFineRapporto = this.dataFineRapporto;
+        ArrayList<ScattoCarriera> scattiEffettuati = this.scattiEffettuati;
+        ArrayList<Laboratorio> laboratoriAfferiti = this.laboratoriAfferiti;
+        ArrayList<Laboratorio> laboratoriResponsabileScientifico = this.laboratoriResponsabileScientifico;
+        ArrayList<Progetto> progettiReferenteScientifico = this.progettiReferenteScientifico;
+        ArrayList<Progetto> progettiResponsabile = this.progettiResponsabile;
+        Runnable ripristinoScatti = RegistroAnnullamenti.ripristinoContenuto(scattiEffettuati);
+        Runnable ripristinoCronologia = cronologiaScatti.ripristinoStato();
+        Runnable ripristinoAfferenze = RegistroAnnullamenti.ripristinoContenuto(laboratoriAfferiti);
+        Runnable ripristinoLaboratori = RegistroAnnullamenti.ripristinoContenuto(laboratoriResponsabileScientifico);
+        Runnable ripristinoReferenze = RegistroAnnullamenti.ripristinoContenuto(progettiReferenteScientifico);
+        Runnable ripristinoResponsabilita = RegistroAnnullamenti.ripristinoContenuto(progettiResponsabile);
+
+        return () -> {
+            ripristinoDipendente.run();
+            this.tipoDipendente = tipoDipendente;
+            this.dirigente = dirigente;
+            this.dataFineRapporto = dataFineRapporto;
+            this.scattiEffettuati = scattiEffettuati;
+            this.laboratoriAfferiti = laboratoriAfferiti;
+            this.laboratoriResponsabileScientifico = laboratoriResponsabileScientifico;
+            this.progettiReferenteScientifico = progettiReferenteScientifico;
+            this.progettiResponsabile = progettiResponsabile;
+            ripristinoScatti.run();
+            ripristinoCronologia.run();
+            ripristinoAfferenze.run();
+            ripristinoLaboratori.run();
+            ripristinoReferenze.run();
+            ripristinoResponsabilita.run();
+        };
+    }
+
     //OVERRIDE DI METODI EREDITATI
     /**
      * Sovrascrittura del metodo "equals" di object, che permette di effettuare un confronto tra un oggetto di tipo "DipendenteIndeterminato" ed un oggetto di tipo "Object".
@@ -18,6 +18,9 @@ public class DipendenteProgetto extends Dipendente {
     //Associazione: rappresenta il progetto da cui è stato ingaggiato
     private Progetto progettoProprietario;
 
+    //Il progetto nei cui costi e scadenze dei contratti e' conteggiato il dipendente, aggiornato dal progetto stesso
+    Progetto progettoConteggiante = null;
+
 
 
     // COSTRUTTORI
@@ -82,6 +85,12 @@ public class DipendenteProgetto extends Dipendente {
      * @param scadenza {@link LocalDate} La data di scadenza del contratto.
      */
     public void setScadenza (LocalDate scadenza) {
+
+        RegistroAnnullamenti.salva(this, DipendenteProgetto::ripristinoStato);
+
+        if (progettoConteggiante != null)
+            progettoConteggiante.aggiornaScadenzaContratto(this.scadenza, scadenza);
+
         this.scadenza = scadenza;
     }
 
@@ -91,6 +100,12 @@ public class DipendenteProgetto extends Dipendente {
      * @param costo {@link BigDecimal}  Il costo dell'ingaggio.
      */
     public void setCosto (BigDecimal costo) {
+
+        RegistroAnnullamenti.salva(this, DipendenteProgetto::ripristinoStato);
+
+        if (progettoConteggiante != null)
+            progettoConteggiante.aggiornaCostoContratto(this.costo, costo);
+
         this.costo = costo;
     }
 
@@ -102,6 +117,7 @@ public class DipendenteProgetto extends Dipendente {
      * @param progettoProprietario {@link Progetto} Il progetto da cui il dipendente è stato ingaggiato.
      */
     public void setProgettoProprietario(Progetto progettoProprietario) {
+        RegistroAnnullamenti.salva(this, DipendenteProgetto::ripristinoStato);
         this.progettoProprietario = progettoProprietario;
     }
 
@@ -136,6 +152,29 @@ public class DipendenteProgetto extends Dipendente {
 
 
     //METODI
+    /**
+     * Crea l'operazione che ripristina lo stato corrente del dipendente a progetto, compresi i dati anagrafici, salvato da {@link RegistroAnnullamenti} prima della sua prima modifica.
+     *
+     * @return {@link Runnable}  Il ripristino dello stato corrente.
+     */
+    @Override
+    Runnable ripristinoStato() {
+
+        Runnable ripristinoDipendente = super.ripristinoStato();
+        LocalDate scadenza = this.scadenza;
+        BigDecimal costo = this.costo;
+        Progetto progettoProprietario = this.progettoProprietario;
+        Progetto progettoConteggiante = this.progettoConteggiante;
+
+        return () -> {
+            ripristinoDipendente.run();
+            this.scadenza = scadenza;
+            this.costo = costo;
+            this.progettoProprietario = progettoProprietario;
+            this.progettoConteggiante = progettoConteggiante;
+        };
+    }
+
     //OVERRIDE DI METODI EREDITATI
     /**
      * Sovrascrittura del metodo "equals" di object, che permette di effettuare un confronto tra un oggetto di tipo "DipendenteProgetto" ed un oggetto di tipo "Object".
@@ -51,6 +51,7 @@ public class Laboratorio {
      * @param nome {@link String}   Il nome del laboratorio.
      */
     public void setNome(String nome) {
+        RegistroAnnullamenti.salva(this, Laboratorio::ripristinoStato);
         this.nome = nome;
     }
 
@@ -61,6 +62,7 @@ public class Laboratorio {
      * @param topic {@link String}  Il topic del laboratorio.
      */
     public void setTopic(String topic) {
+        RegistroAnnullamenti.salva(this, Laboratorio::ripristinoStato);
         this.topic = topic;
     }
 
@@ -71,6 +73,7 @@ public class Laboratorio {
      * @param responsabileScientifico {@link DipendenteIndeterminato}   Il responsabile scientifico del laboratorio.
      */
     public void setResponsabileScientifico(DipendenteIndeterminato responsabileScientifico) {
+        RegistroAnnullamenti.salva(this, Laboratorio::ripristinoStato);
         this.responsabileScientifico = responsabileScientifico;
     }
 
@@ -150,6 +153,8 @@ public class Laboratorio {
      */
     public boolean addProgetto(Progetto progetto){
 
+        RegistroAnnullamenti.salva(this, Laboratorio::ripristinoStato);
+
         boolean aggiunto = false;
 
         if (this.progettiLavorati == null)
@@ -175,6 +180,8 @@ public class Laboratorio {
      */
     public boolean removeProgetto(Progetto progetto){
 
+        RegistroAnnullamenti.salva(this, Laboratorio::ripristinoStato);
+
         boolean rimosso = false;
 
         if (this.progettiLavorati != null) {
@@ -203,6 +210,8 @@ public class Laboratorio {
      */
     public boolean addAttrezzatura(Attrezzatura attrezzatura) {
 
+        RegistroAnnullamenti.salva(this, Laboratorio::ripristinoStato);
+
         boolean aggiunto = false;
 
         if (this.attrezzaturePossedute == null)
@@ -228,6 +237,8 @@ public class Laboratorio {
      */
     public boolean removeAttrezzatura(Attrezzatura attrezzatura){
 
+        RegistroAnnullamenti.salva(this, Laboratorio::ripristinoStato);
+
         boolean rimosso = false;
 
         if (this.attrezzaturePossedute != null) {
@@ -255,6 +266,8 @@ public class Laboratorio {
      */
     public boolean addAfferente(DipendenteIndeterminato afferente) {
 
+        RegistroAnnullamenti.salva(this, Laboratorio::ripristinoStato);
+
         boolean aggiunto = false;
 
         if (!this.dipendentiAfferenti.contains(afferente)) {
@@ -276,6 +289,8 @@ public class Laboratorio {
      */
     public boolean removeAfferente(DipendenteIndeterminato dipendente) {
 
+        RegistroAnnullamenti.salva(this, Laboratorio::ripristinoStato);
+
         boolean rimosso = false;
 
         if (this.dipendentiAfferenti.contains(dipendente)) {
@@ -288,6 +303,36 @@ public class Laboratorio {
         return rimosso;
     }
 
+    /**
+     * Crea l'operazione che ripristina lo stato corrente del laboratorio, comprese le associazioni, salvato da {@link RegistroAnnullamenti} prima della sua prima modifica.
+     *
+     * @return {@link Runnable}  Il ripristino dello stato corrente.
+     */
+    Runnable ripristinoStato() {
+
+        String nome = this.nome;
+        String topic = this.topic;
+        DipendenteIndeterminato responsabileScientifico = this.responsabileScientifico;
+        ArrayList<DipendenteIndeterminato> dipendentiAfferenti = this.dipendentiAfferenti;
+        ArrayList<Attrezzatura> attrezzaturePossedute = this.attrezzaturePossedute;
+        ArrayList<Progetto> progettiLavorati = this.progettiLavorati;
+        Runnable ripristinoAfferenti = RegistroAnnullamenti.ripristinoContenuto(dipendentiAfferenti);
+        Runnable ripristinoAttrezzature = RegistroAnnullamenti.ripristinoContenuto(attrezzaturePossedute);
+        Runnable ripristinoProgetti = RegistroAnnullamenti.ripristinoContenuto(progettiLavorati);
+
+        return () -> {
+            this.nome = nome;
+            this.topic = topic;
+            this.responsabileScientifico = responsabileScientifico;
+            this.dipendentiAfferenti = dipendentiAfferenti;
+            this.attrezzaturePossedute = attrezzaturePossedute;
+            this.progettiLavorati = progettiLavorati;
+            ripristinoAfferenti.run();
+            ripristinoAttrezzature.run();
+            ripristinoProgetti.run();
+        };
+    }
+
     //OVERRIDE DI METODI EREDITATI
     /**
      * Sovrascrittura del metodo "equals" di object, che permette di effettuare un confronto tra un oggetto di tipo "Laboratorio" ed un oggetto di tipo "Object".
@@ -3,6 +3,7 @@ package Model;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.TreeMap;
 
 /**
  * La classe ”Progetto” rappresenta i progetti presi in carico dall’azienda.
@@ -29,6 +30,16 @@ public class Progetto {
     //Associazione: rappresenta le attrezzature acquistate tramite il progetto
     private ArrayList<Attrezzatura> attrezzatureAcquistate = null;
 
+    //STATO DEI VINCOLI: aggiornato ad ogni aggiunta, rimozione o modifica di attrezzature e contratti, senza scorrerne le liste
+    private BigDecimal costoTotaleAttrezzature = BigDecimal.ZERO;
+    private BigDecimal costoTotaleContratti = BigDecimal.ZERO;
+
+    //Numero di contratti per data di scadenza, per ricavare la scadenza massima anche dopo la rimozione del contratto che la detiene
+    private final TreeMap<LocalDate, Integer> scadenzeContratti = new TreeMap<>();
+
+    //Se attiva, ogni lettura dello stato dei vincoli lo confronta con quello ricalcolato dalle liste
+    private static volatile boolean verificaStatoVincoli = Boolean.getBoolean("sirius.verificaStatoVincoli");
+
 
     // COSTRUTTORI
     //viene specificata una dataFine
@@ -88,6 +99,7 @@ public class Progetto {
      * @param cup {@link String}    Il codice CUP da impostare.
      */
     public void setCup (String cup) {
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
         this.cup = cup;
     }
 
@@ -97,6 +109,7 @@ public class Progetto {
      * @param nome {@link String} Il nome da impostare.
      */
     public void setNome (String nome) {
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
         this.nome = nome;
     }
 
@@ -106,6 +119,7 @@ public class Progetto {
      * @param budget {@link BigDecimal} Il budget da impostare.
      */
     public void setBudget(BigDecimal budget) {
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
         this.budget = budget;
     }
 
@@ -115,6 +129,7 @@ public class Progetto {
      * @param dataInizio {@link LocalDate}  La data di inizio da impostare.
      */
     public void setDataInizio (LocalDate dataInizio) {
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
         this.dataInizio = dataInizio;
     }
 
@@ -124,6 +139,7 @@ public class Progetto {
      * @param dataFine {@link LocalDate}    La data di fine da impostare.
      */
     public void setDataFine (LocalDate dataFine) {
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
         this.dataFine = dataFine;
     }
 
@@ -133,6 +149,7 @@ public class Progetto {
      * @param responsabile {@link DipendenteIndeterminato}  Il responsabile da impostare.
      */
     public void setResponsabile(DipendenteIndeterminato responsabile) {
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
         this.responsabile = responsabile;
     }
 
@@ -142,6 +159,7 @@ public class Progetto {
      * @param referenteScientifico  {@link DipendenteIndeterminato} Il referente scientifico da impostare.
      */
     public void setReferenteScientifico(DipendenteIndeterminato referenteScientifico) {
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
         this.referenteScientifico = referenteScientifico;
     }
 
@@ -238,6 +256,146 @@ public class Progetto {
         return attrezzatureAcquistate;
     }
 
+    /**
+     * Restituisce il costo totale delle attrezzature acquistate dal progetto, senza scorrerne la lista.
+     *
+     * @return {@link BigDecimal} Il costo totale delle attrezzature, zero se il progetto non ha acquistato attrezzature.
+     */
+    public BigDecimal getCostoTotaleAttrezzature() {
+        controllaStatoVincoli();
+        return costoTotaleAttrezzature;
+    }
+
+    /**
+     * Restituisce il costo totale dei contratti dei dipendenti ingaggiati dal progetto, senza scorrerne la lista.
+     *
+     * @return {@link BigDecimal} Il costo totale dei contratti, zero se il progetto non ha ingaggiato dipendenti.
+     */
+    public BigDecimal getCostoTotaleContratti() {
+        controllaStatoVincoli();
+        return costoTotaleContratti;
+    }
+
+    /**
+     * Restituisce la scadenza piu' lontana tra quelle dei contratti dei dipendenti ingaggiati dal progetto.
+     *
+     * @return {@link LocalDate} La scadenza massima dei contratti, null se il progetto non ha ingaggiato dipendenti.
+     */
+    public LocalDate getScadenzaMassimaContratti() {
+        controllaStatoVincoli();
+        return scadenzeContratti.isEmpty() ? null : scadenzeContratti.lastKey();
+    }
+
+    /**
+     * Restituisce il numero di laboratori che lavorano attualmente al progetto.
+     *
+     * @return Il numero di laboratori lavoranti.
+     */
+    public int getNumeroLaboratoriLavoranti() {
+        return laboratoriLavoranti.size();
+    }
+
+
+    //STATO DEI VINCOLI
+    /**
+     * Attiva o disattiva la verifica dello stato dei vincoli di tutti i progetti: se attiva, ogni lettura dei costi totali
+     * e della scadenza massima dei contratti confronta lo stato mantenuto con quello ricalcolato dalle liste del progetto.
+     * Di default e' attiva solo se la proprieta' di sistema "sirius.verificaStatoVincoli" vale true.
+     *
+     * @param verifica True per attivare la verifica, false per disattivarla.
+     */
+    public static void setVerificaStatoVincoli(boolean verifica) {
+        verificaStatoVincoli = verifica;
+    }
+
+    /**
+     * Confronta lo stato dei vincoli mantenuto dal progetto con quello ricalcolato scorrendo le attrezzature acquistate
+     * ed i dipendenti ingaggiati.
+     *
+     * @return True se lo stato mantenuto coincide con quello ricalcolato, altrimenti false.
+     */
+    public boolean isStatoVincoliCoerente() {
+
+        BigDecimal costoAttrezzature = BigDecimal.ZERO;
+        BigDecimal costoContratti = BigDecimal.ZERO;
+        TreeMap<LocalDate, Integer> scadenze = new TreeMap<>();
+
+        if (attrezzatureAcquistate != null) {
+            for (Attrezzatura attrezzatura : attrezzatureAcquistate)
+                costoAttrezzature = costoAttrezzature.add(valore(attrezzatura.getCosto()));
+        }
+
+        if (dipendentiIngaggiati != null) {
+            for (DipendenteProgetto contratto : dipendentiIngaggiati) {
+                costoContratti = costoContratti.add(valore(contratto.getCosto()));
+
+                if (contratto.getScadenza() != null)
+                    scadenze.merge(contratto.getScadenza(), 1, Integer::sum);
+            }
+        }
+
+        // I costi vengono confrontati per valore, indipendentemente dalla scala con cui sono stati sommati
+        return costoAttrezzature.compareTo(costoTotaleAttrezzature) == 0 && costoContratti.compareTo(costoTotaleContratti) == 0
+                && scadenze.equals(scadenzeContratti);
+    }
+
+    //Se la verifica e' attiva, segnala lo stato dei vincoli non coerente con le liste del progetto
+    private void controllaStatoVincoli() {
+
+        if (verificaStatoVincoli && !isStatoVincoliCoerente())
+            throw new IllegalStateException("Stato dei vincoli non coerente per il progetto " + cup + ": attrezzature " + costoTotaleAttrezzature +
+                    ", contratti " + costoTotaleContratti + ", scadenze " + scadenzeContratti);
+    }
+
+    /**
+     * Aggiorna il costo totale delle attrezzature alla modifica del costo di un'attrezzatura conteggiata dal progetto.
+     *
+     * @param vecchioCosto  {@link BigDecimal}  Il costo precedente dell'attrezzatura.
+     * @param nuovoCosto    {@link BigDecimal}  Il nuovo costo dell'attrezzatura.
+     */
+    void aggiornaCostoAttrezzatura(BigDecimal vecchioCosto, BigDecimal nuovoCosto) {
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
+        costoTotaleAttrezzature = costoTotaleAttrezzature.subtract(valore(vecchioCosto)).add(valore(nuovoCosto));
+    }
+
+    /**
+     * Aggiorna il costo totale dei contratti alla modifica del costo di un contratto conteggiato dal progetto.
+     *
+     * @param vecchioCosto  {@link BigDecimal}  Il costo precedente del contratto.
+     * @param nuovoCosto    {@link BigDecimal}  Il nuovo costo del contratto.
+     */
+    void aggiornaCostoContratto(BigDecimal vecchioCosto, BigDecimal nuovoCosto) {
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
+        costoTotaleContratti = costoTotaleContratti.subtract(valore(vecchioCosto)).add(valore(nuovoCosto));
+    }
+
+    /**
+     * Aggiorna le scadenze dei contratti alla modifica della scadenza di un contratto conteggiato dal progetto.
+     *
+     * @param vecchiaScadenza   {@link LocalDate}   La scadenza precedente del contratto.
+     * @param nuovaScadenza     {@link LocalDate}   La nuova scadenza del contratto.
+     */
+    void aggiornaScadenzaContratto(LocalDate vecchiaScadenza, LocalDate nuovaScadenza) {
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
+        rimuoviScadenza(vecchiaScadenza);
+        aggiungiScadenza(nuovaScadenza);
+    }
+
+    private void aggiungiScadenza(LocalDate scadenza) {
+        if (scadenza != null)
+            scadenzeContratti.merge(scadenza, 1, Integer::sum);
+    }
+
+    private void rimuoviScadenza(LocalDate scadenza) {
+        if (scadenza != null)
+            scadenzeContratti.computeIfPresent(scadenza, (data, contratti) -> contratti > 1 ? contratti - 1 : null);
+    }
+
+    //I costi non specificati non contribuiscono ai totali
+    private static BigDecimal valore(BigDecimal costo) {
+        return costo != null ? costo : BigDecimal.ZERO;
+    }
+
     //ASSOCIAZIONE: Laboratorio - Progetto
     //Aggiunge un laboratorio a quelli che lavorano al progetto
     /**
@@ -248,6 +406,8 @@ public class Progetto {
      */
     public boolean addLaboratorioLavorante(Laboratorio laboratorio) {
 
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
+
         boolean aggiunto = false;
 
         if (!this.laboratoriLavoranti.contains(laboratorio)) {
@@ -270,6 +430,8 @@ public class Progetto {
      */
     public boolean removeLaboratorioLavorante(Laboratorio laboratorio) {
 
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
+
         boolean rimosso = false;
 
         if (this.laboratoriLavoranti.contains(laboratorio)) {
@@ -294,6 +456,8 @@ public class Progetto {
      */
     public boolean addAttrezzaturaAcquistata(Attrezzatura attrezzatura) {
 
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
+
         boolean aggiunto = false;
 
         if (this.attrezzatureAcquistate == null)
@@ -303,6 +467,10 @@ public class Progetto {
 
             this.attrezzatureAcquistate.add(attrezzatura);
 
+            costoTotaleAttrezzature = costoTotaleAttrezzature.add(valore(attrezzatura.getCosto()));
+            RegistroAnnullamenti.salva(attrezzatura, Attrezzatura::ripristinoStato);
+            attrezzatura.progettoConteggiante = this;
+
             aggiunto = true;
 
         }
@@ -319,12 +487,21 @@ public class Progetto {
      */
     public boolean removeAttrezzaturaAcquistata(Attrezzatura attrezzatura) {
 
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
+
         boolean rimosso = false;
 
         if (this.attrezzatureAcquistate != null) {
-            if (this.attrezzatureAcquistate.contains(attrezzatura)) {
+            int indice = this.attrezzatureAcquistate.indexOf(attrezzatura);
+
+            if (indice >= 0) {
+
+                // Lo stato dei vincoli viene aggiornato con l'istanza effettivamente rimossa, che potrebbe essere solo uguale a quella specificata
+                Attrezzatura rimossa = this.attrezzatureAcquistate.remove(indice); //Il GC deallocherà l'attrezzatura
 
-                this.attrezzatureAcquistate.remove(attrezzatura); //Il GC deallocherà l'attrezzatura
+                costoTotaleAttrezzature = costoTotaleAttrezzature.subtract(valore(rimossa.getCosto()));
+                RegistroAnnullamenti.salva(rimossa, Attrezzatura::ripristinoStato);
+                rimossa.progettoConteggiante = null;
 
                 rimosso = true;
 
@@ -347,6 +524,8 @@ public class Progetto {
      */
     public boolean addDipendenteIngaggiato(DipendenteProgetto contratto){
 
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
+
         boolean aggiunto = false;
 
         if (this.dipendentiIngaggiati == null)
@@ -356,6 +535,11 @@ public class Progetto {
 
             this.dipendentiIngaggiati.add(contratto);
 
+            costoTotaleContratti = costoTotaleContratti.add(valore(contratto.getCosto()));
+            aggiungiScadenza(contratto.getScadenza());
+            RegistroAnnullamenti.salva(contratto, DipendenteProgetto::ripristinoStato);
+            contratto.progettoConteggiante = this;
+
             aggiunto = true;
 
         }
@@ -372,12 +556,22 @@ public class Progetto {
      */
     public boolean removeDipendenteIngaggiato(DipendenteProgetto contratto){
 
+        RegistroAnnullamenti.salva(this, Progetto::ripristinoStato);
+
         boolean rimosso = false;
 
         if (this.dipendentiIngaggiati != null) {
-            if (this.dipendentiIngaggiati.contains(contratto)) {
+            int indice = this.dipendentiIngaggiati.indexOf(contratto);
+
+            if (indice >= 0) {
+
+                // Lo stato dei vincoli viene aggiornato con l'istanza effettivamente rimossa, che potrebbe essere solo uguale a quella specificata
+                DipendenteProgetto contrattoRimosso = this.dipendentiIngaggiati.remove(indice); //Il GC deallocherà il dipendente a progetto
 
-                this.dipendentiIngaggiati.remove(contratto); //Il GC deallocherà il dipendente a progetto
+                costoTotaleContratti = costoTotaleContratti.subtract(valore(contrattoRimosso.getCosto()));
+                rimuoviScadenza(contrattoRimosso.getScadenza());
+                RegistroAnnullamenti.salva(contrattoRimosso, DipendenteProgetto::ripristinoStato);
+                contrattoRimosso.progettoConteggiante = null;
 
                 rimosso = true;
 
@@ -390,6 +584,51 @@ public class Progetto {
     }
 
 
+    /**
+     * Crea l'operazione che ripristina lo stato corrente del progetto, comprese le associazioni e lo stato dei vincoli, salvato da {@link RegistroAnnullamenti} prima della sua prima modifica.
+     *
+     * @return {@link Runnable}  Il ripristino dello stato corrente.
+     */
+    Runnable ripristinoStato() {
+
+        String cup = this.cup;
+        String nome = this.nome;
+        BigDecimal budget = this.budget;
+        LocalDate dataInizio = this.dataInizio;
+        LocalDate dataFine = this.dataFine;
+        DipendenteIndeterminato responsabile = this.responsabile;
+        DipendenteIndeterminato referenteScientifico = this.referenteScientifico;
+        ArrayList<DipendenteProgetto> dipendentiIngaggiati = this.dipendentiIngaggiati;
+        ArrayList<Laboratorio> laboratoriLavoranti = this.laboratoriLavoranti;
+        ArrayList<Attrezzatura> attrezzatureAcquistate = this.attrezzatureAcquistate;
+        Runnable ripristinoDipendenti = RegistroAnnullamenti.ripristinoContenuto(dipendentiIngaggiati);
+        Runnable ripristinoLaboratori = RegistroAnnullamenti.ripristinoContenuto(laboratoriLavoranti);
+        Runnable ripristinoAttrezzature = RegistroAnnullamenti.ripristinoContenuto(attrezzatureAcquistate);
+        BigDecimal costoTotaleAttrezzature = this.costoTotaleAttrezzature;
+        BigDecimal costoTotaleContratti = this.costoTotaleContratti;
+        TreeMap<LocalDate, Integer> scadenzeContratti = new TreeMap<>(this.scadenzeContratti);
+
+        return () -> {
+            this.cup = cup;
+            this.nome = nome;
+            this.budget = budget;
+            this.dataInizio = dataInizio;
+            this.dataFine = dataFine;
+            this.responsabile = responsabile;
+            this.referenteScientifico = referenteScientifico;
+            this.dipendentiIngaggiati = dipendentiIngaggiati;
+            this.laboratoriLavoranti = laboratoriLavoranti;
+            this.attrezzatureAcquistate = attrezzatureAcquistate;
+            ripristinoDipendenti.run();
+            ripristinoLaboratori.run();
+            ripristinoAttrezzature.run();
+            this.costoTotaleAttrezzature = costoTotaleAttrezzature;
+            this.costoTotaleContratti = costoTotaleContratti;
+            this.scadenzeContratti.clear();
+            this.scadenzeContratti.putAll(scadenzeContratti);
+        };
+    }
+
     //OVERRIDE DI METODI EREDITATI
     /**
      * Sovrascrittura del metodo "equals" di object, che permette di effettuare un confronto tra un oggetto di tipo "Progetto" ed un oggetto di tipo "Object".
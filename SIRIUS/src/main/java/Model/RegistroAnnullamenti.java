@@ -0,0 +1,130 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.function.Function;
+
+/**
+ * Registro delle modifiche al modello in memoria effettuate da un'azione, per annullarle se l'azione non va a buon fine.
+ *
+ * Il registro e' attivo solo per il thread che lo ha aperto: ogni entita' del modello salva il proprio stato la prima volta
+ * che viene modificata mentre il registro e' attivo, mentre chi mantiene altre strutture del modello (elenchi e indici)
+ * registra l'annullamento di ogni propria modifica. L'annullamento esegue gli annullamenti registrati in ordine inverso.
+ */
+public final class RegistroAnnullamenti implements AutoCloseable {
+
+    private static final ThreadLocal<RegistroAnnullamenti> registroAttivo = new ThreadLocal<>();
+
+    private final RegistroAnnullamenti precedente;
+
+    //Gli annullamenti registrati, nell'ordine delle modifiche
+    private final ArrayList<Runnable> annullamenti = new ArrayList<>();
+
+    //Le entita' di cui e' gia' stato salvato lo stato precedente alla prima modifica
+    private final IdentityHashMap<Object, Boolean> entitaSalvate = new IdentityHashMap<>();
+
+
+    //COSTRUTTORE
+    private RegistroAnnullamenti(RegistroAnnullamenti precedente) {
+        this.precedente = precedente;
+    }
+
+
+    //METODI
+    /**
+     * Apre un registro delle modifiche e lo attiva per il thread corrente, fino alla sua chiusura.
+     *
+     * @return {@link RegistroAnnullamenti}  Il registro aperto.
+     */
+    public static RegistroAnnullamenti apri() {
+
+        RegistroAnnullamenti registro = new RegistroAnnullamenti(registroAttivo.get());
+        registroAttivo.set(registro);
+
+        return registro;
+    }
+
+    /**
+     * @return True se il thread corrente ha un registro attivo, altrimenti false.
+     */
+    public static boolean isAttivo() {
+        return registroAttivo.get() != null;
+    }
+
+    /**
+     * Registra l'annullamento di una modifica al modello, se il thread corrente ha un registro attivo.
+     *
+     * @param annullamento  {@link Runnable}    L'operazione che annulla la modifica.
+     */
+    public static void registra(Runnable annullamento) {
+
+        RegistroAnnullamenti registro = registroAttivo.get();
+
+        if (registro != null)
+            registro.annullamenti.add(annullamento);
+    }
+
+    /**
+     * Salva lo stato di un'entita' prima della sua prima modifica, se il thread corrente ha un registro attivo.
+     *
+     * @param entita    L'entita' che sta per essere modificata.
+     * @param stato     {@link Function}    Crea, a partire dall'entita', l'operazione che ne ripristina lo stato corrente.
+     */
+    static <T> void salva(T entita, Function<T, Runnable> stato) {
+
+        RegistroAnnullamenti registro = registroAttivo.get();
+
+        if (registro != null && registro.entitaSalvate.put(entita, Boolean.TRUE) == null)
+            registro.annullamenti.add(stato.apply(entita));
+    }
+
+    /**
+     * Crea l'operazione che ripristina il contenuto corrente di una lista di un'entita', anche se la lista viene svuotata o sostituita.
+     *
+     * @param lista {@link ArrayList}   La lista di cui salvare il contenuto, eventualmente null.
+     * @return {@link Runnable}  Il ripristino del contenuto della lista.
+     */
+    static <T> Runnable ripristinoContenuto(ArrayList<T> lista) {
+
+        if (lista == null)
+            return () -> { };
+
+        ArrayList<T> contenuto = new ArrayList<>(lista);
+
+        return () -> {
+            lista.clear();
+            lista.addAll(contenuto);
+        };
+    }
+
+    /**
+     * Annulla tutte le modifiche registrate, in ordine inverso. Durante l'annullamento il registro non e' attivo,
+     * per cui i ripristini non vengono a loro volta registrati.
+     */
+    public void annulla() {
+
+        RegistroAnnullamenti attivo = registroAttivo.get();
+        registroAttivo.set(null);
+
+        try {
+            for (int i = annullamenti.size() - 1; i >= 0; i--)
+                annullamenti.get(i).run();
+        } finally {
+            annullamenti.clear();
+            entitaSalvate.clear();
+            registroAttivo.set(attivo);
+        }
+    }
+
+    /**
+     * Disattiva il registro per il thread corrente, riattivando quello precedente.
+     */
+    @Override
+    public void close() {
+
+        if (precedente != null)
+            registroAttivo.set(precedente);
+        else
+            registroAttivo.remove();
+    }
+}
@@ -48,6 +48,7 @@ public class ScattoCarriera {
      * @param data {@link LocalDate}    La data in cui viene effettuato lo scatto di carriera.
      */
     public void setData (LocalDate data) {
+        RegistroAnnullamenti.salva(this, ScattoCarriera::ripristinoStato);
         this.data = data;
     }
 
@@ -57,6 +58,7 @@ public class ScattoCarriera {
      * @param tipoScatto {@link TipoScatto} Il tipo di scatto di carriera.
      */
     public void setTipoScatto(TipoScatto tipoScatto) {
+        RegistroAnnullamenti.salva(this, ScattoCarriera::ripristinoStato);
         this.tipoScatto = tipoScatto;
     }
 
@@ -67,6 +69,7 @@ public class ScattoCarriera {
      * @param dipendente {@link DipendenteIndeterminato} Il dipendente che ha compiuto lo scatto di carriera.
      */
     public void setDipendente(DipendenteIndeterminato dipendente) {
+        RegistroAnnullamenti.salva(this, ScattoCarriera::ripristinoStato);
         this.dipendente = dipendente;
     }
 
@@ -101,6 +104,24 @@ public class ScattoCarriera {
     }
 
     // METODI
+    /**
+     * Crea l'operazione che ripristina lo stato corrente dello scatto di carriera, salvato da {@link RegistroAnnullamenti} prima della sua prima modifica.
+     *
+     * @return {@link Runnable}  Il ripristino dello stato corrente.
+     */
+    Runnable ripristinoStato() {
+
+        LocalDate data = this.data;
+        TipoScatto tipoScatto = this.tipoScatto;
+        DipendenteIndeterminato dipendente = this.dipendente;
+
+        return () -> {
+            this.data = data;
+            this.tipoScatto = tipoScatto;
+            this.dipendente = dipendente;
+        };
+    }
+
     //OVERRIDE DI METODI EREDITATI
     /**
      * Sovrascrittura del metodo "equals" di object, che permette di effettuare un confronto tra un oggetto di tipo "ScattoCarriera" ed un oggetto di tipo "Object".
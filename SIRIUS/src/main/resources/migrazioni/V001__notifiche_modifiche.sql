@@ -0,0 +1,65 @@
+--NOTIFICHE DELLE MODIFICHE AI CLIENT IN ASCOLTO
+--Applica ai database creati prima della loro introduzione la funzione ed i trigger di notifica definiti in dumpSchema.sql.
+--Lo script e' ripetibile: la funzione viene sostituita ed i trigger vengono ricreati.
+
+--OGNI MODIFICA CONFERMATA AD UNA RIGA VIENE NOTIFICATA SUL CANALE "azienda_modifiche", IN MODO CHE I CLIENT IN ASCOLTO POSSANO AGGIORNARE IL PROPRIO MODELLO IN MEMORIA.
+--Il payload contiene, separati dal carattere 30: il client che ha effettuato la modifica (application_name), la tabella, l'operazione,
+--la chiave della riga prima e dopo la modifica; i valori delle chiavi sono separati dal carattere 31.
+--Le colonne della chiave sono passate come argomenti del trigger. Le notifiche vengono consegnate solo al commit della transazione.
+CREATE OR REPLACE FUNCTION azienda.notifica_modifica() RETURNS TRIGGER AS $$
+DECLARE
+    colonna TEXT;
+    chiave TEXT[] := '{}';
+    nuovaChiave TEXT[] := '{}';
+BEGIN
+    --Gli aggiornamenti che non modificano la riga non vengono notificati
+    IF TG_OP = 'UPDATE' AND OLD IS NOT DISTINCT FROM NEW THEN
+        RETURN NULL;
+    END IF;
+
+    FOREACH colonna IN ARRAY TG_ARGV LOOP
+        IF TG_OP <> 'INSERT' THEN
+            chiave := chiave || (to_jsonb(OLD) ->> colonna);
+        END IF;
+        IF TG_OP <> 'DELETE' THEN
+            nuovaChiave := nuovaChiave || (to_jsonb(NEW) ->> colonna);
+        END IF;
+    END LOOP;
+
+    PERFORM pg_notify('azienda_modifiche', concat_ws(chr(30), current_setting('application_name'), TG_TABLE_NAME, TG_OP,
+                                                     array_to_string(chiave, chr(31)), array_to_string(nuovaChiave, chr(31))));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS notifica_dip_indeterminato ON azienda.DIP_INDETERMINATO;
+CREATE TRIGGER notifica_dip_indeterminato AFTER INSERT OR UPDATE OR DELETE ON azienda.DIP_INDETERMINATO
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('matricola');
+
+DROP TRIGGER IF EXISTS notifica_scatto_carriera ON azienda.SCATTO_CARRIERA;
+CREATE TRIGGER notifica_scatto_carriera AFTER INSERT OR UPDATE OR DELETE ON azienda.SCATTO_CARRIERA
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('matricola', 'tipo', 'data');
+
+DROP TRIGGER IF EXISTS notifica_laboratorio ON azienda.LABORATORIO;
+CREATE TRIGGER notifica_laboratorio AFTER INSERT OR UPDATE OR DELETE ON azienda.LABORATORIO
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('nome');
+
+DROP TRIGGER IF EXISTS notifica_afferire ON azienda.AFFERIRE;
+CREATE TRIGGER notifica_afferire AFTER INSERT OR UPDATE OR DELETE ON azienda.AFFERIRE
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('matricola', 'nomelab');
+
+DROP TRIGGER IF EXISTS notifica_progetto ON azienda.PROGETTO;
+CREATE TRIGGER notifica_progetto AFTER INSERT OR UPDATE OR DELETE ON azienda.PROGETTO
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('cup');
+
+DROP TRIGGER IF EXISTS notifica_lavorare ON azienda.LAVORARE;
+CREATE TRIGGER notifica_lavorare AFTER INSERT OR UPDATE OR DELETE ON azienda.LAVORARE
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('cup', 'nomelab');
+
+DROP TRIGGER IF EXISTS notifica_attrezzatura ON azienda.ATTREZZATURA;
+CREATE TRIGGER notifica_attrezzatura AFTER INSERT OR UPDATE OR DELETE ON azienda.ATTREZZATURA
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('idattrezzatura');
+
+DROP TRIGGER IF EXISTS notifica_dip_progetto ON azienda.DIP_PROGETTO;
+CREATE TRIGGER notifica_dip_progetto AFTER INSERT OR UPDATE OR DELETE ON azienda.DIP_PROGETTO
+    FOR EACH ROW EXECUTE FUNCTION azienda.notifica_modifica('matricola');
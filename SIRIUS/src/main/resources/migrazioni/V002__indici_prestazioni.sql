@@ -0,0 +1,59 @@
+--INDICI PER LE CHIAVI ESTERNE E PER I FILTRI DELLE INTERROGAZIONI
+--Le chiavi primarie indicizzano gia' le chiavi esterne che ne costituiscono la prima colonna (SCATTO_CARRIERA e AFFERIRE per Matricola,
+--LAVORARE per CUP). Gli indici seguenti coprono le altre chiavi esterne, utilizzate dalle azioni ON DELETE/ON UPDATE e dal controllo
+--dei vincoli alla modifica della tabella referenziata, e le colonne filtrate dalle interrogazioni dei DAO e dalle view "_attuale".
+
+--------------------------------------------------------------------------------------------------------------------------------------------------------------
+--CHIAVI ESTERNE
+
+--Costi dei dipendenti a progetto di un progetto (getCostoTotaleDipendentiProgetto, riepilogo dei progetti): il costo e' incluso
+--nell'indice, in modo che la somma non debba accedere alla tabella
+CREATE INDEX IF NOT EXISTS idx_dip_progetto_cup ON azienda.DIP_PROGETTO(CUP) INCLUDE (Costo);
+
+--Costi delle attrezzature di un progetto (getCostoTotaleAttrezzatureProgetto, riepilogo dei progetti)
+CREATE INDEX IF NOT EXISTS idx_attrezzatura_cup ON azienda.ATTREZZATURA(CUP) INCLUDE (Costo);
+
+--Attrezzature possedute da un laboratorio (ON DELETE SET NULL, view attrezzatura_attuale): le attrezzature senza laboratorio non vengono indicizzate
+CREATE INDEX IF NOT EXISTS idx_attrezzatura_nomelab ON azienda.ATTREZZATURA(nomeLab) WHERE nomeLab IS NOT NULL;
+
+--Afferenti di un laboratorio (ON DELETE CASCADE, riepilogo dei laboratori)
+CREATE INDEX IF NOT EXISTS idx_afferire_nomelab ON azienda.AFFERIRE(nomeLab);
+
+--Progetti di un laboratorio (ON DELETE CASCADE)
+CREATE INDEX IF NOT EXISTS idx_lavorare_nomelab ON azienda.LAVORARE(nomeLab);
+
+--Ruoli di un dipendente a tempo indeterminato, controllati alla modifica della sua matricola
+CREATE INDEX IF NOT EXISTS idx_laboratorio_responsabile_scientifico ON azienda.LABORATORIO(Responsabile_Scientifico);
+CREATE INDEX IF NOT EXISTS idx_progetto_referente_scientifico ON azienda.PROGETTO(Referente_Scientifico);
+CREATE INDEX IF NOT EXISTS idx_progetto_responsabile ON azienda.PROGETTO(Responsabile);
+
+--------------------------------------------------------------------------------------------------------------------------------------------------------------
+--FILTRI SULLE DATE
+
+--Dipendenti e progetti attuali (dataFine IS NULL OR dataFine > CURRENT_DATE): la condizione viene risolta dall'unione di un indice
+--parziale sui rapporti senza data di fine e di un indice sulla data di fine
+CREATE INDEX IF NOT EXISTS idx_dip_indeterminato_senza_fine ON azienda.DIP_INDETERMINATO(Matricola) WHERE dataFine IS NULL;
+CREATE INDEX IF NOT EXISTS idx_dip_indeterminato_data_fine ON azienda.DIP_INDETERMINATO(dataFine);
+CREATE INDEX IF NOT EXISTS idx_progetto_senza_fine ON azienda.PROGETTO(CUP) WHERE dataFine IS NULL;
+CREATE INDEX IF NOT EXISTS idx_progetto_data_fine ON azienda.PROGETTO(dataFine);
+
+--Dipendenti a progetto con contratto non scaduto (view dip_progetto_attuale)
+CREATE INDEX IF NOT EXISTS idx_dip_progetto_scadenza ON azienda.DIP_PROGETTO(Scadenza);
+
+--Candidati referenti scientifici: anzianita' di almeno 7 anni, confrontata con la data di inizio del progetto
+CREATE INDEX IF NOT EXISTS idx_dip_indeterminato_anzianita ON azienda.DIP_INDETERMINATO((dataAssunzione + INTERVAL '7 years'));
+CREATE INDEX IF NOT EXISTS idx_dip_indeterminato_anzianita_senza_fine ON azienda.DIP_INDETERMINATO((dataAssunzione + INTERVAL '7 years')) WHERE dataFine IS NULL;
+
+--Candidati dirigenti: dirigenti assunti prima della data di inizio del progetto
+CREATE INDEX IF NOT EXISTS idx_dip_indeterminato_dirigenti_senza_fine ON azienda.DIP_INDETERMINATO(dataAssunzione) WHERE Dirigente = true AND dataFine IS NULL;
+
+--------------------------------------------------------------------------------------------------------------------------------------------------------------
+--FILTRI SUL TIPO
+
+--Candidati agli scatti ed ai ruoli, filtrati per tipo senza distinzione tra maiuscole e minuscole
+CREATE INDEX IF NOT EXISTS idx_dip_indeterminato_tipo ON azienda.DIP_INDETERMINATO((UPPER(Tipo)));
+CREATE INDEX IF NOT EXISTS idx_dip_indeterminato_tipo_senza_fine ON azienda.DIP_INDETERMINATO((UPPER(Tipo))) WHERE dataFine IS NULL;
+
+--Le statistiche aggiornate permettono al pianificatore di valutare subito i nuovi indici
+ANALYZE azienda.DIP_INDETERMINATO, azienda.SCATTO_CARRIERA, azienda.LABORATORIO, azienda.AFFERIRE,
+        azienda.PROGETTO, azienda.LAVORARE, azienda.ATTREZZATURA, azienda.DIP_PROGETTO;
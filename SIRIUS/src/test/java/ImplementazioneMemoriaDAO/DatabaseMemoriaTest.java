@@ -0,0 +1,187 @@
+package ImplementazioneMemoriaDAO;
+
+import DAO.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test dei vincoli, delle azioni referenziali e degli annullamenti del database in memoria {@link DatabaseMemoria},
+ * che deve comportarsi come lo schema Postgres. Ogni test opera su un nuovo database con i dati sintetici.
+ */
+class DatabaseMemoriaTest {
+
+    private FornitoreMemoriaDAO fornitore;
+    private DatiSintetici dati;
+
+
+    @BeforeEach
+    void caricaDati() throws SQLException {
+        fornitore = new FornitoreMemoriaDAO();
+        dati = new DatiSintetici(200, 7);
+        fornitore.caricaDatiSintetici(dati);
+    }
+
+    @Test
+    void chiavePrimariaDuplicataRespinta() {
+
+        RigaDipendenteIndeterminato esistente = fornitore.getDipendenteIndeterminatoDAO().getDipendenteIndeterminato(DatiSintetici.matricola(0));
+        assertNotNull(esistente);
+
+        SQLException sqlException = assertThrows(SQLException.class, () -> {
+            try (Transazione transazione = fornitore.apriTransazione()) {
+                fornitore.getDipendenteIndeterminatoDAO().addDipendenteIndeterminato("Altro", "Dipendente", "CFX0000000000000",
+                        esistente.matricola(), esistente.tipo(), null, esistente.dataNascita(), esistente.dataAssunzione(), null, false);
+                transazione.conferma();
+            }
+        });
+
+        assertEquals(VincoliMemoria.UNICITA, ((SQLException) sqlException.getCause()).getSQLState());
+        assertEquals(esistente, fornitore.getDipendenteIndeterminatoDAO().getDipendenteIndeterminato(esistente.matricola()));
+    }
+
+    @Test
+    void chiaveEsternaMancanteRespinta() {
+
+        String matricolaAssente = DatiSintetici.matricola(dati.getNumeroDipendenti() + 1);
+        String laboratorio = DatiSintetici.nomeLaboratorio(0);
+
+        SQLException sqlException = assertThrows(SQLException.class, () -> {
+            try (Transazione transazione = fornitore.apriTransazione()) {
+                fornitore.getAfferireDAO().addAfferenza(matricolaAssente, laboratorio);
+                transazione.conferma();
+            }
+        });
+
+        assertEquals(VincoliMemoria.CHIAVE_ESTERNA, ((SQLException) sqlException.getCause()).getSQLState());
+        assertNull(fornitore.getAfferireDAO().getAfferenza(matricolaAssente, laboratorio));
+    }
+
+    @Test
+    void eliminazioneLaboratorioPropagata() {
+
+        // Il laboratorio con piu' afferenze, che lavora anche ad almeno un progetto
+        String laboratorio = fornitore.getLavorareDAO().getLavorare().stream()
+                .map(RigaLavoro::nomeLab)
+                .max((primo, secondo) -> Long.compare(afferenze(primo).size(), afferenze(secondo).size()))
+                .orElseThrow();
+
+        assertFalse(afferenze(laboratorio).isEmpty());
+        assertFalse(lavori(laboratorio).isEmpty());
+
+        List<Integer> attrezzature = fornitore.getAttrezzaturaDAO().getAttrezzature().stream()
+                .filter(attrezzatura -> laboratorio.equals(attrezzatura.nomeLab()))
+                .map(RigaAttrezzatura::idAttrezzatura)
+                .toList();
+
+        fornitore.getLaboratorioDAO().removeLaboratorio(laboratorio);
+
+        assertNull(fornitore.getLaboratorioDAO().getLaboratorio(laboratorio));
+
+        // ON DELETE CASCADE su AFFERIRE e LAVORARE
+        assertTrue(afferenze(laboratorio).isEmpty());
+        assertTrue(lavori(laboratorio).isEmpty());
+
+        // ON DELETE SET NULL sulle attrezzature possedute
+        for (int idAttrezzatura : attrezzature)
+            assertNull(fornitore.getAttrezzaturaDAO().getAttrezzatura(idAttrezzatura).nomeLab());
+    }
+
+    @Test
+    void cambioMatricolaPropagato() {
+
+        // Un responsabile scientifico, che afferisce quindi anche al proprio laboratorio
+        RiepilogoLaboratorio laboratorio = fornitore.getLaboratorioDAO().getLaboratori().get(0);
+        RigaDipendenteIndeterminato dipendente = fornitore.getDipendenteIndeterminatoDAO().getDipendenteIndeterminato(laboratorio.responsabileScientifico());
+
+        String vecchiaMatricola = dipendente.matricola();
+        String nuovaMatricola = DatiSintetici.matricola(dati.getNumeroDipendenti() + 1);
+
+        long scatti = fornitore.getScattoCarrieraDAO().getScattiCarriera().stream().filter(scatto -> scatto.matricola().equals(vecchiaMatricola)).count();
+        long afferenze = fornitore.getAfferireDAO().getAfferenze().stream().filter(afferenza -> afferenza.matricola().equals(vecchiaMatricola)).count();
+
+        assertTrue(scatti > 0);
+        assertTrue(afferenze > 0);
+
+        fornitore.getDipendenteIndeterminatoDAO().updateDipendenteIndeterminato(vecchiaMatricola, dipendente.nome(), dipendente.cognome(), dipendente.codFiscale(),
+                nuovaMatricola, dipendente.tipo(), dipendente.indirizzo(), dipendente.dataNascita(), dipendente.dataAssunzione(), dipendente.dataFine(), dipendente.dirigente());
+
+        assertNull(fornitore.getDipendenteIndeterminatoDAO().getDipendenteIndeterminato(vecchiaMatricola));
+        assertNotNull(fornitore.getDipendenteIndeterminatoDAO().getDipendenteIndeterminato(nuovaMatricola));
+
+        // ON UPDATE CASCADE su tutte le tabelle che riferiscono la matricola
+        assertEquals(nuovaMatricola, fornitore.getLaboratorioDAO().getLaboratorio(laboratorio.nome()).responsabileScientifico());
+        assertEquals(scatti, fornitore.getScattoCarrieraDAO().getScattiCarriera().stream().filter(scatto -> scatto.matricola().equals(nuovaMatricola)).count());
+        assertEquals(afferenze, fornitore.getAfferireDAO().getAfferenze().stream().filter(afferenza -> afferenza.matricola().equals(nuovaMatricola)).count());
+
+        assertTrue(fornitore.getScattoCarrieraDAO().getScattiCarriera().stream().noneMatch(scatto -> scatto.matricola().equals(vecchiaMatricola)));
+        assertTrue(fornitore.getAfferireDAO().getAfferenze().stream().noneMatch(afferenza -> afferenza.matricola().equals(vecchiaMatricola)));
+        assertTrue(fornitore.getProgettoDAO().getProgetti().stream()
+                .noneMatch(progetto -> vecchiaMatricola.equals(progetto.referenteScientifico()) || vecchiaMatricola.equals(progetto.responsabile())));
+    }
+
+    @Test
+    void istruzioneFallitaAnnullaLaTransazione() {
+
+        String matricola = DatiSintetici.matricola(0);
+        String laboratorioLibero = fornitore.getLaboratorioDAO().getLaboratori().stream()
+                .map(RiepilogoLaboratorio::nome)
+                .filter(nome -> fornitore.getAfferireDAO().getAfferenza(matricola, nome) == null)
+                .findFirst()
+                .orElseThrow();
+
+        int afferenzePrima = fornitore.getAfferireDAO().getAfferenze().size();
+
+        assertThrows(SQLException.class, () -> {
+            try (Transazione transazione = fornitore.apriTransazione()) {
+
+                // La prima istruzione e' valida, la seconda viola la chiave esterna
+                fornitore.getAfferireDAO().addAfferenza(matricola, laboratorioLibero);
+                assertNotNull(fornitore.getAfferireDAO().getAfferenza(matricola, laboratorioLibero));
+
+                fornitore.getAfferireDAO().addAfferenza(matricola, "Laboratorio inesistente");
+
+                transazione.conferma();
+            }
+        });
+
+        assertNull(fornitore.getAfferireDAO().getAfferenza(matricola, laboratorioLibero));
+        assertEquals(afferenzePrima, fornitore.getAfferireDAO().getAfferenze().size());
+    }
+
+    @Test
+    void istruzioneFallitaNonLasciaRighe() {
+
+        String matricola = DatiSintetici.matricola(0);
+        String laboratorioLibero = fornitore.getLaboratorioDAO().getLaboratori().stream()
+                .map(RiepilogoLaboratorio::nome)
+                .filter(nome -> fornitore.getAfferireDAO().getAfferenza(matricola, nome) == null)
+                .findFirst()
+                .orElseThrow();
+
+        int afferenzePrima = fornitore.getAfferireDAO().getAfferenze().size();
+
+        // Fuori da una transazione, un'istruzione in batch che fallisce su una riga non inserisce neanche le righe precedenti
+        fornitore.getAfferireDAO().addAfferenze(new ArrayList<>(List.of(matricola, matricola)),
+                new ArrayList<>(List.of(laboratorioLibero, "Laboratorio inesistente")));
+
+        assertNull(fornitore.getAfferireDAO().getAfferenza(matricola, laboratorioLibero));
+        assertEquals(afferenzePrima, fornitore.getAfferireDAO().getAfferenze().size());
+    }
+
+    //Le afferenze al laboratorio specificato
+    private List<RigaAfferenza> afferenze(String laboratorio) {
+        return fornitore.getAfferireDAO().getAfferenze().stream().filter(afferenza -> afferenza.nomeLab().equals(laboratorio)).toList();
+    }
+
+    //Le istanze di lavoro del laboratorio specificato
+    private List<RigaLavoro> lavori(String laboratorio) {
+        return fornitore.getLavorareDAO().getLavorare().stream().filter(lavoro -> lavoro.nomeLab().equals(laboratorio)).toList();
+    }
+}